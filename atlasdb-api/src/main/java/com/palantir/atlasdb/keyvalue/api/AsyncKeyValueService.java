@@ -16,9 +16,15 @@
 
 package com.palantir.atlasdb.keyvalue.api;
 
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.palantir.atlasdb.metrics.Timed;
 import com.palantir.common.annotation.Idempotent;
 
@@ -37,6 +43,36 @@ public interface AsyncKeyValueService extends AutoCloseable {
     @Timed
     ListenableFuture<Map<Cell, Value>> getAsync(TableReference tableRef, Map<Cell, Long> timestampByCell);
 
+    /**
+     * Asynchronously gets values from multiple tables of the key-value store. By default, this issues one
+     * {@link #getAsync(TableReference, Map)} per table, all of which are in flight at the same time.
+     *
+     * @param timestampByCellByTable specifies, for each table, the cells to retrieve values for and the maximum
+     *                               timestamp (exclusive) at which to retrieve each cell's value.
+     * @return listenable future containing a map from each requested table to the values retrieved from it. Values
+     * which do not exist are simply not returned.
+     */
+    @Idempotent
+    @Timed
+    default ListenableFuture<Map<TableReference, Map<Cell, Value>>> getMultiAsync(
+            Map<TableReference, Map<Cell, Long>> timestampByCellByTable) {
+        List<TableReference> tableRefs = ImmutableList.copyOf(timestampByCellByTable.keySet());
+        List<ListenableFuture<Map<Cell, Value>>> futures = tableRefs.stream()
+                .map(tableRef -> getAsync(tableRef, timestampByCellByTable.get(tableRef)))
+                .collect(Collectors.toList());
+        return Futures.transform(
+                Futures.allAsList(futures),
+                results -> {
+                    Map<TableReference, Map<Cell, Value>> resultsByTable =
+                            Maps.newHashMapWithExpectedSize(tableRefs.size());
+                    for (int i = 0; i < tableRefs.size(); i++) {
+                        resultsByTable.put(tableRefs.get(i), results.get(i));
+                    }
+                    return resultsByTable;
+                },
+                MoreExecutors.directExecutor());
+    }
+
     @Override
     void close();
 }
@@ -20,7 +20,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.palantir.atlasdb.metrics.Timed;
 import com.palantir.atlasdb.transaction.api.TransactionManager;
 import com.palantir.common.annotation.Idempotent;
@@ -136,6 +139,40 @@ public interface KeyValueService extends AutoCloseable, AsyncKeyValueService {
     @Timed
     Map<Cell, Value> get(TableReference tableRef, Map<Cell, Long> timestampByCell);
 
+    /**
+     * Gets values from multiple tables of the key-value store. Implementations may retrieve the values of all tables
+     * together, rather than making one round trip per table; by default, this calls
+     * {@link #get(TableReference, Map)} for each table in turn.
+     *
+     * @param timestampByCellByTable specifies, for each table, the cells to retrieve values for and the maximum
+     *        timestamp (exclusive) at which to retrieve each cell's value.
+     * @return map from each requested table to the values retrieved from it. Values which do not exist (either
+     *         because they were deleted or never created in the first place) are simply not returned.
+     * @throws IllegalArgumentException if any of the requests were invalid
+     *         (e.g., attempting to retrieve values from a non-existent table).
+     */
+    @DoDelegate
+    @Idempotent
+    @Timed
+    default Map<TableReference, Map<Cell, Value>> getMulti(
+            Map<TableReference, Map<Cell, Long>> timestampByCellByTable) {
+        Map<TableReference, Map<Cell, Value>> results = Maps.newHashMapWithExpectedSize(timestampByCellByTable.size());
+        timestampByCellByTable.forEach(
+                (tableRef, timestampByCell) -> results.put(tableRef, get(tableRef, timestampByCell)));
+        return results;
+    }
+
+    /**
+     * Unless overridden, key value services retrieve values synchronously, so this just wraps the result of
+     * {@link #getMulti(Map)} in an immediate future.
+     */
+    @DoDelegate
+    @Override
+    default ListenableFuture<Map<TableReference, Map<Cell, Value>>> getMultiAsync(
+            Map<TableReference, Map<Cell, Long>> timestampByCellByTable) {
+        return Futures.immediateFuture(getMulti(timestampByCellByTable));
+    }
+
     /**
      * Gets timestamp values from the key-value store.
      *
@@ -0,0 +1,43 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.transaction.api;
+
+import java.util.Map;
+import java.util.stream.Stream;
+
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+
+/**
+ * Loads large amounts of data into a table as a single transaction, without buffering the written cells in memory.
+ * <p>
+ * Cells are written directly to the key value service at the start timestamp of the load, in size-bounded batches,
+ * and all of them become visible atomically when the load commits. If a load fails before committing, none of its
+ * cells become visible, and targeted sweep eventually cleans them up.
+ * <p>
+ * Unlike writes made in a {@link Transaction}, cells written by a bulk load are not checked for write-write
+ * conflicts, and constraints are not checked. Bulk loads should therefore only be used for data that is not
+ * concurrently written by transactions, such as the initial contents of a table.
+ */
+public interface BulkLoader {
+    /**
+     * Writes the given cells to the given table and commits them. Each cell must appear at most once.
+     *
+     * @return the commit timestamp of the load
+     * @throws TransactionFailedException if the load could not be committed
+     */
+    long load(TableReference tableRef, Stream<Map.Entry<Cell, byte[]>> cells) throws TransactionFailedException;
+}
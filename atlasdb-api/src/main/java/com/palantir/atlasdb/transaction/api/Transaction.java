@@ -16,13 +16,19 @@
 package com.palantir.atlasdb.transaction.api;
 
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.Set;
 import java.util.function.BiFunction;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.palantir.atlasdb.keyvalue.api.BatchColumnRangeSelection;
 import com.palantir.atlasdb.keyvalue.api.Cell;
 import com.palantir.atlasdb.keyvalue.api.ColumnRangeSelection;
@@ -161,6 +167,49 @@ public interface Transaction {
     @Idempotent
     ListenableFuture<Map<Cell, byte[]>> getAsync(TableReference tableRef, Set<Cell> cells);
 
+    /**
+     * Gets the values associated for each cell in {@code cells} from each of the tables in {@code cellsByTable}.
+     * Implementations may read the cells of all tables from the key-value store together, rather than making one
+     * round trip per table; by default, this calls {@link #get(TableReference, Set)} for each table in turn.
+     *
+     * @param cellsByTable the cells for which we want to get the values, for each table
+     * @return a {@link Map} from each requested table to the cell/value pairs read from it
+     */
+    @Idempotent
+    default Map<TableReference, Map<Cell, byte[]>> getMulti(Map<TableReference, Set<Cell>> cellsByTable) {
+        Map<TableReference, Map<Cell, byte[]>> results = Maps.newHashMapWithExpectedSize(cellsByTable.size());
+        cellsByTable.forEach((tableRef, cells) -> results.put(tableRef, get(tableRef, cells)));
+        return results;
+    }
+
+    /**
+     * Gets the values associated for each cell in {@code cells} from each of the tables in {@code cellsByTable}. It is
+     * not guaranteed that the actual implementations are in fact asynchronous; by default, this calls
+     * {@link #getAsync(TableReference, Set)} for each table.
+     *
+     * @param cellsByTable the cells for which we want to get the values, for each table
+     * @return a {@link Map} from each requested table to the cell/value pairs read from it
+     */
+    @Idempotent
+    default ListenableFuture<Map<TableReference, Map<Cell, byte[]>>> getMultiAsync(
+            Map<TableReference, Set<Cell>> cellsByTable) {
+        List<TableReference> tableRefs = ImmutableList.copyOf(cellsByTable.keySet());
+        List<ListenableFuture<Map<Cell, byte[]>>> futures = tableRefs.stream()
+                .map(tableRef -> getAsync(tableRef, cellsByTable.get(tableRef)))
+                .collect(Collectors.toList());
+        return Futures.transform(
+                Futures.allAsList(futures),
+                results -> {
+                    Map<TableReference, Map<Cell, byte[]>> resultsByTable =
+                            Maps.newHashMapWithExpectedSize(tableRefs.size());
+                    for (int i = 0; i < tableRefs.size(); i++) {
+                        resultsByTable.put(tableRefs.get(i), results.get(i));
+                    }
+                    return resultsByTable;
+                },
+                MoreExecutors.directExecutor());
+    }
+
     /**
      * Creates a visitable that scans the provided range.
      *
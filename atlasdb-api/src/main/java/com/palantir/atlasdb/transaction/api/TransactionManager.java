@@ -15,9 +15,15 @@
  */
 package com.palantir.atlasdb.transaction.api;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+
 import com.palantir.atlasdb.cleaner.api.Cleaner;
 import com.palantir.atlasdb.keyvalue.api.KeyValueService;
 import com.palantir.atlasdb.keyvalue.api.watch.LockWatchManager;
@@ -116,6 +122,29 @@ public interface TransactionManager extends AutoCloseable {
     <T, E extends Exception> T runTaskThrowOnConflict(TransactionTask<T, E> task)
             throws E, TransactionFailedRetriableException;
 
+    /**
+     * Runs the given {@link TransactionTask} with the same semantics as
+     * {@link #runTaskThrowOnConflict(TransactionTask)}, but returns a future of the value returned by the task
+     * instead of blocking until the transaction has been committed.
+     * <p>
+     * By default, the whole of {@link #runTaskThrowOnConflict(TransactionTask)} is run on the provided executor.
+     * Implementations may instead run the task on the calling thread and only commit on the provided executor.
+     * Conflicts are not retried: if a write-write conflict occurs, the returned future fails with a
+     * {@link TransactionConflictException}.
+     *
+     * @param task task to run
+     * @param executor executor on which work that would otherwise block the calling thread is run
+     *
+     * @return future of the value returned by task
+     *
+     * @throws IllegalStateException if the transaction manager has been closed.
+     */
+    @DoNotDelegate
+    default <T, E extends Exception> ListenableFuture<T> runTaskAsync(
+            TransactionTask<T, E> task, Executor executor) {
+        return Futures.submit(() -> runTaskThrowOnConflict(task), executor);
+    }
+
     /**
      * This will open and run a read-only transaction. Read-only transactions are similar to other
      * transactions, but will throw if any write operations are called. Furthermore, they often
@@ -130,6 +159,31 @@ public interface TransactionManager extends AutoCloseable {
     @Timed
     <T, E extends Exception> T runTaskReadOnly(TransactionTask<T, E> task) throws E;
 
+    /**
+     * This method is basically the same as {@link #runTaskReadOnly(TransactionTask)}, but the transaction may read
+     * from a snapshot that is up to {@code maxStaleness} old, instead of a snapshot that is fresh when the task
+     * starts. The snapshot is shared by all such transactions in the process, so most of these transactions do not
+     * need to contact the timestamp and lock services at all.
+     * <p>
+     * Reads within the transaction are consistent with each other, exactly as for a snapshot read at the snapshot's
+     * start timestamp, but may not include writes committed up to {@code maxStaleness} before the task starts.
+     * Implementations may use a fresher snapshot than requested, including by falling back to
+     * {@link #runTaskReadOnly(TransactionTask)}, and may cap the staleness they allow.
+     *
+     * @param maxStaleness how old the snapshot read by the transaction may be
+     * @param task task to run
+     *
+     * @return value returned by task
+     *
+     * @throws IllegalStateException if the transaction manager has been closed.
+     */
+    @DoDelegate
+    @Timed
+    default <T, E extends Exception> T runTaskReadOnlyWithMaxStaleness(
+            Duration maxStaleness, TransactionTask<T, E> task) throws E {
+        return runTaskReadOnly(task);
+    }
+
     /**
      * This method is basically the same as {@link #runTaskWithRetry(TransactionTask)} but it will
      * acquire locks right before the transaction is created and release them after the task is complete.
@@ -325,6 +379,15 @@ public interface TransactionManager extends AutoCloseable {
         return NoOpLockWatchManager.INSTANCE;
     }
 
+    /**
+     * Returns a {@link BulkLoader} that writes to the key value service used by this transaction manager, or empty if
+     * this transaction manager does not support bulk loads.
+     */
+    @DoDelegate
+    default Optional<BulkLoader> getBulkLoader() {
+        return Optional.empty();
+    }
+
     /**
      * Returns the timestamp service used by this transaction manager.
      *
@@ -24,6 +24,8 @@ import com.google.auto.service.AutoService;
 import com.palantir.atlasdb.AtlasDbConstants;
 import com.palantir.atlasdb.keyvalue.cassandra.CassandraConstants;
 import com.palantir.atlasdb.spi.KeyValueServiceRuntimeConfig;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
 
 @AutoService(KeyValueServiceRuntimeConfig.class)
 @JsonDeserialize(as = ImmutableCassandraKeyValueServiceRuntimeConfig.class)
@@ -121,6 +123,42 @@ public abstract class CassandraKeyValueServiceRuntimeConfig implements KeyValueS
         return true;
     }
 
+    /**
+     * The number of pages of a range scan that are requested from Cassandra ahead of the page currently being
+     * processed. A value of 0 disables prefetching, so that each page is only requested once the previous page has
+     * been fully consumed.
+     */
+    @Value.Default
+    public int rangePrefetchDepth() {
+        return CassandraConstants.DEFAULT_RANGE_PREFETCH_DEPTH;
+    }
+
+    /**
+     * The approximate maximum number of bytes of prefetched but not yet consumed data buffered per range scan. Once
+     * this is exceeded, no further pages are prefetched until the consumer catches up.
+     */
+    @Value.Default
+    public long rangePrefetchBufferSizeBytes() {
+        return CassandraConstants.DEFAULT_RANGE_PREFETCH_BUFFER_SIZE_BYTES;
+    }
+
+    /**
+     * The maximum number of rows a single putUnlessExists call writes to concurrently. Each row is written with its own
+     * Paxos round, so a value of 1 runs these rounds one after another.
+     */
+    @Value.Default
+    public int putUnlessExistsConcurrency() {
+        return CassandraConstants.DEFAULT_PUT_UNLESS_EXISTS_CONCURRENCY;
+    }
+
+    @Value.Check
+    protected final void check() {
+        Preconditions.checkArgument(rangePrefetchDepth() >= 0, "rangePrefetchDepth must not be negative",
+                SafeArg.of("rangePrefetchDepth", rangePrefetchDepth()));
+        Preconditions.checkArgument(putUnlessExistsConcurrency() >= 1, "putUnlessExistsConcurrency must be positive",
+                SafeArg.of("putUnlessExistsConcurrency", putUnlessExistsConcurrency()));
+    }
+
     public static CassandraKeyValueServiceRuntimeConfig getDefault() {
         return ImmutableCassandraKeyValueServiceRuntimeConfig.builder().build();
     }
@@ -67,6 +67,11 @@ public final class CassandraConstants {
     // TODO(Sudiksha): This is used to be compatible with past behaviour
     public static final int DEFAULT_READ_LIMIT_PER_ROW = Integer.MAX_VALUE;
 
+    public static final int DEFAULT_RANGE_PREFETCH_DEPTH = 0;
+    public static final long DEFAULT_RANGE_PREFETCH_BUFFER_SIZE_BYTES = 16 * 1024 * 1024;
+
+    public static final int DEFAULT_PUT_UNLESS_EXISTS_CONCURRENCY = 16;
+
     static final int DENSELY_ACCESSED_WIDE_ROWS_INDEX_INTERVAL = 1;
     static final int DEFAULT_MIN_INDEX_INTERVAL = 128;
     static final int DEFAULT_MAX_INDEX_INTERVAL = 2048;
@@ -34,7 +34,6 @@ import java.util.stream.StreamSupport;
 
 import javax.annotation.Nullable;
 
-import org.apache.cassandra.thrift.CASResult;
 import org.apache.cassandra.thrift.CfDef;
 import org.apache.cassandra.thrift.Column;
 import org.apache.cassandra.thrift.ColumnOrSuperColumn;
@@ -52,6 +51,7 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Function;
 import com.google.common.base.Functions;
 import com.google.common.base.Predicates;
+import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -69,6 +69,8 @@ import com.google.common.collect.SetMultimap;
 import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.palantir.async.initializer.AsyncInitializer;
 import com.palantir.atlasdb.AtlasDbConstants;
@@ -126,6 +128,7 @@ import com.palantir.common.base.ClosableIterator;
 import com.palantir.common.base.ClosableIterators;
 import com.palantir.common.base.FunctionCheckedException;
 import com.palantir.common.base.Throwables;
+import com.palantir.common.concurrent.PTExecutors;
 import com.palantir.common.exception.AtlasDbDependencyException;
 import com.palantir.common.exception.PalantirRuntimeException;
 import com.palantir.common.streams.KeyedStream;
@@ -222,6 +225,7 @@ public class CassandraKeyValueServiceImpl extends AbstractKeyValueService implem
     private final CellLoader cellLoader;
     private final Optional<AsyncKeyValueService> asyncKeyValueService;
     private final RangeLoader rangeLoader;
+    private final ListeningExecutorService rangePrefetchExecutor;
     private final TaskRunner taskRunner;
     private final CellValuePutter cellValuePutter;
     private final CassandraTableMetadata tableMetadata;
@@ -229,6 +233,7 @@ public class CassandraKeyValueServiceImpl extends AbstractKeyValueService implem
     private final CassandraTableDropper cassandraTableDropper;
     private final CassandraTableTruncator cassandraTableTruncator;
     private final CheckAndSetRunner checkAndSetRunner;
+    private final PutUnlessExistsRunner putUnlessExistsRunner;
 
     private final CassandraTables cassandraTables;
 
@@ -429,7 +434,10 @@ public class CassandraKeyValueServiceImpl extends AbstractKeyValueService implem
         this.cassandraTables = new CassandraTables(clientPool, config);
         this.taskRunner = new TaskRunner(executor);
         this.cellLoader = CellLoader.create(clientPool, wrappingQueryRunner, taskRunner, runtimeConfigSupplier);
-        this.rangeLoader = new RangeLoader(clientPool, queryRunner, metricsManager, readConsistency);
+        this.rangePrefetchExecutor = MoreExecutors.listeningDecorator(
+                PTExecutors.newCachedThreadPool("Atlas Cassandra KVS range prefetch"));
+        this.rangeLoader = new RangeLoader(clientPool, queryRunner, metricsManager, readConsistency,
+                runtimeConfigSupplier, rangePrefetchExecutor);
         this.cellValuePutter = new CellValuePutter(
                 config,
                 clientPool,
@@ -437,6 +445,8 @@ public class CassandraKeyValueServiceImpl extends AbstractKeyValueService implem
                 wrappingQueryRunner,
                 mutationTimestampProvider::getSweepSentinelWriteTimestamp);
         this.checkAndSetRunner = new CheckAndSetRunner(queryRunner);
+        this.putUnlessExistsRunner = new PutUnlessExistsRunner(clientPool, executor,
+                () -> runtimeConfigSupplier.get().putUnlessExistsConcurrency());
         this.tableMetadata = new CassandraTableMetadata(rangeLoader, cassandraTables, clientPool,
                 wrappingQueryRunner);
         this.cassandraTableCreator = new CassandraTableCreator(clientPool, config);
@@ -817,6 +827,52 @@ public class CassandraKeyValueServiceImpl extends AbstractKeyValueService implem
         return collector.getCollectedResults();
     }
 
+    /**
+     * Gets values from multiple tables of the key-value store.
+     * <p>
+     * The cells of all tables are partitioned by host together, and all of the resulting queries are run
+     * concurrently, so that this takes roughly as long as the slowest query, rather than one round trip per table.
+     * <p>
+     * Requires a quorum of Cassandra nodes to be reachable.
+     *
+     * @param timestampByCellByTable specifies, for each table, the cells to retrieve values for and the maximum
+     *        timestamp (exclusive) at which to retrieve each cell's value.
+     * @return map from each requested table to the values retrieved from it. Values which do not exist (either
+     *         because they were deleted or never created in the first place) are simply not returned.
+     *
+     * @throws AtlasDbDependencyException if fewer than a quorum of Cassandra nodes are reachable.
+     */
+    @Override
+    public Map<TableReference, Map<Cell, Value>> getMulti(
+            Map<TableReference, Map<Cell, Long>> timestampByCellByTable) {
+        try {
+            List<Callable<Void>> tasks = Lists.newArrayList();
+            ListMultimap<TableReference, StartTsResultsCollector> collectorsByTable = ArrayListMultimap.create();
+            timestampByCellByTable.forEach((tableRef, timestampByCell) -> {
+                SetMultimap<Long, Cell> cellsByTs = Multimaps.invertFrom(
+                        Multimaps.forMap(timestampByCell), HashMultimap.create());
+                for (long ts : cellsByTs.keySet()) {
+                    StartTsResultsCollector collector = new StartTsResultsCollector(metricsManager, ts);
+                    tasks.addAll(cellLoader.getLoadWithTsTasks(
+                            "getMulti", tableRef, cellsByTs.get(ts), ts, false, collector, readConsistency));
+                    collectorsByTable.put(tableRef, collector);
+                }
+            });
+            taskRunner.runAllTasksCancelOnFailure(tasks);
+
+            Map<TableReference, Map<Cell, Value>> results =
+                    Maps.newHashMapWithExpectedSize(timestampByCellByTable.size());
+            for (TableReference tableRef : timestampByCellByTable.keySet()) {
+                Builder<Cell, Value> builder = ImmutableMap.builder();
+                collectorsByTable.get(tableRef).forEach(collector -> builder.putAll(collector.getCollectedResults()));
+                results.put(tableRef, builder.build());
+            }
+            return results;
+        } catch (Exception e) {
+            throw Throwables.unwrapAndThrowAtlasDbDependencyException(e);
+        }
+    }
+
     /**
      * Gets values from the key-value store for the specified rows and column range as separate iterators for each row.
      * Requires a quorum of Cassandra nodes to be reachable, otherwise, the returned iterators will throw an
@@ -1762,6 +1818,7 @@ public class CassandraKeyValueServiceImpl extends AbstractKeyValueService implem
     public void close() {
         clientPool.shutdown();
         asyncKeyValueService.ifPresent(AsyncKeyValueService::close);
+        rangePrefetchExecutor.shutdown();
         super.close();
     }
 
@@ -1825,32 +1882,7 @@ public class CassandraKeyValueServiceImpl extends AbstractKeyValueService implem
     @Override
     public void putUnlessExists(final TableReference tableRef, final Map<Cell, byte[]> values)
             throws KeyAlreadyExistsException {
-        try {
-            Optional<KeyAlreadyExistsException> failure = clientPool.runWithRetry(client -> {
-                Map<ByteString, Map<Cell, byte[]>> partitionedEntries = partitionPerRow(values);
-
-                for (Map.Entry<ByteString, Map<Cell, byte[]>> partition : partitionedEntries.entrySet()) {
-                    CASResult casResult = putUnlessExistsSinglePartition(
-                            tableRef, client, partition.getKey(), partition.getValue());
-                    if (!casResult.isSuccess()) {
-                        return Optional.of(new KeyAlreadyExistsException(
-                                String.format("The cells in table %s already exist.", tableRef.getQualifiedName()),
-                                casResult.getCurrent_values().stream()
-                                        .map(column -> Cell.create(partition.getKey().toByteArray(),
-                                                CassandraKeyValueServices.decompose(column.bufferForName()).lhSide))
-                                        .collect(Collectors.toList())));
-                    }
-                }
-                return Optional.empty();
-            });
-            failure.ifPresent(exception -> {
-                throw exception;
-            });
-        } catch (KeyAlreadyExistsException e) {
-            throw e;
-        } catch (Exception e) {
-            throw Throwables.unwrapAndThrowAtlasDbDependencyException(e);
-        }
+        putUnlessExistsRunner.putUnlessExists(tableRef, values);
     }
 
     public static Map<ByteString, Map<Cell, byte[]>> partitionPerRow(Map<Cell, byte[]> values) {
@@ -1860,33 +1892,6 @@ public class CassandraKeyValueServiceImpl extends AbstractKeyValueService implem
                         Collectors.toMap(Entry::getKey, Entry::getValue)));
     }
 
-    private static CASResult putUnlessExistsSinglePartition(
-            TableReference tableRef,
-            CassandraClient client,
-            ByteString row,
-            Map<Cell, byte[]> partition) throws TException {
-        return client.put_unless_exists(
-                tableRef,
-                ByteBuffer.wrap(row.toByteArray()),
-                partition.entrySet()
-                        .stream()
-                        .map(CassandraKeyValueServiceImpl::prepareColumnForPutUnlessExists)
-                        .collect(Collectors.toList()),
-                ConsistencyLevel.SERIAL,
-                WRITE_CONSISTENCY);
-    }
-
-    private static Column prepareColumnForPutUnlessExists(Entry<Cell, byte[]> insertion) {
-        return new Column(
-                CassandraKeyValueServices.makeCompositeBuffer(
-                        insertion.getKey().getColumnName(),
-                        // Atlas timestamp
-                        CassandraConstants.CAS_TABLE_TIMESTAMP))
-                // Cassandra timestamp
-                .setTimestamp(CassandraConstants.CAS_TABLE_TIMESTAMP)
-                .setValue(insertion.getValue());
-    }
-
     @Override
     public CheckAndSetCompatibility getCheckAndSetCompatibility() {
         return CheckAndSetCompatibility.SUPPORTED_DETAIL_ON_FAILURE;
@@ -2039,6 +2044,13 @@ public class CassandraKeyValueServiceImpl extends AbstractKeyValueService implem
                 .orElseGet(() -> Futures.immediateFuture(this.get(tableRef, timestampByCell)));
     }
 
+    @Override
+    public ListenableFuture<Map<TableReference, Map<Cell, Value>>> getMultiAsync(
+            Map<TableReference, Map<Cell, Long>> timestampByCellByTable) {
+        return asyncKeyValueService.map(asyncKvs -> asyncKvs.getMultiAsync(timestampByCellByTable))
+                .orElseGet(() -> Futures.immediateFuture(this.getMulti(timestampByCellByTable)));
+    }
+
     private static class TableCellAndValue {
         private static final Function<TableCellAndValue, byte[]> EXTRACT_ROW_NAME_FUNCTION =
                 input -> input.cell.getRowName();
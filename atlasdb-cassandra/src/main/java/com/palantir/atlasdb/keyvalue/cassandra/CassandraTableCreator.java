@@ -49,11 +49,12 @@ class CassandraTableCreator {
     void createTables(Map<TableReference, byte[]> tableRefToMetadata) {
         try {
             clientPool.runWithRetry(client -> {
-                for (Map.Entry<TableReference, byte[]> entry : tableRefToMetadata.entrySet()) {
-                    CassandraKeyValueServices.runWithWaitingForSchemas(
-                            () -> createTable(entry.getKey(), entry.getValue(), client), config, client,
-                            "adding the column family for table " + entry.getKey() + " in a call to create tables");
-                }
+                // Table ids are derived from the table names, so the creations are safe to issue back to back; we
+                // only need schema agreement once before and once after the whole batch.
+                CassandraKeyValueServices.runWithWaitingForSchemas(
+                        () -> createTables(tableRefToMetadata, client), config, client,
+                        "adding the column families for " + tableRefToMetadata.size()
+                                + " tables in a call to create tables");
                 return null;
             });
         } catch (Exception e) {
@@ -61,6 +62,13 @@ class CassandraTableCreator {
         }
     }
 
+    private void createTables(Map<TableReference, byte[]> tableRefToMetadata, CassandraClient client)
+            throws TException {
+        for (Map.Entry<TableReference, byte[]> entry : tableRefToMetadata.entrySet()) {
+            createTable(entry.getKey(), entry.getValue(), client);
+        }
+    }
+
     private void createTable(TableReference tableRef, byte[] metadata, CassandraClient client) throws TException {
         CqlQuery query = constructQuery(tableRef, metadata);
         client.execute_cql3_query(query, Compression.NONE, CassandraKeyValueServiceImpl.WRITE_CONSISTENCY);
@@ -93,6 +93,21 @@ final class CellLoader {
             boolean loadAllTs,
             CassandraKeyValueServices.ThreadSafeResultVisitor visitor,
             ConsistencyLevel consistency) {
+        taskRunner.runAllTasksCancelOnFailure(
+                getLoadWithTsTasks(kvsMethodName, tableRef, cells, startTs, loadAllTs, visitor, consistency));
+    }
+
+    /**
+     * Returns the tasks that {@link #loadWithTs} would run, so that the caller can run them together with the tasks
+     * for other tables.
+     */
+    List<Callable<Void>> getLoadWithTsTasks(String kvsMethodName,
+            TableReference tableRef,
+            Set<Cell> cells,
+            long startTs,
+            boolean loadAllTs,
+            CassandraKeyValueServices.ThreadSafeResultVisitor visitor,
+            ConsistencyLevel consistency) {
         Map<InetSocketAddress, List<Cell>> hostsAndCells = HostPartitioner.partitionByHost(clientPool, cells,
                 Cell::getRowName);
         int totalPartitions = hostsAndCells.keySet().size();
@@ -128,8 +143,7 @@ final class CellLoader {
                     visitor,
                     consistency));
         }
-
-        taskRunner.runAllTasksCancelOnFailure(tasks);
+        return tasks;
     }
 
     // TODO(unknown): after cassandra api change: handle different column select per row
@@ -0,0 +1,187 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.keyvalue.cassandra;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.function.IntSupplier;
+import java.util.stream.Collectors;
+
+import org.apache.cassandra.thrift.CASResult;
+import org.apache.cassandra.thrift.Column;
+import org.apache.cassandra.thrift.ConsistencyLevel;
+import org.apache.thrift.TException;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.KeyAlreadyExistsException;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.common.base.FunctionCheckedException;
+import com.palantir.common.base.Throwables;
+import com.palantir.common.concurrent.BlockingWorkerPool;
+
+import okio.ByteString;
+
+/**
+ * Runs a putUnlessExists as one {@code put_unless_exists} per row, since each Paxos round is confined to a single
+ * partition. The rounds for different rows are independent, so they are run concurrently (up to a configurable limit),
+ * and each is sent to a replica owning its row, so that the coordinator does not need an extra hop to reach one.
+ * <p>
+ * Every row is attempted, even if the cells of another row already exist. If any cells already exist, a single
+ * {@link KeyAlreadyExistsException} reports all of them, along with the cells of the rows that were written.
+ */
+class PutUnlessExistsRunner {
+    private final CassandraClientPool clientPool;
+    private final ExecutorService executor;
+    private final IntSupplier concurrency;
+
+    PutUnlessExistsRunner(CassandraClientPool clientPool, ExecutorService executor, IntSupplier concurrency) {
+        this.clientPool = clientPool;
+        this.executor = executor;
+        this.concurrency = concurrency;
+    }
+
+    void putUnlessExists(TableReference tableRef, Map<Cell, byte[]> values) throws KeyAlreadyExistsException {
+        Map<ByteString, PartitionResult> results = putPartitions(
+                tableRef, CassandraKeyValueServiceImpl.partitionPerRow(values));
+
+        ImmutableList.Builder<Cell> existingCells = ImmutableList.builder();
+        ImmutableList.Builder<Cell> committedCells = ImmutableList.builder();
+        for (PartitionResult result : results.values()) {
+            if (result.failure.isPresent()) {
+                throw Throwables.unwrapAndThrowAtlasDbDependencyException(result.failure.get());
+            }
+            existingCells.addAll(result.existingCells);
+            committedCells.addAll(result.committedCells);
+        }
+
+        List<Cell> existing = existingCells.build();
+        if (!existing.isEmpty()) {
+            throw new KeyAlreadyExistsException(
+                    String.format("The cells in table %s already exist.", tableRef.getQualifiedName()),
+                    existing,
+                    committedCells.build());
+        }
+    }
+
+    private Map<ByteString, PartitionResult> putPartitions(
+            TableReference tableRef, Map<ByteString, Map<Cell, byte[]>> partitions) {
+        int maxConcurrency = concurrency.getAsInt();
+        if (partitions.size() == 1 || maxConcurrency == 1) {
+            Map<ByteString, PartitionResult> results = Maps.newHashMapWithExpectedSize(partitions.size());
+            partitions.forEach((row, cells) -> results.put(row, putPartition(tableRef, row, cells)));
+            return results;
+        }
+
+        Map<ByteString, PartitionResult> results = Maps.newConcurrentMap();
+        BlockingWorkerPool pool = new BlockingWorkerPool(executor, maxConcurrency);
+        try {
+            for (Map.Entry<ByteString, Map<Cell, byte[]>> partition : partitions.entrySet()) {
+                pool.submitTask(() -> results.put(
+                        partition.getKey(), putPartition(tableRef, partition.getKey(), partition.getValue())));
+            }
+            pool.waitForSubmittedTasks();
+            return results;
+        } catch (InterruptedException e) {
+            throw Throwables.rewrapAndThrowUncheckedException(e);
+        }
+    }
+
+    private PartitionResult putPartition(TableReference tableRef, ByteString row, Map<Cell, byte[]> cells) {
+        byte[] rowName = row.toByteArray();
+        try {
+            CASResult casResult = clientPool.runWithRetryOnHost(
+                    clientPool.getRandomHostForKey(rowName),
+                    new FunctionCheckedException<CassandraClient, CASResult, TException>() {
+                        @Override
+                        public CASResult apply(CassandraClient client) throws TException {
+                            return putUnlessExistsSinglePartition(tableRef, client, rowName, cells);
+                        }
+
+                        @Override
+                        public String toString() {
+                            return "put_unless_exists(" + tableRef.getQualifiedName() + ", " + cells.size()
+                                    + " cells)";
+                        }
+                    });
+            if (casResult.isSuccess()) {
+                return PartitionResult.committed(cells.keySet());
+            }
+            return PartitionResult.existing(casResult.getCurrent_values().stream()
+                    .map(column -> Cell.create(rowName,
+                            CassandraKeyValueServices.decompose(column.bufferForName()).lhSide))
+                    .collect(Collectors.toList()));
+        } catch (Exception e) {
+            return PartitionResult.failed(e);
+        }
+    }
+
+    private static CASResult putUnlessExistsSinglePartition(
+            TableReference tableRef,
+            CassandraClient client,
+            byte[] row,
+            Map<Cell, byte[]> partition) throws TException {
+        return client.put_unless_exists(
+                tableRef,
+                ByteBuffer.wrap(row),
+                partition.entrySet()
+                        .stream()
+                        .map(PutUnlessExistsRunner::prepareColumnForPutUnlessExists)
+                        .collect(Collectors.toList()),
+                ConsistencyLevel.SERIAL,
+                CassandraKeyValueServiceImpl.WRITE_CONSISTENCY);
+    }
+
+    private static Column prepareColumnForPutUnlessExists(Map.Entry<Cell, byte[]> insertion) {
+        return new Column(
+                CassandraKeyValueServices.makeCompositeBuffer(
+                        insertion.getKey().getColumnName(),
+                        // Atlas timestamp
+                        CassandraConstants.CAS_TABLE_TIMESTAMP))
+                // Cassandra timestamp
+                .setTimestamp(CassandraConstants.CAS_TABLE_TIMESTAMP)
+                .setValue(insertion.getValue());
+    }
+
+    private static final class PartitionResult {
+        private final Iterable<Cell> committedCells;
+        private final Iterable<Cell> existingCells;
+        private final Optional<Exception> failure;
+
+        private PartitionResult(Iterable<Cell> committedCells, Iterable<Cell> existingCells,
+                Optional<Exception> failure) {
+            this.committedCells = committedCells;
+            this.existingCells = existingCells;
+            this.failure = failure;
+        }
+
+        static PartitionResult committed(Iterable<Cell> cells) {
+            return new PartitionResult(cells, ImmutableList.of(), Optional.empty());
+        }
+
+        static PartitionResult existing(Iterable<Cell> cells) {
+            return new PartitionResult(ImmutableList.of(), cells, Optional.empty());
+        }
+
+        static PartitionResult failed(Exception failure) {
+            return new PartitionResult(ImmutableList.of(), ImmutableList.of(), Optional.of(failure));
+        }
+    }
+}
@@ -22,12 +22,15 @@ import org.apache.cassandra.thrift.ConsistencyLevel;
 import org.apache.cassandra.thrift.SlicePredicate;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.palantir.atlasdb.cassandra.CassandraKeyValueServiceRuntimeConfig;
 import com.palantir.atlasdb.keyvalue.api.RangeRequest;
 import com.palantir.atlasdb.keyvalue.api.RowResult;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.api.Value;
 import com.palantir.atlasdb.keyvalue.cassandra.paging.CassandraRangePagingIterable;
 import com.palantir.atlasdb.keyvalue.cassandra.paging.ColumnGetter;
+import com.palantir.atlasdb.keyvalue.cassandra.paging.RangePrefetcher;
 import com.palantir.atlasdb.keyvalue.cassandra.paging.RowGetter;
 import com.palantir.atlasdb.keyvalue.cassandra.paging.ThriftColumnGetter;
 import com.palantir.atlasdb.keyvalue.cassandra.thrift.SlicePredicates;
@@ -39,14 +42,19 @@ public class RangeLoader {
     private final CassandraClientPool clientPool;
     private final TracingQueryRunner queryRunner;
     private final MetricsManager metricsManager;
+    private final Supplier<CassandraKeyValueServiceRuntimeConfig> runtimeConfigSupplier;
+    private final ListeningExecutorService prefetchExecutor;
     private ConsistencyLevel consistencyLevel;
 
     public RangeLoader(CassandraClientPool clientPool, TracingQueryRunner queryRunner, MetricsManager metricsManager,
-            ConsistencyLevel consistencyLevel) {
+            ConsistencyLevel consistencyLevel, Supplier<CassandraKeyValueServiceRuntimeConfig> runtimeConfigSupplier,
+            ListeningExecutorService prefetchExecutor) {
         this.clientPool = clientPool;
         this.queryRunner = queryRunner;
         this.metricsManager = metricsManager;
         this.consistencyLevel = consistencyLevel;
+        this.runtimeConfigSupplier = runtimeConfigSupplier;
+        this.prefetchExecutor = prefetchExecutor;
     }
 
     public ClosableIterator<RowResult<Value>> getRange(TableReference tableRef, RangeRequest rangeRequest, long ts) {
@@ -99,9 +107,22 @@ public class RangeLoader {
                 columnGetter,
                 rangeRequest,
                 resultsExtractor,
-                startTs
+                startTs,
+                createPrefetcher()
         );
 
-        return ClosableIterators.wrap(rowResults.iterator());
+        return ClosableIterators.wrap(rowResults.iterator(), rowResults::discardPrefetchedPages);
+    }
+
+    private RangePrefetcher createPrefetcher() {
+        CassandraKeyValueServiceRuntimeConfig runtimeConfig = runtimeConfigSupplier.get();
+        if (runtimeConfig.rangePrefetchDepth() == 0) {
+            return RangePrefetcher.disabled();
+        }
+        return RangePrefetcher.create(
+                metricsManager,
+                prefetchExecutor,
+                runtimeConfig.rangePrefetchDepth(),
+                runtimeConfig.rangePrefetchBufferSizeBytes());
     }
 }
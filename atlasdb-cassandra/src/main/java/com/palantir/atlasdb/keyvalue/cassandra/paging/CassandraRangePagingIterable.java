@@ -16,15 +16,25 @@
 package com.palantir.atlasdb.keyvalue.cassandra.paging;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Supplier;
 
+import org.apache.cassandra.thrift.Column;
 import org.apache.cassandra.thrift.ColumnOrSuperColumn;
 import org.apache.cassandra.thrift.KeyRange;
 import org.apache.cassandra.thrift.KeySlice;
 import org.apache.cassandra.thrift.SlicePredicate;
 
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.palantir.atlasdb.futures.AtlasFutures;
 import com.palantir.atlasdb.keyvalue.api.ColumnSelection;
 import com.palantir.atlasdb.keyvalue.api.RangeRequest;
 import com.palantir.atlasdb.keyvalue.api.RangeRequests;
@@ -34,6 +44,14 @@ import com.palantir.util.paging.AbstractPagingIterable;
 import com.palantir.util.paging.SimpleTokenBackedResultsPage;
 import com.palantir.util.paging.TokenBackedBasicResultsPage;
 
+/**
+ * Pages through a range of rows in Cassandra.
+ * <p>
+ * If the given {@link RangePrefetcher} is enabled, the next pages of the range are requested from Cassandra in the
+ * background while the consumer is still processing the current page, using the last row of each page to determine
+ * where the next one starts. Prefetched pages are tracked per iterable, so each instance should only be iterated
+ * once; call {@link #discardPrefetchedPages()} when abandoning the iteration before the end of the range.
+ */
 public class CassandraRangePagingIterable<T>
         extends AbstractPagingIterable<RowResult<T>, TokenBackedBasicResultsPage<RowResult<T>, byte[]>> {
     private final ColumnGetter columnGetter;
@@ -46,6 +64,10 @@ public class CassandraRangePagingIterable<T>
     private final RowGetter rowGetter;
     private final SlicePredicate slicePredicate;
 
+    private final RangePrefetcher prefetcher;
+    private final Deque<ListenableFuture<Optional<LoadedPage<T>>>> prefetchedPages = new ArrayDeque<>();
+    private volatile long consumedBytes = 0;
+
     public CassandraRangePagingIterable(
             RowGetter rowGetter,
             SlicePredicate slicePredicate,
@@ -53,12 +75,25 @@ public class CassandraRangePagingIterable<T>
             RangeRequest rangeRequest,
             Supplier<ResultsExtractor<T>> resultsExtractor,
             long timestamp) {
+        this(rowGetter, slicePredicate, columnGetter, rangeRequest, resultsExtractor, timestamp,
+                RangePrefetcher.disabled());
+    }
+
+    public CassandraRangePagingIterable(
+            RowGetter rowGetter,
+            SlicePredicate slicePredicate,
+            ColumnGetter columnGetter,
+            RangeRequest rangeRequest,
+            Supplier<ResultsExtractor<T>> resultsExtractor,
+            long timestamp,
+            RangePrefetcher prefetcher) {
         this.rowGetter = rowGetter;
         this.slicePredicate = slicePredicate;
         this.columnGetter = columnGetter;
         this.rangeRequest = rangeRequest;
         this.resultsExtractor = resultsExtractor;
         this.timestamp = timestamp;
+        this.prefetcher = prefetcher;
 
         batchHint = rangeRequest.getBatchHint() == null ? 100 : rangeRequest.getBatchHint();
         selection = rangeRequest.getColumnNames().isEmpty() ? ColumnSelection.all()
@@ -67,26 +102,130 @@ public class CassandraRangePagingIterable<T>
 
     @Override
     protected TokenBackedBasicResultsPage<RowResult<T>, byte[]> getFirstPage() throws Exception {
-        return getSinglePage(rangeRequest.getStartInclusive());
+        TokenBackedBasicResultsPage<RowResult<T>, byte[]> page =
+                getSinglePage(rangeRequest.getStartInclusive()).page;
+        prefetchPagesAfter(page);
+        return page;
     }
 
     @Override
     protected TokenBackedBasicResultsPage<RowResult<T>, byte[]> getNextPage(
             TokenBackedBasicResultsPage<RowResult<T>, byte[]> previous)
             throws Exception {
-        return getSinglePage(previous.getTokenForNextPage());
+        Optional<TokenBackedBasicResultsPage<RowResult<T>, byte[]>> prefetchedPage = takePrefetchedPage();
+        TokenBackedBasicResultsPage<RowResult<T>, byte[]> page;
+        if (prefetchedPage.isPresent()) {
+            page = prefetchedPage.get();
+        } else {
+            // Prefetching stopped because the buffer was full, so none of the pages behind this one were loaded.
+            discardPrefetchedPages();
+            page = getSinglePage(previous.getTokenForNextPage()).page;
+        }
+        prefetchPagesAfter(page);
+        return page;
+    }
+
+    /**
+     * Cancels any prefetches that are still in flight, and drops any pages that were prefetched but not consumed.
+     */
+    public void discardPrefetchedPages() {
+        ListenableFuture<Optional<LoadedPage<T>>> prefetchedPage;
+        while ((prefetchedPage = prefetchedPages.pollFirst()) != null) {
+            if (!prefetchedPage.isDone()) {
+                prefetchedPage.cancel(false);
+                continue;
+            }
+            try {
+                Futures.getDone(prefetchedPage).ifPresent(loaded -> prefetcher.recordWastedPage(loaded.sizeInBytes));
+            } catch (ExecutionException | CancellationException e) {
+                // The page failed to load, so there is nothing to discard.
+            }
+        }
+    }
+
+    private Optional<TokenBackedBasicResultsPage<RowResult<T>, byte[]>> takePrefetchedPage() {
+        ListenableFuture<Optional<LoadedPage<T>>> prefetchedPage = prefetchedPages.pollFirst();
+        if (prefetchedPage == null) {
+            return Optional.empty();
+        }
+        prefetcher.recordPrefetchedPageRequested(prefetchedPage.isDone());
+        Optional<LoadedPage<T>> loaded = AtlasFutures.getUnchecked(prefetchedPage);
+        loaded.ifPresent(page -> consumedBytes = page.cumulativeBytes);
+        return loaded.map(page -> page.page);
     }
 
-    private TokenBackedBasicResultsPage<RowResult<T>, byte[]> getSinglePage(byte[] startKey) throws Exception {
+    /**
+     * Extends the chain of prefetched pages so that up to the prefetch depth of pages are requested ahead of the
+     * given page, which the consumer is about to process. Each prefetch starts where the page before it ended, so
+     * prefetches for a range are necessarily issued one after the other.
+     */
+    private void prefetchPagesAfter(TokenBackedBasicResultsPage<RowResult<T>, byte[]> page) {
+        if (!prefetcher.isEnabled()) {
+            return;
+        }
+        // Prefetches that stopped because the buffer was full can be retried now that the consumer has caught up.
+        while (!prefetchedPages.isEmpty() && isKnownToBeEmpty(prefetchedPages.peekLast())) {
+            prefetchedPages.pollLast();
+        }
+        ListenableFuture<Optional<LoadedPage<T>>> last = prefetchedPages.isEmpty()
+                ? Futures.immediateFuture(Optional.of(new LoadedPage<>(page, 0, consumedBytes)))
+                : prefetchedPages.peekLast();
+        while (prefetchedPages.size() < prefetcher.getPrefetchDepth()) {
+            last = Futures.transformAsync(last, this::prefetchPageAfter, MoreExecutors.directExecutor());
+            prefetchedPages.addLast(last);
+        }
+    }
+
+    private ListenableFuture<Optional<LoadedPage<T>>> prefetchPageAfter(Optional<LoadedPage<T>> previous) {
+        if (!previous.isPresent()
+                || !previous.get().page.moreResultsAvailable()
+                || !prefetcher.hasBufferSpace(previous.get().cumulativeBytes - consumedBytes)) {
+            return Futures.immediateFuture(Optional.empty());
+        }
+        LoadedPage<T> previousPage = previous.get();
+        return prefetcher.submit(() -> {
+            LoadedPage<T> page = getSinglePage(previousPage.page.getTokenForNextPage());
+            return Optional.of(new LoadedPage<>(
+                    page.page, page.sizeInBytes, previousPage.cumulativeBytes + page.sizeInBytes));
+        });
+    }
+
+    private static boolean isKnownToBeEmpty(ListenableFuture<? extends Optional<?>> prefetchedPage) {
+        if (!prefetchedPage.isDone() || prefetchedPage.isCancelled()) {
+            return false;
+        }
+        try {
+            return !Futures.getDone(prefetchedPage).isPresent();
+        } catch (ExecutionException e) {
+            return false;
+        }
+    }
+
+    private LoadedPage<T> getSinglePage(byte[] startKey) throws Exception {
         List<KeySlice> rows = getRows(startKey);
         Map<ByteBuffer, List<ColumnOrSuperColumn>> columnsByRow = getColumns(rows);
         TokenBackedBasicResultsPage<RowResult<T>, byte[]> page = getPage(columnsByRow);
+        long sizeInBytes = prefetcher.isEnabled() ? getSizeInBytes(rows) : 0;
 
         if (page.moreResultsAvailable() && pageShouldBeLastPage(rows)) {
-            return pageWithNoMoreResultsAvailable(page);
+            return new LoadedPage<>(pageWithNoMoreResultsAvailable(page), sizeInBytes, sizeInBytes);
         }
 
-        return page;
+        return new LoadedPage<>(page, sizeInBytes, sizeInBytes);
+    }
+
+    private static long getSizeInBytes(List<KeySlice> rows) {
+        long size = 0;
+        for (KeySlice row : rows) {
+            size += row.getKey().length;
+            for (ColumnOrSuperColumn columnOrSuperColumn : row.getColumns()) {
+                if (columnOrSuperColumn.isSetColumn()) {
+                    Column column = columnOrSuperColumn.getColumn();
+                    size += column.getName().length + column.getValue().length;
+                }
+            }
+        }
+        return size;
     }
 
     private List<KeySlice> getRows(byte[] startKey) throws Exception {
@@ -126,4 +265,19 @@ public class CassandraRangePagingIterable<T>
         }
         return keyRange;
     }
+
+    private static final class LoadedPage<T> {
+        private final TokenBackedBasicResultsPage<RowResult<T>, byte[]> page;
+        private final long sizeInBytes;
+        // Total size of this page and all pages fetched before it, which is compared against the bytes consumed so
+        // far to work out how much prefetched data is buffered.
+        private final long cumulativeBytes;
+
+        private LoadedPage(TokenBackedBasicResultsPage<RowResult<T>, byte[]> page, long sizeInBytes,
+                long cumulativeBytes) {
+            this.page = page;
+            this.sizeInBytes = sizeInBytes;
+            this.cumulativeBytes = cumulativeBytes;
+        }
+    }
 }
@@ -0,0 +1,119 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.keyvalue.cassandra.paging;
+
+import java.util.concurrent.Callable;
+
+import com.codahale.metrics.Meter;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.palantir.atlasdb.util.MetricsManager;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+
+/**
+ * Determines how far ahead of its consumer a {@link CassandraRangePagingIterable} may fetch pages, and records how
+ * useful those prefetched pages turned out to be.
+ * <p>
+ * A prefetched page is a <i>hit</i> if it had already been loaded when the consumer asked for it, and a <i>wait</i>
+ * if it was still being loaded. Pages that were loaded but never consumed, for example because the range iterator
+ * was closed early, are counted as <i>wasted</i>.
+ */
+public final class RangePrefetcher {
+    private static final RangePrefetcher DISABLED = new RangePrefetcher(
+            MoreExecutors.newDirectExecutorService(), 0, 0, new Meter(), new Meter(), new Meter(), new Meter());
+
+    private final ListeningExecutorService executor;
+    private final int prefetchDepth;
+    private final long maxBufferedBytes;
+    private final Meter hits;
+    private final Meter waits;
+    private final Meter wastedPages;
+    private final Meter wastedBytes;
+
+    private RangePrefetcher(
+            ListeningExecutorService executor,
+            int prefetchDepth,
+            long maxBufferedBytes,
+            Meter hits,
+            Meter waits,
+            Meter wastedPages,
+            Meter wastedBytes) {
+        this.executor = executor;
+        this.prefetchDepth = prefetchDepth;
+        this.maxBufferedBytes = maxBufferedBytes;
+        this.hits = hits;
+        this.waits = waits;
+        this.wastedPages = wastedPages;
+        this.wastedBytes = wastedBytes;
+    }
+
+    /**
+     * Creates a prefetcher that keeps up to {@code prefetchDepth} pages in flight ahead of the consumer, and stops
+     * fetching further pages once the pages that have been fetched but not yet consumed take up at least
+     * {@code maxBufferedBytes}.
+     */
+    public static RangePrefetcher create(
+            MetricsManager metricsManager,
+            ListeningExecutorService executor,
+            int prefetchDepth,
+            long maxBufferedBytes) {
+        Preconditions.checkArgument(prefetchDepth >= 0, "Prefetch depth must not be negative",
+                SafeArg.of("prefetchDepth", prefetchDepth));
+        return new RangePrefetcher(
+                executor,
+                prefetchDepth,
+                maxBufferedBytes,
+                metricsManager.registerOrGetMeter(RangePrefetcher.class, "hits"),
+                metricsManager.registerOrGetMeter(RangePrefetcher.class, "waits"),
+                metricsManager.registerOrGetMeter(RangePrefetcher.class, "wastedPages"),
+                metricsManager.registerOrGetMeter(RangePrefetcher.class, "wastedBytes"));
+    }
+
+    public static RangePrefetcher disabled() {
+        return DISABLED;
+    }
+
+    boolean isEnabled() {
+        return prefetchDepth > 0;
+    }
+
+    int getPrefetchDepth() {
+        return prefetchDepth;
+    }
+
+    boolean hasBufferSpace(long bufferedBytes) {
+        return bufferedBytes < maxBufferedBytes;
+    }
+
+    <T> ListenableFuture<T> submit(Callable<T> task) {
+        return executor.submit(task);
+    }
+
+    void recordPrefetchedPageRequested(boolean alreadyLoaded) {
+        if (alreadyLoaded) {
+            hits.mark();
+        } else {
+            waits.mark();
+        }
+    }
+
+    void recordWastedPage(long sizeInBytes) {
+        wastedPages.mark();
+        wastedBytes.mark(sizeInBytes);
+    }
+}
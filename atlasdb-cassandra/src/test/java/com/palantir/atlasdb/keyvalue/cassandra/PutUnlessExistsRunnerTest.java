@@ -0,0 +1,120 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.keyvalue.cassandra;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+
+import org.apache.cassandra.thrift.CASResult;
+import org.apache.cassandra.thrift.Column;
+import org.apache.cassandra.thrift.UnavailableException;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.KeyAlreadyExistsException;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.common.base.FunctionCheckedException;
+import com.palantir.common.exception.AtlasDbDependencyException;
+
+public class PutUnlessExistsRunnerTest {
+    private static final TableReference TABLE = TableReference.createFromFullyQualifiedName("test.table");
+    private static final byte[] VALUE = PtBytes.toBytes("value");
+    private static final Cell CELL_1 = cell("row1", "col1");
+    private static final Cell CELL_2 = cell("row2", "col2");
+    private static final Cell CELL_3 = cell("row3", "col3");
+    private static final InetSocketAddress HOST_1 = InetSocketAddress.createUnresolved("host1", 9160);
+    private static final InetSocketAddress HOST_2 = InetSocketAddress.createUnresolved("host2", 9160);
+
+    private final CassandraClientPool clientPool = mock(CassandraClientPool.class);
+    private final CassandraClient client = mock(CassandraClient.class);
+    private final PutUnlessExistsRunner runner =
+            new PutUnlessExistsRunner(clientPool, MoreExecutors.newDirectExecutorService(), () -> 2);
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        when(clientPool.getRandomHostForKey(any())).thenReturn(HOST_1);
+        when(clientPool.runWithRetryOnHost(any(), any())).thenAnswer(invocation ->
+                invocation.<FunctionCheckedException<CassandraClient, ?, ?>>getArgument(1).apply(client));
+        when(client.put_unless_exists(eq(TABLE), any(), anyList(), any(), any())).thenReturn(new CASResult(true));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void sendsEachRowToAReplicaOwningIt() throws Exception {
+        when(clientPool.getRandomHostForKey(CELL_2.getRowName())).thenReturn(HOST_2);
+
+        runner.putUnlessExists(TABLE, ImmutableMap.of(CELL_1, VALUE, CELL_2, VALUE));
+
+        verify(clientPool).runWithRetryOnHost(eq(HOST_1), any(FunctionCheckedException.class));
+        verify(clientPool).runWithRetryOnHost(eq(HOST_2), any(FunctionCheckedException.class));
+        verify(client).put_unless_exists(eq(TABLE), eq(row(CELL_1)), anyList(), any(), any());
+        verify(client).put_unless_exists(eq(TABLE), eq(row(CELL_2)), anyList(), any(), any());
+    }
+
+    @Test
+    public void reportsExistingCellsOfAllRowsAndCommittedCellsOfOtherRows() throws Exception {
+        when(client.put_unless_exists(eq(TABLE), eq(row(CELL_1)), anyList(), any(), any()))
+                .thenReturn(existing(CELL_1));
+        when(client.put_unless_exists(eq(TABLE), eq(row(CELL_2)), anyList(), any(), any()))
+                .thenReturn(existing(CELL_2));
+
+        assertThatThrownBy(() -> runner.putUnlessExists(
+                TABLE, ImmutableMap.of(CELL_1, VALUE, CELL_2, VALUE, CELL_3, VALUE)))
+                .isInstanceOfSatisfying(KeyAlreadyExistsException.class, exception -> {
+                    assertThat(exception.getExistingKeys()).containsExactlyInAnyOrder(CELL_1, CELL_2);
+                    assertThat(exception.getKnownSuccessfullyCommittedKeys()).containsExactly(CELL_3);
+                });
+        verify(client).put_unless_exists(eq(TABLE), eq(row(CELL_3)), anyList(), any(), any());
+    }
+
+    @Test
+    public void propagatesOtherFailuresAsDependencyExceptions() throws Exception {
+        when(client.put_unless_exists(eq(TABLE), eq(row(CELL_1)), anyList(), any(), any()))
+                .thenThrow(new UnavailableException());
+
+        assertThatThrownBy(() -> runner.putUnlessExists(TABLE, ImmutableMap.of(CELL_1, VALUE, CELL_2, VALUE)))
+                .isInstanceOf(AtlasDbDependencyException.class);
+    }
+
+    private static Cell cell(String row, String column) {
+        return Cell.create(PtBytes.toBytes(row), PtBytes.toBytes(column));
+    }
+
+    private static ByteBuffer row(Cell cell) {
+        return ByteBuffer.wrap(cell.getRowName());
+    }
+
+    private static CASResult existing(Cell cell) {
+        return new CASResult(false).setCurrent_values(ImmutableList.of(new Column(
+                CassandraKeyValueServices.makeCompositeBuffer(
+                        cell.getColumnName(), CassandraConstants.CAS_TABLE_TIMESTAMP))));
+    }
+}
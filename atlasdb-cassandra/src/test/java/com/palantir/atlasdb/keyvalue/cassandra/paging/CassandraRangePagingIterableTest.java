@@ -0,0 +1,183 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.keyvalue.cassandra.paging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.apache.cassandra.thrift.Column;
+import org.apache.cassandra.thrift.ColumnOrSuperColumn;
+import org.apache.cassandra.thrift.KeyRange;
+import org.apache.cassandra.thrift.KeySlice;
+import org.apache.cassandra.thrift.SlicePredicate;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.ColumnSelection;
+import com.palantir.atlasdb.keyvalue.api.RangeRequest;
+import com.palantir.atlasdb.keyvalue.api.RowResult;
+import com.palantir.atlasdb.keyvalue.cassandra.CassandraKeyValueServices;
+import com.palantir.atlasdb.keyvalue.cassandra.ResultsExtractor;
+import com.palantir.atlasdb.util.MetricsManager;
+import com.palantir.atlasdb.util.MetricsManagers;
+
+public class CassandraRangePagingIterableTest {
+    private static final int NUM_ROWS = 5;
+    private static final int BATCH_HINT = 2;
+    private static final byte[] COLUMN = PtBytes.toBytes("col");
+    private static final byte[] VALUE = PtBytes.toBytes("value");
+    private static final long TIMESTAMP = 100L;
+
+    private final MetricsManager metricsManager = MetricsManagers.createForTests();
+    private final RowGetter rowGetter = mock(RowGetter.class);
+
+    @Before
+    public void setUp() {
+        when(rowGetter.getRows(anyString(), any(KeyRange.class), any(SlicePredicate.class)))
+                .thenAnswer(invocation -> getRowsStartingAt(invocation.getArgument(1)));
+    }
+
+    @Test
+    public void returnsAllRowsWithoutPrefetching() {
+        assertThat(readAll(createIterable(RangePrefetcher.disabled()).iterator())).isEqualTo(allRows());
+        verify(rowGetter, times(3)).getRows(anyString(), any(KeyRange.class), any(SlicePredicate.class));
+    }
+
+    @Test
+    public void returnsAllRowsWithPrefetching() {
+        assertThat(readAll(createIterable(createPrefetcher(2, Long.MAX_VALUE)).iterator())).isEqualTo(allRows());
+        verify(rowGetter, times(3)).getRows(anyString(), any(KeyRange.class), any(SlicePredicate.class));
+    }
+
+    @Test
+    public void requestsNextPageBeforeCurrentPageIsConsumed() {
+        Iterator<RowResult<byte[]>> iterator = createIterable(createPrefetcher(1, Long.MAX_VALUE)).iterator();
+        iterator.next();
+
+        verify(rowGetter, times(2)).getRows(anyString(), any(KeyRange.class), any(SlicePredicate.class));
+    }
+
+    @Test
+    public void stopsPrefetchingWhenBufferIsFull() {
+        Iterator<RowResult<byte[]>> iterator = createIterable(createPrefetcher(3, 1)).iterator();
+        iterator.next();
+
+        verify(rowGetter, times(2)).getRows(anyString(), any(KeyRange.class), any(SlicePredicate.class));
+        assertThat(readAll(iterator)).isEqualTo(allRows().subList(1, NUM_ROWS));
+    }
+
+    @Test
+    public void recordsHitsAndWastedPages() {
+        CassandraRangePagingIterable<byte[]> iterable = createIterable(createPrefetcher(1, Long.MAX_VALUE));
+        Iterator<RowResult<byte[]>> iterator = iterable.iterator();
+        readRows(iterator, BATCH_HINT + 1);
+        iterable.discardPrefetchedPages();
+
+        assertThat(metricsManager.registerOrGetMeter(RangePrefetcher.class, "hits").getCount()).isEqualTo(1);
+        assertThat(metricsManager.registerOrGetMeter(RangePrefetcher.class, "wastedPages").getCount()).isEqualTo(1);
+    }
+
+    private RangePrefetcher createPrefetcher(int depth, long maxBufferedBytes) {
+        return RangePrefetcher.create(
+                metricsManager, MoreExecutors.newDirectExecutorService(), depth, maxBufferedBytes);
+    }
+
+    private CassandraRangePagingIterable<byte[]> createIterable(RangePrefetcher prefetcher) {
+        return new CassandraRangePagingIterable<>(
+                rowGetter,
+                new SlicePredicate(),
+                new ThriftColumnGetter(),
+                RangeRequest.builder().batchHint(BATCH_HINT).build(),
+                () -> new MapResultsExtractor(metricsManager),
+                TIMESTAMP,
+                prefetcher);
+    }
+
+    private static List<KeySlice> getRowsStartingAt(KeyRange keyRange) {
+        return IntStream.range(0, NUM_ROWS)
+                .mapToObj(CassandraRangePagingIterableTest::rowName)
+                .filter(row -> UnsignedBytes.lexicographicalComparator().compare(row, keyRange.getStart_key()) >= 0)
+                .limit(keyRange.getCount())
+                .map(row -> new KeySlice()
+                        .setKey(row)
+                        .setColumns(ImmutableList.of(new ColumnOrSuperColumn().setColumn(new Column()
+                                .setName(CassandraKeyValueServices.makeCompositeBuffer(COLUMN, TIMESTAMP - 1))
+                                .setValue(VALUE)
+                                .setTimestamp(TIMESTAMP - 1)))))
+                .collect(Collectors.toList());
+    }
+
+    private static List<RowResult<byte[]>> readRows(Iterator<RowResult<byte[]>> iterator, int count) {
+        List<RowResult<byte[]>> rows = Lists.newArrayList();
+        for (int i = 0; i < count; i++) {
+            rows.add(iterator.next());
+        }
+        return rows;
+    }
+
+    private static List<String> readAll(Iterator<RowResult<byte[]>> iterator) {
+        return Lists.newArrayList(iterator).stream()
+                .map(row -> PtBytes.toString(row.getRowName()))
+                .collect(Collectors.toList());
+    }
+
+    private static List<String> allRows() {
+        return IntStream.range(0, NUM_ROWS)
+                .mapToObj(index -> PtBytes.toString(rowName(index)))
+                .collect(Collectors.toList());
+    }
+
+    private static byte[] rowName(int index) {
+        return PtBytes.toBytes("row" + index);
+    }
+
+    private static final class MapResultsExtractor extends ResultsExtractor<byte[]> {
+        private final Map<Cell, byte[]> results = Maps.newHashMap();
+
+        private MapResultsExtractor(MetricsManager metricsManager) {
+            super(metricsManager);
+        }
+
+        @Override
+        public void internalExtractResult(long startTs, ColumnSelection selection, byte[] row, byte[] col,
+                byte[] val, long ts) {
+            results.put(Cell.create(row, col), val);
+        }
+
+        @Override
+        public Map<Cell, byte[]> asMap() {
+            return results;
+        }
+    }
+}
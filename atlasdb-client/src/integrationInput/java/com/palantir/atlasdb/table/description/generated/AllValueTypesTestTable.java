@@ -39,9 +39,13 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.Sets;
+import com.google.common.collect.Streams;
 import com.google.common.hash.Hashing;
 import com.google.common.primitives.Bytes;
 import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.palantir.atlasdb.compress.CompressionUtils;
 import com.palantir.atlasdb.encoding.PtBytes;
@@ -56,6 +60,8 @@ import com.palantir.atlasdb.keyvalue.api.RangeRequest;
 import com.palantir.atlasdb.keyvalue.api.RowResult;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.impl.Cells;
+import com.palantir.atlasdb.ptobject.CompositeKeyReader;
+import com.palantir.atlasdb.ptobject.CompositeKeyWriter;
 import com.palantir.atlasdb.ptobject.EncodingUtils;
 import com.palantir.atlasdb.table.api.AtlasDbDynamicMutablePersistentTable;
 import com.palantir.atlasdb.table.api.AtlasDbMutablePersistentTable;
@@ -68,6 +74,7 @@ import com.palantir.atlasdb.table.description.ValueType;
 import com.palantir.atlasdb.table.generation.ColumnValues;
 import com.palantir.atlasdb.table.generation.Descending;
 import com.palantir.atlasdb.table.generation.NamedColumnValue;
+import com.palantir.atlasdb.table.generation.TableReads;
 import com.palantir.atlasdb.transaction.api.AtlasDbConstraintCheckingMode;
 import com.palantir.atlasdb.transaction.api.ConstraintCheckingTransaction;
 import com.palantir.atlasdb.transaction.api.ImmutableGetRangesQuery;
@@ -311,43 +318,34 @@ public final class AllValueTypesTestTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] component0Bytes = EncodingUtils.encodeUnsignedVarLong(component0);
-            byte[] component1Bytes = EncodingUtils.encodeSignedVarLong(component1);
-            byte[] component2Bytes = PtBytes.toBytes(Long.MIN_VALUE ^ component2);
-            byte[] component3Bytes = EncodingUtils.encodeLittleEndian(component3);
-            byte[] component4Bytes = component4.getBytes();
-            byte[] component5Bytes = EncodingUtils.encodeVarString(component5);
-            byte[] component8Bytes = EncodingUtils.encodeSizedBytes(component8);
-            byte[] component9Bytes = EncodingUtils.encodeNullableFixedLong(component9);
-            byte[] component10Bytes = EncodingUtils.encodeUUID(component10);
-            byte[] blobComponentBytes = blobComponent;
-            return EncodingUtils.add(component0Bytes, component1Bytes, component2Bytes, component3Bytes, component4Bytes, component5Bytes, component8Bytes, component9Bytes, component10Bytes, blobComponentBytes);
+            CompositeKeyWriter __writer = new CompositeKeyWriter(EncodingUtils.sizeOfUnsignedVarLong(component0) + EncodingUtils.sizeOfSignedVarLong(component1) + 8 + 8 + 32 + CompositeKeyWriter.sizeOfVarString(component5) + EncodingUtils.sizeOfSizedBytes(component8) + 9 + 16 + blobComponent.length);
+            __writer.writeUnsignedVarLong(component0);
+            __writer.writeSignedVarLong(component1);
+            __writer.writeFixedLong(component2);
+            __writer.write(EncodingUtils.encodeLittleEndian(component3));
+            __writer.write(component4.getBytes());
+            __writer.writeVarString(component5);
+            __writer.writeSizedBytes(component8);
+            __writer.write(EncodingUtils.encodeNullableFixedLong(component9));
+            __writer.writeUuid(component10);
+            __writer.write(blobComponent);
+            return __writer.toByteArray();
         }
 
         public static final Hydrator<AllValueTypesTestRow> BYTES_HYDRATOR = new Hydrator<AllValueTypesTestRow>() {
             @Override
             public AllValueTypesTestRow hydrateFromBytes(byte[] __input) {
-                int __index = 0;
-                Long component0 = EncodingUtils.decodeUnsignedVarLong(__input, __index);
-                __index += EncodingUtils.sizeOfUnsignedVarLong(component0);
-                Long component1 = EncodingUtils.decodeSignedVarLong(__input, __index);
-                __index += EncodingUtils.sizeOfSignedVarLong(component1);
-                Long component2 = Long.MIN_VALUE ^ PtBytes.toLong(__input, __index);
-                __index += 8;
-                Long component3 = EncodingUtils.decodeLittleEndian(__input, __index);
-                __index += 8;
-                Sha256Hash component4 = new Sha256Hash(EncodingUtils.get32Bytes(__input, __index));
-                __index += 32;
-                String component5 = EncodingUtils.decodeVarString(__input, __index);
-                __index += EncodingUtils.sizeOfVarString(component5);
-                byte[] component8 = EncodingUtils.decodeSizedBytes(__input, __index);
-                __index += EncodingUtils.sizeOfSizedBytes(component8);
-                Long component9 = EncodingUtils.decodeNullableFixedLong(__input,__index);
-                __index += 9;
-                UUID component10 = EncodingUtils.decodeUUID(__input, __index);
-                __index += 16;
-                byte[] blobComponent = EncodingUtils.getBytesFromOffsetToEnd(__input, __index);
-                __index += 0;
+                CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                Long component0 = __reader.readUnsignedVarLong();
+                Long component1 = __reader.readSignedVarLong();
+                Long component2 = __reader.readFixedLong();
+                Long component3 = __reader.readLittleEndianLong();
+                Sha256Hash component4 = new Sha256Hash(__reader.readBytes(32));
+                String component5 = __reader.readVarString();
+                byte[] component8 = __reader.readSizedBytes();
+                Long component9 = __reader.readNullableFixedLong();
+                UUID component10 = __reader.readUuid();
+                byte[] blobComponent = __reader.readBytesToEnd();
                 return new AllValueTypesTestRow(component0, component1, component2, component3, component4, component5, component8, component9, component10, blobComponent);
             }
         };
@@ -1927,6 +1925,26 @@ public final class AllValueTypesTestTable implements
         return rowResults;
     }
 
+    public ListenableFuture<List<AllValueTypesTestRowResult>> getRowsAsync(Iterable<AllValueTypesTestRow> rows) {
+        return getRowsAsync(rows, allColumns);
+    }
+
+    public ListenableFuture<List<AllValueTypesTestRowResult>> getRowsAsync(Iterable<AllValueTypesTestRow> rows, ColumnSelection columns) {
+        ColumnSelection selectedColumns = columns.allColumnsSelected() ? allColumns : columns;
+        return Futures.transform(
+                TableReads.getRowsAsync(t, tableRef, Persistables.persistAll(rows), selectedColumns),
+                rowResults -> ImmutableList.copyOf(Lists.transform(rowResults, AllValueTypesTestRowResult::of)),
+                MoreExecutors.directExecutor());
+    }
+
+    public Stream<AllValueTypesTestRowResult> getRowsStream(Iterable<AllValueTypesTestRow> rows) {
+        return getRowsStream(rows, allColumns);
+    }
+
+    public Stream<AllValueTypesTestRowResult> getRowsStream(Iterable<AllValueTypesTestRow> rows, ColumnSelection columns) {
+        return TableReads.getRowsStream(t, tableRef, Persistables.persistAll(rows), columns).map(AllValueTypesTestRowResult::of);
+    }
+
     @Override
     public List<AllValueTypesTestNamedColumnValue<?>> getRowColumns(AllValueTypesTestRow row) {
         return getRowColumns(row, allColumns);
@@ -2011,6 +2029,10 @@ public final class AllValueTypesTestTable implements
         return transformed;
     }
 
+    public Stream<Map.Entry<AllValueTypesTestRow, AllValueTypesTestNamedColumnValue<?>>> getRowsColumnRangeStream(Iterable<AllValueTypesTestRow> rows, ColumnRangeSelection columnRangeSelection, int batchHint) {
+        return Streams.stream(getRowsColumnRange(rows, columnRangeSelection, batchHint));
+    }
+
     private ColumnSelection optimizeColumnSelection(ColumnSelection columns) {
         if (columns.allColumnsSelected()) {
             return allColumns;
@@ -2075,6 +2097,8 @@ public final class AllValueTypesTestTable implements
      * {@link ColumnValue}
      * {@link ColumnValues}
      * {@link ComparisonChain}
+     * {@link CompositeKeyReader}
+     * {@link CompositeKeyWriter}
      * {@link Compression}
      * {@link CompressionUtils}
      * {@link ConstraintCheckingTransaction}
@@ -2083,6 +2107,7 @@ public final class AllValueTypesTestTable implements
      * {@link Entry}
      * {@link EnumSet}
      * {@link Function}
+     * {@link Futures}
      * {@link Generated}
      * {@link HashMultimap}
      * {@link HashSet}
@@ -2100,9 +2125,11 @@ public final class AllValueTypesTestTable implements
      * {@link Iterators}
      * {@link Joiner}
      * {@link List}
+     * {@link ListenableFuture}
      * {@link Lists}
      * {@link Map}
      * {@link Maps}
+     * {@link MoreExecutors}
      * {@link MoreObjects}
      * {@link Multimap}
      * {@link Multimaps}
@@ -2121,7 +2148,9 @@ public final class AllValueTypesTestTable implements
      * {@link Sha256Hash}
      * {@link SortedMap}
      * {@link Stream}
+     * {@link Streams}
      * {@link Supplier}
+     * {@link TableReads}
      * {@link TableReference}
      * {@link Throwables}
      * {@link TimeUnit}
@@ -2131,5 +2160,5 @@ public final class AllValueTypesTestTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "Xs4qLEuVPW0/NRjHm0n2gA==";
+    static String __CLASS_HASH = "znCq7kaV8t6Sslp0OQKWhg==";
 }
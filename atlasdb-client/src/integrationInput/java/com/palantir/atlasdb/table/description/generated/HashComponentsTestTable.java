@@ -39,9 +39,13 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.Sets;
+import com.google.common.collect.Streams;
 import com.google.common.hash.Hashing;
 import com.google.common.primitives.Bytes;
 import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.palantir.atlasdb.compress.CompressionUtils;
 import com.palantir.atlasdb.encoding.PtBytes;
@@ -56,6 +60,8 @@ import com.palantir.atlasdb.keyvalue.api.RangeRequest;
 import com.palantir.atlasdb.keyvalue.api.RowResult;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.impl.Cells;
+import com.palantir.atlasdb.ptobject.CompositeKeyReader;
+import com.palantir.atlasdb.ptobject.CompositeKeyWriter;
 import com.palantir.atlasdb.ptobject.EncodingUtils;
 import com.palantir.atlasdb.table.api.AtlasDbDynamicMutablePersistentTable;
 import com.palantir.atlasdb.table.api.AtlasDbMutablePersistentTable;
@@ -68,6 +74,7 @@ import com.palantir.atlasdb.table.description.ValueType;
 import com.palantir.atlasdb.table.generation.ColumnValues;
 import com.palantir.atlasdb.table.generation.Descending;
 import com.palantir.atlasdb.table.generation.NamedColumnValue;
+import com.palantir.atlasdb.table.generation.TableReads;
 import com.palantir.atlasdb.transaction.api.AtlasDbConstraintCheckingMode;
 import com.palantir.atlasdb.transaction.api.ConstraintCheckingTransaction;
 import com.palantir.atlasdb.transaction.api.ImmutableGetRangesQuery;
@@ -187,22 +194,20 @@ public final class HashComponentsTestTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] hashOfRowComponentsBytes = PtBytes.toBytes(Long.MIN_VALUE ^ hashOfRowComponents);
-            byte[] component1Bytes = EncodingUtils.encodeUnsignedVarLong(component1);
-            byte[] component2Bytes = EncodingUtils.encodeVarString(component2);
-            return EncodingUtils.add(hashOfRowComponentsBytes, component1Bytes, component2Bytes);
+            CompositeKeyWriter __writer = new CompositeKeyWriter(8 + EncodingUtils.sizeOfUnsignedVarLong(component1) + CompositeKeyWriter.sizeOfVarString(component2));
+            __writer.writeFixedLong(hashOfRowComponents);
+            __writer.writeUnsignedVarLong(component1);
+            __writer.writeVarString(component2);
+            return __writer.toByteArray();
         }
 
         public static final Hydrator<HashComponentsTestRow> BYTES_HYDRATOR = new Hydrator<HashComponentsTestRow>() {
             @Override
             public HashComponentsTestRow hydrateFromBytes(byte[] __input) {
-                int __index = 0;
-                Long hashOfRowComponents = Long.MIN_VALUE ^ PtBytes.toLong(__input, __index);
-                __index += 8;
-                Long component1 = EncodingUtils.decodeUnsignedVarLong(__input, __index);
-                __index += EncodingUtils.sizeOfUnsignedVarLong(component1);
-                String component2 = EncodingUtils.decodeVarString(__input, __index);
-                __index += EncodingUtils.sizeOfVarString(component2);
+                CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                Long hashOfRowComponents = __reader.readFixedLong();
+                Long component1 = __reader.readUnsignedVarLong();
+                String component2 = __reader.readVarString();
                 return new HashComponentsTestRow(hashOfRowComponents, component1, component2);
             }
         };
@@ -520,6 +525,26 @@ public final class HashComponentsTestTable implements
         return rowResults;
     }
 
+    public ListenableFuture<List<HashComponentsTestRowResult>> getRowsAsync(Iterable<HashComponentsTestRow> rows) {
+        return getRowsAsync(rows, allColumns);
+    }
+
+    public ListenableFuture<List<HashComponentsTestRowResult>> getRowsAsync(Iterable<HashComponentsTestRow> rows, ColumnSelection columns) {
+        ColumnSelection selectedColumns = columns.allColumnsSelected() ? allColumns : columns;
+        return Futures.transform(
+                TableReads.getRowsAsync(t, tableRef, Persistables.persistAll(rows), selectedColumns),
+                rowResults -> ImmutableList.copyOf(Lists.transform(rowResults, HashComponentsTestRowResult::of)),
+                MoreExecutors.directExecutor());
+    }
+
+    public Stream<HashComponentsTestRowResult> getRowsStream(Iterable<HashComponentsTestRow> rows) {
+        return getRowsStream(rows, allColumns);
+    }
+
+    public Stream<HashComponentsTestRowResult> getRowsStream(Iterable<HashComponentsTestRow> rows, ColumnSelection columns) {
+        return TableReads.getRowsStream(t, tableRef, Persistables.persistAll(rows), columns).map(HashComponentsTestRowResult::of);
+    }
+
     @Override
     public List<HashComponentsTestNamedColumnValue<?>> getRowColumns(HashComponentsTestRow row) {
         return getRowColumns(row, allColumns);
@@ -604,6 +629,10 @@ public final class HashComponentsTestTable implements
         return transformed;
     }
 
+    public Stream<Map.Entry<HashComponentsTestRow, HashComponentsTestNamedColumnValue<?>>> getRowsColumnRangeStream(Iterable<HashComponentsTestRow> rows, ColumnRangeSelection columnRangeSelection, int batchHint) {
+        return Streams.stream(getRowsColumnRange(rows, columnRangeSelection, batchHint));
+    }
+
     private RangeRequest optimizeRangeRequest(RangeRequest range) {
         if (range.getColumnNames().isEmpty()) {
             return range.getBuilder().retainColumns(allColumns).build();
@@ -624,6 +653,10 @@ public final class HashComponentsTestTable implements
         });
     }
 
+    public Stream<HashComponentsTestRowResult> getRangeStream(RangeRequest range) {
+        return TableReads.getRangeStream(t, tableRef, optimizeRangeRequest(range)).map(HashComponentsTestRowResult::of);
+    }
+
     @Deprecated
     public IterableView<BatchingVisitable<HashComponentsTestRowResult>> getRanges(Iterable<RangeRequest> ranges) {
         Iterable<BatchingVisitable<RowResult<byte[]>>> rangeResults = t.getRanges(tableRef, optimizeRangeRequests(ranges));
@@ -730,6 +763,8 @@ public final class HashComponentsTestTable implements
      * {@link ColumnValue}
      * {@link ColumnValues}
      * {@link ComparisonChain}
+     * {@link CompositeKeyReader}
+     * {@link CompositeKeyWriter}
      * {@link Compression}
      * {@link CompressionUtils}
      * {@link ConstraintCheckingTransaction}
@@ -738,6 +773,7 @@ public final class HashComponentsTestTable implements
      * {@link Entry}
      * {@link EnumSet}
      * {@link Function}
+     * {@link Futures}
      * {@link Generated}
      * {@link HashMultimap}
      * {@link HashSet}
@@ -755,9 +791,11 @@ public final class HashComponentsTestTable implements
      * {@link Iterators}
      * {@link Joiner}
      * {@link List}
+     * {@link ListenableFuture}
      * {@link Lists}
      * {@link Map}
      * {@link Maps}
+     * {@link MoreExecutors}
      * {@link MoreObjects}
      * {@link Multimap}
      * {@link Multimaps}
@@ -776,7 +814,9 @@ public final class HashComponentsTestTable implements
      * {@link Sha256Hash}
      * {@link SortedMap}
      * {@link Stream}
+     * {@link Streams}
      * {@link Supplier}
+     * {@link TableReads}
      * {@link TableReference}
      * {@link Throwables}
      * {@link TimeUnit}
@@ -786,5 +826,5 @@ public final class HashComponentsTestTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "MN894g1QUud7iE9/rlUtAA==";
+    static String __CLASS_HASH = "EE4l9QdnxZlWvwMfFH/bYQ==";
 }
@@ -39,9 +39,13 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.Sets;
+import com.google.common.collect.Streams;
 import com.google.common.hash.Hashing;
 import com.google.common.primitives.Bytes;
 import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.palantir.atlasdb.compress.CompressionUtils;
 import com.palantir.atlasdb.encoding.PtBytes;
@@ -56,6 +60,8 @@ import com.palantir.atlasdb.keyvalue.api.RangeRequest;
 import com.palantir.atlasdb.keyvalue.api.RowResult;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.impl.Cells;
+import com.palantir.atlasdb.ptobject.CompositeKeyReader;
+import com.palantir.atlasdb.ptobject.CompositeKeyWriter;
 import com.palantir.atlasdb.ptobject.EncodingUtils;
 import com.palantir.atlasdb.table.api.AtlasDbDynamicMutablePersistentTable;
 import com.palantir.atlasdb.table.api.AtlasDbMutablePersistentTable;
@@ -68,6 +74,7 @@ import com.palantir.atlasdb.table.description.ValueType;
 import com.palantir.atlasdb.table.generation.ColumnValues;
 import com.palantir.atlasdb.table.generation.Descending;
 import com.palantir.atlasdb.table.generation.NamedColumnValue;
+import com.palantir.atlasdb.table.generation.TableReads;
 import com.palantir.atlasdb.transaction.api.AtlasDbConstraintCheckingMode;
 import com.palantir.atlasdb.transaction.api.ConstraintCheckingTransaction;
 import com.palantir.atlasdb.transaction.api.ImmutableGetRangesQuery;
@@ -176,16 +183,16 @@ public final class SchemaApiTestTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] component1Bytes = PtBytes.toBytes(component1);
-            return EncodingUtils.add(component1Bytes);
+            CompositeKeyWriter __writer = new CompositeKeyWriter(CompositeKeyWriter.sizeOfString(component1));
+            __writer.writeString(component1);
+            return __writer.toByteArray();
         }
 
         public static final Hydrator<SchemaApiTestRow> BYTES_HYDRATOR = new Hydrator<SchemaApiTestRow>() {
             @Override
             public SchemaApiTestRow hydrateFromBytes(byte[] __input) {
-                int __index = 0;
-                String component1 = PtBytes.toString(__input, __index, __input.length-__index);
-                __index += 0;
+                CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                String component1 = __reader.readStringToEnd();
                 return new SchemaApiTestRow(component1);
             }
         };
@@ -605,6 +612,26 @@ public final class SchemaApiTestTable implements
         return rowResults;
     }
 
+    public ListenableFuture<List<SchemaApiTestRowResult>> getRowsAsync(Iterable<SchemaApiTestRow> rows) {
+        return getRowsAsync(rows, allColumns);
+    }
+
+    public ListenableFuture<List<SchemaApiTestRowResult>> getRowsAsync(Iterable<SchemaApiTestRow> rows, ColumnSelection columns) {
+        ColumnSelection selectedColumns = columns.allColumnsSelected() ? allColumns : columns;
+        return Futures.transform(
+                TableReads.getRowsAsync(t, tableRef, Persistables.persistAll(rows), selectedColumns),
+                rowResults -> ImmutableList.copyOf(Lists.transform(rowResults, SchemaApiTestRowResult::of)),
+                MoreExecutors.directExecutor());
+    }
+
+    public Stream<SchemaApiTestRowResult> getRowsStream(Iterable<SchemaApiTestRow> rows) {
+        return getRowsStream(rows, allColumns);
+    }
+
+    public Stream<SchemaApiTestRowResult> getRowsStream(Iterable<SchemaApiTestRow> rows, ColumnSelection columns) {
+        return TableReads.getRowsStream(t, tableRef, Persistables.persistAll(rows), columns).map(SchemaApiTestRowResult::of);
+    }
+
     @Override
     public List<SchemaApiTestNamedColumnValue<?>> getRowColumns(SchemaApiTestRow row) {
         return getRowColumns(row, allColumns);
@@ -689,6 +716,10 @@ public final class SchemaApiTestTable implements
         return transformed;
     }
 
+    public Stream<Map.Entry<SchemaApiTestRow, SchemaApiTestNamedColumnValue<?>>> getRowsColumnRangeStream(Iterable<SchemaApiTestRow> rows, ColumnRangeSelection columnRangeSelection, int batchHint) {
+        return Streams.stream(getRowsColumnRange(rows, columnRangeSelection, batchHint));
+    }
+
     private RangeRequest optimizeRangeRequest(RangeRequest range) {
         if (range.getColumnNames().isEmpty()) {
             return range.getBuilder().retainColumns(allColumns).build();
@@ -709,6 +740,10 @@ public final class SchemaApiTestTable implements
         });
     }
 
+    public Stream<SchemaApiTestRowResult> getRangeStream(RangeRequest range) {
+        return TableReads.getRangeStream(t, tableRef, optimizeRangeRequest(range)).map(SchemaApiTestRowResult::of);
+    }
+
     @Deprecated
     public IterableView<BatchingVisitable<SchemaApiTestRowResult>> getRanges(Iterable<RangeRequest> ranges) {
         Iterable<BatchingVisitable<RowResult<byte[]>>> rangeResults = t.getRanges(tableRef, optimizeRangeRequests(ranges));
@@ -815,6 +850,8 @@ public final class SchemaApiTestTable implements
      * {@link ColumnValue}
      * {@link ColumnValues}
      * {@link ComparisonChain}
+     * {@link CompositeKeyReader}
+     * {@link CompositeKeyWriter}
      * {@link Compression}
      * {@link CompressionUtils}
      * {@link ConstraintCheckingTransaction}
@@ -823,6 +860,7 @@ public final class SchemaApiTestTable implements
      * {@link Entry}
      * {@link EnumSet}
      * {@link Function}
+     * {@link Futures}
      * {@link Generated}
      * {@link HashMultimap}
      * {@link HashSet}
@@ -840,9 +878,11 @@ public final class SchemaApiTestTable implements
      * {@link Iterators}
      * {@link Joiner}
      * {@link List}
+     * {@link ListenableFuture}
      * {@link Lists}
      * {@link Map}
      * {@link Maps}
+     * {@link MoreExecutors}
      * {@link MoreObjects}
      * {@link Multimap}
      * {@link Multimaps}
@@ -861,7 +901,9 @@ public final class SchemaApiTestTable implements
      * {@link Sha256Hash}
      * {@link SortedMap}
      * {@link Stream}
+     * {@link Streams}
      * {@link Supplier}
+     * {@link TableReads}
      * {@link TableReference}
      * {@link Throwables}
      * {@link TimeUnit}
@@ -871,5 +913,5 @@ public final class SchemaApiTestTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "HBa5VSDm5ILOPjm5G2dktQ==";
+    static String __CLASS_HASH = "6lWEguQDDS5dwZcQ1Y12wQ==";
 }
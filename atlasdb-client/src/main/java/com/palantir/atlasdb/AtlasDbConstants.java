@@ -41,12 +41,16 @@ public final class AtlasDbConstants {
     public static final TableReference PERSISTED_LOCKS_TABLE = TableReference.createWithEmptyNamespace(
             "_persisted_locks");
     public static final TableReference COORDINATION_TABLE = TableReference.createWithEmptyNamespace("_coordination");
+    public static final TableReference COMPRESSION_DICTIONARY_TABLE =
+            TableReference.createWithEmptyNamespace("_compression_dictionaries");
 
     public static final TableReference DEFAULT_METADATA_TABLE = TableReference.createWithEmptyNamespace("_metadata");
     public static final TableReference DEFAULT_ORACLE_METADATA_TABLE = TableReference.createWithEmptyNamespace(
             "atlasdb_metadata");
     public static final TableReference DEFAULT_SCHEMA_METADATA_TABLE = TableReference.createWithEmptyNamespace(
             "_schema_metadata");
+    public static final TableReference SCHEMA_FINGERPRINT_TABLE = TableReference.createWithEmptyNamespace(
+            "_schema_fingerprints");
 
     // Deprecated tables
     public static final TableReference SWEEP_PROGRESS_V1 = TableReference.createFromFullyQualifiedName("sweep.progress");
@@ -92,6 +96,8 @@ public final class AtlasDbConstants {
 
     public static final long DEFAULT_TRANSACTION_LOCK_ACQUIRE_TIMEOUT_MS = 60_000;
     public static final int THRESHOLD_FOR_LOGGING_LARGE_NUMBER_OF_TRANSACTION_LOOKUPS = 10_000_000;
+    public static final int DEFAULT_CONFLICT_CHECKING_CELL_BATCH_SIZE = 10_000;
+    public static final long DEFAULT_IMMUTABLE_TABLE_ROW_CACHE_MAX_SIZE_BYTES = 64 * 1024 * 1024;
 
     public static final Set<TableReference> HIDDEN_TABLES = ImmutableSet.of(
             TransactionConstants.TRANSACTION_TABLE,
@@ -104,7 +110,9 @@ public final class AtlasDbConstants {
             PERSISTED_LOCKS_TABLE,
             SWEEP_PROGRESS_TABLE,
             COORDINATION_TABLE,
+            COMPRESSION_DICTIONARY_TABLE,
             DEFAULT_SCHEMA_METADATA_TABLE,
+            SCHEMA_FINGERPRINT_TABLE,
             SWEEP_PROGRESS_V2,
             SWEEP_PROGRESS_V1_5);
 
@@ -129,6 +137,7 @@ public final class AtlasDbConstants {
     public static final int DEFAULT_BACKGROUND_SCRUB_READ_THREADS = 8;
     public static final long DEFAULT_BACKGROUND_SCRUB_FREQUENCY_MILLIS = 5 * 60 * 1000; // 5 minutes
     public static final int DEFAULT_BACKGROUND_SCRUB_BATCH_SIZE = 2000;
+    public static final int DEFAULT_BACKGROUND_SCRUB_MAX_IN_FLIGHT_BATCHES = 2;
     public static final long SCRUBBER_RETRY_DELAY_MILLIS = 500L;
     public static final char OLD_SCRUB_TABLE_SEPARATOR_CHAR = '\0';
 
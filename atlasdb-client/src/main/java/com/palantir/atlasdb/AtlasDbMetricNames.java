@@ -35,6 +35,9 @@ public final class AtlasDbMetricNames {
         public static final String INVALID_START_TS = "invalidStartTsTsCellFilterCount";
         public static final String INVALID_COMMIT_TS = "invalidCommitTsCellFilterCount";
         public static final String EMPTY_VALUE = "emptyValuesCellFilterCount";
+        public static final String UNCOMMITTED_VALUE = "uncommittedValueCellFilterCount";
+        public static final String ABORTED_VALUE = "abortedValueCellFilterCount";
+        public static final String ORPHANED_SWEEP_SENTINEL = "orphanedSweepSentinelCellFilterCount";
     }
 
     public static final String LIBRARY_ORIGIN_TAG = "libraryOrigin";
@@ -42,6 +45,10 @@ public final class AtlasDbMetricNames {
 
     public static final String SNAPSHOT_TRANSACTION_CELLS_READ = "numCellsRead";
     public static final String SNAPSHOT_TRANSACTION_CELLS_RETURNED = "numCellsReturnedAfterFiltering";
+    public static final String SNAPSHOT_TRANSACTION_CELLS_FETCHED_PER_READ = "cellsFetchedPerRead";
+    public static final String SNAPSHOT_TRANSACTION_CELLS_RETURNED_PER_READ = "cellsReturnedPerRead";
+    public static final String SNAPSHOT_TRANSACTION_POST_FILTER_ITERATIONS = "postFilterIterations";
+    public static final String SNAPSHOT_TRANSACTION_ROWS_READ_FROM_ROW_CACHE = "rowsReadFromRowCache";
     public static final String SNAPSHOT_TRANSACTION_TOO_MANY_BYTES_READ = "tooManyBytesRead";
     public static final String SNAPSHOT_TRANSACTION_BYTES_WRITTEN = "bytesWritten";
 
@@ -82,6 +89,9 @@ public final class AtlasDbMetricNames {
     public static final String DELETED_CELLS = "deletedCells";
     public static final String SCRUBBED_CELLS = "scrubbedCells";
     public static final String SCRUB_RETRIES = "retriedBatches";
+    public static final String SCRUB_RESOLVED_COMMIT_TIMESTAMPS = "resolvedCommitTimestamps";
+    public static final String SCRUB_TIMESTAMP_LAG = "scrubTimestampLag";
+    public static final String SCRUB_IN_FLIGHT_BATCHES = "inFlightBatches";
 
     public static final String TAG_CURRENT_SUSPECTED_LEADER = "isCurrentSuspectedLeader";
     public static final String TAG_CLIENT = "client";
@@ -0,0 +1,220 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.cache;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import javax.annotation.Nullable;
+
+import com.google.common.hash.Hashing;
+import com.palantir.common.base.Throwables;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.UnsafeArg;
+import com.palantir.logsafe.exceptions.SafeIllegalStateException;
+
+/**
+ * A {@link TimestampCache} stored in a fixed-size, memory-mapped file, so that it survives restarts and can be
+ * shared by all processes on a host that use the same transactions table. A mapping from start to commit timestamp
+ * never changes once it has been written to the transactions table, so entries never become stale.
+ * <p>
+ * The file is an open-addressing hash table of slots, each holding a start timestamp, a commit timestamp and a
+ * checksum of the two. Reads and writes take no locks, not even between processes: a start timestamp may be stored
+ * in any of {@link #MAX_PROBES} consecutive slots, and when all of them are taken, a put overwrites one of them, so
+ * the cache is lossy. Concurrent writers may race on a slot and leave it torn; readers detect this through the
+ * checksum and treat the slot as empty.
+ * <p>
+ * The file must only be shared between processes that use the same transactions table (i.e. the same key value
+ * service namespace and timestamp service), which is enforced by recording the namespace in the file header. The file
+ * must be deleted if the key value service is restored from a backup.
+ */
+public final class MappedFileTimestampCache implements TimestampCache, Closeable {
+    private static final long MAGIC = 0x41544c4153545343L;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE_BYTES = 32;
+    private static final int SLOT_SIZE_BYTES = 3 * Long.BYTES;
+    private static final int MAX_PROBES = 4;
+    private static final long EMPTY = 0L;
+
+    static final int MAX_SLOTS = (Integer.MAX_VALUE - HEADER_SIZE_BYTES) / SLOT_SIZE_BYTES;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int numSlots;
+
+    private MappedFileTimestampCache(FileChannel channel, MappedByteBuffer buffer, int numSlots) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.numSlots = numSlots;
+    }
+
+    /**
+     * Opens the cache stored in the given file, creating the file if it does not exist yet.
+     *
+     * @param file the file to store the cache in
+     * @param namespace identifies the transactions table that the cached timestamps come from
+     * @param numSlots the number of entries the cache can hold; must match the file, if it already exists
+     */
+    public static MappedFileTimestampCache create(Path file, String namespace, int numSlots) {
+        Preconditions.checkArgument(numSlots >= MAX_PROBES && numSlots <= MAX_SLOTS,
+                "Invalid number of slots",
+                SafeArg.of("numSlots", numSlots),
+                SafeArg.of("minSlots", MAX_PROBES),
+                SafeArg.of("maxSlots", MAX_SLOTS));
+        long namespaceHash = Hashing.murmur3_128().hashString(namespace, StandardCharsets.UTF_8).asLong();
+        long sizeBytes = HEADER_SIZE_BYTES + (long) numSlots * SLOT_SIZE_BYTES;
+        try {
+            FileChannel channel = FileChannel.open(
+                    file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try {
+                // Only held while creating or validating the header, so that processes opening a new file
+                // concurrently agree on its contents.
+                try (FileLock lock = channel.lock()) {
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, sizeBytes);
+                    if (buffer.getLong(0) == EMPTY) {
+                        writeHeader(buffer, numSlots, namespaceHash);
+                    } else {
+                        checkHeader(buffer, numSlots, namespaceHash, file);
+                    }
+                    return new MappedFileTimestampCache(channel, buffer, numSlots);
+                }
+            } catch (RuntimeException | IOException e) {
+                channel.close();
+                throw e;
+            }
+        } catch (IOException e) {
+            throw Throwables.rewrapAndThrowUncheckedException("Failed to open the timestamp cache file", e);
+        }
+    }
+
+    private static void writeHeader(MappedByteBuffer buffer, int numSlots, long namespaceHash) {
+        buffer.putInt(8, VERSION);
+        buffer.putInt(12, numSlots);
+        buffer.putLong(16, namespaceHash);
+        buffer.putLong(0, MAGIC);
+        buffer.force();
+    }
+
+    private static void checkHeader(MappedByteBuffer buffer, int numSlots, long namespaceHash, Path file) {
+        if (buffer.getLong(0) != MAGIC
+                || buffer.getInt(8) != VERSION
+                || buffer.getInt(12) != numSlots
+                || buffer.getLong(16) != namespaceHash) {
+            throw new SafeIllegalStateException("The timestamp cache file was created with a different version,"
+                    + " size or namespace. Delete it, or use a different file.",
+                    UnsafeArg.of("file", file),
+                    SafeArg.of("version", buffer.getInt(8)),
+                    SafeArg.of("numSlots", buffer.getInt(12)));
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (int slot = 0; slot < numSlots; slot++) {
+            int offset = offset(slot);
+            buffer.putLong(offset, EMPTY);
+            buffer.putLong(offset + Long.BYTES, EMPTY);
+            buffer.putLong(offset + 2 * Long.BYTES, EMPTY);
+        }
+    }
+
+    @Override
+    public void putAlreadyCommittedTransaction(Long startTimestamp, Long commitTimestamp) {
+        if (startTimestamp <= EMPTY) {
+            return;
+        }
+        int firstSlot = firstSlot(startTimestamp);
+        int targetSlot = -1;
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            int slot = (firstSlot + probe) % numSlots;
+            long storedStart = buffer.getLong(offset(slot));
+            if (storedStart == startTimestamp) {
+                // Whoever wrote this slot wrote the same commit timestamp, since it never changes once written.
+                targetSlot = slot;
+                break;
+            }
+            if (storedStart == EMPTY && targetSlot == -1) {
+                targetSlot = slot;
+            }
+        }
+        if (targetSlot == -1) {
+            targetSlot = (firstSlot + (int) (commitTimestamp & (MAX_PROBES - 1))) % numSlots;
+        }
+        int offset = offset(targetSlot);
+        buffer.putLong(offset, startTimestamp);
+        buffer.putLong(offset + Long.BYTES, commitTimestamp);
+        buffer.putLong(offset + 2 * Long.BYTES, checksum(startTimestamp, commitTimestamp));
+    }
+
+    @Nullable
+    @Override
+    public Long getCommitTimestampIfPresent(Long startTimestamp) {
+        if (startTimestamp <= EMPTY) {
+            return null;
+        }
+        int firstSlot = firstSlot(startTimestamp);
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            int offset = offset((firstSlot + probe) % numSlots);
+            if (buffer.getLong(offset) != startTimestamp) {
+                continue;
+            }
+            long commitTimestamp = buffer.getLong(offset + Long.BYTES);
+            long checksum = buffer.getLong(offset + 2 * Long.BYTES);
+            // Re-read the start timestamp, as another writer may have overwritten the slot in the meantime.
+            if (checksum == checksum(startTimestamp, commitTimestamp) && buffer.getLong(offset) == startTimestamp) {
+                return commitTimestamp;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private int firstSlot(long startTimestamp) {
+        return (int) Long.remainderUnsigned(mix(startTimestamp), numSlots);
+    }
+
+    private static int offset(int slot) {
+        return HEADER_SIZE_BYTES + slot * SLOT_SIZE_BYTES;
+    }
+
+    private static long checksum(long startTimestamp, long commitTimestamp) {
+        return mix(startTimestamp ^ mix(commitTimestamp ^ MAGIC));
+    }
+
+    /**
+     * The finalization mix of MurmurHash3, which spreads consecutive timestamps over all slots.
+     */
+    private static long mix(long value) {
+        long mixed = value;
+        mixed ^= mixed >>> 33;
+        mixed *= 0xff51afd7ed558ccdL;
+        mixed ^= mixed >>> 33;
+        mixed *= 0xc4ceb9fe1a85ec53L;
+        mixed ^= mixed >>> 33;
+        return mixed;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.compress;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.google.common.base.Suppliers;
+import com.google.common.collect.Maps;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.exceptions.SafeIllegalStateException;
+
+/**
+ * The {@link CompressionDictionary compression dictionaries} stored in one key value service.
+ * <p>
+ * Values are compressed with the latest dictionary for their table. The stored dictionaries are reloaded
+ * periodically, so that dictionaries trained by other processes are used for compression soon after they are stored.
+ * Values are decompressed with whichever dictionary they were tagged with, which is loaded from the store if it is
+ * not known yet.
+ */
+final class CompressionDictionaries {
+    private static final long RELOAD_INTERVAL_SECONDS = 60;
+
+    private final CompressionDictionaryStore store;
+    private final Supplier<Map<TableReference, CompressionDictionary>> latestDictionaryByTable;
+    private final ConcurrentMap<Integer, CompressionDictionary> dictionaryById = new ConcurrentHashMap<>();
+
+    CompressionDictionaries(CompressionDictionaryStore store) {
+        this.store = store;
+        this.latestDictionaryByTable = Suppliers.memoizeWithExpiration(
+                this::loadLatestDictionaries, RELOAD_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    Optional<CompressionDictionary> getLatest(TableReference tableRef) {
+        return Optional.ofNullable(latestDictionaryByTable.get().get(tableRef));
+    }
+
+    CompressionDictionary getById(int id) {
+        return dictionaryById.computeIfAbsent(id, unused -> store.load(id).orElseThrow(
+                () -> new SafeIllegalStateException("Value was compressed with an unknown compression dictionary",
+                        SafeArg.of("id", id))));
+    }
+
+    private Map<TableReference, CompressionDictionary> loadLatestDictionaries() {
+        Map<TableReference, CompressionDictionary> latestDictionaries = Maps.newHashMap();
+        for (CompressionDictionary dictionary : store.loadAll()) {
+            dictionaryById.putIfAbsent(dictionary.getId(), dictionary);
+            latestDictionaries.merge(dictionary.getTableRef(), dictionary,
+                    (current, candidate) -> candidate.getId() > current.getId() ? candidate : current);
+        }
+        return latestDictionaries;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.compress;
+
+import com.google.common.base.MoreObjects;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.logsafe.Preconditions;
+
+/**
+ * A dictionary used to compress the values of columns with
+ * {@link com.palantir.atlasdb.table.description.ColumnValueDescription.Compression#DICTIONARY} compression.
+ * <p>
+ * Each dictionary belongs to the table it was trained for, and has an id that is allocated when it is stored, which
+ * is unique among all dictionaries stored in the same key value service. Ids increase each time a dictionary is
+ * stored, so the latest dictionary for a table is the one with the greatest id. Compressed values are tagged with the
+ * {@link #getId() id} of the dictionary they were compressed with, so that they can still be decompressed after newer
+ * dictionaries have been trained.
+ */
+public final class CompressionDictionary {
+    private final TableReference tableRef;
+    private final int id;
+    private final byte[] bytes;
+
+    private CompressionDictionary(TableReference tableRef, int id, byte[] bytes) {
+        this.tableRef = Preconditions.checkNotNull(tableRef, "tableRef");
+        this.id = id;
+        this.bytes = Preconditions.checkNotNull(bytes, "bytes");
+    }
+
+    public static CompressionDictionary of(TableReference tableRef, int id, byte[] bytes) {
+        return new CompressionDictionary(tableRef, id, bytes.clone());
+    }
+
+    public TableReference getTableRef() {
+        return tableRef;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    byte[] getBytes() {
+        return bytes;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("tableRef", tableRef)
+                .add("id", id)
+                .add("size", bytes.length)
+                .toString();
+    }
+}
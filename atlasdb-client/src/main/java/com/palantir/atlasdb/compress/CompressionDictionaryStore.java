@@ -0,0 +1,190 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.compress;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.primitives.Ints;
+import com.palantir.atlasdb.AtlasDbConstants;
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.ColumnSelection;
+import com.palantir.atlasdb.keyvalue.api.KeyAlreadyExistsException;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.RangeRequest;
+import com.palantir.atlasdb.keyvalue.api.RowResult;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.api.Value;
+import com.palantir.atlasdb.logging.LoggingArgs;
+import com.palantir.atlasdb.table.description.ColumnValueDescription.Compression;
+import com.palantir.atlasdb.transaction.api.TransactionManager;
+import com.palantir.common.base.ClosableIterator;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.exceptions.SafeIllegalStateException;
+
+/**
+ * Stores the {@link CompressionDictionary compression dictionaries} used for tables with
+ * {@link Compression#DICTIONARY} compression in {@link AtlasDbConstants#COMPRESSION_DICTIONARY_TABLE}, with one row
+ * per dictionary, keyed by its id. Ids are allocated with putUnlessExists, so two dictionaries never share an id,
+ * even if they are trained concurrently by different processes.
+ * <p>
+ * Dictionaries are never deleted, as values compressed with old dictionaries may still be read. Values written
+ * before any dictionary has been trained for their table are stored uncompressed, so dictionaries should be trained
+ * once a table holds a representative sample of values, and may be retrained as the shape of the values changes.
+ */
+public final class CompressionDictionaryStore {
+    private static final Logger log = LoggerFactory.getLogger(CompressionDictionaryStore.class);
+
+    private static final TableReference TABLE = AtlasDbConstants.COMPRESSION_DICTIONARY_TABLE;
+    private static final byte[] TABLE_REF_COLUMN = PtBytes.toCachedBytes("t");
+    private static final byte[] DICTIONARY_COLUMN = PtBytes.toCachedBytes("d");
+    private static final int MAX_STORE_ATTEMPTS = 10;
+    private static final int SAMPLING_BATCH_HINT = 100;
+
+    private final KeyValueService kvs;
+
+    private CompressionDictionaryStore(KeyValueService kvs) {
+        this.kvs = kvs;
+    }
+
+    /**
+     * Creates a store for the dictionaries of the given key value service. To train dictionaries, this may be the
+     * key value service of a {@link TransactionManager}.
+     */
+    public static CompressionDictionaryStore create(KeyValueService kvs) {
+        return new CompressionDictionaryStore(kvs);
+    }
+
+    /**
+     * Loads all stored dictionaries.
+     */
+    public List<CompressionDictionary> loadAll() {
+        if (!kvs.getAllTableNames().contains(TABLE)) {
+            return ImmutableList.of();
+        }
+        List<CompressionDictionary> dictionaries = Lists.newArrayList();
+        try (ClosableIterator<RowResult<Value>> rows = kvs.getRange(TABLE, RangeRequest.all(), Long.MAX_VALUE)) {
+            rows.forEachRemaining(row -> toDictionary(row.getRowName(), row.getColumns().get(TABLE_REF_COLUMN),
+                    row.getColumns().get(DICTIONARY_COLUMN)).ifPresent(dictionaries::add));
+        }
+        return dictionaries;
+    }
+
+    /**
+     * Loads the dictionary with the given id, if it has been stored.
+     */
+    public Optional<CompressionDictionary> load(int id) {
+        if (!kvs.getAllTableNames().contains(TABLE)) {
+            return Optional.empty();
+        }
+        byte[] row = Ints.toByteArray(id);
+        Map<Cell, Value> cells = kvs.getRows(TABLE, ImmutableList.of(row), ColumnSelection.all(), Long.MAX_VALUE);
+        return toDictionary(row,
+                cells.get(Cell.create(row, TABLE_REF_COLUMN)),
+                cells.get(Cell.create(row, DICTIONARY_COLUMN)));
+    }
+
+    /**
+     * Trains a new dictionary for the given table from up to {@code maxSamples} of its current values, and stores it
+     * as the table's latest dictionary. The values are read in a read-only transaction of the given transaction
+     * manager, so only committed values are sampled.
+     */
+    public Optional<CompressionDictionary> sampleAndTrain(
+            TransactionManager txManager, TableReference tableRef, int maxSamples) {
+        List<byte[]> samples = Lists.newArrayListWithCapacity(maxSamples);
+        RangeRequest request = RangeRequest.builder().batchHint(SAMPLING_BATCH_HINT).build();
+        txManager.runTaskReadOnly(txn -> txn.getRange(tableRef, request).batchAccept(SAMPLING_BATCH_HINT, rows -> {
+            for (RowResult<byte[]> row : rows) {
+                for (byte[] value : row.getColumns().values()) {
+                    if (samples.size() < maxSamples) {
+                        samples.add(value);
+                    }
+                }
+            }
+            return samples.size() < maxSamples;
+        }));
+        return train(tableRef, samples);
+    }
+
+    /**
+     * Trains a new dictionary for the given table from the given uncompressed values, and stores it as the table's
+     * latest dictionary. Returns an empty optional if the samples did not have enough in common to build a
+     * dictionary.
+     */
+    public Optional<CompressionDictionary> train(TableReference tableRef, List<byte[]> samples) {
+        byte[] bytes = CompressionDictionaryTrainer.train(samples, CompressionDictionaryTrainer.MAX_DICTIONARY_SIZE);
+        if (bytes.length == 0) {
+            log.info("Could not train a compression dictionary for table {} from {} samples",
+                    LoggingArgs.tableRef(tableRef),
+                    SafeArg.of("numSamples", samples.size()));
+            return Optional.empty();
+        }
+
+        kvs.createTable(TABLE, AtlasDbConstants.GENERIC_TABLE_METADATA);
+        for (int attempt = 0; attempt < MAX_STORE_ATTEMPTS; attempt++) {
+            int id = getGreatestStoredId() + 1;
+            byte[] row = Ints.toByteArray(id);
+            try {
+                kvs.putUnlessExists(TABLE, ImmutableMap.of(
+                        Cell.create(row, TABLE_REF_COLUMN), PtBytes.toBytes(tableRef.getQualifiedName()),
+                        Cell.create(row, DICTIONARY_COLUMN), bytes));
+            } catch (KeyAlreadyExistsException e) {
+                log.info("Another process stored compression dictionary {} first, retrying with the next id",
+                        SafeArg.of("id", id));
+                continue;
+            }
+            CompressionDictionary dictionary = CompressionDictionary.of(tableRef, id, bytes);
+            log.info("Stored compression dictionary {} for table {}",
+                    SafeArg.of("dictionary", dictionary),
+                    LoggingArgs.tableRef(tableRef));
+            return Optional.of(dictionary);
+        }
+        throw new SafeIllegalStateException("Could not allocate an id for a compression dictionary",
+                LoggingArgs.tableRef(tableRef),
+                SafeArg.of("attempts", MAX_STORE_ATTEMPTS));
+    }
+
+    private int getGreatestStoredId() {
+        RangeRequest request = RangeRequest.builder()
+                .retainColumns(ColumnSelection.create(ImmutableList.of(TABLE_REF_COLUMN)))
+                .build();
+        int greatestId = 0;
+        try (ClosableIterator<RowResult<Value>> rows = kvs.getRange(TABLE, request, Long.MAX_VALUE)) {
+            while (rows.hasNext()) {
+                greatestId = Math.max(greatestId, Ints.fromByteArray(rows.next().getRowName()));
+            }
+        }
+        return greatestId;
+    }
+
+    private static Optional<CompressionDictionary> toDictionary(byte[] row, Value tableRef, Value dictionary) {
+        if (tableRef == null || dictionary == null) {
+            return Optional.empty();
+        }
+        return Optional.of(CompressionDictionary.of(
+                TableReference.fromString(PtBytes.toString(tableRef.getContents())),
+                Ints.fromByteArray(row),
+                dictionary.getContents()));
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.compress;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Trains compression dictionaries from samples of the values they will be used to compress.
+ * <p>
+ * The dictionary is built from the segments of the samples that occur in the most samples. DEFLATE finds matches
+ * closer to the end of the dictionary more cheaply, so the most common segments are placed last.
+ */
+public final class CompressionDictionaryTrainer {
+    /**
+     * DEFLATE can only refer back 32KB, so any larger dictionary would be wasted.
+     */
+    public static final int MAX_DICTIONARY_SIZE = 32 * 1024;
+
+    private static final int KEY_LENGTH = 8;
+    private static final int SEGMENT_LENGTH = 32;
+    private static final int MIN_OCCURRENCES = 2;
+
+    private CompressionDictionaryTrainer() {
+        // utility
+    }
+
+    /**
+     * Builds a dictionary of at most {@code maxSize} bytes from the given samples. Returns an empty array if the
+     * samples have nothing in common.
+     */
+    public static byte[] train(List<byte[]> samples, int maxSize) {
+        int size = Math.min(maxSize, MAX_DICTIONARY_SIZE);
+        Map<ByteBuffer, Occurrences> occurrencesByKey = countOccurrences(samples);
+        List<Occurrences> mostCommonFirst = occurrencesByKey.values().stream()
+                .filter(occurrences -> occurrences.numSamples >= MIN_OCCURRENCES)
+                .sorted(Comparator.comparingInt((Occurrences occurrences) -> occurrences.numSamples).reversed())
+                .collect(Collectors.toList());
+
+        List<byte[]> segments = Lists.newArrayList();
+        Set<ByteBuffer> coveredKeys = new HashSet<>();
+        int totalLength = 0;
+        for (Occurrences occurrences : mostCommonFirst) {
+            if (coveredKeys.contains(occurrences.key)) {
+                continue;
+            }
+            byte[] segment = occurrences.segment();
+            if (totalLength + segment.length > size) {
+                break;
+            }
+            segments.add(segment);
+            totalLength += segment.length;
+            coveredKeys.addAll(keys(segment));
+        }
+
+        ByteArrayOutputStream dictionary = new ByteArrayOutputStream(totalLength);
+        Lists.reverse(segments).forEach(segment -> dictionary.write(segment, 0, segment.length));
+        return dictionary.toByteArray();
+    }
+
+    private static Map<ByteBuffer, Occurrences> countOccurrences(List<byte[]> samples) {
+        Map<ByteBuffer, Occurrences> occurrencesByKey = new HashMap<>();
+        for (byte[] sample : samples) {
+            Set<ByteBuffer> seenInSample = new HashSet<>();
+            for (int offset = 0; offset + KEY_LENGTH <= sample.length; offset++) {
+                ByteBuffer key = ByteBuffer.wrap(sample, offset, KEY_LENGTH).slice();
+                if (seenInSample.add(key)) {
+                    int start = offset;
+                    occurrencesByKey.computeIfAbsent(key, unused -> new Occurrences(key, sample, start)).numSamples++;
+                }
+            }
+        }
+        return occurrencesByKey;
+    }
+
+    private static Set<ByteBuffer> keys(byte[] segment) {
+        Set<ByteBuffer> keys = new HashSet<>();
+        for (int offset = 0; offset + KEY_LENGTH <= segment.length; offset++) {
+            keys.add(ByteBuffer.wrap(segment, offset, KEY_LENGTH).slice());
+        }
+        return keys;
+    }
+
+    private static final class Occurrences {
+        private final ByteBuffer key;
+        private final byte[] firstSample;
+        private final int firstOffset;
+        private int numSamples = 0;
+
+        private Occurrences(ByteBuffer key, byte[] firstSample, int firstOffset) {
+            this.key = key;
+            this.firstSample = firstSample;
+            this.firstOffset = firstOffset;
+        }
+
+        /**
+         * The segment of the first sample this key was seen in, starting at the key.
+         */
+        private byte[] segment() {
+            int length = Math.min(SEGMENT_LENGTH, firstSample.length - firstOffset);
+            byte[] segment = new byte[length];
+            System.arraycopy(firstSample, firstOffset, segment, 0, length);
+            return segment;
+        }
+    }
+}
@@ -28,10 +28,14 @@ public final class CompressionUtils {
         // empty
     }
 
+    /**
+     * Compresses the given bytes. Values of columns with {@link Compression#DICTIONARY} compression are returned as
+     * they are, since they are compressed by {@link DictionaryCompressingKeyValueService}, which knows their table.
+     */
     public static byte[] compress(byte[] bytes, Compression compressionType) {
         if (compressionType == Compression.SNAPPY) {
             return compressWithSnappy(bytes);
-        } else if (compressionType == Compression.NONE) {
+        } else if (compressionType == Compression.NONE || compressionType == Compression.DICTIONARY) {
             return bytes;
         } else {
             throw new UnsupportedOperationException();
@@ -41,7 +45,7 @@ public final class CompressionUtils {
     public static byte[] decompress(byte[] bytes, Compression compressionType) {
         if (compressionType == Compression.SNAPPY) {
             return decompressWithSnappy(bytes);
-        } else if (compressionType == Compression.NONE) {
+        } else if (compressionType == Compression.NONE || compressionType == Compression.DICTIONARY) {
             return bytes;
         } else {
             throw new UnsupportedOperationException();
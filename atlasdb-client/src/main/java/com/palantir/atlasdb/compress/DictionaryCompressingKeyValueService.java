@@ -0,0 +1,381 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.compress;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableMultimap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Multimap;
+import com.google.common.collect.Multimaps;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.keyvalue.api.BatchColumnRangeSelection;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.CheckAndSetException;
+import com.palantir.atlasdb.keyvalue.api.CheckAndSetRequest;
+import com.palantir.atlasdb.keyvalue.api.ColumnRangeSelection;
+import com.palantir.atlasdb.keyvalue.api.ColumnSelection;
+import com.palantir.atlasdb.keyvalue.api.KeyAlreadyExistsException;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.RangeRequest;
+import com.palantir.atlasdb.keyvalue.api.RowColumnRangeIterator;
+import com.palantir.atlasdb.keyvalue.api.RowResult;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.api.Value;
+import com.palantir.atlasdb.keyvalue.impl.ForwardingKeyValueService;
+import com.palantir.atlasdb.keyvalue.impl.LocalRowColumnRangeIterator;
+import com.palantir.atlasdb.logging.LoggingArgs;
+import com.palantir.atlasdb.table.description.ColumnMetadataDescription;
+import com.palantir.atlasdb.table.description.ColumnValueDescription.Compression;
+import com.palantir.atlasdb.table.description.NamedColumnDescription;
+import com.palantir.atlasdb.table.description.TableMetadata;
+import com.palantir.common.base.ClosableIterator;
+import com.palantir.common.base.ClosableIterators;
+import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
+import com.palantir.util.paging.SimpleTokenBackedResultsPage;
+import com.palantir.util.paging.TokenBackedBasicResultsPage;
+
+/**
+ * Compresses the values of columns with {@link Compression#DICTIONARY} compression with the latest
+ * {@link CompressionDictionary} trained for their table, and decompresses them when they are read.
+ * <p>
+ * Each instance keeps track of the dictionaries stored in the key value service it wraps (see
+ * {@link CompressionDictionaryStore}), so several key value services in the same process never share dictionaries.
+ * Which columns are compressed is determined from the table metadata, which is cached and only refreshed when it is
+ * changed through this key value service. Deleted values are stored as they are.
+ * <p>
+ * Values that are not smaller when compressed are stored as they are, and values that cannot be decoded are read as
+ * they were stored (see {@link DictionaryCompression}), so existing values stay readable when a column is switched to
+ * dictionary compression. The wrapper is installed around every key value service created through
+ * {@code ServiceDiscoveringAtlasSupplier}; processes that write to these tables without it store plain values, which
+ * are read back unchanged.
+ * <p>
+ * {@link #checkAndSet(CheckAndSetRequest)} is not supported for tables with dictionary compression, as the stored
+ * bytes of a value depend on the dictionary that was used to compress it.
+ */
+public final class DictionaryCompressingKeyValueService extends ForwardingKeyValueService {
+    private final KeyValueService delegate;
+    private final CompressionDictionaries dictionaries;
+    private final LoadingCache<TableReference, DictionaryColumns> dictionaryColumns;
+
+    private DictionaryCompressingKeyValueService(KeyValueService delegate) {
+        this.delegate = delegate;
+        this.dictionaries = new CompressionDictionaries(CompressionDictionaryStore.create(delegate));
+        this.dictionaryColumns = Caffeine.newBuilder()
+                .expireAfterAccess(1, TimeUnit.DAYS)
+                .build(tableRef -> DictionaryColumns.fromMetadata(delegate.getMetadataForTable(tableRef)));
+    }
+
+    public static KeyValueService create(KeyValueService delegate) {
+        return new DictionaryCompressingKeyValueService(delegate);
+    }
+
+    @Override
+    public KeyValueService delegate() {
+        return delegate;
+    }
+
+    @Override
+    public void put(TableReference tableRef, Map<Cell, byte[]> values, long timestamp)
+            throws KeyAlreadyExistsException {
+        delegate.put(tableRef, compress(tableRef, values), timestamp);
+    }
+
+    @Override
+    public void multiPut(Map<TableReference, ? extends Map<Cell, byte[]>> valuesByTable, long timestamp)
+            throws KeyAlreadyExistsException {
+        delegate.multiPut(ImmutableMap.copyOf(Maps.transformEntries(valuesByTable, this::compress)), timestamp);
+    }
+
+    @Override
+    public void putWithTimestamps(TableReference tableRef, Multimap<Cell, Value> cellValues)
+            throws KeyAlreadyExistsException {
+        DictionaryColumns columns = dictionaryColumns.get(tableRef);
+        if (columns.isEmpty()) {
+            delegate.putWithTimestamps(tableRef, cellValues);
+            return;
+        }
+        Optional<CompressionDictionary> dictionary = dictionaries.getLatest(tableRef);
+        delegate.putWithTimestamps(tableRef, ImmutableMultimap.copyOf(
+                Multimaps.transformEntries(cellValues, (cell, value) -> columns.contains(cell)
+                        ? Value.create(compress(value.getContents(), dictionary), value.getTimestamp())
+                        : value)));
+    }
+
+    @Override
+    public void putUnlessExists(TableReference tableRef, Map<Cell, byte[]> values) throws KeyAlreadyExistsException {
+        delegate.putUnlessExists(tableRef, compress(tableRef, values));
+    }
+
+    @Override
+    public void checkAndSet(CheckAndSetRequest checkAndSetRequest) throws CheckAndSetException {
+        if (dictionaryColumns.get(checkAndSetRequest.table()).contains(checkAndSetRequest.cell())) {
+            throw new SafeIllegalArgumentException("checkAndSet is not supported for dictionary compressed columns",
+                    LoggingArgs.tableRef(checkAndSetRequest.table()));
+        }
+        delegate.checkAndSet(checkAndSetRequest);
+    }
+
+    @Override
+    public Map<Cell, Value> get(TableReference tableRef, Map<Cell, Long> timestampByCell) {
+        return decompress(tableRef, delegate.get(tableRef, timestampByCell));
+    }
+
+    @Override
+    public ListenableFuture<Map<Cell, Value>> getAsync(TableReference tableRef, Map<Cell, Long> timestampByCell) {
+        return Futures.transform(
+                delegate.getAsync(tableRef, timestampByCell),
+                values -> decompress(tableRef, values),
+                MoreExecutors.directExecutor());
+    }
+
+    @Override
+    public Map<TableReference, Map<Cell, Value>> getMulti(
+            Map<TableReference, Map<Cell, Long>> timestampByCellByTable) {
+        return decompressByTable(delegate.getMulti(timestampByCellByTable));
+    }
+
+    @Override
+    public ListenableFuture<Map<TableReference, Map<Cell, Value>>> getMultiAsync(
+            Map<TableReference, Map<Cell, Long>> timestampByCellByTable) {
+        return Futures.transform(
+                delegate.getMultiAsync(timestampByCellByTable),
+                this::decompressByTable,
+                MoreExecutors.directExecutor());
+    }
+
+    @Override
+    public Map<Cell, Value> getRows(
+            TableReference tableRef,
+            Iterable<byte[]> rows,
+            ColumnSelection columnSelection,
+            long timestamp) {
+        return decompress(tableRef, delegate.getRows(tableRef, rows, columnSelection, timestamp));
+    }
+
+    @Override
+    public Map<byte[], RowColumnRangeIterator> getRowsColumnRange(
+            TableReference tableRef,
+            Iterable<byte[]> rows,
+            BatchColumnRangeSelection batchColumnRangeSelection,
+            long timestamp) {
+        Map<byte[], RowColumnRangeIterator> iterators =
+                delegate.getRowsColumnRange(tableRef, rows, batchColumnRangeSelection, timestamp);
+        DictionaryColumns columns = dictionaryColumns.get(tableRef);
+        if (columns.isEmpty()) {
+            return iterators;
+        }
+        return ImmutableMap.copyOf(Maps.transformValues(iterators, iterator -> decompress(columns, iterator)));
+    }
+
+    @Override
+    public RowColumnRangeIterator getRowsColumnRange(
+            TableReference tableRef,
+            Iterable<byte[]> rows,
+            ColumnRangeSelection columnRangeSelection,
+            int cellBatchHint,
+            long timestamp) {
+        RowColumnRangeIterator iterator =
+                delegate.getRowsColumnRange(tableRef, rows, columnRangeSelection, cellBatchHint, timestamp);
+        DictionaryColumns columns = dictionaryColumns.get(tableRef);
+        if (columns.isEmpty()) {
+            return iterator;
+        }
+        return decompress(columns, iterator);
+    }
+
+    @Override
+    public ClosableIterator<RowResult<Value>> getRange(
+            TableReference tableRef,
+            RangeRequest rangeRequest,
+            long timestamp) {
+        ClosableIterator<RowResult<Value>> rows = delegate.getRange(tableRef, rangeRequest, timestamp);
+        DictionaryColumns columns = dictionaryColumns.get(tableRef);
+        if (columns.isEmpty()) {
+            return rows;
+        }
+        return ClosableIterators.wrap(Iterators.transform(rows, row -> decompress(columns, row)), rows);
+    }
+
+    @Override
+    public Map<RangeRequest, TokenBackedBasicResultsPage<RowResult<Value>, byte[]>> getFirstBatchForRanges(
+            TableReference tableRef,
+            Iterable<RangeRequest> rangeRequests,
+            long timestamp) {
+        Map<RangeRequest, TokenBackedBasicResultsPage<RowResult<Value>, byte[]>> pages =
+                delegate.getFirstBatchForRanges(tableRef, rangeRequests, timestamp);
+        DictionaryColumns columns = dictionaryColumns.get(tableRef);
+        if (columns.isEmpty()) {
+            return pages;
+        }
+        return ImmutableMap.copyOf(Maps.transformValues(pages, page -> SimpleTokenBackedResultsPage.create(
+                page.getTokenForNextPage(),
+                page.getResults().stream().map(row -> decompress(columns, row))::iterator,
+                page.moreResultsAvailable())));
+    }
+
+    @Override
+    public void createTable(TableReference tableRef, byte[] tableMetadata) {
+        delegate.createTable(tableRef, tableMetadata);
+        dictionaryColumns.invalidate(tableRef);
+    }
+
+    @Override
+    public void createTables(Map<TableReference, byte[]> tableRefToTableMetadata) {
+        delegate.createTables(tableRefToTableMetadata);
+        dictionaryColumns.invalidateAll(tableRefToTableMetadata.keySet());
+    }
+
+    @Override
+    public void putMetadataForTable(TableReference tableRef, byte[] metadata) {
+        delegate.putMetadataForTable(tableRef, metadata);
+        dictionaryColumns.invalidate(tableRef);
+    }
+
+    @Override
+    public void putMetadataForTables(Map<TableReference, byte[]> tableRefToMetadata) {
+        delegate.putMetadataForTables(tableRefToMetadata);
+        dictionaryColumns.invalidateAll(tableRefToMetadata.keySet());
+    }
+
+    @Override
+    public void dropTable(TableReference tableRef) {
+        delegate.dropTable(tableRef);
+        dictionaryColumns.invalidate(tableRef);
+    }
+
+    @Override
+    public void dropTables(Set<TableReference> tableRefs) {
+        delegate.dropTables(tableRefs);
+        dictionaryColumns.invalidateAll(tableRefs);
+    }
+
+    private Map<Cell, byte[]> compress(TableReference tableRef, Map<Cell, byte[]> values) {
+        DictionaryColumns columns = dictionaryColumns.get(tableRef);
+        if (columns.isEmpty()) {
+            return values;
+        }
+        Optional<CompressionDictionary> dictionary = dictionaries.getLatest(tableRef);
+        return ImmutableMap.copyOf(Maps.transformEntries(values, (cell, value) ->
+                columns.contains(cell) ? compress(value, dictionary) : value));
+    }
+
+    private static byte[] compress(byte[] value, Optional<CompressionDictionary> dictionary) {
+        if (value.length == 0) {
+            // deleted
+            return value;
+        }
+        return DictionaryCompression.compress(value, dictionary);
+    }
+
+    private Map<TableReference, Map<Cell, Value>> decompressByTable(Map<TableReference, Map<Cell, Value>> values) {
+        Map<TableReference, Map<Cell, Value>> result = Maps.newHashMapWithExpectedSize(values.size());
+        values.forEach((tableRef, tableValues) -> result.put(tableRef, decompress(tableRef, tableValues)));
+        return result;
+    }
+
+    private Map<Cell, Value> decompress(TableReference tableRef, Map<Cell, Value> values) {
+        DictionaryColumns columns = dictionaryColumns.get(tableRef);
+        if (columns.isEmpty()) {
+            return values;
+        }
+        Map<Cell, Value> result = Maps.newHashMapWithExpectedSize(values.size());
+        values.forEach((cell, value) -> result.put(cell, columns.contains(cell) ? decompress(value) : value));
+        return result;
+    }
+
+    private RowColumnRangeIterator decompress(DictionaryColumns columns, RowColumnRangeIterator iterator) {
+        return new LocalRowColumnRangeIterator(Iterators.transform(iterator, entry ->
+                columns.contains(entry.getKey())
+                        ? Maps.immutableEntry(entry.getKey(), decompress(entry.getValue()))
+                        : entry));
+    }
+
+    private RowResult<Value> decompress(DictionaryColumns columns, RowResult<Value> row) {
+        return RowResult.create(row.getRowName(), ImmutableSortedMap.copyOfSorted(
+                Maps.transformEntries(row.getColumns(), (column, value) ->
+                        columns.contains(column) ? decompress(value) : value)));
+    }
+
+    private Value decompress(Value value) {
+        if (value.getContents().length == 0) {
+            // deleted, or a sweep sentinel
+            return value;
+        }
+        return Value.create(
+                DictionaryCompression.decompress(value.getContents(), dictionaries::getById),
+                value.getTimestamp());
+    }
+
+    /**
+     * The columns of a table that have dictionary compression.
+     */
+    private static final class DictionaryColumns {
+        private static final DictionaryColumns NONE = new DictionaryColumns(false, ImmutableSet.of());
+
+        private final boolean allColumns;
+        private final Set<ByteBuffer> columns;
+
+        private DictionaryColumns(boolean allColumns, Set<ByteBuffer> columns) {
+            this.allColumns = allColumns;
+            this.columns = columns;
+        }
+
+        static DictionaryColumns fromMetadata(byte[] metadata) {
+            if (metadata == null || metadata.length == 0) {
+                return NONE;
+            }
+            ColumnMetadataDescription description =
+                    TableMetadata.BYTES_HYDRATOR.hydrateFromBytes(metadata).getColumns();
+            if (description.hasDynamicColumns()) {
+                boolean isCompressed = description.getDynamicColumn().getValue().getCompression()
+                        == Compression.DICTIONARY;
+                return isCompressed ? new DictionaryColumns(true, ImmutableSet.of()) : NONE;
+            }
+            Set<ByteBuffer> columns = description.getNamedColumns().stream()
+                    .filter(column -> column.getValue().getCompression() == Compression.DICTIONARY)
+                    .map(NamedColumnDescription::getShortName)
+                    .map(shortName -> ByteBuffer.wrap(PtBytes.toBytes(shortName)))
+                    .collect(ImmutableSet.toImmutableSet());
+            return columns.isEmpty() ? NONE : new DictionaryColumns(false, columns);
+        }
+
+        boolean isEmpty() {
+            return !allColumns && columns.isEmpty();
+        }
+
+        boolean contains(Cell cell) {
+            return contains(cell.getColumnName());
+        }
+
+        boolean contains(byte[] column) {
+            return allColumns || columns.contains(ByteBuffer.wrap(column));
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.compress;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.function.IntFunction;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compresses values using DEFLATE with a preset {@link CompressionDictionary}.
+ * <p>
+ * Values are stored as they are unless compressing them with a dictionary makes them smaller, so values written
+ * before a column had dictionary compression, or written without {@link DictionaryCompressingKeyValueService}, can
+ * still be read. Encoded values start with a header of a magic number, a format byte and the CRC32 of the original
+ * value. Values compressed with a dictionary are followed by the id of that dictionary and the raw DEFLATE stream.
+ * Values that were to be stored as they are, but happen to start with the magic number, are escaped by storing them
+ * after the header.
+ * <p>
+ * A stored value is only decoded if it starts with the magic number, has a known format, and decodes to bytes that
+ * match its checksum; anything else is a value that was stored as it is.
+ */
+final class DictionaryCompression {
+    private static final byte[] MAGIC = { 0x00, (byte) 0xdc, 0x7a, (byte) 0xb1 };
+    private static final byte FORMAT_ESCAPED = 0;
+    private static final byte FORMAT_DEFLATE_WITH_DICTIONARY = 1;
+    private static final int HEADER_SIZE = MAGIC.length + 1 + Integer.BYTES;
+    private static final int DICTIONARY_HEADER_SIZE = HEADER_SIZE + Integer.BYTES;
+
+    private static final ThreadLocal<Deflater> deflaters =
+            ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_COMPRESSION, true));
+    private static final ThreadLocal<Inflater> inflaters = ThreadLocal.withInitial(() -> new Inflater(true));
+
+    private DictionaryCompression() {
+        // utility
+    }
+
+    static byte[] compress(byte[] bytes, Optional<CompressionDictionary> dictionary) {
+        if (dictionary.isPresent() && bytes.length > 0) {
+            Optional<byte[]> compressed = compressWithDictionary(bytes, dictionary.get());
+            if (compressed.isPresent()) {
+                return compressed.get();
+            }
+        }
+        if (!startsWithMagic(bytes)) {
+            return bytes;
+        }
+        byte[] result = new byte[HEADER_SIZE + bytes.length];
+        writeHeader(result, FORMAT_ESCAPED, bytes);
+        System.arraycopy(bytes, 0, result, HEADER_SIZE, bytes.length);
+        return result;
+    }
+
+    static byte[] decompress(byte[] bytes, IntFunction<CompressionDictionary> dictionaryById) {
+        if (bytes.length < HEADER_SIZE || !startsWithMagic(bytes)) {
+            return bytes;
+        }
+        Optional<byte[]> decoded;
+        switch (bytes[MAGIC.length]) {
+            case FORMAT_ESCAPED:
+                byte[] result = new byte[bytes.length - HEADER_SIZE];
+                System.arraycopy(bytes, HEADER_SIZE, result, 0, result.length);
+                decoded = Optional.of(result);
+                break;
+            case FORMAT_DEFLATE_WITH_DICTIONARY:
+                decoded = decompressWithDictionary(bytes, dictionaryById);
+                break;
+            default:
+                decoded = Optional.empty();
+        }
+        int checksum = ByteBuffer.wrap(bytes, MAGIC.length + 1, Integer.BYTES).getInt();
+        return decoded.filter(value -> checksum(value) == checksum).orElse(bytes);
+    }
+
+    private static Optional<byte[]> compressWithDictionary(byte[] bytes, CompressionDictionary dictionary) {
+        Deflater deflater = deflaters.get();
+        deflater.reset();
+        deflater.setDictionary(dictionary.getBytes());
+        deflater.setInput(bytes);
+        deflater.finish();
+
+        // Give up once the output is no smaller than the value stored uncompressed would be.
+        byte[] output = new byte[bytes.length];
+        int length = DICTIONARY_HEADER_SIZE;
+        while (!deflater.finished() && length < output.length) {
+            length += deflater.deflate(output, length, output.length - length);
+        }
+        if (!deflater.finished()) {
+            return Optional.empty();
+        }
+        writeHeader(output, FORMAT_DEFLATE_WITH_DICTIONARY, bytes);
+        ByteBuffer.wrap(output, HEADER_SIZE, Integer.BYTES).putInt(dictionary.getId());
+        byte[] result = new byte[length];
+        System.arraycopy(output, 0, result, 0, length);
+        return Optional.of(result);
+    }
+
+    /**
+     * Returns empty if the value cannot be inflated, in which case it was stored as it is.
+     */
+    private static Optional<byte[]> decompressWithDictionary(
+            byte[] bytes, IntFunction<CompressionDictionary> dictionaryById) {
+        if (bytes.length < DICTIONARY_HEADER_SIZE) {
+            return Optional.empty();
+        }
+        int dictionaryId = ByteBuffer.wrap(bytes, HEADER_SIZE, Integer.BYTES).getInt();
+        CompressionDictionary dictionary = dictionaryById.apply(dictionaryId);
+        Inflater inflater = inflaters.get();
+        inflater.reset();
+        inflater.setDictionary(dictionary.getBytes());
+        inflater.setInput(bytes, DICTIONARY_HEADER_SIZE, bytes.length - DICTIONARY_HEADER_SIZE);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream(bytes.length * 4);
+        byte[] buffer = new byte[Math.max(256, bytes.length * 4)];
+        try {
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    return Optional.empty();
+                }
+                output.write(buffer, 0, length);
+            }
+        } catch (DataFormatException e) {
+            return Optional.empty();
+        }
+        return Optional.of(output.toByteArray());
+    }
+
+    private static void writeHeader(byte[] output, byte format, byte[] original) {
+        ByteBuffer.wrap(output)
+                .put(MAGIC)
+                .put(format)
+                .putInt(checksum(original));
+    }
+
+    private static boolean startsWithMagic(byte[] bytes) {
+        if (bytes.length < MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (bytes[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int checksum(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length);
+        return (int) crc.getValue();
+    }
+}
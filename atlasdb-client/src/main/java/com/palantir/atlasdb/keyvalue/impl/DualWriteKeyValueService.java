@@ -82,6 +82,12 @@ public class DualWriteKeyValueService implements KeyValueService {
         return delegate1.get(tableRef, timestampByCell);
     }
 
+    @Override
+    public Map<TableReference, Map<Cell, Value>> getMulti(
+            Map<TableReference, Map<Cell, Long>> timestampByCellByTable) {
+        return delegate1.getMulti(timestampByCellByTable);
+    }
+
     @Override
     public Map<Cell, Long> getLatestTimestamps(TableReference tableRef, Map<Cell, Long> timestampByCell) {
         return delegate1.getLatestTimestamps(tableRef, timestampByCell);
@@ -303,4 +309,10 @@ public class DualWriteKeyValueService implements KeyValueService {
     public ListenableFuture<Map<Cell, Value>> getAsync(TableReference tableRef, Map<Cell, Long> timestampByCell) {
         return delegate1.getAsync(tableRef, timestampByCell);
     }
+
+    @Override
+    public ListenableFuture<Map<TableReference, Map<Cell, Value>>> getMultiAsync(
+            Map<TableReference, Map<Cell, Long>> timestampByCellByTable) {
+        return delegate1.getMultiAsync(timestampByCellByTable);
+    }
 }
@@ -234,6 +234,12 @@ public class KeyValueServices {
                 return Futures.immediateFuture(keyValueService.get(tableRef, timestampByCell));
             }
 
+            @Override
+            public ListenableFuture<Map<TableReference, Map<Cell, Value>>> getMultiAsync(
+                    Map<TableReference, Map<Cell, Long>> timestampByCellByTable) {
+                return Futures.immediateFuture(keyValueService.getMulti(timestampByCellByTable));
+            }
+
             @Override
             public void close() {
                 // NoOp
@@ -232,6 +232,21 @@ public final class ProfilingKeyValueService implements KeyValueService {
                 logCellResultSize(4L));
     }
 
+    @Override
+    public Map<TableReference, Map<Cell, Value>> getMulti(
+            Map<TableReference, Map<Cell, Long>> timestampByCellByTable) {
+        return maybeLog(() -> delegate.getMulti(timestampByCellByTable),
+                logTimeAndTableCount("getMulti", timestampByCellByTable.size()));
+    }
+
+    @Override
+    public ListenableFuture<Map<TableReference, Map<Cell, Value>>> getMultiAsync(
+            Map<TableReference, Map<Cell, Long>> timestampByCellByTable) {
+        return KvsProfilingLogger.maybeLogAsync(() -> delegate.getMultiAsync(timestampByCellByTable),
+                logTimeAndTableCount("getMultiAsync", timestampByCellByTable.size()),
+                (logger, results) -> { });
+    }
+
     @Override
     public Set<TableReference> getAllTableNames() {
         return maybeLog(delegate::getAllTableNames,
@@ -0,0 +1,261 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.keyvalue.impl;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Collections2;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Multimaps;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.palantir.atlasdb.autobatch.Autobatchers;
+import com.palantir.atlasdb.autobatch.BatchElement;
+import com.palantir.atlasdb.autobatch.DisruptorAutobatcher;
+import com.palantir.atlasdb.futures.AtlasFutures;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.api.Value;
+import com.palantir.common.concurrent.NamedThreadFactory;
+import com.palantir.common.concurrent.PTExecutors;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.exceptions.SafeIllegalStateException;
+
+/**
+ * Coalesces concurrent {@link KeyValueService#get(TableReference, Map)} requests, which typically come from many
+ * concurrently running transactions, into batched requests to the delegate key value service.
+ * <p>
+ * All requests for a table that are queued up together are merged into a single request to the delegate, which reads
+ * each cell at the greatest timestamp at which any of the requests reads it. The value returned is also the latest
+ * value of the cell before any smaller timestamp that is greater than the value's own timestamp, so it is returned to
+ * all of those requests. Only requests reading the cell at or before the timestamp of that value (because the cell was
+ * written concurrently with the transactions reading it) need the cell to be read again, which is done in a further
+ * merged request in the same way. The results are then split up again, so that each caller receives exactly the cells
+ * it asked for, read at the timestamps it asked for.
+ * <p>
+ * Requests to the delegate are made on a bounded pool of {@link #MAX_CONCURRENT_DELEGATE_READS} threads rather than
+ * on the single thread that forms batches, since many key value services only implement
+ * {@link KeyValueService#getAsync(TableReference, Map)} by reading synchronously.
+ */
+public final class ReadCoalescingKeyValueService extends ForwardingKeyValueService {
+    private static final String BATCHER_PURPOSE = "kvs-read-coalescing";
+    private static final int MAX_CONCURRENT_DELEGATE_READS = 32;
+
+    private final KeyValueService delegate;
+    private final ExecutorService readExecutor;
+    private final DisruptorAutobatcher<GetRequest, Map<Cell, Value>> autobatcher;
+
+    private ReadCoalescingKeyValueService(KeyValueService delegate, ExecutorService readExecutor) {
+        this.delegate = delegate;
+        this.readExecutor = readExecutor;
+        this.autobatcher = Autobatchers.<GetRequest, Map<Cell, Value>>independent(this::processBatch)
+                .safeLoggablePurpose(BATCHER_PURPOSE)
+                .build();
+    }
+
+    public static KeyValueService create(KeyValueService delegate) {
+        return create(delegate, PTExecutors.newFixedThreadPool(
+                MAX_CONCURRENT_DELEGATE_READS, new NamedThreadFactory(BATCHER_PURPOSE + "-reads", true)));
+    }
+
+    /**
+     * Creates a read coalescing key value service that makes requests to the delegate on the given executor, which
+     * it shuts down when closed.
+     */
+    @VisibleForTesting
+    static KeyValueService create(KeyValueService delegate, ExecutorService readExecutor) {
+        return new ReadCoalescingKeyValueService(delegate, readExecutor);
+    }
+
+    @Override
+    public KeyValueService delegate() {
+        return delegate;
+    }
+
+    @Override
+    public Map<Cell, Value> get(TableReference tableRef, Map<Cell, Long> timestampByCell) {
+        return AtlasFutures.getUnchecked(getAsync(tableRef, timestampByCell));
+    }
+
+    @Override
+    public ListenableFuture<Map<Cell, Value>> getAsync(TableReference tableRef, Map<Cell, Long> timestampByCell) {
+        if (timestampByCell.isEmpty()) {
+            return Futures.immediateFuture(ImmutableMap.of());
+        }
+        return autobatcher.apply(ImmutableGetRequest.of(tableRef, timestampByCell));
+    }
+
+    @Override
+    public Map<TableReference, Map<Cell, Value>> getMulti(
+            Map<TableReference, Map<Cell, Long>> timestampByCellByTable) {
+        return AtlasFutures.getUnchecked(getMultiAsync(timestampByCellByTable));
+    }
+
+    /**
+     * Each table is coalesced separately, so this enqueues one request per table. They are all enqueued before
+     * waiting for any of them, so they will usually be processed in the same batch.
+     */
+    @Override
+    public ListenableFuture<Map<TableReference, Map<Cell, Value>>> getMultiAsync(
+            Map<TableReference, Map<Cell, Long>> timestampByCellByTable) {
+        List<TableReference> tableRefs = ImmutableList.copyOf(timestampByCellByTable.keySet());
+        List<ListenableFuture<Map<Cell, Value>>> futures = Lists.newArrayListWithCapacity(tableRefs.size());
+        for (TableReference tableRef : tableRefs) {
+            futures.add(getAsync(tableRef, timestampByCellByTable.get(tableRef)));
+        }
+        return Futures.transform(
+                Futures.allAsList(futures),
+                results -> {
+                    Map<TableReference, Map<Cell, Value>> resultsByTable =
+                            Maps.newHashMapWithExpectedSize(tableRefs.size());
+                    for (int i = 0; i < tableRefs.size(); i++) {
+                        resultsByTable.put(tableRefs.get(i), results.get(i));
+                    }
+                    return resultsByTable;
+                },
+                MoreExecutors.directExecutor());
+    }
+
+    @Override
+    public void close() {
+        autobatcher.close();
+        readExecutor.shutdown();
+        delegate.close();
+    }
+
+    private void processBatch(List<BatchElement<GetRequest, Map<Cell, Value>>> batch) {
+        Multimaps.index(batch, element -> element.argument().tableRef())
+                .asMap()
+                .forEach(this::processBatchForTable);
+    }
+
+    private void processBatchForTable(
+            TableReference tableRef,
+            Collection<BatchElement<GetRequest, Map<Cell, Value>>> requests) {
+        ListenableFuture<Map<Cell, Map<Long, Value>>> valuesByCell = read(
+                tableRef,
+                mergeRequests(Collections2.transform(requests, BatchElement::argument)),
+                Maps.newHashMap());
+
+        for (BatchElement<GetRequest, Map<Cell, Value>> request : requests) {
+            request.result().setFuture(Futures.transform(
+                    valuesByCell,
+                    values -> extractResults(request.argument().timestampByCell(), values),
+                    MoreExecutors.directExecutor()));
+        }
+    }
+
+    private ListenableFuture<Map<Cell, Map<Long, Value>>> read(
+            TableReference tableRef,
+            Map<Cell, NavigableSet<Long>> pendingTimestampsByCell,
+            Map<Cell, Map<Long, Value>> valuesByCell) {
+        if (pendingTimestampsByCell.isEmpty()) {
+            return Futures.immediateFuture(valuesByCell);
+        }
+        Map<Cell, Long> request = ImmutableMap.copyOf(
+                Maps.transformValues(pendingTimestampsByCell, NavigableSet::last));
+        return Futures.transformAsync(
+                Futures.submitAsync(() -> delegate.getAsync(tableRef, request), readExecutor),
+                results -> {
+                    resolveReads(pendingTimestampsByCell, results, valuesByCell);
+                    return read(tableRef, pendingTimestampsByCell, valuesByCell);
+                },
+                MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Merges the given requests into the set of distinct timestamps at which each cell is read.
+     */
+    @VisibleForTesting
+    static Map<Cell, NavigableSet<Long>> mergeRequests(Iterable<GetRequest> requests) {
+        Map<Cell, NavigableSet<Long>> timestampsByCell = Maps.newHashMap();
+        for (GetRequest request : requests) {
+            request.timestampByCell().forEach((cell, timestamp) ->
+                    timestampsByCell.computeIfAbsent(cell, unused -> new TreeSet<>()).add(timestamp));
+        }
+        return timestampsByCell;
+    }
+
+    /**
+     * Given the results of reading each cell at its greatest pending timestamp, records the value of each cell at
+     * every pending timestamp greater than the timestamp of the value read, and removes those timestamps. If a cell
+     * has no value, it has no value at any smaller timestamp either. The timestamps that remain pending must be read
+     * again.
+     */
+    @VisibleForTesting
+    static void resolveReads(
+            Map<Cell, NavigableSet<Long>> pendingTimestampsByCell,
+            Map<Cell, Value> results,
+            Map<Cell, Map<Long, Value>> valuesByCell) {
+        Iterator<Map.Entry<Cell, NavigableSet<Long>>> iterator = pendingTimestampsByCell.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Cell, NavigableSet<Long>> entry = iterator.next();
+            Value value = results.get(entry.getKey());
+            NavigableSet<Long> timestamps = entry.getValue();
+            if (value == null) {
+                iterator.remove();
+                continue;
+            }
+            if (value.getTimestamp() >= timestamps.last()) {
+                throw new SafeIllegalStateException("Key value service returned a value that is too new to be read",
+                        SafeArg.of("valueTimestamp", value.getTimestamp()),
+                        SafeArg.of("readTimestamp", timestamps.last()));
+            }
+            NavigableSet<Long> resolvedTimestamps = timestamps.tailSet(value.getTimestamp(), false);
+            Map<Long, Value> values = valuesByCell.computeIfAbsent(entry.getKey(), unused -> Maps.newHashMap());
+            resolvedTimestamps.forEach(timestamp -> values.put(timestamp, value));
+            resolvedTimestamps.clear();
+            if (timestamps.isEmpty()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    @VisibleForTesting
+    static Map<Cell, Value> extractResults(
+            Map<Cell, Long> timestampByCell,
+            Map<Cell, Map<Long, Value>> valuesByCell) {
+        Map<Cell, Value> result = Maps.newHashMapWithExpectedSize(timestampByCell.size());
+        timestampByCell.forEach((cell, timestamp) -> {
+            Value value = valuesByCell.getOrDefault(cell, ImmutableMap.of()).get(timestamp);
+            if (value != null) {
+                result.put(cell, value);
+            }
+        });
+        return result;
+    }
+
+    @org.immutables.value.Value.Immutable
+    interface GetRequest {
+        @org.immutables.value.Value.Parameter
+        TableReference tableRef();
+
+        @org.immutables.value.Value.Parameter
+        Map<Cell, Long> timestampByCell();
+    }
+}
@@ -133,6 +133,16 @@ public class StatsTrackingKeyValueService extends ForwardingKeyValueService {
         return r;
     }
 
+    @Override
+    public Map<TableReference, Map<Cell, Value>> getMulti(
+            Map<TableReference, Map<Cell, Long>> timestampByCellByTable) {
+        // Stats are tracked per table, so each table is read separately.
+        Map<TableReference, Map<Cell, Value>> results = Maps.newHashMapWithExpectedSize(timestampByCellByTable.size());
+        timestampByCellByTable.forEach(
+                (tableRef, timestampByCell) -> results.put(tableRef, get(tableRef, timestampByCell)));
+        return results;
+    }
+
     @Override
     public Map<Cell, Value> getRows(TableReference tableRef,
                                     Iterable<byte[]> rows,
@@ -26,6 +26,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import org.slf4j.Logger;
@@ -81,6 +82,7 @@ public class SweepStatsKeyValueService extends ForwardingKeyValueService {
     private final Supplier<Integer> writeThreshold; // number of cells which allows write stats to be flushed
     private final Supplier<Long> writeSizeThreshold; // size of values which allows write stats to be flushed
     private final Supplier<Boolean> isEnabled; // for toggling legacy sweep enabled/disabled online
+    private final Consumer<Set<TableReference>> flushListener; // notified of the tables whose stats were flushed
 
     private final Multiset<TableReference> writesByTable = ConcurrentHashMultiset.create();
 
@@ -97,7 +99,18 @@ public class SweepStatsKeyValueService extends ForwardingKeyValueService {
             Supplier<Integer> writeThreshold,
             Supplier<Long> writeSizeThreshold,
             Supplier<Boolean> isEnabled) {
-        return new SweepStatsKeyValueService(delegate, timestampService, writeThreshold, writeSizeThreshold, isEnabled);
+        return create(delegate, timestampService, writeThreshold, writeSizeThreshold, isEnabled, tableRefs -> { });
+    }
+
+    public static SweepStatsKeyValueService create(
+            KeyValueService delegate,
+            TimestampService timestampService,
+            Supplier<Integer> writeThreshold,
+            Supplier<Long> writeSizeThreshold,
+            Supplier<Boolean> isEnabled,
+            Consumer<Set<TableReference>> flushListener) {
+        return new SweepStatsKeyValueService(
+                delegate, timestampService, writeThreshold, writeSizeThreshold, isEnabled, flushListener);
     }
 
     private SweepStatsKeyValueService(
@@ -105,12 +118,14 @@ public class SweepStatsKeyValueService extends ForwardingKeyValueService {
             TimestampService timestampService,
             Supplier<Integer> writeThreshold,
             Supplier<Long> writeSizeThreshold,
-            Supplier<Boolean> isEnabled) {
+            Supplier<Boolean> isEnabled,
+            Consumer<Set<TableReference>> flushListener) {
         this.delegate = delegate;
         this.timestampService = timestampService;
         this.writeThreshold = writeThreshold;
         this.writeSizeThreshold = writeSizeThreshold;
         this.isEnabled = isEnabled;
+        this.flushListener = flushListener;
         this.flushExecutor.scheduleWithFixedDelay(createFlushTask(), FLUSH_DELAY_SECONDS, FLUSH_DELAY_SECONDS,
                 TimeUnit.SECONDS);
     }
@@ -312,6 +327,7 @@ public class SweepStatsKeyValueService extends ForwardingKeyValueService {
             // show up in the transaction table before we write do our writes.
             commit(timestamp);
             delegate().put(SWEEP_PRIORITY_TABLE, newWriteCounts, timestamp);
+            flushListener.accept(Sets.union(writes.elementSet(), clears).immutableCopy());
         } catch (RuntimeException e) {
             if (Thread.interrupted()) {
                 return;
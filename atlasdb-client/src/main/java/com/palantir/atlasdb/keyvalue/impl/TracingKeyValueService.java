@@ -216,6 +216,15 @@ public final class TracingKeyValueService extends ForwardingObject implements Ke
         }
     }
 
+    @Override
+    public Map<TableReference, Map<Cell, Value>> getMulti(
+            Map<TableReference, Map<Cell, Long>> timestampByCellByTable) {
+        //noinspection unused - try-with-resources closes trace
+        try (CloseableTrace trace = startLocalTrace("getMulti({} tables)", timestampByCellByTable.size())) {
+            return delegate().getMulti(timestampByCellByTable);
+        }
+    }
+
     @Override
     public Set<TableReference> getAllTableNames() {
         //noinspection unused - try-with-resources closes trace
@@ -430,6 +439,17 @@ public final class TracingKeyValueService extends ForwardingObject implements Ke
         return attachDetachedSpanCompletion(detachedSpan, future, tracingExecutorService);
     }
 
+    @Override
+    public ListenableFuture<Map<TableReference, Map<Cell, Value>>> getMultiAsync(
+            Map<TableReference, Map<Cell, Long>> timestampByCellByTable) {
+        DetachedSpan detachedSpan = DetachedSpan.start(
+                String.format("getMultiAsync(%s tables)", timestampByCellByTable.size()));
+
+        ListenableFuture<Map<TableReference, Map<Cell, Value>>> future =
+                delegate().getMultiAsync(timestampByCellByTable);
+        return attachDetachedSpanCompletion(detachedSpan, future, tracingExecutorService);
+    }
+
     private static CloseableTrace startLocalTrace(CharSequence operationFormat, Object... formatArguments) {
         return CloseableTrace.startLocalTrace(SERVICE_NAME, operationFormat, formatArguments);
     }
@@ -140,6 +140,19 @@ public class ValidatingQueryRewritingKeyValueService extends ForwardingKeyValueS
         return delegate.get(tableRef, timestampByCell);
     }
 
+    @Override
+    public Map<TableReference, Map<Cell, Value>> getMulti(
+            Map<TableReference, Map<Cell, Long>> timestampByCellByTable) {
+        Map<TableReference, Map<Cell, Long>> nonEmptyRequests =
+                Maps.filterValues(timestampByCellByTable, timestampByCell -> !timestampByCell.isEmpty());
+        if (nonEmptyRequests.isEmpty()) {
+            return Maps.transformValues(timestampByCellByTable, unused -> ImmutableMap.of());
+        }
+        Map<TableReference, Map<Cell, Value>> results = Maps.newHashMap(delegate.getMulti(nonEmptyRequests));
+        timestampByCellByTable.keySet().forEach(tableRef -> results.putIfAbsent(tableRef, ImmutableMap.of()));
+        return results;
+    }
+
     @Override
     public Multimap<Cell, Long> getAllTimestamps(TableReference tableRef, Set<Cell> cells, long timestamp) {
         if (cells.isEmpty()) {
@@ -0,0 +1,183 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.ptobject;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import com.palantir.atlasdb.encoding.PtBytes;
+
+/**
+ * Reads the components of a composite row or column key in order, decoding each component directly from the key's
+ * byte[] and advancing past it.
+ * <p>
+ * Unlike decoding with {@link EncodingUtils} and then re-computing the size of each decoded component to find the
+ * next one, the reader keeps track of its position as it decodes, so variable length components are never
+ * re-encoded. The flipped variants read components that were written with
+ * {@link CompositeKeyWriter#flipLastComponent()}; they never modify the key.
+ */
+public final class CompositeKeyReader {
+    private final byte[] bytes;
+    private int position;
+
+    public CompositeKeyReader(byte[] bytes) {
+        this(bytes, 0);
+    }
+
+    public CompositeKeyReader(byte[] bytes, int offset) {
+        this.bytes = bytes;
+        this.position = offset;
+    }
+
+    public int position() {
+        return position;
+    }
+
+    public int remaining() {
+        return bytes.length - position;
+    }
+
+    public long readUnsignedVarLong() {
+        long value = EncodingUtils.decodeUnsignedVarLong(bytes, position);
+        position += EncodingUtils.sizeOfVarLong(value);
+        return value;
+    }
+
+    public long readFlippedUnsignedVarLong() {
+        long value = EncodingUtils.decodeFlippedUnsignedVarLong(bytes, position);
+        position += EncodingUtils.sizeOfVarLong(value);
+        return value;
+    }
+
+    public long readSignedVarLong() {
+        long value = EncodingUtils.decodeSignedVarLong(bytes, position);
+        position += EncodingUtils.sizeOfSignedVarLong(value);
+        return value;
+    }
+
+    public long readFlippedSignedVarLong() {
+        long value = EncodingUtils.decodeFlippedSignedVarLong(bytes, position);
+        position += EncodingUtils.sizeOfSignedVarLong(value);
+        return value;
+    }
+
+    public long readFixedLong() {
+        return Long.MIN_VALUE ^ readLong();
+    }
+
+    public long readFlippedFixedLong() {
+        return Long.MAX_VALUE ^ readLong();
+    }
+
+    public long readLittleEndianLong() {
+        return Long.reverseBytes(readLong());
+    }
+
+    public long readFlippedLittleEndianLong() {
+        return -1L ^ Long.reverseBytes(readLong());
+    }
+
+    public Long readNullableFixedLong() {
+        Long value = EncodingUtils.decodeNullableFixedLong(bytes, position);
+        position += 1 + PtBytes.SIZEOF_LONG;
+        return value;
+    }
+
+    public Long readFlippedNullableFixedLong() {
+        Long value = EncodingUtils.decodeFlippedNullableFixedLong(bytes, position);
+        position += 1 + PtBytes.SIZEOF_LONG;
+        return value;
+    }
+
+    public String readVarString() {
+        int length = readLength();
+        String value = PtBytes.toString(bytes, position, length);
+        position += length;
+        return value;
+    }
+
+    public String readFlippedVarString() {
+        return PtBytes.toString(readFlippedBytes(readFlippedLength()));
+    }
+
+    public String readStringToEnd() {
+        String value = PtBytes.toString(bytes, position, remaining());
+        position = bytes.length;
+        return value;
+    }
+
+    public String readFlippedStringToEnd() {
+        return PtBytes.toString(readFlippedBytes(remaining()));
+    }
+
+    public byte[] readSizedBytes() {
+        return readBytes(readLength());
+    }
+
+    public byte[] readFlippedSizedBytes() {
+        return readFlippedBytes(readFlippedLength());
+    }
+
+    /**
+     * Note that, like {@link EncodingUtils#getBytesFromOffsetToEnd(byte[], int)}, this returns the key itself if
+     * nothing has been read yet.
+     */
+    public byte[] readBytesToEnd() {
+        byte[] value = EncodingUtils.getBytesFromOffsetToEnd(bytes, position);
+        position = bytes.length;
+        return value;
+    }
+
+    public byte[] readFlippedBytesToEnd() {
+        return readFlippedBytes(remaining());
+    }
+
+    public byte[] readBytes(int length) {
+        byte[] value = Arrays.copyOfRange(bytes, position, position + length);
+        position += length;
+        return value;
+    }
+
+    public byte[] readFlippedBytes(int length) {
+        return EncodingUtils.flipAllBitsInPlace(readBytes(length));
+    }
+
+    public UUID readUuid() {
+        long mostSigBits = readLong();
+        long leastSigBits = readLong();
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    public UUID readFlippedUuid() {
+        long mostSigBits = -1L ^ readLong();
+        long leastSigBits = -1L ^ readLong();
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    private long readLong() {
+        long value = PtBytes.toLong(bytes, position);
+        position += PtBytes.SIZEOF_LONG;
+        return value;
+    }
+
+    private int readLength() {
+        return (int) readUnsignedVarLong();
+    }
+
+    private int readFlippedLength() {
+        return (int) readFlippedUnsignedVarLong();
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.ptobject;
+
+import java.util.UUID;
+
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+
+/**
+ * Writes the components of a composite row or column key directly into a single, exactly sized byte[].
+ * <p>
+ * Each write method produces the same bytes as the corresponding method of {@link EncodingUtils}, so keys written
+ * with this class are identical to keys built by concatenating the per-component encodings, without allocating an
+ * intermediate array for each component. Callers must compute the exact size of the key up front, using the size
+ * methods of {@link EncodingUtils} and this class.
+ */
+public final class CompositeKeyWriter {
+    private final byte[] bytes;
+    private int position = 0;
+    private int lastComponentStart = 0;
+
+    public CompositeKeyWriter(int size) {
+        this.bytes = new byte[size];
+    }
+
+    /**
+     * Returns the number of bytes {@link #writeVarString(String)} writes for the given string.
+     */
+    public static int sizeOfVarString(String value) {
+        int length = sizeOfString(value);
+        return EncodingUtils.sizeOfVarLong(length) + length;
+    }
+
+    /**
+     * Returns the number of bytes {@link #writeString(String)} writes for the given string, i.e. the length of its
+     * UTF-8 encoding, without encoding it.
+     */
+    public static int sizeOfString(String value) {
+        int length = value.length();
+        int size = length;
+        for (int i = 0; i < length; i++) {
+            char ch = value.charAt(i);
+            if (ch < 0x80) {
+                continue;
+            }
+            if (ch < 0x800) {
+                size += 1;
+            } else if (isSurrogatePair(value, i)) {
+                size += 2;
+                i++;
+            } else if (!Character.isSurrogate(ch)) {
+                size += 2;
+            }
+        }
+        return size;
+    }
+
+    public CompositeKeyWriter writeUnsignedVarLong(long value) {
+        int size = EncodingUtils.sizeOfUnsignedVarLong(value);
+        startComponent(size);
+        EncodingUtils.encodeVarLongForSize(value, bytes, position, size, size);
+        position += size;
+        return this;
+    }
+
+    public CompositeKeyWriter writeSignedVarLong(long value) {
+        boolean negative = value < 0;
+        int size = EncodingUtils.sizeOfSignedVarLong(value);
+        startComponent(size);
+        EncodingUtils.encodeVarLongForSize(value ^ (value >> 63), bytes, position, size, size + 1);
+        if (negative) {
+            EncodingUtils.flipAllBitsInPlace(bytes, position, size);
+        }
+        position += size;
+        return this;
+    }
+
+    /**
+     * Writes the encoding used by {@link com.palantir.atlasdb.table.description.ValueType#FIXED_LONG}, which has
+     * the sign bit flipped so that negative values sort before positive ones.
+     */
+    public CompositeKeyWriter writeFixedLong(long value) {
+        startComponent(PtBytes.SIZEOF_LONG);
+        putLong(Long.MIN_VALUE ^ value);
+        return this;
+    }
+
+    public CompositeKeyWriter writeVarString(String value) {
+        int length = sizeOfString(value);
+        int lengthSize = EncodingUtils.sizeOfVarLong(length);
+        startComponent(lengthSize + length);
+        EncodingUtils.encodeVarLongForSize(length, bytes, position, lengthSize, lengthSize);
+        position += lengthSize;
+        putUtf8(value);
+        return this;
+    }
+
+    public CompositeKeyWriter writeString(String value) {
+        startComponent(sizeOfString(value));
+        putUtf8(value);
+        return this;
+    }
+
+    public CompositeKeyWriter writeSizedBytes(byte[] value) {
+        int lengthSize = EncodingUtils.sizeOfVarLong(value.length);
+        startComponent(lengthSize + value.length);
+        EncodingUtils.encodeVarLongForSize(value.length, bytes, position, lengthSize, lengthSize);
+        position += lengthSize;
+        putBytes(value);
+        return this;
+    }
+
+    public CompositeKeyWriter writeUuid(UUID value) {
+        startComponent(2 * PtBytes.SIZEOF_LONG);
+        putLong(value.getMostSignificantBits());
+        putLong(value.getLeastSignificantBits());
+        return this;
+    }
+
+    /**
+     * Writes an already encoded component.
+     */
+    public CompositeKeyWriter write(byte[] value) {
+        startComponent(value.length);
+        putBytes(value);
+        return this;
+    }
+
+    /**
+     * Flips all bits of the component written last, which is how descending components are encoded.
+     */
+    public CompositeKeyWriter flipLastComponent() {
+        EncodingUtils.flipAllBitsInPlace(bytes, lastComponentStart, position - lastComponentStart);
+        return this;
+    }
+
+    /**
+     * Returns the written key. Note that this does not copy, so the writer must not be used afterwards.
+     */
+    public byte[] toByteArray() {
+        Preconditions.checkState(position == bytes.length,
+                "Composite key was not written to its full size",
+                SafeArg.of("written", position),
+                SafeArg.of("size", bytes.length));
+        return bytes;
+    }
+
+    private void startComponent(int size) {
+        Preconditions.checkState(position + size <= bytes.length,
+                "Component does not fit into the composite key",
+                SafeArg.of("position", position),
+                SafeArg.of("componentSize", size),
+                SafeArg.of("size", bytes.length));
+        lastComponentStart = position;
+    }
+
+    private void putLong(long value) {
+        for (int i = PtBytes.SIZEOF_LONG - 1; i >= 0; i--) {
+            bytes[position + i] = (byte) value;
+            value >>>= 8;
+        }
+        position += PtBytes.SIZEOF_LONG;
+    }
+
+    private void putBytes(byte[] value) {
+        System.arraycopy(value, 0, bytes, position, value.length);
+        position += value.length;
+    }
+
+    /**
+     * Matches {@link String#getBytes(java.nio.charset.Charset)} for UTF-8, including replacing unpaired surrogates
+     * with '?', so that this agrees with {@link PtBytes#toBytes(String)}.
+     */
+    private void putUtf8(String value) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char ch = value.charAt(i);
+            if (ch < 0x80) {
+                bytes[position++] = (byte) ch;
+            } else if (ch < 0x800) {
+                bytes[position++] = (byte) (0xc0 | (ch >> 6));
+                bytes[position++] = (byte) (0x80 | (ch & 0x3f));
+            } else if (isSurrogatePair(value, i)) {
+                int codePoint = Character.toCodePoint(ch, value.charAt(++i));
+                bytes[position++] = (byte) (0xf0 | (codePoint >> 18));
+                bytes[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+                bytes[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+                bytes[position++] = (byte) (0x80 | (codePoint & 0x3f));
+            } else if (Character.isSurrogate(ch)) {
+                bytes[position++] = '?';
+            } else {
+                bytes[position++] = (byte) (0xe0 | (ch >> 12));
+                bytes[position++] = (byte) (0x80 | ((ch >> 6) & 0x3f));
+                bytes[position++] = (byte) (0x80 | (ch & 0x3f));
+            }
+        }
+    }
+
+    private static boolean isSurrogatePair(String value, int index) {
+        return Character.isHighSurrogate(value.charAt(index))
+                && index + 1 < value.length()
+                && Character.isLowSurrogate(value.charAt(index + 1));
+    }
+}
@@ -86,15 +86,23 @@ public class EncodingUtils {
      * @param size must be <= 17 (but will most likely be 10 or 11 at most)
      */
     private static void encodeVarLongForSize(long value, @Output byte[] ret, int size) {
-        int end = 0;
+        encodeVarLongForSize(value, ret, 0, ret.length, size);
+    }
+
+    /**
+     * Same as {@link #encodeVarLongForSize(long, byte[], int)}, but only writes to the
+     * range [offset, offset + length) of the passed byte[], which must be zeroed.
+     */
+    static void encodeVarLongForSize(long value, @Output byte[] ret, int offset, int length, int size) {
+        int end = offset;
         if (size > 8) {
-            ret[0] = (byte)0xff;
-            end = 1;
+            ret[offset] = (byte)0xff;
+            end = offset + 1;
             size -= 8;
         }
         ret[end] = (byte)((0xff << (9-size)) & 0xff);
 
-        int index = ret.length;
+        int index = offset + length;
         while (index-- > end) {
             ret[index] |= (byte)((int)value & 0xff);
             value >>>= 8;
@@ -39,9 +39,13 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.Sets;
+import com.google.common.collect.Streams;
 import com.google.common.hash.Hashing;
 import com.google.common.primitives.Bytes;
 import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.palantir.atlasdb.compress.CompressionUtils;
 import com.palantir.atlasdb.encoding.PtBytes;
@@ -56,6 +60,8 @@ import com.palantir.atlasdb.keyvalue.api.RangeRequest;
 import com.palantir.atlasdb.keyvalue.api.RowResult;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.impl.Cells;
+import com.palantir.atlasdb.ptobject.CompositeKeyReader;
+import com.palantir.atlasdb.ptobject.CompositeKeyWriter;
 import com.palantir.atlasdb.ptobject.EncodingUtils;
 import com.palantir.atlasdb.table.api.AtlasDbDynamicMutablePersistentTable;
 import com.palantir.atlasdb.table.api.AtlasDbMutablePersistentTable;
@@ -68,6 +74,7 @@ import com.palantir.atlasdb.table.description.ValueType;
 import com.palantir.atlasdb.table.generation.ColumnValues;
 import com.palantir.atlasdb.table.generation.Descending;
 import com.palantir.atlasdb.table.generation.NamedColumnValue;
+import com.palantir.atlasdb.table.generation.TableReads;
 import com.palantir.atlasdb.transaction.api.AtlasDbConstraintCheckingMode;
 import com.palantir.atlasdb.transaction.api.ConstraintCheckingTransaction;
 import com.palantir.atlasdb.transaction.api.ImmutableGetRangesQuery;
@@ -176,16 +183,16 @@ public final class CompactMetadataTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] fullTableNameBytes = PtBytes.toBytes(fullTableName);
-            return EncodingUtils.add(fullTableNameBytes);
+            CompositeKeyWriter __writer = new CompositeKeyWriter(CompositeKeyWriter.sizeOfString(fullTableName));
+            __writer.writeString(fullTableName);
+            return __writer.toByteArray();
         }
 
         public static final Hydrator<CompactMetadataRow> BYTES_HYDRATOR = new Hydrator<CompactMetadataRow>() {
             @Override
             public CompactMetadataRow hydrateFromBytes(byte[] __input) {
-                int __index = 0;
-                String fullTableName = PtBytes.toString(__input, __index, __input.length-__index);
-                __index += 0;
+                CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                String fullTableName = __reader.readStringToEnd();
                 return new CompactMetadataRow(fullTableName);
             }
         };
@@ -477,6 +484,26 @@ public final class CompactMetadataTable implements
         return rowResults;
     }
 
+    public ListenableFuture<List<CompactMetadataRowResult>> getRowsAsync(Iterable<CompactMetadataRow> rows) {
+        return getRowsAsync(rows, allColumns);
+    }
+
+    public ListenableFuture<List<CompactMetadataRowResult>> getRowsAsync(Iterable<CompactMetadataRow> rows, ColumnSelection columns) {
+        ColumnSelection selectedColumns = columns.allColumnsSelected() ? allColumns : columns;
+        return Futures.transform(
+                TableReads.getRowsAsync(t, tableRef, Persistables.persistAll(rows), selectedColumns),
+                rowResults -> ImmutableList.copyOf(Lists.transform(rowResults, CompactMetadataRowResult::of)),
+                MoreExecutors.directExecutor());
+    }
+
+    public Stream<CompactMetadataRowResult> getRowsStream(Iterable<CompactMetadataRow> rows) {
+        return getRowsStream(rows, allColumns);
+    }
+
+    public Stream<CompactMetadataRowResult> getRowsStream(Iterable<CompactMetadataRow> rows, ColumnSelection columns) {
+        return TableReads.getRowsStream(t, tableRef, Persistables.persistAll(rows), columns).map(CompactMetadataRowResult::of);
+    }
+
     @Override
     public List<CompactMetadataNamedColumnValue<?>> getRowColumns(CompactMetadataRow row) {
         return getRowColumns(row, allColumns);
@@ -561,6 +588,10 @@ public final class CompactMetadataTable implements
         return transformed;
     }
 
+    public Stream<Map.Entry<CompactMetadataRow, CompactMetadataNamedColumnValue<?>>> getRowsColumnRangeStream(Iterable<CompactMetadataRow> rows, ColumnRangeSelection columnRangeSelection, int batchHint) {
+        return Streams.stream(getRowsColumnRange(rows, columnRangeSelection, batchHint));
+    }
+
     private ColumnSelection optimizeColumnSelection(ColumnSelection columns) {
         if (columns.allColumnsSelected()) {
             return allColumns;
@@ -625,6 +656,8 @@ public final class CompactMetadataTable implements
      * {@link ColumnValue}
      * {@link ColumnValues}
      * {@link ComparisonChain}
+     * {@link CompositeKeyReader}
+     * {@link CompositeKeyWriter}
      * {@link Compression}
      * {@link CompressionUtils}
      * {@link ConstraintCheckingTransaction}
@@ -633,6 +666,7 @@ public final class CompactMetadataTable implements
      * {@link Entry}
      * {@link EnumSet}
      * {@link Function}
+     * {@link Futures}
      * {@link Generated}
      * {@link HashMultimap}
      * {@link HashSet}
@@ -650,9 +684,11 @@ public final class CompactMetadataTable implements
      * {@link Iterators}
      * {@link Joiner}
      * {@link List}
+     * {@link ListenableFuture}
      * {@link Lists}
      * {@link Map}
      * {@link Maps}
+     * {@link MoreExecutors}
      * {@link MoreObjects}
      * {@link Multimap}
      * {@link Multimaps}
@@ -671,7 +707,9 @@ public final class CompactMetadataTable implements
      * {@link Sha256Hash}
      * {@link SortedMap}
      * {@link Stream}
+     * {@link Streams}
      * {@link Supplier}
+     * {@link TableReads}
      * {@link TableReference}
      * {@link Throwables}
      * {@link TimeUnit}
@@ -681,5 +719,5 @@ public final class CompactMetadataTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "MrDfIwfaNhuV8d5jErTNLg==";
+    static String __CLASS_HASH = "FMcC+U7z53odLKVcznL0GQ==";
 }
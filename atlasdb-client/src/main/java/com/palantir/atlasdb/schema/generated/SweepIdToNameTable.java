@@ -39,9 +39,13 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.Sets;
+import com.google.common.collect.Streams;
 import com.google.common.hash.Hashing;
 import com.google.common.primitives.Bytes;
 import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.palantir.atlasdb.compress.CompressionUtils;
 import com.palantir.atlasdb.encoding.PtBytes;
@@ -56,6 +60,8 @@ import com.palantir.atlasdb.keyvalue.api.RangeRequest;
 import com.palantir.atlasdb.keyvalue.api.RowResult;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.impl.Cells;
+import com.palantir.atlasdb.ptobject.CompositeKeyReader;
+import com.palantir.atlasdb.ptobject.CompositeKeyWriter;
 import com.palantir.atlasdb.ptobject.EncodingUtils;
 import com.palantir.atlasdb.table.api.AtlasDbDynamicMutablePersistentTable;
 import com.palantir.atlasdb.table.api.AtlasDbMutablePersistentTable;
@@ -68,6 +74,7 @@ import com.palantir.atlasdb.table.description.ValueType;
 import com.palantir.atlasdb.table.generation.ColumnValues;
 import com.palantir.atlasdb.table.generation.Descending;
 import com.palantir.atlasdb.table.generation.NamedColumnValue;
+import com.palantir.atlasdb.table.generation.TableReads;
 import com.palantir.atlasdb.transaction.api.AtlasDbConstraintCheckingMode;
 import com.palantir.atlasdb.transaction.api.ConstraintCheckingTransaction;
 import com.palantir.atlasdb.transaction.api.ImmutableGetRangesQuery;
@@ -178,19 +185,18 @@ public final class SweepIdToNameTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] hashOfRowComponentsBytes = PtBytes.toBytes(Long.MIN_VALUE ^ hashOfRowComponents);
-            byte[] singletonBytes = PtBytes.toBytes(singleton);
-            return EncodingUtils.add(hashOfRowComponentsBytes, singletonBytes);
+            CompositeKeyWriter __writer = new CompositeKeyWriter(8 + CompositeKeyWriter.sizeOfString(singleton));
+            __writer.writeFixedLong(hashOfRowComponents);
+            __writer.writeString(singleton);
+            return __writer.toByteArray();
         }
 
         public static final Hydrator<SweepIdToNameRow> BYTES_HYDRATOR = new Hydrator<SweepIdToNameRow>() {
             @Override
             public SweepIdToNameRow hydrateFromBytes(byte[] __input) {
-                int __index = 0;
-                Long hashOfRowComponents = Long.MIN_VALUE ^ PtBytes.toLong(__input, __index);
-                __index += 8;
-                String singleton = PtBytes.toString(__input, __index, __input.length-__index);
-                __index += 0;
+                CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                Long hashOfRowComponents = __reader.readFixedLong();
+                String singleton = __reader.readStringToEnd();
                 return new SweepIdToNameRow(hashOfRowComponents, singleton);
             }
         };
@@ -280,17 +286,16 @@ public final class SweepIdToNameTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] tableIdBytes = EncodingUtils.encodeUnsignedVarLong(tableId);
-            EncodingUtils.flipAllBitsInPlace(tableIdBytes);
-            return EncodingUtils.add(tableIdBytes);
+            CompositeKeyWriter __writer = new CompositeKeyWriter(EncodingUtils.sizeOfUnsignedVarLong(tableId));
+            __writer.writeUnsignedVarLong(tableId).flipLastComponent();
+            return __writer.toByteArray();
         }
 
         public static final Hydrator<SweepIdToNameColumn> BYTES_HYDRATOR = new Hydrator<SweepIdToNameColumn>() {
             @Override
             public SweepIdToNameColumn hydrateFromBytes(byte[] __input) {
-                int __index = 0;
-                Long tableId = EncodingUtils.decodeFlippedUnsignedVarLong(__input, __index);
-                __index += EncodingUtils.sizeOfUnsignedVarLong(tableId);
+                CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                Long tableId = __reader.readFlippedUnsignedVarLong();
                 return new SweepIdToNameColumn(tableId);
             }
         };
@@ -528,6 +533,15 @@ public final class SweepIdToNameTable implements
     public Multimap<SweepIdToNameRow, SweepIdToNameColumnValue> get(Multimap<SweepIdToNameRow, SweepIdToNameColumn> cells) {
         Set<Cell> rawCells = ColumnValues.toCells(cells);
         Map<Cell, byte[]> rawResults = t.get(tableRef, rawCells);
+        return getRowMapFromCellValues(rawResults);
+    }
+
+    public ListenableFuture<Multimap<SweepIdToNameRow, SweepIdToNameColumnValue>> getAsync(Multimap<SweepIdToNameRow, SweepIdToNameColumn> cells) {
+        Set<Cell> rawCells = ColumnValues.toCells(cells);
+        return Futures.transform(t.getAsync(tableRef, rawCells), SweepIdToNameTable::getRowMapFromCellValues, MoreExecutors.directExecutor());
+    }
+
+    private static Multimap<SweepIdToNameRow, SweepIdToNameColumnValue> getRowMapFromCellValues(Map<Cell, byte[]> rawResults) {
         Multimap<SweepIdToNameRow, SweepIdToNameColumnValue> rowMap = HashMultimap.create();
         for (Entry<Cell, byte[]> e : rawResults.entrySet()) {
             if (e.getValue().length > 0) {
@@ -540,6 +554,14 @@ public final class SweepIdToNameTable implements
         return rowMap;
     }
 
+    public Stream<SweepIdToNameRowResult> getRowsStream(Iterable<SweepIdToNameRow> rows) {
+        return getRowsStream(rows, allColumns);
+    }
+
+    public Stream<SweepIdToNameRowResult> getRowsStream(Iterable<SweepIdToNameRow> rows, ColumnSelection columns) {
+        return TableReads.getRowsStream(t, tableRef, Persistables.persistAll(rows), columns).map(SweepIdToNameRowResult::of);
+    }
+
     @Override
     public List<SweepIdToNameColumnValue> getRowColumns(SweepIdToNameRow row) {
         return getRowColumns(row, allColumns);
@@ -634,6 +656,10 @@ public final class SweepIdToNameTable implements
         return transformed;
     }
 
+    public Stream<Map.Entry<SweepIdToNameRow, SweepIdToNameColumnValue>> getRowsColumnRangeStream(Iterable<SweepIdToNameRow> rows, ColumnRangeSelection columnRangeSelection, int batchHint) {
+        return Streams.stream(getRowsColumnRange(rows, columnRangeSelection, batchHint));
+    }
+
     private ColumnSelection optimizeColumnSelection(ColumnSelection columns) {
         if (columns.allColumnsSelected()) {
             return allColumns;
@@ -698,6 +724,8 @@ public final class SweepIdToNameTable implements
      * {@link ColumnValue}
      * {@link ColumnValues}
      * {@link ComparisonChain}
+     * {@link CompositeKeyReader}
+     * {@link CompositeKeyWriter}
      * {@link Compression}
      * {@link CompressionUtils}
      * {@link ConstraintCheckingTransaction}
@@ -706,6 +734,7 @@ public final class SweepIdToNameTable implements
      * {@link Entry}
      * {@link EnumSet}
      * {@link Function}
+     * {@link Futures}
      * {@link Generated}
      * {@link HashMultimap}
      * {@link HashSet}
@@ -723,9 +752,11 @@ public final class SweepIdToNameTable implements
      * {@link Iterators}
      * {@link Joiner}
      * {@link List}
+     * {@link ListenableFuture}
      * {@link Lists}
      * {@link Map}
      * {@link Maps}
+     * {@link MoreExecutors}
      * {@link MoreObjects}
      * {@link Multimap}
      * {@link Multimaps}
@@ -744,7 +775,9 @@ public final class SweepIdToNameTable implements
      * {@link Sha256Hash}
      * {@link SortedMap}
      * {@link Stream}
+     * {@link Streams}
      * {@link Supplier}
+     * {@link TableReads}
      * {@link TableReference}
      * {@link Throwables}
      * {@link TimeUnit}
@@ -754,5 +787,5 @@ public final class SweepIdToNameTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "MTwT+c4XR7VTGs8Dm4MVIQ==";
+    static String __CLASS_HASH = "q7Y31w7D08ycEagZMEpTHw==";
 }
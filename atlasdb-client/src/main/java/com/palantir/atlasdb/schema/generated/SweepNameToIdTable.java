@@ -39,9 +39,13 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.Sets;
+import com.google.common.collect.Streams;
 import com.google.common.hash.Hashing;
 import com.google.common.primitives.Bytes;
 import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.palantir.atlasdb.compress.CompressionUtils;
 import com.palantir.atlasdb.encoding.PtBytes;
@@ -56,6 +60,8 @@ import com.palantir.atlasdb.keyvalue.api.RangeRequest;
 import com.palantir.atlasdb.keyvalue.api.RowResult;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.impl.Cells;
+import com.palantir.atlasdb.ptobject.CompositeKeyReader;
+import com.palantir.atlasdb.ptobject.CompositeKeyWriter;
 import com.palantir.atlasdb.ptobject.EncodingUtils;
 import com.palantir.atlasdb.table.api.AtlasDbDynamicMutablePersistentTable;
 import com.palantir.atlasdb.table.api.AtlasDbMutablePersistentTable;
@@ -68,6 +74,7 @@ import com.palantir.atlasdb.table.description.ValueType;
 import com.palantir.atlasdb.table.generation.ColumnValues;
 import com.palantir.atlasdb.table.generation.Descending;
 import com.palantir.atlasdb.table.generation.NamedColumnValue;
+import com.palantir.atlasdb.table.generation.TableReads;
 import com.palantir.atlasdb.transaction.api.AtlasDbConstraintCheckingMode;
 import com.palantir.atlasdb.transaction.api.ConstraintCheckingTransaction;
 import com.palantir.atlasdb.transaction.api.ImmutableGetRangesQuery;
@@ -180,19 +187,18 @@ public final class SweepNameToIdTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] hashOfRowComponentsBytes = PtBytes.toBytes(Long.MIN_VALUE ^ hashOfRowComponents);
-            byte[] tableBytes = PtBytes.toBytes(table);
-            return EncodingUtils.add(hashOfRowComponentsBytes, tableBytes);
+            CompositeKeyWriter __writer = new CompositeKeyWriter(8 + CompositeKeyWriter.sizeOfString(table));
+            __writer.writeFixedLong(hashOfRowComponents);
+            __writer.writeString(table);
+            return __writer.toByteArray();
         }
 
         public static final Hydrator<SweepNameToIdRow> BYTES_HYDRATOR = new Hydrator<SweepNameToIdRow>() {
             @Override
             public SweepNameToIdRow hydrateFromBytes(byte[] __input) {
-                int __index = 0;
-                Long hashOfRowComponents = Long.MIN_VALUE ^ PtBytes.toLong(__input, __index);
-                __index += 8;
-                String table = PtBytes.toString(__input, __index, __input.length-__index);
-                __index += 0;
+                CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                Long hashOfRowComponents = __reader.readFixedLong();
+                String table = __reader.readStringToEnd();
                 return new SweepNameToIdRow(hashOfRowComponents, table);
             }
         };
@@ -491,6 +497,26 @@ public final class SweepNameToIdTable implements
         return rowResults;
     }
 
+    public ListenableFuture<List<SweepNameToIdRowResult>> getRowsAsync(Iterable<SweepNameToIdRow> rows) {
+        return getRowsAsync(rows, allColumns);
+    }
+
+    public ListenableFuture<List<SweepNameToIdRowResult>> getRowsAsync(Iterable<SweepNameToIdRow> rows, ColumnSelection columns) {
+        ColumnSelection selectedColumns = columns.allColumnsSelected() ? allColumns : columns;
+        return Futures.transform(
+                TableReads.getRowsAsync(t, tableRef, Persistables.persistAll(rows), selectedColumns),
+                rowResults -> ImmutableList.copyOf(Lists.transform(rowResults, SweepNameToIdRowResult::of)),
+                MoreExecutors.directExecutor());
+    }
+
+    public Stream<SweepNameToIdRowResult> getRowsStream(Iterable<SweepNameToIdRow> rows) {
+        return getRowsStream(rows, allColumns);
+    }
+
+    public Stream<SweepNameToIdRowResult> getRowsStream(Iterable<SweepNameToIdRow> rows, ColumnSelection columns) {
+        return TableReads.getRowsStream(t, tableRef, Persistables.persistAll(rows), columns).map(SweepNameToIdRowResult::of);
+    }
+
     @Override
     public List<SweepNameToIdNamedColumnValue<?>> getRowColumns(SweepNameToIdRow row) {
         return getRowColumns(row, allColumns);
@@ -575,6 +601,10 @@ public final class SweepNameToIdTable implements
         return transformed;
     }
 
+    public Stream<Map.Entry<SweepNameToIdRow, SweepNameToIdNamedColumnValue<?>>> getRowsColumnRangeStream(Iterable<SweepNameToIdRow> rows, ColumnRangeSelection columnRangeSelection, int batchHint) {
+        return Streams.stream(getRowsColumnRange(rows, columnRangeSelection, batchHint));
+    }
+
     private ColumnSelection optimizeColumnSelection(ColumnSelection columns) {
         if (columns.allColumnsSelected()) {
             return allColumns;
@@ -639,6 +669,8 @@ public final class SweepNameToIdTable implements
      * {@link ColumnValue}
      * {@link ColumnValues}
      * {@link ComparisonChain}
+     * {@link CompositeKeyReader}
+     * {@link CompositeKeyWriter}
      * {@link Compression}
      * {@link CompressionUtils}
      * {@link ConstraintCheckingTransaction}
@@ -647,6 +679,7 @@ public final class SweepNameToIdTable implements
      * {@link Entry}
      * {@link EnumSet}
      * {@link Function}
+     * {@link Futures}
      * {@link Generated}
      * {@link HashMultimap}
      * {@link HashSet}
@@ -664,9 +697,11 @@ public final class SweepNameToIdTable implements
      * {@link Iterators}
      * {@link Joiner}
      * {@link List}
+     * {@link ListenableFuture}
      * {@link Lists}
      * {@link Map}
      * {@link Maps}
+     * {@link MoreExecutors}
      * {@link MoreObjects}
      * {@link Multimap}
      * {@link Multimaps}
@@ -685,7 +720,9 @@ public final class SweepNameToIdTable implements
      * {@link Sha256Hash}
      * {@link SortedMap}
      * {@link Stream}
+     * {@link Streams}
      * {@link Supplier}
+     * {@link TableReads}
      * {@link TableReference}
      * {@link Throwables}
      * {@link TimeUnit}
@@ -695,5 +732,5 @@ public final class SweepNameToIdTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "UC+q/bbGbkBcB7dFYP+hTA==";
+    static String __CLASS_HASH = "RPfy97Zc8m9lyQeeNqclnw==";
 }
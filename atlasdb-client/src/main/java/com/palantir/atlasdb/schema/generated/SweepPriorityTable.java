@@ -39,9 +39,13 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.Sets;
+import com.google.common.collect.Streams;
 import com.google.common.hash.Hashing;
 import com.google.common.primitives.Bytes;
 import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.palantir.atlasdb.compress.CompressionUtils;
 import com.palantir.atlasdb.encoding.PtBytes;
@@ -56,6 +60,8 @@ import com.palantir.atlasdb.keyvalue.api.RangeRequest;
 import com.palantir.atlasdb.keyvalue.api.RowResult;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.impl.Cells;
+import com.palantir.atlasdb.ptobject.CompositeKeyReader;
+import com.palantir.atlasdb.ptobject.CompositeKeyWriter;
 import com.palantir.atlasdb.ptobject.EncodingUtils;
 import com.palantir.atlasdb.table.api.AtlasDbDynamicMutablePersistentTable;
 import com.palantir.atlasdb.table.api.AtlasDbMutablePersistentTable;
@@ -68,6 +74,7 @@ import com.palantir.atlasdb.table.description.ValueType;
 import com.palantir.atlasdb.table.generation.ColumnValues;
 import com.palantir.atlasdb.table.generation.Descending;
 import com.palantir.atlasdb.table.generation.NamedColumnValue;
+import com.palantir.atlasdb.table.generation.TableReads;
 import com.palantir.atlasdb.transaction.api.AtlasDbConstraintCheckingMode;
 import com.palantir.atlasdb.transaction.api.ConstraintCheckingTransaction;
 import com.palantir.atlasdb.transaction.api.ImmutableGetRangesQuery;
@@ -176,16 +183,16 @@ public final class SweepPriorityTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] fullTableNameBytes = PtBytes.toBytes(fullTableName);
-            return EncodingUtils.add(fullTableNameBytes);
+            CompositeKeyWriter __writer = new CompositeKeyWriter(CompositeKeyWriter.sizeOfString(fullTableName));
+            __writer.writeString(fullTableName);
+            return __writer.toByteArray();
         }
 
         public static final Hydrator<SweepPriorityRow> BYTES_HYDRATOR = new Hydrator<SweepPriorityRow>() {
             @Override
             public SweepPriorityRow hydrateFromBytes(byte[] __input) {
-                int __index = 0;
-                String fullTableName = PtBytes.toString(__input, __index, __input.length-__index);
-                __index += 0;
+                CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                String fullTableName = __reader.readStringToEnd();
                 return new SweepPriorityRow(fullTableName);
             }
         };
@@ -985,6 +992,26 @@ public final class SweepPriorityTable implements
         return rowResults;
     }
 
+    public ListenableFuture<List<SweepPriorityRowResult>> getRowsAsync(Iterable<SweepPriorityRow> rows) {
+        return getRowsAsync(rows, allColumns);
+    }
+
+    public ListenableFuture<List<SweepPriorityRowResult>> getRowsAsync(Iterable<SweepPriorityRow> rows, ColumnSelection columns) {
+        ColumnSelection selectedColumns = columns.allColumnsSelected() ? allColumns : columns;
+        return Futures.transform(
+                TableReads.getRowsAsync(t, tableRef, Persistables.persistAll(rows), selectedColumns),
+                rowResults -> ImmutableList.copyOf(Lists.transform(rowResults, SweepPriorityRowResult::of)),
+                MoreExecutors.directExecutor());
+    }
+
+    public Stream<SweepPriorityRowResult> getRowsStream(Iterable<SweepPriorityRow> rows) {
+        return getRowsStream(rows, allColumns);
+    }
+
+    public Stream<SweepPriorityRowResult> getRowsStream(Iterable<SweepPriorityRow> rows, ColumnSelection columns) {
+        return TableReads.getRowsStream(t, tableRef, Persistables.persistAll(rows), columns).map(SweepPriorityRowResult::of);
+    }
+
     @Override
     public List<SweepPriorityNamedColumnValue<?>> getRowColumns(SweepPriorityRow row) {
         return getRowColumns(row, allColumns);
@@ -1069,6 +1096,10 @@ public final class SweepPriorityTable implements
         return transformed;
     }
 
+    public Stream<Map.Entry<SweepPriorityRow, SweepPriorityNamedColumnValue<?>>> getRowsColumnRangeStream(Iterable<SweepPriorityRow> rows, ColumnRangeSelection columnRangeSelection, int batchHint) {
+        return Streams.stream(getRowsColumnRange(rows, columnRangeSelection, batchHint));
+    }
+
     private RangeRequest optimizeRangeRequest(RangeRequest range) {
         if (range.getColumnNames().isEmpty()) {
             return range.getBuilder().retainColumns(allColumns).build();
@@ -1089,6 +1120,10 @@ public final class SweepPriorityTable implements
         });
     }
 
+    public Stream<SweepPriorityRowResult> getRangeStream(RangeRequest range) {
+        return TableReads.getRangeStream(t, tableRef, optimizeRangeRequest(range)).map(SweepPriorityRowResult::of);
+    }
+
     @Deprecated
     public IterableView<BatchingVisitable<SweepPriorityRowResult>> getRanges(Iterable<RangeRequest> ranges) {
         Iterable<BatchingVisitable<RowResult<byte[]>>> rangeResults = t.getRanges(tableRef, optimizeRangeRequests(ranges));
@@ -1195,6 +1230,8 @@ public final class SweepPriorityTable implements
      * {@link ColumnValue}
      * {@link ColumnValues}
      * {@link ComparisonChain}
+     * {@link CompositeKeyReader}
+     * {@link CompositeKeyWriter}
      * {@link Compression}
      * {@link CompressionUtils}
      * {@link ConstraintCheckingTransaction}
@@ -1203,6 +1240,7 @@ public final class SweepPriorityTable implements
      * {@link Entry}
      * {@link EnumSet}
      * {@link Function}
+     * {@link Futures}
      * {@link Generated}
      * {@link HashMultimap}
      * {@link HashSet}
@@ -1220,9 +1258,11 @@ public final class SweepPriorityTable implements
      * {@link Iterators}
      * {@link Joiner}
      * {@link List}
+     * {@link ListenableFuture}
      * {@link Lists}
      * {@link Map}
      * {@link Maps}
+     * {@link MoreExecutors}
      * {@link MoreObjects}
      * {@link Multimap}
      * {@link Multimaps}
@@ -1241,7 +1281,9 @@ public final class SweepPriorityTable implements
      * {@link Sha256Hash}
      * {@link SortedMap}
      * {@link Stream}
+     * {@link Streams}
      * {@link Supplier}
+     * {@link TableReads}
      * {@link TableReference}
      * {@link Throwables}
      * {@link TimeUnit}
@@ -1251,5 +1293,5 @@ public final class SweepPriorityTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "f+xi0T0RVYABX3sUEu/eEw==";
+    static String __CLASS_HASH = "5MdsXNyfDxCEWo6OOwUkuw==";
 }
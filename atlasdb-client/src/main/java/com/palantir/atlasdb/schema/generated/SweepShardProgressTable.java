@@ -39,9 +39,13 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.Sets;
+import com.google.common.collect.Streams;
 import com.google.common.hash.Hashing;
 import com.google.common.primitives.Bytes;
 import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.palantir.atlasdb.compress.CompressionUtils;
 import com.palantir.atlasdb.encoding.PtBytes;
@@ -56,6 +60,8 @@ import com.palantir.atlasdb.keyvalue.api.RangeRequest;
 import com.palantir.atlasdb.keyvalue.api.RowResult;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.impl.Cells;
+import com.palantir.atlasdb.ptobject.CompositeKeyReader;
+import com.palantir.atlasdb.ptobject.CompositeKeyWriter;
 import com.palantir.atlasdb.ptobject.EncodingUtils;
 import com.palantir.atlasdb.table.api.AtlasDbDynamicMutablePersistentTable;
 import com.palantir.atlasdb.table.api.AtlasDbMutablePersistentTable;
@@ -68,6 +74,7 @@ import com.palantir.atlasdb.table.description.ValueType;
 import com.palantir.atlasdb.table.generation.ColumnValues;
 import com.palantir.atlasdb.table.generation.Descending;
 import com.palantir.atlasdb.table.generation.NamedColumnValue;
+import com.palantir.atlasdb.table.generation.TableReads;
 import com.palantir.atlasdb.transaction.api.AtlasDbConstraintCheckingMode;
 import com.palantir.atlasdb.transaction.api.ConstraintCheckingTransaction;
 import com.palantir.atlasdb.transaction.api.ImmutableGetRangesQuery;
@@ -187,22 +194,20 @@ public final class SweepShardProgressTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] hashOfRowComponentsBytes = PtBytes.toBytes(Long.MIN_VALUE ^ hashOfRowComponents);
-            byte[] shardBytes = EncodingUtils.encodeSignedVarLong(shard);
-            byte[] sweepConservativeBytes = sweepConservative;
-            return EncodingUtils.add(hashOfRowComponentsBytes, shardBytes, sweepConservativeBytes);
+            CompositeKeyWriter __writer = new CompositeKeyWriter(8 + EncodingUtils.sizeOfSignedVarLong(shard) + sweepConservative.length);
+            __writer.writeFixedLong(hashOfRowComponents);
+            __writer.writeSignedVarLong(shard);
+            __writer.write(sweepConservative);
+            return __writer.toByteArray();
         }
 
         public static final Hydrator<SweepShardProgressRow> BYTES_HYDRATOR = new Hydrator<SweepShardProgressRow>() {
             @Override
             public SweepShardProgressRow hydrateFromBytes(byte[] __input) {
-                int __index = 0;
-                Long hashOfRowComponents = Long.MIN_VALUE ^ PtBytes.toLong(__input, __index);
-                __index += 8;
-                Long shard = EncodingUtils.decodeSignedVarLong(__input, __index);
-                __index += EncodingUtils.sizeOfSignedVarLong(shard);
-                byte[] sweepConservative = EncodingUtils.getBytesFromOffsetToEnd(__input, __index);
-                __index += 0;
+                CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                Long hashOfRowComponents = __reader.readFixedLong();
+                Long shard = __reader.readSignedVarLong();
+                byte[] sweepConservative = __reader.readBytesToEnd();
                 return new SweepShardProgressRow(hashOfRowComponents, shard, sweepConservative);
             }
         };
@@ -503,6 +508,26 @@ public final class SweepShardProgressTable implements
         return rowResults;
     }
 
+    public ListenableFuture<List<SweepShardProgressRowResult>> getRowsAsync(Iterable<SweepShardProgressRow> rows) {
+        return getRowsAsync(rows, allColumns);
+    }
+
+    public ListenableFuture<List<SweepShardProgressRowResult>> getRowsAsync(Iterable<SweepShardProgressRow> rows, ColumnSelection columns) {
+        ColumnSelection selectedColumns = columns.allColumnsSelected() ? allColumns : columns;
+        return Futures.transform(
+                TableReads.getRowsAsync(t, tableRef, Persistables.persistAll(rows), selectedColumns),
+                rowResults -> ImmutableList.copyOf(Lists.transform(rowResults, SweepShardProgressRowResult::of)),
+                MoreExecutors.directExecutor());
+    }
+
+    public Stream<SweepShardProgressRowResult> getRowsStream(Iterable<SweepShardProgressRow> rows) {
+        return getRowsStream(rows, allColumns);
+    }
+
+    public Stream<SweepShardProgressRowResult> getRowsStream(Iterable<SweepShardProgressRow> rows, ColumnSelection columns) {
+        return TableReads.getRowsStream(t, tableRef, Persistables.persistAll(rows), columns).map(SweepShardProgressRowResult::of);
+    }
+
     @Override
     public List<SweepShardProgressNamedColumnValue<?>> getRowColumns(SweepShardProgressRow row) {
         return getRowColumns(row, allColumns);
@@ -587,6 +612,10 @@ public final class SweepShardProgressTable implements
         return transformed;
     }
 
+    public Stream<Map.Entry<SweepShardProgressRow, SweepShardProgressNamedColumnValue<?>>> getRowsColumnRangeStream(Iterable<SweepShardProgressRow> rows, ColumnRangeSelection columnRangeSelection, int batchHint) {
+        return Streams.stream(getRowsColumnRange(rows, columnRangeSelection, batchHint));
+    }
+
     private ColumnSelection optimizeColumnSelection(ColumnSelection columns) {
         if (columns.allColumnsSelected()) {
             return allColumns;
@@ -651,6 +680,8 @@ public final class SweepShardProgressTable implements
      * {@link ColumnValue}
      * {@link ColumnValues}
      * {@link ComparisonChain}
+     * {@link CompositeKeyReader}
+     * {@link CompositeKeyWriter}
      * {@link Compression}
      * {@link CompressionUtils}
      * {@link ConstraintCheckingTransaction}
@@ -659,6 +690,7 @@ public final class SweepShardProgressTable implements
      * {@link Entry}
      * {@link EnumSet}
      * {@link Function}
+     * {@link Futures}
      * {@link Generated}
      * {@link HashMultimap}
      * {@link HashSet}
@@ -676,9 +708,11 @@ public final class SweepShardProgressTable implements
      * {@link Iterators}
      * {@link Joiner}
      * {@link List}
+     * {@link ListenableFuture}
      * {@link Lists}
      * {@link Map}
      * {@link Maps}
+     * {@link MoreExecutors}
      * {@link MoreObjects}
      * {@link Multimap}
      * {@link Multimaps}
@@ -697,7 +731,9 @@ public final class SweepShardProgressTable implements
      * {@link Sha256Hash}
      * {@link SortedMap}
      * {@link Stream}
+     * {@link Streams}
      * {@link Supplier}
+     * {@link TableReads}
      * {@link TableReference}
      * {@link Throwables}
      * {@link TimeUnit}
@@ -707,5 +743,5 @@ public final class SweepShardProgressTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "9fIU3tQN60+8LXqLrgYyJg==";
+    static String __CLASS_HASH = "mN+LMo0VcdhOSFrOeOLSXQ==";
 }
@@ -39,9 +39,13 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.Sets;
+import com.google.common.collect.Streams;
 import com.google.common.hash.Hashing;
 import com.google.common.primitives.Bytes;
 import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.palantir.atlasdb.compress.CompressionUtils;
 import com.palantir.atlasdb.encoding.PtBytes;
@@ -56,6 +60,8 @@ import com.palantir.atlasdb.keyvalue.api.RangeRequest;
 import com.palantir.atlasdb.keyvalue.api.RowResult;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.impl.Cells;
+import com.palantir.atlasdb.ptobject.CompositeKeyReader;
+import com.palantir.atlasdb.ptobject.CompositeKeyWriter;
 import com.palantir.atlasdb.ptobject.EncodingUtils;
 import com.palantir.atlasdb.table.api.AtlasDbDynamicMutablePersistentTable;
 import com.palantir.atlasdb.table.api.AtlasDbMutablePersistentTable;
@@ -68,6 +74,7 @@ import com.palantir.atlasdb.table.description.ValueType;
 import com.palantir.atlasdb.table.generation.ColumnValues;
 import com.palantir.atlasdb.table.generation.Descending;
 import com.palantir.atlasdb.table.generation.NamedColumnValue;
+import com.palantir.atlasdb.table.generation.TableReads;
 import com.palantir.atlasdb.transaction.api.AtlasDbConstraintCheckingMode;
 import com.palantir.atlasdb.transaction.api.ConstraintCheckingTransaction;
 import com.palantir.atlasdb.transaction.api.ImmutableGetRangesQuery;
@@ -185,22 +192,20 @@ public final class SweepableCellsTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] hashOfRowComponentsBytes = PtBytes.toBytes(Long.MIN_VALUE ^ hashOfRowComponents);
-            byte[] timestampPartitionBytes = EncodingUtils.encodeUnsignedVarLong(timestampPartition);
-            byte[] metadataBytes = metadata;
-            return EncodingUtils.add(hashOfRowComponentsBytes, timestampPartitionBytes, metadataBytes);
+            CompositeKeyWriter __writer = new CompositeKeyWriter(8 + EncodingUtils.sizeOfUnsignedVarLong(timestampPartition) + metadata.length);
+            __writer.writeFixedLong(hashOfRowComponents);
+            __writer.writeUnsignedVarLong(timestampPartition);
+            __writer.write(metadata);
+            return __writer.toByteArray();
         }
 
         public static final Hydrator<SweepableCellsRow> BYTES_HYDRATOR = new Hydrator<SweepableCellsRow>() {
             @Override
             public SweepableCellsRow hydrateFromBytes(byte[] __input) {
-                int __index = 0;
-                Long hashOfRowComponents = Long.MIN_VALUE ^ PtBytes.toLong(__input, __index);
-                __index += 8;
-                Long timestampPartition = EncodingUtils.decodeUnsignedVarLong(__input, __index);
-                __index += EncodingUtils.sizeOfUnsignedVarLong(timestampPartition);
-                byte[] metadata = EncodingUtils.getBytesFromOffsetToEnd(__input, __index);
-                __index += 0;
+                CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                Long hashOfRowComponents = __reader.readFixedLong();
+                Long timestampPartition = __reader.readUnsignedVarLong();
+                byte[] metadata = __reader.readBytesToEnd();
                 return new SweepableCellsRow(hashOfRowComponents, timestampPartition, metadata);
             }
         };
@@ -300,19 +305,18 @@ public final class SweepableCellsTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] timestampModulusBytes = EncodingUtils.encodeUnsignedVarLong(timestampModulus);
-            byte[] writeIndexBytes = EncodingUtils.encodeSignedVarLong(writeIndex);
-            return EncodingUtils.add(timestampModulusBytes, writeIndexBytes);
+            CompositeKeyWriter __writer = new CompositeKeyWriter(EncodingUtils.sizeOfUnsignedVarLong(timestampModulus) + EncodingUtils.sizeOfSignedVarLong(writeIndex));
+            __writer.writeUnsignedVarLong(timestampModulus);
+            __writer.writeSignedVarLong(writeIndex);
+            return __writer.toByteArray();
         }
 
         public static final Hydrator<SweepableCellsColumn> BYTES_HYDRATOR = new Hydrator<SweepableCellsColumn>() {
             @Override
             public SweepableCellsColumn hydrateFromBytes(byte[] __input) {
-                int __index = 0;
-                Long timestampModulus = EncodingUtils.decodeUnsignedVarLong(__input, __index);
-                __index += EncodingUtils.sizeOfUnsignedVarLong(timestampModulus);
-                Long writeIndex = EncodingUtils.decodeSignedVarLong(__input, __index);
-                __index += EncodingUtils.sizeOfSignedVarLong(writeIndex);
+                CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                Long timestampModulus = __reader.readUnsignedVarLong();
+                Long writeIndex = __reader.readSignedVarLong();
                 return new SweepableCellsColumn(timestampModulus, writeIndex);
             }
         };
@@ -563,6 +567,15 @@ public final class SweepableCellsTable implements
     public Multimap<SweepableCellsRow, SweepableCellsColumnValue> get(Multimap<SweepableCellsRow, SweepableCellsColumn> cells) {
         Set<Cell> rawCells = ColumnValues.toCells(cells);
         Map<Cell, byte[]> rawResults = t.get(tableRef, rawCells);
+        return getRowMapFromCellValues(rawResults);
+    }
+
+    public ListenableFuture<Multimap<SweepableCellsRow, SweepableCellsColumnValue>> getAsync(Multimap<SweepableCellsRow, SweepableCellsColumn> cells) {
+        Set<Cell> rawCells = ColumnValues.toCells(cells);
+        return Futures.transform(t.getAsync(tableRef, rawCells), SweepableCellsTable::getRowMapFromCellValues, MoreExecutors.directExecutor());
+    }
+
+    private static Multimap<SweepableCellsRow, SweepableCellsColumnValue> getRowMapFromCellValues(Map<Cell, byte[]> rawResults) {
         Multimap<SweepableCellsRow, SweepableCellsColumnValue> rowMap = HashMultimap.create();
         for (Entry<Cell, byte[]> e : rawResults.entrySet()) {
             if (e.getValue().length > 0) {
@@ -575,6 +588,14 @@ public final class SweepableCellsTable implements
         return rowMap;
     }
 
+    public Stream<SweepableCellsRowResult> getRowsStream(Iterable<SweepableCellsRow> rows) {
+        return getRowsStream(rows, allColumns);
+    }
+
+    public Stream<SweepableCellsRowResult> getRowsStream(Iterable<SweepableCellsRow> rows, ColumnSelection columns) {
+        return TableReads.getRowsStream(t, tableRef, Persistables.persistAll(rows), columns).map(SweepableCellsRowResult::of);
+    }
+
     @Override
     public List<SweepableCellsColumnValue> getRowColumns(SweepableCellsRow row) {
         return getRowColumns(row, allColumns);
@@ -669,6 +690,10 @@ public final class SweepableCellsTable implements
         return transformed;
     }
 
+    public Stream<Map.Entry<SweepableCellsRow, SweepableCellsColumnValue>> getRowsColumnRangeStream(Iterable<SweepableCellsRow> rows, ColumnRangeSelection columnRangeSelection, int batchHint) {
+        return Streams.stream(getRowsColumnRange(rows, columnRangeSelection, batchHint));
+    }
+
     private ColumnSelection optimizeColumnSelection(ColumnSelection columns) {
         if (columns.allColumnsSelected()) {
             return allColumns;
@@ -733,6 +758,8 @@ public final class SweepableCellsTable implements
      * {@link ColumnValue}
      * {@link ColumnValues}
      * {@link ComparisonChain}
+     * {@link CompositeKeyReader}
+     * {@link CompositeKeyWriter}
      * {@link Compression}
      * {@link CompressionUtils}
      * {@link ConstraintCheckingTransaction}
@@ -741,6 +768,7 @@ public final class SweepableCellsTable implements
      * {@link Entry}
      * {@link EnumSet}
      * {@link Function}
+     * {@link Futures}
      * {@link Generated}
      * {@link HashMultimap}
      * {@link HashSet}
@@ -758,9 +786,11 @@ public final class SweepableCellsTable implements
      * {@link Iterators}
      * {@link Joiner}
      * {@link List}
+     * {@link ListenableFuture}
      * {@link Lists}
      * {@link Map}
      * {@link Maps}
+     * {@link MoreExecutors}
      * {@link MoreObjects}
      * {@link Multimap}
      * {@link Multimaps}
@@ -779,7 +809,9 @@ public final class SweepableCellsTable implements
      * {@link Sha256Hash}
      * {@link SortedMap}
      * {@link Stream}
+     * {@link Streams}
      * {@link Supplier}
+     * {@link TableReads}
      * {@link TableReference}
      * {@link Throwables}
      * {@link TimeUnit}
@@ -789,5 +821,5 @@ public final class SweepableCellsTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "+1gMAUSA+NS4EWXpS65rng==";
+    static String __CLASS_HASH = "qPLO/UOE3LN/dhOnqS1Krw==";
 }
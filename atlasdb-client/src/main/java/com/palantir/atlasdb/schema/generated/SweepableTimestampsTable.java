@@ -39,9 +39,13 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.Sets;
+import com.google.common.collect.Streams;
 import com.google.common.hash.Hashing;
 import com.google.common.primitives.Bytes;
 import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.palantir.atlasdb.compress.CompressionUtils;
 import com.palantir.atlasdb.encoding.PtBytes;
@@ -56,6 +60,8 @@ import com.palantir.atlasdb.keyvalue.api.RangeRequest;
 import com.palantir.atlasdb.keyvalue.api.RowResult;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.impl.Cells;
+import com.palantir.atlasdb.ptobject.CompositeKeyReader;
+import com.palantir.atlasdb.ptobject.CompositeKeyWriter;
 import com.palantir.atlasdb.ptobject.EncodingUtils;
 import com.palantir.atlasdb.table.api.AtlasDbDynamicMutablePersistentTable;
 import com.palantir.atlasdb.table.api.AtlasDbMutablePersistentTable;
@@ -68,6 +74,7 @@ import com.palantir.atlasdb.table.description.ValueType;
 import com.palantir.atlasdb.table.generation.ColumnValues;
 import com.palantir.atlasdb.table.generation.Descending;
 import com.palantir.atlasdb.table.generation.NamedColumnValue;
+import com.palantir.atlasdb.table.generation.TableReads;
 import com.palantir.atlasdb.transaction.api.AtlasDbConstraintCheckingMode;
 import com.palantir.atlasdb.transaction.api.ConstraintCheckingTransaction;
 import com.palantir.atlasdb.transaction.api.ImmutableGetRangesQuery;
@@ -201,25 +208,22 @@ public final class SweepableTimestampsTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] hashOfRowComponentsBytes = PtBytes.toBytes(Long.MIN_VALUE ^ hashOfRowComponents);
-            byte[] shardBytes = EncodingUtils.encodeUnsignedVarLong(shard);
-            byte[] timestampPartitionBytes = EncodingUtils.encodeUnsignedVarLong(timestampPartition);
-            byte[] sweepConservativeBytes = sweepConservative;
-            return EncodingUtils.add(hashOfRowComponentsBytes, shardBytes, timestampPartitionBytes, sweepConservativeBytes);
+            CompositeKeyWriter __writer = new CompositeKeyWriter(8 + EncodingUtils.sizeOfUnsignedVarLong(shard) + EncodingUtils.sizeOfUnsignedVarLong(timestampPartition) + sweepConservative.length);
+            __writer.writeFixedLong(hashOfRowComponents);
+            __writer.writeUnsignedVarLong(shard);
+            __writer.writeUnsignedVarLong(timestampPartition);
+            __writer.write(sweepConservative);
+            return __writer.toByteArray();
         }
 
         public static final Hydrator<SweepableTimestampsRow> BYTES_HYDRATOR = new Hydrator<SweepableTimestampsRow>() {
             @Override
             public SweepableTimestampsRow hydrateFromBytes(byte[] __input) {
-                int __index = 0;
-                Long hashOfRowComponents = Long.MIN_VALUE ^ PtBytes.toLong(__input, __index);
-                __index += 8;
-                Long shard = EncodingUtils.decodeUnsignedVarLong(__input, __index);
-                __index += EncodingUtils.sizeOfUnsignedVarLong(shard);
-                Long timestampPartition = EncodingUtils.decodeUnsignedVarLong(__input, __index);
-                __index += EncodingUtils.sizeOfUnsignedVarLong(timestampPartition);
-                byte[] sweepConservative = EncodingUtils.getBytesFromOffsetToEnd(__input, __index);
-                __index += 0;
+                CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                Long hashOfRowComponents = __reader.readFixedLong();
+                Long shard = __reader.readUnsignedVarLong();
+                Long timestampPartition = __reader.readUnsignedVarLong();
+                byte[] sweepConservative = __reader.readBytesToEnd();
                 return new SweepableTimestampsRow(hashOfRowComponents, shard, timestampPartition, sweepConservative);
             }
         };
@@ -313,16 +317,16 @@ public final class SweepableTimestampsTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] timestampModulusBytes = EncodingUtils.encodeUnsignedVarLong(timestampModulus);
-            return EncodingUtils.add(timestampModulusBytes);
+            CompositeKeyWriter __writer = new CompositeKeyWriter(EncodingUtils.sizeOfUnsignedVarLong(timestampModulus));
+            __writer.writeUnsignedVarLong(timestampModulus);
+            return __writer.toByteArray();
         }
 
         public static final Hydrator<SweepableTimestampsColumn> BYTES_HYDRATOR = new Hydrator<SweepableTimestampsColumn>() {
             @Override
             public SweepableTimestampsColumn hydrateFromBytes(byte[] __input) {
-                int __index = 0;
-                Long timestampModulus = EncodingUtils.decodeUnsignedVarLong(__input, __index);
-                __index += EncodingUtils.sizeOfUnsignedVarLong(timestampModulus);
+                CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                Long timestampModulus = __reader.readUnsignedVarLong();
                 return new SweepableTimestampsColumn(timestampModulus);
             }
         };
@@ -560,6 +564,15 @@ public final class SweepableTimestampsTable implements
     public Multimap<SweepableTimestampsRow, SweepableTimestampsColumnValue> get(Multimap<SweepableTimestampsRow, SweepableTimestampsColumn> cells) {
         Set<Cell> rawCells = ColumnValues.toCells(cells);
         Map<Cell, byte[]> rawResults = t.get(tableRef, rawCells);
+        return getRowMapFromCellValues(rawResults);
+    }
+
+    public ListenableFuture<Multimap<SweepableTimestampsRow, SweepableTimestampsColumnValue>> getAsync(Multimap<SweepableTimestampsRow, SweepableTimestampsColumn> cells) {
+        Set<Cell> rawCells = ColumnValues.toCells(cells);
+        return Futures.transform(t.getAsync(tableRef, rawCells), SweepableTimestampsTable::getRowMapFromCellValues, MoreExecutors.directExecutor());
+    }
+
+    private static Multimap<SweepableTimestampsRow, SweepableTimestampsColumnValue> getRowMapFromCellValues(Map<Cell, byte[]> rawResults) {
         Multimap<SweepableTimestampsRow, SweepableTimestampsColumnValue> rowMap = HashMultimap.create();
         for (Entry<Cell, byte[]> e : rawResults.entrySet()) {
             if (e.getValue().length > 0) {
@@ -572,6 +585,14 @@ public final class SweepableTimestampsTable implements
         return rowMap;
     }
 
+    public Stream<SweepableTimestampsRowResult> getRowsStream(Iterable<SweepableTimestampsRow> rows) {
+        return getRowsStream(rows, allColumns);
+    }
+
+    public Stream<SweepableTimestampsRowResult> getRowsStream(Iterable<SweepableTimestampsRow> rows, ColumnSelection columns) {
+        return TableReads.getRowsStream(t, tableRef, Persistables.persistAll(rows), columns).map(SweepableTimestampsRowResult::of);
+    }
+
     @Override
     public List<SweepableTimestampsColumnValue> getRowColumns(SweepableTimestampsRow row) {
         return getRowColumns(row, allColumns);
@@ -666,6 +687,10 @@ public final class SweepableTimestampsTable implements
         return transformed;
     }
 
+    public Stream<Map.Entry<SweepableTimestampsRow, SweepableTimestampsColumnValue>> getRowsColumnRangeStream(Iterable<SweepableTimestampsRow> rows, ColumnRangeSelection columnRangeSelection, int batchHint) {
+        return Streams.stream(getRowsColumnRange(rows, columnRangeSelection, batchHint));
+    }
+
     private ColumnSelection optimizeColumnSelection(ColumnSelection columns) {
         if (columns.allColumnsSelected()) {
             return allColumns;
@@ -730,6 +755,8 @@ public final class SweepableTimestampsTable implements
      * {@link ColumnValue}
      * {@link ColumnValues}
      * {@link ComparisonChain}
+     * {@link CompositeKeyReader}
+     * {@link CompositeKeyWriter}
      * {@link Compression}
      * {@link CompressionUtils}
      * {@link ConstraintCheckingTransaction}
@@ -738,6 +765,7 @@ public final class SweepableTimestampsTable implements
      * {@link Entry}
      * {@link EnumSet}
      * {@link Function}
+     * {@link Futures}
      * {@link Generated}
      * {@link HashMultimap}
      * {@link HashSet}
@@ -755,9 +783,11 @@ public final class SweepableTimestampsTable implements
      * {@link Iterators}
      * {@link Joiner}
      * {@link List}
+     * {@link ListenableFuture}
      * {@link Lists}
      * {@link Map}
      * {@link Maps}
+     * {@link MoreExecutors}
      * {@link MoreObjects}
      * {@link Multimap}
      * {@link Multimaps}
@@ -776,7 +806,9 @@ public final class SweepableTimestampsTable implements
      * {@link Sha256Hash}
      * {@link SortedMap}
      * {@link Stream}
+     * {@link Streams}
      * {@link Supplier}
+     * {@link TableReads}
      * {@link TableReference}
      * {@link Throwables}
      * {@link TimeUnit}
@@ -786,5 +818,5 @@ public final class SweepableTimestampsTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "n5Zd+38q1vmJksKkpM+Vrw==";
+    static String __CLASS_HASH = "Fe88UdVvNrXLorwAFlsTlw==";
 }
@@ -53,4 +53,17 @@ public enum StreamTableType { // WARNING: do not change these without an upgrade
         String indexTableName = tableReference.getQualifiedName().substring(0, tableNameLastIndex) + INDEX.tableSuffix;
         return TableReference.createUnsafe(indexTableName);
     }
+
+    public static boolean isStreamStoreIndexTable(TableReference tableReference) {
+        return tableReference.getQualifiedName().endsWith(StreamTableType.INDEX.tableSuffix);
+    }
+
+    public static TableReference getValueTableFromIndexTable(TableReference tableReference) {
+        Preconditions.checkArgument(isStreamStoreIndexTable(tableReference),
+                "tableReference should be a StreamStore index table");
+
+        int tableNameLastIndex = tableReference.getQualifiedName().lastIndexOf(StreamTableType.INDEX.tableSuffix);
+        String valueTableName = tableReference.getQualifiedName().substring(0, tableNameLastIndex) + VALUE.tableSuffix;
+        return TableReference.createUnsafe(valueTableName);
+    }
 }
@@ -72,7 +72,13 @@ public final class ColumnValueDescription {
 
     public enum Compression {
         SNAPPY,
-        NONE;
+        NONE,
+        /**
+         * Compresses values with a dictionary trained from samples of the table's values. This works much better
+         * than {@link #SNAPPY} for small values that are similar to each other. See
+         * {@link com.palantir.atlasdb.compress.DictionaryCompressingKeyValueService}.
+         */
+        DICTIONARY;
 
         public TableMetadataPersistence.Compression persistToProto() {
             return TableMetadataPersistence.Compression.valueOf(name());
@@ -0,0 +1,78 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.table.description;
+
+import java.util.Comparator;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.palantir.atlasdb.AtlasDbConstants;
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.KeyAlreadyExistsException;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.Namespace;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+
+/**
+ * Records, per namespace, a fingerprint of the table and index metadata of every schema that has been fully created.
+ * If the fingerprint of a schema has already been recorded, then all of its tables were created with exactly the
+ * metadata they have now, and creating them again can be skipped.
+ * <p>
+ * Each recorded fingerprint is a cell whose row is derived from the namespace and whose column is the fingerprint
+ * itself, so schemas sharing a namespace, and different versions of a schema running side by side during a rolling
+ * upgrade, never overwrite each other's fingerprints.
+ */
+final class SchemaFingerprints {
+    private static final TableReference TABLE = AtlasDbConstants.SCHEMA_FINGERPRINT_TABLE;
+    private static final String ROW_PREFIX = "namespace:";
+
+    private SchemaFingerprints() {
+        // utility
+    }
+
+    static byte[] compute(Map<TableReference, byte[]> tableRefToMetadata) {
+        Hasher hasher = Hashing.sha256().newHasher();
+        tableRefToMetadata.entrySet().stream()
+                .sorted(Comparator.comparing(entry -> entry.getKey().getQualifiedName()))
+                .forEachOrdered(entry -> {
+                    byte[] qualifiedName = PtBytes.toBytes(entry.getKey().getQualifiedName());
+                    hasher.putInt(qualifiedName.length).putBytes(qualifiedName);
+                    hasher.putInt(entry.getValue().length).putBytes(entry.getValue());
+                });
+        return hasher.hash().asBytes();
+    }
+
+    static boolean isRecorded(KeyValueService kvs, Namespace namespace, byte[] fingerprint) {
+        kvs.createTable(TABLE, AtlasDbConstants.GENERIC_TABLE_METADATA);
+        return !kvs.get(TABLE, ImmutableMap.of(getCell(namespace, fingerprint), Long.MAX_VALUE)).isEmpty();
+    }
+
+    static void record(KeyValueService kvs, Namespace namespace, byte[] fingerprint) {
+        try {
+            kvs.putUnlessExists(TABLE,
+                    ImmutableMap.of(getCell(namespace, fingerprint), PtBytes.toBytes(System.currentTimeMillis())));
+        } catch (KeyAlreadyExistsException e) {
+            // Another node created the same schema concurrently.
+        }
+    }
+
+    private static Cell getCell(Namespace namespace, byte[] fingerprint) {
+        return Cell.create(PtBytes.toBytes(ROW_PREFIX + namespace.getName()), fingerprint);
+    }
+}
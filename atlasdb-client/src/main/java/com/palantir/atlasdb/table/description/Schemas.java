@@ -15,6 +15,7 @@
  */
 package com.palantir.atlasdb.table.description;
 
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -44,13 +45,7 @@ public final class Schemas {
 
     public static void createIndices(KeyValueService kvs,
             Map<TableReference, IndexDefinition> fullIndexNameToDefinition) {
-        Map<TableReference, byte[]> fullIndexNameToMetadata = Maps.newHashMapWithExpectedSize(
-                fullIndexNameToDefinition.size());
-        for (Entry<TableReference, IndexDefinition> indexEntry : fullIndexNameToDefinition.entrySet()) {
-            fullIndexNameToMetadata.put(indexEntry.getKey(), indexEntry.getValue().toIndexMetadata(
-                    indexEntry.getKey().getQualifiedName()).getTableMetadata().persistToBytes());
-        }
-        kvs.createTables(fullIndexNameToMetadata);
+        kvs.createTables(getIndexMetadata(fullIndexNameToDefinition));
     }
 
     public static void createTable(KeyValueService kvs, TableReference tableRef, TableDefinition definition) {
@@ -63,11 +58,7 @@ public final class Schemas {
     }
 
     public static void createTables(KeyValueService kvs, Map<TableReference, TableDefinition>  tableRefToDefinition) {
-        Map<TableReference, byte[]> tableRefToMetadata = Maps.newHashMapWithExpectedSize(tableRefToDefinition.size());
-        for (Entry<TableReference, TableDefinition> tableEntry : tableRefToDefinition.entrySet()) {
-            tableRefToMetadata.put(tableEntry.getKey(), tableEntry.getValue().toTableMetadata().persistToBytes());
-        }
-        kvs.createTables(tableRefToMetadata);
+        kvs.createTables(getTableMetadata(tableRefToDefinition));
     }
 
     public static String getTableReferenceString(String tableName, Namespace namespace) {
@@ -98,11 +89,31 @@ public final class Schemas {
      * effect. Behavior is undefined if the schema has changed between calls
      * (e.g., it is not the responsibility of this method to perform schema
      * upgrades).
+     *
+     * A fingerprint of the metadata of all tables and indexes in the schema is recorded once they have been created.
+     * If that fingerprint has already been recorded and all the tables still exist, nothing is created. Otherwise,
+     * only the tables and indexes that are missing or whose metadata differs are created, in a single call to
+     * {@link KeyValueService#createTables(Map)}.
      */
     public static void createTablesAndIndexes(Schema schema, KeyValueService kvs) {
         schema.validate();
-        createTables(kvs, schema.getTableDefinitions());
-        createIndices(kvs, schema.getIndexDefinitions());
+        Map<TableReference, byte[]> tableRefToMetadata = Maps.newHashMap();
+        tableRefToMetadata.putAll(getTableMetadata(schema.getTableDefinitions()));
+        tableRefToMetadata.putAll(getIndexMetadata(schema.getIndexDefinitions()));
+
+        byte[] fingerprint = SchemaFingerprints.compute(tableRefToMetadata);
+        boolean fingerprintRecorded = SchemaFingerprints.isRecorded(kvs, schema.getNamespace(), fingerprint);
+        Set<TableReference> existingTables = kvs.getAllTableNames();
+        if (fingerprintRecorded && existingTables.containsAll(tableRefToMetadata.keySet())) {
+            return;
+        }
+
+        Map<TableReference, byte[]> tablesToCreate = getMissingOrChangedTables(
+                tableRefToMetadata, existingTables, kvs.getMetadataForTables());
+        if (!tablesToCreate.isEmpty()) {
+            kvs.createTables(tablesToCreate);
+        }
+        SchemaFingerprints.record(kvs, schema.getNamespace(), fingerprint);
     }
 
     public static void deleteTablesAndIndexes(Schema schema, KeyValueService kvs) {
@@ -116,6 +127,35 @@ public final class Schemas {
         kvs.truncateTables(getExistingTablesAlsoPresentInSchema(schema, kvs));
     }
 
+    private static Map<TableReference, byte[]> getTableMetadata(
+            Map<TableReference, TableDefinition> tableRefToDefinition) {
+        Map<TableReference, byte[]> tableRefToMetadata = Maps.newHashMapWithExpectedSize(tableRefToDefinition.size());
+        for (Entry<TableReference, TableDefinition> tableEntry : tableRefToDefinition.entrySet()) {
+            tableRefToMetadata.put(tableEntry.getKey(), tableEntry.getValue().toTableMetadata().persistToBytes());
+        }
+        return tableRefToMetadata;
+    }
+
+    private static Map<TableReference, byte[]> getIndexMetadata(
+            Map<TableReference, IndexDefinition> fullIndexNameToDefinition) {
+        Map<TableReference, byte[]> fullIndexNameToMetadata = Maps.newHashMapWithExpectedSize(
+                fullIndexNameToDefinition.size());
+        for (Entry<TableReference, IndexDefinition> indexEntry : fullIndexNameToDefinition.entrySet()) {
+            fullIndexNameToMetadata.put(indexEntry.getKey(), indexEntry.getValue().toIndexMetadata(
+                    indexEntry.getKey().getQualifiedName()).getTableMetadata().persistToBytes());
+        }
+        return fullIndexNameToMetadata;
+    }
+
+    private static Map<TableReference, byte[]> getMissingOrChangedTables(
+            Map<TableReference, byte[]> tableRefToMetadata,
+            Set<TableReference> existingTables,
+            Map<TableReference, byte[]> existingMetadata) {
+        return ImmutableMap.copyOf(Maps.filterEntries(tableRefToMetadata,
+                entry -> !existingTables.contains(entry.getKey())
+                        || !Arrays.equals(entry.getValue(), existingMetadata.get(entry.getKey()))));
+    }
+
     private static Set<TableReference> getExistingTablesAlsoPresentInSchema(Schema schema, KeyValueService kvs) {
         Set<TableReference> allTables = kvs.getAllTableNames();
         Set<TableReference> schemaFullTableNames = Sets.newHashSet();
@@ -361,6 +361,19 @@ public class TableDefinition extends AbstractDefinition {
         this.v2TableEnabled = true;
     }
 
+    /**
+     * Declares that each row of this table is written once and then never modified or deleted. Transactions reject
+     * deletes from the table and writes to rows that already exist, and may serve reads of committed rows from a cache
+     * shared by all transactions of their transaction manager.
+     */
+    public void immutable() {
+        this.immutable = true;
+    }
+
+    public boolean isImmutable() {
+        return immutable;
+    }
+
     public void validate() {
         toTableMetadata();
         getConstraintMetadata();
@@ -396,6 +409,7 @@ public class TableDefinition extends AbstractDefinition {
     private LogSafety tableNameSafety = LogSafety.UNSAFE;
     private LogSafety defaultNamedComponentLogSafety = LogSafety.UNSAFE;
     private boolean v2TableEnabled = false;
+    private boolean immutable = false;
 
     public TableMetadata toTableMetadata() {
         com.palantir.logsafe.Preconditions.checkState(!rowNameComponents.isEmpty(), "No row name components defined.");
@@ -419,6 +433,7 @@ public class TableDefinition extends AbstractDefinition {
                 .sweepStrategy(sweepStrategy)
                 .appendHeavyAndReadLight(appendHeavyAndReadLight)
                 .nameLogSafety(tableNameSafety)
+                .immutable(immutable)
                 .build();
     }
 
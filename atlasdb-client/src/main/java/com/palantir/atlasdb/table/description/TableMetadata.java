@@ -92,6 +92,15 @@ public abstract class TableMetadata implements Persistable {
         return false;
     }
 
+    /**
+     * @return whether the table is immutable, that is, whether each of its rows is written once and then never modified
+     * or deleted. Transactions enforce this on write, and may cache the committed rows of such tables.
+     */
+    @Value.Default
+    public boolean isImmutable() {
+        return false;
+    }
+
     public static TableMetadata allDefault() {
         return builder().build();
     }
@@ -168,6 +177,9 @@ public abstract class TableMetadata implements Persistable {
         if (hasDenselyAccessedWideRows()) {
             builder.setDenselyAccessedWideRows(hasDenselyAccessedWideRows());
         }
+        if (isImmutable()) {
+            builder.setImmutable(isImmutable());
+        }
         return builder;
     }
 
@@ -201,6 +213,9 @@ public abstract class TableMetadata implements Persistable {
         if (message.hasDenselyAccessedWideRows()) {
             builder.denselyAccessedWideRows(message.getDenselyAccessedWideRows());
         }
+        if (message.hasImmutable()) {
+            builder.immutable(message.getImmutable());
+        }
 
         return builder.build();
     }
@@ -110,6 +110,21 @@ public enum ValueType {
             return "EncodingUtils.encodeUnsignedVarLong(" + variableName + ")";
         }
 
+        @Override
+        public String getWriteCode(String writerName, String variableName) {
+            return writerName + ".writeUnsignedVarLong(" + variableName + ")";
+        }
+
+        @Override
+        public String getReadCode(String readerName) {
+            return readerName + ".readUnsignedVarLong()";
+        }
+
+        @Override
+        public String getFlippedReadCode(String readerName) {
+            return readerName + ".readFlippedUnsignedVarLong()";
+        }
+
     },
     /**
      * This value type supports range scans. Neighboring number will be written next to each other.
@@ -191,6 +206,21 @@ public enum ValueType {
             return "EncodingUtils.encodeSignedVarLong(" + variableName + ")";
         }
 
+        @Override
+        public String getWriteCode(String writerName, String variableName) {
+            return writerName + ".writeSignedVarLong(" + variableName + ")";
+        }
+
+        @Override
+        public String getReadCode(String readerName) {
+            return readerName + ".readSignedVarLong()";
+        }
+
+        @Override
+        public String getFlippedReadCode(String readerName) {
+            return readerName + ".readFlippedSignedVarLong()";
+        }
+
     },
     /**
      * This value type supports range scans.  Sequential numbers will be written next to each other.
@@ -271,6 +301,21 @@ public enum ValueType {
             return "PtBytes.toBytes(Long.MIN_VALUE ^ " + variableName + ")";
         }
 
+        @Override
+        public String getWriteCode(String writerName, String variableName) {
+            return writerName + ".writeFixedLong(" + variableName + ")";
+        }
+
+        @Override
+        public String getReadCode(String readerName) {
+            return readerName + ".readFixedLong()";
+        }
+
+        @Override
+        public String getFlippedReadCode(String readerName) {
+            return readerName + ".readFlippedFixedLong()";
+        }
+
     },
     /**
      * This value type does NOT support range scans. This encoding is {@link PtBytes#toBytes(long)} but with
@@ -357,6 +402,16 @@ public enum ValueType {
             return false;
         }
 
+        @Override
+        public String getReadCode(String readerName) {
+            return readerName + ".readLittleEndianLong()";
+        }
+
+        @Override
+        public String getFlippedReadCode(String readerName) {
+            return readerName + ".readFlippedLittleEndianLong()";
+        }
+
     },
     /**
      * This value type supports range scans.  Sequential numbers will be written next to each other.
@@ -435,6 +490,16 @@ public enum ValueType {
             return "32";
         }
 
+        @Override
+        public String getReadCode(String readerName) {
+            return "new Sha256Hash(" + readerName + ".readBytes(32))";
+        }
+
+        @Override
+        public String getFlippedReadCode(String readerName) {
+            return "new Sha256Hash(" + readerName + ".readFlippedBytes(32))";
+        }
+
     },
     /**
      * This value type DOES NOT support range scans.
@@ -510,6 +575,26 @@ public enum ValueType {
             return "EncodingUtils.encodeVarString(" + variableName + ")";
         }
 
+        @Override
+        public String getEncodedSizeCode(String variableName) {
+            return "CompositeKeyWriter.sizeOfVarString(" + variableName + ")";
+        }
+
+        @Override
+        public String getWriteCode(String writerName, String variableName) {
+            return writerName + ".writeVarString(" + variableName + ")";
+        }
+
+        @Override
+        public String getReadCode(String readerName) {
+            return readerName + ".readVarString()";
+        }
+
+        @Override
+        public String getFlippedReadCode(String readerName) {
+            return readerName + ".readFlippedVarString()";
+        }
+
     },
     STRING {
         @Override
@@ -579,6 +664,26 @@ public enum ValueType {
             return "PtBytes.toBytes(" + variableName + ")";
         }
 
+        @Override
+        public String getEncodedSizeCode(String variableName) {
+            return "CompositeKeyWriter.sizeOfString(" + variableName + ")";
+        }
+
+        @Override
+        public String getWriteCode(String writerName, String variableName) {
+            return writerName + ".writeString(" + variableName + ")";
+        }
+
+        @Override
+        public String getReadCode(String readerName) {
+            return readerName + ".readStringToEnd()";
+        }
+
+        @Override
+        public String getFlippedReadCode(String readerName) {
+            return readerName + ".readFlippedStringToEnd()";
+        }
+
     },
     BLOB {
         @Override
@@ -648,6 +753,21 @@ public enum ValueType {
             return "0";
         }
 
+        @Override
+        public String getEncodedSizeCode(String variableName) {
+            return variableName + ".length";
+        }
+
+        @Override
+        public String getReadCode(String readerName) {
+            return readerName + ".readBytesToEnd()";
+        }
+
+        @Override
+        public String getFlippedReadCode(String readerName) {
+            return readerName + ".readFlippedBytesToEnd()";
+        }
+
     },
     /**
      * This value type DOES NOT support range scans.
@@ -722,6 +842,21 @@ public enum ValueType {
             return "EncodingUtils.sizeOfSizedBytes(" + variableName + ")";
         }
 
+        @Override
+        public String getWriteCode(String writerName, String variableName) {
+            return writerName + ".writeSizedBytes(" + variableName + ")";
+        }
+
+        @Override
+        public String getReadCode(String readerName) {
+            return readerName + ".readSizedBytes()";
+        }
+
+        @Override
+        public String getFlippedReadCode(String readerName) {
+            return readerName + ".readFlippedSizedBytes()";
+        }
+
     },
     NULLABLE_FIXED_LONG {
         @Override
@@ -799,6 +934,16 @@ public enum ValueType {
             return String.format("EncodingUtils.encodeNullableFixedLong(%s)", variableName);
         }
 
+        @Override
+        public String getReadCode(String readerName) {
+            return readerName + ".readNullableFixedLong()";
+        }
+
+        @Override
+        public String getFlippedReadCode(String readerName) {
+            return readerName + ".readFlippedNullableFixedLong()";
+        }
+
     },
     UUID {
         @Override
@@ -863,6 +1008,21 @@ public enum ValueType {
             return "16";
         }
 
+        @Override
+        public String getWriteCode(String writerName, String variableName) {
+            return writerName + ".writeUuid(" + variableName + ")";
+        }
+
+        @Override
+        public String getReadCode(String readerName) {
+            return readerName + ".readUuid()";
+        }
+
+        @Override
+        public String getFlippedReadCode(String readerName) {
+            return readerName + ".readFlippedUuid()";
+        }
+
     }
     ;
 
@@ -905,6 +1065,28 @@ public enum ValueType {
     public abstract String getFlippedHydrateCode(String inputName, String indexName);
     public abstract String getHydrateSizeCode(String variableName);
 
+    /**
+     * Returns code computing the exact number of bytes that {@link #getWriteCode} writes for the variable. Unlike
+     * {@link #getHydrateSizeCode}, this is also exact for types that must be the last component.
+     */
+    public String getEncodedSizeCode(String variableName) {
+        return getHydrateSizeCode(variableName);
+    }
+
+    /**
+     * Returns code writing the variable to the named {@link com.palantir.atlasdb.ptobject.CompositeKeyWriter}.
+     */
+    public String getWriteCode(String writerName, String variableName) {
+        return writerName + ".write(" + getPersistCode(variableName) + ")";
+    }
+
+    /**
+     * Returns code reading a value of this type from the named
+     * {@link com.palantir.atlasdb.ptobject.CompositeKeyReader}.
+     */
+    public abstract String getReadCode(String readerName);
+    public abstract String getFlippedReadCode(String readerName);
+
 
     public int getMaxValueSize() {
         return Integer.MAX_VALUE;
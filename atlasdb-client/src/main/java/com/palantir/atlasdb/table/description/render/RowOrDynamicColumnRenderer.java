@@ -175,16 +175,20 @@ class RowOrDynamicColumnRenderer extends Renderer {
     private void persistToBytes() {
         line("@Override");
         line("public byte[] persistToBytes() {"); {
-            List<String> vars = Lists.newArrayList();
+            List<String> sizes = Lists.newArrayList();
             for (NameComponentDescription comp : desc.getRowParts()) {
-                String var = varName(comp) + "Bytes";
-                vars.add(var);
-                line("byte[] ", var, " = ", comp.getType().getPersistCode(varName(comp)), ";");
+                sizes.add(comp.getType().getEncodedSizeCode(varName(comp)));
+            }
+            line("CompositeKeyWriter __writer = new CompositeKeyWriter(", Joiner.on(" + ").join(sizes), ");");
+            for (NameComponentDescription comp : desc.getRowParts()) {
+                String writeCode = comp.getType().getWriteCode("__writer", varName(comp));
                 if (comp.getOrder() == ValueByteOrder.DESCENDING) {
-                    line("EncodingUtils.flipAllBitsInPlace(", var, ");");
+                    line(writeCode, ".flipLastComponent();");
+                } else {
+                    line(writeCode, ";");
                 }
             }
-            line("return EncodingUtils.add(", Joiner.on(", ").join(vars), ");");
+            line("return __writer.toByteArray();");
         } line("}");
     }
 
@@ -192,17 +196,16 @@ class RowOrDynamicColumnRenderer extends Renderer {
         line("public static final Hydrator<", Name, "> BYTES_HYDRATOR = new Hydrator<", Name, ">() {"); {
             line("@Override");
             line("public ", Name, " hydrateFromBytes(byte[] __input) {"); {
-                line("int __index = 0;");
+                line("CompositeKeyReader __reader = new CompositeKeyReader(__input);");
                 List<String> vars = Lists.newArrayList();
                 for (NameComponentDescription comp : desc.getRowParts()) {
                     String var = varName(comp);
                     vars.add(var);
                     if (comp.getOrder() == ValueByteOrder.ASCENDING) {
-                        line(TypeName(comp), " ", var, " = ", comp.getType().getHydrateCode("__input", "__index"), ";");
+                        line(TypeName(comp), " ", var, " = ", comp.getType().getReadCode("__reader"), ";");
                     } else {
-                        line(TypeName(comp), " ", var, " = ", comp.getType().getFlippedHydrateCode("__input", "__index"), ";");
+                        line(TypeName(comp), " ", var, " = ", comp.getType().getFlippedReadCode("__reader"), ";");
                     }
-                    line("__index += ", comp.getType().getHydrateSizeCode(var), ";");
                 }
                 line("return new ", Name, "(", Joiner.on(", ").join(vars), ");");
             } line("}");
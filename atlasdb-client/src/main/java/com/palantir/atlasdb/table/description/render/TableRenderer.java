@@ -62,10 +62,14 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.Sets;
+import com.google.common.collect.Streams;
 import com.google.common.hash.Hashing;
 import com.google.common.io.BaseEncoding;
 import com.google.common.primitives.Bytes;
 import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.palantir.atlasdb.compress.CompressionUtils;
 import com.palantir.atlasdb.encoding.PtBytes;
@@ -80,6 +84,8 @@ import com.palantir.atlasdb.keyvalue.api.RangeRequest;
 import com.palantir.atlasdb.keyvalue.api.RowResult;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.impl.Cells;
+import com.palantir.atlasdb.ptobject.CompositeKeyReader;
+import com.palantir.atlasdb.ptobject.CompositeKeyWriter;
 import com.palantir.atlasdb.ptobject.EncodingUtils;
 import com.palantir.atlasdb.table.api.AtlasDbDynamicMutablePersistentTable;
 import com.palantir.atlasdb.table.api.AtlasDbMutablePersistentTable;
@@ -101,6 +107,7 @@ import com.palantir.atlasdb.table.description.ValueType;
 import com.palantir.atlasdb.table.generation.ColumnValues;
 import com.palantir.atlasdb.table.generation.Descending;
 import com.palantir.atlasdb.table.generation.NamedColumnValue;
+import com.palantir.atlasdb.table.generation.TableReads;
 import com.palantir.atlasdb.transaction.api.AtlasDbConstraintCheckingMode;
 import com.palantir.atlasdb.transaction.api.ConstraintCheckingTransaction;
 import com.palantir.atlasdb.transaction.api.ImmutableGetRangesQuery;
@@ -251,6 +258,8 @@ public class TableRenderer {
                     line();
                     renderGetRange();
                     line();
+                    renderGetRangeStream();
+                    line();
                     renderGetRanges();
                     line();
                     renderDeleteRange();
@@ -321,6 +330,10 @@ public class TableRenderer {
             line();
             renderNamedGetRows();
             line();
+            renderNamedGetRowsAsync();
+            line();
+            renderGetRowsStream();
+            line();
             renderGetRowColumns(false);
             line();
             renderGetRowsMultimap(false);
@@ -328,6 +341,8 @@ public class TableRenderer {
             renderGetRowsColumnRange(false);
             line();
             renderGetRowsColumnRangeIterator(false);
+            line();
+            renderGetRowsColumnRangeStream();
 
             if (!cellReferencingIndices.isEmpty()) {
                 line();
@@ -358,6 +373,10 @@ public class TableRenderer {
             line();
             renderDynamicGet();
             line();
+            renderDynamicGetAsync();
+            line();
+            renderGetRowsStream();
+            line();
             renderGetRowColumns(true);
             line();
             renderGetRowsMultimap(true);
@@ -365,6 +384,8 @@ public class TableRenderer {
             renderGetRowsColumnRange(true);
             line();
             renderGetRowsColumnRangeIterator(true);
+            line();
+            renderGetRowsColumnRangeStream();
         }
 
         private void fields(boolean isDynamic) {
@@ -898,6 +919,12 @@ public class TableRenderer {
             } line("}");
         }
 
+        private void renderGetRangeStream() {
+            line("public Stream<", RowResult, "> getRangeStream(RangeRequest range) {"); {
+                line("return TableReads.getRangeStream(t, tableRef, optimizeRangeRequest(range)).map(", RowResult, "::of);");
+            } line("}");
+        }
+
         private void renderGetRanges() {
             line("@Deprecated");
             line("public IterableView<BatchingVisitable<", RowResult, ">> getRanges(Iterable<RangeRequest> ranges) {"); {
@@ -1053,11 +1080,46 @@ public class TableRenderer {
             } line("}");
         }
 
+        private void renderNamedGetRowsAsync() {
+            line("public ListenableFuture<List<", RowResult, ">> getRowsAsync(Iterable<", Row, "> rows) {"); {
+                line("return getRowsAsync(rows, allColumns);");
+            } line("}");
+            line();
+            line("public ListenableFuture<List<", RowResult, ">> getRowsAsync(Iterable<", Row, "> rows, ColumnSelection columns) {"); {
+                line("ColumnSelection selectedColumns = columns.allColumnsSelected() ? allColumns : columns;");
+                line("return Futures.transform(");
+                line("        TableReads.getRowsAsync(t, tableRef, Persistables.persistAll(rows), selectedColumns),");
+                line("        rowResults -> ImmutableList.copyOf(Lists.transform(rowResults, ", RowResult, "::of)),");
+                line("        MoreExecutors.directExecutor());");
+            } line("}");
+        }
+
+        private void renderGetRowsStream() {
+            line("public Stream<", RowResult, "> getRowsStream(Iterable<", Row, "> rows) {"); {
+                line("return getRowsStream(rows, allColumns);");
+            } line("}");
+            line();
+            line("public Stream<", RowResult, "> getRowsStream(Iterable<", Row, "> rows, ColumnSelection columns) {"); {
+                line("return TableReads.getRowsStream(t, tableRef, Persistables.persistAll(rows), columns).map(", RowResult, "::of);");
+            } line("}");
+        }
+
         private void renderDynamicGet() {
             line("@Override");
             line("public Multimap<", Row, ", ", ColumnValue, "> get(Multimap<", Row, ", ", Column, "> cells) {"); {
                 line("Set<Cell> rawCells = ColumnValues.toCells(cells);");
                 line("Map<Cell, byte[]> rawResults = t.get(tableRef, rawCells);");
+                line("return getRowMapFromCellValues(rawResults);");
+            } line("}");
+        }
+
+        private void renderDynamicGetAsync() {
+            line("public ListenableFuture<Multimap<", Row, ", ", ColumnValue, ">> getAsync(Multimap<", Row, ", ", Column, "> cells) {"); {
+                line("Set<Cell> rawCells = ColumnValues.toCells(cells);");
+                line("return Futures.transform(t.getAsync(tableRef, rawCells), ", Table, "::getRowMapFromCellValues, MoreExecutors.directExecutor());");
+            } line("}");
+            line();
+            line("private static Multimap<", Row, ", ", ColumnValue, "> getRowMapFromCellValues(Map<Cell, byte[]> rawResults) {"); {
                 line("Multimap<", Row, ", ", ColumnValue, "> rowMap = HashMultimap.create();");
                 line("for (Entry<Cell, byte[]> e : rawResults.entrySet()) {"); {
                     line("if (e.getValue().length > 0) {"); {
@@ -1167,6 +1229,12 @@ public class TableRenderer {
             } line("}");
         }
 
+        private void renderGetRowsColumnRangeStream() {
+            line("public Stream<Map.Entry<", Row, ", ", ColumnValue, ">> getRowsColumnRangeStream(Iterable<", Row, "> rows, ColumnRangeSelection columnRangeSelection, int batchHint) {"); {
+                line("return Streams.stream(getRowsColumnRange(rows, columnRangeSelection, batchHint));");
+            } line("}");
+        }
+
         private void renderFindConstraintFailures() {
             line("@Override");
             line("public List<String> findConstraintFailures(Map<Cell, byte[]> writes,");
@@ -1293,6 +1361,8 @@ public class TableRenderer {
         Cell.class,
         Cells.class,
         EncodingUtils.class,
+        CompositeKeyWriter.class,
+        CompositeKeyReader.class,
         PtBytes.class,
         MoreObjects.class,
         Objects.class,
@@ -1338,6 +1408,11 @@ public class TableRenderer {
         ColumnRangeSelection.class,
         Iterators.class,
         ImmutableGetRangesQuery.class,
+        Streams.class,
+        ListenableFuture.class,
+        Futures.class,
+        MoreExecutors.class,
+        TableReads.class,
     };
 }
 
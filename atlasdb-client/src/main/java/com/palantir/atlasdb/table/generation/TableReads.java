@@ -0,0 +1,145 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.table.generation;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.stream.Stream;
+
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.collect.Streams;
+import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.ColumnSelection;
+import com.palantir.atlasdb.keyvalue.api.RangeRequest;
+import com.palantir.atlasdb.keyvalue.api.RangeRequests;
+import com.palantir.atlasdb.keyvalue.api.RowResult;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.transaction.api.Transaction;
+import com.palantir.common.base.BatchingVisitables;
+import com.palantir.logsafe.Preconditions;
+
+/**
+ * Helpers backing the asynchronous and lazily evaluated read methods of generated tables.
+ */
+public final class TableReads {
+    private static final int DEFAULT_BATCH_SIZE = 100;
+
+    private TableReads() {
+        // should not be instantiated
+    }
+
+    /**
+     * Reads the given columns of the given rows through {@link Transaction#getAsync(TableReference, Set)}. The
+     * columns must be explicitly enumerated, since cells can only be read asynchronously one by one. Rows without any
+     * values are omitted, and the remaining rows are returned in ascending order of their row names, as with
+     * {@link Transaction#getRows(TableReference, Iterable, ColumnSelection)}.
+     */
+    public static ListenableFuture<List<RowResult<byte[]>>> getRowsAsync(
+            Transaction t,
+            TableReference tableRef,
+            Iterable<byte[]> rows,
+            ColumnSelection columns) {
+        Preconditions.checkArgument(!columns.allColumnsSelected(),
+                "Reading rows asynchronously requires an explicit selection of columns");
+        Set<Cell> cells = Sets.newHashSet();
+        for (byte[] row : rows) {
+            for (byte[] column : columns.getSelectedColumns()) {
+                cells.add(Cell.create(row, column));
+            }
+        }
+        if (cells.isEmpty()) {
+            return Futures.immediateFuture(ImmutableList.of());
+        }
+        return Futures.transform(t.getAsync(tableRef, cells), TableReads::toRowResults, MoreExecutors.directExecutor());
+    }
+
+    private static List<RowResult<byte[]>> toRowResults(Map<Cell, byte[]> values) {
+        SortedMap<byte[], SortedMap<byte[], byte[]>> columnsByRow =
+                Maps.newTreeMap(UnsignedBytes.lexicographicalComparator());
+        values.forEach((cell, value) -> {
+            if (value.length > 0) {
+                columnsByRow.computeIfAbsent(cell.getRowName(),
+                        unused -> Maps.newTreeMap(UnsignedBytes.lexicographicalComparator()))
+                        .put(cell.getColumnName(), value);
+            }
+        });
+        List<RowResult<byte[]>> rowResults = Lists.newArrayListWithCapacity(columnsByRow.size());
+        columnsByRow.forEach((row, columns) -> rowResults.add(RowResult.create(row, columns)));
+        return rowResults;
+    }
+
+    /**
+     * Returns a stream over the given rows, which reads them in batches of {@value #DEFAULT_BATCH_SIZE} through
+     * {@link Transaction#getRows(TableReference, Iterable, ColumnSelection)} as the stream is consumed, rather than
+     * loading every row up front. Rows without any values are omitted, and the rows of each batch are returned in
+     * ascending order of their row names.
+     */
+    public static Stream<RowResult<byte[]>> getRowsStream(
+            Transaction t,
+            TableReference tableRef,
+            Iterable<byte[]> rows,
+            ColumnSelection columns) {
+        return Streams.stream(Iterables.partition(rows, DEFAULT_BATCH_SIZE))
+                .flatMap(batch -> t.getRows(tableRef, batch, columns).values().stream());
+    }
+
+    /**
+     * Returns a stream over the rows of the given range, which reads the range one batch at a time as the stream is
+     * consumed, rather than loading the whole range up front. Each batch is a separate range read in the given
+     * transaction, starting just past the last row of the previous batch, and is sized by the batch hint of the range.
+     */
+    public static Stream<RowResult<byte[]>> getRangeStream(Transaction t, TableReference tableRef, RangeRequest range) {
+        int batchSize = range.getBatchHint() == null ? DEFAULT_BATCH_SIZE : range.getBatchHint();
+        Iterator<List<RowResult<byte[]>>> batches = new AbstractIterator<List<RowResult<byte[]>>>() {
+            private RangeRequest nextRange = range.withBatchHint(batchSize);
+
+            @Override
+            protected List<RowResult<byte[]>> computeNext() {
+                if (nextRange == null) {
+                    return endOfData();
+                }
+                List<RowResult<byte[]>> batch = BatchingVisitables.take(t.getRange(tableRef, nextRange), batchSize);
+                nextRange = getNextRange(nextRange, batch, batchSize);
+                return batch.isEmpty() ? endOfData() : batch;
+            }
+        };
+        return Streams.stream(batches).flatMap(List::stream);
+    }
+
+    private static RangeRequest getNextRange(RangeRequest range, List<RowResult<byte[]>> batch, int batchSize) {
+        if (batch.size() < batchSize) {
+            return null;
+        }
+        byte[] lastRow = batch.get(batch.size() - 1).getRowName();
+        byte[] nextStartRow = RangeRequests.getNextStartRowUnlessTerminal(range.isReverse(), lastRow);
+        if (nextStartRow == null) {
+            return null;
+        }
+        return range.getBuilder().startRowInclusive(nextStartRow).build();
+    }
+}
@@ -154,4 +154,17 @@ public class ReadTransaction extends ForwardingTransaction {
         checkTableName(tableRef);
         return delegate().getAsync(tableRef, cells);
     }
+
+    @Override
+    public Map<TableReference, Map<Cell, byte[]>> getMulti(Map<TableReference, Set<Cell>> cellsByTable) {
+        cellsByTable.keySet().forEach(this::checkTableName);
+        return delegate().getMulti(cellsByTable);
+    }
+
+    @Override
+    public ListenableFuture<Map<TableReference, Map<Cell, byte[]>>> getMultiAsync(
+            Map<TableReference, Set<Cell>> cellsByTable) {
+        cellsByTable.keySet().forEach(this::checkTableName);
+        return delegate().getMultiAsync(cellsByTable);
+    }
 }
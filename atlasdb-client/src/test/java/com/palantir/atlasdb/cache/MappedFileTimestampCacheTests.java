@@ -0,0 +1,114 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public final class MappedFileTimestampCacheTests {
+    private static final String NAMESPACE = "namespace";
+    private static final int NUM_SLOTS = 1024;
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File file;
+    private MappedFileTimestampCache cache;
+
+    @Before
+    public void setUp() throws IOException {
+        file = new File(temporaryFolder.getRoot(), "timestamps");
+        cache = MappedFileTimestampCache.create(file.toPath(), NAMESPACE, NUM_SLOTS);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        cache.close();
+    }
+
+    @Test
+    public void returnsCachedCommitTimestamps() {
+        cache.putAlreadyCommittedTransaction(1L, 5L);
+        cache.putAlreadyCommittedTransaction(2L, -1L);
+
+        assertThat(cache.getCommitTimestampIfPresent(1L)).isEqualTo(5L);
+        assertThat(cache.getCommitTimestampIfPresent(2L)).isEqualTo(-1L);
+        assertThat(cache.getCommitTimestampIfPresent(3L)).isNull();
+    }
+
+    @Test
+    public void neverReturnsWrongValuesWhenFull() {
+        for (long startTimestamp = 1; startTimestamp <= 4 * NUM_SLOTS; startTimestamp++) {
+            cache.putAlreadyCommittedTransaction(startTimestamp, startTimestamp + 1);
+        }
+
+        for (long startTimestamp = 1; startTimestamp <= 4 * NUM_SLOTS; startTimestamp++) {
+            Long commitTimestamp = cache.getCommitTimestampIfPresent(startTimestamp);
+            if (commitTimestamp != null) {
+                assertThat(commitTimestamp).isEqualTo(startTimestamp + 1);
+            }
+        }
+        assertThat(cache.getCommitTimestampIfPresent(4L * NUM_SLOTS)).isEqualTo(4L * NUM_SLOTS + 1);
+    }
+
+    @Test
+    public void entriesSurviveReopening() throws IOException {
+        cache.putAlreadyCommittedTransaction(10L, 20L);
+        cache.close();
+
+        cache = MappedFileTimestampCache.create(file.toPath(), NAMESPACE, NUM_SLOTS);
+        assertThat(cache.getCommitTimestampIfPresent(10L)).isEqualTo(20L);
+    }
+
+    @Test
+    public void entriesAreSharedBetweenInstances() throws IOException {
+        try (MappedFileTimestampCache otherCache =
+                MappedFileTimestampCache.create(file.toPath(), NAMESPACE, NUM_SLOTS)) {
+            otherCache.putAlreadyCommittedTransaction(10L, 20L);
+        }
+
+        assertThat(cache.getCommitTimestampIfPresent(10L)).isEqualTo(20L);
+    }
+
+    @Test
+    public void clearRemovesAllEntries() {
+        cache.putAlreadyCommittedTransaction(10L, 20L);
+        cache.clear();
+
+        assertThat(cache.getCommitTimestampIfPresent(10L)).isNull();
+    }
+
+    @Test
+    public void cannotOpenFileOfDifferentNamespace() {
+        assertThatThrownBy(() -> MappedFileTimestampCache.create(file.toPath(), "other", NUM_SLOTS))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void cannotOpenFileWithDifferentNumberOfSlots() {
+        assertThatThrownBy(() -> MappedFileTimestampCache.create(file.toPath(), NAMESPACE, 2 * NUM_SLOTS))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.compress;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import com.palantir.atlasdb.AtlasDbConstants;
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.impl.InMemoryKeyValueService;
+
+public class CompressionDictionaryStoreTest {
+    private static final TableReference TABLE = TableReference.createFromFullyQualifiedName("test.table");
+    private static final TableReference OTHER_NAMESPACE_TABLE =
+            TableReference.createFromFullyQualifiedName("other.table");
+
+    private final KeyValueService kvs = new InMemoryKeyValueService(false);
+    private final CompressionDictionaryStore store = CompressionDictionaryStore.create(kvs);
+
+    @Test
+    public void loadsNothingIfNoDictionariesWereStored() {
+        assertThat(store.loadAll()).isEmpty();
+        assertThat(store.load(1)).isEmpty();
+    }
+
+    @Test
+    public void storedDictionariesHaveDistinctIncreasingIds() {
+        Optional<CompressionDictionary> first = store.train(TABLE, samples());
+        Optional<CompressionDictionary> second = store.train(OTHER_NAMESPACE_TABLE, samples());
+        Optional<CompressionDictionary> third = store.train(TABLE, samples());
+
+        assertThat(first.map(CompressionDictionary::getId)).contains(1);
+        assertThat(second.map(CompressionDictionary::getId)).contains(2);
+        assertThat(third.map(CompressionDictionary::getId)).contains(3);
+    }
+
+    @Test
+    public void storedDictionariesAreKeyedByFullTableReference() {
+        store.train(TABLE, samples());
+        store.train(OTHER_NAMESPACE_TABLE, samples());
+
+        assertThat(store.loadAll())
+                .extracting(CompressionDictionary::getTableRef)
+                .containsExactly(TABLE, OTHER_NAMESPACE_TABLE);
+        assertThat(store.load(2).map(CompressionDictionary::getTableRef)).contains(OTHER_NAMESPACE_TABLE);
+    }
+
+    @Test
+    public void dictionariesAreLatestPerTable() {
+        store.train(TABLE, samples());
+        store.train(OTHER_NAMESPACE_TABLE, samples());
+        store.train(TABLE, samples());
+
+        CompressionDictionaries dictionaries = new CompressionDictionaries(store);
+
+        assertThat(dictionaries.getLatest(TABLE).map(CompressionDictionary::getId)).contains(3);
+        assertThat(dictionaries.getLatest(OTHER_NAMESPACE_TABLE).map(CompressionDictionary::getId)).contains(2);
+    }
+
+    @Test
+    public void unknownDictionariesAreLoadedOnDemand() {
+        CompressionDictionaries dictionaries = new CompressionDictionaries(store);
+        assertThat(dictionaries.getLatest(TABLE)).isEmpty();
+        assertThatThrownBy(() -> dictionaries.getById(1)).isInstanceOf(IllegalStateException.class);
+
+        store.train(TABLE, samples());
+
+        assertThat(dictionaries.getById(1).getTableRef()).isEqualTo(TABLE);
+    }
+
+    @Test
+    public void dictionaryTableIsHidden() {
+        assertThat(AtlasDbConstants.HIDDEN_TABLES).contains(AtlasDbConstants.COMPRESSION_DICTIONARY_TABLE);
+    }
+
+    private static List<byte[]> samples() {
+        return IntStream.range(0, 100)
+                .mapToObj(id -> PtBytes.toBytes("{\"id\":" + id + ",\"status\":\"ACTIVE\","
+                        + "\"organization\":\"example-organization\",\"tags\":[\"first\",\"second\"]}"))
+                .collect(Collectors.toList());
+    }
+}
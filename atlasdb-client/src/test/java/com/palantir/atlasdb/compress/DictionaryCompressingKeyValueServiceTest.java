@@ -0,0 +1,149 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.compress;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.CheckAndSetRequest;
+import com.palantir.atlasdb.keyvalue.api.ColumnSelection;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.api.Value;
+import com.palantir.atlasdb.keyvalue.impl.InMemoryKeyValueService;
+import com.palantir.atlasdb.table.description.ColumnMetadataDescription;
+import com.palantir.atlasdb.table.description.ColumnValueDescription;
+import com.palantir.atlasdb.table.description.ColumnValueDescription.Compression;
+import com.palantir.atlasdb.table.description.NamedColumnDescription;
+import com.palantir.atlasdb.table.description.TableMetadata;
+import com.palantir.atlasdb.table.description.ValueType;
+
+public class DictionaryCompressingKeyValueServiceTest {
+    private static final TableReference TABLE = TableReference.createFromFullyQualifiedName("test.table");
+    private static final byte[] ROW = PtBytes.toBytes("row");
+    private static final Cell COMPRESSED_CELL = Cell.create(ROW, PtBytes.toBytes("c"));
+    private static final Cell UNCOMPRESSED_CELL = Cell.create(ROW, PtBytes.toBytes("u"));
+    private static final byte[] VALUE = sampleValue(12345);
+
+    private final KeyValueService delegate = new InMemoryKeyValueService(false);
+    private final KeyValueService kvs = DictionaryCompressingKeyValueService.create(delegate);
+
+    @Before
+    public void setUp() {
+        kvs.createTable(TABLE, TableMetadata.builder()
+                .columns(new ColumnMetadataDescription(ImmutableList.of(
+                        new NamedColumnDescription("c", "compressed",
+                                ColumnValueDescription.forType(ValueType.BLOB, Compression.DICTIONARY)),
+                        new NamedColumnDescription("u", "uncompressed",
+                                ColumnValueDescription.forType(ValueType.BLOB)))))
+                .build()
+                .persistToBytes());
+    }
+
+    @Test
+    public void valuesAreStoredUncompressedUntilADictionaryIsTrained() {
+        kvs.put(TABLE, ImmutableMap.of(COMPRESSED_CELL, VALUE, UNCOMPRESSED_CELL, VALUE), 1L);
+
+        assertThat(storedValue(COMPRESSED_CELL)).isEqualTo(VALUE);
+        assertThat(storedValue(UNCOMPRESSED_CELL)).isEqualTo(VALUE);
+        assertThat(readValues()).containsOnly(
+                Maps.immutableEntry(COMPRESSED_CELL, Value.create(VALUE, 1L)),
+                Maps.immutableEntry(UNCOMPRESSED_CELL, Value.create(VALUE, 1L)));
+    }
+
+    @Test
+    public void onlyDictionaryCompressedColumnsAreCompressedWithTrainedDictionary() {
+        CompressionDictionaryStore.create(delegate).train(TABLE, samples());
+        KeyValueService otherProcessKvs = DictionaryCompressingKeyValueService.create(delegate);
+
+        otherProcessKvs.put(TABLE, ImmutableMap.of(COMPRESSED_CELL, VALUE, UNCOMPRESSED_CELL, VALUE), 1L);
+
+        assertThat(storedValue(COMPRESSED_CELL).length).isLessThan(VALUE.length / 2);
+        assertThat(storedValue(UNCOMPRESSED_CELL)).isEqualTo(VALUE);
+        assertThat(readValues()).containsOnly(
+                Maps.immutableEntry(COMPRESSED_CELL, Value.create(VALUE, 1L)),
+                Maps.immutableEntry(UNCOMPRESSED_CELL, Value.create(VALUE, 1L)));
+    }
+
+    @Test
+    public void dictionariesAreNotSharedBetweenKeyValueServices() {
+        KeyValueService otherDelegate = new InMemoryKeyValueService(false);
+        KeyValueService otherKvs = DictionaryCompressingKeyValueService.create(otherDelegate);
+        otherKvs.createTable(TABLE, delegate.getMetadataForTable(TABLE));
+        CompressionDictionaryStore.create(otherDelegate).train(TABLE, samples());
+
+        kvs.put(TABLE, ImmutableMap.of(COMPRESSED_CELL, VALUE), 1L);
+
+        assertThat(storedValue(COMPRESSED_CELL)).isEqualTo(VALUE);
+    }
+
+    @Test
+    public void valuesWrittenWithoutCompressionCanBeRead() {
+        CompressionDictionaryStore.create(delegate).train(TABLE, samples());
+        byte[] legacyValue = { 1, 0, 0, 0, 1, 2, 3 };
+        delegate.put(TABLE, ImmutableMap.of(COMPRESSED_CELL, legacyValue), 1L);
+
+        assertThat(readValues()).containsOnly(Maps.immutableEntry(COMPRESSED_CELL, Value.create(legacyValue, 1L)));
+    }
+
+    @Test
+    public void deletesAreNotCompressed() {
+        kvs.put(TABLE, ImmutableMap.of(COMPRESSED_CELL, PtBytes.EMPTY_BYTE_ARRAY), 1L);
+
+        assertThat(storedValue(COMPRESSED_CELL)).isEmpty();
+        assertThat(readValues()).containsOnly(
+                Maps.immutableEntry(COMPRESSED_CELL, Value.create(PtBytes.EMPTY_BYTE_ARRAY, 1L)));
+    }
+
+    @Test
+    public void checkAndSetIsNotSupportedForDictionaryCompressedColumns() {
+        assertThatThrownBy(() -> kvs.checkAndSet(CheckAndSetRequest.newCell(TABLE, COMPRESSED_CELL, VALUE)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private byte[] storedValue(Cell cell) {
+        return delegate.get(TABLE, ImmutableMap.of(cell, Long.MAX_VALUE)).get(cell).getContents();
+    }
+
+    private Map<Cell, Value> readValues() {
+        return kvs.getRows(TABLE, ImmutableList.of(ROW), ColumnSelection.all(), Long.MAX_VALUE);
+    }
+
+    private static List<byte[]> samples() {
+        return IntStream.range(0, 100)
+                .mapToObj(DictionaryCompressingKeyValueServiceTest::sampleValue)
+                .collect(Collectors.toList());
+    }
+
+    private static byte[] sampleValue(int id) {
+        return PtBytes.toBytes("{\"id\":" + id + ",\"type\":\"com.palantir.example.Widget\",\"status\":\"ACTIVE\","
+                + "\"owner\":{\"name\":\"user-" + (id % 7) + "\",\"organization\":\"example-organization\"},"
+                + "\"tags\":[\"first-tag\",\"second-tag\"]}");
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.compress;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.table.description.ColumnValueDescription.Compression;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.exceptions.SafeIllegalStateException;
+
+public class DictionaryCompressionTest {
+    private static final TableReference TABLE = TableReference.createFromFullyQualifiedName("test.table");
+    private static final byte[] VALUE = sampleValue(12345);
+    private static final CompressionDictionary DICTIONARY = CompressionDictionary.of(TABLE, 1, trainDictionary());
+
+    @Test
+    public void valuesAreStoredUncompressedIfNoDictionaryIsAvailable() {
+        byte[] compressed = DictionaryCompression.compress(VALUE, Optional.empty());
+
+        assertThat(compressed).isEqualTo(VALUE);
+        assertThat(DictionaryCompression.decompress(compressed, DictionaryCompressionTest::noDictionary))
+                .isEqualTo(VALUE);
+    }
+
+    @Test
+    public void valuesThatWereNotCompressedAreReadAsTheyWereStored() {
+        byte[][] storedValues = {
+                PtBytes.toBytes("a"),
+                new byte[] { 0, 1, 2, 3 },
+                new byte[] { 1, 0, 0, 0, 1, 2, 3, 4, 5, 6, 7, 8, 9 },
+                VALUE };
+
+        for (byte[] stored : storedValues) {
+            assertThat(DictionaryCompression.decompress(stored, DictionaryCompressionTest::noDictionary))
+                    .isEqualTo(stored);
+        }
+    }
+
+    @Test
+    public void valuesThatLookCompressedAreEscaped() {
+        byte[] looksCompressed = DictionaryCompression.compress(VALUE, Optional.of(DICTIONARY));
+        byte[] stored = DictionaryCompression.compress(looksCompressed, Optional.empty());
+
+        assertThat(stored).isNotEqualTo(looksCompressed);
+        assertThat(DictionaryCompression.decompress(stored, DictionaryCompressionTest::noDictionary))
+                .isEqualTo(looksCompressed);
+    }
+
+    @Test
+    public void corruptCompressedValuesAreReadAsTheyWereStored() {
+        byte[] stored = DictionaryCompression.compress(VALUE, Optional.of(DICTIONARY));
+        stored[stored.length - 1] ^= 1;
+
+        assertThat(DictionaryCompression.decompress(stored, id -> DICTIONARY)).isEqualTo(stored);
+    }
+
+    @Test
+    public void trainedDictionaryCompressesSimilarValues() {
+        byte[] compressed = DictionaryCompression.compress(VALUE, Optional.of(DICTIONARY));
+
+        assertThat(compressed.length).isLessThan(VALUE.length / 2);
+        assertThat(DictionaryCompression.decompress(compressed, id -> DICTIONARY)).isEqualTo(VALUE);
+    }
+
+    @Test
+    public void valuesAreDecompressedWithTheDictionaryTheyWereTaggedWith() {
+        CompressionDictionary other = CompressionDictionary.of(TABLE, 2, PtBytes.toBytes("another dictionary"));
+        byte[] compressed = DictionaryCompression.compress(VALUE, Optional.of(DICTIONARY));
+
+        assertThat(DictionaryCompression.decompress(compressed, id -> id == DICTIONARY.getId() ? DICTIONARY : other))
+                .isEqualTo(VALUE);
+    }
+
+    @Test
+    public void unknownDictionariesCannotBeDecompressed() {
+        byte[] compressed = DictionaryCompression.compress(VALUE, Optional.of(DICTIONARY));
+
+        assertThatThrownBy(() -> DictionaryCompression.decompress(compressed, DictionaryCompressionTest::noDictionary))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void compressionUtilsLeavesDictionaryCompressedColumnsToTheKeyValueService() {
+        assertThat(CompressionUtils.compress(VALUE, Compression.DICTIONARY)).isEqualTo(VALUE);
+        assertThat(CompressionUtils.decompress(VALUE, Compression.DICTIONARY)).isEqualTo(VALUE);
+    }
+
+    @Test
+    public void trainingDissimilarValuesProducesEmptyDictionary() {
+        List<byte[]> samples = IntStream.range(0, 10)
+                .mapToObj(i -> PtBytes.toBytes(Integer.toString(i)))
+                .collect(Collectors.toList());
+
+        assertThat(CompressionDictionaryTrainer.train(samples, 1024)).isEmpty();
+    }
+
+    @Test
+    public void trainedDictionaryRespectsMaximumSize() {
+        assertThat(CompressionDictionaryTrainer.train(samples(), 64).length).isLessThanOrEqualTo(64);
+    }
+
+    private static CompressionDictionary noDictionary(int id) {
+        throw new SafeIllegalStateException("Unknown dictionary", SafeArg.of("id", id));
+    }
+
+    private static byte[] trainDictionary() {
+        return CompressionDictionaryTrainer.train(samples(), CompressionDictionaryTrainer.MAX_DICTIONARY_SIZE);
+    }
+
+    private static List<byte[]> samples() {
+        return IntStream.range(0, 100)
+                .mapToObj(DictionaryCompressionTest::sampleValue)
+                .collect(Collectors.toList());
+    }
+
+    private static byte[] sampleValue(int id) {
+        return PtBytes.toBytes("{\"id\":" + id + ",\"type\":\"com.palantir.example.Widget\",\"status\":\"ACTIVE\","
+                + "\"owner\":{\"name\":\"user-" + (id % 7) + "\",\"organization\":\"example-organization\"},"
+                + "\"tags\":[\"first-tag\",\"second-tag\"]}");
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.keyvalue.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.keyvalue.api.AsyncKeyValueService;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.api.Value;
+import com.palantir.atlasdb.table.description.TableMetadata;
+
+public class KeyValueServicesTest {
+    private static final TableReference TABLE_1 = TableReference.createFromFullyQualifiedName("test.table1");
+    private static final TableReference TABLE_2 = TableReference.createFromFullyQualifiedName("test.table2");
+    private static final Cell CELL = Cell.create(PtBytes.toBytes("row"), PtBytes.toBytes("col"));
+    private static final byte[] VALUE = PtBytes.toBytes("value");
+    private static final long TIMESTAMP = 10L;
+
+    private final KeyValueService keyValueService = spy(new InMemoryKeyValueService(false));
+    private final AsyncKeyValueService asyncKeyValueService =
+            KeyValueServices.synchronousAsAsyncKeyValueService(keyValueService);
+
+    @Before
+    public void setUp() {
+        keyValueService.createTables(ImmutableMap.of(
+                TABLE_1, TableMetadata.allDefault().persistToBytes(),
+                TABLE_2, TableMetadata.allDefault().persistToBytes()));
+        keyValueService.put(TABLE_1, ImmutableMap.of(CELL, VALUE), TIMESTAMP);
+        keyValueService.put(TABLE_2, ImmutableMap.of(CELL, VALUE), TIMESTAMP);
+    }
+
+    @Test
+    public void synchronousGetMultiAsyncReadsAllTablesInOneGetMulti() throws InterruptedException, ExecutionException {
+        Map<TableReference, Map<Cell, Long>> request = ImmutableMap.of(
+                TABLE_1, ImmutableMap.of(CELL, TIMESTAMP + 1),
+                TABLE_2, ImmutableMap.of(CELL, TIMESTAMP + 1));
+
+        Map<TableReference, Map<Cell, Value>> result = asyncKeyValueService.getMultiAsync(request).get();
+
+        assertThat(result).containsOnlyKeys(TABLE_1, TABLE_2);
+        assertThat(result.get(TABLE_1).get(CELL).getContents()).isEqualTo(VALUE);
+        assertThat(result.get(TABLE_2).get(CELL).getContents()).isEqualTo(VALUE);
+        verify(keyValueService, times(1)).getMulti(any());
+        verify(keyValueService, never()).getMultiAsync(any());
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.keyvalue.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ForwardingExecutorService;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.palantir.atlasdb.AtlasDbConstants;
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.futures.AtlasFutures;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.api.Value;
+
+public class ReadCoalescingKeyValueServiceTest {
+    private static final TableReference TABLE = TableReference.createFromFullyQualifiedName("test.table");
+    private static final Cell CELL_1 = Cell.create(PtBytes.toBytes("row1"), PtBytes.toBytes("col"));
+    private static final Cell CELL_2 = Cell.create(PtBytes.toBytes("row2"), PtBytes.toBytes("col"));
+    private static final byte[] OLD_VALUE = PtBytes.toBytes("old");
+    private static final byte[] NEW_VALUE = PtBytes.toBytes("new");
+
+    private final KeyValueService delegate = new InMemoryKeyValueService(false);
+    private final KeyValueService kvs = ReadCoalescingKeyValueService.create(delegate);
+
+    @Before
+    public void setUp() {
+        kvs.createTable(TABLE, AtlasDbConstants.GENERIC_TABLE_METADATA);
+        kvs.put(TABLE, ImmutableMap.of(CELL_1, OLD_VALUE, CELL_2, OLD_VALUE), 10L);
+        kvs.put(TABLE, ImmutableMap.of(CELL_1, NEW_VALUE), 20L);
+    }
+
+    @After
+    public void tearDown() {
+        kvs.close();
+    }
+
+    @Test
+    public void concurrentReadsAtDifferentTimestampsSeeTheirOwnSnapshots() {
+        ListenableFuture<Map<Cell, Value>> oldRead = kvs.getAsync(TABLE, ImmutableMap.of(CELL_1, 15L, CELL_2, 15L));
+        ListenableFuture<Map<Cell, Value>> newRead = kvs.getAsync(TABLE, ImmutableMap.of(CELL_1, 25L));
+        ListenableFuture<Map<Cell, Value>> earlyRead = kvs.getAsync(TABLE, ImmutableMap.of(CELL_1, 5L));
+
+        assertThat(AtlasFutures.getUnchecked(oldRead)).containsOnly(
+                Maps.immutableEntry(CELL_1, Value.create(OLD_VALUE, 10L)),
+                Maps.immutableEntry(CELL_2, Value.create(OLD_VALUE, 10L)));
+        assertThat(AtlasFutures.getUnchecked(newRead)).containsOnly(
+                Maps.immutableEntry(CELL_1, Value.create(NEW_VALUE, 20L)));
+        assertThat(AtlasFutures.getUnchecked(earlyRead)).isEmpty();
+    }
+
+    @Test
+    public void synchronousGetMatchesDelegate() {
+        Map<Cell, Long> request = ImmutableMap.of(CELL_1, 25L, CELL_2, 25L);
+        assertThat(kvs.get(TABLE, request)).isEqualTo(delegate.get(TABLE, request));
+    }
+
+    @Test
+    public void readsOfSameCellAtDifferentTimestampsAreServedByOneDelegateRead() throws InterruptedException {
+        KeyValueService spiedDelegate = spy(delegate);
+        CountDownLatch blockingReadStarted = new CountDownLatch(1);
+        CountDownLatch blockingReadReleased = new CountDownLatch(1);
+        KeyValueService coalescingKvs = ReadCoalescingKeyValueService.create(
+                spiedDelegate, new BlockingFirstTaskExecutorService(blockingReadStarted, blockingReadReleased));
+
+        // Blocks the autobatcher while it hands off the first read, so that the following reads are processed in the
+        // same batch.
+        ListenableFuture<Map<Cell, Value>> blockingRead = coalescingKvs.getAsync(TABLE, ImmutableMap.of(CELL_2, 25L));
+        blockingReadStarted.await();
+        ListenableFuture<Map<Cell, Value>> firstRead = coalescingKvs.getAsync(TABLE, ImmutableMap.of(CELL_1, 25L));
+        ListenableFuture<Map<Cell, Value>> secondRead = coalescingKvs.getAsync(TABLE, ImmutableMap.of(CELL_1, 30L));
+        blockingReadReleased.countDown();
+
+        assertThat(AtlasFutures.getUnchecked(blockingRead)).containsKey(CELL_2);
+        assertThat(AtlasFutures.getUnchecked(firstRead)).containsOnly(
+                Maps.immutableEntry(CELL_1, Value.create(NEW_VALUE, 20L)));
+        assertThat(AtlasFutures.getUnchecked(secondRead)).containsOnly(
+                Maps.immutableEntry(CELL_1, Value.create(NEW_VALUE, 20L)));
+        verify(spiedDelegate).getAsync(TABLE, ImmutableMap.of(CELL_1, 30L));
+        verify(spiedDelegate, times(2)).getAsync(any(), any());
+        coalescingKvs.close();
+    }
+
+    @Test
+    public void blockingDelegateReadDoesNotHoldUpLaterReads() throws InterruptedException {
+        KeyValueService spiedDelegate = spy(delegate);
+        KeyValueService coalescingKvs = ReadCoalescingKeyValueService.create(spiedDelegate);
+        CountDownLatch blockingReadStarted = new CountDownLatch(1);
+        CountDownLatch blockingReadReleased = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            blockingReadStarted.countDown();
+            blockingReadReleased.await();
+            return invocation.callRealMethod();
+        }).doCallRealMethod().when(spiedDelegate).getAsync(any(), any());
+
+        ListenableFuture<Map<Cell, Value>> blockingRead = coalescingKvs.getAsync(TABLE, ImmutableMap.of(CELL_2, 25L));
+        blockingReadStarted.await();
+
+        assertThat(coalescingKvs.get(TABLE, ImmutableMap.of(CELL_1, 25L))).containsOnly(
+                Maps.immutableEntry(CELL_1, Value.create(NEW_VALUE, 20L)));
+        assertThat(blockingRead.isDone()).isFalse();
+
+        blockingReadReleased.countDown();
+        assertThat(AtlasFutures.getUnchecked(blockingRead)).containsKey(CELL_2);
+        coalescingKvs.close();
+    }
+
+    @Test
+    public void requestsForSameCellAreMerged() {
+        Map<Cell, NavigableSet<Long>> merged = ReadCoalescingKeyValueService.mergeRequests(
+                ImmutableList.of(
+                        ImmutableGetRequest.of(TABLE, ImmutableMap.of(CELL_1, 15L)),
+                        ImmutableGetRequest.of(TABLE, ImmutableMap.of(CELL_1, 25L, CELL_2, 15L)),
+                        ImmutableGetRequest.of(TABLE, ImmutableMap.of(CELL_1, 15L))));
+
+        assertThat(merged).containsOnly(
+                Maps.immutableEntry(CELL_1, ImmutableSortedSet.of(15L, 25L)),
+                Maps.immutableEntry(CELL_2, ImmutableSortedSet.of(15L)));
+    }
+
+    @Test
+    public void onlyTimestampsAtOrBeforeValueReadRemainPending() {
+        Map<Cell, NavigableSet<Long>> pending = Maps.newHashMap();
+        pending.put(CELL_1, new TreeSet<>(ImmutableList.of(5L, 20L, 25L, 30L)));
+        pending.put(CELL_2, new TreeSet<>(ImmutableList.of(15L, 30L)));
+        Map<Cell, Map<Long, Value>> valuesByCell = Maps.newHashMap();
+        Value newValue = Value.create(NEW_VALUE, 20L);
+
+        ReadCoalescingKeyValueService.resolveReads(pending, ImmutableMap.of(CELL_1, newValue), valuesByCell);
+
+        assertThat(pending).containsOnly(Maps.immutableEntry(CELL_1, ImmutableSortedSet.of(5L, 20L)));
+        assertThat(valuesByCell).containsOnly(
+                Maps.immutableEntry(CELL_1, ImmutableMap.of(25L, newValue, 30L, newValue)));
+    }
+
+    /**
+     * Runs tasks directly, except that handing off the first task blocks until released.
+     */
+    private static final class BlockingFirstTaskExecutorService extends ForwardingExecutorService {
+        private final ExecutorService delegate = MoreExecutors.newDirectExecutorService();
+        private final CountDownLatch firstTaskStarted;
+        private final CountDownLatch firstTaskReleased;
+
+        private BlockingFirstTaskExecutorService(CountDownLatch firstTaskStarted, CountDownLatch firstTaskReleased) {
+            this.firstTaskStarted = firstTaskStarted;
+            this.firstTaskReleased = firstTaskReleased;
+        }
+
+        @Override
+        protected ExecutorService delegate() {
+            return delegate;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            if (firstTaskStarted.getCount() > 0) {
+                firstTaskStarted.countDown();
+                Uninterruptibles.awaitUninterruptibly(firstTaskReleased);
+            }
+            super.execute(command);
+        }
+    }
+}
@@ -90,4 +90,26 @@ public class StreamTableTypeTest {
         assertThat(indexTableFromValueTable).isNotEqualTo(valueTable);
         assertEquals(expectedIndexTable, indexTableFromValueTable);
     }
+
+    @Test
+    public void isStreamStoreIndexTableReturnsFalseForOtherStreamStoreTableTypes() {
+        List<StreamTableType> streamTypes =
+                Lists.newArrayList(StreamTableType.METADATA, StreamTableType.VALUE, StreamTableType.HASH);
+        for (StreamTableType streamType : streamTypes) {
+            String tableName = streamType.getTableName(TEST_TABLE);
+            TableReference tableReference = TableReference.create(TEST_NAMESPACE, tableName);
+
+            assertFalse(StreamTableType.isStreamStoreIndexTable(tableReference));
+        }
+    }
+
+    @Test
+    public void getValueTableFromIndexTableIsInverseOfGetIndexTableFromValueTable() {
+        String valueTableName = StreamTableType.VALUE.getTableName(TEST_TABLE);
+        TableReference valueTable = TableReference.create(TEST_NAMESPACE, valueTableName);
+
+        TableReference indexTable = StreamTableType.getIndexTableFromValueTable(valueTable);
+        assertTrue(StreamTableType.isStreamStoreIndexTable(indexTable));
+        assertEquals(valueTable, StreamTableType.getValueTableFromIndexTable(indexTable));
+    }
 }
@@ -0,0 +1,88 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.table.description;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.impl.InMemoryKeyValueService;
+
+public class SchemaFingerprintsTest {
+    private static final Schema SCHEMA = ApiTestSchema.INSTANCE.getLatestSchema();
+    private static final TableReference TABLE = TableReference.createFromFullyQualifiedName("default.SchemaApiTest");
+
+    private final KeyValueService kvs = spy(new InMemoryKeyValueService(false));
+
+    @After
+    public void tearDown() {
+        kvs.close();
+    }
+
+    @Test
+    public void createsAllTablesOnFirstCall() {
+        Schemas.createTablesAndIndexes(SCHEMA, kvs);
+
+        assertThat(kvs.getAllTableNames()).containsAll(SCHEMA.getAllTablesAndIndexMetadata().keySet());
+    }
+
+    @Test
+    public void skipsTableCreationWhenFingerprintMatches() {
+        Schemas.createTablesAndIndexes(SCHEMA, kvs);
+        clearInvocations(kvs);
+
+        Schemas.createTablesAndIndexes(SCHEMA, kvs);
+
+        verify(kvs, never()).getMetadataForTables();
+        verify(kvs, never()).createTables(argThat(tables -> tables.containsKey(TABLE)));
+    }
+
+    @Test
+    public void onlyRecreatesMissingTables() {
+        Schemas.createTablesAndIndexes(SCHEMA, kvs);
+        kvs.dropTable(TABLE);
+        clearInvocations(kvs);
+
+        Schemas.createTablesAndIndexes(SCHEMA, kvs);
+
+        verify(kvs).createTables(argThat(tables -> tables.keySet().equals(ImmutableSet.of(TABLE))));
+        assertThat(kvs.getAllTableNames()).contains(TABLE);
+    }
+
+    @Test
+    public void fingerprintIsIndependentOfIterationOrderButNotOfMetadata() {
+        TableReference otherTable = TableReference.createFromFullyQualifiedName("default.other");
+        byte[] metadata = TableMetadata.allDefault().persistToBytes();
+        byte[] otherMetadata = new byte[] {1, 2, 3};
+
+        byte[] fingerprint = SchemaFingerprints.compute(ImmutableMap.of(TABLE, metadata, otherTable, otherMetadata));
+
+        assertThat(SchemaFingerprints.compute(ImmutableMap.of(otherTable, otherMetadata, TABLE, metadata)))
+                .isEqualTo(fingerprint);
+        assertThat(SchemaFingerprints.compute(ImmutableMap.of(TABLE, otherMetadata, otherTable, otherMetadata)))
+                .isNotEqualTo(fingerprint);
+    }
+}
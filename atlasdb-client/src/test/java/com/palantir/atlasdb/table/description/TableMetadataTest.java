@@ -33,6 +33,7 @@ public class TableMetadataTest {
             .appendHeavyAndReadLight(true)
             .nameLogSafety(LogSafety.SAFE)
             .denselyAccessedWideRows(true)
+            .immutable(true)
             .build();
 
     @Test
@@ -39,9 +39,13 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.Sets;
+import com.google.common.collect.Streams;
 import com.google.common.hash.Hashing;
 import com.google.common.primitives.Bytes;
 import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.palantir.atlasdb.compress.CompressionUtils;
 import com.palantir.atlasdb.encoding.PtBytes;
@@ -56,6 +60,8 @@ import com.palantir.atlasdb.keyvalue.api.RangeRequest;
 import com.palantir.atlasdb.keyvalue.api.RowResult;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.impl.Cells;
+import com.palantir.atlasdb.ptobject.CompositeKeyReader;
+import com.palantir.atlasdb.ptobject.CompositeKeyWriter;
 import com.palantir.atlasdb.ptobject.EncodingUtils;
 import com.palantir.atlasdb.table.api.AtlasDbDynamicMutablePersistentTable;
 import com.palantir.atlasdb.table.api.AtlasDbMutablePersistentTable;
@@ -68,6 +74,7 @@ import com.palantir.atlasdb.table.description.ValueType;
 import com.palantir.atlasdb.table.generation.ColumnValues;
 import com.palantir.atlasdb.table.generation.Descending;
 import com.palantir.atlasdb.table.generation.NamedColumnValue;
+import com.palantir.atlasdb.table.generation.TableReads;
 import com.palantir.atlasdb.transaction.api.AtlasDbConstraintCheckingMode;
 import com.palantir.atlasdb.transaction.api.ConstraintCheckingTransaction;
 import com.palantir.atlasdb.transaction.api.ImmutableGetRangesQuery;
@@ -174,16 +181,16 @@ public final class GenericRangeScanTestTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] component1Bytes = component1.getBytes();
-            return EncodingUtils.add(component1Bytes);
+            CompositeKeyWriter __writer = new CompositeKeyWriter(32);
+            __writer.write(component1.getBytes());
+            return __writer.toByteArray();
         }
 
         public static final Hydrator<GenericRangeScanTestRow> BYTES_HYDRATOR = new Hydrator<GenericRangeScanTestRow>() {
             @Override
             public GenericRangeScanTestRow hydrateFromBytes(byte[] __input) {
-                int __index = 0;
-                Sha256Hash component1 = new Sha256Hash(EncodingUtils.get32Bytes(__input, __index));
-                __index += 32;
+                CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                Sha256Hash component1 = new Sha256Hash(__reader.readBytes(32));
                 return new GenericRangeScanTestRow(component1);
             }
         };
@@ -266,16 +273,16 @@ public final class GenericRangeScanTestTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] component2Bytes = PtBytes.toBytes(component2);
-            return EncodingUtils.add(component2Bytes);
+            CompositeKeyWriter __writer = new CompositeKeyWriter(CompositeKeyWriter.sizeOfString(component2));
+            __writer.writeString(component2);
+            return __writer.toByteArray();
         }
 
         public static final Hydrator<GenericRangeScanTestColumn> BYTES_HYDRATOR = new Hydrator<GenericRangeScanTestColumn>() {
             @Override
             public GenericRangeScanTestColumn hydrateFromBytes(byte[] __input) {
-                int __index = 0;
-                String component2 = PtBytes.toString(__input, __index, __input.length-__index);
-                __index += 0;
+                CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                String component2 = __reader.readStringToEnd();
                 return new GenericRangeScanTestColumn(component2);
             }
         };
@@ -513,6 +520,15 @@ public final class GenericRangeScanTestTable implements
     public Multimap<GenericRangeScanTestRow, GenericRangeScanTestColumnValue> get(Multimap<GenericRangeScanTestRow, GenericRangeScanTestColumn> cells) {
         Set<Cell> rawCells = ColumnValues.toCells(cells);
         Map<Cell, byte[]> rawResults = t.get(tableRef, rawCells);
+        return getRowMapFromCellValues(rawResults);
+    }
+
+    public ListenableFuture<Multimap<GenericRangeScanTestRow, GenericRangeScanTestColumnValue>> getAsync(Multimap<GenericRangeScanTestRow, GenericRangeScanTestColumn> cells) {
+        Set<Cell> rawCells = ColumnValues.toCells(cells);
+        return Futures.transform(t.getAsync(tableRef, rawCells), GenericRangeScanTestTable::getRowMapFromCellValues, MoreExecutors.directExecutor());
+    }
+
+    private static Multimap<GenericRangeScanTestRow, GenericRangeScanTestColumnValue> getRowMapFromCellValues(Map<Cell, byte[]> rawResults) {
         Multimap<GenericRangeScanTestRow, GenericRangeScanTestColumnValue> rowMap = HashMultimap.create();
         for (Entry<Cell, byte[]> e : rawResults.entrySet()) {
             if (e.getValue().length > 0) {
@@ -525,6 +541,14 @@ public final class GenericRangeScanTestTable implements
         return rowMap;
     }
 
+    public Stream<GenericRangeScanTestRowResult> getRowsStream(Iterable<GenericRangeScanTestRow> rows) {
+        return getRowsStream(rows, allColumns);
+    }
+
+    public Stream<GenericRangeScanTestRowResult> getRowsStream(Iterable<GenericRangeScanTestRow> rows, ColumnSelection columns) {
+        return TableReads.getRowsStream(t, tableRef, Persistables.persistAll(rows), columns).map(GenericRangeScanTestRowResult::of);
+    }
+
     @Override
     public List<GenericRangeScanTestColumnValue> getRowColumns(GenericRangeScanTestRow row) {
         return getRowColumns(row, allColumns);
@@ -619,6 +643,10 @@ public final class GenericRangeScanTestTable implements
         return transformed;
     }
 
+    public Stream<Map.Entry<GenericRangeScanTestRow, GenericRangeScanTestColumnValue>> getRowsColumnRangeStream(Iterable<GenericRangeScanTestRow> rows, ColumnRangeSelection columnRangeSelection, int batchHint) {
+        return Streams.stream(getRowsColumnRange(rows, columnRangeSelection, batchHint));
+    }
+
     private RangeRequest optimizeRangeRequest(RangeRequest range) {
         if (range.getColumnNames().isEmpty()) {
             return range.getBuilder().retainColumns(allColumns).build();
@@ -639,6 +667,10 @@ public final class GenericRangeScanTestTable implements
         });
     }
 
+    public Stream<GenericRangeScanTestRowResult> getRangeStream(RangeRequest range) {
+        return TableReads.getRangeStream(t, tableRef, optimizeRangeRequest(range)).map(GenericRangeScanTestRowResult::of);
+    }
+
     @Deprecated
     public IterableView<BatchingVisitable<GenericRangeScanTestRowResult>> getRanges(Iterable<RangeRequest> ranges) {
         Iterable<BatchingVisitable<RowResult<byte[]>>> rangeResults = t.getRanges(tableRef, optimizeRangeRequests(ranges));
@@ -749,6 +781,8 @@ public final class GenericRangeScanTestTable implements
      * {@link ColumnValue}
      * {@link ColumnValues}
      * {@link ComparisonChain}
+     * {@link CompositeKeyReader}
+     * {@link CompositeKeyWriter}
      * {@link Compression}
      * {@link CompressionUtils}
      * {@link ConstraintCheckingTransaction}
@@ -757,6 +791,7 @@ public final class GenericRangeScanTestTable implements
      * {@link Entry}
      * {@link EnumSet}
      * {@link Function}
+     * {@link Futures}
      * {@link Generated}
      * {@link HashMultimap}
      * {@link HashSet}
@@ -774,9 +809,11 @@ public final class GenericRangeScanTestTable implements
      * {@link Iterators}
      * {@link Joiner}
      * {@link List}
+     * {@link ListenableFuture}
      * {@link Lists}
      * {@link Map}
      * {@link Maps}
+     * {@link MoreExecutors}
      * {@link MoreObjects}
      * {@link Multimap}
      * {@link Multimaps}
@@ -795,7 +832,9 @@ public final class GenericRangeScanTestTable implements
      * {@link Sha256Hash}
      * {@link SortedMap}
      * {@link Stream}
+     * {@link Streams}
      * {@link Supplier}
+     * {@link TableReads}
      * {@link TableReference}
      * {@link Throwables}
      * {@link TimeUnit}
@@ -805,5 +844,5 @@ public final class GenericRangeScanTestTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "TfefBeyZ4FkbPXKBGS9baA==";
+    static String __CLASS_HASH = "7aNq+0iIJj9Nw7xDFFWVLw==";
 }
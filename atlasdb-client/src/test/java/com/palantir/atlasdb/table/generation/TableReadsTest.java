@@ -0,0 +1,130 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.table.generation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.Futures;
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.futures.AtlasFutures;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.ColumnSelection;
+import com.palantir.atlasdb.keyvalue.api.RangeRequest;
+import com.palantir.atlasdb.keyvalue.api.RowResult;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.transaction.api.Transaction;
+import com.palantir.common.base.BatchingVisitableFromIterable;
+
+public class TableReadsTest {
+    private static final TableReference TABLE = TableReference.createFromFullyQualifiedName("test.table");
+    private static final byte[] ROW_1 = PtBytes.toBytes("row1");
+    private static final byte[] ROW_2 = PtBytes.toBytes("row2");
+    private static final byte[] COLUMN = PtBytes.toBytes("col");
+    private static final byte[] VALUE = PtBytes.toBytes("value");
+
+    private final Transaction transaction = mock(Transaction.class);
+
+    @Test
+    public void asyncRowReadsAreGroupedIntoSortedRowResults() {
+        when(transaction.getAsync(eq(TABLE), any())).thenReturn(Futures.immediateFuture(ImmutableMap.of(
+                Cell.create(ROW_2, COLUMN), VALUE,
+                Cell.create(ROW_1, COLUMN), VALUE)));
+
+        List<RowResult<byte[]>> rowResults = AtlasFutures.getUnchecked(TableReads.getRowsAsync(
+                transaction, TABLE, ImmutableList.of(ROW_2, ROW_1), ColumnSelection.create(ImmutableList.of(COLUMN))));
+
+        assertThat(rowResults).extracting(RowResult::getRowName).containsExactly(ROW_1, ROW_2);
+        assertThat(rowResults.get(0).getColumns()).containsOnlyKeys(COLUMN);
+    }
+
+    @Test
+    public void asyncRowReadsOmitRowsWithoutValues() {
+        when(transaction.getAsync(eq(TABLE), any())).thenReturn(Futures.immediateFuture(ImmutableMap.of(
+                Cell.create(ROW_1, COLUMN), PtBytes.EMPTY_BYTE_ARRAY)));
+
+        List<RowResult<byte[]>> rowResults = AtlasFutures.getUnchecked(TableReads.getRowsAsync(
+                transaction, TABLE, ImmutableList.of(ROW_1), ColumnSelection.create(ImmutableList.of(COLUMN))));
+
+        assertThat(rowResults).isEmpty();
+    }
+
+    @Test
+    public void rowsStreamReadsOneBatchAtATime() {
+        List<byte[]> rows = IntStream.range(0, 150)
+                .mapToObj(index -> PtBytes.toBytes(String.format("row%03d", index)))
+                .collect(Collectors.toList());
+        when(transaction.getRows(eq(TABLE), any(), any())).thenAnswer(invocation -> {
+            Iterable<byte[]> batch = invocation.getArgument(1);
+            SortedMap<byte[], RowResult<byte[]>> results = new TreeMap<>(UnsignedBytes.lexicographicalComparator());
+            batch.forEach(row -> results.put(row, rowResult(row)));
+            return results;
+        });
+
+        Stream<RowResult<byte[]>> stream = TableReads.getRowsStream(transaction, TABLE, rows, ColumnSelection.all());
+        verify(transaction, never()).getRows(any(), any(), any());
+
+        assertThat(stream.limit(101).map(RowResult::getRowName).collect(Collectors.toList()))
+                .isEqualTo(rows.subList(0, 101));
+        verify(transaction, times(2)).getRows(eq(TABLE), any(), any());
+    }
+
+    @Test
+    public void rangeStreamReadsOneBatchAtATime() {
+        List<RowResult<byte[]>> rows = IntStream.range(0, 5)
+                .mapToObj(index -> rowResult(PtBytes.toBytes("row" + index)))
+                .collect(Collectors.toList());
+        when(transaction.getRange(eq(TABLE), any())).thenAnswer(invocation -> {
+            RangeRequest range = invocation.getArgument(1);
+            return BatchingVisitableFromIterable.create(rows.stream()
+                    .filter(row -> range.inRange(row.getRowName()))
+                    .collect(Collectors.toList()));
+        });
+
+        Stream<RowResult<byte[]>> stream = TableReads.getRangeStream(
+                transaction, TABLE, RangeRequest.builder().batchHint(2).build());
+        verify(transaction, never()).getRange(any(), any());
+
+        assertThat(stream.limit(3).collect(Collectors.toList())).isEqualTo(rows.subList(0, 3));
+        verify(transaction, times(2)).getRange(eq(TABLE), any());
+    }
+
+    private static RowResult<byte[]> rowResult(byte[] row) {
+        return RowResult.create(row,
+                ImmutableSortedMap.<byte[], byte[]>orderedBy(UnsignedBytes.lexicographicalComparator())
+                        .put(COLUMN, VALUE)
+                        .build());
+    }
+}
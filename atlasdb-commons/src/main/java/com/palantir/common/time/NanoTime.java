@@ -62,6 +62,14 @@ public abstract class NanoTime implements Comparable<NanoTime> {
         return second.time() - first.time();
     }
 
+    /**
+     * Returns the number of nanoseconds that have elapsed between the given time and this time, which is negative if
+     * the given time is after this time.
+     */
+    public long nanosSince(NanoTime earlier) {
+        return nanosBetween(earlier, this);
+    }
+
     public NanoTime plus(Duration duration) {
         return create(time() + duration.toNanos());
     }
@@ -158,6 +158,16 @@ public abstract class AtlasDbConfig {
         return AtlasDbConstants.DEFAULT_BACKGROUND_SCRUB_BATCH_SIZE;
     }
 
+    /**
+     * The number of batches read from the scrub queue by each background scrub read thread that may still be
+     * being deleted while that thread reads further batches. Setting this to 0 makes each read thread wait for
+     * the deletes of a batch to complete before reading the next one.
+     */
+    @Value.Default
+    public int getBackgroundScrubMaxInFlightBatches() {
+        return AtlasDbConstants.DEFAULT_BACKGROUND_SCRUB_MAX_IN_FLIGHT_BATCHES;
+    }
+
     /**
      * If false, the KVS and classes that depend on it will only try to initialize synchronously and will throw on
      * failure, preventing AtlasDB from starting. This is consistent with the behaviour prior to implementing
@@ -257,6 +267,17 @@ public abstract class AtlasDbConfig {
         return 1000;
     }
 
+    /**
+     * If true, concurrent {@link com.palantir.atlasdb.keyvalue.api.KeyValueService#get} requests (for example, from
+     * many short transactions reading the same hot cells) are coalesced into batched requests to the underlying key
+     * value service. This trades a small amount of latency for fewer, larger requests under high concurrency. The
+     * batched requests are made on a bounded pool of threads, so at most 32 run at once.
+     */
+    @Value.Default
+    public boolean coalesceKeyValueServiceReads() {
+        return false;
+    }
+
     /**
      * The default lock expiration time for requests to the lock service.
      */
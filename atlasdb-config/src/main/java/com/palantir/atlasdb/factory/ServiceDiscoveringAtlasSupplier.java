@@ -32,6 +32,7 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Suppliers;
+import com.palantir.atlasdb.compress.DictionaryCompressingKeyValueService;
 import com.palantir.atlasdb.config.LeaderConfig;
 import com.palantir.atlasdb.keyvalue.api.KeyValueService;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
@@ -51,6 +52,7 @@ public class ServiceDiscoveringAtlasSupplier {
     private static String timestampServiceCreationInfo = null;
 
     private final Optional<LeaderConfig> leaderConfig;
+    private final Supplier<KeyValueService> rawKeyValueService;
     private final Supplier<KeyValueService> keyValueService;
     private final Supplier<ManagedTimestampService> timestampService;
     private final Supplier<TimestampStoreInvalidator> timestampStoreInvalidator;
@@ -67,7 +69,7 @@ public class ServiceDiscoveringAtlasSupplier {
         this.leaderConfig = leaderConfig;
 
         AtlasDbFactory atlasFactory = createAtlasFactoryOfCorrectType(config);
-        keyValueService = Suppliers.memoize(
+        rawKeyValueService = Suppliers.memoize(
                 () -> atlasFactory.createRawKeyValueService(
                         metricsManager,
                         config,
@@ -76,11 +78,18 @@ public class ServiceDiscoveringAtlasSupplier {
                         namespace,
                         timestampSupplier,
                         initializeAsync));
+        keyValueService = Suppliers.memoize(
+                () -> DictionaryCompressingKeyValueService.create(rawKeyValueService.get()));
+        // The timestamp service and invalidator need the key value service of the factory's own type
         timestampService = () ->
-                atlasFactory.createManagedTimestampService(getKeyValueService(), timestampTable, initializeAsync);
-        timestampStoreInvalidator = () -> atlasFactory.createTimestampStoreInvalidator(getKeyValueService());
+                atlasFactory.createManagedTimestampService(rawKeyValueService.get(), timestampTable, initializeAsync);
+        timestampStoreInvalidator = () -> atlasFactory.createTimestampStoreInvalidator(rawKeyValueService.get());
     }
 
+    /**
+     * Returns the key value service, with values of columns that have dictionary compression compressed by a
+     * {@link DictionaryCompressingKeyValueService}.
+     */
     public KeyValueService getKeyValueService() {
         return keyValueService.get();
     }
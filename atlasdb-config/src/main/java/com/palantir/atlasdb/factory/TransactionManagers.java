@@ -96,6 +96,7 @@ import com.palantir.atlasdb.keyvalue.api.watch.LockWatchManager;
 import com.palantir.atlasdb.keyvalue.api.watch.LockWatchManagerImpl;
 import com.palantir.atlasdb.keyvalue.api.watch.NoOpLockWatchManager;
 import com.palantir.atlasdb.keyvalue.impl.ProfilingKeyValueService;
+import com.palantir.atlasdb.keyvalue.impl.ReadCoalescingKeyValueService;
 import com.palantir.atlasdb.keyvalue.impl.SweepStatsKeyValueService;
 import com.palantir.atlasdb.keyvalue.impl.TracingKeyValueService;
 import com.palantir.atlasdb.keyvalue.impl.ValidatingQueryRewritingKeyValueService;
@@ -120,6 +121,7 @@ import com.palantir.atlasdb.sweep.SweepBatchConfig;
 import com.palantir.atlasdb.sweep.SweepTaskRunner;
 import com.palantir.atlasdb.sweep.SweeperServiceImpl;
 import com.palantir.atlasdb.sweep.metrics.LegacySweepMetrics;
+import com.palantir.atlasdb.sweep.priority.SweepPriorityChangeFeed;
 import com.palantir.atlasdb.sweep.queue.MultiTableSweepQueueWriter;
 import com.palantir.atlasdb.sweep.queue.TargetedSweeper;
 import com.palantir.atlasdb.sweep.queue.clear.SafeTableClearerKeyValueService;
@@ -399,6 +401,7 @@ public abstract class TransactionManagers {
         KvsProfilingLogger.setSlowLogThresholdMillis(config().getKvsSlowLogThresholdMillis());
 
         Refreshable<SweepConfig> sweepConfig = runtime.map(AtlasDbRuntimeConfig::sweep);
+        SweepPriorityChangeFeed sweepPriorityChangeFeed = new SweepPriorityChangeFeed();
 
         KeyValueService keyValueService = initializeCloseable(() -> {
             KeyValueService kvs = atlasFactory.getKeyValueService();
@@ -412,10 +415,15 @@ public abstract class TransactionManagers {
                         new TimelockTimestampServiceAdapter(lockAndTimestampServices.timelock()),
                         sweepConfig.map(SweepConfig::writeThreshold),
                         sweepConfig.map(SweepConfig::writeSizeThreshold),
-                        () -> true
+                        () -> true,
+                        sweepPriorityChangeFeed
                 );
             }
 
+            if (config().coalesceKeyValueServiceReads()) {
+                kvs = ReadCoalescingKeyValueService.create(kvs);
+            }
+
             kvs = TracingKeyValueService.create(kvs);
             kvs = AtlasDbMetrics.instrumentTimed(metricsManager.getRegistry(),
                     KeyValueService.class,
@@ -448,6 +456,8 @@ public abstract class TransactionManagers {
                                 .setBackgroundScrubBatchSize(config().getBackgroundScrubBatchSize())
                                 .setBackgroundScrubFrequencyMillis(config().getBackgroundScrubFrequencyMillis())
                                 .setBackgroundScrubThreads(config().getBackgroundScrubThreads())
+                                .setBackgroundScrubReadThreads(config().getBackgroundScrubReadThreads())
+                                .setBackgroundScrubMaxInFlightBatches(config().getBackgroundScrubMaxInFlightBatches())
                                 .setPunchIntervalMillis(config().getPunchIntervalMillis())
                                 .setTransactionReadTimeout(config().getTransactionReadTimeoutMillis())
                                 .setInitializeAsync(config().initializeAsync())
@@ -535,6 +545,7 @@ public abstract class TransactionManagers {
                         follower,
                         transactionManager,
                         persistentLockManager,
+                        sweepPriorityChangeFeed,
                         runBackgroundSweepProcess()),
                 closeables);
         initializeCloseable(
@@ -779,6 +790,7 @@ public abstract class TransactionManagers {
             CleanupFollower follower,
             TransactionManager transactionManager,
             PersistentLockManager persistentLockManager,
+            SweepPriorityChangeFeed sweepPriorityChangeFeed,
             boolean runInBackground) {
         CellsSweeper cellsSweeper = new CellsSweeper(
                 transactionManager,
@@ -821,7 +833,8 @@ public abstract class TransactionManagers {
                 () -> runtimeConfigSupplier.get().sweep().sweepThreads(),
                 () -> runtimeConfigSupplier.get().sweep().pauseMillis(),
                 () -> runtimeConfigSupplier.get().sweep().sweepPriorityOverrides(),
-                specificTableSweeper);
+                specificTableSweeper,
+                sweepPriorityChangeFeed);
 
         transactionManager.registerClosingCallback(backgroundSweeper::shutdown);
 
@@ -27,6 +27,7 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 import com.palantir.atlasdb.AtlasDbConstants;
+import com.palantir.atlasdb.compress.DictionaryCompressingKeyValueService;
 import com.palantir.atlasdb.config.LeaderConfig;
 import com.palantir.atlasdb.spi.AtlasDbFactory;
 import com.palantir.atlasdb.spi.KeyValueServiceConfig;
@@ -50,6 +51,8 @@ public class ServiceDiscoveringAtlasSupplierTest {
         ServiceDiscoveringAtlasSupplier atlasSupplier = createAtlasSupplier(kvsConfig);
 
         assertThat(atlasSupplier.getKeyValueService())
+                .isInstanceOf(DictionaryCompressingKeyValueService.class);
+        assertThat(((DictionaryCompressingKeyValueService) atlasSupplier.getKeyValueService()).delegate())
                 .as("delegates createRawKeyValueService")
                 .isEqualTo(delegate.createRawKeyValueService(
                         metrics,
@@ -0,0 +1,99 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.keyvalue.dbkvs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import com.palantir.atlasdb.AtlasDbConstants;
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.RangeRequest;
+import com.palantir.atlasdb.keyvalue.api.RowResult;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.api.Value;
+import com.palantir.atlasdb.keyvalue.dbkvs.impl.ConnectionManagerAwareDbKvs;
+import com.palantir.atlasdb.keyvalue.impl.TestResourceManager;
+import com.palantir.common.base.ClosableIterator;
+import com.palantir.conjure.java.api.config.service.HumanReadableDuration;
+
+public class DbkvsPostgresStreamingRangeScanKeyValueServiceTest extends AbstractDbKvsKeyValueServiceTest {
+    @ClassRule
+    public static final TestResourceManager TRM = new TestResourceManager(
+            () -> createKvs(HumanReadableDuration.minutes(10)));
+
+    private static final TableReference STREAMING_TABLE = TableReference.create(TEST_NAMESPACE, "streaming");
+    private static final int NUM_ROWS = 50;
+    private static final int NUM_COLUMNS = 3;
+
+    public DbkvsPostgresStreamingRangeScanKeyValueServiceTest() {
+        super(TRM);
+    }
+
+    @After
+    @Override
+    public void tearDown() throws Exception {
+        super.tearDown();
+        keyValueService.getAllTableNames().stream()
+                .filter(table -> !table.getQualifiedName().equals("_metadata"))
+                .forEach(keyValueService::dropTable);
+    }
+
+    @Test
+    public void rangeScanThatExceedsMaxStreamingDurationContinuesByPaging() {
+        keyValueService.createTable(STREAMING_TABLE, AtlasDbConstants.GENERIC_TABLE_METADATA);
+        Map<Cell, byte[]> values = Maps.newHashMap();
+        for (int row = 0; row < NUM_ROWS; row++) {
+            for (int col = 0; col < NUM_COLUMNS; col++) {
+                values.put(Cell.create(PtBytes.toBytes(row), PtBytes.toBytes(col)), PtBytes.toBytes(row * col));
+            }
+        }
+        keyValueService.put(STREAMING_TABLE, values, 1L);
+
+        RangeRequest request = RangeRequest.builder().batchHint(7).build();
+        List<RowResult<Value>> expected = readAll(keyValueService, request);
+        assertThat(expected).hasSize(NUM_ROWS);
+
+        try (ConnectionManagerAwareDbKvs expiringKvs = createKvs(HumanReadableDuration.milliseconds(0))) {
+            assertThat(readAll(expiringKvs, request)).isEqualTo(expected);
+            assertThat(readAll(expiringKvs, RangeRequest.reverseBuilder().batchHint(7).build()))
+                    .isEqualTo(ImmutableList.copyOf(expected).reverse());
+        }
+    }
+
+    private static List<RowResult<Value>> readAll(KeyValueService kvs, RangeRequest request) {
+        try (ClosableIterator<RowResult<Value>> iterator = kvs.getRange(STREAMING_TABLE, request, Long.MAX_VALUE)) {
+            return ImmutableList.copyOf(iterator);
+        }
+    }
+
+    private static ConnectionManagerAwareDbKvs createKvs(HumanReadableDuration maxStreamingRangeScanDuration) {
+        return ConnectionManagerAwareDbKvs.create(DbkvsPostgresTestSuite.getKvsConfig(
+                ImmutablePostgresDdlConfig.builder()
+                        .compactInterval(HumanReadableDuration.days(2))
+                        .maxStreamingRangeScanDuration(maxStreamingRangeScanDuration)
+                        .build()));
+    }
+}
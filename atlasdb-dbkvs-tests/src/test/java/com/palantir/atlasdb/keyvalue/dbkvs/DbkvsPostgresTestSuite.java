@@ -42,6 +42,7 @@ import com.palantir.nexus.db.pool.config.ImmutablePostgresConnectionConfig;
 @SuiteClasses({
         DbkvsPostgresTargetedSweepIntegrationTest.class,
         DbkvsPostgresKeyValueServiceTest.class,
+        DbkvsPostgresStreamingRangeScanKeyValueServiceTest.class,
         DbkvsPostgresSerializableTransactionTest.class,
         DbkvsPostgresSweepTaskRunnerTest.class,
         DbkvsBackgroundSweeperIntegrationTest.class,
@@ -73,6 +74,12 @@ public final class DbkvsPostgresTestSuite {
     }
 
     public static DbKeyValueServiceConfig getKvsConfig() {
+        return getKvsConfig(ImmutablePostgresDdlConfig.builder()
+                .compactInterval(HumanReadableDuration.days(2))
+                .build());
+    }
+
+    public static DbKeyValueServiceConfig getKvsConfig(PostgresDdlConfig ddlConfig) {
         DockerPort port = docker.containers()
                 .container("postgres")
                 .port(POSTGRES_PORT_NUMBER);
@@ -89,9 +96,7 @@ public final class DbkvsPostgresTestSuite {
 
         return ImmutableDbKeyValueServiceConfig.builder()
                 .connection(connectionConfig)
-                .ddl(ImmutablePostgresDdlConfig.builder()
-                        .compactInterval(HumanReadableDuration.days(2))
-                        .build())
+                .ddl(ddlConfig)
                 .build();
     }
 
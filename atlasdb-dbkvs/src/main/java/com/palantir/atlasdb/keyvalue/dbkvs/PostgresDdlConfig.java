@@ -15,6 +15,8 @@
  */
 package com.palantir.atlasdb.keyvalue.dbkvs;
 
+import java.util.Optional;
+
 import org.immutables.value.Value;
 
 import com.fasterxml.jackson.annotation.JsonTypeName;
@@ -51,4 +53,13 @@ public abstract class PostgresDdlConfig extends DdlConfig {
     public HumanReadableDuration compactInterval() {
         return HumanReadableDuration.seconds(0);
     }
+
+    /**
+     * If present, range scans read their results through a single server-side cursor on a dedicated connection,
+     * instead of issuing a new query for each page. The cursor is closed once it has been open for this duration,
+     * even if the scan is not being read, so that it does not hold a connection and database transaction open
+     * indefinitely. A scan whose cursor was closed this way, or failed, falls back to paging from the last cell it
+     * read.
+     */
+    public abstract Optional<HumanReadableDuration> maxStreamingRangeScanDuration();
 }
@@ -123,6 +123,7 @@ import com.palantir.common.base.Throwables;
 import com.palantir.common.collect.Maps2;
 import com.palantir.common.concurrent.NamedThreadFactory;
 import com.palantir.common.concurrent.PTExecutors;
+import com.palantir.conjure.java.api.config.service.HumanReadableDuration;
 import com.palantir.exception.PalantirSqlException;
 import com.palantir.logsafe.Preconditions;
 import com.palantir.nexus.db.sql.AgnosticLightResultRow;
@@ -199,7 +200,8 @@ public final class DbKvs extends AbstractKeyValueService {
                 connections,
                 new ParallelTaskRunner(newFixedThreadPool(config.poolSize()), config.fetchBatchSize()),
                 (conns, tbl, ids) -> Collections.emptyMap(), // no overflow on postgres
-                new PostgresGetRange(prefixedTableNames, connections, tableMetadataCache),
+                new PostgresGetRange(prefixedTableNames, connections, tableMetadataCache,
+                        config.maxStreamingRangeScanDuration().map(HumanReadableDuration::toJavaDuration)),
                 new DbKvsGetCandidateCellsForSweeping(cellTsPairLoader));
     }
 
@@ -308,6 +310,55 @@ public final class DbKvs extends AbstractKeyValueService {
                         table.getLatestCells(cellBatch, true)));
     }
 
+    /**
+     * Each table is stored in its own physical table (or tables, if values can overflow), so the values of different
+     * tables are read with separate queries. Those queries are run concurrently, so that reading from several tables
+     * takes roughly as long as reading from the slowest one.
+     */
+    @Override
+    public Map<TableReference, Map<Cell, Value>> getMulti(
+            Map<TableReference, Map<Cell, Long>> timestampByCellByTable) {
+        if (timestampByCellByTable.size() == 1) {
+            Entry<TableReference, Map<Cell, Long>> entry =
+                    Iterables.getOnlyElement(timestampByCellByTable.entrySet());
+            return ImmutableMap.of(entry.getKey(), get(entry.getKey(), entry.getValue()));
+        }
+
+        List<TableReference> tableRefs = ImmutableList.copyOf(timestampByCellByTable.keySet());
+        List<Callable<Map<Cell, Value>>> callables = Lists.newArrayListWithCapacity(tableRefs.size());
+        for (TableReference tableRef : tableRefs) {
+            Map<Cell, Long> timestampByCell = timestampByCellByTable.get(tableRef);
+            callables.add(() -> {
+                String originalName = Thread.currentThread().getName();
+                Thread.currentThread().setName(
+                        "Atlas getMulti of " + timestampByCell.size() + " cells from " + tableRef);
+                try {
+                    return get(tableRef, timestampByCell);
+                } finally {
+                    Thread.currentThread().setName(originalName);
+                }
+            });
+        }
+
+        List<Future<Map<Cell, Value>>> futures;
+        try {
+            futures = executor.invokeAll(callables);
+        } catch (InterruptedException e) {
+            throw Throwables.throwUncheckedException(e);
+        }
+        Map<TableReference, Map<Cell, Value>> results = Maps.newHashMapWithExpectedSize(tableRefs.size());
+        for (int i = 0; i < tableRefs.size(); i++) {
+            try {
+                results.put(tableRefs.get(i), futures.get(i).get());
+            } catch (InterruptedException e) {
+                throw Throwables.throwUncheckedException(e);
+            } catch (ExecutionException e) {
+                throw Throwables.rewrapAndThrowUncheckedException(e.getCause());
+            }
+        }
+        return results;
+    }
+
     private Map<Cell, Value> getRowsBatching(TableReference tableRef,
                                              Iterable<byte[]> rows,
                                              ColumnSelection columnSelection,
@@ -627,7 +678,7 @@ public final class DbKvs extends AbstractKeyValueService {
             TableReference tableRef,
             RangeRequest rangeRequest,
             long timestamp) {
-        return ClosableIterators.wrap(getRangeStrategy.getRange(tableRef, rangeRequest, timestamp));
+        return getRangeStrategy.getRange(tableRef, rangeRequest, timestamp);
     }
 
     public void setMaxRangeOfTimestampsBatchSize(long newValue) {
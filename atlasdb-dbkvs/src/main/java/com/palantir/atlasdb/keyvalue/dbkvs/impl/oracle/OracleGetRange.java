@@ -152,13 +152,16 @@ public class OracleGetRange implements DbKvsGetRange {
     }
 
     @Override
-    public Iterator<RowResult<Value>> getRange(TableReference tableRef, RangeRequest rangeRequest, long timestamp) {
+    public ClosableIterator<RowResult<Value>> getRange(
+            TableReference tableRef,
+            RangeRequest rangeRequest,
+            long timestamp) {
         boolean haveOverflow = checkIfTableHasOverflowUsingNewConnection(tableRef);
         int maxRowsPerPage = RangeHelpers.getMaxRowsPerPage(rangeRequest);
         int maxCellsPerPage = DbKvsGetRanges.getMaxCellsPerPage(
                 tableRef, rangeRequest, maxRowsPerPage, connectionPool, tableMetadataCache);
 
-        return Iterators.concat(new PageIterator(
+        return ClosableIterators.wrap(Iterators.concat(new PageIterator(
                 rangeRequest.getStartInclusive(),
                 rangeRequest.getEndExclusive(),
                 rangeRequest.getColumnNames(),
@@ -167,7 +170,7 @@ public class OracleGetRange implements DbKvsGetRange {
                 haveOverflow,
                 maxRowsPerPage,
                 maxCellsPerPage,
-                timestamp));
+                timestamp)));
     }
 
     private boolean checkIfTableHasOverflowUsingNewConnection(TableReference tableRef) {
@@ -15,12 +15,23 @@
  */
 package com.palantir.atlasdb.keyvalue.dbkvs.impl.postgres;
 
+import java.sql.Connection;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import javax.annotation.concurrent.GuardedBy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.ImmutableSortedMap;
@@ -43,10 +54,15 @@ import com.palantir.atlasdb.keyvalue.dbkvs.impl.ranges.RangePredicateHelper;
 import com.palantir.common.annotation.Output;
 import com.palantir.common.base.ClosableIterator;
 import com.palantir.common.base.ClosableIterators;
+import com.palantir.common.concurrent.NamedThreadFactory;
+import com.palantir.common.concurrent.PTExecutors;
 import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.UnsafeArg;
 import com.palantir.nexus.db.DBType;
 import com.palantir.nexus.db.sql.AgnosticLightResultRow;
 import com.palantir.nexus.db.sql.AgnosticLightResultSet;
+import com.palantir.sql.Connections;
 
 /* 1) On Postgres, there seems to be no efficient way to page at atlas row boundaries.
  *    The approach with 'DENSE_RANK() <= x' that works exceptionally well on Oracle,
@@ -119,29 +135,51 @@ import com.palantir.nexus.db.sql.AgnosticLightResultSet;
  *
  *    All of the above seem to perform wrose than the self-join approach.
  *
+ *
+ * 3) Every page re-plans and re-runs the self-join. If a maximum streaming duration is configured, we
+ *    instead run the query once without a LIMIT, and read it page by page through a server-side cursor.
+ *    The Postgres driver only uses a cursor when autocommit is off, so this happens in a read-only
+ *    transaction on a dedicated connection. To avoid holding that transaction (and so vacuum) back for
+ *    too long, a timer closes the cursor and returns the connection once the duration has passed, even
+ *    if the caller stops consuming the scan without closing it. The scan then carries on by paging from
+ *    the last cell read; it does the same if the cursor fails.
+ *
  */
 public class PostgresGetRange implements DbKvsGetRange {
+    private static final Logger log = LoggerFactory.getLogger(PostgresGetRange.class);
+    private static final ScheduledExecutorService CURSOR_EXPIRY_EXECUTOR = PTExecutors.newSingleThreadScheduledExecutor(
+            new NamedThreadFactory("postgres-streaming-range-scan-expiry", true));
+
     private final PostgresPrefixedTableNames prefixedTableNames;
     private final SqlConnectionSupplier connectionPool;
     private final TableMetadataCache tableMetadataCache;
+    private final Optional<Duration> maxStreamingScanDuration;
 
     public PostgresGetRange(PostgresPrefixedTableNames prefixedTableNames,
                             SqlConnectionSupplier connectionPool,
                             TableMetadataCache tableMetadataCache) {
+        this(prefixedTableNames, connectionPool, tableMetadataCache, Optional.empty());
+    }
+
+    public PostgresGetRange(PostgresPrefixedTableNames prefixedTableNames,
+                            SqlConnectionSupplier connectionPool,
+                            TableMetadataCache tableMetadataCache,
+                            Optional<Duration> maxStreamingScanDuration) {
         this.prefixedTableNames = prefixedTableNames;
         this.connectionPool = connectionPool;
         this.tableMetadataCache = tableMetadataCache;
+        this.maxStreamingScanDuration = maxStreamingScanDuration;
     }
 
     @Override
-    public Iterator<RowResult<Value>> getRange(TableReference tableRef,
-                                               RangeRequest rangeRequest,
-                                               long timestamp) {
+    public ClosableIterator<RowResult<Value>> getRange(TableReference tableRef,
+                                                       RangeRequest rangeRequest,
+                                                       long timestamp) {
         int maxRowsPerPage = RangeHelpers.getMaxRowsPerPage(rangeRequest);
         int maxCellsPerPage = DbKvsGetRanges.getMaxCellsPerPage(
                 tableRef, rangeRequest, maxRowsPerPage, connectionPool, tableMetadataCache);
         String tableName = DbKvs.internalTableName(tableRef);
-        Iterator<Iterator<RowResult<Value>>> pageIterator = new PageIterator(
+        PageIterator pageIterator = new PageIterator(
                 rangeRequest.getStartInclusive(),
                 rangeRequest.getEndExclusive(),
                 rangeRequest.getColumnNames(),
@@ -151,14 +189,18 @@ public class PostgresGetRange implements DbKvsGetRange {
                 maxCellsPerPage,
                 tableName,
                 prefixedTableNames.get(tableRef));
-        return Iterators.concat(pageIterator);
+        return ClosableIterators.wrap(Iterators.concat(pageIterator), pageIterator::closeCursor);
     }
 
     private class PageIterator extends AbstractIterator<Iterator<RowResult<Value>>> {
         private byte[] currentRowName;
         private ImmutableSortedMap.Builder<byte[], Value> currentRowCells = RangeHelpers.newColumnMap();
         private byte[] firstRowStartColumnInclusive = PtBytes.EMPTY_BYTE_ARRAY;
+        private byte[] lastColName = null;
         private boolean endOfResults = false;
+        private boolean streamingAttempted = false;
+        // Non-null only while results are being streamed through a server-side cursor.
+        private StreamingCursor cursor = null;
 
         private final byte[] endExclusive;
         private final Set<byte[]> columnSelection;
@@ -183,40 +225,86 @@ public class PostgresGetRange implements DbKvsGetRange {
         }
 
         @Override
-        @SuppressWarnings("deprecation")
         protected Iterator<RowResult<Value>> computeNext() {
             if (endOfResults) {
                 return endOfData();
-            } else {
-                try (ConnectionSupplier conns = new ConnectionSupplier(connectionPool);
-                        ClosableIterator<AgnosticLightResultRow> iter = selectNextPage(conns)) {
-                    List<RowResult<Value>> results = new ArrayList<>(maxRowsPerPage);
-                    int numSqlRows = 0;
-                    byte[] colName = null;
-                    while (iter.hasNext()) {
-                        numSqlRows += 1;
-                        AgnosticLightResultRow sqlRow = iter.next();
-                        byte[] rowName = sqlRow.getBytes("row_name");
-                        colName = Preconditions.checkNotNull(sqlRow.getBytes("col_name"),
-                                "received a null col_name from the database");
-                        if (!Arrays.equals(currentRowName, rowName)) {
-                            flushCurrentRow(results);
-                            currentRowName = rowName;
-                        }
-                        Value value = Value.create(sqlRow.getBytes("val"), sqlRow.getLong("ts"));
-                        currentRowCells.put(colName, value);
-                    }
-                    if (numSqlRows < maxCellsPerPage || colName == null) {
-                        getCurrentRowResult().ifPresent(results::add);
-                        endOfResults = true;
-                    } else {
-                        computeNextStartPosition(colName, results);
-                    }
-                    return results.iterator();
+            }
+            if (!streamingAttempted && maxStreamingScanDuration.isPresent()) {
+                streamingAttempted = true;
+                cursor = tryOpenCursor(maxStreamingScanDuration.get());
+            }
+            if (cursor != null) {
+                return computeNextFromCursor();
+            }
+            try (ConnectionSupplier conns = new ConnectionSupplier(connectionPool);
+                    ClosableIterator<AgnosticLightResultRow> iter = selectNextPage(conns)) {
+                List<RowResult<Value>> results = new ArrayList<>(maxRowsPerPage);
+                int numSqlRows = readCells(iter, results);
+                if (numSqlRows < maxCellsPerPage || numSqlRows == 0) {
+                    getCurrentRowResult().ifPresent(results::add);
+                    endOfResults = true;
+                } else {
+                    computeNextStartPosition(lastColName, results);
                 }
+                return results.iterator();
             }
         }
 
+        private Iterator<RowResult<Value>> computeNextFromCursor() {
+            List<RowResult<Value>> results = new ArrayList<>(maxRowsPerPage);
+            try {
+                if (!cursor.read(rows -> readCells(rows, results))) {
+                    log.info("Range scan over {} streamed for longer than {}; continuing the scan by paging",
+                            UnsafeArg.of("tableName", tableName),
+                            SafeArg.of("maxStreamingScanDuration", maxStreamingScanDuration.get()));
+                    fallBackToPaging(results);
+                } else if (cursor.isExhausted()) {
+                    closeCursor();
+                    getCurrentRowResult().ifPresent(results::add);
+                    endOfResults = true;
+                }
+            } catch (RuntimeException e) {
+                log.warn("Streaming range scan over {} failed; continuing the scan by paging",
+                        UnsafeArg.of("tableName", tableName),
+                        e);
+                fallBackToPaging(results);
+            }
+            return results.iterator();
+        }
+
+        private void fallBackToPaging(@Output List<RowResult<Value>> results) {
+            closeCursor();
+            if (lastColName != null) {
+                computeNextStartPosition(lastColName, results);
+            }
+        }
+
+        /**
+         * Reads up to a page of cells, flushing each complete row to the results. The current row, and the last
+         * column read from it, are left in place so that reading can continue from the same or a new query.
+         *
+         * @return the number of cells read
+         */
+        @SuppressWarnings("deprecation")
+        private int readCells(Iterator<AgnosticLightResultRow> iter, @Output List<RowResult<Value>> results) {
+            int numSqlRows = 0;
+            while (numSqlRows < maxCellsPerPage && iter.hasNext()) {
+                numSqlRows += 1;
+                AgnosticLightResultRow sqlRow = iter.next();
+                byte[] rowName = sqlRow.getBytes("row_name");
+                byte[] colName = Preconditions.checkNotNull(sqlRow.getBytes("col_name"),
+                        "received a null col_name from the database");
+                if (!Arrays.equals(currentRowName, rowName)) {
+                    flushCurrentRow(results);
+                    currentRowName = rowName;
+                }
+                Value value = Value.create(sqlRow.getBytes("val"), sqlRow.getLong("ts"));
+                currentRowCells.put(colName, value);
+                lastColName = colName;
+            }
+            return numSqlRows;
+        }
+
         private void computeNextStartPosition(byte[] lastColName,
                                               @Output List<RowResult<Value>> results) {
             firstRowStartColumnInclusive = RangeRequests.getNextStartRowUnlessTerminal(reverse, lastColName);
@@ -246,13 +334,40 @@ public class PostgresGetRange implements DbKvsGetRange {
         }
 
         private ClosableIterator<AgnosticLightResultRow> selectNextPage(ConnectionSupplier conns) {
-            FullQuery query = getRangeQuery();
+            FullQuery query = getRangeQuery(true);
             AgnosticLightResultSet rs = conns.get().selectLightResultSetUnregisteredQueryWithFetchSize(
                     query.getQuery(), maxCellsPerPage, query.getArgs());
             return ClosableIterators.wrap(rs.iterator(), rs);
         }
 
-        private FullQuery getRangeQuery() {
+        private StreamingCursor tryOpenCursor(Duration maxDuration) {
+            ConnectionSupplier conns = new ConnectionSupplier(connectionPool);
+            Connection connection = null;
+            try {
+                connection = conns.get().getUnderlyingConnection();
+                Connections.setAutoCommit(connection, false);
+                FullQuery query = getRangeQuery(false);
+                AgnosticLightResultSet rs = conns.get().selectLightResultSetUnregisteredQueryWithFetchSize(
+                        query.getQuery(), maxCellsPerPage, query.getArgs());
+                return StreamingCursor.open(conns, connection, rs, maxDuration);
+            } catch (RuntimeException e) {
+                log.warn("Could not open a cursor to stream range scan over {}; paging instead",
+                        UnsafeArg.of("tableName", tableName),
+                        e);
+                StreamingCursor.release(conns, connection);
+                return null;
+            }
+        }
+
+        void closeCursor() {
+            if (cursor != null) {
+                StreamingCursor toClose = cursor;
+                cursor = null;
+                toClose.close();
+            }
+        }
+
+        private FullQuery getRangeQuery(boolean limitToPage) {
             String direction = reverse ? "DESC" : "ASC";
             FullQuery.Builder queryBuilder = FullQuery.builder()
                     .append("/* GET_RANGE(").append(tableName).append(") */")
@@ -266,8 +381,11 @@ public class PostgresGetRange implements DbKvsGetRange {
                     .columnSelection(columnSelection);
             queryBuilder
                     .append("    GROUP BY row_name, col_name")
-                    .append("    ORDER BY row_name ").append(direction).append(", col_name ").append(direction)
-                    .append("    LIMIT ").append(maxCellsPerPage)
+                    .append("    ORDER BY row_name ").append(direction).append(", col_name ").append(direction);
+            if (limitToPage) {
+                queryBuilder.append("    LIMIT ").append(maxCellsPerPage);
+            }
+            queryBuilder
                     .append("  ) i")
                     .append("  WHERE wrap.row_name = i.row_name")
                     .append("    AND wrap.col_name = i.col_name")
@@ -277,4 +395,86 @@ public class PostgresGetRange implements DbKvsGetRange {
         }
     }
 
+    /**
+     * A server-side cursor that a timer closes once its time has run out, so that its connection and transaction
+     * are released even if the scan is abandoned. Reads and closing are serialised, so the cursor is never closed in
+     * the middle of reading a page.
+     */
+    private static final class StreamingCursor {
+        private final ConnectionSupplier conns;
+        private final Connection connection;
+        private final AgnosticLightResultSet resultSet;
+        private final Iterator<AgnosticLightResultRow> rows;
+        private volatile ScheduledFuture<?> expiry;
+
+        @GuardedBy("this")
+        private boolean closed = false;
+
+        private StreamingCursor(ConnectionSupplier conns, Connection connection, AgnosticLightResultSet resultSet) {
+            this.conns = conns;
+            this.connection = connection;
+            this.resultSet = resultSet;
+            this.rows = resultSet.iterator();
+        }
+
+        static StreamingCursor open(ConnectionSupplier conns, Connection connection, AgnosticLightResultSet resultSet,
+                Duration maxDuration) {
+            StreamingCursor cursor = new StreamingCursor(conns, connection, resultSet);
+            cursor.expiry = CURSOR_EXPIRY_EXECUTOR.schedule(
+                    cursor::closeResources, maxDuration.toNanos(), TimeUnit.NANOSECONDS);
+            return cursor;
+        }
+
+        /**
+         * Passes the rows of the cursor to the given reader, unless the cursor has already been closed.
+         *
+         * @return whether the cursor was still open
+         */
+        synchronized boolean read(Consumer<Iterator<AgnosticLightResultRow>> reader) {
+            if (closed) {
+                return false;
+            }
+            reader.accept(rows);
+            return true;
+        }
+
+        synchronized boolean isExhausted() {
+            return !closed && !rows.hasNext();
+        }
+
+        void close() {
+            expiry.cancel(false);
+            closeResources();
+        }
+
+        private synchronized void closeResources() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                resultSet.close();
+            } catch (RuntimeException e) {
+                log.warn("Failed to close the cursor of a streaming range scan", e);
+            } finally {
+                release(conns, connection);
+            }
+        }
+
+        /**
+         * Ends the read-only transaction the cursor ran in, if any, and returns the connection to the pool.
+         */
+        static void release(ConnectionSupplier conns, Connection connection) {
+            try {
+                if (connection != null) {
+                    Connections.rollback(connection);
+                    Connections.setAutoCommit(connection, true);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to restore autocommit after streaming a range scan", e);
+            } finally {
+                conns.close();
+            }
+        }
+    }
 }
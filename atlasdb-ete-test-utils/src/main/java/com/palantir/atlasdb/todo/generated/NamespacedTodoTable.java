@@ -39,9 +39,13 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.Sets;
+import com.google.common.collect.Streams;
 import com.google.common.hash.Hashing;
 import com.google.common.primitives.Bytes;
 import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.palantir.atlasdb.compress.CompressionUtils;
 import com.palantir.atlasdb.encoding.PtBytes;
@@ -56,6 +60,8 @@ import com.palantir.atlasdb.keyvalue.api.RangeRequest;
 import com.palantir.atlasdb.keyvalue.api.RowResult;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.impl.Cells;
+import com.palantir.atlasdb.ptobject.CompositeKeyReader;
+import com.palantir.atlasdb.ptobject.CompositeKeyWriter;
 import com.palantir.atlasdb.ptobject.EncodingUtils;
 import com.palantir.atlasdb.table.api.AtlasDbDynamicMutablePersistentTable;
 import com.palantir.atlasdb.table.api.AtlasDbMutablePersistentTable;
@@ -68,6 +74,7 @@ import com.palantir.atlasdb.table.description.ValueType;
 import com.palantir.atlasdb.table.generation.ColumnValues;
 import com.palantir.atlasdb.table.generation.Descending;
 import com.palantir.atlasdb.table.generation.NamedColumnValue;
+import com.palantir.atlasdb.table.generation.TableReads;
 import com.palantir.atlasdb.transaction.api.AtlasDbConstraintCheckingMode;
 import com.palantir.atlasdb.transaction.api.ConstraintCheckingTransaction;
 import com.palantir.atlasdb.transaction.api.ImmutableGetRangesQuery;
@@ -174,16 +181,16 @@ public final class NamespacedTodoTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] namespaceBytes = PtBytes.toBytes(namespace);
-            return EncodingUtils.add(namespaceBytes);
+            CompositeKeyWriter __writer = new CompositeKeyWriter(CompositeKeyWriter.sizeOfString(namespace));
+            __writer.writeString(namespace);
+            return __writer.toByteArray();
         }
 
         public static final Hydrator<NamespacedTodoRow> BYTES_HYDRATOR = new Hydrator<NamespacedTodoRow>() {
             @Override
             public NamespacedTodoRow hydrateFromBytes(byte[] __input) {
-                int __index = 0;
-                String namespace = PtBytes.toString(__input, __index, __input.length-__index);
-                __index += 0;
+                CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                String namespace = __reader.readStringToEnd();
                 return new NamespacedTodoRow(namespace);
             }
         };
@@ -266,16 +273,16 @@ public final class NamespacedTodoTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] todoIdBytes = PtBytes.toBytes(Long.MIN_VALUE ^ todoId);
-            return EncodingUtils.add(todoIdBytes);
+            CompositeKeyWriter __writer = new CompositeKeyWriter(8);
+            __writer.writeFixedLong(todoId);
+            return __writer.toByteArray();
         }
 
         public static final Hydrator<NamespacedTodoColumn> BYTES_HYDRATOR = new Hydrator<NamespacedTodoColumn>() {
             @Override
             public NamespacedTodoColumn hydrateFromBytes(byte[] __input) {
-                int __index = 0;
-                Long todoId = Long.MIN_VALUE ^ PtBytes.toLong(__input, __index);
-                __index += 8;
+                CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                Long todoId = __reader.readFixedLong();
                 return new NamespacedTodoColumn(todoId);
             }
         };
@@ -513,6 +520,15 @@ public final class NamespacedTodoTable implements
     public Multimap<NamespacedTodoRow, NamespacedTodoColumnValue> get(Multimap<NamespacedTodoRow, NamespacedTodoColumn> cells) {
         Set<Cell> rawCells = ColumnValues.toCells(cells);
         Map<Cell, byte[]> rawResults = t.get(tableRef, rawCells);
+        return getRowMapFromCellValues(rawResults);
+    }
+
+    public ListenableFuture<Multimap<NamespacedTodoRow, NamespacedTodoColumnValue>> getAsync(Multimap<NamespacedTodoRow, NamespacedTodoColumn> cells) {
+        Set<Cell> rawCells = ColumnValues.toCells(cells);
+        return Futures.transform(t.getAsync(tableRef, rawCells), NamespacedTodoTable::getRowMapFromCellValues, MoreExecutors.directExecutor());
+    }
+
+    private static Multimap<NamespacedTodoRow, NamespacedTodoColumnValue> getRowMapFromCellValues(Map<Cell, byte[]> rawResults) {
         Multimap<NamespacedTodoRow, NamespacedTodoColumnValue> rowMap = HashMultimap.create();
         for (Entry<Cell, byte[]> e : rawResults.entrySet()) {
             if (e.getValue().length > 0) {
@@ -525,6 +541,14 @@ public final class NamespacedTodoTable implements
         return rowMap;
     }
 
+    public Stream<NamespacedTodoRowResult> getRowsStream(Iterable<NamespacedTodoRow> rows) {
+        return getRowsStream(rows, allColumns);
+    }
+
+    public Stream<NamespacedTodoRowResult> getRowsStream(Iterable<NamespacedTodoRow> rows, ColumnSelection columns) {
+        return TableReads.getRowsStream(t, tableRef, Persistables.persistAll(rows), columns).map(NamespacedTodoRowResult::of);
+    }
+
     @Override
     public List<NamespacedTodoColumnValue> getRowColumns(NamespacedTodoRow row) {
         return getRowColumns(row, allColumns);
@@ -619,6 +643,10 @@ public final class NamespacedTodoTable implements
         return transformed;
     }
 
+    public Stream<Map.Entry<NamespacedTodoRow, NamespacedTodoColumnValue>> getRowsColumnRangeStream(Iterable<NamespacedTodoRow> rows, ColumnRangeSelection columnRangeSelection, int batchHint) {
+        return Streams.stream(getRowsColumnRange(rows, columnRangeSelection, batchHint));
+    }
+
     private ColumnSelection optimizeColumnSelection(ColumnSelection columns) {
         if (columns.allColumnsSelected()) {
             return allColumns;
@@ -683,6 +711,8 @@ public final class NamespacedTodoTable implements
      * {@link ColumnValue}
      * {@link ColumnValues}
      * {@link ComparisonChain}
+     * {@link CompositeKeyReader}
+     * {@link CompositeKeyWriter}
      * {@link Compression}
      * {@link CompressionUtils}
      * {@link ConstraintCheckingTransaction}
@@ -691,6 +721,7 @@ public final class NamespacedTodoTable implements
      * {@link Entry}
      * {@link EnumSet}
      * {@link Function}
+     * {@link Futures}
      * {@link Generated}
      * {@link HashMultimap}
      * {@link HashSet}
@@ -708,9 +739,11 @@ public final class NamespacedTodoTable implements
      * {@link Iterators}
      * {@link Joiner}
      * {@link List}
+     * {@link ListenableFuture}
      * {@link Lists}
      * {@link Map}
      * {@link Maps}
+     * {@link MoreExecutors}
      * {@link MoreObjects}
      * {@link Multimap}
      * {@link Multimaps}
@@ -729,7 +762,9 @@ public final class NamespacedTodoTable implements
      * {@link Sha256Hash}
      * {@link SortedMap}
      * {@link Stream}
+     * {@link Streams}
      * {@link Supplier}
+     * {@link TableReads}
      * {@link TableReference}
      * {@link Throwables}
      * {@link TimeUnit}
@@ -739,5 +774,5 @@ public final class NamespacedTodoTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "bcvziYgz3RaL6vF0kT9vhQ==";
+    static String __CLASS_HASH = "imi+Swrnjk9O+G1tDbCJ0w==";
 }
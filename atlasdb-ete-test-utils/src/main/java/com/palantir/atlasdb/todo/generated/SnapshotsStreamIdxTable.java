@@ -39,9 +39,13 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.Sets;
+import com.google.common.collect.Streams;
 import com.google.common.hash.Hashing;
 import com.google.common.primitives.Bytes;
 import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.palantir.atlasdb.compress.CompressionUtils;
 import com.palantir.atlasdb.encoding.PtBytes;
@@ -56,6 +60,8 @@ import com.palantir.atlasdb.keyvalue.api.RangeRequest;
 import com.palantir.atlasdb.keyvalue.api.RowResult;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.impl.Cells;
+import com.palantir.atlasdb.ptobject.CompositeKeyReader;
+import com.palantir.atlasdb.ptobject.CompositeKeyWriter;
 import com.palantir.atlasdb.ptobject.EncodingUtils;
 import com.palantir.atlasdb.table.api.AtlasDbDynamicMutablePersistentTable;
 import com.palantir.atlasdb.table.api.AtlasDbMutablePersistentTable;
@@ -68,6 +74,7 @@ import com.palantir.atlasdb.table.description.ValueType;
 import com.palantir.atlasdb.table.generation.ColumnValues;
 import com.palantir.atlasdb.table.generation.Descending;
 import com.palantir.atlasdb.table.generation.NamedColumnValue;
+import com.palantir.atlasdb.table.generation.TableReads;
 import com.palantir.atlasdb.transaction.api.AtlasDbConstraintCheckingMode;
 import com.palantir.atlasdb.transaction.api.ConstraintCheckingTransaction;
 import com.palantir.atlasdb.transaction.api.ImmutableGetRangesQuery;
@@ -174,16 +181,16 @@ public final class SnapshotsStreamIdxTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] idBytes = PtBytes.toBytes(Long.MIN_VALUE ^ id);
-            return EncodingUtils.add(idBytes);
+            CompositeKeyWriter __writer = new CompositeKeyWriter(8);
+            __writer.writeFixedLong(id);
+            return __writer.toByteArray();
         }
 
         public static final Hydrator<SnapshotsStreamIdxRow> BYTES_HYDRATOR = new Hydrator<SnapshotsStreamIdxRow>() {
             @Override
             public SnapshotsStreamIdxRow hydrateFromBytes(byte[] __input) {
-                int __index = 0;
-                Long id = Long.MIN_VALUE ^ PtBytes.toLong(__input, __index);
-                __index += 8;
+                CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                Long id = __reader.readFixedLong();
                 return new SnapshotsStreamIdxRow(id);
             }
         };
@@ -266,16 +273,16 @@ public final class SnapshotsStreamIdxTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] referenceBytes = EncodingUtils.encodeSizedBytes(reference);
-            return EncodingUtils.add(referenceBytes);
+            CompositeKeyWriter __writer = new CompositeKeyWriter(EncodingUtils.sizeOfSizedBytes(reference));
+            __writer.writeSizedBytes(reference);
+            return __writer.toByteArray();
         }
 
         public static final Hydrator<SnapshotsStreamIdxColumn> BYTES_HYDRATOR = new Hydrator<SnapshotsStreamIdxColumn>() {
             @Override
             public SnapshotsStreamIdxColumn hydrateFromBytes(byte[] __input) {
-                int __index = 0;
-                byte[] reference = EncodingUtils.decodeSizedBytes(__input, __index);
-                __index += EncodingUtils.sizeOfSizedBytes(reference);
+                CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                byte[] reference = __reader.readSizedBytes();
                 return new SnapshotsStreamIdxColumn(reference);
             }
         };
@@ -513,6 +520,15 @@ public final class SnapshotsStreamIdxTable implements
     public Multimap<SnapshotsStreamIdxRow, SnapshotsStreamIdxColumnValue> get(Multimap<SnapshotsStreamIdxRow, SnapshotsStreamIdxColumn> cells) {
         Set<Cell> rawCells = ColumnValues.toCells(cells);
         Map<Cell, byte[]> rawResults = t.get(tableRef, rawCells);
+        return getRowMapFromCellValues(rawResults);
+    }
+
+    public ListenableFuture<Multimap<SnapshotsStreamIdxRow, SnapshotsStreamIdxColumnValue>> getAsync(Multimap<SnapshotsStreamIdxRow, SnapshotsStreamIdxColumn> cells) {
+        Set<Cell> rawCells = ColumnValues.toCells(cells);
+        return Futures.transform(t.getAsync(tableRef, rawCells), SnapshotsStreamIdxTable::getRowMapFromCellValues, MoreExecutors.directExecutor());
+    }
+
+    private static Multimap<SnapshotsStreamIdxRow, SnapshotsStreamIdxColumnValue> getRowMapFromCellValues(Map<Cell, byte[]> rawResults) {
         Multimap<SnapshotsStreamIdxRow, SnapshotsStreamIdxColumnValue> rowMap = HashMultimap.create();
         for (Entry<Cell, byte[]> e : rawResults.entrySet()) {
             if (e.getValue().length > 0) {
@@ -525,6 +541,14 @@ public final class SnapshotsStreamIdxTable implements
         return rowMap;
     }
 
+    public Stream<SnapshotsStreamIdxRowResult> getRowsStream(Iterable<SnapshotsStreamIdxRow> rows) {
+        return getRowsStream(rows, allColumns);
+    }
+
+    public Stream<SnapshotsStreamIdxRowResult> getRowsStream(Iterable<SnapshotsStreamIdxRow> rows, ColumnSelection columns) {
+        return TableReads.getRowsStream(t, tableRef, Persistables.persistAll(rows), columns).map(SnapshotsStreamIdxRowResult::of);
+    }
+
     @Override
     public List<SnapshotsStreamIdxColumnValue> getRowColumns(SnapshotsStreamIdxRow row) {
         return getRowColumns(row, allColumns);
@@ -619,6 +643,10 @@ public final class SnapshotsStreamIdxTable implements
         return transformed;
     }
 
+    public Stream<Map.Entry<SnapshotsStreamIdxRow, SnapshotsStreamIdxColumnValue>> getRowsColumnRangeStream(Iterable<SnapshotsStreamIdxRow> rows, ColumnRangeSelection columnRangeSelection, int batchHint) {
+        return Streams.stream(getRowsColumnRange(rows, columnRangeSelection, batchHint));
+    }
+
     private ColumnSelection optimizeColumnSelection(ColumnSelection columns) {
         if (columns.allColumnsSelected()) {
             return allColumns;
@@ -683,6 +711,8 @@ public final class SnapshotsStreamIdxTable implements
      * {@link ColumnValue}
      * {@link ColumnValues}
      * {@link ComparisonChain}
+     * {@link CompositeKeyReader}
+     * {@link CompositeKeyWriter}
      * {@link Compression}
      * {@link CompressionUtils}
      * {@link ConstraintCheckingTransaction}
@@ -691,6 +721,7 @@ public final class SnapshotsStreamIdxTable implements
      * {@link Entry}
      * {@link EnumSet}
      * {@link Function}
+     * {@link Futures}
      * {@link Generated}
      * {@link HashMultimap}
      * {@link HashSet}
@@ -708,9 +739,11 @@ public final class SnapshotsStreamIdxTable implements
      * {@link Iterators}
      * {@link Joiner}
      * {@link List}
+     * {@link ListenableFuture}
      * {@link Lists}
      * {@link Map}
      * {@link Maps}
+     * {@link MoreExecutors}
      * {@link MoreObjects}
      * {@link Multimap}
      * {@link Multimaps}
@@ -729,7 +762,9 @@ public final class SnapshotsStreamIdxTable implements
      * {@link Sha256Hash}
      * {@link SortedMap}
      * {@link Stream}
+     * {@link Streams}
      * {@link Supplier}
+     * {@link TableReads}
      * {@link TableReference}
      * {@link Throwables}
      * {@link TimeUnit}
@@ -739,5 +774,5 @@ public final class SnapshotsStreamIdxTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "KssGXQgCx3ZyEycfz10fYQ==";
+    static String __CLASS_HASH = "3mnz6ZSplK6tU5y/Lu0wAQ==";
 }
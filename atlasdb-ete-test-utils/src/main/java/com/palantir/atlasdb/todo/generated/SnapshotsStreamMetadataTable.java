@@ -39,9 +39,13 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.Sets;
+import com.google.common.collect.Streams;
 import com.google.common.hash.Hashing;
 import com.google.common.primitives.Bytes;
 import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.palantir.atlasdb.compress.CompressionUtils;
 import com.palantir.atlasdb.encoding.PtBytes;
@@ -56,6 +60,8 @@ import com.palantir.atlasdb.keyvalue.api.RangeRequest;
 import com.palantir.atlasdb.keyvalue.api.RowResult;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.impl.Cells;
+import com.palantir.atlasdb.ptobject.CompositeKeyReader;
+import com.palantir.atlasdb.ptobject.CompositeKeyWriter;
 import com.palantir.atlasdb.ptobject.EncodingUtils;
 import com.palantir.atlasdb.table.api.AtlasDbDynamicMutablePersistentTable;
 import com.palantir.atlasdb.table.api.AtlasDbMutablePersistentTable;
@@ -68,6 +74,7 @@ import com.palantir.atlasdb.table.description.ValueType;
 import com.palantir.atlasdb.table.generation.ColumnValues;
 import com.palantir.atlasdb.table.generation.Descending;
 import com.palantir.atlasdb.table.generation.NamedColumnValue;
+import com.palantir.atlasdb.table.generation.TableReads;
 import com.palantir.atlasdb.transaction.api.AtlasDbConstraintCheckingMode;
 import com.palantir.atlasdb.transaction.api.ConstraintCheckingTransaction;
 import com.palantir.atlasdb.transaction.api.ImmutableGetRangesQuery;
@@ -176,16 +183,16 @@ public final class SnapshotsStreamMetadataTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] idBytes = PtBytes.toBytes(Long.MIN_VALUE ^ id);
-            return EncodingUtils.add(idBytes);
+            CompositeKeyWriter __writer = new CompositeKeyWriter(8);
+            __writer.writeFixedLong(id);
+            return __writer.toByteArray();
         }
 
         public static final Hydrator<SnapshotsStreamMetadataRow> BYTES_HYDRATOR = new Hydrator<SnapshotsStreamMetadataRow>() {
             @Override
             public SnapshotsStreamMetadataRow hydrateFromBytes(byte[] __input) {
-                int __index = 0;
-                Long id = Long.MIN_VALUE ^ PtBytes.toLong(__input, __index);
-                __index += 8;
+                CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                Long id = __reader.readFixedLong();
                 return new SnapshotsStreamMetadataRow(id);
             }
         };
@@ -501,6 +508,26 @@ public final class SnapshotsStreamMetadataTable implements
         return rowResults;
     }
 
+    public ListenableFuture<List<SnapshotsStreamMetadataRowResult>> getRowsAsync(Iterable<SnapshotsStreamMetadataRow> rows) {
+        return getRowsAsync(rows, allColumns);
+    }
+
+    public ListenableFuture<List<SnapshotsStreamMetadataRowResult>> getRowsAsync(Iterable<SnapshotsStreamMetadataRow> rows, ColumnSelection columns) {
+        ColumnSelection selectedColumns = columns.allColumnsSelected() ? allColumns : columns;
+        return Futures.transform(
+                TableReads.getRowsAsync(t, tableRef, Persistables.persistAll(rows), selectedColumns),
+                rowResults -> ImmutableList.copyOf(Lists.transform(rowResults, SnapshotsStreamMetadataRowResult::of)),
+                MoreExecutors.directExecutor());
+    }
+
+    public Stream<SnapshotsStreamMetadataRowResult> getRowsStream(Iterable<SnapshotsStreamMetadataRow> rows) {
+        return getRowsStream(rows, allColumns);
+    }
+
+    public Stream<SnapshotsStreamMetadataRowResult> getRowsStream(Iterable<SnapshotsStreamMetadataRow> rows, ColumnSelection columns) {
+        return TableReads.getRowsStream(t, tableRef, Persistables.persistAll(rows), columns).map(SnapshotsStreamMetadataRowResult::of);
+    }
+
     @Override
     public List<SnapshotsStreamMetadataNamedColumnValue<?>> getRowColumns(SnapshotsStreamMetadataRow row) {
         return getRowColumns(row, allColumns);
@@ -585,6 +612,10 @@ public final class SnapshotsStreamMetadataTable implements
         return transformed;
     }
 
+    public Stream<Map.Entry<SnapshotsStreamMetadataRow, SnapshotsStreamMetadataNamedColumnValue<?>>> getRowsColumnRangeStream(Iterable<SnapshotsStreamMetadataRow> rows, ColumnRangeSelection columnRangeSelection, int batchHint) {
+        return Streams.stream(getRowsColumnRange(rows, columnRangeSelection, batchHint));
+    }
+
     private ColumnSelection optimizeColumnSelection(ColumnSelection columns) {
         if (columns.allColumnsSelected()) {
             return allColumns;
@@ -649,6 +680,8 @@ public final class SnapshotsStreamMetadataTable implements
      * {@link ColumnValue}
      * {@link ColumnValues}
      * {@link ComparisonChain}
+     * {@link CompositeKeyReader}
+     * {@link CompositeKeyWriter}
      * {@link Compression}
      * {@link CompressionUtils}
      * {@link ConstraintCheckingTransaction}
@@ -657,6 +690,7 @@ public final class SnapshotsStreamMetadataTable implements
      * {@link Entry}
      * {@link EnumSet}
      * {@link Function}
+     * {@link Futures}
      * {@link Generated}
      * {@link HashMultimap}
      * {@link HashSet}
@@ -674,9 +708,11 @@ public final class SnapshotsStreamMetadataTable implements
      * {@link Iterators}
      * {@link Joiner}
      * {@link List}
+     * {@link ListenableFuture}
      * {@link Lists}
      * {@link Map}
      * {@link Maps}
+     * {@link MoreExecutors}
      * {@link MoreObjects}
      * {@link Multimap}
      * {@link Multimaps}
@@ -695,7 +731,9 @@ public final class SnapshotsStreamMetadataTable implements
      * {@link Sha256Hash}
      * {@link SortedMap}
      * {@link Stream}
+     * {@link Streams}
      * {@link Supplier}
+     * {@link TableReads}
      * {@link TableReference}
      * {@link Throwables}
      * {@link TimeUnit}
@@ -705,5 +743,5 @@ public final class SnapshotsStreamMetadataTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "WvvhzZ+89VnQJNKMOe7mWA==";
+    static String __CLASS_HASH = "wIM0nL8xfi4FvZfs3yjfmg==";
 }
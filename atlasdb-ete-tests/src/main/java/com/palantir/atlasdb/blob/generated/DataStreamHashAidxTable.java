@@ -39,9 +39,13 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.Sets;
+import com.google.common.collect.Streams;
 import com.google.common.hash.Hashing;
 import com.google.common.primitives.Bytes;
 import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.palantir.atlasdb.compress.CompressionUtils;
 import com.palantir.atlasdb.encoding.PtBytes;
@@ -56,6 +60,8 @@ import com.palantir.atlasdb.keyvalue.api.RangeRequest;
 import com.palantir.atlasdb.keyvalue.api.RowResult;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.impl.Cells;
+import com.palantir.atlasdb.ptobject.CompositeKeyReader;
+import com.palantir.atlasdb.ptobject.CompositeKeyWriter;
 import com.palantir.atlasdb.ptobject.EncodingUtils;
 import com.palantir.atlasdb.table.api.AtlasDbDynamicMutablePersistentTable;
 import com.palantir.atlasdb.table.api.AtlasDbMutablePersistentTable;
@@ -68,6 +74,7 @@ import com.palantir.atlasdb.table.description.ValueType;
 import com.palantir.atlasdb.table.generation.ColumnValues;
 import com.palantir.atlasdb.table.generation.Descending;
 import com.palantir.atlasdb.table.generation.NamedColumnValue;
+import com.palantir.atlasdb.table.generation.TableReads;
 import com.palantir.atlasdb.transaction.api.AtlasDbConstraintCheckingMode;
 import com.palantir.atlasdb.transaction.api.ConstraintCheckingTransaction;
 import com.palantir.atlasdb.transaction.api.ImmutableGetRangesQuery;
@@ -174,16 +181,16 @@ public final class DataStreamHashAidxTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] hashBytes = hash.getBytes();
-            return EncodingUtils.add(hashBytes);
+            CompositeKeyWriter __writer = new CompositeKeyWriter(32);
+            __writer.write(hash.getBytes());
+            return __writer.toByteArray();
         }
 
         public static final Hydrator<DataStreamHashAidxRow> BYTES_HYDRATOR = new Hydrator<DataStreamHashAidxRow>() {
             @Override
             public DataStreamHashAidxRow hydrateFromBytes(byte[] __input) {
-                int __index = 0;
-                Sha256Hash hash = new Sha256Hash(EncodingUtils.get32Bytes(__input, __index));
-                __index += 32;
+                CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                Sha256Hash hash = new Sha256Hash(__reader.readBytes(32));
                 return new DataStreamHashAidxRow(hash);
             }
         };
@@ -266,16 +273,16 @@ public final class DataStreamHashAidxTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] streamIdBytes = EncodingUtils.encodeUnsignedVarLong(streamId);
-            return EncodingUtils.add(streamIdBytes);
+            CompositeKeyWriter __writer = new CompositeKeyWriter(EncodingUtils.sizeOfUnsignedVarLong(streamId));
+            __writer.writeUnsignedVarLong(streamId);
+            return __writer.toByteArray();
         }
 
         public static final Hydrator<DataStreamHashAidxColumn> BYTES_HYDRATOR = new Hydrator<DataStreamHashAidxColumn>() {
             @Override
             public DataStreamHashAidxColumn hydrateFromBytes(byte[] __input) {
-                int __index = 0;
-                Long streamId = EncodingUtils.decodeUnsignedVarLong(__input, __index);
-                __index += EncodingUtils.sizeOfUnsignedVarLong(streamId);
+                CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                Long streamId = __reader.readUnsignedVarLong();
                 return new DataStreamHashAidxColumn(streamId);
             }
         };
@@ -513,6 +520,15 @@ public final class DataStreamHashAidxTable implements
     public Multimap<DataStreamHashAidxRow, DataStreamHashAidxColumnValue> get(Multimap<DataStreamHashAidxRow, DataStreamHashAidxColumn> cells) {
         Set<Cell> rawCells = ColumnValues.toCells(cells);
         Map<Cell, byte[]> rawResults = t.get(tableRef, rawCells);
+        return getRowMapFromCellValues(rawResults);
+    }
+
+    public ListenableFuture<Multimap<DataStreamHashAidxRow, DataStreamHashAidxColumnValue>> getAsync(Multimap<DataStreamHashAidxRow, DataStreamHashAidxColumn> cells) {
+        Set<Cell> rawCells = ColumnValues.toCells(cells);
+        return Futures.transform(t.getAsync(tableRef, rawCells), DataStreamHashAidxTable::getRowMapFromCellValues, MoreExecutors.directExecutor());
+    }
+
+    private static Multimap<DataStreamHashAidxRow, DataStreamHashAidxColumnValue> getRowMapFromCellValues(Map<Cell, byte[]> rawResults) {
         Multimap<DataStreamHashAidxRow, DataStreamHashAidxColumnValue> rowMap = HashMultimap.create();
         for (Entry<Cell, byte[]> e : rawResults.entrySet()) {
             if (e.getValue().length > 0) {
@@ -525,6 +541,14 @@ public final class DataStreamHashAidxTable implements
         return rowMap;
     }
 
+    public Stream<DataStreamHashAidxRowResult> getRowsStream(Iterable<DataStreamHashAidxRow> rows) {
+        return getRowsStream(rows, allColumns);
+    }
+
+    public Stream<DataStreamHashAidxRowResult> getRowsStream(Iterable<DataStreamHashAidxRow> rows, ColumnSelection columns) {
+        return TableReads.getRowsStream(t, tableRef, Persistables.persistAll(rows), columns).map(DataStreamHashAidxRowResult::of);
+    }
+
     @Override
     public List<DataStreamHashAidxColumnValue> getRowColumns(DataStreamHashAidxRow row) {
         return getRowColumns(row, allColumns);
@@ -619,6 +643,10 @@ public final class DataStreamHashAidxTable implements
         return transformed;
     }
 
+    public Stream<Map.Entry<DataStreamHashAidxRow, DataStreamHashAidxColumnValue>> getRowsColumnRangeStream(Iterable<DataStreamHashAidxRow> rows, ColumnRangeSelection columnRangeSelection, int batchHint) {
+        return Streams.stream(getRowsColumnRange(rows, columnRangeSelection, batchHint));
+    }
+
     private ColumnSelection optimizeColumnSelection(ColumnSelection columns) {
         if (columns.allColumnsSelected()) {
             return allColumns;
@@ -683,6 +711,8 @@ public final class DataStreamHashAidxTable implements
      * {@link ColumnValue}
      * {@link ColumnValues}
      * {@link ComparisonChain}
+     * {@link CompositeKeyReader}
+     * {@link CompositeKeyWriter}
      * {@link Compression}
      * {@link CompressionUtils}
      * {@link ConstraintCheckingTransaction}
@@ -691,6 +721,7 @@ public final class DataStreamHashAidxTable implements
      * {@link Entry}
      * {@link EnumSet}
      * {@link Function}
+     * {@link Futures}
      * {@link Generated}
      * {@link HashMultimap}
      * {@link HashSet}
@@ -708,9 +739,11 @@ public final class DataStreamHashAidxTable implements
      * {@link Iterators}
      * {@link Joiner}
      * {@link List}
+     * {@link ListenableFuture}
      * {@link Lists}
      * {@link Map}
      * {@link Maps}
+     * {@link MoreExecutors}
      * {@link MoreObjects}
      * {@link Multimap}
      * {@link Multimaps}
@@ -729,7 +762,9 @@ public final class DataStreamHashAidxTable implements
      * {@link Sha256Hash}
      * {@link SortedMap}
      * {@link Stream}
+     * {@link Streams}
      * {@link Supplier}
+     * {@link TableReads}
      * {@link TableReference}
      * {@link Throwables}
      * {@link TimeUnit}
@@ -739,5 +774,5 @@ public final class DataStreamHashAidxTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "YtrgaXdMg8OsSx3myGzQfA==";
+    static String __CLASS_HASH = "fZSdt562YoVf6l4fJ+JFPw==";
 }
@@ -39,9 +39,13 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.Sets;
+import com.google.common.collect.Streams;
 import com.google.common.hash.Hashing;
 import com.google.common.primitives.Bytes;
 import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.palantir.atlasdb.compress.CompressionUtils;
 import com.palantir.atlasdb.encoding.PtBytes;
@@ -56,6 +60,8 @@ import com.palantir.atlasdb.keyvalue.api.RangeRequest;
 import com.palantir.atlasdb.keyvalue.api.RowResult;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.impl.Cells;
+import com.palantir.atlasdb.ptobject.CompositeKeyReader;
+import com.palantir.atlasdb.ptobject.CompositeKeyWriter;
 import com.palantir.atlasdb.ptobject.EncodingUtils;
 import com.palantir.atlasdb.table.api.AtlasDbDynamicMutablePersistentTable;
 import com.palantir.atlasdb.table.api.AtlasDbMutablePersistentTable;
@@ -68,6 +74,7 @@ import com.palantir.atlasdb.table.description.ValueType;
 import com.palantir.atlasdb.table.generation.ColumnValues;
 import com.palantir.atlasdb.table.generation.Descending;
 import com.palantir.atlasdb.table.generation.NamedColumnValue;
+import com.palantir.atlasdb.table.generation.TableReads;
 import com.palantir.atlasdb.transaction.api.AtlasDbConstraintCheckingMode;
 import com.palantir.atlasdb.transaction.api.ConstraintCheckingTransaction;
 import com.palantir.atlasdb.transaction.api.ImmutableGetRangesQuery;
@@ -178,19 +185,18 @@ public final class DataStreamIdxTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] hashOfRowComponentsBytes = PtBytes.toBytes(Long.MIN_VALUE ^ hashOfRowComponents);
-            byte[] idBytes = EncodingUtils.encodeUnsignedVarLong(id);
-            return EncodingUtils.add(hashOfRowComponentsBytes, idBytes);
+            CompositeKeyWriter __writer = new CompositeKeyWriter(8 + EncodingUtils.sizeOfUnsignedVarLong(id));
+            __writer.writeFixedLong(hashOfRowComponents);
+            __writer.writeUnsignedVarLong(id);
+            return __writer.toByteArray();
         }
 
         public static final Hydrator<DataStreamIdxRow> BYTES_HYDRATOR = new Hydrator<DataStreamIdxRow>() {
             @Override
             public DataStreamIdxRow hydrateFromBytes(byte[] __input) {
-                int __index = 0;
-                Long hashOfRowComponents = Long.MIN_VALUE ^ PtBytes.toLong(__input, __index);
-                __index += 8;
-                Long id = EncodingUtils.decodeUnsignedVarLong(__input, __index);
-                __index += EncodingUtils.sizeOfUnsignedVarLong(id);
+                CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                Long hashOfRowComponents = __reader.readFixedLong();
+                Long id = __reader.readUnsignedVarLong();
                 return new DataStreamIdxRow(hashOfRowComponents, id);
             }
         };
@@ -280,16 +286,16 @@ public final class DataStreamIdxTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] referenceBytes = EncodingUtils.encodeSizedBytes(reference);
-            return EncodingUtils.add(referenceBytes);
+            CompositeKeyWriter __writer = new CompositeKeyWriter(EncodingUtils.sizeOfSizedBytes(reference));
+            __writer.writeSizedBytes(reference);
+            return __writer.toByteArray();
         }
 
         public static final Hydrator<DataStreamIdxColumn> BYTES_HYDRATOR = new Hydrator<DataStreamIdxColumn>() {
             @Override
             public DataStreamIdxColumn hydrateFromBytes(byte[] __input) {
-                int __index = 0;
-                byte[] reference = EncodingUtils.decodeSizedBytes(__input, __index);
-                __index += EncodingUtils.sizeOfSizedBytes(reference);
+                CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                byte[] reference = __reader.readSizedBytes();
                 return new DataStreamIdxColumn(reference);
             }
         };
@@ -527,6 +533,15 @@ public final class DataStreamIdxTable implements
     public Multimap<DataStreamIdxRow, DataStreamIdxColumnValue> get(Multimap<DataStreamIdxRow, DataStreamIdxColumn> cells) {
         Set<Cell> rawCells = ColumnValues.toCells(cells);
         Map<Cell, byte[]> rawResults = t.get(tableRef, rawCells);
+        return getRowMapFromCellValues(rawResults);
+    }
+
+    public ListenableFuture<Multimap<DataStreamIdxRow, DataStreamIdxColumnValue>> getAsync(Multimap<DataStreamIdxRow, DataStreamIdxColumn> cells) {
+        Set<Cell> rawCells = ColumnValues.toCells(cells);
+        return Futures.transform(t.getAsync(tableRef, rawCells), DataStreamIdxTable::getRowMapFromCellValues, MoreExecutors.directExecutor());
+    }
+
+    private static Multimap<DataStreamIdxRow, DataStreamIdxColumnValue> getRowMapFromCellValues(Map<Cell, byte[]> rawResults) {
         Multimap<DataStreamIdxRow, DataStreamIdxColumnValue> rowMap = HashMultimap.create();
         for (Entry<Cell, byte[]> e : rawResults.entrySet()) {
             if (e.getValue().length > 0) {
@@ -539,6 +554,14 @@ public final class DataStreamIdxTable implements
         return rowMap;
     }
 
+    public Stream<DataStreamIdxRowResult> getRowsStream(Iterable<DataStreamIdxRow> rows) {
+        return getRowsStream(rows, allColumns);
+    }
+
+    public Stream<DataStreamIdxRowResult> getRowsStream(Iterable<DataStreamIdxRow> rows, ColumnSelection columns) {
+        return TableReads.getRowsStream(t, tableRef, Persistables.persistAll(rows), columns).map(DataStreamIdxRowResult::of);
+    }
+
     @Override
     public List<DataStreamIdxColumnValue> getRowColumns(DataStreamIdxRow row) {
         return getRowColumns(row, allColumns);
@@ -633,6 +656,10 @@ public final class DataStreamIdxTable implements
         return transformed;
     }
 
+    public Stream<Map.Entry<DataStreamIdxRow, DataStreamIdxColumnValue>> getRowsColumnRangeStream(Iterable<DataStreamIdxRow> rows, ColumnRangeSelection columnRangeSelection, int batchHint) {
+        return Streams.stream(getRowsColumnRange(rows, columnRangeSelection, batchHint));
+    }
+
     private ColumnSelection optimizeColumnSelection(ColumnSelection columns) {
         if (columns.allColumnsSelected()) {
             return allColumns;
@@ -697,6 +724,8 @@ public final class DataStreamIdxTable implements
      * {@link ColumnValue}
      * {@link ColumnValues}
      * {@link ComparisonChain}
+     * {@link CompositeKeyReader}
+     * {@link CompositeKeyWriter}
      * {@link Compression}
      * {@link CompressionUtils}
      * {@link ConstraintCheckingTransaction}
@@ -705,6 +734,7 @@ public final class DataStreamIdxTable implements
      * {@link Entry}
      * {@link EnumSet}
      * {@link Function}
+     * {@link Futures}
      * {@link Generated}
      * {@link HashMultimap}
      * {@link HashSet}
@@ -722,9 +752,11 @@ public final class DataStreamIdxTable implements
      * {@link Iterators}
      * {@link Joiner}
      * {@link List}
+     * {@link ListenableFuture}
      * {@link Lists}
      * {@link Map}
      * {@link Maps}
+     * {@link MoreExecutors}
      * {@link MoreObjects}
      * {@link Multimap}
      * {@link Multimaps}
@@ -743,7 +775,9 @@ public final class DataStreamIdxTable implements
      * {@link Sha256Hash}
      * {@link SortedMap}
      * {@link Stream}
+     * {@link Streams}
      * {@link Supplier}
+     * {@link TableReads}
      * {@link TableReference}
      * {@link Throwables}
      * {@link TimeUnit}
@@ -753,5 +787,5 @@ public final class DataStreamIdxTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "ati1gIFTu2YisJnkFnewZQ==";
+    static String __CLASS_HASH = "l1JJA2ZUv8eena8kVc4Cjg==";
 }
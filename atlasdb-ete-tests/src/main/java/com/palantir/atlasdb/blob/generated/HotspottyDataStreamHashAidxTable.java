@@ -39,9 +39,13 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.Sets;
+import com.google.common.collect.Streams;
 import com.google.common.hash.Hashing;
 import com.google.common.primitives.Bytes;
 import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.palantir.atlasdb.compress.CompressionUtils;
 import com.palantir.atlasdb.encoding.PtBytes;
@@ -56,6 +60,8 @@ import com.palantir.atlasdb.keyvalue.api.RangeRequest;
 import com.palantir.atlasdb.keyvalue.api.RowResult;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.impl.Cells;
+import com.palantir.atlasdb.ptobject.CompositeKeyReader;
+import com.palantir.atlasdb.ptobject.CompositeKeyWriter;
 import com.palantir.atlasdb.ptobject.EncodingUtils;
 import com.palantir.atlasdb.table.api.AtlasDbDynamicMutablePersistentTable;
 import com.palantir.atlasdb.table.api.AtlasDbMutablePersistentTable;
@@ -68,6 +74,7 @@ import com.palantir.atlasdb.table.description.ValueType;
 import com.palantir.atlasdb.table.generation.ColumnValues;
 import com.palantir.atlasdb.table.generation.Descending;
 import com.palantir.atlasdb.table.generation.NamedColumnValue;
+import com.palantir.atlasdb.table.generation.TableReads;
 import com.palantir.atlasdb.transaction.api.AtlasDbConstraintCheckingMode;
 import com.palantir.atlasdb.transaction.api.ConstraintCheckingTransaction;
 import com.palantir.atlasdb.transaction.api.ImmutableGetRangesQuery;
@@ -174,16 +181,16 @@ public final class HotspottyDataStreamHashAidxTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] hashBytes = hash.getBytes();
-            return EncodingUtils.add(hashBytes);
+            CompositeKeyWriter __writer = new CompositeKeyWriter(32);
+            __writer.write(hash.getBytes());
+            return __writer.toByteArray();
         }
 
         public static final Hydrator<HotspottyDataStreamHashAidxRow> BYTES_HYDRATOR = new Hydrator<HotspottyDataStreamHashAidxRow>() {
             @Override
             public HotspottyDataStreamHashAidxRow hydrateFromBytes(byte[] __input) {
-                int __index = 0;
-                Sha256Hash hash = new Sha256Hash(EncodingUtils.get32Bytes(__input, __index));
-                __index += 32;
+                CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                Sha256Hash hash = new Sha256Hash(__reader.readBytes(32));
                 return new HotspottyDataStreamHashAidxRow(hash);
             }
         };
@@ -266,16 +273,16 @@ public final class HotspottyDataStreamHashAidxTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] streamIdBytes = EncodingUtils.encodeSignedVarLong(streamId);
-            return EncodingUtils.add(streamIdBytes);
+            CompositeKeyWriter __writer = new CompositeKeyWriter(EncodingUtils.sizeOfSignedVarLong(streamId));
+            __writer.writeSignedVarLong(streamId);
+            return __writer.toByteArray();
         }
 
         public static final Hydrator<HotspottyDataStreamHashAidxColumn> BYTES_HYDRATOR = new Hydrator<HotspottyDataStreamHashAidxColumn>() {
             @Override
             public HotspottyDataStreamHashAidxColumn hydrateFromBytes(byte[] __input) {
-                int __index = 0;
-                Long streamId = EncodingUtils.decodeSignedVarLong(__input, __index);
-                __index += EncodingUtils.sizeOfSignedVarLong(streamId);
+                CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                Long streamId = __reader.readSignedVarLong();
                 return new HotspottyDataStreamHashAidxColumn(streamId);
             }
         };
@@ -513,6 +520,15 @@ public final class HotspottyDataStreamHashAidxTable implements
     public Multimap<HotspottyDataStreamHashAidxRow, HotspottyDataStreamHashAidxColumnValue> get(Multimap<HotspottyDataStreamHashAidxRow, HotspottyDataStreamHashAidxColumn> cells) {
         Set<Cell> rawCells = ColumnValues.toCells(cells);
         Map<Cell, byte[]> rawResults = t.get(tableRef, rawCells);
+        return getRowMapFromCellValues(rawResults);
+    }
+
+    public ListenableFuture<Multimap<HotspottyDataStreamHashAidxRow, HotspottyDataStreamHashAidxColumnValue>> getAsync(Multimap<HotspottyDataStreamHashAidxRow, HotspottyDataStreamHashAidxColumn> cells) {
+        Set<Cell> rawCells = ColumnValues.toCells(cells);
+        return Futures.transform(t.getAsync(tableRef, rawCells), HotspottyDataStreamHashAidxTable::getRowMapFromCellValues, MoreExecutors.directExecutor());
+    }
+
+    private static Multimap<HotspottyDataStreamHashAidxRow, HotspottyDataStreamHashAidxColumnValue> getRowMapFromCellValues(Map<Cell, byte[]> rawResults) {
         Multimap<HotspottyDataStreamHashAidxRow, HotspottyDataStreamHashAidxColumnValue> rowMap = HashMultimap.create();
         for (Entry<Cell, byte[]> e : rawResults.entrySet()) {
             if (e.getValue().length > 0) {
@@ -525,6 +541,14 @@ public final class HotspottyDataStreamHashAidxTable implements
         return rowMap;
     }
 
+    public Stream<HotspottyDataStreamHashAidxRowResult> getRowsStream(Iterable<HotspottyDataStreamHashAidxRow> rows) {
+        return getRowsStream(rows, allColumns);
+    }
+
+    public Stream<HotspottyDataStreamHashAidxRowResult> getRowsStream(Iterable<HotspottyDataStreamHashAidxRow> rows, ColumnSelection columns) {
+        return TableReads.getRowsStream(t, tableRef, Persistables.persistAll(rows), columns).map(HotspottyDataStreamHashAidxRowResult::of);
+    }
+
     @Override
     public List<HotspottyDataStreamHashAidxColumnValue> getRowColumns(HotspottyDataStreamHashAidxRow row) {
         return getRowColumns(row, allColumns);
@@ -619,6 +643,10 @@ public final class HotspottyDataStreamHashAidxTable implements
         return transformed;
     }
 
+    public Stream<Map.Entry<HotspottyDataStreamHashAidxRow, HotspottyDataStreamHashAidxColumnValue>> getRowsColumnRangeStream(Iterable<HotspottyDataStreamHashAidxRow> rows, ColumnRangeSelection columnRangeSelection, int batchHint) {
+        return Streams.stream(getRowsColumnRange(rows, columnRangeSelection, batchHint));
+    }
+
     private ColumnSelection optimizeColumnSelection(ColumnSelection columns) {
         if (columns.allColumnsSelected()) {
             return allColumns;
@@ -683,6 +711,8 @@ public final class HotspottyDataStreamHashAidxTable implements
      * {@link ColumnValue}
      * {@link ColumnValues}
      * {@link ComparisonChain}
+     * {@link CompositeKeyReader}
+     * {@link CompositeKeyWriter}
      * {@link Compression}
      * {@link CompressionUtils}
      * {@link ConstraintCheckingTransaction}
@@ -691,6 +721,7 @@ public final class HotspottyDataStreamHashAidxTable implements
      * {@link Entry}
      * {@link EnumSet}
      * {@link Function}
+     * {@link Futures}
      * {@link Generated}
      * {@link HashMultimap}
      * {@link HashSet}
@@ -708,9 +739,11 @@ public final class HotspottyDataStreamHashAidxTable implements
      * {@link Iterators}
      * {@link Joiner}
      * {@link List}
+     * {@link ListenableFuture}
      * {@link Lists}
      * {@link Map}
      * {@link Maps}
+     * {@link MoreExecutors}
      * {@link MoreObjects}
      * {@link Multimap}
      * {@link Multimaps}
@@ -729,7 +762,9 @@ public final class HotspottyDataStreamHashAidxTable implements
      * {@link Sha256Hash}
      * {@link SortedMap}
      * {@link Stream}
+     * {@link Streams}
      * {@link Supplier}
+     * {@link TableReads}
      * {@link TableReference}
      * {@link Throwables}
      * {@link TimeUnit}
@@ -739,5 +774,5 @@ public final class HotspottyDataStreamHashAidxTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "7PjvLQTVZkN4Nm/Yxy+Dzw==";
+    static String __CLASS_HASH = "gLl572LKz3EfEs4kBqUifA==";
 }
@@ -39,9 +39,13 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.Sets;
+import com.google.common.collect.Streams;
 import com.google.common.hash.Hashing;
 import com.google.common.primitives.Bytes;
 import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.palantir.atlasdb.compress.CompressionUtils;
 import com.palantir.atlasdb.encoding.PtBytes;
@@ -56,6 +60,8 @@ import com.palantir.atlasdb.keyvalue.api.RangeRequest;
 import com.palantir.atlasdb.keyvalue.api.RowResult;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.impl.Cells;
+import com.palantir.atlasdb.ptobject.CompositeKeyReader;
+import com.palantir.atlasdb.ptobject.CompositeKeyWriter;
 import com.palantir.atlasdb.ptobject.EncodingUtils;
 import com.palantir.atlasdb.table.api.AtlasDbDynamicMutablePersistentTable;
 import com.palantir.atlasdb.table.api.AtlasDbMutablePersistentTable;
@@ -68,6 +74,7 @@ import com.palantir.atlasdb.table.description.ValueType;
 import com.palantir.atlasdb.table.generation.ColumnValues;
 import com.palantir.atlasdb.table.generation.Descending;
 import com.palantir.atlasdb.table.generation.NamedColumnValue;
+import com.palantir.atlasdb.table.generation.TableReads;
 import com.palantir.atlasdb.transaction.api.AtlasDbConstraintCheckingMode;
 import com.palantir.atlasdb.transaction.api.ConstraintCheckingTransaction;
 import com.palantir.atlasdb.transaction.api.ImmutableGetRangesQuery;
@@ -174,16 +181,16 @@ public final class HotspottyDataStreamIdxTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] idBytes = EncodingUtils.encodeSignedVarLong(id);
-            return EncodingUtils.add(idBytes);
+            CompositeKeyWriter __writer = new CompositeKeyWriter(EncodingUtils.sizeOfSignedVarLong(id));
+            __writer.writeSignedVarLong(id);
+            return __writer.toByteArray();
         }
 
         public static final Hydrator<HotspottyDataStreamIdxRow> BYTES_HYDRATOR = new Hydrator<HotspottyDataStreamIdxRow>() {
             @Override
             public HotspottyDataStreamIdxRow hydrateFromBytes(byte[] __input) {
-                int __index = 0;
-                Long id = EncodingUtils.decodeSignedVarLong(__input, __index);
-                __index += EncodingUtils.sizeOfSignedVarLong(id);
+                CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                Long id = __reader.readSignedVarLong();
                 return new HotspottyDataStreamIdxRow(id);
             }
         };
@@ -266,16 +273,16 @@ public final class HotspottyDataStreamIdxTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] referenceBytes = EncodingUtils.encodeSizedBytes(reference);
-            return EncodingUtils.add(referenceBytes);
+            CompositeKeyWriter __writer = new CompositeKeyWriter(EncodingUtils.sizeOfSizedBytes(reference));
+            __writer.writeSizedBytes(reference);
+            return __writer.toByteArray();
         }
 
         public static final Hydrator<HotspottyDataStreamIdxColumn> BYTES_HYDRATOR = new Hydrator<HotspottyDataStreamIdxColumn>() {
             @Override
             public HotspottyDataStreamIdxColumn hydrateFromBytes(byte[] __input) {
-                int __index = 0;
-                byte[] reference = EncodingUtils.decodeSizedBytes(__input, __index);
-                __index += EncodingUtils.sizeOfSizedBytes(reference);
+                CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                byte[] reference = __reader.readSizedBytes();
                 return new HotspottyDataStreamIdxColumn(reference);
             }
         };
@@ -513,6 +520,15 @@ public final class HotspottyDataStreamIdxTable implements
     public Multimap<HotspottyDataStreamIdxRow, HotspottyDataStreamIdxColumnValue> get(Multimap<HotspottyDataStreamIdxRow, HotspottyDataStreamIdxColumn> cells) {
         Set<Cell> rawCells = ColumnValues.toCells(cells);
         Map<Cell, byte[]> rawResults = t.get(tableRef, rawCells);
+        return getRowMapFromCellValues(rawResults);
+    }
+
+    public ListenableFuture<Multimap<HotspottyDataStreamIdxRow, HotspottyDataStreamIdxColumnValue>> getAsync(Multimap<HotspottyDataStreamIdxRow, HotspottyDataStreamIdxColumn> cells) {
+        Set<Cell> rawCells = ColumnValues.toCells(cells);
+        return Futures.transform(t.getAsync(tableRef, rawCells), HotspottyDataStreamIdxTable::getRowMapFromCellValues, MoreExecutors.directExecutor());
+    }
+
+    private static Multimap<HotspottyDataStreamIdxRow, HotspottyDataStreamIdxColumnValue> getRowMapFromCellValues(Map<Cell, byte[]> rawResults) {
         Multimap<HotspottyDataStreamIdxRow, HotspottyDataStreamIdxColumnValue> rowMap = HashMultimap.create();
         for (Entry<Cell, byte[]> e : rawResults.entrySet()) {
             if (e.getValue().length > 0) {
@@ -525,6 +541,14 @@ public final class HotspottyDataStreamIdxTable implements
         return rowMap;
     }
 
+    public Stream<HotspottyDataStreamIdxRowResult> getRowsStream(Iterable<HotspottyDataStreamIdxRow> rows) {
+        return getRowsStream(rows, allColumns);
+    }
+
+    public Stream<HotspottyDataStreamIdxRowResult> getRowsStream(Iterable<HotspottyDataStreamIdxRow> rows, ColumnSelection columns) {
+        return TableReads.getRowsStream(t, tableRef, Persistables.persistAll(rows), columns).map(HotspottyDataStreamIdxRowResult::of);
+    }
+
     @Override
     public List<HotspottyDataStreamIdxColumnValue> getRowColumns(HotspottyDataStreamIdxRow row) {
         return getRowColumns(row, allColumns);
@@ -619,6 +643,10 @@ public final class HotspottyDataStreamIdxTable implements
         return transformed;
     }
 
+    public Stream<Map.Entry<HotspottyDataStreamIdxRow, HotspottyDataStreamIdxColumnValue>> getRowsColumnRangeStream(Iterable<HotspottyDataStreamIdxRow> rows, ColumnRangeSelection columnRangeSelection, int batchHint) {
+        return Streams.stream(getRowsColumnRange(rows, columnRangeSelection, batchHint));
+    }
+
     private ColumnSelection optimizeColumnSelection(ColumnSelection columns) {
         if (columns.allColumnsSelected()) {
             return allColumns;
@@ -683,6 +711,8 @@ public final class HotspottyDataStreamIdxTable implements
      * {@link ColumnValue}
      * {@link ColumnValues}
      * {@link ComparisonChain}
+     * {@link CompositeKeyReader}
+     * {@link CompositeKeyWriter}
      * {@link Compression}
      * {@link CompressionUtils}
      * {@link ConstraintCheckingTransaction}
@@ -691,6 +721,7 @@ public final class HotspottyDataStreamIdxTable implements
      * {@link Entry}
      * {@link EnumSet}
      * {@link Function}
+     * {@link Futures}
      * {@link Generated}
      * {@link HashMultimap}
      * {@link HashSet}
@@ -708,9 +739,11 @@ public final class HotspottyDataStreamIdxTable implements
      * {@link Iterators}
      * {@link Joiner}
      * {@link List}
+     * {@link ListenableFuture}
      * {@link Lists}
      * {@link Map}
      * {@link Maps}
+     * {@link MoreExecutors}
      * {@link MoreObjects}
      * {@link Multimap}
      * {@link Multimaps}
@@ -729,7 +762,9 @@ public final class HotspottyDataStreamIdxTable implements
      * {@link Sha256Hash}
      * {@link SortedMap}
      * {@link Stream}
+     * {@link Streams}
      * {@link Supplier}
+     * {@link TableReads}
      * {@link TableReference}
      * {@link Throwables}
      * {@link TimeUnit}
@@ -739,5 +774,5 @@ public final class HotspottyDataStreamIdxTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "Q7AA2hgYuQxHBO04yox+Fg==";
+    static String __CLASS_HASH = "UdPFMPTyJ6G7rPYYyoOMeQ==";
 }
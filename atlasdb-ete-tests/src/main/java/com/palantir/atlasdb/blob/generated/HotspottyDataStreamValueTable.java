@@ -39,9 +39,13 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.Sets;
+import com.google.common.collect.Streams;
 import com.google.common.hash.Hashing;
 import com.google.common.primitives.Bytes;
 import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.palantir.atlasdb.compress.CompressionUtils;
 import com.palantir.atlasdb.encoding.PtBytes;
@@ -56,6 +60,8 @@ import com.palantir.atlasdb.keyvalue.api.RangeRequest;
 import com.palantir.atlasdb.keyvalue.api.RowResult;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.impl.Cells;
+import com.palantir.atlasdb.ptobject.CompositeKeyReader;
+import com.palantir.atlasdb.ptobject.CompositeKeyWriter;
 import com.palantir.atlasdb.ptobject.EncodingUtils;
 import com.palantir.atlasdb.table.api.AtlasDbDynamicMutablePersistentTable;
 import com.palantir.atlasdb.table.api.AtlasDbMutablePersistentTable;
@@ -68,6 +74,7 @@ import com.palantir.atlasdb.table.description.ValueType;
 import com.palantir.atlasdb.table.generation.ColumnValues;
 import com.palantir.atlasdb.table.generation.Descending;
 import com.palantir.atlasdb.table.generation.NamedColumnValue;
+import com.palantir.atlasdb.table.generation.TableReads;
 import com.palantir.atlasdb.transaction.api.AtlasDbConstraintCheckingMode;
 import com.palantir.atlasdb.transaction.api.ConstraintCheckingTransaction;
 import com.palantir.atlasdb.transaction.api.ImmutableGetRangesQuery;
@@ -183,19 +190,18 @@ public final class HotspottyDataStreamValueTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] idBytes = EncodingUtils.encodeSignedVarLong(id);
-            byte[] blockIdBytes = EncodingUtils.encodeUnsignedVarLong(blockId);
-            return EncodingUtils.add(idBytes, blockIdBytes);
+            CompositeKeyWriter __writer = new CompositeKeyWriter(EncodingUtils.sizeOfSignedVarLong(id) + EncodingUtils.sizeOfUnsignedVarLong(blockId));
+            __writer.writeSignedVarLong(id);
+            __writer.writeUnsignedVarLong(blockId);
+            return __writer.toByteArray();
         }
 
         public static final Hydrator<HotspottyDataStreamValueRow> BYTES_HYDRATOR = new Hydrator<HotspottyDataStreamValueRow>() {
             @Override
             public HotspottyDataStreamValueRow hydrateFromBytes(byte[] __input) {
-                int __index = 0;
-                Long id = EncodingUtils.decodeSignedVarLong(__input, __index);
-                __index += EncodingUtils.sizeOfSignedVarLong(id);
-                Long blockId = EncodingUtils.decodeUnsignedVarLong(__input, __index);
-                __index += EncodingUtils.sizeOfUnsignedVarLong(blockId);
+                CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                Long id = __reader.readSignedVarLong();
+                Long blockId = __reader.readUnsignedVarLong();
                 return new HotspottyDataStreamValueRow(id, blockId);
             }
         };
@@ -489,6 +495,26 @@ public final class HotspottyDataStreamValueTable implements
         return rowResults;
     }
 
+    public ListenableFuture<List<HotspottyDataStreamValueRowResult>> getRowsAsync(Iterable<HotspottyDataStreamValueRow> rows) {
+        return getRowsAsync(rows, allColumns);
+    }
+
+    public ListenableFuture<List<HotspottyDataStreamValueRowResult>> getRowsAsync(Iterable<HotspottyDataStreamValueRow> rows, ColumnSelection columns) {
+        ColumnSelection selectedColumns = columns.allColumnsSelected() ? allColumns : columns;
+        return Futures.transform(
+                TableReads.getRowsAsync(t, tableRef, Persistables.persistAll(rows), selectedColumns),
+                rowResults -> ImmutableList.copyOf(Lists.transform(rowResults, HotspottyDataStreamValueRowResult::of)),
+                MoreExecutors.directExecutor());
+    }
+
+    public Stream<HotspottyDataStreamValueRowResult> getRowsStream(Iterable<HotspottyDataStreamValueRow> rows) {
+        return getRowsStream(rows, allColumns);
+    }
+
+    public Stream<HotspottyDataStreamValueRowResult> getRowsStream(Iterable<HotspottyDataStreamValueRow> rows, ColumnSelection columns) {
+        return TableReads.getRowsStream(t, tableRef, Persistables.persistAll(rows), columns).map(HotspottyDataStreamValueRowResult::of);
+    }
+
     @Override
     public List<HotspottyDataStreamValueNamedColumnValue<?>> getRowColumns(HotspottyDataStreamValueRow row) {
         return getRowColumns(row, allColumns);
@@ -573,6 +599,10 @@ public final class HotspottyDataStreamValueTable implements
         return transformed;
     }
 
+    public Stream<Map.Entry<HotspottyDataStreamValueRow, HotspottyDataStreamValueNamedColumnValue<?>>> getRowsColumnRangeStream(Iterable<HotspottyDataStreamValueRow> rows, ColumnRangeSelection columnRangeSelection, int batchHint) {
+        return Streams.stream(getRowsColumnRange(rows, columnRangeSelection, batchHint));
+    }
+
     private ColumnSelection optimizeColumnSelection(ColumnSelection columns) {
         if (columns.allColumnsSelected()) {
             return allColumns;
@@ -637,6 +667,8 @@ public final class HotspottyDataStreamValueTable implements
      * {@link ColumnValue}
      * {@link ColumnValues}
      * {@link ComparisonChain}
+     * {@link CompositeKeyReader}
+     * {@link CompositeKeyWriter}
      * {@link Compression}
      * {@link CompressionUtils}
      * {@link ConstraintCheckingTransaction}
@@ -645,6 +677,7 @@ public final class HotspottyDataStreamValueTable implements
      * {@link Entry}
      * {@link EnumSet}
      * {@link Function}
+     * {@link Futures}
      * {@link Generated}
      * {@link HashMultimap}
      * {@link HashSet}
@@ -662,9 +695,11 @@ public final class HotspottyDataStreamValueTable implements
      * {@link Iterators}
      * {@link Joiner}
      * {@link List}
+     * {@link ListenableFuture}
      * {@link Lists}
      * {@link Map}
      * {@link Maps}
+     * {@link MoreExecutors}
      * {@link MoreObjects}
      * {@link Multimap}
      * {@link Multimaps}
@@ -683,7 +718,9 @@ public final class HotspottyDataStreamValueTable implements
      * {@link Sha256Hash}
      * {@link SortedMap}
      * {@link Stream}
+     * {@link Streams}
      * {@link Supplier}
+     * {@link TableReads}
      * {@link TableReference}
      * {@link Throwables}
      * {@link TimeUnit}
@@ -693,5 +730,5 @@ public final class HotspottyDataStreamValueTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "JBZ1BxSIpq8q7u8QtmGskQ==";
+    static String __CLASS_HASH = "xEgoBc65PbUxjU8mKN800g==";
 }
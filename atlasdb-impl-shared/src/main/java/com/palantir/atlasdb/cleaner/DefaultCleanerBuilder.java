@@ -52,6 +52,7 @@ public class DefaultCleanerBuilder {
     private int backgroundScrubReadThreads = AtlasDbConstants.DEFAULT_BACKGROUND_SCRUB_READ_THREADS;
     private long backgroundScrubFrequencyMillis = AtlasDbConstants.DEFAULT_BACKGROUND_SCRUB_FREQUENCY_MILLIS;
     private int backgroundScrubBatchSize = AtlasDbConstants.DEFAULT_BACKGROUND_SCRUB_BATCH_SIZE;
+    private int backgroundScrubMaxInFlightBatches = AtlasDbConstants.DEFAULT_BACKGROUND_SCRUB_MAX_IN_FLIGHT_BATCHES;
     private boolean initalizeAsync = AtlasDbConstants.DEFAULT_INITIALIZE_ASYNC;
 
     public DefaultCleanerBuilder(KeyValueService keyValueService,
@@ -112,6 +113,11 @@ public class DefaultCleanerBuilder {
         return this;
     }
 
+    public DefaultCleanerBuilder setBackgroundScrubMaxInFlightBatches(int backgroundScrubMaxInFlightBatches) {
+        this.backgroundScrubMaxInFlightBatches = backgroundScrubMaxInFlightBatches;
+        return this;
+    }
+
     public DefaultCleanerBuilder setInitializeAsync(boolean initializeAsync) {
         this.initalizeAsync = initializeAsync;
         return this;
@@ -145,6 +151,7 @@ public class DefaultCleanerBuilder {
                 Suppliers.ofInstance(backgroundScrubBatchSize),
                 backgroundScrubThreads,
                 backgroundScrubReadThreads,
+                backgroundScrubMaxInFlightBatches,
                 followerList,
                 metricsManager);
     }
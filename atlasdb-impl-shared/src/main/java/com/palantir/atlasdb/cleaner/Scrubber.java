@@ -15,8 +15,10 @@
  */
 package com.palantir.atlasdb.cleaner;
 
+import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -36,6 +38,7 @@ import javax.annotation.concurrent.GuardedBy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.codahale.metrics.Counter;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.HashMultimap;
@@ -51,6 +54,9 @@ import com.google.common.collect.Ordering;
 import com.google.common.collect.Sets;
 import com.google.common.primitives.UnsignedBytes;
 import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.palantir.atlasdb.AtlasDbConstants;
 import com.palantir.atlasdb.AtlasDbMetricNames;
 import com.palantir.atlasdb.encoding.PtBytes;
@@ -70,7 +76,6 @@ import com.palantir.atlasdb.transaction.service.TransactionService;
 import com.palantir.atlasdb.util.MetricsManager;
 import com.palantir.common.base.BatchingVisitable;
 import com.palantir.common.base.Throwables;
-import com.palantir.common.collect.Maps2;
 import com.palantir.common.concurrent.ExecutorInheritableThreadLocal;
 import com.palantir.common.concurrent.NamedThreadFactory;
 import com.palantir.common.concurrent.PTExecutors;
@@ -109,8 +114,9 @@ public class Scrubber {
     private final Supplier<Integer> batchSizeSupplier;
     private final int threadCount;
     private final int readThreadCount;
+    private final int maxInFlightBatchesPerReader;
     private final ExecutorService readerExec;
-    private final ExecutorService exec;
+    private final ListeningExecutorService exec;
 
     private static final String SCRUBBER_THREAD_PREFIX = "AtlasScrubber";
 
@@ -134,6 +140,7 @@ public class Scrubber {
                                   Supplier<Integer> batchSizeSupplier,
                                   int threadCount,
                                   int readThreadCount,
+                                  int maxInFlightBatchesPerReader,
                                   Collection<Follower> followers,
                                   MetricsManager metricsManager) {
         Scrubber scrubber = new Scrubber(
@@ -148,6 +155,7 @@ public class Scrubber {
                 batchSizeSupplier,
                 threadCount,
                 readThreadCount,
+                maxInFlightBatchesPerReader,
                 followers,
                 metricsManager);
         return scrubber;
@@ -164,6 +172,7 @@ public class Scrubber {
                      Supplier<Integer> batchSizeSupplier,
                      int threadCount,
                      int readThreadCount,
+                     int maxInFlightBatchesPerReader,
                      Collection<Follower> followers,
                      MetricsManager metricsManager) {
         this.keyValueService = keyValueService;
@@ -177,12 +186,13 @@ public class Scrubber {
         this.batchSizeSupplier = batchSizeSupplier;
         this.threadCount = threadCount;
         this.readThreadCount = readThreadCount;
+        this.maxInFlightBatchesPerReader = maxInFlightBatchesPerReader;
         this.followers = followers;
         this.metricsManager = metricsManager;
 
         NamedThreadFactory threadFactory = new NamedThreadFactory(SCRUBBER_THREAD_PREFIX, true);
         this.readerExec = PTExecutors.newFixedThreadPool(readThreadCount, threadFactory);
-        this.exec = PTExecutors.newFixedThreadPool(threadCount, threadFactory);
+        this.exec = MoreExecutors.listeningDecorator(PTExecutors.newFixedThreadPool(threadCount, threadFactory));
     }
 
     public boolean isInitialized() {
@@ -264,6 +274,9 @@ public class Scrubber {
             final byte[] startRow = rangeBoundaries.get(i);
             final byte[] endRow = rangeBoundaries.get(i + 1);
             readerFutures.add(readerExec.submit(() -> {
+                // Deletes for a batch run on the scrub threads while this reader moves on to the next batch of
+                // the scrub queue; we only block once too many batches are outstanding.
+                Deque<ListenableFuture<Void>> inFlightBatches = new ArrayDeque<>();
                 BatchingVisitable<SortedMap<Long, Multimap<TableReference, Cell>>> scrubQueue = scrubberStore
                         .getBatchingVisitableScrubQueue(maxScrubTimestamp, startRow, endRow);
                 scrubQueue.batchAccept(batchSize, batch -> {
@@ -272,9 +285,11 @@ public class Scrubber {
                         // for pulling off the scrub queue, and a single entry in the scrub queue may
                         // match multiple tables. These will get broken down into smaller batches later
                         // on when we actually do deletes.
-                        int numCellsRead = scrubSomeCells(cells, txManager, maxScrubTimestamp);
+                        int numCellsRead = countCells(cells);
+                        inFlightBatches.addLast(scrubSomeCells(cells, txManager, maxScrubTimestamp));
+                        awaitInFlightBatches(inFlightBatches, maxInFlightBatchesPerReader);
                         int totalRead = totalCellsRead.addAndGet(numCellsRead);
-                        log.debug("Scrub task processed {} cells in a batch, total {} processed so far.",
+                        log.debug("Scrub task read {} cells in a batch, total {} read so far.",
                                   numCellsRead, totalRead);
                         if (!isScrubEnabled.get()) {
                             log.debug("Stopping scrub for banned hours.");
@@ -283,6 +298,7 @@ public class Scrubber {
                     }
                     return isScrubEnabled.get();
                 });
+                awaitInFlightBatches(inFlightBatches, 0);
                 return null;
             }));
         }
@@ -371,41 +387,75 @@ public class Scrubber {
         lazyWriteMetric(AtlasDbMetricNames.ENQUEUED_CELLS, cellToTableRefs.size());
     }
 
-    private long getCommitTimestampRollBackIfNecessary(long startTimestamp,
-                                                       Multimap<TableReference, Cell> tableNameToCell) {
-        Long commitTimestamp = transactionService.get(startTimestamp);
-        if (commitTimestamp == null) {
-            // Roll back this transaction (note that rolling back arbitrary transactions
-            // can never cause correctness issues, only liveness issues)
-            try {
-                transactionService.putUnlessExists(startTimestamp, TransactionConstants.FAILED_COMMIT_TS);
-            } catch (KeyAlreadyExistsException e) {
-                String msg = "Could not roll back transaction with start timestamp " + startTimestamp + "; either"
-                        + " it was already rolled back (by a different transaction), or it committed successfully"
-                        + " before we could roll it back.";
-                log.error("This isn't a bug but it should be very infrequent. {}", msg,
-                        new TransactionFailedRetriableException(msg, e));
-            }
-            commitTimestamp = transactionService.get(startTimestamp);
+    private static int countCells(SortedMap<Long, Multimap<TableReference, Cell>> scrubTimestampToTableNameToCell) {
+        int numCells = 0;
+        for (Multimap<TableReference, Cell> tableNameToCell : scrubTimestampToTableNameToCell.values()) {
+            numCells += tableNameToCell.size();
         }
-        if (commitTimestamp == null) {
-            throw new RuntimeException("expected commit timestamp to be non-null for startTs: " + startTimestamp);
+        return numCells;
+    }
+
+    private static void awaitInFlightBatches(Deque<ListenableFuture<Void>> inFlightBatches, int maxInFlightBatches) {
+        while (inFlightBatches.size() > maxInFlightBatches) {
+            Futures.getUnchecked(inFlightBatches.removeFirst());
+        }
+    }
+
+    /**
+     * Looks up the commit timestamps of all of the given start timestamps in one batch, rolling back any
+     * transactions that have not committed yet.
+     */
+    private Map<Long, Long> getCommitTimestampsRollBackIfNecessary(Set<Long> startTimestamps) {
+        Map<Long, Long> commitTimestamps = Maps.newHashMap(transactionService.get(startTimestamps));
+        Set<Long> uncommittedTimestamps = ImmutableSet.copyOf(
+                Sets.difference(startTimestamps, commitTimestamps.keySet()));
+        if (!uncommittedTimestamps.isEmpty()) {
+            for (long startTimestamp : uncommittedTimestamps) {
+                rollBack(startTimestamp);
+            }
+            commitTimestamps.putAll(transactionService.get(uncommittedTimestamps));
         }
-        if (commitTimestamp == TransactionConstants.FAILED_COMMIT_TS) {
-            for (TableReference table : tableNameToCell.keySet()) {
-                Map<Cell, Long> toDelete = Maps2.createConstantValueMap(tableNameToCell.get(table), startTimestamp);
-                keyValueService.delete(table, Multimaps.forMap(toDelete));
+        for (long startTimestamp : startTimestamps) {
+            if (commitTimestamps.get(startTimestamp) == null) {
+                throw new RuntimeException(
+                        "expected commit timestamp to be non-null for startTs: " + startTimestamp);
             }
         }
-        return commitTimestamp;
+        lazyWriteMetric(AtlasDbMetricNames.SCRUB_RESOLVED_COMMIT_TIMESTAMPS, startTimestamps.size());
+        return commitTimestamps;
+    }
+
+    private void rollBack(long startTimestamp) {
+        // Roll back this transaction (note that rolling back arbitrary transactions
+        // can never cause correctness issues, only liveness issues)
+        try {
+            transactionService.putUnlessExists(startTimestamp, TransactionConstants.FAILED_COMMIT_TS);
+        } catch (KeyAlreadyExistsException e) {
+            String msg = "Could not roll back transaction with start timestamp " + startTimestamp + "; either"
+                    + " it was already rolled back (by a different transaction), or it committed successfully"
+                    + " before we could roll it back.";
+            log.error("This isn't a bug but it should be very infrequent. {}", msg,
+                    new TransactionFailedRetriableException(msg, e));
+        }
+    }
+
+    private void deleteFailedWrites(Map<TableReference, Multimap<Cell, Long>> failedWrites) {
+        failedWrites.forEach((tableRef, cellToTimestamp) -> {
+            for (List<Entry<Cell, Long>> batch : Iterables.partition(cellToTimestamp.entries(), MAX_DELETES_IN_BATCH)) {
+                Builder<Cell, Long> builder = ImmutableMultimap.builder();
+                batch.forEach(builder::put);
+                keyValueService.delete(tableRef, builder.build());
+            }
+        });
     }
 
     /**
-     * Scrubs some cells.
+     * Scrubs some cells. Commit timestamps are resolved and writes of failed transactions are deleted before
+     * this method returns; deletes for committed transactions are performed on the scrub threads.
      *
-     * @return number of cells read from _scrub table
+     * @return a future that completes when all deletes for these cells have been performed
      */
-    private int scrubSomeCells(
+    private ListenableFuture<Void> scrubSomeCells(
             SortedMap<Long, Multimap<TableReference, Cell>> scrubTimestampToTableNameToCell,
             TransactionManager txManager,
             long maxScrubTimestamp) {
@@ -422,24 +472,27 @@ public class Scrubber {
         }
 
         if (scrubTimestampToTableNameToCell.size() == 0) {
-            return 0; // No cells left to scrub
+            return Futures.immediateFuture(null); // No cells left to scrub
         }
 
-        int numCellsReadFromScrubTable = 0;
-        List<Future<Void>> scrubFutures = Lists.newArrayList();
+        // This is CRITICAL; don't scrub if the hard delete transaction didn't actually finish
+        // (we still remove it from the _scrub table with the call to markCellsAsScrubbed though),
+        // or else we could cause permanent data loss if the hard delete transaction failed after
+        // queuing cells to scrub but before successfully committing
+        Map<Long, Long> commitTimestamps =
+                getCommitTimestampsRollBackIfNecessary(scrubTimestampToTableNameToCell.keySet());
+
+        List<ListenableFuture<?>> scrubFutures = Lists.newArrayList();
         Map<TableReference, Multimap<Cell, Long>> failedWrites = Maps.newHashMap();
 
         for (Map.Entry<Long, Multimap<TableReference, Cell>> entry : scrubTimestampToTableNameToCell.entrySet()) {
             final long scrubTimestamp = entry.getKey();
             final Multimap<TableReference, Cell> tableNameToCell = entry.getValue();
 
-            numCellsReadFromScrubTable += tableNameToCell.size();
+            metricsManager.registerOrGetHistogram(Scrubber.class, AtlasDbMetricNames.SCRUB_TIMESTAMP_LAG)
+                    .update(maxScrubTimestamp - scrubTimestamp);
 
-            // This is CRITICAL; don't scrub if the hard delete transaction didn't actually finish
-            // (we still remove it from the _scrub table with the call to markCellsAsScrubbed though),
-            // or else we could cause permanent data loss if the hard delete transaction failed after
-            // queuing cells to scrub but before successfully committing
-            long commitTimestamp = getCommitTimestampRollBackIfNecessary(scrubTimestamp, tableNameToCell);
+            long commitTimestamp = commitTimestamps.get(scrubTimestamp);
             if (commitTimestamp == TransactionConstants.FAILED_COMMIT_TS) {
                 for (Entry<TableReference, Collection<Cell>> cells : tableNameToCell.asMap().entrySet()) {
                     Multimap<Cell, Long> failedCells = failedWrites.get(cells.getKey());
@@ -471,14 +524,24 @@ public class Scrubber {
             // }
         }
 
-        for (Future<Void> future : scrubFutures) {
-            Futures.getUnchecked(future);
-        }
-
         if (!failedWrites.isEmpty()) {
+            deleteFailedWrites(failedWrites);
             scrubberStore.markCellsAsScrubbed(failedWrites, batchSizeSupplier.get());
         }
 
+        Counter inFlightBatches = metricsManager.registerOrGetCounter(
+                Scrubber.class, AtlasDbMetricNames.SCRUB_IN_FLIGHT_BATCHES);
+        inFlightBatches.inc();
+        ListenableFuture<Void> scrubbed = Futures.whenAllSucceed(scrubFutures).call(() -> {
+            logFinishedScrubbing(scrubTimestampToTableNameToCell);
+            return null;
+        }, MoreExecutors.directExecutor());
+        scrubbed.addListener(inFlightBatches::dec, MoreExecutors.directExecutor());
+        return scrubbed;
+    }
+
+    private static void logFinishedScrubbing(
+            SortedMap<Long, Multimap<TableReference, Cell>> scrubTimestampToTableNameToCell) {
         log.trace("Finished scrubbing cells: {}", scrubTimestampToTableNameToCell);
 
         if (log.isDebugEnabled()) {
@@ -489,11 +552,9 @@ public class Scrubber {
             long minTimestamp = Collections.min(scrubTimestampToTableNameToCell.keySet());
             long maxTimestamp = Collections.max(scrubTimestampToTableNameToCell.keySet());
             log.debug("Finished scrubbing {} cells at {} timestamps ({}...{}) from tables {}",
-                      numCellsReadFromScrubTable, scrubTimestampToTableNameToCell.size(),
+                      countCells(scrubTimestampToTableNameToCell), scrubTimestampToTableNameToCell.size(),
                       minTimestamp, maxTimestamp, tables);
         }
-
-        return numCellsReadFromScrubTable;
     }
 
     private void scrubCells(TransactionManager txManager,
@@ -524,7 +585,7 @@ public class Scrubber {
             log.debug("Immediately scrubbed {} cells from table {}", entry.getValue().size(), tableRef);
         }
         scrubberStore.markCellsAsScrubbed(allCellsToMarkScrubbed, batchSizeSupplier.get());
-        lazyWriteMetric(AtlasDbMetricNames.SCRUBBED_CELLS, allCellsToMarkScrubbed.size());
+        lazyWriteMetric(AtlasDbMetricNames.SCRUBBED_CELLS, tableNameToCells.size());
     }
 
     private void deleteCellsAtTimestamps(TransactionManager txManager,
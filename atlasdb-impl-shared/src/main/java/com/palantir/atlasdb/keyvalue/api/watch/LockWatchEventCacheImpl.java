@@ -29,6 +29,7 @@ import java.util.Set;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableSet;
 import com.palantir.atlasdb.keyvalue.api.watch.TimestampStateStore.CommitInfo;
+import com.palantir.atlasdb.keyvalue.api.watch.TimestampStateStore.MapEntry;
 import com.palantir.atlasdb.transaction.api.TransactionLockWatchFailedException;
 import com.palantir.atlasdb.util.MetricsManager;
 import com.palantir.lock.LockDescriptor;
@@ -49,8 +50,14 @@ import com.palantir.lock.watch.UnlockEvent;
 import com.palantir.logsafe.Preconditions;
 
 /**
- * This class should only be used through {@link ResilientLockWatchEventCache} as a proxy; failure to do so will result
- * in concurrency issues and inconsistency in the cache state.
+ * This class should only be used through {@link ResilientLockWatchEventCache} as a proxy, which falls back to a no-op
+ * cache if this one fails unexpectedly.
+ * <p>
+ * Updates to the cache are serialized on this object. {@link #getCommitUpdate(long)} and
+ * {@link #getUpdateForTransactions(Set, Optional)} first try to compute their result without locking, from the
+ * timestamp store and the immutable view last published by the event log, so that they do not block updates (or each
+ * other). They only fall back to computing the result under the lock if that would require a snapshot of the log, or
+ * if the state they read was concurrently cleared.
  */
 public final class LockWatchEventCacheImpl implements LockWatchEventCache {
     private final LockWatchEventLog eventLog;
@@ -74,7 +81,7 @@ public final class LockWatchEventCacheImpl implements LockWatchEventCache {
     }
 
     @Override
-    public void processStartTransactionsUpdate(
+    public synchronized void processStartTransactionsUpdate(
             Set<Long> startTimestamps,
             LockWatchStateUpdate update) {
         Optional<IdentifiedVersion> updateVersion = processEventLogUpdate(update);
@@ -83,7 +90,7 @@ public final class LockWatchEventCacheImpl implements LockWatchEventCache {
     }
 
     @Override
-    public void processGetCommitTimestampsUpdate(
+    public synchronized void processGetCommitTimestampsUpdate(
             Collection<TransactionUpdate> transactionUpdates,
             LockWatchStateUpdate update) {
         Optional<IdentifiedVersion> updateVersion = processEventLogUpdate(update);
@@ -92,6 +99,43 @@ public final class LockWatchEventCacheImpl implements LockWatchEventCache {
 
     @Override
     public CommitUpdate getCommitUpdate(long startTs) {
+        Optional<MapEntry> entry = timestampStateStore.get(startTs);
+        if (entry.isPresent() && entry.get().commitInfo().isPresent()) {
+            CommitInfo commitInfo = entry.get().commitInfo().get();
+            Optional<ClientLogEvents> update = eventLog.tryGetEventsBetweenVersions(
+                    Optional.of(entry.get().version()), commitInfo.commitVersion());
+            if (update.isPresent()) {
+                return createCommitUpdate(commitInfo, update.get().events());
+            }
+        }
+        return getCommitUpdateExclusively(startTs);
+    }
+
+    @Override
+    public TransactionsLockWatchUpdate getUpdateForTransactions(
+            Set<Long> startTimestamps,
+            Optional<IdentifiedVersion> lastKnownVersion) {
+        Preconditions.checkArgument(!startTimestamps.isEmpty(), "Cannot get events for empty set of transactions");
+        Map<Long, IdentifiedVersion> timestampToVersion = new HashMap<>();
+        for (long timestamp : startTimestamps) {
+            Optional<IdentifiedVersion> version = timestampStateStore.getStartVersion(timestamp);
+            if (!version.isPresent()) {
+                return getUpdateForTransactionsExclusively(startTimestamps, lastKnownVersion);
+            }
+            timestampToVersion.put(timestamp, version.get());
+        }
+        return eventLog.tryGetEventsBetweenVersions(lastKnownVersion, getMaxVersion(timestampToVersion))
+                .map(update -> update.map(timestampToVersion))
+                .orElseGet(() -> getUpdateForTransactionsExclusively(startTimestamps, lastKnownVersion));
+    }
+
+    @Override
+    public synchronized void removeTransactionStateFromCache(long startTimestamp) {
+        timestampStateStore.remove(startTimestamp);
+        retentionEventsInLog();
+    }
+
+    private synchronized CommitUpdate getCommitUpdateExclusively(long startTs) {
         Optional<IdentifiedVersion> startVersion = timestampStateStore.getStartVersion(startTs);
         Optional<CommitInfo> maybeCommitInfo = timestampStateStore.getCommitInfo(startTs);
 
@@ -109,25 +153,16 @@ public final class LockWatchEventCacheImpl implements LockWatchEventCache {
         return createCommitUpdate(commitInfo, update.events());
     }
 
-    @Override
-    public TransactionsLockWatchUpdate getUpdateForTransactions(
+    private synchronized TransactionsLockWatchUpdate getUpdateForTransactionsExclusively(
             Set<Long> startTimestamps,
             Optional<IdentifiedVersion> lastKnownVersion) {
-        Preconditions.checkArgument(!startTimestamps.isEmpty(), "Cannot get events for empty set of transactions");
         Map<Long, IdentifiedVersion> timestampToVersion = getTimestampMappings(startTimestamps);
-        IdentifiedVersion endVersion = Collections.max(timestampToVersion.values(),
-                Comparator.comparingLong(IdentifiedVersion::version));
-        return eventLog.getEventsBetweenVersions(lastKnownVersion, endVersion).map(timestampToVersion);
-    }
-
-    @Override
-    public void removeTransactionStateFromCache(long startTimestamp) {
-        timestampStateStore.remove(startTimestamp);
-        retentionEventsInLog();
+        return eventLog.getEventsBetweenVersions(lastKnownVersion, getMaxVersion(timestampToVersion))
+                .map(timestampToVersion);
     }
 
     @VisibleForTesting
-    Map<Long, IdentifiedVersion> getTimestampMappings(Set<Long> startTimestamps) {
+    synchronized Map<Long, IdentifiedVersion> getTimestampMappings(Set<Long> startTimestamps) {
         Map<Long, IdentifiedVersion> timestampToVersion = new HashMap<>();
         startTimestamps.forEach(timestamp -> {
             Optional<IdentifiedVersion> entry = timestampStateStore.getStartVersion(timestamp);
@@ -145,7 +180,7 @@ public final class LockWatchEventCacheImpl implements LockWatchEventCache {
     }
 
     @VisibleForTesting
-    LockWatchEventCacheState getStateForTesting() {
+    synchronized LockWatchEventCacheState getStateForTesting() {
         return ImmutableLockWatchEventCacheState.builder()
                 .timestampStoreState(timestampStateStore.getStateForTesting())
                 .logState(eventLog.getStateForTesting())
@@ -153,6 +188,10 @@ public final class LockWatchEventCacheImpl implements LockWatchEventCache {
     }
 
 
+    private static IdentifiedVersion getMaxVersion(Map<Long, IdentifiedVersion> timestampToVersion) {
+        return Collections.max(timestampToVersion.values(), Comparator.comparingLong(IdentifiedVersion::version));
+    }
+
     private void assertTrue(boolean condition, String message) {
         if (!condition) {
             throw new TransactionLockWatchFailedException(message);
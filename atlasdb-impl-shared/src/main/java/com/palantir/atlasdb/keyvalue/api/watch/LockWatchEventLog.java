@@ -27,10 +27,16 @@ import com.palantir.lock.watch.LockWatchEvent;
 import com.palantir.lock.watch.LockWatchStateUpdate;
 import com.palantir.logsafe.Preconditions;
 
+/**
+ * Updates to the log must be externally serialized. After every update, the log publishes an immutable
+ * {@link VersionedEvents} view of its latest version and events, which {@link #getLatestKnownVersion()} and
+ * {@link #tryGetEventsBetweenVersions(Optional, IdentifiedVersion)} read without blocking further updates.
+ */
 final class LockWatchEventLog {
     private final ClientLockWatchSnapshot snapshot;
     private final VersionedEventStore eventStore = new VersionedEventStore();
     private Optional<IdentifiedVersion> latestVersion = Optional.empty();
+    private volatile VersionedEvents versionedEvents = VersionedEvents.EMPTY;
 
     static LockWatchEventLog create() {
         return create(ClientLockWatchSnapshot.create());
@@ -46,11 +52,44 @@ final class LockWatchEventLog {
     }
 
     CacheUpdate processUpdate(LockWatchStateUpdate update) {
+        CacheUpdate cacheUpdate;
         if (!latestVersion.isPresent() || !update.logId().equals(latestVersion.get().id())) {
-            return update.accept(new NewLeaderVisitor());
+            cacheUpdate = update.accept(new NewLeaderVisitor());
         } else {
-            return update.accept(new ProcessingVisitor());
+            cacheUpdate = update.accept(new ProcessingVisitor());
+        }
+        publish();
+        return cacheUpdate;
+    }
+
+    /**
+     * Lock-free variant of {@link #getEventsBetweenVersions(Optional, IdentifiedVersion)} that reads the latest
+     * published view of the log.
+     *
+     * @return the events, or empty if the caller must fall back to the snapshot-aware, externally serialized variant:
+     * that is, if the log would have to send a snapshot, or if the view is not consistent with the given versions.
+     */
+    Optional<ClientLogEvents> tryGetEventsBetweenVersions(
+            Optional<IdentifiedVersion> lastKnownVersion,
+            IdentifiedVersion endVersion) {
+        VersionedEvents current = versionedEvents;
+        if (!lastKnownVersion.isPresent() || !current.latestVersion.isPresent()) {
+            return Optional.empty();
+        }
+
+        IdentifiedVersion startVersion = createStartVersion(lastKnownVersion.get());
+        IdentifiedVersion currentVersion = current.latestVersion.get();
+        if (!endVersion.id().equals(currentVersion.id())
+                || endVersion.version() > currentVersion.version()
+                || differentLeaderOrTooFarBehind(current.events, currentVersion, startVersion)) {
+            return Optional.empty();
         }
+
+        return Optional.of(new ClientLogEvents.Builder()
+                .clearCache(false)
+                .addAllEvents(current.events.getEventsBetweenVersionsInclusive(
+                        Optional.of(startVersion.version()), endVersion.version()))
+                .build());
     }
 
     /**
@@ -62,10 +101,11 @@ final class LockWatchEventLog {
     public ClientLogEvents getEventsBetweenVersions(
             Optional<IdentifiedVersion> lastKnownVersion,
             IdentifiedVersion endVersion) {
-        Optional<IdentifiedVersion> startVersion = lastKnownVersion.map(this::createStartVersion);
+        Optional<IdentifiedVersion> startVersion = lastKnownVersion.map(LockWatchEventLog::createStartVersion);
         IdentifiedVersion currentVersion = getLatestVersionAndVerify(endVersion);
 
-        if (!startVersion.isPresent() || differentLeaderOrTooFarBehind(currentVersion, startVersion.get())) {
+        if (!startVersion.isPresent()
+                || differentLeaderOrTooFarBehind(eventStore.snapshot(), currentVersion, startVersion.get())) {
             return new ClientLogEvents.Builder()
                     .clearCache(true)
                     .addEvents(LockWatchCreatedEvent.fromSnapshot(snapshot.getSnapshot()))
@@ -86,10 +126,11 @@ final class LockWatchEventLog {
             LockWatchEvents eventsToBeRemoved = eventStore.getAndRemoveElementsUpToExclusive(earliestSequence);
             snapshot.processEvents(eventsToBeRemoved, version.id());
         });
+        publish();
     }
 
     Optional<IdentifiedVersion> getLatestKnownVersion() {
-        return latestVersion;
+        return versionedEvents.latestVersion;
     }
 
     @VisibleForTesting
@@ -101,12 +142,16 @@ final class LockWatchEventLog {
                 .build();
     }
 
-    private boolean differentLeaderOrTooFarBehind(IdentifiedVersion currentVersion,
-            IdentifiedVersion startVersion) {
-        return !startVersion.id().equals(currentVersion.id()) || !eventStore.contains(startVersion.version());
+    private void publish() {
+        versionedEvents = new VersionedEvents(latestVersion, eventStore.snapshot());
     }
 
-    private IdentifiedVersion createStartVersion(IdentifiedVersion startVersion) {
+    private static boolean differentLeaderOrTooFarBehind(VersionedEventStore.Snapshot events,
+            IdentifiedVersion currentVersion, IdentifiedVersion startVersion) {
+        return !startVersion.id().equals(currentVersion.id()) || !events.contains(startVersion.version());
+    }
+
+    private static IdentifiedVersion createStartVersion(IdentifiedVersion startVersion) {
         return IdentifiedVersion.of(startVersion.id(), startVersion.version() + 1);
     }
 
@@ -188,4 +233,17 @@ final class LockWatchEventLog {
             return new CacheUpdate(true, latestVersion);
         }
     }
+
+    private static final class VersionedEvents {
+        private static final VersionedEvents EMPTY =
+                new VersionedEvents(Optional.empty(), new VersionedEventStore().snapshot());
+
+        private final Optional<IdentifiedVersion> latestVersion;
+        private final VersionedEventStore.Snapshot events;
+
+        private VersionedEvents(Optional<IdentifiedVersion> latestVersion, VersionedEventStore.Snapshot events) {
+            this.latestVersion = latestVersion;
+            this.events = events;
+        }
+    }
 }
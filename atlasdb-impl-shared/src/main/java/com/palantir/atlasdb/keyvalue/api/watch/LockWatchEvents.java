@@ -17,14 +17,10 @@
 package com.palantir.atlasdb.keyvalue.api.watch;
 
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 import org.immutables.value.Value;
 
-import com.google.common.collect.Streams;
 import com.palantir.lock.watch.LockWatchEvent;
 
 @Value.Immutable
@@ -33,13 +29,13 @@ public interface LockWatchEvents {
 
     Optional<Long> latestSequence();
 
-    static LockWatchEvents create(Set<Map.Entry<Long, LockWatchEvent>> versionToEventSet) {
-        if (versionToEventSet.isEmpty()) {
+    static LockWatchEvents create(List<LockWatchEvent> events) {
+        if (events.isEmpty()) {
             return ImmutableLockWatchEvents.builder().build();
         } else {
             return ImmutableLockWatchEvents.builder()
-                    .addAllEvents(versionToEventSet.stream().map(Map.Entry::getValue).collect(Collectors.toList()))
-                    .latestSequence(Streams.findLast(versionToEventSet.stream()).map(Map.Entry::getKey))
+                    .addAllEvents(events)
+                    .latestSequence(events.get(events.size() - 1).sequence())
                     .build();
         }
     }
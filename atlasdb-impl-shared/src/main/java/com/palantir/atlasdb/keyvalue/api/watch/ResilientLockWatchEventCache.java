@@ -24,7 +24,6 @@ import org.slf4j.LoggerFactory;
 
 import com.codahale.metrics.Counter;
 import com.google.common.reflect.AbstractInvocationHandler;
-import com.google.errorprone.annotations.concurrent.GuardedBy;
 import com.palantir.atlasdb.transaction.api.TransactionLockWatchFailedException;
 import com.palantir.atlasdb.util.MetricsManager;
 import com.palantir.lock.watch.LockWatchEventCache;
@@ -46,8 +45,7 @@ final class ResilientLockWatchEventCache extends AbstractInvocationHandler {
     private final LockWatchEventCache fallbackCache;
     private final Counter fallbackCacheSelectedCounter;
 
-    @GuardedBy("this")
-    private LockWatchEventCache delegate;
+    private volatile LockWatchEventCache delegate;
 
     private ResilientLockWatchEventCache(LockWatchEventCache defaultCache, LockWatchEventCache fallbackCache,
             MetricsManager metricsManager) {
@@ -57,8 +55,12 @@ final class ResilientLockWatchEventCache extends AbstractInvocationHandler {
                 metricsManager.registerOrGetCounter(ResilientLockWatchEventCache.class, "fallbackCacheSelectedCounter");
     }
 
+    /**
+     * Calls are not serialized here, as the default cache is thread-safe. If several calls fail concurrently, each of
+     * them switches to the fallback cache, which is idempotent.
+     */
     @Override
-    protected synchronized Object handleInvocation(Object proxy, Method method, Object[] args) {
+    protected Object handleInvocation(Object proxy, Method method, Object[] args) {
         try {
             return method.invoke(delegate, args);
         } catch (TransactionLockWatchFailedException e) {
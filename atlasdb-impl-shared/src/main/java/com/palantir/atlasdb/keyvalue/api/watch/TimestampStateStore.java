@@ -17,39 +17,68 @@
 package com.palantir.atlasdb.keyvalue.api.watch;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 import org.immutables.value.Value;
 
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.collect.Iterables;
 import com.google.common.collect.SortedSetMultimap;
 import com.google.common.collect.TreeMultimap;
+import com.google.errorprone.annotations.concurrent.GuardedBy;
 import com.palantir.atlasdb.transaction.api.TransactionLockWatchFailedException;
 import com.palantir.lock.v2.LockToken;
 import com.palantir.lock.watch.IdentifiedVersion;
 import com.palantir.lock.watch.TransactionUpdate;
 import com.palantir.logsafe.Preconditions;
 
+import gnu.trove.map.TLongIntMap;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongIntHashMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+
+/**
+ * Mutations of this store must be externally serialized. Lookups of individual start timestamps may run concurrently
+ * with mutations: the timestamp map is split into stripes, each guarded by its own lock, so that a lookup only
+ * contends with a mutation of the same stripe.
+ */
 final class TimestampStateStore {
-    private final Map<Long, MapEntry> timestampMap = new HashMap<>();
-    private final SortedSetMultimap<Long, Long> aliveVersions = TreeMultimap.create();
+    private static final int NUM_STRIPES = 16;
+    private static final long NO_VERSION = Long.MAX_VALUE;
+
+    private final Stripe[] stripes = new Stripe[NUM_STRIPES];
+
+    /**
+     * Number of live start timestamps at each version; the earliest version with live timestamps is cached, and
+     * recomputed only when its count drops to zero.
+     */
+    private final TLongIntMap liveTimestampsByVersion = new TLongIntHashMap();
+    private long earliestVersion = NO_VERSION;
+    private boolean earliestVersionStale = false;
+
+    TimestampStateStore() {
+        for (int i = 0; i < NUM_STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
 
     void putStartTimestamps(Collection<Long> startTimestamps, IdentifiedVersion version) {
+        MapEntry entry = MapEntry.of(version);
         startTimestamps.forEach(startTimestamp -> {
-            MapEntry previous = timestampMap.putIfAbsent(startTimestamp, MapEntry.of(version));
+            MapEntry previous = stripeFor(startTimestamp).putIfAbsent(startTimestamp, entry);
             Preconditions.checkArgument(previous == null, "Start timestamp already present in map");
-            aliveVersions.put(version.version(), startTimestamp);
+            addLiveTimestamp(version.version());
         });
     }
 
     void putCommitUpdates(Collection<TransactionUpdate> transactionUpdates, IdentifiedVersion newVersion) {
         transactionUpdates.forEach(transactionUpdate -> {
-            MapEntry previousEntry = timestampMap.get(transactionUpdate.startTs());
+            Stripe stripe = stripeFor(transactionUpdate.startTs());
+            MapEntry previousEntry = stripe.get(transactionUpdate.startTs());
             if (previousEntry == null) {
                 throw new TransactionLockWatchFailedException("start timestamp missing from map");
             }
@@ -57,42 +86,117 @@ final class TimestampStateStore {
             Preconditions.checkArgument(!previousEntry.commitInfo().isPresent(),
                     "Commit info already present for given timestamp");
 
-            timestampMap.replace(
+            stripe.put(
                     transactionUpdate.startTs(),
                     previousEntry.withCommitInfo(CommitInfo.of(transactionUpdate.writesToken(), newVersion)));
         });
     }
 
     void remove(long startTimestamp) {
-        Optional.ofNullable(timestampMap.remove(startTimestamp))
-                .ifPresent(entry -> aliveVersions.remove(entry.version().version(), startTimestamp));
+        Optional.ofNullable(stripeFor(startTimestamp).remove(startTimestamp))
+                .ifPresent(entry -> removeLiveTimestamp(entry.version().version()));
     }
 
     void clear() {
-        timestampMap.clear();
-        aliveVersions.clear();
+        for (Stripe stripe : stripes) {
+            stripe.clear();
+        }
+        liveTimestampsByVersion.clear();
+        earliestVersion = NO_VERSION;
+        earliestVersionStale = false;
     }
 
     Optional<Long> getEarliestVersion() {
-        return Optional.ofNullable(Iterables.getFirst(aliveVersions.keySet(), null));
+        if (earliestVersionStale) {
+            earliestVersion = NO_VERSION;
+            for (long version : liveTimestampsByVersion.keys()) {
+                earliestVersion = Math.min(earliestVersion, version);
+            }
+            earliestVersionStale = false;
+        }
+        return earliestVersion == NO_VERSION ? Optional.empty() : Optional.of(earliestVersion);
+    }
+
+    Optional<MapEntry> get(long startTimestamp) {
+        return Optional.ofNullable(stripeFor(startTimestamp).get(startTimestamp));
     }
 
     Optional<IdentifiedVersion> getStartVersion(long startTimestamp) {
-        return Optional.ofNullable(timestampMap.get(startTimestamp)).map(MapEntry::version);
+        return get(startTimestamp).map(MapEntry::version);
     }
 
     Optional<CommitInfo> getCommitInfo(long startTimestamp) {
-        return Optional.ofNullable(timestampMap.get(startTimestamp)).flatMap(MapEntry::commitInfo);
+        return get(startTimestamp).flatMap(MapEntry::commitInfo);
     }
 
     @VisibleForTesting
     TimestampStateStoreState getStateForTesting() {
+        SortedMap<Long, MapEntry> timestampMap = new TreeMap<>();
+        for (Stripe stripe : stripes) {
+            stripe.copyInto(timestampMap);
+        }
+        SortedSetMultimap<Long, Long> aliveVersions = TreeMultimap.create();
+        timestampMap.forEach((timestamp, entry) -> aliveVersions.put(entry.version().version(), timestamp));
         return ImmutableTimestampStateStoreState.builder()
                 .timestampMap(timestampMap)
                 .aliveVersions(aliveVersions)
                 .build();
     }
 
+    private void addLiveTimestamp(long version) {
+        liveTimestampsByVersion.adjustOrPutValue(version, 1, 1);
+        if (version < earliestVersion) {
+            earliestVersion = version;
+        }
+    }
+
+    private void removeLiveTimestamp(long version) {
+        int remaining = liveTimestampsByVersion.adjustOrPutValue(version, -1, 0);
+        if (remaining <= 0) {
+            liveTimestampsByVersion.remove(version);
+            if (version == earliestVersion) {
+                earliestVersionStale = true;
+            }
+        }
+    }
+
+    private Stripe stripeFor(long startTimestamp) {
+        long hash = startTimestamp ^ (startTimestamp >>> 32);
+        return stripes[(int) (hash ^ (hash >>> 16)) & (NUM_STRIPES - 1)];
+    }
+
+    private static final class Stripe {
+        @GuardedBy("this")
+        private final TLongObjectMap<MapEntry> timestampMap = new TLongObjectHashMap<>();
+
+        synchronized MapEntry get(long startTimestamp) {
+            return timestampMap.get(startTimestamp);
+        }
+
+        synchronized MapEntry putIfAbsent(long startTimestamp, MapEntry entry) {
+            return timestampMap.putIfAbsent(startTimestamp, entry);
+        }
+
+        synchronized void put(long startTimestamp, MapEntry entry) {
+            timestampMap.put(startTimestamp, entry);
+        }
+
+        synchronized MapEntry remove(long startTimestamp) {
+            return timestampMap.remove(startTimestamp);
+        }
+
+        synchronized void clear() {
+            timestampMap.clear();
+        }
+
+        synchronized void copyInto(Map<Long, MapEntry> target) {
+            timestampMap.forEachEntry((timestamp, entry) -> {
+                target.put(timestamp, entry);
+                return true;
+            });
+        }
+    }
+
     @Value.Immutable
     @JsonDeserialize(as = ImmutableMapEntry.class)
     @JsonSerialize(as = ImmutableMapEntry.class)
@@ -16,72 +16,182 @@
 
 package com.palantir.atlasdb.keyvalue.api.watch;
 
-import java.util.Collection;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.NavigableMap;
 import java.util.Optional;
-import java.util.Set;
 import java.util.TreeMap;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableSet;
 import com.palantir.lock.watch.LockWatchEvent;
 import com.palantir.logsafe.Preconditions;
 
+/**
+ * Stores lock watch events ordered by sequence. Mutations must be externally serialized; each mutation replaces the
+ * current {@link Snapshot}, which is immutable and so may be read by other threads while later mutations proceed.
+ */
 final class VersionedEventStore {
-    private static final boolean INCLUSIVE = true;
+    private static final int MIN_CAPACITY = 16;
 
-    private final NavigableMap<Long, LockWatchEvent> eventMap = new TreeMap<>();
+    private Snapshot current = Snapshot.EMPTY;
 
-    Collection<LockWatchEvent> getEventsBetweenVersionsInclusive(Optional<Long> maybeStartVersion, long endVersion) {
-        return ImmutableSet.copyOf(maybeStartVersion.map(
-                startVersion -> getValuesBetweenInclusive(endVersion, startVersion))
-                .orElseGet(() -> getFirstKey().map(firstKey -> getValuesBetweenInclusive(endVersion, firstKey))
-                        .orElseGet(ImmutableList::of)));
+    List<LockWatchEvent> getEventsBetweenVersionsInclusive(Optional<Long> maybeStartVersion, long endVersion) {
+        return current.getEventsBetweenVersionsInclusive(maybeStartVersion, endVersion);
     }
 
     LockWatchEvents getAndRemoveElementsUpToExclusive(long endVersion) {
-        Set<Map.Entry<Long, LockWatchEvent>> elementsUpToVersion = eventMap.headMap(endVersion).entrySet();
-        LockWatchEvents events = LockWatchEvents.create(elementsUpToVersion);
-        elementsUpToVersion.clear();
+        int endIndex = current.lowerBound(endVersion);
+        LockWatchEvents events = LockWatchEvents.create(current.slice(current.start, endIndex));
+        current = new Snapshot(current.sequences, current.events, endIndex, current.end);
         return events;
     }
 
     boolean contains(long key) {
-        return eventMap.floorKey(key) != null;
+        return current.contains(key);
     }
 
-    long putAll(Iterable<LockWatchEvent> events) {
-        events.forEach(event -> eventMap.put(event.sequence(), event));
-        return getLastKey();
+    long putAll(List<LockWatchEvent> events) {
+        if (current.canAppend(events)) {
+            current = append(current, events);
+        } else {
+            current = merge(current, events);
+        }
+        return current.getLastKey();
     }
 
     void clear() {
-        eventMap.clear();
+        current = Snapshot.EMPTY;
+    }
+
+    Snapshot snapshot() {
+        return current;
     }
 
     @VisibleForTesting
     VersionedEventStoreState getStateForTesting() {
+        NavigableMap<Long, LockWatchEvent> eventMap = new TreeMap<>();
+        for (int i = current.start; i < current.end; i++) {
+            eventMap.put(current.sequences[i], current.events[i]);
+        }
         return ImmutableVersionedEventStoreState.builder()
                 .eventMap(eventMap)
                 .build();
     }
 
-    private Collection<LockWatchEvent> getValuesBetweenInclusive(long endVersion, Long startVersion) {
-        return eventMap.subMap(startVersion, INCLUSIVE, endVersion, INCLUSIVE).values();
+    /**
+     * Slots past the end of the current snapshot are not visible to any snapshot, as no operation shrinks the end of a
+     * snapshot while keeping its arrays. New events can therefore be written there in place, and only once the arrays
+     * are full do we copy the live events into larger ones.
+     */
+    private static Snapshot append(Snapshot snapshot, List<LockWatchEvent> events) {
+        int size = snapshot.end - snapshot.start;
+        int newEnd = snapshot.end + events.size();
+        long[] sequences = snapshot.sequences;
+        LockWatchEvent[] values = snapshot.events;
+        int start = snapshot.start;
+        if (newEnd > sequences.length) {
+            int capacity = Math.max(MIN_CAPACITY, 2 * (size + events.size()));
+            sequences = Arrays.copyOfRange(sequences, start, start + capacity);
+            values = Arrays.copyOfRange(values, start, start + capacity);
+            newEnd -= start;
+            start = 0;
+        }
+        int index = newEnd - events.size();
+        for (LockWatchEvent event : events) {
+            sequences[index] = event.sequence();
+            values[index] = event;
+            index++;
+        }
+        return new Snapshot(sequences, values, start, newEnd);
     }
 
-    private Optional<Long> getFirstKey() {
-        if (eventMap.isEmpty()) {
-            return Optional.empty();
-        } else {
-            return Optional.of(eventMap.firstKey());
+    private static Snapshot merge(Snapshot snapshot, List<LockWatchEvent> events) {
+        NavigableMap<Long, LockWatchEvent> eventMap = new TreeMap<>();
+        for (int i = snapshot.start; i < snapshot.end; i++) {
+            eventMap.put(snapshot.sequences[i], snapshot.events[i]);
         }
+        events.forEach(event -> eventMap.put(event.sequence(), event));
+
+        int capacity = Math.max(MIN_CAPACITY, 2 * eventMap.size());
+        long[] sequences = new long[capacity];
+        LockWatchEvent[] values = new LockWatchEvent[capacity];
+        int index = 0;
+        for (LockWatchEvent event : eventMap.values()) {
+            sequences[index] = event.sequence();
+            values[index] = event;
+            index++;
+        }
+        return new Snapshot(sequences, values, 0, index);
     }
 
-    private long getLastKey() {
-        Preconditions.checkState(!eventMap.isEmpty(), "Cannot get last key from empty map");
-        return eventMap.lastKey();
+    /**
+     * An immutable view of the events in the store at some version, backed by the sorted slice [start, end) of the
+     * store's arrays.
+     */
+    static final class Snapshot {
+        private static final Snapshot EMPTY = new Snapshot(new long[0], new LockWatchEvent[0], 0, 0);
+
+        private final long[] sequences;
+        private final LockWatchEvent[] events;
+        private final int start;
+        private final int end;
+
+        private Snapshot(long[] sequences, LockWatchEvent[] events, int start, int end) {
+            this.sequences = sequences;
+            this.events = events;
+            this.start = start;
+            this.end = end;
+        }
+
+        List<LockWatchEvent> getEventsBetweenVersionsInclusive(Optional<Long> maybeStartVersion, long endVersion) {
+            int startIndex = maybeStartVersion.map(this::lowerBound).orElse(start);
+            int endIndex = upperBound(endVersion);
+            if (startIndex >= endIndex) {
+                return ImmutableList.of();
+            }
+            return slice(startIndex, endIndex);
+        }
+
+        boolean contains(long key) {
+            return start < end && sequences[start] <= key;
+        }
+
+        private long getLastKey() {
+            Preconditions.checkState(start < end, "Cannot get last key from empty map");
+            return sequences[end - 1];
+        }
+
+        private boolean canAppend(List<LockWatchEvent> newEvents) {
+            long previous = start < end ? sequences[end - 1] : Long.MIN_VALUE;
+            for (LockWatchEvent event : newEvents) {
+                if (event.sequence() <= previous) {
+                    return false;
+                }
+                previous = event.sequence();
+            }
+            return true;
+        }
+
+        private List<LockWatchEvent> slice(int fromIndex, int toIndex) {
+            return Collections.unmodifiableList(Arrays.asList(events).subList(fromIndex, toIndex));
+        }
+
+        /**
+         * Returns the index of the first event with sequence at least the given key, or end if there is none.
+         */
+        private int lowerBound(long key) {
+            int index = Arrays.binarySearch(sequences, start, end, key);
+            return index >= 0 ? index : -index - 1;
+        }
+
+        /**
+         * Returns the index of the first event with sequence greater than the given key, or end if there is none.
+         */
+        private int upperBound(long key) {
+            int index = Arrays.binarySearch(sequences, start, end, key);
+            return index >= 0 ? index + 1 : -index - 1;
+        }
     }
 }
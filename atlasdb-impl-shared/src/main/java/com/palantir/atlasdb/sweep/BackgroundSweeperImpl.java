@@ -25,6 +25,7 @@ import org.slf4j.LoggerFactory;
 import com.google.common.collect.Sets;
 import com.palantir.atlasdb.sweep.metrics.SweepOutcomeMetrics;
 import com.palantir.atlasdb.sweep.priority.NextTableToSweepProvider;
+import com.palantir.atlasdb.sweep.priority.SweepPriorityChangeFeed;
 import com.palantir.atlasdb.sweep.priority.SweepPriorityOverrideConfig;
 import com.palantir.atlasdb.util.MetricsManager;
 import com.palantir.common.base.Throwables;
@@ -85,6 +86,56 @@ public final class BackgroundSweeperImpl implements BackgroundSweeper, AutoClose
                         specificTableSweeper.getTxManager().getLockService(),
                         specificTableSweeper.getSweepPriorityStore());
 
+        return create(
+                metricsManager,
+                sweepBatchConfigSource,
+                isSweepEnabled,
+                sweepThreads,
+                sweepPauseMillis,
+                sweepPriorityOverrideConfig,
+                specificTableSweeper,
+                nextTableToSweepProvider);
+    }
+
+    /**
+     * Creates a background sweeper that keeps sweep priorities in memory, only reloading the priorities of the
+     * tables reported by the given change feed between periodic full reloads.
+     */
+    public static BackgroundSweeperImpl create(
+            MetricsManager metricsManager,
+            AdjustableSweepBatchConfigSource sweepBatchConfigSource,
+            Supplier<Boolean> isSweepEnabled,
+            Supplier<Integer> sweepThreads,
+            Supplier<Long> sweepPauseMillis,
+            Supplier<SweepPriorityOverrideConfig> sweepPriorityOverrideConfig,
+            SpecificTableSweeper specificTableSweeper,
+            SweepPriorityChangeFeed sweepPriorityChangeFeed) {
+        NextTableToSweepProvider nextTableToSweepProvider = NextTableToSweepProvider
+                .create(specificTableSweeper.getKvs(),
+                        specificTableSweeper.getTxManager().getLockService(),
+                        specificTableSweeper.getSweepPriorityStore(),
+                        sweepPriorityChangeFeed);
+
+        return create(
+                metricsManager,
+                sweepBatchConfigSource,
+                isSweepEnabled,
+                sweepThreads,
+                sweepPauseMillis,
+                sweepPriorityOverrideConfig,
+                specificTableSweeper,
+                nextTableToSweepProvider);
+    }
+
+    private static BackgroundSweeperImpl create(
+            MetricsManager metricsManager,
+            AdjustableSweepBatchConfigSource sweepBatchConfigSource,
+            Supplier<Boolean> isSweepEnabled,
+            Supplier<Integer> sweepThreads,
+            Supplier<Long> sweepPauseMillis,
+            Supplier<SweepPriorityOverrideConfig> sweepPriorityOverrideConfig,
+            SpecificTableSweeper specificTableSweeper,
+            NextTableToSweepProvider nextTableToSweepProvider) {
         return new BackgroundSweeperImpl(
                 metricsManager,
                 specificTableSweeper.getTxManager().getLockService(),
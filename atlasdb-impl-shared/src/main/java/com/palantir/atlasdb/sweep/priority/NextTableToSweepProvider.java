@@ -21,12 +21,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Maps;
 import com.palantir.atlasdb.keyvalue.api.KeyValueService;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
@@ -42,14 +44,28 @@ import com.palantir.logsafe.UnsafeArg;
 public class NextTableToSweepProvider {
     private static final Logger log = LoggerFactory.getLogger(NextTableToSweepProvider.class);
 
+    // Bounds the work done per choice when using a sweep priority index; if this many tables are all being swept
+    // elsewhere, we will simply try again later.
+    private static final int MAX_CANDIDATE_TABLES = 100;
+    private static final int MAX_SWEEP_PRIORITY_INDEX_REFRESHES = 10;
+
     private final LockService lockService;
     private final StreamStoreRemappingSweepPriorityCalculator calculator;
+    private final Optional<SweepPriorityIndex> sweepPriorityIndex;
 
     @VisibleForTesting
     NextTableToSweepProvider(LockService lockService,
             StreamStoreRemappingSweepPriorityCalculator streamStoreRemappingSweepPriorityCalculator) {
+        this(lockService, streamStoreRemappingSweepPriorityCalculator, Optional.empty());
+    }
+
+    @VisibleForTesting
+    NextTableToSweepProvider(LockService lockService,
+            StreamStoreRemappingSweepPriorityCalculator streamStoreRemappingSweepPriorityCalculator,
+            Optional<SweepPriorityIndex> sweepPriorityIndex) {
         this.lockService = lockService;
         this.calculator = streamStoreRemappingSweepPriorityCalculator;
+        this.sweepPriorityIndex = sweepPriorityIndex;
     }
 
     public static NextTableToSweepProvider create(KeyValueService kvs, LockService lockService,
@@ -61,6 +77,22 @@ public class NextTableToSweepProvider {
         return new NextTableToSweepProvider(lockService, streamStoreRemappingSweepPriorityCalculator);
     }
 
+    /**
+     * Creates a provider that keeps sweep priority scores in memory, reloading only the priorities of tables
+     * reported by the given change feed between periodic full reloads, instead of loading the priorities of every
+     * table each time a table is chosen.
+     */
+    public static NextTableToSweepProvider create(KeyValueService kvs, LockService lockService,
+            SweepPriorityStore sweepPriorityStore, SweepPriorityChangeFeed changeFeed) {
+        SweepPriorityCalculator basicCalculator = new SweepPriorityCalculator(kvs, sweepPriorityStore);
+        StreamStoreRemappingSweepPriorityCalculator streamStoreRemappingSweepPriorityCalculator =
+                new StreamStoreRemappingSweepPriorityCalculator(basicCalculator, sweepPriorityStore);
+        SweepPriorityIndex index = SweepPriorityIndex.create(kvs, sweepPriorityStore, basicCalculator, changeFeed);
+
+        return new NextTableToSweepProvider(lockService, streamStoreRemappingSweepPriorityCalculator,
+                Optional.of(index));
+    }
+
     public Optional<TableToSweep> getNextTableToSweep(Transaction tx,
             long conservativeSweepTimestamp) {
         return getNextTableToSweep(tx, conservativeSweepTimestamp, SweepPriorityOverrideConfig.defaultConfig());
@@ -77,12 +109,18 @@ public class NextTableToSweepProvider {
             }
         }
 
+        if (sweepPriorityIndex.isPresent()) {
+            Optional<TableToSweep> chosenTable = attemptToChooseTableFromIndex(
+                    sweepPriorityIndex.get(), tx, conservativeSweepTimestamp, overrideConfig);
+            return logDecision(chosenTable, sweepPriorityIndex.get()::getScores, overrideConfig);
+        }
+
         Map<TableReference, Double> scores = calculator.calculateSweepPriorityScores(tx, conservativeSweepTimestamp);
 
         Map<TableReference, Double> tablesWithNonZeroPriority
                 = getTablesToBeConsideredForSweepAndScores(overrideConfig, scores);
         if (tablesWithNonZeroPriority.isEmpty()) {
-            return logDecision(Optional.empty(), scores, overrideConfig);
+            return logDecision(Optional.empty(), () -> scores, overrideConfig);
         }
 
         List<TableReference> tablesOrderedByPriority = orderTablesByPriority(tablesWithNonZeroPriority);
@@ -90,7 +128,38 @@ public class NextTableToSweepProvider {
         Optional<TableToSweep> chosenTable = attemptToChooseTableFromPrioritisedList(tablesOrderedByPriority,
                 "it has a high priority score");
 
-        return logDecision(chosenTable, scores, overrideConfig);
+        return logDecision(chosenTable, () -> scores, overrideConfig);
+    }
+
+    private Optional<TableToSweep> attemptToChooseTableFromIndex(
+            SweepPriorityIndex index,
+            Transaction tx,
+            long conservativeSweepTimestamp,
+            SweepPriorityOverrideConfig overrideConfig) {
+        Set<TableReference> blacklistedTableReferences = getBlacklistedTables(overrideConfig);
+        for (int refreshes = 1; ; refreshes++) {
+            // The index may not have seen priority changes made by other nodes, for instance if they have just
+            // swept a table, so check that a table's priorities are still current before choosing it. If they were
+            // not, the index has now been updated and may rank the tables differently.
+            boolean mustRevalidate = refreshes < MAX_SWEEP_PRIORITY_INDEX_REFRESHES;
+            boolean foundOutdatedPriorities = false;
+            List<TableReference> candidates = index.getTablesToSweep(tx, conservativeSweepTimestamp,
+                    tableRef -> !blacklistedTableReferences.contains(tableRef), MAX_CANDIDATE_TABLES);
+            for (TableReference candidate : candidates) {
+                if (mustRevalidate && !index.revalidate(tx, conservativeSweepTimestamp, candidate)) {
+                    foundOutdatedPriorities = true;
+                    break;
+                }
+                Optional<TableToSweep> chosenTable = attemptToChooseTableFromPrioritisedList(
+                        ImmutableList.of(candidate), "it has a high priority score");
+                if (chosenTable.isPresent()) {
+                    return chosenTable;
+                }
+            }
+            if (!foundOutdatedPriorities) {
+                return Optional.empty();
+            }
+        }
     }
 
     private Optional<TableToSweep> attemptToChooseTable(SweepPriorityOverrideConfig overrideConfig) {
@@ -131,13 +200,17 @@ public class NextTableToSweepProvider {
 
     private Map<TableReference, Double> getTablesToBeConsideredForSweepAndScores(
             SweepPriorityOverrideConfig overrideConfig, Map<TableReference, Double> scores) {
-        Set<TableReference> blacklistedTableReferences = overrideConfig.blacklistTables().stream()
-                .map(TableReference::createFromFullyQualifiedName)
-                .collect(Collectors.toSet());
+        Set<TableReference> blacklistedTableReferences = getBlacklistedTables(overrideConfig);
         return Maps.filterEntries(scores, entry -> shouldTableBeConsideredForSweep(
                 blacklistedTableReferences, entry));
     }
 
+    private static Set<TableReference> getBlacklistedTables(SweepPriorityOverrideConfig overrideConfig) {
+        return overrideConfig.blacklistTables().stream()
+                .map(TableReference::createFromFullyQualifiedName)
+                .collect(Collectors.toSet());
+    }
+
     private static boolean shouldTableBeConsideredForSweep(Set<TableReference> blacklistedTables,
             Map.Entry<TableReference, Double> entry) {
         return !blacklistedTables.contains(entry.getKey()) && entry.getValue() > 0.0;
@@ -152,12 +225,14 @@ public class NextTableToSweepProvider {
 
     private Optional<TableToSweep> logDecision(
             Optional<TableToSweep> chosenTable,
-            Map<TableReference, Double> scores,
+            Supplier<Map<TableReference, Double>> scoresSupplier,
             SweepPriorityOverrideConfig sweepPriorityOverrideConfig) {
         if (!log.isDebugEnabled()) {
             return chosenTable;
         }
 
+        Map<TableReference, Double> scores = scoresSupplier.get();
+
         String safeTableNamesToScore = scores.entrySet().stream()
                 .sorted(Comparator.comparingDouble(Map.Entry::getValue))
                 .map(entry -> LoggingArgs.safeTableOrPlaceholder(entry.getKey()) + "->" + entry.getValue())
@@ -55,7 +55,7 @@ public class StreamStoreRemappingSweepPriorityCalculator {
                 .collect(Collectors.toMap(SweepPriority::tableRef, Function.identity()));
     }
 
-    private void adjustStreamStoreScores(TableReference valueTable,
+    static void adjustStreamStoreScores(TableReference valueTable,
             @Output Map<TableReference, Double> scores,
             Map<TableReference, SweepPriority> tableToSweepPriority) {
 
@@ -83,14 +83,14 @@ public class StreamStoreRemappingSweepPriorityCalculator {
         }
     }
 
-    private long getLastSweptTime(TableReference table, Map<TableReference, SweepPriority> tableToSweepPriority) {
+    private static long getLastSweptTime(TableReference table, Map<TableReference, SweepPriority> tableToSweepPriority) {
         if (!tableToSweepPriority.containsKey(table)) {
             return 0L;
         }
         return tableToSweepPriority.get(table).lastSweepTimeMillis().orElse(0L);
     }
 
-    private void doNotSweepTable(TableReference table, @Output Map<TableReference, Double> scores) {
+    private static void doNotSweepTable(TableReference table, @Output Map<TableReference, Double> scores) {
         scores.put(table, 0.0);
     }
 }
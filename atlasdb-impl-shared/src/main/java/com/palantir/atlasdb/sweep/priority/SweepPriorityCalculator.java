@@ -171,7 +171,7 @@ class SweepPriorityCalculator {
                 safeAndUnsafeTableReferences.unsafeTableRefs());
     }
 
-    private double getSweepPriorityScore(SweepPriority oldPriority, SweepPriority newPriority) {
+    double getSweepPriorityScore(SweepPriority oldPriority, SweepPriority newPriority) {
         if (AtlasDbConstants.HIDDEN_TABLES.contains(newPriority.tableRef())) {
             // Never sweep hidden tables.
             return 0.0;
@@ -0,0 +1,49 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.sweep.priority;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import com.google.common.collect.Sets;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+
+/**
+ * Collects the tables whose sweep priorities have been changed by this process, typically by the sweep stats key
+ * value service flushing write counts, so that only the priorities of those tables need to be reloaded.
+ */
+public final class SweepPriorityChangeFeed implements Consumer<Set<TableReference>> {
+    private final Set<TableReference> changedTables = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public void accept(Set<TableReference> tableRefs) {
+        changedTables.addAll(tableRefs);
+    }
+
+    /**
+     * Returns the tables that have changed since the last call to this method.
+     */
+    Set<TableReference> drain() {
+        Set<TableReference> drained = Sets.newHashSet();
+        for (Iterator<TableReference> iterator = changedTables.iterator(); iterator.hasNext(); ) {
+            drained.add(iterator.next());
+            iterator.remove();
+        }
+        return drained;
+    }
+}
@@ -0,0 +1,308 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.sweep.priority;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import javax.annotation.concurrent.GuardedBy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.palantir.atlasdb.AtlasDbConstants;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.schema.stream.StreamTableType;
+import com.palantir.atlasdb.transaction.api.Transaction;
+import com.palantir.logsafe.SafeArg;
+
+/**
+ * An in-memory index of sweep priority scores that is updated incrementally, so that choosing the next table to
+ * sweep does not require loading the priorities of every table.
+ * <p>
+ * The priorities of all tables are reloaded at most once every {@link #FULL_REFRESH_INTERVAL}. In between, only the
+ * priorities of tables reported by the {@link SweepPriorityChangeFeed} are reloaded; they are reloaded once more
+ * after the conservative sweep timestamp has passed the point at which they changed, since scores also depend on
+ * priorities as of that timestamp. Changes made by other processes are only seen by full refreshes, so callers
+ * should {@link #revalidate} a table before sweeping it.
+ */
+final class SweepPriorityIndex {
+    private static final Logger log = LoggerFactory.getLogger(SweepPriorityIndex.class);
+
+    @VisibleForTesting
+    static final Duration FULL_REFRESH_INTERVAL = Duration.ofHours(1);
+    private static final double UNSWEPT_TABLE_SCORE = 100.0;
+    private static final Comparator<Map.Entry<TableReference, Double>> HIGHEST_SCORE_FIRST =
+            Comparator.<Map.Entry<TableReference, Double>>comparingDouble(entry -> -entry.getValue())
+                    .thenComparing(entry -> entry.getKey().getQualifiedName());
+
+    private final KeyValueService kvs;
+    private final SweepPriorityStore sweepPriorityStore;
+    private final SweepPriorityCalculator calculator;
+    private final SweepPriorityChangeFeed changeFeed;
+    private final LongSupplier clock;
+
+    @GuardedBy("this") private final Set<TableReference> allTables = Sets.newHashSet();
+    @GuardedBy("this") private final Set<TableReference> unsweptTables = Sets.newHashSet();
+    @GuardedBy("this") private final Map<TableReference, SweepPriority> oldPriorities = Maps.newHashMap();
+    @GuardedBy("this") private final Map<TableReference, SweepPriority> newPriorities = Maps.newHashMap();
+    @GuardedBy("this") private final Map<TableReference, Double> scores = Maps.newHashMap();
+    @GuardedBy("this") private final NavigableSet<Map.Entry<TableReference, Double>> tablesByScore =
+            new TreeSet<>(HIGHEST_SCORE_FIRST);
+    // Tables whose old priorities need to be reloaded once the conservative sweep timestamp reaches the given value
+    @GuardedBy("this") private final Map<TableReference, Long> awaitingOldPriorities = Maps.newHashMap();
+    @GuardedBy("this") private long nextFullRefreshMillis = Long.MIN_VALUE;
+
+    @VisibleForTesting
+    SweepPriorityIndex(KeyValueService kvs,
+            SweepPriorityStore sweepPriorityStore,
+            SweepPriorityCalculator calculator,
+            SweepPriorityChangeFeed changeFeed,
+            LongSupplier clock) {
+        this.kvs = kvs;
+        this.sweepPriorityStore = sweepPriorityStore;
+        this.calculator = calculator;
+        this.changeFeed = changeFeed;
+        this.clock = clock;
+    }
+
+    static SweepPriorityIndex create(KeyValueService kvs,
+            SweepPriorityStore sweepPriorityStore,
+            SweepPriorityCalculator calculator,
+            SweepPriorityChangeFeed changeFeed) {
+        return new SweepPriorityIndex(kvs, sweepPriorityStore, calculator, changeFeed, System::currentTimeMillis);
+    }
+
+    /**
+     * Returns up to {@code limit} tables with a positive score that satisfy {@code isCandidate}, highest score first.
+     */
+    synchronized List<TableReference> getTablesToSweep(
+            Transaction tx,
+            long conservativeSweepTs,
+            Predicate<TableReference> isCandidate,
+            int limit) {
+        refresh(tx, conservativeSweepTs);
+
+        if (!unsweptTables.isEmpty()) {
+            // Always sweep unswept tables first
+            return unsweptTables.stream().filter(isCandidate).limit(limit).collect(Collectors.toList());
+        }
+
+        List<TableReference> tables = Lists.newArrayListWithCapacity(limit);
+        for (Map.Entry<TableReference, Double> entry : tablesByScore) {
+            if (entry.getValue() <= 0.0 || tables.size() >= limit) {
+                break;
+            }
+            if (isCandidate.test(entry.getKey())) {
+                tables.add(entry.getKey());
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * Reloads the priorities of the given table.
+     *
+     * @return true if the priorities of the table had not changed since they were last loaded
+     */
+    synchronized boolean revalidate(Transaction tx, long conservativeSweepTs, TableReference tableRef) {
+        boolean wasKnown = allTables.contains(tableRef);
+        SweepPriority cachedOldPriority = oldPriorities.get(tableRef);
+        SweepPriority cachedNewPriority = newPriorities.get(tableRef);
+
+        reload(tx, conservativeSweepTs, ImmutableSet.of(tableRef));
+
+        return wasKnown == allTables.contains(tableRef)
+                && Objects.equals(cachedOldPriority, oldPriorities.get(tableRef))
+                && Objects.equals(cachedNewPriority, newPriorities.get(tableRef));
+    }
+
+    synchronized Map<TableReference, Double> getScores() {
+        if (!unsweptTables.isEmpty()) {
+            return Maps.toMap(unsweptTables, unused -> UNSWEPT_TABLE_SCORE);
+        }
+        return ImmutableMap.copyOf(scores);
+    }
+
+    private void refresh(Transaction tx, long conservativeSweepTs) {
+        long now = clock.getAsLong();
+        if (now >= nextFullRefreshMillis) {
+            fullRefresh(tx, conservativeSweepTs);
+            nextFullRefreshMillis = now + FULL_REFRESH_INTERVAL.toMillis();
+            return;
+        }
+
+        Set<TableReference> tablesToReload = Sets.newHashSet();
+        for (Iterator<Map.Entry<TableReference, Long>> iterator = awaitingOldPriorities.entrySet().iterator();
+                iterator.hasNext(); ) {
+            Map.Entry<TableReference, Long> entry = iterator.next();
+            if (entry.getValue() <= conservativeSweepTs) {
+                tablesToReload.add(entry.getKey());
+                iterator.remove();
+            }
+        }
+
+        Set<TableReference> changedTables = Sets.difference(changeFeed.drain(), AtlasDbConstants.HIDDEN_TABLES);
+        for (TableReference tableRef : changedTables) {
+            // Anything written before this transaction started is visible to reads at its start timestamp.
+            awaitingOldPriorities.put(tableRef, tx.getTimestamp());
+            tablesToReload.add(tableRef);
+        }
+
+        if (!tablesToReload.isEmpty()) {
+            reload(tx, conservativeSweepTs, tablesToReload);
+        }
+    }
+
+    private void fullRefresh(Transaction tx, long conservativeSweepTs) {
+        // Everything is about to be reloaded, so there is no need to reload the tables that changed separately.
+        changeFeed.drain();
+        awaitingOldPriorities.clear();
+
+        allTables.clear();
+        allTables.addAll(Sets.difference(kvs.getAllTableNames(), AtlasDbConstants.HIDDEN_TABLES));
+
+        // We read priorities from the past because we should prioritize based on what the sweeper will
+        // actually be able to sweep. We read priorities from the present to make sure we don't repeatedly
+        // sweep the same table while waiting for the past to catch up.
+        oldPriorities.clear();
+        List<TableReference> toDelete = Lists.newArrayList();
+        for (SweepPriority oldPriority : sweepPriorityStore.loadOldPriorities(tx, conservativeSweepTs)) {
+            if (allTables.contains(oldPriority.tableRef())) {
+                oldPriorities.put(oldPriority.tableRef(), oldPriority);
+            } else {
+                toDelete.add(oldPriority.tableRef());
+            }
+        }
+        newPriorities.clear();
+        for (SweepPriority newPriority : sweepPriorityStore.loadNewPriorities(tx)) {
+            if (allTables.contains(newPriority.tableRef())) {
+                newPriorities.put(newPriority.tableRef(), newPriority);
+            }
+        }
+
+        // Clean up rows for tables that no longer exist.
+        sweepPriorityStore.delete(tx, toDelete);
+
+        unsweptTables.clear();
+        scores.clear();
+        tablesByScore.clear();
+        updateScores(allTables);
+
+        log.debug("Reloaded the sweep priorities of {} tables, of which {} have never been swept.",
+                SafeArg.of("numTables", allTables.size()),
+                SafeArg.of("numUnsweptTables", unsweptTables.size()));
+    }
+
+    private void reload(Transaction tx, long conservativeSweepTs, Set<TableReference> tableRefs) {
+        Map<TableReference, SweepPriority> reloadedOldPriorities = indexByTable(
+                sweepPriorityStore.loadOldPriorities(tx, conservativeSweepTs, tableRefs));
+        Map<TableReference, SweepPriority> reloadedNewPriorities = indexByTable(
+                sweepPriorityStore.loadNewPriorities(tx, tableRefs));
+
+        for (TableReference tableRef : tableRefs) {
+            // A table that has been dropped is only forgotten here; its priorities are cleaned up by the next
+            // full refresh, which is what decides which tables exist.
+            if (kvs.getMetadataForTable(tableRef).length > 0) {
+                allTables.add(tableRef);
+                putOrRemove(oldPriorities, tableRef, reloadedOldPriorities.get(tableRef));
+                putOrRemove(newPriorities, tableRef, reloadedNewPriorities.get(tableRef));
+            } else {
+                allTables.remove(tableRef);
+                oldPriorities.remove(tableRef);
+                newPriorities.remove(tableRef);
+            }
+        }
+
+        updateScores(tableRefs);
+    }
+
+    private void updateScores(Collection<TableReference> tableRefs) {
+        // Stream store value and index tables are scored together, so they must be updated together.
+        Set<TableReference> tablesToUpdate = Sets.newHashSet(tableRefs);
+        for (TableReference tableRef : tableRefs) {
+            if (StreamTableType.isStreamStoreValueTable(tableRef)) {
+                tablesToUpdate.add(StreamTableType.getIndexTableFromValueTable(tableRef));
+            } else if (StreamTableType.isStreamStoreIndexTable(tableRef)) {
+                tablesToUpdate.add(StreamTableType.getValueTableFromIndexTable(tableRef));
+            }
+        }
+
+        Map<TableReference, Double> updatedScores = Maps.newHashMapWithExpectedSize(tablesToUpdate.size());
+        for (TableReference tableRef : tablesToUpdate) {
+            if (allTables.contains(tableRef) && !newPriorities.containsKey(tableRef)) {
+                unsweptTables.add(tableRef);
+            } else {
+                unsweptTables.remove(tableRef);
+            }
+
+            SweepPriority oldPriority = oldPriorities.get(tableRef);
+            SweepPriority newPriority = newPriorities.get(tableRef);
+            if (allTables.contains(tableRef) && oldPriority != null && newPriority != null) {
+                updatedScores.put(tableRef, calculator.getSweepPriorityScore(oldPriority, newPriority));
+            }
+        }
+        for (TableReference tableRef : tablesToUpdate) {
+            if (StreamTableType.isStreamStoreValueTable(tableRef) && updatedScores.containsKey(tableRef)) {
+                StreamStoreRemappingSweepPriorityCalculator.adjustStreamStoreScores(
+                        tableRef, updatedScores, newPriorities);
+            }
+        }
+
+        for (TableReference tableRef : tablesToUpdate) {
+            Double previousScore = scores.remove(tableRef);
+            if (previousScore != null) {
+                tablesByScore.remove(Maps.immutableEntry(tableRef, previousScore));
+            }
+            Double score = updatedScores.get(tableRef);
+            if (score != null) {
+                scores.put(tableRef, score);
+                tablesByScore.add(Maps.immutableEntry(tableRef, score));
+            }
+        }
+    }
+
+    private static Map<TableReference, SweepPriority> indexByTable(List<SweepPriority> priorities) {
+        return priorities.stream().collect(Collectors.toMap(SweepPriority::tableRef, Function.identity()));
+    }
+
+    private static <K, V> void putOrRemove(Map<K, V> map, K key, V value) {
+        if (value == null) {
+            map.remove(key);
+        } else {
+            map.put(key, value);
+        }
+    }
+}
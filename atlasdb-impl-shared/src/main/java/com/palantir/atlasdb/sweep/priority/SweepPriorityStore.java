@@ -17,7 +17,10 @@ package com.palantir.atlasdb.sweep.priority;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+import com.google.common.collect.ImmutableSet;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.transaction.api.Transaction;
 import com.palantir.processors.AutoDelegate;
@@ -30,6 +33,32 @@ public interface SweepPriorityStore {
     List<SweepPriority> loadNewPriorities(Transaction tx);
     List<SweepPriority> loadOldPriorities(Transaction tx, long sweepTimestamp);
 
+    /**
+     * Loads the current priorities of only the given tables; tables without priorities are omitted.
+     */
+    @DoDelegate
+    default List<SweepPriority> loadNewPriorities(Transaction tx, Collection<TableReference> tableRefs) {
+        Set<TableReference> tablesToLoad = ImmutableSet.copyOf(tableRefs);
+        return loadNewPriorities(tx).stream()
+                .filter(priority -> tablesToLoad.contains(priority.tableRef()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Loads the priorities of only the given tables as of the given timestamp; tables without priorities
+     * are omitted.
+     */
+    @DoDelegate
+    default List<SweepPriority> loadOldPriorities(
+            Transaction tx,
+            long sweepTimestamp,
+            Collection<TableReference> tableRefs) {
+        Set<TableReference> tablesToLoad = ImmutableSet.copyOf(tableRefs);
+        return loadOldPriorities(tx, sweepTimestamp).stream()
+                .filter(priority -> tablesToLoad.contains(priority.tableRef()))
+                .collect(Collectors.toList());
+    }
+
     @DoDelegate
     default boolean isInitialized() {
         return true;
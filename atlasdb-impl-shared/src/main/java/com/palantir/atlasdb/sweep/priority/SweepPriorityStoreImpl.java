@@ -18,6 +18,7 @@ package com.palantir.atlasdb.sweep.priority;
 import java.util.Collection;
 import java.util.List;
 import java.util.OptionalLong;
+import java.util.stream.Collectors;
 
 import com.google.common.collect.Collections2;
 import com.google.common.collect.Lists;
@@ -84,6 +85,19 @@ public final class SweepPriorityStoreImpl implements SweepPriorityStore {
         return loadPriorities(tx);
     }
 
+    @Override
+    public List<SweepPriority> loadOldPriorities(
+            Transaction tx,
+            long sweepTimestamp,
+            Collection<TableReference> tableRefs) {
+        return loadPriorities(new SweepPriorityTransaction(tx, sweepTimestamp), tableRefs);
+    }
+
+    @Override
+    public List<SweepPriority> loadNewPriorities(Transaction tx, Collection<TableReference> tableRefs) {
+        return loadPriorities(tx, tableRefs);
+    }
+
     @Override
     public void update(Transaction tx, TableReference tableRef, UpdateSweepPriority update) {
         SweepPriorityRow row = SweepPriorityRow.of(tableRef.getQualifiedName());
@@ -121,6 +135,18 @@ public final class SweepPriorityStoreImpl implements SweepPriorityStore {
                 SweepPriorityStoreImpl::hydrate);
     }
 
+    private List<SweepPriority> loadPriorities(Transaction tx, Collection<TableReference> tableRefs) {
+        SweepPriorityTable table = sweepTableFactory.getSweepPriorityTable(tx);
+
+        // Only consider rows that have the column that the range scan in loadPriorities(Transaction) retains, so
+        // that the priorities of a table do not depend on how they were loaded.
+        return table.getRows(Collections2.transform(tableRefs, tr -> SweepPriorityRow.of(tr.getQualifiedName())))
+                .stream()
+                .filter(SweepPriorityRowResult::hasCellsDeleted)
+                .map(SweepPriorityStoreImpl::hydrate)
+                .collect(Collectors.toList());
+    }
+
     private static SweepPriority hydrate(SweepPriorityTable.SweepPriorityRowResult rr) {
         return ImmutableSweepPriority.builder()
                 .tableRef(TableReference.createUnsafe(rr.getRowName().getFullTableName()))
@@ -40,7 +40,7 @@ import com.palantir.logsafe.SafeArg;
 public final class SweepQueue implements MultiTableSweepQueueWriter {
     private static final Logger log = LoggerFactory.getLogger(SweepQueue.class);
     private final ShardProgress progress;
-    private final SweepQueueWriter writer;
+    private final MultiTableSweepQueueWriter writer;
     private final SweepQueueReader reader;
     private final SweepQueueDeleter deleter;
     private final SweepQueueCleaner cleaner;
@@ -107,6 +107,11 @@ public final class SweepQueue implements MultiTableSweepQueueWriter {
         writer.enqueue(writes);
     }
 
+    @Override
+    public void close() {
+        writer.close();
+    }
+
     /**
      * Sweep the next batch for the shard and strategy specified by shardStrategy, with the sweep timestamp sweepTs.
      * After successful deletes, the persisted information about the writes is removed, and progress is updated
@@ -228,8 +233,8 @@ public final class SweepQueue implements MultiTableSweepQueueWriter {
                     shardProgress, shards, cells, timestamps, metrics, kvs, timelock, partitionBatchLimitSupplier);
         }
 
-        private SweepQueueWriter createWriter() {
-            return new SweepQueueWriter(timestamps, cells);
+        private MultiTableSweepQueueWriter createWriter() {
+            return WriteBatchingSweepQueueWriter.create(new SweepQueueWriter(timestamps, cells));
         }
 
         private SweepQueueReader createReader() {
@@ -216,6 +216,9 @@ public class TargetedSweeper implements MultiTableSweepQueueWriter, BackgroundSw
     public void close() {
         conservativeScheduler.close();
         thoroughScheduler.close();
+        if (isInitialized) {
+            queue.close();
+        }
     }
 
     @Override
@@ -0,0 +1,118 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.sweep.queue;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.palantir.atlasdb.autobatch.Autobatchers;
+import com.palantir.atlasdb.autobatch.BatchElement;
+import com.palantir.atlasdb.autobatch.DisruptorAutobatcher;
+import com.palantir.atlasdb.futures.AtlasFutures;
+import com.palantir.logsafe.SafeArg;
+
+/**
+ * This class coalesces sweep queue writes from concurrently committing transactions, such that there is at most one
+ * write to the underlying {@link MultiTableSweepQueueWriter} in flight at a given time. The writes of all transactions
+ * waiting for a batch are persisted together, so that each sweep queue table is written to with one put per batch,
+ * rather than one put per transaction.
+ *
+ * {@link #enqueue(List)} only returns once the writes passed to it have been persisted, so transactions still persist
+ * their writes to the sweep queue before writing to the key value service.
+ */
+public final class WriteBatchingSweepQueueWriter implements MultiTableSweepQueueWriter {
+    private static final Logger log = LoggerFactory.getLogger(WriteBatchingSweepQueueWriter.class);
+
+    private final MultiTableSweepQueueWriter delegate;
+    private final DisruptorAutobatcher<List<WriteInfo>, Void> autobatcher;
+
+    private WriteBatchingSweepQueueWriter(
+            MultiTableSweepQueueWriter delegate, DisruptorAutobatcher<List<WriteInfo>, Void> autobatcher) {
+        this.delegate = delegate;
+        this.autobatcher = autobatcher;
+    }
+
+    public static MultiTableSweepQueueWriter create(MultiTableSweepQueueWriter delegate) {
+        DisruptorAutobatcher<List<WriteInfo>, Void> autobatcher = Autobatchers
+                .<List<WriteInfo>, Void>independent(elements -> processBatch(delegate, elements))
+                .safeLoggablePurpose("write-batching-sweep-queue-writer")
+                .build();
+        return new WriteBatchingSweepQueueWriter(delegate, autobatcher);
+    }
+
+    @Override
+    public void enqueue(List<WriteInfo> writes) {
+        if (writes.isEmpty()) {
+            return;
+        }
+        AtlasFutures.getUnchecked(autobatcher.apply(writes));
+    }
+
+    @Override
+    public void close() {
+        autobatcher.close();
+        delegate.close();
+    }
+
+    /**
+     * Semantics for batch processing:
+     *
+     * - The writes of all elements of the batch are enqueued with a single call to the delegate. The sweep queue
+     *   already partitions writes by shard and start timestamp, so the writes of each transaction are persisted to
+     *   the same cells as if it had enqueued its writes on its own.
+     * - If that call fails, we retry each element on its own, so that an element whose writes cannot be enqueued
+     *   (for example, because it writes too many cells to a single shard) only fails its own transaction. Writes to
+     *   the sweep queue are idempotent, so writes persisted by the failed call may safely be persisted again.
+     */
+    @VisibleForTesting
+    static void processBatch(
+            MultiTableSweepQueueWriter delegate, List<BatchElement<List<WriteInfo>, Void>> elements) {
+        if (elements.size() == 1) {
+            processElement(delegate, elements.get(0));
+            return;
+        }
+
+        List<WriteInfo> allWrites = elements.stream()
+                .flatMap(element -> element.argument().stream())
+                .collect(Collectors.toList());
+        try {
+            delegate.enqueue(allWrites);
+        } catch (RuntimeException e) {
+            log.info("Failed to enqueue a batch of writes from multiple transactions into the sweep queue. "
+                            + "Retrying the writes of each transaction separately.",
+                    SafeArg.of("transactions", elements.size()),
+                    SafeArg.of("writes", allWrites.size()),
+                    e);
+            elements.forEach(element -> processElement(delegate, element));
+            return;
+        }
+        elements.forEach(element -> element.result().set(null));
+    }
+
+    private static void processElement(
+            MultiTableSweepQueueWriter delegate, BatchElement<List<WriteInfo>, Void> element) {
+        try {
+            delegate.enqueue(element.argument());
+            element.result().set(null);
+        } catch (RuntimeException e) {
+            element.result().setException(e);
+        }
+    }
+}
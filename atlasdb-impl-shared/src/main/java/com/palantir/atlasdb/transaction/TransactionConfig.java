@@ -22,6 +22,8 @@ import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.palantir.atlasdb.AtlasDbConstants;
 import com.palantir.atlasdb.transaction.impl.TransactionRetryStrategy;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
 
 @JsonDeserialize(as = ImmutableTransactionConfig.class)
 @JsonSerialize(as = ImmutableTransactionConfig.class)
@@ -43,6 +45,33 @@ public abstract class TransactionConfig {
         return TransactionRetryStrategy.Strategies.LEGACY.get();
     }
 
+    /**
+     * If true, write/write conflicts are checked concurrently for each table written to (and for each batch of
+     * {@link #getConflictCheckingCellBatchSize()} cells within a table) at commit time, using the transaction
+     * manager's get ranges thread pool.
+     */
+    @Value.Default
+    public boolean parallelWriteWriteConflictChecking() {
+        return false;
+    }
+
+    /**
+     * The number of cells written to a table that each parallel conflict checking task checks; must be positive.
+     */
+    @Value.Default
+    public int getConflictCheckingCellBatchSize() {
+        return AtlasDbConstants.DEFAULT_CONFLICT_CHECKING_CELL_BATCH_SIZE;
+    }
+
+    /**
+     * The maximum total size, in bytes, of the committed rows of immutable tables cached by a transaction manager for
+     * its transactions. This is read once, when the transaction manager is created; zero disables the cache.
+     */
+    @Value.Default
+    public long getImmutableTableRowCacheMaxSizeBytes() {
+        return AtlasDbConstants.DEFAULT_IMMUTABLE_TABLE_ROW_CACHE_MAX_SIZE_BYTES;
+    }
+
     /**
      * This value is ignored if {@link com.palantir.atlasdb.transaction.api.TransactionManager} is configured to lock
      * immutable ts by using TransactionManagers builder option.
@@ -62,4 +91,11 @@ public abstract class TransactionConfig {
     public boolean attachStartTimestampToLockRequestDescriptions() {
         return false;
     }
+
+    @Value.Check
+    protected void check() {
+        Preconditions.checkState(getConflictCheckingCellBatchSize() > 0,
+                "Conflict checking cell batch size must be positive",
+                SafeArg.of("conflictCheckingCellBatchSize", getConflictCheckingCellBatchSize()));
+    }
 }
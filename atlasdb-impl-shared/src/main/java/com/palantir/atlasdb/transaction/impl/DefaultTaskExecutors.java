@@ -29,6 +29,7 @@ import com.palantir.common.concurrent.PTExecutors;
 final class DefaultTaskExecutors {
     private static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofSeconds(5);
     private static final int SINGLE_THREAD = 1;
+    private static final int BULK_LOAD_THREADS = 16;
 
     @VisibleForTesting
     static final int DEFAULT_QUEUE_CAPACITY = 50_000;
@@ -47,4 +48,17 @@ final class DefaultTaskExecutors {
                 new NamedThreadFactory("atlas-delete-executor", true),
                 new ThreadPoolExecutor.AbortPolicy());
     }
+
+    static ExecutorService createDefaultBulkLoadExecutor() {
+        ThreadPoolExecutor executor = PTExecutors.newThreadPoolExecutor(
+                BULK_LOAD_THREADS,
+                BULK_LOAD_THREADS,
+                DEFAULT_IDLE_TIMEOUT.toMillis(),
+                TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(DEFAULT_QUEUE_CAPACITY),
+                new NamedThreadFactory("atlas-bulk-load-executor", true),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
 }
@@ -0,0 +1,191 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.transaction.impl;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import com.codahale.metrics.MetricRegistry;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.primitives.Ints;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.ColumnSelection;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.impl.Cells;
+import com.palantir.atlasdb.table.description.TableMetadata;
+import com.palantir.atlasdb.util.AtlasDbMetrics;
+
+/**
+ * Caches the committed rows of immutable tables (see {@link TableMetadata#isImmutable()}) for all transactions of a
+ * transaction manager, keyed by row and column selection.
+ * <p>
+ * Transactions reject writes to rows of immutable tables that already exist at their start timestamp. A row is only
+ * cached once all of its cells were committed before the immutable timestamp of the transaction that read it: every
+ * transaction that could still write to the row started after those commits, so it sees the row and may not write
+ * to it. A cached row is therefore final, and can be served to any transaction whose start timestamp is after the
+ * latest commit timestamp of its cells. Rows that do not exist (yet) are never cached.
+ * <p>
+ * Like {@link ConflictDetectionManager}, this class does not attempt cache invalidation: an immutable table must not
+ * be truncated, dropped and recreated, or made mutable while a transaction manager is caching its rows.
+ */
+/* package */ final class ImmutableTableRowCache {
+    private static final ImmutableTableRowCache DISABLED = new ImmutableTableRowCache(tableRef -> false, 0);
+
+    private final Predicate<TableReference> isImmutableTable;
+    private final Optional<Cache<RowKey, CachedRow>> rows;
+
+    @VisibleForTesting
+    ImmutableTableRowCache(Predicate<TableReference> isImmutableTable, long maxSizeBytes) {
+        this.isImmutableTable = isImmutableTable;
+        this.rows = maxSizeBytes > 0 ? Optional.of(createRowCache(maxSizeBytes)) : Optional.empty();
+    }
+
+    static ImmutableTableRowCache create(MetricRegistry metricRegistry, KeyValueService kvs, long maxSizeBytes) {
+        // On a cache miss, load metadata only for the relevant table, as SweepStrategyManagers does.
+        LoadingCache<TableReference, Boolean> immutableTables = Caffeine.newBuilder()
+                .expireAfterAccess(1, TimeUnit.DAYS)
+                .build(tableRef -> isImmutable(kvs.getMetadataForTable(tableRef)));
+        ImmutableTableRowCache cache = new ImmutableTableRowCache(immutableTables::get, maxSizeBytes);
+        cache.rows.ifPresent(rowCache -> AtlasDbMetrics.registerCache(
+                metricRegistry, rowCache, MetricRegistry.name(ImmutableTableRowCache.class, "rows")));
+        return cache;
+    }
+
+    /**
+     * A cache that treats every table as mutable, for transactions that do not have access to table metadata.
+     */
+    static ImmutableTableRowCache disabled() {
+        return DISABLED;
+    }
+
+    boolean isImmutable(TableReference tableRef) {
+        return isImmutableTable.test(tableRef);
+    }
+
+    boolean isCachingRows(TableReference tableRef) {
+        return rows.isPresent() && isImmutable(tableRef);
+    }
+
+    /**
+     * Returns the cells of the given row, if it is cached and all of them were committed before the given start
+     * timestamp.
+     */
+    Optional<Map<Cell, byte[]>> get(
+            TableReference tableRef, byte[] row, ColumnSelection columnSelection, long startTimestamp) {
+        return rows.map(rowCache -> rowCache.getIfPresent(RowKey.of(tableRef, row, columnSelection)))
+                .filter(cachedRow -> cachedRow.latestCommitTimestamp < startTimestamp)
+                .map(cachedRow -> cachedRow.cells);
+    }
+
+    /**
+     * Caches the cells of the given row. The caller must ensure that the row is final, as described in the class
+     * documentation.
+     */
+    void put(
+            TableReference tableRef,
+            byte[] row,
+            ColumnSelection columnSelection,
+            Map<Cell, byte[]> cells,
+            long latestCommitTimestamp) {
+        rows.ifPresent(rowCache -> rowCache.put(
+                RowKey.of(tableRef, row, columnSelection),
+                new CachedRow(ImmutableMap.copyOf(cells), latestCommitTimestamp)));
+    }
+
+    private static Cache<RowKey, CachedRow> createRowCache(long maxSizeBytes) {
+        return Caffeine.newBuilder()
+                .maximumWeight(maxSizeBytes)
+                .<RowKey, CachedRow>weigher((rowKey, cachedRow) -> cachedRow.weight)
+                .recordStats()
+                .build();
+    }
+
+    private static boolean isImmutable(byte[] tableMetadata) {
+        return tableMetadata != null
+                && tableMetadata.length > 0
+                && TableMetadata.BYTES_HYDRATOR.hydrateFromBytes(tableMetadata).isImmutable();
+    }
+
+    private static final class RowKey {
+        private final TableReference tableRef;
+        private final ByteBuffer row;
+        // Empty if all columns are selected. ColumnSelection itself is not suitable as a key, as its hash code depends
+        // on the identity of the selected column names.
+        private final List<ByteBuffer> selectedColumns;
+
+        private RowKey(TableReference tableRef, ByteBuffer row, List<ByteBuffer> selectedColumns) {
+            this.tableRef = tableRef;
+            this.row = row;
+            this.selectedColumns = selectedColumns;
+        }
+
+        static RowKey of(TableReference tableRef, byte[] row, ColumnSelection columnSelection) {
+            List<ByteBuffer> selectedColumns = columnSelection.allColumnsSelected()
+                    ? ImmutableList.of()
+                    : columnSelection.getSelectedColumns().stream()
+                            .map(ByteBuffer::wrap)
+                            .collect(Collectors.toList());
+            return new RowKey(tableRef, ByteBuffer.wrap(row), selectedColumns);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (other == null || getClass() != other.getClass()) {
+                return false;
+            }
+            RowKey rowKey = (RowKey) other;
+            return tableRef.equals(rowKey.tableRef)
+                    && row.equals(rowKey.row)
+                    && selectedColumns.equals(rowKey.selectedColumns);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tableRef, row, selectedColumns);
+        }
+    }
+
+    private static final class CachedRow {
+        private final Map<Cell, byte[]> cells;
+        private final long latestCommitTimestamp;
+        private final int weight;
+
+        private CachedRow(Map<Cell, byte[]> cells, long latestCommitTimestamp) {
+            this.cells = cells;
+            this.latestCommitTimestamp = latestCommitTimestamp;
+            long bytes = 0;
+            for (Map.Entry<Cell, byte[]> cell : cells.entrySet()) {
+                bytes += cell.getValue().length + Cells.getApproxSizeOfCell(cell.getKey());
+            }
+            this.weight = Ints.saturatedCast(bytes);
+        }
+    }
+}
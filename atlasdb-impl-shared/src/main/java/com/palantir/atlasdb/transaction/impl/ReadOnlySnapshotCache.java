@@ -0,0 +1,207 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.transaction.impl;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+import com.palantir.atlasdb.cleaner.api.Cleaner;
+import com.palantir.common.concurrent.NamedThreadFactory;
+import com.palantir.common.concurrent.PTExecutors;
+import com.palantir.lock.v2.LockToken;
+import com.palantir.lock.v2.StartIdentifiedAtlasDbTransactionResponse;
+import com.palantir.lock.v2.TimelockService;
+import com.palantir.lock.watch.LockWatchEventCache;
+import com.palantir.logsafe.Preconditions;
+
+/**
+ * Shares a recently fetched start timestamp between read-only transactions that can tolerate reading a slightly stale
+ * snapshot, so that most of them do not need to contact TimeLock at all.
+ * <p>
+ * Each snapshot holds an immutable timestamp lock, exactly as a read/write transaction does, so sweep cannot remove
+ * any of the values it can read. The lock is held until the snapshot has been replaced and all transactions reading
+ * from it have finished. Holding the lock stops the immutable timestamp from advancing, so snapshots are retired after
+ * at most {@link #MAX_SNAPSHOT_AGE}, even if no transactions need a fresher one.
+ */
+/* package */ final class ReadOnlySnapshotCache implements AutoCloseable {
+    @VisibleForTesting
+    static final Duration MAX_SNAPSHOT_AGE = Duration.ofSeconds(10);
+
+    private final TimelockService timelockService;
+    private final LockWatchEventCache lockWatchEventCache;
+    private final Cleaner cleaner;
+    private final ScheduledExecutorService retirementExecutor;
+    private final LongSupplier nanoClock;
+
+    // Only replaced while synchronized, but read without synchronization to find a snapshot that is fresh enough.
+    private volatile Snapshot current;
+
+    @VisibleForTesting
+    ReadOnlySnapshotCache(
+            TimelockService timelockService,
+            LockWatchEventCache lockWatchEventCache,
+            Cleaner cleaner,
+            ScheduledExecutorService retirementExecutor,
+            LongSupplier nanoClock) {
+        this.timelockService = timelockService;
+        this.lockWatchEventCache = lockWatchEventCache;
+        this.cleaner = cleaner;
+        this.retirementExecutor = retirementExecutor;
+        this.nanoClock = nanoClock;
+    }
+
+    static ReadOnlySnapshotCache create(
+            TimelockService timelockService,
+            LockWatchEventCache lockWatchEventCache,
+            Cleaner cleaner) {
+        // The executor's thread is only started once the first snapshot is fetched.
+        ScheduledExecutorService retirementExecutor = PTExecutors.newSingleThreadScheduledExecutor(
+                new NamedThreadFactory(ReadOnlySnapshotCache.class.getSimpleName(), true));
+        return new ReadOnlySnapshotCache(
+                timelockService, lockWatchEventCache, cleaner, retirementExecutor, System::nanoTime);
+    }
+
+    /**
+     * Returns a snapshot that was fetched at most {@code maxStaleness} ago (or {@link #MAX_SNAPSHOT_AGE}, if that is
+     * smaller), fetching a new one if necessary. The snapshot must be released once it is no longer being read.
+     */
+    Snapshot acquire(Duration maxStaleness) {
+        Preconditions.checkArgument(!maxStaleness.isNegative(), "Max staleness must not be negative");
+        long maxStalenessNanos = Math.min(maxStaleness.toNanos(), MAX_SNAPSHOT_AGE.toNanos());
+        Snapshot snapshot = current;
+        if (isFreshEnough(snapshot, maxStalenessNanos) && snapshot.tryRetain()) {
+            return snapshot;
+        }
+        return refreshAndAcquire(maxStalenessNanos);
+    }
+
+    void release(Snapshot snapshot) {
+        if (snapshot.references.decrementAndGet() == 0) {
+            timelockService.tryUnlock(ImmutableSet.of(snapshot.immutableTimestampLock));
+            lockWatchEventCache.removeTransactionStateFromCache(snapshot.startTimestamp);
+        }
+    }
+
+    @Override
+    public void close() {
+        retirementExecutor.shutdownNow();
+        synchronized (this) {
+            retire(current);
+        }
+    }
+
+    private synchronized Snapshot refreshAndAcquire(long maxStalenessNanos) {
+        // Another thread may have refreshed the snapshot while we were waiting. While a snapshot is current, it is
+        // retained by this cache, so retaining it again cannot fail.
+        Snapshot snapshot = current;
+        if (isFreshEnough(snapshot, maxStalenessNanos) && snapshot.tryRetain()) {
+            return snapshot;
+        }
+
+        Snapshot fresh = fetchSnapshot();
+        fresh.references.incrementAndGet();
+        Snapshot stale = current;
+        current = fresh;
+        if (stale != null) {
+            release(stale);
+        }
+        retirementExecutor.schedule(() -> retireIfCurrent(fresh), MAX_SNAPSHOT_AGE.toNanos(), TimeUnit.NANOSECONDS);
+        return fresh;
+    }
+
+    private Snapshot fetchSnapshot() {
+        StartIdentifiedAtlasDbTransactionResponse response =
+                Iterables.getOnlyElement(timelockService.startIdentifiedAtlasDbTransactionBatch(1));
+        long startTimestamp = response.startTimestampAndPartition().timestamp();
+        cleaner.punch(startTimestamp);
+        return new Snapshot(
+                startTimestamp,
+                response.immutableTimestamp().getImmutableTimestamp(),
+                response.immutableTimestamp().getLock(),
+                nanoClock.getAsLong());
+    }
+
+    private synchronized void retireIfCurrent(Snapshot snapshot) {
+        if (current == snapshot) {
+            retire(snapshot);
+        }
+    }
+
+    @GuardedBy("this")
+    private void retire(@Nullable Snapshot snapshot) {
+        if (snapshot != null) {
+            current = null;
+            release(snapshot);
+        }
+    }
+
+    private boolean isFreshEnough(@Nullable Snapshot snapshot, long maxStalenessNanos) {
+        return snapshot != null && nanoClock.getAsLong() - snapshot.fetchedNanos <= maxStalenessNanos;
+    }
+
+    static final class Snapshot {
+        private final long startTimestamp;
+        private final long immutableTimestamp;
+        private final LockToken immutableTimestampLock;
+        private final long fetchedNanos;
+        // One reference is held by the cache while the snapshot is current, and one by each transaction reading it.
+        private final AtomicInteger references = new AtomicInteger(1);
+
+        private Snapshot(long startTimestamp, long immutableTimestamp, LockToken immutableTimestampLock,
+                long fetchedNanos) {
+            this.startTimestamp = startTimestamp;
+            this.immutableTimestamp = immutableTimestamp;
+            this.immutableTimestampLock = immutableTimestampLock;
+            this.fetchedNanos = fetchedNanos;
+        }
+
+        long startTimestamp() {
+            return startTimestamp;
+        }
+
+        long immutableTimestamp() {
+            return immutableTimestamp;
+        }
+
+        LockToken immutableTimestampLock() {
+            return immutableTimestampLock;
+        }
+
+        /**
+         * Retains this snapshot for a transaction, unless it has already been released by everything that held it,
+         * in which case its immutable timestamp lock may already have been released.
+         */
+        private boolean tryRetain() {
+            int count;
+            do {
+                count = references.get();
+                if (count == 0) {
+                    return false;
+                }
+            } while (!references.compareAndSet(count, count + 1));
+            return true;
+        }
+    }
+}
@@ -146,7 +146,8 @@ public class SerializableTransaction extends SnapshotTransaction {
                                    ExecutorService deleteExecutor,
                                    boolean validateLocksOnReads,
                                    Supplier<TransactionConfig> transactionConfig,
-                                   ConflictTracer conflictTracer) {
+                                   ConflictTracer conflictTracer,
+                                   ImmutableTableRowCache immutableTableRowCache) {
         super(metricsManager,
               keyValueService,
               timelockService,
@@ -170,7 +171,8 @@ public class SerializableTransaction extends SnapshotTransaction {
               deleteExecutor,
               validateLocksOnReads,
               transactionConfig,
-              conflictTracer);
+              conflictTracer,
+              immutableTableRowCache);
     }
 
     @Override
@@ -290,6 +292,28 @@ public class SerializableTransaction extends SnapshotTransaction {
                 MoreExecutors.directExecutor());
     }
 
+    @Override
+    @Idempotent
+    public Map<TableReference, Map<Cell, byte[]>> getMulti(Map<TableReference, Set<Cell>> cellsByTable) {
+        return markMultiCellsRead(cellsByTable, super.getMulti(cellsByTable));
+    }
+
+    @Override
+    @Idempotent
+    public ListenableFuture<Map<TableReference, Map<Cell, byte[]>>> getMultiAsync(
+            Map<TableReference, Set<Cell>> cellsByTable) {
+        return Futures.transform(
+                super.getMultiAsync(cellsByTable),
+                loadedCells -> markMultiCellsRead(cellsByTable, loadedCells),
+                MoreExecutors.directExecutor());
+    }
+
+    private Map<TableReference, Map<Cell, byte[]>> markMultiCellsRead(
+            Map<TableReference, Set<Cell>> cellsByTable, Map<TableReference, Map<Cell, byte[]>> loadedCells) {
+        cellsByTable.forEach((tableRef, cells) -> markCellsRead(tableRef, cells, loadedCells.get(tableRef)));
+        return loadedCells;
+    }
+
     @FunctionalInterface
     private interface CellLoader {
         ListenableFuture<Map<Cell, byte[]>> load(TableReference tableReference, Set<Cell> toRead);
@@ -790,7 +814,9 @@ public class SerializableTransaction extends SnapshotTransaction {
                 deleteExecutor,
                 validateLocksOnReads,
                 transactionConfig,
-                conflictTracer) {
+                conflictTracer,
+                // This transaction resolves commit timestamps as of our commit, so must not cache rows.
+                ImmutableTableRowCache.disabled()) {
             @Override
             protected ListenableFuture<Map<Long, Long>> getCommitTimestamps(
                     TableReference tableRef,
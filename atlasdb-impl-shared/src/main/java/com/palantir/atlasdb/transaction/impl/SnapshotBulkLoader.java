@@ -0,0 +1,299 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.transaction.impl;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Timer;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.palantir.atlasdb.futures.AtlasFutures;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.KeyAlreadyExistsException;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.impl.Cells;
+import com.palantir.atlasdb.sweep.queue.MultiTableSweepQueueWriter;
+import com.palantir.atlasdb.transaction.api.BulkLoader;
+import com.palantir.atlasdb.transaction.api.TransactionCommitFailedException;
+import com.palantir.atlasdb.transaction.api.TransactionFailedRetriableException;
+import com.palantir.atlasdb.transaction.api.TransactionLockAcquisitionTimeoutException;
+import com.palantir.atlasdb.transaction.api.TransactionLockTimeoutException;
+import com.palantir.atlasdb.transaction.service.TransactionService;
+import com.palantir.atlasdb.util.MetricsManager;
+import com.palantir.lock.AtlasRowLockDescriptor;
+import com.palantir.lock.v2.LockRequest;
+import com.palantir.lock.v2.LockResponse;
+import com.palantir.lock.v2.LockToken;
+import com.palantir.lock.v2.StartIdentifiedAtlasDbTransactionResponse;
+import com.palantir.lock.v2.TimelockService;
+import com.palantir.lock.watch.LockWatchEventCache;
+import com.palantir.logsafe.SafeArg;
+
+/**
+ * A {@link BulkLoader} that writes each batch straight to the key value service at the start timestamp of the load,
+ * following the same protocol as {@link SnapshotTransaction} does on commit: every batch is written to the targeted
+ * sweep queue before it is written to the key value service, and the load becomes visible only once its commit
+ * timestamp has been written to the transactions table.
+ * <p>
+ * As on commit, the lock on the row of the start timestamp in the transactions table is acquired before the first
+ * write and released only once the commit timestamp has been written, so that transactions reading the cells already
+ * written wait for the load rather than rolling it back. The immutable timestamp lock taken when the load starts is
+ * also held until the load commits, so that sweep does not treat those cells as belonging to an abandoned
+ * transaction. Both locks are refreshed by the timelock client for as long as they are held.
+ * <p>
+ * Batches are written on an executor shared by all loads of a transaction manager. Up to
+ * {@code maxBatchesInFlight} batches of a load are written concurrently; once that many are in flight, consuming
+ * the stream of cells blocks until the oldest batch has been written.
+ */
+final class SnapshotBulkLoader implements BulkLoader {
+    private static final Logger log = LoggerFactory.getLogger(SnapshotBulkLoader.class);
+
+    static final long DEFAULT_MAX_BATCH_SIZE_BYTES = 16 * 1024 * 1024;
+    static final int DEFAULT_MAX_BATCH_SIZE_CELLS = 10_000;
+    static final int DEFAULT_MAX_BATCHES_IN_FLIGHT = 4;
+    private static final long IN_FLIGHT_BATCHES_TIMEOUT_SECONDS = 60;
+
+    private final KeyValueService keyValueService;
+    private final TransactionService transactionService;
+    private final TimelockService timelockService;
+    private final LockWatchEventCache lockWatchEventCache;
+    private final MultiTableSweepQueueWriter sweepQueueWriter;
+    private final ExecutorService executor;
+    private final long lockAcquireTimeoutMillis;
+    private final long maxBatchSizeBytes;
+    private final int maxBatchSizeCells;
+    private final int maxBatchesInFlight;
+
+    private final Meter cellsWritten;
+    private final Meter bytesWritten;
+    private final Timer batchWriteTimer;
+    private final Timer backpressureTimer;
+    private final Timer commitTimer;
+
+    @VisibleForTesting
+    SnapshotBulkLoader(
+            MetricsManager metricsManager,
+            KeyValueService keyValueService,
+            TransactionService transactionService,
+            TimelockService timelockService,
+            LockWatchEventCache lockWatchEventCache,
+            MultiTableSweepQueueWriter sweepQueueWriter,
+            ExecutorService executor,
+            long lockAcquireTimeoutMillis,
+            long maxBatchSizeBytes,
+            int maxBatchSizeCells,
+            int maxBatchesInFlight) {
+        this.keyValueService = keyValueService;
+        this.transactionService = transactionService;
+        this.timelockService = timelockService;
+        this.lockWatchEventCache = lockWatchEventCache;
+        this.sweepQueueWriter = sweepQueueWriter;
+        this.executor = executor;
+        this.lockAcquireTimeoutMillis = lockAcquireTimeoutMillis;
+        this.maxBatchSizeBytes = maxBatchSizeBytes;
+        this.maxBatchSizeCells = maxBatchSizeCells;
+        this.maxBatchesInFlight = maxBatchesInFlight;
+        this.cellsWritten = metricsManager.registerOrGetMeter(BulkLoader.class, "cellsWritten");
+        this.bytesWritten = metricsManager.registerOrGetMeter(BulkLoader.class, "bytesWritten");
+        this.batchWriteTimer = metricsManager.registerOrGetTimer(BulkLoader.class, "batchWrite");
+        this.backpressureTimer = metricsManager.registerOrGetTimer(BulkLoader.class, "waitForBatchesInFlight");
+        this.commitTimer = metricsManager.registerOrGetTimer(BulkLoader.class, "commit");
+    }
+
+    static BulkLoader create(
+            MetricsManager metricsManager,
+            KeyValueService keyValueService,
+            TransactionService transactionService,
+            TimelockService timelockService,
+            LockWatchEventCache lockWatchEventCache,
+            MultiTableSweepQueueWriter sweepQueueWriter,
+            ExecutorService executor,
+            long lockAcquireTimeoutMillis) {
+        return new SnapshotBulkLoader(
+                metricsManager,
+                keyValueService,
+                transactionService,
+                timelockService,
+                lockWatchEventCache,
+                sweepQueueWriter,
+                executor,
+                lockAcquireTimeoutMillis,
+                DEFAULT_MAX_BATCH_SIZE_BYTES,
+                DEFAULT_MAX_BATCH_SIZE_CELLS,
+                DEFAULT_MAX_BATCHES_IN_FLIGHT);
+    }
+
+    @Override
+    public long load(TableReference tableRef, Stream<Map.Entry<Cell, byte[]>> cells) {
+        StartIdentifiedAtlasDbTransactionResponse response =
+                Iterables.getOnlyElement(timelockService.startIdentifiedAtlasDbTransactionBatch(1));
+        long startTimestamp = response.startTimestampAndPartition().timestamp();
+        LockToken immutableTsLock = response.immutableTimestamp().getLock();
+        Set<LockToken> heldLocks = Sets.newHashSet(immutableTsLock);
+        Deque<Future<?>> batchesInFlight = new ArrayDeque<>(maxBatchesInFlight);
+        boolean committed = false;
+        try {
+            LockToken commitLocksToken = lockTransactionRow(startTimestamp);
+            heldLocks.add(commitLocksToken);
+            writeBatches(tableRef, cells.iterator(), startTimestamp, batchesInFlight);
+            long commitTimestamp = commit(startTimestamp, immutableTsLock, commitLocksToken);
+            committed = true;
+            return commitTimestamp;
+        } finally {
+            // If the load failed, let batches that are still in flight finish, so that nothing is written after we
+            // return.
+            awaitBatchesInFlight(batchesInFlight);
+            if (!committed) {
+                abort(startTimestamp);
+            }
+            timelockService.tryUnlock(heldLocks);
+            lockWatchEventCache.removeTransactionStateFromCache(startTimestamp);
+        }
+    }
+
+    private LockToken lockTransactionRow(long startTimestamp) {
+        LockRequest request = LockRequest.of(
+                ImmutableSet.of(AtlasRowLockDescriptor.of(
+                        TransactionConstants.TRANSACTION_TABLE.getQualifiedName(),
+                        TransactionConstants.getValueForTimestamp(startTimestamp))),
+                lockAcquireTimeoutMillis);
+        LockResponse lockResponse = timelockService.lock(request);
+        if (!lockResponse.wasSuccessful()) {
+            log.error("Timed out waiting while acquiring the transaction row lock of bulk load with start timestamp {}."
+                            + " Timeout was {} ms.",
+                    SafeArg.of("startTimestamp", startTimestamp),
+                    SafeArg.of("acquireTimeoutMs", lockAcquireTimeoutMillis));
+            throw new TransactionLockAcquisitionTimeoutException(
+                    "Timed out while acquiring the transaction row lock of the bulk load.");
+        }
+        return lockResponse.getToken();
+    }
+
+    private void writeBatches(
+            TableReference tableRef,
+            Iterator<Map.Entry<Cell, byte[]>> cells,
+            long startTimestamp,
+            Deque<Future<?>> batchesInFlight) {
+        Map<Cell, byte[]> batch = Maps.newHashMap();
+        long batchSizeBytes = 0;
+        while (cells.hasNext()) {
+            Map.Entry<Cell, byte[]> entry = cells.next();
+            batch.put(entry.getKey(), entry.getValue());
+            batchSizeBytes += Cells.getApproxSizeOfCell(entry.getKey()) + entry.getValue().length;
+            if (batch.size() >= maxBatchSizeCells || batchSizeBytes >= maxBatchSizeBytes) {
+                if (batchesInFlight.size() >= maxBatchesInFlight) {
+                    try (Timer.Context timer = backpressureTimer.time()) {
+                        AtlasFutures.getUnchecked(batchesInFlight.removeFirst());
+                    }
+                }
+                batchesInFlight.addLast(submitBatch(tableRef, batch, batchSizeBytes, startTimestamp));
+                batch = Maps.newHashMap();
+                batchSizeBytes = 0;
+            }
+        }
+        if (!batch.isEmpty()) {
+            batchesInFlight.addLast(submitBatch(tableRef, batch, batchSizeBytes, startTimestamp));
+        }
+        batchesInFlight.forEach(AtlasFutures::getUnchecked);
+    }
+
+    private Future<?> submitBatch(
+            TableReference tableRef,
+            Map<Cell, byte[]> batch,
+            long batchSizeBytes,
+            long startTimestamp) {
+        return executor.submit(() -> {
+            try (Timer.Context timer = batchWriteTimer.time()) {
+                // As in SnapshotTransaction, the sweep queue must know about the cells before they are written.
+                sweepQueueWriter.enqueue(ImmutableMap.of(tableRef, batch), startTimestamp);
+                keyValueService.put(tableRef, batch, startTimestamp);
+            }
+            cellsWritten.mark(batch.size());
+            bytesWritten.mark(batchSizeBytes);
+        });
+    }
+
+    private long commit(long startTimestamp, LockToken immutableTsLock, LockToken commitLocksToken) {
+        try (Timer.Context timer = commitTimer.time()) {
+            long commitTimestamp = timelockService.getCommitTimestamp(startTimestamp, commitLocksToken);
+            // If the immutable timestamp lock has been lost, sweep may already have removed some of our cells, and if
+            // the transaction row lock has been lost, a reader may already have rolled the load back.
+            Set<LockToken> locks = ImmutableSet.of(immutableTsLock, commitLocksToken);
+            if (!timelockService.refreshLockLeases(locks).containsAll(locks)) {
+                throw new TransactionLockTimeoutException("The locks of the bulk load expired before it could be"
+                        + " committed. None of the loaded cells are visible.");
+            }
+            try {
+                transactionService.putUnlessExists(startTimestamp, commitTimestamp);
+            } catch (KeyAlreadyExistsException e) {
+                throw new TransactionFailedRetriableException("The bulk load was aborted by another process before"
+                        + " it could be committed. None of the loaded cells are visible.", e);
+            } catch (Exception e) {
+                throw new TransactionCommitFailedException("The bulk load failed writing the commit timestamp."
+                        + " It might have been committed, but it may not have.", e);
+            }
+            return commitTimestamp;
+        }
+    }
+
+    private static void awaitBatchesInFlight(Deque<Future<?>> batchesInFlight) {
+        for (Future<?> batch : batchesInFlight) {
+            try {
+                batch.get(IN_FLIGHT_BATCHES_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batchesInFlight.forEach(inFlight -> inFlight.cancel(true));
+                return;
+            } catch (ExecutionException e) {
+                // The load has already failed, and the caller is told why.
+            } catch (TimeoutException e) {
+                batch.cancel(true);
+            }
+        }
+    }
+
+    private void abort(long startTimestamp) {
+        try {
+            transactionService.putUnlessExists(startTimestamp, TransactionConstants.FAILED_COMMIT_TS);
+        } catch (KeyAlreadyExistsException e) {
+            // Either someone else already aborted the load, or it did commit after all - either way, that outcome
+            // is final.
+        } catch (Exception e) {
+            log.warn("Failed to abort bulk load with start timestamp {}; its cells will be cleaned up by sweep",
+                    SafeArg.of("startTimestamp", startTimestamp),
+                    e);
+        }
+    }
+}
@@ -33,6 +33,8 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentNavigableMap;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -58,6 +60,7 @@ import com.google.common.base.Functions;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Predicate;
 import com.google.common.base.Predicates;
+import com.google.common.base.Throwables;
 import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.Collections2;
 import com.google.common.collect.FluentIterable;
@@ -76,8 +79,10 @@ import com.google.common.collect.Ordering;
 import com.google.common.collect.PeekingIterator;
 import com.google.common.collect.Sets;
 import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.FluentFuture;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.palantir.atlasdb.AtlasDbConstants;
 import com.palantir.atlasdb.AtlasDbMetricNames;
@@ -238,6 +243,7 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
     protected final TransactionOutcomeMetrics transactionOutcomeMetrics;
     protected final boolean validateLocksOnReads;
     protected final Supplier<TransactionConfig> transactionConfig;
+    protected final ImmutableTableRowCache immutableTableRowCache;
 
     protected volatile boolean hasReads;
 
@@ -245,6 +251,11 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
      * @param immutableTimestamp If we find a row written before the immutableTimestamp we don't need to
      *                           grab a read lock for it because we know that no writers exist.
      * @param preCommitCondition This check must pass for this transaction to commit.
+     * @param immutableTableRowCache Identifies immutable tables, and caches their committed rows. Rows read by this
+     *                               transaction are only cached if they are final as of the immutableTimestamp, so
+     *                               this must be {@link ImmutableTableRowCache#disabled()} unless the
+     *                               immutableTimestamp is a true lower bound on the start timestamps of transactions
+     *                               that may still commit.
      */
     /* package */ SnapshotTransaction(
             MetricsManager metricsManager,
@@ -270,7 +281,8 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
             ExecutorService deleteExecutor,
             boolean validateLocksOnReads,
             Supplier<TransactionConfig> transactionConfig,
-            ConflictTracer conflictTracer) {
+            ConflictTracer conflictTracer,
+            ImmutableTableRowCache immutableTableRowCache) {
         this.metricsManager = metricsManager;
         this.lockWatchManager = lockWatchManager;
         this.conflictTracer = conflictTracer;
@@ -300,6 +312,7 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
         this.transactionOutcomeMetrics = TransactionOutcomeMetrics.create(metricsManager);
         this.validateLocksOnReads = validateLocksOnReads;
         this.transactionConfig = transactionConfig;
+        this.immutableTableRowCache = immutableTableRowCache;
     }
 
     @Override
@@ -343,20 +356,25 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
             return AbstractTransaction.EMPTY_SORTED_ROWS;
         }
         hasReads = true;
-        ImmutableSortedMap.Builder<Cell, byte[]> result = ImmutableSortedMap.naturalOrder();
-        Map<Cell, Value> rawResults = Maps.newHashMap(
-                keyValueService.getRows(tableRef, rows, columnSelection, getStartTimestamp()));
+        NavigableMap<byte[], RowResult<byte[]>> results;
         NavigableMap<Cell, byte[]> writes = writesByTable.get(tableRef);
-        if (writes != null) {
-            for (byte[] row : rows) {
-                extractLocalWritesForRow(result, writes, row, columnSelection);
+        if (writes == null && immutableTableRowCache.isCachingRows(tableRef)) {
+            results = getRowsOfImmutableTable(tableRef, rows, columnSelection);
+        } else {
+            ImmutableSortedMap.Builder<Cell, byte[]> result = ImmutableSortedMap.naturalOrder();
+            Map<Cell, Value> rawResults = Maps.newHashMap(
+                    keyValueService.getRows(tableRef, rows, columnSelection, getStartTimestamp()));
+            if (writes != null) {
+                for (byte[] row : rows) {
+                    extractLocalWritesForRow(result, writes, row, columnSelection);
+                }
             }
-        }
 
-        // We don't need to do work postFiltering if we have a write locally.
-        rawResults.keySet().removeAll(result.build().keySet());
+            // We don't need to do work postFiltering if we have a write locally.
+            rawResults.keySet().removeAll(result.build().keySet());
 
-        NavigableMap<byte[], RowResult<byte[]>> results = filterRowResults(tableRef, rawResults, result);
+            results = filterRowResults(tableRef, rawResults, result);
+        }
         long getRowsMillis = TimeUnit.NANOSECONDS.toMillis(timer.stop());
         if (perfLogger.isDebugEnabled()) {
             perfLogger.debug("getRows({}, {} rows) found {} rows, took {} ms",
@@ -601,6 +619,87 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
         };
     }
 
+    /**
+     * Reads rows of an immutable table that this transaction has not written to. Rows cached by earlier transactions
+     * are served from the row cache, and rows read from the key value service are cached if they are final.
+     */
+    private NavigableMap<byte[], RowResult<byte[]>> getRowsOfImmutableTable(
+            TableReference tableRef,
+            Iterable<byte[]> rows,
+            ColumnSelection columnSelection) {
+        Map<Cell, byte[]> result = Maps.newHashMap();
+        List<byte[]> uncachedRows = Lists.newArrayList();
+        for (byte[] row : rows) {
+            Optional<Map<Cell, byte[]>> cachedRow =
+                    immutableTableRowCache.get(tableRef, row, columnSelection, getStartTimestamp());
+            if (cachedRow.isPresent()) {
+                result.putAll(cachedRow.get());
+            } else {
+                uncachedRows.add(row);
+            }
+        }
+
+        if (!uncachedRows.isEmpty()) {
+            Map<Cell, Value> rawResults =
+                    keyValueService.getRows(tableRef, uncachedRows, columnSelection, getStartTimestamp());
+            NavigableMap<byte[], RowResult<byte[]>> readRows =
+                    filterRowResults(tableRef, Maps.newHashMap(rawResults), ImmutableMap.builder());
+            cacheFinalRows(tableRef, columnSelection, rawResults, readRows);
+            for (RowResult<byte[]> row : readRows.values()) {
+                row.getCells().forEach(cell -> result.put(cell.getKey(), cell.getValue()));
+            }
+        }
+        getCounter(AtlasDbMetricNames.SNAPSHOT_TRANSACTION_ROWS_READ_FROM_ROW_CACHE, tableRef)
+                .inc(Iterables.size(rows) - uncachedRows.size());
+        return RowResults.viewOfSortedMap(Cells.breakCellsUpByRow(result));
+    }
+
+    /**
+     * Caches the rows read from the key value service that are final: rows that exist, and all of whose cells were
+     * committed before our immutable timestamp. Any transaction that could still write to such a row started after
+     * all of these commits, so it sees the row and is not allowed to write to it.
+     */
+    private void cacheFinalRows(
+            TableReference tableRef,
+            ColumnSelection columnSelection,
+            Map<Cell, Value> rawResults,
+            NavigableMap<byte[], RowResult<byte[]>> readRows) {
+        if (readRows.isEmpty()) {
+            return;
+        }
+        // The commit timestamps were just looked up for post-filtering, so these are mostly timestamp cache hits.
+        Map<Long, Long> commitTimestamps = getCommitTimestampsSync(
+                tableRef, getStartTimestampsForValues(rawResults.values()), false);
+
+        Map<byte[], Long> latestCommitTimestamps = Maps.newTreeMap(UnsignedBytes.lexicographicalComparator());
+        Set<byte[]> nonFinalRows = Sets.newTreeSet(UnsignedBytes.lexicographicalComparator());
+        for (Map.Entry<Cell, Value> entry : rawResults.entrySet()) {
+            byte[] row = entry.getKey().getRowName();
+            Long commitTimestamp = isSweepSentinel(entry.getValue())
+                    ? null
+                    : commitTimestamps.get(entry.getValue().getTimestamp());
+            if (commitTimestamp == null
+                    || commitTimestamp == TransactionConstants.FAILED_COMMIT_TS
+                    || commitTimestamp >= immutableTimestamp) {
+                nonFinalRows.add(row);
+            } else {
+                latestCommitTimestamps.merge(row, commitTimestamp, Math::max);
+            }
+        }
+
+        for (RowResult<byte[]> row : readRows.values()) {
+            Long latestCommitTimestamp = latestCommitTimestamps.get(row.getRowName());
+            if (latestCommitTimestamp != null && !nonFinalRows.contains(row.getRowName())) {
+                immutableTableRowCache.put(
+                        tableRef,
+                        row.getRowName(),
+                        columnSelection,
+                        ImmutableMap.copyOf(row.getCells()),
+                        latestCommitTimestamp);
+            }
+        }
+    }
+
     @Override
     public SortedMap<byte[], RowResult<byte[]>> getRowsIgnoringLocalWrites(
             TableReference tableRef,
@@ -732,6 +831,124 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
                 MoreExecutors.directExecutor());
     }
 
+    @Override
+    @Idempotent
+    public Map<TableReference, Map<Cell, byte[]>> getMulti(Map<TableReference, Set<Cell>> cellsByTable) {
+        return AtlasFutures.getUnchecked(getMultiInternal(
+                "getMulti",
+                cellsByTable,
+                immediateKeyValueService,
+                immediateTransactionService));
+    }
+
+    @Override
+    @Idempotent
+    public ListenableFuture<Map<TableReference, Map<Cell, byte[]>>> getMultiAsync(
+            Map<TableReference, Set<Cell>> cellsByTable) {
+        return getMultiInternal("getMultiAsync", cellsByTable, keyValueService, defaultTransactionService);
+    }
+
+    /**
+     * Same as {@link #getInternal}, but reads the cells of all tables that were not written locally with a single
+     * call to the key value service.
+     */
+    private ListenableFuture<Map<TableReference, Map<Cell, byte[]>>> getMultiInternal(
+            String operationName,
+            Map<TableReference, Set<Cell>> cellsByTable,
+            AsyncKeyValueService asyncKeyValueService,
+            AsyncTransactionService asyncTransactionService) {
+        Timer.Context timer = getTimer(operationName).time();
+        cellsByTable.keySet().forEach(this::checkGetPreconditions);
+        if (cellsByTable.values().stream().allMatch(Set::isEmpty)) {
+            Map<TableReference, Map<Cell, byte[]>> emptyResults = Maps.newHashMap();
+            cellsByTable.keySet().forEach(tableRef -> emptyResults.put(tableRef, ImmutableMap.of()));
+            return Futures.immediateFuture(emptyResults);
+        }
+        hasReads = true;
+
+        Map<TableReference, Map<Cell, byte[]>> localWritesByTable = Maps.newHashMap();
+        Map<TableReference, Map<Cell, Long>> toReadByTable = Maps.newHashMap();
+        cellsByTable.forEach((tableRef, cells) -> {
+            Map<Cell, byte[]> localWrites = Maps.newHashMap();
+            SortedMap<Cell, byte[]> writes = writesByTable.get(tableRef);
+            if (writes != null) {
+                for (Cell cell : cells) {
+                    if (writes.containsKey(cell)) {
+                        localWrites.put(cell, writes.get(cell));
+                    }
+                }
+            }
+            localWritesByTable.put(tableRef, localWrites);
+
+            // We don't need to read any cells that were written locally.
+            Set<Cell> toRead = Sets.difference(cells, localWrites.keySet());
+            if (!toRead.isEmpty()) {
+                toReadByTable.put(tableRef, Cells.constantValueMap(toRead, getStartTimestamp()));
+            }
+        });
+
+        ListenableFuture<Map<TableReference, Map<Cell, Value>>> rawResultsByTable = toReadByTable.isEmpty()
+                ? Futures.immediateFuture(ImmutableMap.of())
+                : asyncKeyValueService.getMultiAsync(toReadByTable);
+        ListenableFuture<Map<TableReference, Collection<Map.Entry<Cell, byte[]>>>> postFilteredResultsByTable =
+                Futures.transformAsync(
+                        rawResultsByTable,
+                        rawResults -> {
+                            List<TableReference> tableRefs = ImmutableList.copyOf(rawResults.keySet());
+                            List<ListenableFuture<Collection<Map.Entry<Cell, byte[]>>>> postFiltered =
+                                    Lists.newArrayListWithCapacity(tableRefs.size());
+                            for (TableReference tableRef : tableRefs) {
+                                postFiltered.add(getWithPostFilteringAsync(
+                                        tableRef,
+                                        rawResults.get(tableRef),
+                                        Value.GET_VALUE,
+                                        asyncKeyValueService,
+                                        asyncTransactionService));
+                            }
+                            return Futures.transform(
+                                    Futures.allAsList(postFiltered),
+                                    results -> {
+                                        Map<TableReference, Collection<Map.Entry<Cell, byte[]>>> byTable =
+                                                Maps.newHashMapWithExpectedSize(tableRefs.size());
+                                        for (int i = 0; i < tableRefs.size(); i++) {
+                                            byTable.put(tableRefs.get(i), results.get(i));
+                                        }
+                                        return byTable;
+                                    },
+                                    MoreExecutors.directExecutor());
+                        },
+                        MoreExecutors.directExecutor());
+
+        return Futures.transform(
+                postFilteredResultsByTable,
+                fromKeyValueService -> {
+                    Map<TableReference, Map<Cell, byte[]>> results =
+                            Maps.newHashMapWithExpectedSize(cellsByTable.size());
+                    int numberOfCellsRetrieved = 0;
+                    for (Map.Entry<TableReference, Map<Cell, byte[]>> entry : localWritesByTable.entrySet()) {
+                        TableReference tableRef = entry.getKey();
+                        Map<Cell, byte[]> result = entry.getValue();
+                        fromKeyValueService.getOrDefault(tableRef, ImmutableList.of())
+                                .forEach(cellAndValue -> result.put(cellAndValue.getKey(), cellAndValue.getValue()));
+                        numberOfCellsRetrieved += result.size();
+                        validatePreCommitRequirementsOnReadIfNecessary(tableRef, getStartTimestamp());
+                        results.put(tableRef, removeEmptyColumns(result, tableRef));
+                    }
+
+                    long getMillis = TimeUnit.NANOSECONDS.toMillis(timer.stop());
+                    if (perfLogger.isDebugEnabled()) {
+                        perfLogger.debug("Snapshot transaction get cells from multiple tables (some possibly deleted)",
+                                SafeArg.of("numberOfTables", cellsByTable.size()),
+                                SafeArg.of("numberOfCells", cellsByTable.values().stream().mapToInt(Set::size).sum()),
+                                SafeArg.of("numberOfCellsRetrieved", numberOfCellsRetrieved),
+                                SafeArg.of("getOperation", operationName),
+                                SafeArg.of("durationMillis", getMillis));
+                    }
+                    return results;
+                },
+                MoreExecutors.directExecutor());
+    }
+
     @Override
     public Map<Cell, byte[]> getIgnoringLocalWrites(TableReference tableRef, Set<Cell> cells) {
         checkGetPreconditions(tableRef);
@@ -1277,12 +1494,14 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
             return Futures.immediateFuture(resultsAccumulator);
         }
 
+        PostFilterStatistics statistics = new PostFilterStatistics();
         return Futures.transformAsync(
                 Futures.immediateFuture(rawResults),
                 remainingResultsToPostFilter ->
                         getWithPostFilteringIterate(tableRef,
                                 remainingResultsToPostFilter,
                                 resultsAccumulator,
+                                statistics,
                                 transformer,
                                 asyncKeyValueService,
                                 asyncTransactionService),
@@ -1293,14 +1512,18 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
             TableReference tableReference,
             Map<Cell, Value> remainingResultsToPostFilter,
             Collection<Map.Entry<Cell, T>> resultsAccumulator,
+            PostFilterStatistics statistics,
             Function<Value, T> transformer,
             AsyncKeyValueService asyncKeyValueService,
             AsyncTransactionService asyncTransactionService) {
         if (remainingResultsToPostFilter.isEmpty()) {
             getCounter(AtlasDbMetricNames.SNAPSHOT_TRANSACTION_CELLS_RETURNED, tableReference)
                     .inc(resultsAccumulator.size());
+            updatePostFilterHistograms(tableReference, statistics, resultsAccumulator.size());
             return Futures.immediateFuture(resultsAccumulator);
         }
+        statistics.iterations++;
+        statistics.cellsFetched += remainingResultsToPostFilter.size();
 
         return Futures.transformAsync(
                 getWithPostFilteringInternal(
@@ -1315,12 +1538,29 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
                                 tableReference,
                                 remaining,
                                 resultsAccumulator,
+                                statistics,
                                 transformer,
                                 asyncKeyValueService,
                                 asyncTransactionService),
                 MoreExecutors.directExecutor());
     }
 
+    /**
+     * Records, for a single read that needed post-filtering, how many cells were fetched from the key value service
+     * (including those reloaded at earlier timestamps), how many were returned, and how many post-filtering
+     * iterations were needed. A large gap between cells fetched and returned means the table needs sweeping.
+     */
+    private void updatePostFilterHistograms(TableReference tableRef, PostFilterStatistics statistics, int returned) {
+        if (statistics.iterations == 0) {
+            return;
+        }
+        getHistogram(AtlasDbMetricNames.SNAPSHOT_TRANSACTION_CELLS_FETCHED_PER_READ, tableRef)
+                .update(statistics.cellsFetched);
+        getHistogram(AtlasDbMetricNames.SNAPSHOT_TRANSACTION_CELLS_RETURNED_PER_READ, tableRef).update(returned);
+        getHistogram(AtlasDbMetricNames.SNAPSHOT_TRANSACTION_POST_FILTER_ITERATIONS, tableRef)
+                .update(statistics.iterations);
+    }
+
     /**
      * A sentinel becomes orphaned if the table has been truncated between the time where the write occurred
      * and where it was truncated. In this case, there is a chance that we end up with a sentinel with no
@@ -1387,6 +1627,9 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
 
             if (isSweepSentinel(value)) {
                 getCounter(AtlasDbMetricNames.CellFilterMetrics.INVALID_START_TS, tableRef).inc();
+                if (orphanedSentinels.contains(key)) {
+                    getCounter(AtlasDbMetricNames.CellFilterMetrics.ORPHANED_SWEEP_SENTINEL, tableRef).inc();
+                }
 
                 // This means that this transaction started too long ago. When we do garbage collection,
                 // we clean up old values, and this transaction started at a timestamp before the garbage collection.
@@ -1409,6 +1652,9 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
             } else {
                 Long theirCommitTimestamp = commitTimestamps.get(value.getTimestamp());
                 if (theirCommitTimestamp == null || theirCommitTimestamp == TransactionConstants.FAILED_COMMIT_TS) {
+                    getCounter(theirCommitTimestamp == null
+                            ? AtlasDbMetricNames.CellFilterMetrics.UNCOMMITTED_VALUE
+                            : AtlasDbMetricNames.CellFilterMetrics.ABORTED_VALUE, tableRef).inc();
                     keysToReload.put(key, value.getTimestamp());
                     if (shouldDeleteAndRollback()) {
                         // This is from a failed transaction so we can roll it back and then reload it.
@@ -1428,6 +1674,8 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
                     if (value.getContents().length != 0) {
                         resultsCollector.add(Maps.immutableEntry(key, transformer.apply(value)));
                         keysAddedBuilder.add(key);
+                    } else {
+                        getCounter(AtlasDbMetricNames.CellFilterMetrics.EMPTY_VALUE, tableRef).inc();
                     }
                 }
             }
@@ -1485,6 +1733,9 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
         if (values.isEmpty()) {
             return;
         }
+        if (immutableTableRowCache.isImmutable(tableRef)) {
+            ensureInsertOnly(tableRef, values);
+        }
 
         numWriters.incrementAndGet();
         try {
@@ -1499,6 +1750,36 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
         }
     }
 
+    /**
+     * Immutable tables only allow new rows to be inserted: rows that this transaction has not written to yet must not
+     * exist at our start timestamp, and cells cannot be deleted.
+     */
+    private void ensureInsertOnly(TableReference tableRef, Map<Cell, byte[]> values) {
+        NavigableMap<Cell, byte[]> writes = writesByTable.get(tableRef);
+        Set<byte[]> newRows = Sets.newTreeSet(UnsignedBytes.lexicographicalComparator());
+        for (Map.Entry<Cell, byte[]> cellEntry : values.entrySet()) {
+            if (cellEntry.getValue() == null || cellEntry.getValue().length == 0) {
+                throw new SafeIllegalArgumentException("Cannot delete from an immutable table.",
+                        LoggingArgs.tableRef(tableRef));
+            }
+            byte[] row = cellEntry.getKey().getRowName();
+            if (writes == null || !hasLocalWritesForRow(writes, row)) {
+                newRows.add(row);
+            }
+        }
+
+        if (!newRows.isEmpty() && !getRowsIgnoringLocalWrites(tableRef, newRows).isEmpty()) {
+            throw new SafeIllegalArgumentException("Cannot write to rows that already exist in an immutable table.",
+                    LoggingArgs.tableRef(tableRef),
+                    SafeArg.of("numberOfRows", newRows.size()));
+        }
+    }
+
+    private static boolean hasLocalWritesForRow(NavigableMap<Cell, byte[]> writes, byte[] row) {
+        Cell firstWrite = writes.ceilingKey(Cells.createSmallestCellForRow(row));
+        return firstWrite != null && Arrays.equals(firstWrite.getRowName(), row);
+    }
+
     private void ensureNoEmptyValues(Map<Cell, byte[]> values) {
         for (Map.Entry<Cell, byte[]> cellEntry : values.entrySet()) {
             if ((cellEntry.getValue() == null) || (cellEntry.getValue().length == 0)) {
@@ -1579,6 +1860,62 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
         if (state.get() == State.FAILED) {
             throw new SafeIllegalStateException("this transaction has already failed");
         }
+        startCommitting();
+
+        boolean success = false;
+        try {
+            checkNoConcurrentWritesAndConstraints();
+            commitWrites(transactionService);
+            logCommitDuration();
+            success = true;
+        } finally {
+            // Once we are in state committing, we need to try/finally to set the state to a terminal state.
+            finishCommitting(success);
+        }
+    }
+
+    public ListenableFuture<Void> commitAsync(Executor executor) {
+        return commitAsync(defaultTransactionService, executor);
+    }
+
+    /**
+     * Commits this transaction, driving the commit protocol as a pipeline of futures on the provided executor
+     * instead of on the calling thread. Stages whose relative ordering is not required for correctness (checking for
+     * write/write conflicts and writing to the targeted sweep queue) run concurrently; all other stages run in the
+     * same order as in {@link #commit(TransactionService)}.
+     * <p>
+     * The state of this transaction is updated before the returned future completes, so callers observing the
+     * result of the future will also observe this transaction as either committed or failed.
+     */
+    public ListenableFuture<Void> commitAsync(TransactionService transactionService, Executor executor) {
+        if (state.get() == State.COMMITTED) {
+            return Futures.immediateFuture(null);
+        }
+        if (state.get() == State.FAILED) {
+            return Futures.immediateFailedFuture(new SafeIllegalStateException("this transaction has already failed"));
+        }
+        startCommitting();
+
+        ListenableFuture<Void> commitFuture;
+        try {
+            checkNoConcurrentWritesAndConstraints();
+            commitFuture = commitWritesAsync(transactionService, executor);
+        } catch (RuntimeException e) {
+            commitFuture = Futures.immediateFailedFuture(e);
+        }
+        return FluentFuture.from(commitFuture)
+                .catchingAsync(Throwable.class, thrown -> {
+                    finishCommitting(false);
+                    return Futures.immediateFailedFuture(thrown);
+                }, MoreExecutors.directExecutor())
+                .transform(unused -> {
+                    logCommitDuration();
+                    finishCommitting(true);
+                    return null;
+                }, MoreExecutors.directExecutor());
+    }
+
+    private void startCommitting() {
         while (true) {
             ensureUncommitted();
             if (state.compareAndSet(State.UNCOMMITTED, State.COMMITTING)) {
@@ -1593,32 +1930,32 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
                 || getTransactionType() == TransactionType.HARD_DELETE) {
             cleaner.queueCellsForScrubbing(getCellsToQueueForScrubbing(), getStartTimestamp());
         }
+    }
 
-        boolean success = false;
-        try {
-            if (numWriters.get() > 0) {
-                // After we set state to committing we need to make sure no one is still writing.
-                throw new SafeIllegalStateException("Cannot commit while other threads are still calling put.");
-            }
+    private void checkNoConcurrentWritesAndConstraints() {
+        if (numWriters.get() > 0) {
+            // After we set state to committing we need to make sure no one is still writing.
+            throw new SafeIllegalStateException("Cannot commit while other threads are still calling put.");
+        }
+        checkConstraints();
+    }
 
-            checkConstraints();
-            commitWrites(transactionService);
-            if (perfLogger.isDebugEnabled()) {
-                long transactionMillis = TimeUnit.NANOSECONDS.toMillis(transactionTimerContext.stop());
-                perfLogger.debug("Committed transaction {} in {}ms",
-                        getStartTimestamp(),
-                        transactionMillis);
-            }
-            success = true;
-        } finally {
-            // Once we are in state committing, we need to try/finally to set the state to a terminal state.
-            if (success) {
-                state.set(State.COMMITTED);
-                transactionOutcomeMetrics.markSuccessfulCommit();
-            } else {
-                state.set(State.FAILED);
-                transactionOutcomeMetrics.markFailedCommit();
-            }
+    private void logCommitDuration() {
+        if (perfLogger.isDebugEnabled()) {
+            long transactionMillis = TimeUnit.NANOSECONDS.toMillis(transactionTimerContext.stop());
+            perfLogger.debug("Committed transaction {} in {}ms",
+                    getStartTimestamp(),
+                    transactionMillis);
+        }
+    }
+
+    private void finishCommitting(boolean success) {
+        if (success) {
+            state.set(State.COMMITTED);
+            transactionOutcomeMetrics.markSuccessfulCommit();
+        } else {
+            state.set(State.FAILED);
+            transactionOutcomeMetrics.markFailedCommit();
         }
     }
 
@@ -1642,17 +1979,7 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
 
     private void commitWrites(TransactionService transactionService) {
         if (!hasWrites()) {
-            if (hasReads()) {
-                // verify any pre-commit conditions on the transaction
-                preCommitCondition.throwIfConditionInvalid(getStartTimestamp());
-
-                // if there are no writes, we must still make sure the immutable timestamp lock is still valid,
-                // to ensure that sweep hasn't thoroughly deleted cells we tried to read
-                if (validationNecessaryForInvolvedTablesOnCommit()) {
-                    throwIfImmutableTsOrCommitLocksExpired(null);
-                }
-                return;
-            }
+            validateReadsOnCommitWithoutWrites();
             return;
         }
 
@@ -1672,50 +1999,7 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
                 // otherwise we may have hanging values that targeted sweep won't know about.
                 timedAndTraced("writingToSweepQueue", () -> sweepQueue.enqueue(writesByTable, getStartTimestamp()));
 
-                // Write to the key value service. We must do this before getting the commit timestamp - otherwise
-                // we risk another transaction starting at a timestamp after our commit timestamp not seeing our writes.
-                timedAndTraced("commitWrite", () -> keyValueService.multiPut(writesByTable, getStartTimestamp()));
-
-                // Now that all writes are done, get the commit timestamp
-                // We must do this before we check that our locks are still valid to ensure that other transactions that
-                // will hold these locks are sure to have start timestamps after our commit timestamp.
-                // Timing is still useful, as this may perform operations pertaining to lock watches.
-                long commitTimestamp = timedAndTraced("getCommitTimestamp",
-                        () -> timelockService.getCommitTimestamp(getStartTimestamp(), commitLocksToken));
-                commitTsForScrubbing = commitTimestamp;
-
-                // Punch on commit so that if hard delete is the only thing happening on a system,
-                // we won't block forever waiting for the unreadable timestamp to advance past the
-                // scrub timestamp (same as the hard delete transaction's start timestamp).
-                // May not need to be here specifically, but this is a very cheap operation - scheduling another thread
-                // might well cost more.
-                // Not timed as this is generally an asynchronous operation.
-                traced("microsForPunch", () -> cleaner.punch(commitTimestamp));
-
-                // Serializable transactions need to check their reads haven't changed, by reading again at
-                // commitTs + 1. This must happen before the lock check for thorough tables, because the lock check
-                // verifies the immutable timestamp hasn't moved forward - thorough sweep might sweep a conflict out
-                // from underneath us.
-                timedAndTraced("readWriteConflictCheck",
-                        () -> throwIfReadWriteConflictForSerializable(commitTimestamp));
-
-                // Verify that our locks and pre-commit conditions are still valid before we actually commit;
-                // this throwIfPreCommitRequirementsNotMet is required by the transaction protocol for correctness.
-                // We check the pre-commit conditions first since they may operate similarly to read write conflict
-                // handling - we should check lock validity last to ensure that sweep hasn't affected the checks.
-                timedAndTraced("userPreCommitCondition", () -> throwIfPreCommitConditionInvalid(commitTimestamp));
-
-                // Not timed, because this just calls ConjureTimelockServiceBlocking.refreshLockLeases, and that is
-                // timed.
-                traced("preCommitLockCheck", () -> throwIfImmutableTsOrCommitLocksExpired(commitLocksToken));
-
-                // Not timed, because this just calls TransactionService.putUnlessExists, and that is timed.
-                traced("commitPutCommitTs",
-                        () -> putCommitTimestamp(commitTimestamp, commitLocksToken, transactionService));
-
-                long microsSinceCreation = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis() - timeCreated);
-                getTimer("commitTotalTimeSinceTxCreation").update(microsSinceCreation, TimeUnit.MICROSECONDS);
-                getHistogram(AtlasDbMetricNames.SNAPSHOT_TRANSACTION_BYTES_WRITTEN).update(byteCount.get());
+                writeAndCommitTimestamp(commitLocksToken, transactionService);
             } finally {
                 // Not timed because tryUnlock() is an asynchronous operation.
                 traced("postCommitUnlock", () -> timelockService.tryUnlock(ImmutableSet.of(commitLocksToken)));
@@ -1723,6 +2007,105 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
         });
     }
 
+    private ListenableFuture<Void> commitWritesAsync(TransactionService transactionService, Executor executor) {
+        if (!hasWrites()) {
+            return Futures.submit(this::validateReadsOnCommitWithoutWrites, executor);
+        }
+
+        Timer.Context commitStageTimer = getTimer("commitStage").time();
+        // As in commitWrites, the commit locks must be held before we check for conflicts.
+        ListenableFuture<LockToken> commitLocksTokenFuture = Futures.submit(
+                () -> timedAndTraced("commitAcquireLocks", this::acquireLocksForCommit),
+                executor);
+        ListenableFuture<Void> result = Futures.transformAsync(commitLocksTokenFuture, commitLocksToken -> {
+            // Conflict checking and writing to the targeted sweep queue only need to be complete before we write to
+            // the key value service, so we do not need to order them with respect to each other.
+            ListenableFuture<Void> conflictCheck = Futures.submit(
+                    () -> timedAndTraced("commitCheckingForConflicts",
+                            () -> throwIfConflictOnCommit(commitLocksToken, transactionService)),
+                    executor);
+            ListenableFuture<Void> sweepQueueWrite = Futures.submit(
+                    () -> timedAndTraced("writingToSweepQueue",
+                            () -> sweepQueue.enqueue(writesByTable, getStartTimestamp())),
+                    executor);
+            ListenableFuture<Void> committed = Futures.whenAllSucceed(conflictCheck, sweepQueueWrite).call(() -> {
+                writeAndCommitTimestamp(commitLocksToken, transactionService);
+                return null;
+            }, executor);
+            return Futures.whenAllComplete(committed).callAsync(() -> {
+                // Not timed because tryUnlock() is an asynchronous operation.
+                traced("postCommitUnlock", () -> timelockService.tryUnlock(ImmutableSet.of(commitLocksToken)));
+                return committed;
+            }, MoreExecutors.directExecutor());
+        }, MoreExecutors.directExecutor());
+        result.addListener(commitStageTimer::stop, MoreExecutors.directExecutor());
+        return result;
+    }
+
+    private void validateReadsOnCommitWithoutWrites() {
+        if (hasReads()) {
+            // verify any pre-commit conditions on the transaction
+            preCommitCondition.throwIfConditionInvalid(getStartTimestamp());
+
+            // if there are no writes, we must still make sure the immutable timestamp lock is still valid,
+            // to ensure that sweep hasn't thoroughly deleted cells we tried to read
+            if (validationNecessaryForInvolvedTablesOnCommit()) {
+                throwIfImmutableTsOrCommitLocksExpired(null);
+            }
+        }
+    }
+
+    /**
+     * Performs the stages of the commit protocol that must run strictly in order once the commit locks have been
+     * acquired, conflicts have been checked and the sweep queue has been written to.
+     */
+    private void writeAndCommitTimestamp(LockToken commitLocksToken, TransactionService transactionService) {
+        // Write to the key value service. We must do this before getting the commit timestamp - otherwise
+        // we risk another transaction starting at a timestamp after our commit timestamp not seeing our writes.
+        timedAndTraced("commitWrite", () -> keyValueService.multiPut(writesByTable, getStartTimestamp()));
+
+        // Now that all writes are done, get the commit timestamp
+        // We must do this before we check that our locks are still valid to ensure that other transactions that
+        // will hold these locks are sure to have start timestamps after our commit timestamp.
+        // Timing is still useful, as this may perform operations pertaining to lock watches.
+        long commitTimestamp = timedAndTraced("getCommitTimestamp",
+                () -> timelockService.getCommitTimestamp(getStartTimestamp(), commitLocksToken));
+        commitTsForScrubbing = commitTimestamp;
+
+        // Punch on commit so that if hard delete is the only thing happening on a system,
+        // we won't block forever waiting for the unreadable timestamp to advance past the
+        // scrub timestamp (same as the hard delete transaction's start timestamp).
+        // May not need to be here specifically, but this is a very cheap operation - scheduling another thread
+        // might well cost more.
+        // Not timed as this is generally an asynchronous operation.
+        traced("microsForPunch", () -> cleaner.punch(commitTimestamp));
+
+        // Serializable transactions need to check their reads haven't changed, by reading again at
+        // commitTs + 1. This must happen before the lock check for thorough tables, because the lock check
+        // verifies the immutable timestamp hasn't moved forward - thorough sweep might sweep a conflict out
+        // from underneath us.
+        timedAndTraced("readWriteConflictCheck",
+                () -> throwIfReadWriteConflictForSerializable(commitTimestamp));
+
+        // Verify that our locks and pre-commit conditions are still valid before we actually commit;
+        // this throwIfPreCommitRequirementsNotMet is required by the transaction protocol for correctness.
+        // We check the pre-commit conditions first since they may operate similarly to read write conflict
+        // handling - we should check lock validity last to ensure that sweep hasn't affected the checks.
+        timedAndTraced("userPreCommitCondition", () -> throwIfPreCommitConditionInvalid(commitTimestamp));
+
+        // Not timed, because this just calls ConjureTimelockServiceBlocking.refreshLockLeases, and that is
+        // timed.
+        traced("preCommitLockCheck", () -> throwIfImmutableTsOrCommitLocksExpired(commitLocksToken));
+
+        // Not timed, because this just calls TransactionService.putUnlessExists, and that is timed.
+        traced("commitPutCommitTs",
+                () -> putCommitTimestamp(commitTimestamp, commitLocksToken, transactionService));
+
+        long microsSinceCreation = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis() - timeCreated);
+        getTimer("commitTotalTimeSinceTxCreation").update(microsSinceCreation, TimeUnit.MICROSECONDS);
+        getHistogram(AtlasDbMetricNames.SNAPSHOT_TRANSACTION_BYTES_WRITTEN).update(byteCount.get());
+    }
+
     private void traced(String spanName, Runnable runnable) {
         try (CloseableTracer tracer = CloseableTracer.startSpan(spanName)) {
             runnable.run();
@@ -1816,6 +2199,10 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
      */
     protected void throwIfConflictOnCommit(LockToken commitLocksToken, TransactionService transactionService)
             throws TransactionConflictException {
+        if (transactionConfig.get().parallelWriteWriteConflictChecking()) {
+            throwIfConflictOnCommitConcurrently(commitLocksToken, transactionService);
+            return;
+        }
         for (Map.Entry<TableReference, ConcurrentNavigableMap<Cell, byte[]>> write : writesByTable.entrySet()) {
             ConflictHandler conflictHandler = getConflictHandlerForTable(write.getKey());
             throwIfWriteAlreadyCommitted(
@@ -1827,6 +2214,77 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
         }
     }
 
+    /**
+     * Checks for write/write conflicts in two concurrent phases: first, conflicting writes are detected for each batch
+     * of cells written to each table; second, the conflicts found for each table are resolved according to that
+     * table's {@link ConflictHandler}. The first conflict found in the second phase is thrown.
+     */
+    private void throwIfConflictOnCommitConcurrently(
+            LockToken commitLocksToken,
+            TransactionService transactionService) {
+        int cellBatchSize = transactionConfig.get().getConflictCheckingCellBatchSize();
+        Map<TableReference, Set<CellConflict>> spanningWritesByTable = Maps.newHashMap();
+        Map<TableReference, Set<CellConflict>> dominatingWritesByTable = Maps.newHashMap();
+        List<Runnable> detectionTasks = Lists.newArrayList();
+        for (Map.Entry<TableReference, ConcurrentNavigableMap<Cell, byte[]>> write : writesByTable.entrySet()) {
+            TableReference tableRef = write.getKey();
+            ConflictHandler conflictHandler = getConflictHandlerForTable(tableRef);
+            if (write.getValue().isEmpty() || !conflictHandler.checkWriteWriteConflicts()) {
+                continue;
+            }
+            Set<CellConflict> spanningWrites = ConcurrentHashMap.newKeySet();
+            Set<CellConflict> dominatingWrites = ConcurrentHashMap.newKeySet();
+            spanningWritesByTable.put(tableRef, spanningWrites);
+            dominatingWritesByTable.put(tableRef, dominatingWrites);
+            for (List<Cell> batch : Iterables.partition(write.getValue().keySet(), cellBatchSize)) {
+                detectionTasks.add(() -> detectWriteAlreadyCommitted(
+                        tableRef, batch, spanningWrites, dominatingWrites, transactionService));
+            }
+        }
+        runConflictChecksConcurrently("commitDetectingConflictsForCells", detectionTasks);
+
+        List<Runnable> resolutionTasks = Lists.newArrayList();
+        for (TableReference tableRef : spanningWritesByTable.keySet()) {
+            Set<CellConflict> spanningWrites = spanningWritesByTable.get(tableRef);
+            Set<CellConflict> dominatingWrites = dominatingWritesByTable.get(tableRef);
+            if (!spanningWrites.isEmpty() || !dominatingWrites.isEmpty()) {
+                resolutionTasks.add(() -> throwIfConflictsFound(
+                        tableRef,
+                        writesByTable.get(tableRef),
+                        getConflictHandlerForTable(tableRef),
+                        spanningWrites,
+                        dominatingWrites,
+                        commitLocksToken));
+            }
+        }
+        runConflictChecksConcurrently("commitResolvingConflictsForTable", resolutionTasks);
+    }
+
+    private void runConflictChecksConcurrently(String timerName, List<Runnable> checks) {
+        if (checks.size() <= 1) {
+            checks.forEach(check -> timedAndTraced(timerName, check));
+            return;
+        }
+
+        ListeningExecutorService executor = MoreExecutors.listeningDecorator(getRangesExecutor);
+        List<ListenableFuture<?>> futures = Lists.newArrayListWithCapacity(checks.size());
+        for (Runnable check : checks) {
+            futures.add(executor.submit(() -> timedAndTraced(timerName, check)));
+        }
+        try {
+            Futures.allAsList(futures).get();
+        } catch (ExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new SafeRuntimeException("Failed to check for write/write conflicts", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SafeRuntimeException("Interrupted while checking for write/write conflicts", e);
+        } finally {
+            // If any check failed, the transaction cannot commit, so there is no point running checks not yet started.
+            futures.forEach(future -> future.cancel(false));
+        }
+    }
+
     protected void throwIfWriteAlreadyCommitted(TableReference tableRef,
                                                 Map<Cell, byte[]> writes,
                                                 ConflictHandler conflictHandler,
@@ -1838,7 +2296,16 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
         }
         Set<CellConflict> spanningWrites = Sets.newHashSet();
         Set<CellConflict> dominatingWrites = Sets.newHashSet();
-        Map<Cell, Long> keysToLoad = Maps.asMap(writes.keySet(), Functions.constant(Long.MAX_VALUE));
+        detectWriteAlreadyCommitted(tableRef, writes.keySet(), spanningWrites, dominatingWrites, transactionService);
+        throwIfConflictsFound(tableRef, writes, conflictHandler, spanningWrites, dominatingWrites, commitLocksToken);
+    }
+
+    private void detectWriteAlreadyCommitted(TableReference tableRef,
+                                             Iterable<Cell> cells,
+                                             @Output Set<CellConflict> spanningWrites,
+                                             @Output Set<CellConflict> dominatingWrites,
+                                             TransactionService transactionService) {
+        Map<Cell, Long> keysToLoad = Maps.toMap(cells, Functions.constant(Long.MAX_VALUE));
         while (!keysToLoad.isEmpty()) {
             keysToLoad = detectWriteAlreadyCommittedInternal(
                     tableRef,
@@ -1847,7 +2314,14 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
                     dominatingWrites,
                     transactionService);
         }
+    }
 
+    private void throwIfConflictsFound(TableReference tableRef,
+                                       Map<Cell, byte[]> writes,
+                                       ConflictHandler conflictHandler,
+                                       Set<CellConflict> spanningWrites,
+                                       Set<CellConflict> dominatingWrites,
+                                       LockToken commitLocksToken) {
         if (conflictHandler == ConflictHandler.RETRY_ON_VALUE_CHANGED) {
             throwIfValueChangedConflict(tableRef, writes, spanningWrites, dominatingWrites, commitLocksToken);
         } else {
@@ -2477,4 +2951,12 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
                 name,
                 metricsManager.getTableNameTagFor(tableRef));
     }
+
+    /**
+     * Progress of post-filtering a single read. Only accessed by one post-filtering iteration at a time.
+     */
+    private static final class PostFilterStatistics {
+        private int iterations = 0;
+        private long cellsFetched = 0;
+    }
 }
@@ -20,6 +20,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -39,6 +40,9 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Streams;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.palantir.atlasdb.cache.TimestampCache;
 import com.palantir.atlasdb.cleaner.NoOpCleaner;
 import com.palantir.atlasdb.cleaner.api.Cleaner;
@@ -50,6 +54,7 @@ import com.palantir.atlasdb.monitoring.TimestampTracker;
 import com.palantir.atlasdb.sweep.queue.MultiTableSweepQueueWriter;
 import com.palantir.atlasdb.transaction.TransactionConfig;
 import com.palantir.atlasdb.transaction.api.AtlasDbConstraintCheckingMode;
+import com.palantir.atlasdb.transaction.api.BulkLoader;
 import com.palantir.atlasdb.transaction.api.ConditionAwareTransactionTask;
 import com.palantir.atlasdb.transaction.api.KeyValueServiceStatus;
 import com.palantir.atlasdb.transaction.api.OpenTransaction;
@@ -93,6 +98,7 @@ import com.palantir.util.SafeShutdownRunner;
     final boolean allowHiddenTableAccess;
     final ExecutorService getRangesExecutor;
     final ExecutorService deleteExecutor;
+    final ExecutorService bulkLoadExecutor;
     final int defaultGetRangesConcurrency;
     final MultiTableSweepQueueWriter sweepQueueWriter;
     final boolean validateLocksOnReads;
@@ -100,6 +106,8 @@ import com.palantir.util.SafeShutdownRunner;
     final List<Runnable> closingCallbacks;
     final AtomicBoolean isClosed;
     private final ConflictTracer conflictTracer;
+    private final ReadOnlySnapshotCache readOnlySnapshots;
+    final ImmutableTableRowCache immutableTableRowCache;
 
     protected SnapshotTransactionManager(
             MetricsManager metricsManager,
@@ -144,9 +152,15 @@ import com.palantir.util.SafeShutdownRunner;
         this.defaultGetRangesConcurrency = defaultGetRangesConcurrency;
         this.sweepQueueWriter = sweepQueueWriter;
         this.deleteExecutor = deleteExecutor;
+        this.bulkLoadExecutor = DefaultTaskExecutors.createDefaultBulkLoadExecutor();
         this.validateLocksOnReads = validateLocksOnReads;
         this.transactionConfig = transactionConfig;
         this.conflictTracer = conflictTracer;
+        this.readOnlySnapshots = ReadOnlySnapshotCache.create(timelockService, lockWatchEventCache, cleaner);
+        this.immutableTableRowCache = ImmutableTableRowCache.create(
+                metricsManager.getRegistry(),
+                keyValueService,
+                transactionConfig.get().getImmutableTableRowCacheMaxSizeBytes());
     }
 
     @Override
@@ -169,8 +183,21 @@ import com.palantir.util.SafeShutdownRunner;
         }
     }
 
+    @Override
+    public <T, E extends Exception> ListenableFuture<T> runTaskAsync(TransactionTask<T, E> task, Executor executor) {
+        checkOpen();
+        OpenTransactionImpl openTransaction = runTimed(
+                () -> Iterables.getOnlyElement(startOpenTransactions(ImmutableList.of(PreCommitConditions.NO_OP))),
+                "setupTask");
+        return openTransaction.finishAsync(task, executor);
+    }
+
     @Override
     public List<OpenTransaction> startTransactions(List<? extends PreCommitCondition> conditions) {
+        return ImmutableList.copyOf(startOpenTransactions(conditions));
+    }
+
+    private List<OpenTransactionImpl> startOpenTransactions(List<? extends PreCommitCondition> conditions) {
         if (conditions.isEmpty()) {
             return ImmutableList.of();
         }
@@ -247,6 +274,42 @@ import com.palantir.util.SafeShutdownRunner;
             postTaskContext.stop();
             return result;
         }
+
+        /**
+         * Runs the task on the calling thread, and then commits the transaction on the provided executor using
+         * {@link SnapshotTransaction#commitAsync(Executor)}.
+         */
+        <T, E extends Exception> ListenableFuture<T> finishAsync(TransactionTask<T, E> task, Executor executor) {
+            TransactionTask<T, E> wrappedTask = wrapTaskIfNecessary(task, immutableTsLock);
+            SnapshotTransaction tx = extractSnapshotTransaction(delegate);
+
+            ListenableFuture<T> committed;
+            try {
+                T result = wrappedTask.execute(delegate);
+                ListenableFuture<Void> commitFuture = tx.isUncommitted()
+                        ? tx.commitAsync(executor)
+                        : Futures.immediateFuture(null);
+                committed = Futures.transform(commitFuture, unused -> result, MoreExecutors.directExecutor());
+            } catch (Exception e) {
+                committed = Futures.immediateFailedFuture(e);
+            } finally {
+                // Make sure that anyone trying to retain a reference to this transaction
+                // will not be able to use it.
+                if (tx.isUncommitted()) {
+                    tx.abort();
+                }
+            }
+
+            ListenableFuture<T> finalCommitted = committed;
+            return Futures.whenAllComplete(finalCommitted).callAsync(() -> {
+                lockWatchEventCache.removeTransactionStateFromCache(getTimestamp());
+                timelockService.tryUnlock(ImmutableSet.of(immutableTsLock));
+                return Futures.transform(finalCommitted, result -> {
+                    scrubForAggressiveHardDelete(tx);
+                    return result;
+                }, MoreExecutors.directExecutor());
+            }, MoreExecutors.directExecutor());
+        }
     }
 
     private void scrubForAggressiveHardDelete(SnapshotTransaction tx) {
@@ -300,7 +363,8 @@ import com.palantir.util.SafeShutdownRunner;
                 deleteExecutor,
                 validateLocksOnReads,
                 transactionConfig,
-                conflictTracer);
+                conflictTracer,
+                immutableTableRowCache);
     }
 
     @Override
@@ -341,7 +405,8 @@ import com.palantir.util.SafeShutdownRunner;
                 deleteExecutor,
                 validateLocksOnReads,
                 transactionConfig,
-                conflictTracer);
+                conflictTracer,
+                immutableTableRowCache);
         try {
             return runTaskThrowOnConflict(txn -> task.execute(txn, condition),
                     new ReadTransaction(transaction, sweepStrategyManager));
@@ -350,6 +415,52 @@ import com.palantir.util.SafeShutdownRunner;
         }
     }
 
+    /**
+     * Runs the task in a read-only transaction at the start timestamp of a snapshot shared with other such
+     * transactions. The snapshot holds an immutable timestamp lock for as long as it is being read, so reads have the
+     * same guarantees as those of a read/write transaction starting at the same timestamp.
+     */
+    @Override
+    public <T, E extends Exception> T runTaskReadOnlyWithMaxStaleness(
+            Duration maxStaleness, TransactionTask<T, E> task) throws E {
+        if (maxStaleness.isZero()) {
+            return runTaskReadOnly(task);
+        }
+        checkOpen();
+        ReadOnlySnapshotCache.Snapshot snapshot = readOnlySnapshots.acquire(maxStaleness);
+        try {
+            SnapshotTransaction transaction = new SnapshotTransaction(
+                    metricsManager,
+                    keyValueService,
+                    timelockService,
+                    lockWatchManager,
+                    transactionService,
+                    NoOpCleaner.INSTANCE,
+                    Suppliers.ofInstance(snapshot.startTimestamp()),
+                    conflictDetectionManager,
+                    sweepStrategyManager,
+                    snapshot.immutableTimestamp(),
+                    Optional.of(snapshot.immutableTimestampLock()),
+                    PreCommitConditions.NO_OP,
+                    constraintModeSupplier.get(),
+                    cleaner.getTransactionReadTimeoutMillis(),
+                    TransactionReadSentinelBehavior.THROW_EXCEPTION,
+                    allowHiddenTableAccess,
+                    timestampValidationReadCache,
+                    getRangesExecutor,
+                    defaultGetRangesConcurrency,
+                    sweepQueueWriter,
+                    deleteExecutor,
+                    validateLocksOnReads,
+                    transactionConfig,
+                    conflictTracer,
+                    immutableTableRowCache);
+            return runTaskThrowOnConflict(task, new ReadTransaction(transaction, sweepStrategyManager));
+        } finally {
+            readOnlySnapshots.release(snapshot);
+        }
+    }
+
     @Override
     public void registerClosingCallback(Runnable closingCallback) {
         Preconditions.checkNotNull(closingCallback, "Cannot register a null callback.");
@@ -375,10 +486,12 @@ import com.palantir.util.SafeShutdownRunner;
 
         try (SafeShutdownRunner shutdownRunner = new SafeShutdownRunner(Duration.ofSeconds(20))) {
             shutdownRunner.shutdownSafely(super::close);
+            shutdownRunner.shutdownSafely(readOnlySnapshots::close);
             shutdownRunner.shutdownSafely(cleaner::close);
             shutdownRunner.shutdownSafely(keyValueService::close);
             shutdownRunner.shutdownSafely(() -> shutdownExecutor(deleteExecutor));
             shutdownRunner.shutdownSafely(() -> shutdownExecutor(getRangesExecutor));
+            shutdownRunner.shutdownSafely(() -> shutdownExecutor(bulkLoadExecutor));
             shutdownRunner.shutdownSafely(this::closeLockServiceIfPossible);
 
             for (Runnable callback : Lists.reverse(closingCallbacks)) {
@@ -441,6 +554,20 @@ import com.palantir.util.SafeShutdownRunner;
         return lockWatchManager;
     }
 
+    @Override
+    public Optional<BulkLoader> getBulkLoader() {
+        checkOpen();
+        return Optional.of(SnapshotBulkLoader.create(
+                metricsManager,
+                keyValueService,
+                transactionService,
+                timelockService,
+                lockWatchEventCache,
+                sweepQueueWriter,
+                bulkLoadExecutor,
+                transactionConfig.get().getLockAcquireTimeoutMillis()));
+    }
+
     /**
      * This will always return a valid ImmutableTimestamp, but it may be slightly out of date.
      * <p>
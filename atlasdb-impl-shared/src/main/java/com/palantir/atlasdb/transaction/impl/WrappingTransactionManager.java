@@ -15,6 +15,7 @@
  */
 package com.palantir.atlasdb.transaction.impl;
 
+import java.time.Duration;
 import java.util.function.Supplier;
 
 import com.palantir.atlasdb.transaction.api.AutoDelegate_TransactionManager;
@@ -72,6 +73,13 @@ public abstract class WrappingTransactionManager implements AutoDelegate_Transac
         return delegate().runTaskReadOnly(wrapTask(task));
     }
 
+    @Override
+    public <T, E extends Exception> T runTaskReadOnlyWithMaxStaleness(
+            Duration maxStaleness,
+            TransactionTask<T, E> task) throws E {
+        return delegate().runTaskReadOnlyWithMaxStaleness(maxStaleness, wrapTask(task));
+    }
+
     @Override
     public <T, E extends Exception> T runTaskWithLocksThrowOnConflict(
             Iterable<HeldLocksToken> lockTokens,
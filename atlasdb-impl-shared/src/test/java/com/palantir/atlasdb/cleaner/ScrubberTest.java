@@ -34,6 +34,7 @@ import org.junit.runners.Parameterized;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMultimap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Multimap;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.palantir.atlasdb.keyvalue.api.Cell;
@@ -41,6 +42,7 @@ import com.palantir.atlasdb.keyvalue.api.KeyValueService;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.api.Value;
 import com.palantir.atlasdb.keyvalue.impl.InMemoryKeyValueService;
+import com.palantir.atlasdb.transaction.impl.TransactionConstants;
 import com.palantir.atlasdb.transaction.impl.TransactionTables;
 import com.palantir.atlasdb.transaction.service.SimpleTransactionService;
 import com.palantir.atlasdb.transaction.service.TransactionService;
@@ -145,6 +147,27 @@ public class ScrubberTest {
         Assert.assertEquals(ImmutableList.of(), scrubQueue);
     }
 
+    @Test
+    public void uncommittedHardDeletesAreRolledBackAndTheirWritesDeleted() {
+        Cell cell = Cell.create(new byte[] {1}, new byte[] {2});
+        TableReference tableRef = TableReference.createFromFullyQualifiedName("foo.bar");
+        kvs.createTable(tableRef, new byte[] {});
+        kvs.putWithTimestamps(tableRef, ImmutableMultimap.<Cell, Value>builder()
+                .put(cell, Value.create(new byte[] {3}, 10))
+                .put(cell, Value.create(new byte[] {4}, 40))
+                .build());
+        transactions.putUnlessExists(10, 15);
+        scrubStore.queueCellsForScrubbing(ImmutableMultimap.of(cell, tableRef), 40, 100);
+        scrubber.runBackgroundScrubTask(null);
+
+        Assert.assertEquals(Long.valueOf(TransactionConstants.FAILED_COMMIT_TS), transactions.get(40));
+        Assert.assertEquals(ImmutableSet.of(10L),
+                ImmutableSet.copyOf(kvs.getAllTimestamps(tableRef, ImmutableSet.of(cell), Long.MAX_VALUE).get(cell)));
+        List<SortedMap<Long, Multimap<TableReference, Cell>>> scrubQueue = BatchingVisitables.copyToList(
+                scrubStore.getBatchingVisitableScrubQueue(Long.MAX_VALUE, null, null));
+        Assert.assertEquals(ImmutableList.of(), scrubQueue);
+    }
+
     private Scrubber getScrubber(KeyValueService keyValueService, ScrubberStore scrubberStore,
             TransactionService transactionService) {
         return Scrubber.create(keyValueService, scrubberStore,
@@ -157,6 +180,7 @@ public class ScrubberTest {
                 () -> 100, //  batch size
                 1, // thread count
                 1, // read thread count
+                1, // max in flight batches per reader
                 ImmutableList.of(), // followers
                 MetricsManagers.createForTests());
     }
@@ -59,6 +59,20 @@ public final class TimestampStateStoreTest {
         assertThat(timestampStateStore.getEarliestVersion()).isEmpty();
     }
 
+    @Test
+    public void earliestVersionAccountsForTimestampsAddedAfterEarlierVersionsRemoved() {
+        timestampStateStore.putStartTimestamps(ImmutableSet.of(100L), version1);
+        timestampStateStore.putStartTimestamps(ImmutableSet.of(400L), version2);
+        timestampStateStore.remove(100L);
+        timestampStateStore.putStartTimestamps(ImmutableSet.of(200L), IdentifiedVersion.of(leader, 5L));
+
+        assertThat(timestampStateStore.getEarliestVersion()).hasValue(5L);
+
+        timestampStateStore.clear();
+        assertThat(timestampStateStore.getEarliestVersion()).isEmpty();
+        assertThat(timestampStateStore.getStartVersion(400L)).isEmpty();
+    }
+
     @Test
     public void cannotPutCommitUpdateTwice() {
         TransactionUpdate update = ImmutableTransactionUpdate.builder()
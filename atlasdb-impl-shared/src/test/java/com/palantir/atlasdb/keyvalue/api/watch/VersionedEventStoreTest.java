@@ -70,4 +70,33 @@ public final class VersionedEventStoreTest {
         assertThat(eventStore.getEventsBetweenVersionsInclusive(Optional.empty(), 3L))
                 .containsExactly(EVENT_1, EVENT_2, EVENT_3);
     }
+
+    @Test
+    public void snapshotIsNotAffectedByLaterUpdates() {
+        eventStore.putAll(ImmutableList.of(EVENT_1, EVENT_2));
+        VersionedEventStore.Snapshot snapshot = eventStore.snapshot();
+
+        eventStore.putAll(ImmutableList.of(EVENT_3, EVENT_4));
+        eventStore.getAndRemoveElementsUpToExclusive(3L);
+
+        assertThat(snapshot.getEventsBetweenVersionsInclusive(Optional.empty(), 4L))
+                .containsExactly(EVENT_1, EVENT_2);
+        assertThat(eventStore.getEventsBetweenVersionsInclusive(Optional.empty(), 4L))
+                .containsExactly(EVENT_3, EVENT_4);
+    }
+
+    @Test
+    public void putAllOverwritesExistingEventsOutOfOrder() {
+        LockWatchEvent otherEvent2 = UnlockEvent.builder(ImmutableSet.of()).build(2L);
+        eventStore.putAll(ImmutableList.of(EVENT_1, EVENT_2, EVENT_3));
+        assertThat(eventStore.putAll(ImmutableList.of(otherEvent2))).isEqualTo(3L);
+        assertThat(eventStore.getEventsBetweenVersionsInclusive(Optional.empty(), 3L))
+                .containsExactly(EVENT_1, otherEvent2, EVENT_3);
+    }
+
+    @Test
+    public void getEventsBetweenVersionsIsEmptyIfStartIsAfterEnd() {
+        eventStore.putAll(ImmutableList.of(EVENT_1, EVENT_2, EVENT_3));
+        assertThat(eventStore.getEventsBetweenVersionsInclusive(Optional.of(3L), 2L)).isEmpty();
+    }
 }
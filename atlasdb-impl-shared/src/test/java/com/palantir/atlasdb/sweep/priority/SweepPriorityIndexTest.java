@@ -0,0 +1,187 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.sweep.priority;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.transaction.api.Transaction;
+
+public class SweepPriorityIndexTest {
+    private static final TableReference TABLE_1 = TableReference.createFromFullyQualifiedName("test.table1");
+    private static final TableReference TABLE_2 = TableReference.createFromFullyQualifiedName("test.table2");
+    private static final TableReference UNSWEPT_TABLE = TableReference.createFromFullyQualifiedName("test.unswept");
+    private static final long START_TIMESTAMP = 100L;
+    private static final int LIMIT = 10;
+
+    private final KeyValueService kvs = mock(KeyValueService.class);
+    private final SweepPriorityStore sweepPriorityStore = mock(SweepPriorityStore.class);
+    private final Transaction tx = mock(Transaction.class);
+    private final SweepPriorityChangeFeed changeFeed = new SweepPriorityChangeFeed();
+    private final AtomicLong clock = new AtomicLong();
+
+    private final Set<TableReference> allTables = Sets.newHashSet(TABLE_1, TABLE_2);
+    private final Map<TableReference, SweepPriority> oldPriorities = Maps.newHashMap();
+    private final Map<TableReference, SweepPriority> newPriorities = Maps.newHashMap();
+
+    private SweepPriorityIndex index;
+
+    @Before
+    public void setUp() {
+        when(kvs.getAllTableNames()).thenAnswer(invocation -> ImmutableSet.copyOf(allTables));
+        when(kvs.getMetadataForTable(any())).thenReturn(new byte[] {1});
+        when(tx.getTimestamp()).thenReturn(START_TIMESTAMP);
+        when(sweepPriorityStore.loadOldPriorities(any(), anyLong()))
+                .thenAnswer(invocation -> ImmutableList.copyOf(oldPriorities.values()));
+        when(sweepPriorityStore.loadNewPriorities(any()))
+                .thenAnswer(invocation -> ImmutableList.copyOf(newPriorities.values()));
+        when(sweepPriorityStore.loadOldPriorities(any(), anyLong(), anyCollection()))
+                .thenAnswer(invocation -> prioritiesOf(oldPriorities, invocation.getArgument(2)));
+        when(sweepPriorityStore.loadNewPriorities(any(), anyCollection()))
+                .thenAnswer(invocation -> prioritiesOf(newPriorities, invocation.getArgument(1)));
+
+        givenPriority(TABLE_1, 10_000);
+        givenPriority(TABLE_2, 100_000);
+
+        SweepPriorityCalculator calculator = new SweepPriorityCalculator(kvs, sweepPriorityStore);
+        index = new SweepPriorityIndex(kvs, sweepPriorityStore, calculator, changeFeed, clock::get);
+    }
+
+    @Test
+    public void returnsTablesWithHighestScoreFirst() {
+        assertThat(getTablesToSweep(0L)).containsExactly(TABLE_2, TABLE_1);
+    }
+
+    @Test
+    public void onlyReturnsCandidateTables() {
+        assertThat(index.getTablesToSweep(tx, 0L, tableRef -> !tableRef.equals(TABLE_2), LIMIT))
+                .containsExactly(TABLE_1);
+    }
+
+    @Test
+    public void unsweptTablesAreReturnedFirst() {
+        allTables.add(UNSWEPT_TABLE);
+
+        assertThat(getTablesToSweep(0L)).containsExactly(UNSWEPT_TABLE);
+    }
+
+    @Test
+    public void tablesWithZeroScoreAreNotReturned() {
+        givenPriority(TABLE_1, 10);
+
+        assertThat(getTablesToSweep(0L)).containsExactly(TABLE_2);
+    }
+
+    @Test
+    public void onlyReloadsChangedTablesBetweenFullRefreshes() {
+        getTablesToSweep(0L);
+        givenPriority(TABLE_1, 1_000_000);
+
+        assertThat(getTablesToSweep(0L)).containsExactly(TABLE_2, TABLE_1);
+
+        changeFeed.accept(ImmutableSet.of(TABLE_1));
+
+        assertThat(getTablesToSweep(0L)).containsExactly(TABLE_1, TABLE_2);
+        verify(sweepPriorityStore, times(1)).loadNewPriorities(tx);
+        verify(sweepPriorityStore, times(1)).loadNewPriorities(tx, ImmutableSet.of(TABLE_1));
+    }
+
+    @Test
+    public void reloadsAllTablesAfterFullRefreshInterval() {
+        getTablesToSweep(0L);
+        givenPriority(TABLE_1, 1_000_000);
+        clock.addAndGet(SweepPriorityIndex.FULL_REFRESH_INTERVAL.toMillis());
+
+        assertThat(getTablesToSweep(0L)).containsExactly(TABLE_1, TABLE_2);
+        verify(sweepPriorityStore, times(2)).loadNewPriorities(tx);
+    }
+
+    @Test
+    public void reloadsChangedTablesAgainOnceConservativeSweepTimestampHasPassedTheChange() {
+        getTablesToSweep(0L);
+        changeFeed.accept(ImmutableSet.of(TABLE_1));
+        getTablesToSweep(0L);
+        getTablesToSweep(START_TIMESTAMP - 1);
+        verify(sweepPriorityStore, times(1)).loadOldPriorities(tx, 0L, ImmutableSet.of(TABLE_1));
+
+        getTablesToSweep(START_TIMESTAMP);
+        verify(sweepPriorityStore, times(1)).loadOldPriorities(tx, START_TIMESTAMP, ImmutableSet.of(TABLE_1));
+
+        getTablesToSweep(START_TIMESTAMP + 1);
+        verify(sweepPriorityStore, times(2)).loadOldPriorities(any(), anyLong(), anyCollection());
+    }
+
+    @Test
+    public void revalidateDetectsChangedPriorities() {
+        getTablesToSweep(0L);
+        assertThat(index.revalidate(tx, 0L, TABLE_2)).isTrue();
+
+        givenPriority(TABLE_2, 10);
+
+        assertThat(index.revalidate(tx, 0L, TABLE_2)).isFalse();
+        assertThat(getTablesToSweep(0L)).containsExactly(TABLE_1);
+    }
+
+    private List<TableReference> getTablesToSweep(long conservativeSweepTs) {
+        return index.getTablesToSweep(tx, conservativeSweepTs, tableRef -> true, LIMIT);
+    }
+
+    private void givenPriority(TableReference tableRef, long writeCount) {
+        SweepPriority priority = ImmutableSweepPriority.builder()
+                .tableRef(tableRef)
+                .writeCount(writeCount)
+                .lastSweepTimeMillis(OptionalLong.of(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(1)))
+                .minimumSweptTimestamp(0L)
+                .staleValuesDeleted(500L)
+                .cellTsPairsExamined(1_000L)
+                .build();
+        oldPriorities.put(tableRef, priority);
+        newPriorities.put(tableRef, priority);
+    }
+
+    private static List<SweepPriority> prioritiesOf(
+            Map<TableReference, SweepPriority> priorities,
+            Collection<TableReference> tableRefs) {
+        return tableRefs.stream()
+                .filter(priorities::containsKey)
+                .map(priorities::get)
+                .collect(Collectors.toList());
+    }
+}
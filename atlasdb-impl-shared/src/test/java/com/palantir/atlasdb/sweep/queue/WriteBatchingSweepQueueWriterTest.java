@@ -0,0 +1,121 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.sweep.queue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import org.immutables.value.Value;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.palantir.atlasdb.autobatch.BatchElement;
+import com.palantir.atlasdb.autobatch.DisruptorAutobatcher;
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
+
+public class WriteBatchingSweepQueueWriterTest {
+    private static final TableReference TABLE = TableReference.createFromFullyQualifiedName("test.table");
+    private static final WriteInfo WRITE_1 = write(1L);
+    private static final WriteInfo WRITE_2 = write(2L);
+    private static final WriteInfo WRITE_3 = write(3L);
+
+    private final MultiTableSweepQueueWriter delegate = mock(MultiTableSweepQueueWriter.class);
+
+    @Test
+    public void enqueuesWritesOfAllElementsTogether() throws Exception {
+        TestSweepQueueBatchElement first = TestSweepQueueBatchElement.of(ImmutableList.of(WRITE_1, WRITE_2));
+        TestSweepQueueBatchElement second = TestSweepQueueBatchElement.of(ImmutableList.of(WRITE_3));
+
+        WriteBatchingSweepQueueWriter.processBatch(delegate, ImmutableList.of(first, second));
+
+        verify(delegate).enqueue(ImmutableList.of(WRITE_1, WRITE_2, WRITE_3));
+        verifyNoMoreInteractions(delegate);
+        assertThat(first.result().get()).isNull();
+        assertThat(second.result().get()).isNull();
+    }
+
+    @Test
+    public void retriesElementsSeparatelyIfBatchFails() throws Exception {
+        RuntimeException failure = new SafeIllegalArgumentException("too many writes");
+        doThrow(failure).when(delegate).enqueue(ImmutableList.of(WRITE_1, WRITE_2, WRITE_3));
+        doThrow(failure).when(delegate).enqueue(ImmutableList.of(WRITE_1, WRITE_2));
+        TestSweepQueueBatchElement failing = TestSweepQueueBatchElement.of(ImmutableList.of(WRITE_1, WRITE_2));
+        TestSweepQueueBatchElement succeeding = TestSweepQueueBatchElement.of(ImmutableList.of(WRITE_3));
+
+        WriteBatchingSweepQueueWriter.processBatch(delegate, ImmutableList.of(failing, succeeding));
+
+        verify(delegate).enqueue(ImmutableList.of(WRITE_3));
+        assertThat(succeeding.result().get()).isNull();
+        assertThatThrownBy(() -> failing.result().get())
+                .isInstanceOf(ExecutionException.class)
+                .hasCause(failure);
+    }
+
+    @Test
+    public void enqueuesThroughDelegateAndClosesIt() {
+        MultiTableSweepQueueWriter writer = WriteBatchingSweepQueueWriter.create(delegate);
+        writer.enqueue(ImmutableList.of(WRITE_1));
+        writer.close();
+
+        verify(delegate).enqueue(ImmutableList.of(WRITE_1));
+        verify(delegate).close();
+    }
+
+    @Test
+    public void propagatesFailureToEnqueue() {
+        doThrow(new SafeIllegalArgumentException("too many writes")).when(delegate).enqueue(anyList());
+        MultiTableSweepQueueWriter writer = WriteBatchingSweepQueueWriter.create(delegate);
+
+        assertThatThrownBy(() -> writer.enqueue(ImmutableList.of(WRITE_1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        writer.close();
+    }
+
+    @Test
+    public void doesNotEnqueueEmptyWrites() {
+        MultiTableSweepQueueWriter writer = WriteBatchingSweepQueueWriter.create(delegate);
+        writer.enqueue(ImmutableList.of());
+        writer.close();
+
+        verify(delegate).close();
+        verifyNoMoreInteractions(delegate);
+    }
+
+    private static WriteInfo write(long timestamp) {
+        return WriteInfo.write(TABLE, Cell.create(PtBytes.toBytes(timestamp), PtBytes.toBytes("col")), timestamp);
+    }
+
+    @Value.Immutable
+    interface TestSweepQueueBatchElement extends BatchElement<List<WriteInfo>, Void> {
+        static TestSweepQueueBatchElement of(List<WriteInfo> writes) {
+            return ImmutableTestSweepQueueBatchElement.builder()
+                    .argument(writes)
+                    .result(new DisruptorAutobatcher.DisruptorFuture<>("test"))
+                    .build();
+        }
+    }
+}
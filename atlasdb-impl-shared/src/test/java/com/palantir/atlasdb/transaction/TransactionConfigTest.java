@@ -0,0 +1,34 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.transaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.Test;
+
+public class TransactionConfigTest {
+    @Test
+    public void defaultConflictCheckingCellBatchSizeIsPositive() {
+        assertThat(ImmutableTransactionConfig.builder().build().getConflictCheckingCellBatchSize()).isPositive();
+    }
+
+    @Test
+    public void conflictCheckingCellBatchSizeMustBePositive() {
+        assertThatThrownBy(() -> ImmutableTransactionConfig.builder().getConflictCheckingCellBatchSize(0).build())
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
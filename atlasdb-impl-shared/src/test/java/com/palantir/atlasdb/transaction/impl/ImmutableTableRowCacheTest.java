@@ -0,0 +1,87 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.transaction.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.ColumnSelection;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+
+public class ImmutableTableRowCacheTest {
+    private static final TableReference IMMUTABLE_TABLE = TableReference.createFromFullyQualifiedName("test.immutable");
+    private static final TableReference MUTABLE_TABLE = TableReference.createFromFullyQualifiedName("test.mutable");
+    private static final byte[] ROW = PtBytes.toBytes("row");
+    private static final Map<Cell, byte[]> CELLS =
+            ImmutableMap.of(Cell.create(ROW, PtBytes.toBytes("col")), PtBytes.toBytes("value"));
+    private static final long COMMIT_TIMESTAMP = 10L;
+
+    private final ImmutableTableRowCache cache = new ImmutableTableRowCache(IMMUTABLE_TABLE::equals, 1_000_000);
+
+    @Test
+    public void onlyCachesRowsOfImmutableTables() {
+        assertThat(cache.isCachingRows(IMMUTABLE_TABLE)).isTrue();
+        assertThat(cache.isCachingRows(MUTABLE_TABLE)).isFalse();
+    }
+
+    @Test
+    public void servesRowsToTransactionsStartingAfterTheirCommit() {
+        cache.put(IMMUTABLE_TABLE, ROW, ColumnSelection.all(), CELLS, COMMIT_TIMESTAMP);
+
+        assertThat(cache.get(IMMUTABLE_TABLE, ROW, ColumnSelection.all(), COMMIT_TIMESTAMP + 1)).contains(CELLS);
+        assertThat(cache.get(IMMUTABLE_TABLE, ROW, ColumnSelection.all(), COMMIT_TIMESTAMP)).isEmpty();
+    }
+
+    @Test
+    public void keysRowsByColumnSelectionContents() {
+        cache.put(IMMUTABLE_TABLE, ROW, columns("col"), CELLS, COMMIT_TIMESTAMP);
+
+        assertThat(cache.get(IMMUTABLE_TABLE, PtBytes.toBytes("row"), columns("col"), COMMIT_TIMESTAMP + 1))
+                .contains(CELLS);
+        assertThat(cache.get(IMMUTABLE_TABLE, ROW, ColumnSelection.all(), COMMIT_TIMESTAMP + 1)).isEmpty();
+        assertThat(cache.get(IMMUTABLE_TABLE, ROW, columns("col", "other"), COMMIT_TIMESTAMP + 1)).isEmpty();
+    }
+
+    @Test
+    public void doesNotCacheRowsIfSizeIsZero() {
+        ImmutableTableRowCache noRows = new ImmutableTableRowCache(IMMUTABLE_TABLE::equals, 0);
+        noRows.put(IMMUTABLE_TABLE, ROW, ColumnSelection.all(), CELLS, COMMIT_TIMESTAMP);
+
+        assertThat(noRows.isImmutable(IMMUTABLE_TABLE)).isTrue();
+        assertThat(noRows.isCachingRows(IMMUTABLE_TABLE)).isFalse();
+        assertThat(noRows.get(IMMUTABLE_TABLE, ROW, ColumnSelection.all(), COMMIT_TIMESTAMP + 1)).isEmpty();
+    }
+
+    @Test
+    public void disabledCacheTreatsAllTablesAsMutable() {
+        assertThat(ImmutableTableRowCache.disabled().isImmutable(IMMUTABLE_TABLE)).isFalse();
+    }
+
+    private static ColumnSelection columns(String... names) {
+        ImmutableList.Builder<byte[]> columns = ImmutableList.builder();
+        for (String name : names) {
+            columns.add(PtBytes.toBytes(name));
+        }
+        return ColumnSelection.create(columns.build());
+    }
+}
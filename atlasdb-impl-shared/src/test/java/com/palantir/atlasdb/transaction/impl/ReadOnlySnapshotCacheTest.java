@@ -0,0 +1,143 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.transaction.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jmock.lib.concurrent.DeterministicScheduler;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.palantir.atlasdb.cleaner.api.Cleaner;
+import com.palantir.lock.v2.LockImmutableTimestampResponse;
+import com.palantir.lock.v2.LockToken;
+import com.palantir.lock.v2.StartIdentifiedAtlasDbTransactionResponse;
+import com.palantir.lock.v2.TimelockService;
+import com.palantir.lock.v2.TimestampAndPartition;
+import com.palantir.lock.watch.LockWatchEventCache;
+
+public class ReadOnlySnapshotCacheTest {
+    private static final Duration MAX_STALENESS = Duration.ofSeconds(1);
+
+    private final TimelockService timelockService = mock(TimelockService.class);
+    private final LockWatchEventCache lockWatchEventCache = mock(LockWatchEventCache.class);
+    private final DeterministicScheduler scheduler = new DeterministicScheduler();
+    private final AtomicLong time = new AtomicLong();
+    private final AtomicLong timestamp = new AtomicLong();
+
+    private final ReadOnlySnapshotCache cache = new ReadOnlySnapshotCache(
+            timelockService, lockWatchEventCache, mock(Cleaner.class), scheduler, time::get);
+
+    @Before
+    public void setUp() {
+        when(timelockService.startIdentifiedAtlasDbTransactionBatch(1)).thenAnswer(invocation -> {
+            long startTimestamp = timestamp.incrementAndGet();
+            return ImmutableList.of(StartIdentifiedAtlasDbTransactionResponse.of(
+                    LockImmutableTimestampResponse.of(startTimestamp, LockToken.of(UUID.randomUUID())),
+                    TimestampAndPartition.of(startTimestamp, 0)));
+        });
+    }
+
+    @Test
+    public void reusesSnapshotWithinMaxStaleness() {
+        ReadOnlySnapshotCache.Snapshot first = cache.acquire(MAX_STALENESS);
+        advance(MAX_STALENESS);
+        ReadOnlySnapshotCache.Snapshot second = cache.acquire(MAX_STALENESS);
+
+        assertThat(second).isSameAs(first);
+        verify(timelockService, times(1)).startIdentifiedAtlasDbTransactionBatch(1);
+    }
+
+    @Test
+    public void fetchesNewSnapshotOnceTooStale() {
+        ReadOnlySnapshotCache.Snapshot first = cache.acquire(MAX_STALENESS);
+        advance(MAX_STALENESS.plusNanos(1));
+        ReadOnlySnapshotCache.Snapshot second = cache.acquire(MAX_STALENESS);
+
+        assertThat(second.startTimestamp()).isGreaterThan(first.startTimestamp());
+    }
+
+    @Test
+    public void keepsReplacedSnapshotLockedUntilReleased() {
+        ReadOnlySnapshotCache.Snapshot first = cache.acquire(MAX_STALENESS);
+        advance(MAX_STALENESS.plusNanos(1));
+        cache.release(cache.acquire(MAX_STALENESS));
+        verify(timelockService, never()).tryUnlock(ImmutableSet.of(first.immutableTimestampLock()));
+
+        cache.release(first);
+        verify(timelockService).tryUnlock(ImmutableSet.of(first.immutableTimestampLock()));
+        verify(lockWatchEventCache).removeTransactionStateFromCache(first.startTimestamp());
+    }
+
+    @Test
+    public void keepsCurrentSnapshotLockedWhileNotRead() {
+        cache.release(cache.acquire(MAX_STALENESS));
+
+        verify(timelockService, never()).tryUnlock(any());
+    }
+
+    @Test
+    public void retiresSnapshotAfterMaxSnapshotAge() {
+        ReadOnlySnapshotCache.Snapshot snapshot = cache.acquire(MAX_STALENESS);
+        cache.release(snapshot);
+
+        advance(ReadOnlySnapshotCache.MAX_SNAPSHOT_AGE);
+
+        verify(timelockService).tryUnlock(ImmutableSet.of(snapshot.immutableTimestampLock()));
+    }
+
+    @Test
+    public void capsMaxStalenessAtMaxSnapshotAge() {
+        ReadOnlySnapshotCache.Snapshot first = cache.acquire(Duration.ofDays(1));
+        time.addAndGet(ReadOnlySnapshotCache.MAX_SNAPSHOT_AGE.plusNanos(1).toNanos());
+        ReadOnlySnapshotCache.Snapshot second = cache.acquire(Duration.ofDays(1));
+
+        assertThat(second).isNotSameAs(first);
+    }
+
+    @Test
+    public void releasesCurrentSnapshotOnClose() {
+        // DeterministicScheduler does not support being shut down.
+        ReadOnlySnapshotCache closeableCache = new ReadOnlySnapshotCache(
+                timelockService, lockWatchEventCache, mock(Cleaner.class), mock(ScheduledExecutorService.class),
+                time::get);
+        ReadOnlySnapshotCache.Snapshot snapshot = closeableCache.acquire(MAX_STALENESS);
+        closeableCache.release(snapshot);
+
+        closeableCache.close();
+
+        verify(timelockService).tryUnlock(ImmutableSet.of(snapshot.immutableTimestampLock()));
+    }
+
+    private void advance(Duration duration) {
+        time.addAndGet(duration.toNanos());
+        scheduler.tick(duration.toNanos(), TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.performance.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.palantir.paxos.Client;
+import com.palantir.paxos.ImmutableNamespaceAndUseCase;
+import com.palantir.paxos.PaxosRound;
+import com.palantir.paxos.PaxosStateLog;
+import com.palantir.paxos.PaxosStateLogImpl;
+import com.palantir.paxos.PaxosValue;
+import com.palantir.paxos.SegmentedPaxosStateLog;
+import com.palantir.paxos.SqliteConnections;
+import com.palantir.paxos.SqlitePaxosStateLog;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Compares the latency of the operations TimeLock's acceptors and learners perform on their logs, across the file
+ * based, SQLite based and segmented implementations of {@link PaxosStateLog}.
+ */
+@Measurement(iterations = 5, time = 5)
+@Warmup(iterations = 3, time = 2)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PaxosStateLogBenchmarks {
+    private static final int PREPOPULATED_ROUNDS = 10_000;
+    private static final int BATCH_SIZE = 100;
+    private static final byte[] VALUE = new byte[64];
+
+    @Param({"FILE", "SQLITE", "SEGMENTED"})
+    public LogType logType;
+
+    private final AtomicLong nextSequence = new AtomicLong(PREPOPULATED_ROUNDS);
+    private Path directory;
+    private HikariDataSource dataSource;
+    private PaxosStateLog<PaxosValue> stateLog;
+
+    public enum LogType {
+        FILE, SQLITE, SEGMENTED
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("paxos-state-log-benchmark");
+        switch (logType) {
+            case FILE:
+                stateLog = PaxosStateLogImpl.createFileBacked(directory.toString());
+                break;
+            case SQLITE:
+                dataSource = SqliteConnections.getPooledDataSource(directory);
+                stateLog = SqlitePaxosStateLog.create(
+                        ImmutableNamespaceAndUseCase.of(Client.of("benchmark"), "benchmark"), dataSource);
+                break;
+            case SEGMENTED:
+                stateLog = SegmentedPaxosStateLog.create(directory.toString());
+                break;
+            default:
+                throw new IllegalStateException("Unknown log type " + logType);
+        }
+        stateLog.writeBatchOfRounds(rounds(0, PREPOPULATED_ROUNDS));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (stateLog instanceof SegmentedPaxosStateLog) {
+            ((SegmentedPaxosStateLog<PaxosValue>) stateLog).close();
+        }
+        if (dataSource != null) {
+            dataSource.close();
+        }
+        FileUtils.deleteDirectory(directory.toFile());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long writeRound() {
+        long seq = nextSequence.getAndIncrement();
+        stateLog.writeRound(seq, value(seq));
+        return seq;
+    }
+
+    @Benchmark
+    @Threads(16)
+    public long writeRoundConcurrently() {
+        long seq = nextSequence.getAndIncrement();
+        stateLog.writeRound(seq, value(seq));
+        return seq;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long writeBatchOfRounds() {
+        long firstSeq = nextSequence.getAndAdd(BATCH_SIZE);
+        stateLog.writeBatchOfRounds(rounds(firstSeq, firstSeq + BATCH_SIZE));
+        return firstSeq;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public byte[] readRound() throws IOException {
+        return stateLog.readRound(ThreadLocalRandom.current().nextLong(PREPOPULATED_ROUNDS));
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long getGreatestLogEntry() {
+        return stateLog.getGreatestLogEntry();
+    }
+
+    private static List<PaxosRound<PaxosValue>> rounds(long fromInclusive, long toExclusive) {
+        return LongStream.range(fromInclusive, toExclusive)
+                .mapToObj(seq -> PaxosRound.of(seq, value(seq)))
+                .collect(Collectors.toList());
+    }
+
+    private static PaxosValue value(long seq) {
+        return new PaxosValue("benchmark", seq, VALUE);
+    }
+}
@@ -39,9 +39,13 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.Sets;
+import com.google.common.collect.Streams;
 import com.google.common.hash.Hashing;
 import com.google.common.primitives.Bytes;
 import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.palantir.atlasdb.compress.CompressionUtils;
 import com.palantir.atlasdb.encoding.PtBytes;
@@ -56,6 +60,8 @@ import com.palantir.atlasdb.keyvalue.api.RangeRequest;
 import com.palantir.atlasdb.keyvalue.api.RowResult;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.impl.Cells;
+import com.palantir.atlasdb.ptobject.CompositeKeyReader;
+import com.palantir.atlasdb.ptobject.CompositeKeyWriter;
 import com.palantir.atlasdb.ptobject.EncodingUtils;
 import com.palantir.atlasdb.table.api.AtlasDbDynamicMutablePersistentTable;
 import com.palantir.atlasdb.table.api.AtlasDbMutablePersistentTable;
@@ -68,6 +74,7 @@ import com.palantir.atlasdb.table.description.ValueType;
 import com.palantir.atlasdb.table.generation.ColumnValues;
 import com.palantir.atlasdb.table.generation.Descending;
 import com.palantir.atlasdb.table.generation.NamedColumnValue;
+import com.palantir.atlasdb.table.generation.TableReads;
 import com.palantir.atlasdb.transaction.api.AtlasDbConstraintCheckingMode;
 import com.palantir.atlasdb.transaction.api.ConstraintCheckingTransaction;
 import com.palantir.atlasdb.transaction.api.ImmutableGetRangesQuery;
@@ -176,16 +183,16 @@ public final class KeyValueTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] keyBytes = PtBytes.toBytes(key);
-            return EncodingUtils.add(keyBytes);
+            CompositeKeyWriter __writer = new CompositeKeyWriter(CompositeKeyWriter.sizeOfString(key));
+            __writer.writeString(key);
+            return __writer.toByteArray();
         }
 
         public static final Hydrator<KeyValueRow> BYTES_HYDRATOR = new Hydrator<KeyValueRow>() {
             @Override
             public KeyValueRow hydrateFromBytes(byte[] __input) {
-                int __index = 0;
-                String key = PtBytes.toString(__input, __index, __input.length-__index);
-                __index += 0;
+                CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                String key = __reader.readStringToEnd();
                 return new KeyValueRow(key);
             }
         };
@@ -477,6 +484,26 @@ public final class KeyValueTable implements
         return rowResults;
     }
 
+    public ListenableFuture<List<KeyValueRowResult>> getRowsAsync(Iterable<KeyValueRow> rows) {
+        return getRowsAsync(rows, allColumns);
+    }
+
+    public ListenableFuture<List<KeyValueRowResult>> getRowsAsync(Iterable<KeyValueRow> rows, ColumnSelection columns) {
+        ColumnSelection selectedColumns = columns.allColumnsSelected() ? allColumns : columns;
+        return Futures.transform(
+                TableReads.getRowsAsync(t, tableRef, Persistables.persistAll(rows), selectedColumns),
+                rowResults -> ImmutableList.copyOf(Lists.transform(rowResults, KeyValueRowResult::of)),
+                MoreExecutors.directExecutor());
+    }
+
+    public Stream<KeyValueRowResult> getRowsStream(Iterable<KeyValueRow> rows) {
+        return getRowsStream(rows, allColumns);
+    }
+
+    public Stream<KeyValueRowResult> getRowsStream(Iterable<KeyValueRow> rows, ColumnSelection columns) {
+        return TableReads.getRowsStream(t, tableRef, Persistables.persistAll(rows), columns).map(KeyValueRowResult::of);
+    }
+
     @Override
     public List<KeyValueNamedColumnValue<?>> getRowColumns(KeyValueRow row) {
         return getRowColumns(row, allColumns);
@@ -561,6 +588,10 @@ public final class KeyValueTable implements
         return transformed;
     }
 
+    public Stream<Map.Entry<KeyValueRow, KeyValueNamedColumnValue<?>>> getRowsColumnRangeStream(Iterable<KeyValueRow> rows, ColumnRangeSelection columnRangeSelection, int batchHint) {
+        return Streams.stream(getRowsColumnRange(rows, columnRangeSelection, batchHint));
+    }
+
     private RangeRequest optimizeRangeRequest(RangeRequest range) {
         if (range.getColumnNames().isEmpty()) {
             return range.getBuilder().retainColumns(allColumns).build();
@@ -581,6 +612,10 @@ public final class KeyValueTable implements
         });
     }
 
+    public Stream<KeyValueRowResult> getRangeStream(RangeRequest range) {
+        return TableReads.getRangeStream(t, tableRef, optimizeRangeRequest(range)).map(KeyValueRowResult::of);
+    }
+
     @Deprecated
     public IterableView<BatchingVisitable<KeyValueRowResult>> getRanges(Iterable<RangeRequest> ranges) {
         Iterable<BatchingVisitable<RowResult<byte[]>>> rangeResults = t.getRanges(tableRef, optimizeRangeRequests(ranges));
@@ -687,6 +722,8 @@ public final class KeyValueTable implements
      * {@link ColumnValue}
      * {@link ColumnValues}
      * {@link ComparisonChain}
+     * {@link CompositeKeyReader}
+     * {@link CompositeKeyWriter}
      * {@link Compression}
      * {@link CompressionUtils}
      * {@link ConstraintCheckingTransaction}
@@ -695,6 +732,7 @@ public final class KeyValueTable implements
      * {@link Entry}
      * {@link EnumSet}
      * {@link Function}
+     * {@link Futures}
      * {@link Generated}
      * {@link HashMultimap}
      * {@link HashSet}
@@ -712,9 +750,11 @@ public final class KeyValueTable implements
      * {@link Iterators}
      * {@link Joiner}
      * {@link List}
+     * {@link ListenableFuture}
      * {@link Lists}
      * {@link Map}
      * {@link Maps}
+     * {@link MoreExecutors}
      * {@link MoreObjects}
      * {@link Multimap}
      * {@link Multimaps}
@@ -733,7 +773,9 @@ public final class KeyValueTable implements
      * {@link Sha256Hash}
      * {@link SortedMap}
      * {@link Stream}
+     * {@link Streams}
      * {@link Supplier}
+     * {@link TableReads}
      * {@link TableReference}
      * {@link Throwables}
      * {@link TimeUnit}
@@ -743,5 +785,5 @@ public final class KeyValueTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "m5yA1RA7LO64BThk0w8/Ig==";
+    static String __CLASS_HASH = "fmol/0hIl5PsU184ccD6XA==";
 }
@@ -24,6 +24,7 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
 
 import com.palantir.atlasdb.table.description.TableMetadata;
 import com.palantir.common.annotation.Idempotent;
@@ -78,6 +79,23 @@ public interface AtlasDbService {
     RangeToken getRange(@PathParam("token") TransactionToken token,
                         TableRange rangeRequest);
 
+    /**
+     * Streams the whole of the given range in one chunked response, rather than a page per request. The response is
+     * a sequence of length-delimited {@code RowBatch} protobuf messages (see RangeStreamPersistence.proto) of up to
+     * the range's batch size rows each, the last of which is marked as the end of the range.
+     * <p>
+     * Rows are read from the database only as fast as the client consumes them: each batch is flushed as it is
+     * written, and writing blocks once the connection's buffers are full. Unlike other reads with an auto-committing
+     * token, the read is not retried, as part of the response may already have been sent.
+     */
+    @Idempotent
+    @POST
+    @Path("range-stream/{token}")
+    @Produces(MediaType.APPLICATION_OCTET_STREAM)
+    @Consumes(MediaType.APPLICATION_JSON)
+    StreamingOutput getRangeStream(@PathParam("token") TransactionToken token,
+                                   TableRange rangeRequest);
+
     @Idempotent
     @POST
     @Path("put/{token}")
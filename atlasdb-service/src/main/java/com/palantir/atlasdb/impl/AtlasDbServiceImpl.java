@@ -15,21 +15,27 @@
  */
 package com.palantir.atlasdb.impl;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
+import javax.ws.rs.core.StreamingOutput;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
+import com.google.protobuf.ByteString;
 import com.palantir.atlasdb.api.AtlasDbService;
 import com.palantir.atlasdb.api.RangeToken;
 import com.palantir.atlasdb.api.TableCell;
@@ -43,6 +49,7 @@ import com.palantir.atlasdb.keyvalue.api.KeyValueService;
 import com.palantir.atlasdb.keyvalue.api.RangeRequest;
 import com.palantir.atlasdb.keyvalue.api.RowResult;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.protos.generated.RangeStreamPersistence;
 import com.palantir.atlasdb.protos.generated.TableMetadataPersistence;
 import com.palantir.atlasdb.table.description.TableMetadata;
 import com.palantir.atlasdb.table.description.ValueType;
@@ -56,6 +63,7 @@ import com.palantir.atlasdb.transaction.impl.TxTask;
 import com.palantir.common.base.BatchingVisitable;
 import com.palantir.common.base.BatchingVisitables;
 import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.UnsafeArg;
 
 public class AtlasDbServiceImpl implements AtlasDbService {
     private static final TableMetadata RAW_METADATA = TableMetadata.builder()
@@ -120,14 +128,8 @@ public class AtlasDbServiceImpl implements AtlasDbService {
             final TableRange range) {
         return runReadOnly(token, transaction -> {
             int limit = range.getBatchSize() + 1;
-            RangeRequest request = RangeRequest.builder()
-                    .startRowInclusive(range.getStartRow())
-                    .endRowExclusive(range.getEndRow())
-                    .batchHint(limit)
-                    .retainColumns(range.getColumns())
-                    .build();
             BatchingVisitable<RowResult<byte[]>> visitable = transaction.getRange(getTableRef(range.getTableName()),
-                    request);
+                    toRangeRequest(range, limit));
             List<RowResult<byte[]>> results = BatchingVisitables.limit(visitable, limit).immutableCopy();
             if (results.size() == limit) {
                 TableRowResult data = new TableRowResult(range.getTableName(), results.subList(0, limit - 1));
@@ -141,6 +143,62 @@ public class AtlasDbServiceImpl implements AtlasDbService {
         });
     }
 
+    @Override
+    public StreamingOutput getRangeStream(TransactionToken token,
+            final TableRange range) {
+        // Anything wrong with the request has to be reported before the response starts streaming.
+        Optional<Transaction> openTransaction = getOpenTransaction(token);
+        Preconditions.checkArgument(metadataCache.getMetadata(range.getTableName()) != null,
+                "The given table does not exist.", UnsafeArg.of("tableName", range.getTableName()));
+        TableReference tableRef = getTableRef(range.getTableName());
+        RangeRequest rangeRequest = toRangeRequest(range, range.getBatchSize());
+        return output -> {
+            try {
+                runReadOnly(openTransaction, false, transaction -> {
+                    BatchingVisitable<RowResult<byte[]>> visitable = transaction.getRange(tableRef, rangeRequest);
+                    visitable.batchAccept(range.getBatchSize(), batch -> {
+                        writeBatch(output, toRowBatch(batch).build());
+                        return true;
+                    });
+                    writeBatch(output, RangeStreamPersistence.RowBatch.newBuilder().setEndOfRange(true).build());
+                    return null;
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+
+    private static RangeRequest toRangeRequest(TableRange range, int batchHint) {
+        return RangeRequest.builder()
+                .startRowInclusive(range.getStartRow())
+                .endRowExclusive(range.getEndRow())
+                .batchHint(batchHint)
+                .retainColumns(range.getColumns())
+                .build();
+    }
+
+    private static RangeStreamPersistence.RowBatch.Builder toRowBatch(List<RowResult<byte[]>> rows) {
+        RangeStreamPersistence.RowBatch.Builder batch = RangeStreamPersistence.RowBatch.newBuilder();
+        for (RowResult<byte[]> row : rows) {
+            RangeStreamPersistence.Row.Builder rowBuilder = batch.addRowsBuilder()
+                    .setRowName(ByteString.copyFrom(row.getRowName()));
+            row.getColumns().forEach((column, value) -> rowBuilder.addColumnsBuilder()
+                    .setColumnName(ByteString.copyFrom(column))
+                    .setValue(ByteString.copyFrom(value)));
+        }
+        return batch;
+    }
+
+    private static void writeBatch(OutputStream output, RangeStreamPersistence.RowBatch batch) {
+        try {
+            batch.writeDelimitedTo(output);
+            output.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @Override
     public void put(TransactionToken token,
             final TableCellVal data) {
@@ -165,13 +223,32 @@ public class AtlasDbServiceImpl implements AtlasDbService {
     }
 
     private <T> T runReadOnly(TransactionToken token, RuntimeTransactionTask<T> task) {
+        return runReadOnly(getOpenTransaction(token), true, task);
+    }
+
+    /**
+     * Runs the task in the given open transaction, or else in a transaction of its own, which is retried on failure
+     * only if requested.
+     */
+    private <T> T runReadOnly(Optional<Transaction> openTransaction,
+            boolean retry,
+            RuntimeTransactionTask<T> task) {
+        if (openTransaction.isPresent()) {
+            return task.execute(openTransaction.get());
+        }
+        return retry ? txManager.runTaskWithRetry(task) : txManager.runTaskReadOnly(task);
+    }
+
+    /**
+     * Returns the open transaction of the given token, or empty if the token asks for each call to commit on its own.
+     */
+    private Optional<Transaction> getOpenTransaction(TransactionToken token) {
         if (token.shouldAutoCommit()) {
-            return txManager.runTaskWithRetry(task);
-        } else {
-            Transaction tx = transactions.getIfPresent(token);
-            Preconditions.checkNotNull(tx, "The given transaction does not exist.");
-            return task.execute(tx);
+            return Optional.empty();
         }
+        Transaction tx = transactions.getIfPresent(token);
+        Preconditions.checkNotNull(tx, "The given transaction does not exist.");
+        return Optional.of(tx);
     }
 
     private <T> T runWithRetry(TransactionToken token, RuntimeTransactionTask<T> task) {
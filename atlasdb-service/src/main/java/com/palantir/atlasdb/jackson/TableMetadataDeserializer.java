@@ -74,6 +74,8 @@ public class TableMetadataDeserializer extends StdDeserializer<TableMetadata> {
                 .map(JsonNode::booleanValue).ifPresent(builder::appendHeavyAndReadLight);
         Optional.ofNullable(node.get("nameLogSafety"))
                 .map(JsonNode::textValue).map(LogSafety::valueOf).ifPresent(builder::nameLogSafety);
+        Optional.ofNullable(node.get("immutable"))
+                .map(JsonNode::booleanValue).ifPresent(builder::immutable);
 
         return builder.build();
     }
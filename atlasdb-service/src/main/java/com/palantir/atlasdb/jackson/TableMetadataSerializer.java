@@ -81,6 +81,7 @@ public class TableMetadataSerializer extends StdSerializer<TableMetadata> {
         jgen.writeBooleanField("negativeLookups", value.hasNegativeLookups());
         jgen.writeBooleanField("appendHeavyAndReadLight", value.isAppendHeavyAndReadLight());
         jgen.writeStringField("nameLogSafety", value.getNameLogSafety().name());
+        jgen.writeBooleanField("immutable", value.isImmutable());
         jgen.writeEndObject();
     }
 
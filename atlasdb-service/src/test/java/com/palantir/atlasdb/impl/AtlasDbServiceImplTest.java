@@ -15,26 +15,56 @@
  */
 package com.palantir.atlasdb.impl;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.primitives.UnsignedBytes;
+import com.palantir.atlasdb.api.TableRange;
+import com.palantir.atlasdb.api.TransactionToken;
+import com.palantir.atlasdb.encoding.PtBytes;
 import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.RangeRequest;
+import com.palantir.atlasdb.keyvalue.api.RowResult;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.protos.generated.RangeStreamPersistence;
+import com.palantir.atlasdb.table.description.TableMetadata;
+import com.palantir.atlasdb.transaction.api.Transaction;
 import com.palantir.atlasdb.transaction.api.TransactionManager;
+import com.palantir.atlasdb.transaction.api.TransactionTask;
+import com.palantir.common.base.BatchingVisitableFromIterable;
 
 public class AtlasDbServiceImplTest {
+    private static final String TABLE_NAME = "ns.table";
+
     private KeyValueService kvs;
+    private TransactionManager txManager;
+    private TableMetadataCache metadataCache;
     private AtlasDbServiceImpl atlasDbService;
 
     @Before
     public void setUp() {
         kvs = mock(KeyValueService.class);
-        TransactionManager txManager = mock(TransactionManager.class);
-        TableMetadataCache metadataCache = mock(TableMetadataCache.class);
+        txManager = mock(TransactionManager.class);
+        metadataCache = mock(TableMetadataCache.class);
         atlasDbService = new AtlasDbServiceImpl(kvs, txManager, metadataCache);
     }
 
@@ -53,4 +83,63 @@ public class AtlasDbServiceImplTest {
         TableReference tableToTruncate = TableReference.createFromFullyQualifiedName("ns.table");
         verify(kvs, atLeastOnce()).truncateTable(tableToTruncate);
     }
+
+    @Test
+    public void rangeStreamWritesAllRowsInBatchesAndMarksTheEnd() throws Exception {
+        List<RowResult<byte[]>> rows = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            rows.add(RowResult.create(PtBytes.toBytes("row" + i),
+                    ImmutableSortedMap.<byte[], byte[]>orderedBy(UnsignedBytes.lexicographicalComparator())
+                            .put(PtBytes.toBytes("col"), PtBytes.toBytes("val" + i))
+                            .build()));
+        }
+        Transaction transaction = mock(Transaction.class);
+        when(transaction.getRange(any(TableReference.class), any(RangeRequest.class)))
+                .thenReturn(BatchingVisitableFromIterable.create(rows));
+        when(txManager.runTaskReadOnly(any())).thenAnswer(
+                invocation -> invocation.<TransactionTask<?, ?>>getArgument(0).execute(transaction));
+        when(metadataCache.getMetadata(TABLE_NAME)).thenReturn(TableMetadata.allDefault());
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        TableRange range = new TableRange(TABLE_NAME, new byte[0], new byte[0], ImmutableList.of(), 2);
+        atlasDbService.getRangeStream(TransactionToken.autoCommit(), range).write(output);
+
+        List<RangeStreamPersistence.RowBatch> batches = readBatches(new ByteArrayInputStream(output.toByteArray()));
+        assertThat(batches.stream().map(RangeStreamPersistence.RowBatch::getRowsCount))
+                .containsExactly(2, 2, 1, 0);
+        assertThat(batches.stream().map(RangeStreamPersistence.RowBatch::getEndOfRange))
+                .containsExactly(false, false, false, true);
+        assertThat(batches.stream()
+                .flatMap(batch -> batch.getRowsList().stream())
+                .map(row -> row.getColumns(0).getValue().toStringUtf8())
+                .collect(Collectors.toList()))
+                .containsExactly("val0", "val1", "val2", "val3", "val4");
+        verify(txManager, never()).runTaskWithRetry(any());
+    }
+
+    @Test
+    public void rangeStreamRejectsUnknownTransactionsBeforeStreaming() {
+        TableRange range = new TableRange(TABLE_NAME, new byte[0], new byte[0], ImmutableList.of(), 2);
+
+        assertThatThrownBy(() -> atlasDbService.getRangeStream(new TransactionToken("unknown"), range))
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    public void rangeStreamRejectsUnknownTablesBeforeStreaming() {
+        TableRange range = new TableRange("ns.unknown", new byte[0], new byte[0], ImmutableList.of(), 2);
+
+        assertThatThrownBy(() -> atlasDbService.getRangeStream(TransactionToken.autoCommit(), range))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(txManager, never()).runTaskReadOnly(any());
+    }
+
+    private static List<RangeStreamPersistence.RowBatch> readBatches(InputStream input) throws IOException {
+        List<RangeStreamPersistence.RowBatch> batches = new ArrayList<>();
+        RangeStreamPersistence.RowBatch batch;
+        while ((batch = RangeStreamPersistence.RowBatch.parseDelimitedFrom(input)) != null) {
+            batches.add(batch);
+        }
+        return batches;
+    }
 }
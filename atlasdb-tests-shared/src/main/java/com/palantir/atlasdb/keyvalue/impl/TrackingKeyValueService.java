@@ -53,6 +53,13 @@ public class TrackingKeyValueService extends ForwardingKeyValueService {
         return super.get(tableRef, timestampByCell);
     }
 
+    @Override
+    public Map<TableReference, Map<Cell, Value>> getMulti(
+            Map<TableReference, Map<Cell, Long>> timestampByCellByTable) {
+        tablesReadFrom.addAll(timestampByCellByTable.keySet());
+        return super.getMulti(timestampByCellByTable);
+    }
+
     @Override
     public Map<Cell, Value> getRows(TableReference tableRef, Iterable<byte[]> rows,
                                     ColumnSelection columnSelection, long timestamp) {
@@ -131,6 +131,14 @@ public abstract class AbstractTransactionTest extends TransactionTestSetup {
             Executors.newFixedThreadPool(GET_RANGES_THREAD_POOL_SIZE);
 
     protected Transaction startTransaction() {
+        return startTransaction(ImmutableTableRowCache.disabled());
+    }
+
+    /**
+     * The immutable timestamp of the transaction is its start timestamp, so the row cache may only be enabled if no
+     * other transactions are running.
+     */
+    private Transaction startTransaction(ImmutableTableRowCache immutableTableRowCache) {
         long startTimestamp = timestampService.getFreshTimestamp();
         return new SnapshotTransaction(metricsManager,
                 keyValueService,
@@ -155,7 +163,8 @@ public abstract class AbstractTransactionTest extends TransactionTestSetup {
                 MoreExecutors.newDirectExecutorService(),
                 true,
                 () -> TRANSACTION_CONFIG,
-                ConflictTracer.NO_OP);
+                ConflictTracer.NO_OP,
+                immutableTableRowCache);
     }
 
     @Test
@@ -874,6 +883,89 @@ public abstract class AbstractTransactionTest extends TransactionTestSetup {
         keyValueService.dropTable(table);
     }
 
+    @Test
+    public void testKeyValueGetMulti() {
+        Cell cell = createCell("row", "col");
+        keyValueService.multiPut(ImmutableMap.of(
+                TEST_TABLE, ImmutableMap.of(cell, PtBytes.toBytes("v1")),
+                TEST_TABLE_THOROUGH, ImmutableMap.of(cell, PtBytes.toBytes("v2"))), 0);
+
+        Map<TableReference, Map<Cell, Value>> results = keyValueService.getMulti(ImmutableMap.of(
+                TEST_TABLE, ImmutableMap.of(cell, 1L),
+                TEST_TABLE_THOROUGH, ImmutableMap.of(cell, 1L)));
+
+        assertEquals("v1", PtBytes.toString(results.get(TEST_TABLE).get(cell).getContents()));
+        assertEquals("v2", PtBytes.toString(results.get(TEST_TABLE_THOROUGH).get(cell).getContents()));
+    }
+
+    @Test
+    public void testTransactionGetMultiReadsLocalAndCommittedWrites() {
+        Transaction t1 = startTransaction();
+        put(t1, TEST_TABLE, "row1", "col1", "v1");
+        t1.commit();
+
+        Transaction t2 = startTransaction();
+        put(t2, TEST_TABLE_THOROUGH, "row2", "col2", "v2");
+        Map<TableReference, Map<Cell, byte[]>> results = t2.getMulti(ImmutableMap.of(
+                TEST_TABLE, ImmutableSet.of(createCell("row1", "col1"), createCell("row3", "col3")),
+                TEST_TABLE_THOROUGH, ImmutableSet.of(createCell("row2", "col2"))));
+        t2.commit();
+
+        assertThat(results.get(TEST_TABLE)).containsOnlyKeys(createCell("row1", "col1"));
+        assertEquals("v1", PtBytes.toString(results.get(TEST_TABLE).get(createCell("row1", "col1"))));
+        assertEquals("v2", PtBytes.toString(results.get(TEST_TABLE_THOROUGH).get(createCell("row2", "col2"))));
+    }
+
+    @Test
+    public void testImmutableTableOnlyAllowsInsertingNewRows() {
+        TableReference table = TableReference.createWithEmptyNamespace("immutable_table");
+        keyValueService.createTable(table, TableMetadata.builder().immutable(true).build().persistToBytes());
+        ImmutableTableRowCache rowCache =
+                ImmutableTableRowCache.create(metricsManager.getRegistry(), keyValueService, 0);
+
+        Transaction t1 = startTransaction(rowCache);
+        put(t1, table, "row1", "col1", "v1");
+        put(t1, table, "row1", "col2", "v2");
+        t1.commit();
+
+        Transaction t2 = startTransaction(rowCache);
+        assertThatThrownBy(() -> put(t2, table, "row1", "col3", "v3"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> t2.delete(table, ImmutableSet.of(createCell("row2", "col1"))))
+                .isInstanceOf(IllegalArgumentException.class);
+        put(t2, table, "row2", "col1", "v1");
+        t2.commit();
+
+        assertEquals("v1", getDirect(table, "row2", "col1", Long.MAX_VALUE).lhSide);
+        assertNull(getDirect(table, "row1", "col3", Long.MAX_VALUE));
+        keyValueService.dropTable(table);
+    }
+
+    @Test
+    public void testImmutableTableRowsAreReadFromRowCache() {
+        TableReference table = TableReference.createWithEmptyNamespace("immutable_table");
+        keyValueService.createTable(table, TableMetadata.builder().immutable(true).build().persistToBytes());
+        ImmutableTableRowCache rowCache =
+                ImmutableTableRowCache.create(metricsManager.getRegistry(), keyValueService, 1_000_000);
+
+        Transaction t1 = startTransaction(rowCache);
+        put(t1, table, "row1", "col1", "v1");
+        t1.commit();
+
+        Transaction t2 = startTransaction(rowCache);
+        assertEquals("v1", get(t2, table, "row1", "col1"));
+        assertNull(get(t2, table, "row2", "col1"));
+        t2.commit();
+
+        // Rows that did not exist are not cached, but committed rows are served without reading the table.
+        keyValueService.truncateTable(table);
+        Transaction t3 = startTransaction(rowCache);
+        assertEquals("v1", get(t3, table, "row1", "col1"));
+        assertNull(get(t3, table, "row2", "col1"));
+        t3.commit();
+        keyValueService.dropTable(table);
+    }
+
     @Test
     public void testKeyValueDelete() {
         putDirect("row1", "col1", "v1", 0);
@@ -0,0 +1,133 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.ptobject;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.UUID;
+
+import org.junit.Test;
+
+import com.palantir.atlasdb.encoding.PtBytes;
+
+public class CompositeKeyWriterTest {
+    private static final long UNSIGNED = 1234567L;
+    private static final long SIGNED = -98765L;
+    private static final long FIXED = -42L;
+    private static final String STRING = "caf\u00e9 \u4e2d \uD83D\uDE00 \uD800";
+    private static final byte[] BLOB = {0, 1, -1, 127, -128};
+    private static final UUID ID = new UUID(-1L, 17L);
+
+    @Test
+    public void writesSameBytesAsConcatenatedComponents() {
+        byte[] expected = EncodingUtils.add(
+                EncodingUtils.encodeUnsignedVarLong(UNSIGNED),
+                EncodingUtils.encodeSignedVarLong(SIGNED),
+                PtBytes.toBytes(Long.MIN_VALUE ^ FIXED),
+                EncodingUtils.encodeVarString(STRING),
+                EncodingUtils.encodeSizedBytes(BLOB),
+                EncodingUtils.encodeUUID(ID),
+                PtBytes.toBytes(STRING));
+
+        assertThat(writeAscending()).isEqualTo(expected);
+    }
+
+    @Test
+    public void flipsOnlyTheLastComponent() {
+        byte[] expected = EncodingUtils.add(
+                EncodingUtils.flipAllBitsInPlace(EncodingUtils.encodeSignedVarLong(SIGNED)),
+                EncodingUtils.encodeVarString(STRING),
+                EncodingUtils.flipAllBitsInPlace(EncodingUtils.encodeVarString(STRING)));
+
+        assertThat(writeDescending()).isEqualTo(expected);
+    }
+
+    @Test
+    public void readsBackWrittenComponents() {
+        CompositeKeyReader reader = new CompositeKeyReader(writeAscending());
+
+        assertThat(reader.readUnsignedVarLong()).isEqualTo(UNSIGNED);
+        assertThat(reader.readSignedVarLong()).isEqualTo(SIGNED);
+        assertThat(reader.readFixedLong()).isEqualTo(FIXED);
+        assertThat(reader.readVarString()).isEqualTo(PtBytes.toString(PtBytes.toBytes(STRING)));
+        assertThat(reader.readSizedBytes()).isEqualTo(BLOB);
+        assertThat(reader.readUuid()).isEqualTo(ID);
+        assertThat(reader.readStringToEnd()).isEqualTo(PtBytes.toString(PtBytes.toBytes(STRING)));
+        assertThat(reader.remaining()).isZero();
+    }
+
+    @Test
+    public void readsFlippedComponentsWithoutModifyingTheKey() {
+        byte[] key = writeDescending();
+        byte[] copy = key.clone();
+        CompositeKeyReader reader = new CompositeKeyReader(key);
+
+        assertThat(reader.readFlippedSignedVarLong()).isEqualTo(SIGNED);
+        assertThat(reader.readVarString()).isEqualTo(PtBytes.toString(PtBytes.toBytes(STRING)));
+        assertThat(reader.readFlippedVarString()).isEqualTo(PtBytes.toString(PtBytes.toBytes(STRING)));
+        assertThat(reader.remaining()).isZero();
+        assertThat(key).isEqualTo(copy);
+    }
+
+    @Test
+    public void sizeOfStringMatchesUtf8Encoding() {
+        assertThat(CompositeKeyWriter.sizeOfString(STRING)).isEqualTo(PtBytes.toBytes(STRING).length);
+        assertThat(CompositeKeyWriter.sizeOfVarString(STRING)).isEqualTo(EncodingUtils.sizeOfVarString(STRING));
+    }
+
+    @Test
+    public void throwsIfKeyIsNotWrittenToItsFullSize() {
+        CompositeKeyWriter writer = new CompositeKeyWriter(9);
+        writer.writeFixedLong(FIXED);
+
+        assertThatThrownBy(writer::toByteArray).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void throwsIfComponentDoesNotFit() {
+        CompositeKeyWriter writer = new CompositeKeyWriter(7);
+
+        assertThatThrownBy(() -> writer.writeFixedLong(FIXED)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static byte[] writeAscending() {
+        return new CompositeKeyWriter(EncodingUtils.sizeOfUnsignedVarLong(UNSIGNED)
+                + EncodingUtils.sizeOfSignedVarLong(SIGNED)
+                + 8
+                + CompositeKeyWriter.sizeOfVarString(STRING)
+                + EncodingUtils.sizeOfSizedBytes(BLOB)
+                + 16
+                + CompositeKeyWriter.sizeOfString(STRING))
+                .writeUnsignedVarLong(UNSIGNED)
+                .writeSignedVarLong(SIGNED)
+                .writeFixedLong(FIXED)
+                .writeVarString(STRING)
+                .writeSizedBytes(BLOB)
+                .writeUuid(ID)
+                .writeString(STRING)
+                .toByteArray();
+    }
+
+    private static byte[] writeDescending() {
+        return new CompositeKeyWriter(EncodingUtils.sizeOfSignedVarLong(SIGNED)
+                + 2 * CompositeKeyWriter.sizeOfVarString(STRING))
+                .writeSignedVarLong(SIGNED).flipLastComponent()
+                .writeVarString(STRING)
+                .writeVarString(STRING).flipLastComponent()
+                .toByteArray();
+    }
+}
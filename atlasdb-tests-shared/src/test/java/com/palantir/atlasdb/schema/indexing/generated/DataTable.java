@@ -39,9 +39,13 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.Sets;
+import com.google.common.collect.Streams;
 import com.google.common.hash.Hashing;
 import com.google.common.primitives.Bytes;
 import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.palantir.atlasdb.compress.CompressionUtils;
 import com.palantir.atlasdb.encoding.PtBytes;
@@ -56,6 +60,8 @@ import com.palantir.atlasdb.keyvalue.api.RangeRequest;
 import com.palantir.atlasdb.keyvalue.api.RowResult;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.impl.Cells;
+import com.palantir.atlasdb.ptobject.CompositeKeyReader;
+import com.palantir.atlasdb.ptobject.CompositeKeyWriter;
 import com.palantir.atlasdb.ptobject.EncodingUtils;
 import com.palantir.atlasdb.table.api.AtlasDbDynamicMutablePersistentTable;
 import com.palantir.atlasdb.table.api.AtlasDbMutablePersistentTable;
@@ -68,6 +74,7 @@ import com.palantir.atlasdb.table.description.ValueType;
 import com.palantir.atlasdb.table.generation.ColumnValues;
 import com.palantir.atlasdb.table.generation.Descending;
 import com.palantir.atlasdb.table.generation.NamedColumnValue;
+import com.palantir.atlasdb.table.generation.TableReads;
 import com.palantir.atlasdb.transaction.api.AtlasDbConstraintCheckingMode;
 import com.palantir.atlasdb.transaction.api.ConstraintCheckingTransaction;
 import com.palantir.atlasdb.transaction.api.ImmutableGetRangesQuery;
@@ -176,16 +183,16 @@ public final class DataTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] idBytes = PtBytes.toBytes(Long.MIN_VALUE ^ id);
-            return EncodingUtils.add(idBytes);
+            CompositeKeyWriter __writer = new CompositeKeyWriter(8);
+            __writer.writeFixedLong(id);
+            return __writer.toByteArray();
         }
 
         public static final Hydrator<DataRow> BYTES_HYDRATOR = new Hydrator<DataRow>() {
             @Override
             public DataRow hydrateFromBytes(byte[] __input) {
-                int __index = 0;
-                Long id = Long.MIN_VALUE ^ PtBytes.toLong(__input, __index);
-                __index += 8;
+                CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                Long id = __reader.readFixedLong();
                 return new DataRow(id);
             }
         };
@@ -616,6 +623,26 @@ public final class DataTable implements
         return rowResults;
     }
 
+    public ListenableFuture<List<DataRowResult>> getRowsAsync(Iterable<DataRow> rows) {
+        return getRowsAsync(rows, allColumns);
+    }
+
+    public ListenableFuture<List<DataRowResult>> getRowsAsync(Iterable<DataRow> rows, ColumnSelection columns) {
+        ColumnSelection selectedColumns = columns.allColumnsSelected() ? allColumns : columns;
+        return Futures.transform(
+                TableReads.getRowsAsync(t, tableRef, Persistables.persistAll(rows), selectedColumns),
+                rowResults -> ImmutableList.copyOf(Lists.transform(rowResults, DataRowResult::of)),
+                MoreExecutors.directExecutor());
+    }
+
+    public Stream<DataRowResult> getRowsStream(Iterable<DataRow> rows) {
+        return getRowsStream(rows, allColumns);
+    }
+
+    public Stream<DataRowResult> getRowsStream(Iterable<DataRow> rows, ColumnSelection columns) {
+        return TableReads.getRowsStream(t, tableRef, Persistables.persistAll(rows), columns).map(DataRowResult::of);
+    }
+
     @Override
     public List<DataNamedColumnValue<?>> getRowColumns(DataRow row) {
         return getRowColumns(row, allColumns);
@@ -700,6 +727,10 @@ public final class DataTable implements
         return transformed;
     }
 
+    public Stream<Map.Entry<DataRow, DataNamedColumnValue<?>>> getRowsColumnRangeStream(Iterable<DataRow> rows, ColumnRangeSelection columnRangeSelection, int batchHint) {
+        return Streams.stream(getRowsColumnRange(rows, columnRangeSelection, batchHint));
+    }
+
     private Multimap<DataRow, DataNamedColumnValue<?>> getAffectedCells(Multimap<DataRow, ? extends DataNamedColumnValue<?>> rows) {
         Multimap<DataRow, DataNamedColumnValue<?>> oldData = getRowsMultimap(rows.keySet());
         Multimap<DataRow, DataNamedColumnValue<?>> cellsAffected = ArrayListMultimap.create();
@@ -914,16 +945,16 @@ public final class DataTable implements
 
             @Override
             public byte[] persistToBytes() {
-                byte[] valueBytes = PtBytes.toBytes(Long.MIN_VALUE ^ value);
-                return EncodingUtils.add(valueBytes);
+                CompositeKeyWriter __writer = new CompositeKeyWriter(8);
+                __writer.writeFixedLong(value);
+                return __writer.toByteArray();
             }
 
             public static final Hydrator<Index1IdxRow> BYTES_HYDRATOR = new Hydrator<Index1IdxRow>() {
                 @Override
                 public Index1IdxRow hydrateFromBytes(byte[] __input) {
-                    int __index = 0;
-                    Long value = Long.MIN_VALUE ^ PtBytes.toLong(__input, __index);
-                    __index += 8;
+                    CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                    Long value = __reader.readFixedLong();
                     return new Index1IdxRow(value);
                 }
             };
@@ -1029,22 +1060,20 @@ public final class DataTable implements
 
             @Override
             public byte[] persistToBytes() {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                byte[] columnNameBytes = EncodingUtils.encodeSizedBytes(columnName);
-                byte[] idBytes = PtBytes.toBytes(Long.MIN_VALUE ^ id);
-                return EncodingUtils.add(rowNameBytes, columnNameBytes, idBytes);
+                CompositeKeyWriter __writer = new CompositeKeyWriter(EncodingUtils.sizeOfSizedBytes(rowName) + EncodingUtils.sizeOfSizedBytes(columnName) + 8);
+                __writer.writeSizedBytes(rowName);
+                __writer.writeSizedBytes(columnName);
+                __writer.writeFixedLong(id);
+                return __writer.toByteArray();
             }
 
             public static final Hydrator<Index1IdxColumn> BYTES_HYDRATOR = new Hydrator<Index1IdxColumn>() {
                 @Override
                 public Index1IdxColumn hydrateFromBytes(byte[] __input) {
-                    int __index = 0;
-                    byte[] rowName = EncodingUtils.decodeSizedBytes(__input, __index);
-                    __index += EncodingUtils.sizeOfSizedBytes(rowName);
-                    byte[] columnName = EncodingUtils.decodeSizedBytes(__input, __index);
-                    __index += EncodingUtils.sizeOfSizedBytes(columnName);
-                    Long id = Long.MIN_VALUE ^ PtBytes.toLong(__input, __index);
-                    __index += 8;
+                    CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                    byte[] rowName = __reader.readSizedBytes();
+                    byte[] columnName = __reader.readSizedBytes();
+                    Long id = __reader.readFixedLong();
                     return new Index1IdxColumn(rowName, columnName, id);
                 }
             };
@@ -1310,6 +1339,15 @@ public final class DataTable implements
         public Multimap<Index1IdxRow, Index1IdxColumnValue> get(Multimap<Index1IdxRow, Index1IdxColumn> cells) {
             Set<Cell> rawCells = ColumnValues.toCells(cells);
             Map<Cell, byte[]> rawResults = t.get(tableRef, rawCells);
+            return getRowMapFromCellValues(rawResults);
+        }
+
+        public ListenableFuture<Multimap<Index1IdxRow, Index1IdxColumnValue>> getAsync(Multimap<Index1IdxRow, Index1IdxColumn> cells) {
+            Set<Cell> rawCells = ColumnValues.toCells(cells);
+            return Futures.transform(t.getAsync(tableRef, rawCells), Index1IdxTable::getRowMapFromCellValues, MoreExecutors.directExecutor());
+        }
+
+        private static Multimap<Index1IdxRow, Index1IdxColumnValue> getRowMapFromCellValues(Map<Cell, byte[]> rawResults) {
             Multimap<Index1IdxRow, Index1IdxColumnValue> rowMap = HashMultimap.create();
             for (Entry<Cell, byte[]> e : rawResults.entrySet()) {
                 if (e.getValue().length > 0) {
@@ -1322,6 +1360,14 @@ public final class DataTable implements
             return rowMap;
         }
 
+        public Stream<Index1IdxRowResult> getRowsStream(Iterable<Index1IdxRow> rows) {
+            return getRowsStream(rows, allColumns);
+        }
+
+        public Stream<Index1IdxRowResult> getRowsStream(Iterable<Index1IdxRow> rows, ColumnSelection columns) {
+            return TableReads.getRowsStream(t, tableRef, Persistables.persistAll(rows), columns).map(Index1IdxRowResult::of);
+        }
+
         @Override
         public List<Index1IdxColumnValue> getRowColumns(Index1IdxRow row) {
             return getRowColumns(row, allColumns);
@@ -1416,6 +1462,10 @@ public final class DataTable implements
             return transformed;
         }
 
+        public Stream<Map.Entry<Index1IdxRow, Index1IdxColumnValue>> getRowsColumnRangeStream(Iterable<Index1IdxRow> rows, ColumnRangeSelection columnRangeSelection, int batchHint) {
+            return Streams.stream(getRowsColumnRange(rows, columnRangeSelection, batchHint));
+        }
+
         private RangeRequest optimizeRangeRequest(RangeRequest range) {
             if (range.getColumnNames().isEmpty()) {
                 return range.getBuilder().retainColumns(allColumns).build();
@@ -1436,6 +1486,10 @@ public final class DataTable implements
             });
         }
 
+        public Stream<Index1IdxRowResult> getRangeStream(RangeRequest range) {
+            return TableReads.getRangeStream(t, tableRef, optimizeRangeRequest(range)).map(Index1IdxRowResult::of);
+        }
+
         @Deprecated
         public IterableView<BatchingVisitable<Index1IdxRowResult>> getRanges(Iterable<RangeRequest> ranges) {
             Iterable<BatchingVisitable<RowResult<byte[]>>> rangeResults = t.getRanges(tableRef, optimizeRangeRequests(ranges));
@@ -1615,19 +1669,18 @@ public final class DataTable implements
 
             @Override
             public byte[] persistToBytes() {
-                byte[] valueBytes = PtBytes.toBytes(Long.MIN_VALUE ^ value);
-                byte[] idBytes = PtBytes.toBytes(Long.MIN_VALUE ^ id);
-                return EncodingUtils.add(valueBytes, idBytes);
+                CompositeKeyWriter __writer = new CompositeKeyWriter(8 + 8);
+                __writer.writeFixedLong(value);
+                __writer.writeFixedLong(id);
+                return __writer.toByteArray();
             }
 
             public static final Hydrator<Index2IdxRow> BYTES_HYDRATOR = new Hydrator<Index2IdxRow>() {
                 @Override
                 public Index2IdxRow hydrateFromBytes(byte[] __input) {
-                    int __index = 0;
-                    Long value = Long.MIN_VALUE ^ PtBytes.toLong(__input, __index);
-                    __index += 8;
-                    Long id = Long.MIN_VALUE ^ PtBytes.toLong(__input, __index);
-                    __index += 8;
+                    CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                    Long value = __reader.readFixedLong();
+                    Long id = __reader.readFixedLong();
                     return new Index2IdxRow(value, id);
                 }
             };
@@ -1729,19 +1782,18 @@ public final class DataTable implements
 
             @Override
             public byte[] persistToBytes() {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                byte[] columnNameBytes = EncodingUtils.encodeSizedBytes(columnName);
-                return EncodingUtils.add(rowNameBytes, columnNameBytes);
+                CompositeKeyWriter __writer = new CompositeKeyWriter(EncodingUtils.sizeOfSizedBytes(rowName) + EncodingUtils.sizeOfSizedBytes(columnName));
+                __writer.writeSizedBytes(rowName);
+                __writer.writeSizedBytes(columnName);
+                return __writer.toByteArray();
             }
 
             public static final Hydrator<Index2IdxColumn> BYTES_HYDRATOR = new Hydrator<Index2IdxColumn>() {
                 @Override
                 public Index2IdxColumn hydrateFromBytes(byte[] __input) {
-                    int __index = 0;
-                    byte[] rowName = EncodingUtils.decodeSizedBytes(__input, __index);
-                    __index += EncodingUtils.sizeOfSizedBytes(rowName);
-                    byte[] columnName = EncodingUtils.decodeSizedBytes(__input, __index);
-                    __index += EncodingUtils.sizeOfSizedBytes(columnName);
+                    CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                    byte[] rowName = __reader.readSizedBytes();
+                    byte[] columnName = __reader.readSizedBytes();
                     return new Index2IdxColumn(rowName, columnName);
                 }
             };
@@ -1992,6 +2044,15 @@ public final class DataTable implements
         public Multimap<Index2IdxRow, Index2IdxColumnValue> get(Multimap<Index2IdxRow, Index2IdxColumn> cells) {
             Set<Cell> rawCells = ColumnValues.toCells(cells);
             Map<Cell, byte[]> rawResults = t.get(tableRef, rawCells);
+            return getRowMapFromCellValues(rawResults);
+        }
+
+        public ListenableFuture<Multimap<Index2IdxRow, Index2IdxColumnValue>> getAsync(Multimap<Index2IdxRow, Index2IdxColumn> cells) {
+            Set<Cell> rawCells = ColumnValues.toCells(cells);
+            return Futures.transform(t.getAsync(tableRef, rawCells), Index2IdxTable::getRowMapFromCellValues, MoreExecutors.directExecutor());
+        }
+
+        private static Multimap<Index2IdxRow, Index2IdxColumnValue> getRowMapFromCellValues(Map<Cell, byte[]> rawResults) {
             Multimap<Index2IdxRow, Index2IdxColumnValue> rowMap = HashMultimap.create();
             for (Entry<Cell, byte[]> e : rawResults.entrySet()) {
                 if (e.getValue().length > 0) {
@@ -2004,6 +2065,14 @@ public final class DataTable implements
             return rowMap;
         }
 
+        public Stream<Index2IdxRowResult> getRowsStream(Iterable<Index2IdxRow> rows) {
+            return getRowsStream(rows, allColumns);
+        }
+
+        public Stream<Index2IdxRowResult> getRowsStream(Iterable<Index2IdxRow> rows, ColumnSelection columns) {
+            return TableReads.getRowsStream(t, tableRef, Persistables.persistAll(rows), columns).map(Index2IdxRowResult::of);
+        }
+
         @Override
         public List<Index2IdxColumnValue> getRowColumns(Index2IdxRow row) {
             return getRowColumns(row, allColumns);
@@ -2098,6 +2167,10 @@ public final class DataTable implements
             return transformed;
         }
 
+        public Stream<Map.Entry<Index2IdxRow, Index2IdxColumnValue>> getRowsColumnRangeStream(Iterable<Index2IdxRow> rows, ColumnRangeSelection columnRangeSelection, int batchHint) {
+            return Streams.stream(getRowsColumnRange(rows, columnRangeSelection, batchHint));
+        }
+
         private RangeRequest optimizeRangeRequest(RangeRequest range) {
             if (range.getColumnNames().isEmpty()) {
                 return range.getBuilder().retainColumns(allColumns).build();
@@ -2118,6 +2191,10 @@ public final class DataTable implements
             });
         }
 
+        public Stream<Index2IdxRowResult> getRangeStream(RangeRequest range) {
+            return TableReads.getRangeStream(t, tableRef, optimizeRangeRequest(range)).map(Index2IdxRowResult::of);
+        }
+
         @Deprecated
         public IterableView<BatchingVisitable<Index2IdxRowResult>> getRanges(Iterable<RangeRequest> ranges) {
             Iterable<BatchingVisitable<RowResult<byte[]>>> rangeResults = t.getRanges(tableRef, optimizeRangeRequests(ranges));
@@ -2290,16 +2367,16 @@ public final class DataTable implements
 
             @Override
             public byte[] persistToBytes() {
-                byte[] valueBytes = PtBytes.toBytes(Long.MIN_VALUE ^ value);
-                return EncodingUtils.add(valueBytes);
+                CompositeKeyWriter __writer = new CompositeKeyWriter(8);
+                __writer.writeFixedLong(value);
+                return __writer.toByteArray();
             }
 
             public static final Hydrator<Index3IdxRow> BYTES_HYDRATOR = new Hydrator<Index3IdxRow>() {
                 @Override
                 public Index3IdxRow hydrateFromBytes(byte[] __input) {
-                    int __index = 0;
-                    Long value = Long.MIN_VALUE ^ PtBytes.toLong(__input, __index);
-                    __index += 8;
+                    CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                    Long value = __reader.readFixedLong();
                     return new Index3IdxRow(value);
                 }
             };
@@ -2389,19 +2466,18 @@ public final class DataTable implements
 
             @Override
             public byte[] persistToBytes() {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                byte[] columnNameBytes = EncodingUtils.encodeSizedBytes(columnName);
-                return EncodingUtils.add(rowNameBytes, columnNameBytes);
+                CompositeKeyWriter __writer = new CompositeKeyWriter(EncodingUtils.sizeOfSizedBytes(rowName) + EncodingUtils.sizeOfSizedBytes(columnName));
+                __writer.writeSizedBytes(rowName);
+                __writer.writeSizedBytes(columnName);
+                return __writer.toByteArray();
             }
 
             public static final Hydrator<Index3IdxColumn> BYTES_HYDRATOR = new Hydrator<Index3IdxColumn>() {
                 @Override
                 public Index3IdxColumn hydrateFromBytes(byte[] __input) {
-                    int __index = 0;
-                    byte[] rowName = EncodingUtils.decodeSizedBytes(__input, __index);
-                    __index += EncodingUtils.sizeOfSizedBytes(rowName);
-                    byte[] columnName = EncodingUtils.decodeSizedBytes(__input, __index);
-                    __index += EncodingUtils.sizeOfSizedBytes(columnName);
+                    CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                    byte[] rowName = __reader.readSizedBytes();
+                    byte[] columnName = __reader.readSizedBytes();
                     return new Index3IdxColumn(rowName, columnName);
                 }
             };
@@ -2652,6 +2728,15 @@ public final class DataTable implements
         public Multimap<Index3IdxRow, Index3IdxColumnValue> get(Multimap<Index3IdxRow, Index3IdxColumn> cells) {
             Set<Cell> rawCells = ColumnValues.toCells(cells);
             Map<Cell, byte[]> rawResults = t.get(tableRef, rawCells);
+            return getRowMapFromCellValues(rawResults);
+        }
+
+        public ListenableFuture<Multimap<Index3IdxRow, Index3IdxColumnValue>> getAsync(Multimap<Index3IdxRow, Index3IdxColumn> cells) {
+            Set<Cell> rawCells = ColumnValues.toCells(cells);
+            return Futures.transform(t.getAsync(tableRef, rawCells), Index3IdxTable::getRowMapFromCellValues, MoreExecutors.directExecutor());
+        }
+
+        private static Multimap<Index3IdxRow, Index3IdxColumnValue> getRowMapFromCellValues(Map<Cell, byte[]> rawResults) {
             Multimap<Index3IdxRow, Index3IdxColumnValue> rowMap = HashMultimap.create();
             for (Entry<Cell, byte[]> e : rawResults.entrySet()) {
                 if (e.getValue().length > 0) {
@@ -2664,6 +2749,14 @@ public final class DataTable implements
             return rowMap;
         }
 
+        public Stream<Index3IdxRowResult> getRowsStream(Iterable<Index3IdxRow> rows) {
+            return getRowsStream(rows, allColumns);
+        }
+
+        public Stream<Index3IdxRowResult> getRowsStream(Iterable<Index3IdxRow> rows, ColumnSelection columns) {
+            return TableReads.getRowsStream(t, tableRef, Persistables.persistAll(rows), columns).map(Index3IdxRowResult::of);
+        }
+
         @Override
         public List<Index3IdxColumnValue> getRowColumns(Index3IdxRow row) {
             return getRowColumns(row, allColumns);
@@ -2758,6 +2851,10 @@ public final class DataTable implements
             return transformed;
         }
 
+        public Stream<Map.Entry<Index3IdxRow, Index3IdxColumnValue>> getRowsColumnRangeStream(Iterable<Index3IdxRow> rows, ColumnRangeSelection columnRangeSelection, int batchHint) {
+            return Streams.stream(getRowsColumnRange(rows, columnRangeSelection, batchHint));
+        }
+
         private RangeRequest optimizeRangeRequest(RangeRequest range) {
             if (range.getColumnNames().isEmpty()) {
                 return range.getBuilder().retainColumns(allColumns).build();
@@ -2778,6 +2875,10 @@ public final class DataTable implements
             });
         }
 
+        public Stream<Index3IdxRowResult> getRangeStream(RangeRequest range) {
+            return TableReads.getRangeStream(t, tableRef, optimizeRangeRequest(range)).map(Index3IdxRowResult::of);
+        }
+
         @Deprecated
         public IterableView<BatchingVisitable<Index3IdxRowResult>> getRanges(Iterable<RangeRequest> ranges) {
             Iterable<BatchingVisitable<RowResult<byte[]>>> rangeResults = t.getRanges(tableRef, optimizeRangeRequests(ranges));
@@ -2957,19 +3058,18 @@ public final class DataTable implements
 
             @Override
             public byte[] persistToBytes() {
-                byte[] value1Bytes = PtBytes.toBytes(Long.MIN_VALUE ^ value1);
-                byte[] value2Bytes = PtBytes.toBytes(Long.MIN_VALUE ^ value2);
-                return EncodingUtils.add(value1Bytes, value2Bytes);
+                CompositeKeyWriter __writer = new CompositeKeyWriter(8 + 8);
+                __writer.writeFixedLong(value1);
+                __writer.writeFixedLong(value2);
+                return __writer.toByteArray();
             }
 
             public static final Hydrator<Index4IdxRow> BYTES_HYDRATOR = new Hydrator<Index4IdxRow>() {
                 @Override
                 public Index4IdxRow hydrateFromBytes(byte[] __input) {
-                    int __index = 0;
-                    Long value1 = Long.MIN_VALUE ^ PtBytes.toLong(__input, __index);
-                    __index += 8;
-                    Long value2 = Long.MIN_VALUE ^ PtBytes.toLong(__input, __index);
-                    __index += 8;
+                    CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                    Long value1 = __reader.readFixedLong();
+                    Long value2 = __reader.readFixedLong();
                     return new Index4IdxRow(value1, value2);
                 }
             };
@@ -3071,19 +3171,18 @@ public final class DataTable implements
 
             @Override
             public byte[] persistToBytes() {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                byte[] columnNameBytes = EncodingUtils.encodeSizedBytes(columnName);
-                return EncodingUtils.add(rowNameBytes, columnNameBytes);
+                CompositeKeyWriter __writer = new CompositeKeyWriter(EncodingUtils.sizeOfSizedBytes(rowName) + EncodingUtils.sizeOfSizedBytes(columnName));
+                __writer.writeSizedBytes(rowName);
+                __writer.writeSizedBytes(columnName);
+                return __writer.toByteArray();
             }
 
             public static final Hydrator<Index4IdxColumn> BYTES_HYDRATOR = new Hydrator<Index4IdxColumn>() {
                 @Override
                 public Index4IdxColumn hydrateFromBytes(byte[] __input) {
-                    int __index = 0;
-                    byte[] rowName = EncodingUtils.decodeSizedBytes(__input, __index);
-                    __index += EncodingUtils.sizeOfSizedBytes(rowName);
-                    byte[] columnName = EncodingUtils.decodeSizedBytes(__input, __index);
-                    __index += EncodingUtils.sizeOfSizedBytes(columnName);
+                    CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                    byte[] rowName = __reader.readSizedBytes();
+                    byte[] columnName = __reader.readSizedBytes();
                     return new Index4IdxColumn(rowName, columnName);
                 }
             };
@@ -3334,6 +3433,15 @@ public final class DataTable implements
         public Multimap<Index4IdxRow, Index4IdxColumnValue> get(Multimap<Index4IdxRow, Index4IdxColumn> cells) {
             Set<Cell> rawCells = ColumnValues.toCells(cells);
             Map<Cell, byte[]> rawResults = t.get(tableRef, rawCells);
+            return getRowMapFromCellValues(rawResults);
+        }
+
+        public ListenableFuture<Multimap<Index4IdxRow, Index4IdxColumnValue>> getAsync(Multimap<Index4IdxRow, Index4IdxColumn> cells) {
+            Set<Cell> rawCells = ColumnValues.toCells(cells);
+            return Futures.transform(t.getAsync(tableRef, rawCells), Index4IdxTable::getRowMapFromCellValues, MoreExecutors.directExecutor());
+        }
+
+        private static Multimap<Index4IdxRow, Index4IdxColumnValue> getRowMapFromCellValues(Map<Cell, byte[]> rawResults) {
             Multimap<Index4IdxRow, Index4IdxColumnValue> rowMap = HashMultimap.create();
             for (Entry<Cell, byte[]> e : rawResults.entrySet()) {
                 if (e.getValue().length > 0) {
@@ -3346,6 +3454,14 @@ public final class DataTable implements
             return rowMap;
         }
 
+        public Stream<Index4IdxRowResult> getRowsStream(Iterable<Index4IdxRow> rows) {
+            return getRowsStream(rows, allColumns);
+        }
+
+        public Stream<Index4IdxRowResult> getRowsStream(Iterable<Index4IdxRow> rows, ColumnSelection columns) {
+            return TableReads.getRowsStream(t, tableRef, Persistables.persistAll(rows), columns).map(Index4IdxRowResult::of);
+        }
+
         @Override
         public List<Index4IdxColumnValue> getRowColumns(Index4IdxRow row) {
             return getRowColumns(row, allColumns);
@@ -3440,6 +3556,10 @@ public final class DataTable implements
             return transformed;
         }
 
+        public Stream<Map.Entry<Index4IdxRow, Index4IdxColumnValue>> getRowsColumnRangeStream(Iterable<Index4IdxRow> rows, ColumnRangeSelection columnRangeSelection, int batchHint) {
+            return Streams.stream(getRowsColumnRange(rows, columnRangeSelection, batchHint));
+        }
+
         private RangeRequest optimizeRangeRequest(RangeRequest range) {
             if (range.getColumnNames().isEmpty()) {
                 return range.getBuilder().retainColumns(allColumns).build();
@@ -3460,6 +3580,10 @@ public final class DataTable implements
             });
         }
 
+        public Stream<Index4IdxRowResult> getRangeStream(RangeRequest range) {
+            return TableReads.getRangeStream(t, tableRef, optimizeRangeRequest(range)).map(Index4IdxRowResult::of);
+        }
+
         @Deprecated
         public IterableView<BatchingVisitable<Index4IdxRowResult>> getRanges(Iterable<RangeRequest> ranges) {
             Iterable<BatchingVisitable<RowResult<byte[]>>> rangeResults = t.getRanges(tableRef, optimizeRangeRequests(ranges));
@@ -3572,6 +3696,8 @@ public final class DataTable implements
      * {@link ColumnValue}
      * {@link ColumnValues}
      * {@link ComparisonChain}
+     * {@link CompositeKeyReader}
+     * {@link CompositeKeyWriter}
      * {@link Compression}
      * {@link CompressionUtils}
      * {@link ConstraintCheckingTransaction}
@@ -3580,6 +3706,7 @@ public final class DataTable implements
      * {@link Entry}
      * {@link EnumSet}
      * {@link Function}
+     * {@link Futures}
      * {@link Generated}
      * {@link HashMultimap}
      * {@link HashSet}
@@ -3597,9 +3724,11 @@ public final class DataTable implements
      * {@link Iterators}
      * {@link Joiner}
      * {@link List}
+     * {@link ListenableFuture}
      * {@link Lists}
      * {@link Map}
      * {@link Maps}
+     * {@link MoreExecutors}
      * {@link MoreObjects}
      * {@link Multimap}
      * {@link Multimaps}
@@ -3618,7 +3747,9 @@ public final class DataTable implements
      * {@link Sha256Hash}
      * {@link SortedMap}
      * {@link Stream}
+     * {@link Streams}
      * {@link Supplier}
+     * {@link TableReads}
      * {@link TableReference}
      * {@link Throwables}
      * {@link TimeUnit}
@@ -3628,5 +3759,5 @@ public final class DataTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "jOkK5nxjeQ7PgeGPcQ2Jlw==";
+    static String __CLASS_HASH = "EMnD7P3oSr4FJ2vqyG/FaA==";
 }
@@ -39,9 +39,13 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.Sets;
+import com.google.common.collect.Streams;
 import com.google.common.hash.Hashing;
 import com.google.common.primitives.Bytes;
 import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.palantir.atlasdb.compress.CompressionUtils;
 import com.palantir.atlasdb.encoding.PtBytes;
@@ -56,6 +60,8 @@ import com.palantir.atlasdb.keyvalue.api.RangeRequest;
 import com.palantir.atlasdb.keyvalue.api.RowResult;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.impl.Cells;
+import com.palantir.atlasdb.ptobject.CompositeKeyReader;
+import com.palantir.atlasdb.ptobject.CompositeKeyWriter;
 import com.palantir.atlasdb.ptobject.EncodingUtils;
 import com.palantir.atlasdb.table.api.AtlasDbDynamicMutablePersistentTable;
 import com.palantir.atlasdb.table.api.AtlasDbMutablePersistentTable;
@@ -68,6 +74,7 @@ import com.palantir.atlasdb.table.description.ValueType;
 import com.palantir.atlasdb.table.generation.ColumnValues;
 import com.palantir.atlasdb.table.generation.Descending;
 import com.palantir.atlasdb.table.generation.NamedColumnValue;
+import com.palantir.atlasdb.table.generation.TableReads;
 import com.palantir.atlasdb.transaction.api.AtlasDbConstraintCheckingMode;
 import com.palantir.atlasdb.transaction.api.ConstraintCheckingTransaction;
 import com.palantir.atlasdb.transaction.api.ImmutableGetRangesQuery;
@@ -176,16 +183,16 @@ public final class TwoColumnsTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] idBytes = PtBytes.toBytes(Long.MIN_VALUE ^ id);
-            return EncodingUtils.add(idBytes);
+            CompositeKeyWriter __writer = new CompositeKeyWriter(8);
+            __writer.writeFixedLong(id);
+            return __writer.toByteArray();
         }
 
         public static final Hydrator<TwoColumnsRow> BYTES_HYDRATOR = new Hydrator<TwoColumnsRow>() {
             @Override
             public TwoColumnsRow hydrateFromBytes(byte[] __input) {
-                int __index = 0;
-                Long id = Long.MIN_VALUE ^ PtBytes.toLong(__input, __index);
-                __index += 8;
+                CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                Long id = __reader.readFixedLong();
                 return new TwoColumnsRow(id);
             }
         };
@@ -672,6 +679,26 @@ public final class TwoColumnsTable implements
         return rowResults;
     }
 
+    public ListenableFuture<List<TwoColumnsRowResult>> getRowsAsync(Iterable<TwoColumnsRow> rows) {
+        return getRowsAsync(rows, allColumns);
+    }
+
+    public ListenableFuture<List<TwoColumnsRowResult>> getRowsAsync(Iterable<TwoColumnsRow> rows, ColumnSelection columns) {
+        ColumnSelection selectedColumns = columns.allColumnsSelected() ? allColumns : columns;
+        return Futures.transform(
+                TableReads.getRowsAsync(t, tableRef, Persistables.persistAll(rows), selectedColumns),
+                rowResults -> ImmutableList.copyOf(Lists.transform(rowResults, TwoColumnsRowResult::of)),
+                MoreExecutors.directExecutor());
+    }
+
+    public Stream<TwoColumnsRowResult> getRowsStream(Iterable<TwoColumnsRow> rows) {
+        return getRowsStream(rows, allColumns);
+    }
+
+    public Stream<TwoColumnsRowResult> getRowsStream(Iterable<TwoColumnsRow> rows, ColumnSelection columns) {
+        return TableReads.getRowsStream(t, tableRef, Persistables.persistAll(rows), columns).map(TwoColumnsRowResult::of);
+    }
+
     @Override
     public List<TwoColumnsNamedColumnValue<?>> getRowColumns(TwoColumnsRow row) {
         return getRowColumns(row, allColumns);
@@ -756,6 +783,10 @@ public final class TwoColumnsTable implements
         return transformed;
     }
 
+    public Stream<Map.Entry<TwoColumnsRow, TwoColumnsNamedColumnValue<?>>> getRowsColumnRangeStream(Iterable<TwoColumnsRow> rows, ColumnRangeSelection columnRangeSelection, int batchHint) {
+        return Streams.stream(getRowsColumnRange(rows, columnRangeSelection, batchHint));
+    }
+
     private Multimap<TwoColumnsRow, TwoColumnsNamedColumnValue<?>> getAffectedCells(Multimap<TwoColumnsRow, ? extends TwoColumnsNamedColumnValue<?>> rows) {
         Multimap<TwoColumnsRow, TwoColumnsNamedColumnValue<?>> oldData = getRowsMultimap(rows.keySet());
         Multimap<TwoColumnsRow, TwoColumnsNamedColumnValue<?>> cellsAffected = ArrayListMultimap.create();
@@ -932,16 +963,16 @@ public final class TwoColumnsTable implements
 
             @Override
             public byte[] persistToBytes() {
-                byte[] fooBytes = PtBytes.toBytes(Long.MIN_VALUE ^ foo);
-                return EncodingUtils.add(fooBytes);
+                CompositeKeyWriter __writer = new CompositeKeyWriter(8);
+                __writer.writeFixedLong(foo);
+                return __writer.toByteArray();
             }
 
             public static final Hydrator<FooToIdCondIdxRow> BYTES_HYDRATOR = new Hydrator<FooToIdCondIdxRow>() {
                 @Override
                 public FooToIdCondIdxRow hydrateFromBytes(byte[] __input) {
-                    int __index = 0;
-                    Long foo = Long.MIN_VALUE ^ PtBytes.toLong(__input, __index);
-                    __index += 8;
+                    CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                    Long foo = __reader.readFixedLong();
                     return new FooToIdCondIdxRow(foo);
                 }
             };
@@ -1047,22 +1078,20 @@ public final class TwoColumnsTable implements
 
             @Override
             public byte[] persistToBytes() {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                byte[] columnNameBytes = EncodingUtils.encodeSizedBytes(columnName);
-                byte[] idBytes = PtBytes.toBytes(Long.MIN_VALUE ^ id);
-                return EncodingUtils.add(rowNameBytes, columnNameBytes, idBytes);
+                CompositeKeyWriter __writer = new CompositeKeyWriter(EncodingUtils.sizeOfSizedBytes(rowName) + EncodingUtils.sizeOfSizedBytes(columnName) + 8);
+                __writer.writeSizedBytes(rowName);
+                __writer.writeSizedBytes(columnName);
+                __writer.writeFixedLong(id);
+                return __writer.toByteArray();
             }
 
             public static final Hydrator<FooToIdCondIdxColumn> BYTES_HYDRATOR = new Hydrator<FooToIdCondIdxColumn>() {
                 @Override
                 public FooToIdCondIdxColumn hydrateFromBytes(byte[] __input) {
-                    int __index = 0;
-                    byte[] rowName = EncodingUtils.decodeSizedBytes(__input, __index);
-                    __index += EncodingUtils.sizeOfSizedBytes(rowName);
-                    byte[] columnName = EncodingUtils.decodeSizedBytes(__input, __index);
-                    __index += EncodingUtils.sizeOfSizedBytes(columnName);
-                    Long id = Long.MIN_VALUE ^ PtBytes.toLong(__input, __index);
-                    __index += 8;
+                    CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                    byte[] rowName = __reader.readSizedBytes();
+                    byte[] columnName = __reader.readSizedBytes();
+                    Long id = __reader.readFixedLong();
                     return new FooToIdCondIdxColumn(rowName, columnName, id);
                 }
             };
@@ -1328,6 +1357,15 @@ public final class TwoColumnsTable implements
         public Multimap<FooToIdCondIdxRow, FooToIdCondIdxColumnValue> get(Multimap<FooToIdCondIdxRow, FooToIdCondIdxColumn> cells) {
             Set<Cell> rawCells = ColumnValues.toCells(cells);
             Map<Cell, byte[]> rawResults = t.get(tableRef, rawCells);
+            return getRowMapFromCellValues(rawResults);
+        }
+
+        public ListenableFuture<Multimap<FooToIdCondIdxRow, FooToIdCondIdxColumnValue>> getAsync(Multimap<FooToIdCondIdxRow, FooToIdCondIdxColumn> cells) {
+            Set<Cell> rawCells = ColumnValues.toCells(cells);
+            return Futures.transform(t.getAsync(tableRef, rawCells), FooToIdCondIdxTable::getRowMapFromCellValues, MoreExecutors.directExecutor());
+        }
+
+        private static Multimap<FooToIdCondIdxRow, FooToIdCondIdxColumnValue> getRowMapFromCellValues(Map<Cell, byte[]> rawResults) {
             Multimap<FooToIdCondIdxRow, FooToIdCondIdxColumnValue> rowMap = HashMultimap.create();
             for (Entry<Cell, byte[]> e : rawResults.entrySet()) {
                 if (e.getValue().length > 0) {
@@ -1340,6 +1378,14 @@ public final class TwoColumnsTable implements
             return rowMap;
         }
 
+        public Stream<FooToIdCondIdxRowResult> getRowsStream(Iterable<FooToIdCondIdxRow> rows) {
+            return getRowsStream(rows, allColumns);
+        }
+
+        public Stream<FooToIdCondIdxRowResult> getRowsStream(Iterable<FooToIdCondIdxRow> rows, ColumnSelection columns) {
+            return TableReads.getRowsStream(t, tableRef, Persistables.persistAll(rows), columns).map(FooToIdCondIdxRowResult::of);
+        }
+
         @Override
         public List<FooToIdCondIdxColumnValue> getRowColumns(FooToIdCondIdxRow row) {
             return getRowColumns(row, allColumns);
@@ -1434,6 +1480,10 @@ public final class TwoColumnsTable implements
             return transformed;
         }
 
+        public Stream<Map.Entry<FooToIdCondIdxRow, FooToIdCondIdxColumnValue>> getRowsColumnRangeStream(Iterable<FooToIdCondIdxRow> rows, ColumnRangeSelection columnRangeSelection, int batchHint) {
+            return Streams.stream(getRowsColumnRange(rows, columnRangeSelection, batchHint));
+        }
+
         private ColumnSelection optimizeColumnSelection(ColumnSelection columns) {
             if (columns.allColumnsSelected()) {
                 return allColumns;
@@ -1564,19 +1614,18 @@ public final class TwoColumnsTable implements
 
             @Override
             public byte[] persistToBytes() {
-                byte[] hashOfRowComponentsBytes = PtBytes.toBytes(Long.MIN_VALUE ^ hashOfRowComponents);
-                byte[] fooBytes = PtBytes.toBytes(Long.MIN_VALUE ^ foo);
-                return EncodingUtils.add(hashOfRowComponentsBytes, fooBytes);
+                CompositeKeyWriter __writer = new CompositeKeyWriter(8 + 8);
+                __writer.writeFixedLong(hashOfRowComponents);
+                __writer.writeFixedLong(foo);
+                return __writer.toByteArray();
             }
 
             public static final Hydrator<FooToIdIdxRow> BYTES_HYDRATOR = new Hydrator<FooToIdIdxRow>() {
                 @Override
                 public FooToIdIdxRow hydrateFromBytes(byte[] __input) {
-                    int __index = 0;
-                    Long hashOfRowComponents = Long.MIN_VALUE ^ PtBytes.toLong(__input, __index);
-                    __index += 8;
-                    Long foo = Long.MIN_VALUE ^ PtBytes.toLong(__input, __index);
-                    __index += 8;
+                    CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                    Long hashOfRowComponents = __reader.readFixedLong();
+                    Long foo = __reader.readFixedLong();
                     return new FooToIdIdxRow(hashOfRowComponents, foo);
                 }
             };
@@ -1689,22 +1738,20 @@ public final class TwoColumnsTable implements
 
             @Override
             public byte[] persistToBytes() {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                byte[] columnNameBytes = EncodingUtils.encodeSizedBytes(columnName);
-                byte[] idBytes = PtBytes.toBytes(Long.MIN_VALUE ^ id);
-                return EncodingUtils.add(rowNameBytes, columnNameBytes, idBytes);
+                CompositeKeyWriter __writer = new CompositeKeyWriter(EncodingUtils.sizeOfSizedBytes(rowName) + EncodingUtils.sizeOfSizedBytes(columnName) + 8);
+                __writer.writeSizedBytes(rowName);
+                __writer.writeSizedBytes(columnName);
+                __writer.writeFixedLong(id);
+                return __writer.toByteArray();
             }
 
             public static final Hydrator<FooToIdIdxColumn> BYTES_HYDRATOR = new Hydrator<FooToIdIdxColumn>() {
                 @Override
                 public FooToIdIdxColumn hydrateFromBytes(byte[] __input) {
-                    int __index = 0;
-                    byte[] rowName = EncodingUtils.decodeSizedBytes(__input, __index);
-                    __index += EncodingUtils.sizeOfSizedBytes(rowName);
-                    byte[] columnName = EncodingUtils.decodeSizedBytes(__input, __index);
-                    __index += EncodingUtils.sizeOfSizedBytes(columnName);
-                    Long id = Long.MIN_VALUE ^ PtBytes.toLong(__input, __index);
-                    __index += 8;
+                    CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                    byte[] rowName = __reader.readSizedBytes();
+                    byte[] columnName = __reader.readSizedBytes();
+                    Long id = __reader.readFixedLong();
                     return new FooToIdIdxColumn(rowName, columnName, id);
                 }
             };
@@ -1970,6 +2017,15 @@ public final class TwoColumnsTable implements
         public Multimap<FooToIdIdxRow, FooToIdIdxColumnValue> get(Multimap<FooToIdIdxRow, FooToIdIdxColumn> cells) {
             Set<Cell> rawCells = ColumnValues.toCells(cells);
             Map<Cell, byte[]> rawResults = t.get(tableRef, rawCells);
+            return getRowMapFromCellValues(rawResults);
+        }
+
+        public ListenableFuture<Multimap<FooToIdIdxRow, FooToIdIdxColumnValue>> getAsync(Multimap<FooToIdIdxRow, FooToIdIdxColumn> cells) {
+            Set<Cell> rawCells = ColumnValues.toCells(cells);
+            return Futures.transform(t.getAsync(tableRef, rawCells), FooToIdIdxTable::getRowMapFromCellValues, MoreExecutors.directExecutor());
+        }
+
+        private static Multimap<FooToIdIdxRow, FooToIdIdxColumnValue> getRowMapFromCellValues(Map<Cell, byte[]> rawResults) {
             Multimap<FooToIdIdxRow, FooToIdIdxColumnValue> rowMap = HashMultimap.create();
             for (Entry<Cell, byte[]> e : rawResults.entrySet()) {
                 if (e.getValue().length > 0) {
@@ -1982,6 +2038,14 @@ public final class TwoColumnsTable implements
             return rowMap;
         }
 
+        public Stream<FooToIdIdxRowResult> getRowsStream(Iterable<FooToIdIdxRow> rows) {
+            return getRowsStream(rows, allColumns);
+        }
+
+        public Stream<FooToIdIdxRowResult> getRowsStream(Iterable<FooToIdIdxRow> rows, ColumnSelection columns) {
+            return TableReads.getRowsStream(t, tableRef, Persistables.persistAll(rows), columns).map(FooToIdIdxRowResult::of);
+        }
+
         @Override
         public List<FooToIdIdxColumnValue> getRowColumns(FooToIdIdxRow row) {
             return getRowColumns(row, allColumns);
@@ -2076,6 +2140,10 @@ public final class TwoColumnsTable implements
             return transformed;
         }
 
+        public Stream<Map.Entry<FooToIdIdxRow, FooToIdIdxColumnValue>> getRowsColumnRangeStream(Iterable<FooToIdIdxRow> rows, ColumnRangeSelection columnRangeSelection, int batchHint) {
+            return Streams.stream(getRowsColumnRange(rows, columnRangeSelection, batchHint));
+        }
+
         private ColumnSelection optimizeColumnSelection(ColumnSelection columns) {
             if (columns.allColumnsSelected()) {
                 return allColumns;
@@ -2142,6 +2210,8 @@ public final class TwoColumnsTable implements
      * {@link ColumnValue}
      * {@link ColumnValues}
      * {@link ComparisonChain}
+     * {@link CompositeKeyReader}
+     * {@link CompositeKeyWriter}
      * {@link Compression}
      * {@link CompressionUtils}
      * {@link ConstraintCheckingTransaction}
@@ -2150,6 +2220,7 @@ public final class TwoColumnsTable implements
      * {@link Entry}
      * {@link EnumSet}
      * {@link Function}
+     * {@link Futures}
      * {@link Generated}
      * {@link HashMultimap}
      * {@link HashSet}
@@ -2167,9 +2238,11 @@ public final class TwoColumnsTable implements
      * {@link Iterators}
      * {@link Joiner}
      * {@link List}
+     * {@link ListenableFuture}
      * {@link Lists}
      * {@link Map}
      * {@link Maps}
+     * {@link MoreExecutors}
      * {@link MoreObjects}
      * {@link Multimap}
      * {@link Multimaps}
@@ -2188,7 +2261,9 @@ public final class TwoColumnsTable implements
      * {@link Sha256Hash}
      * {@link SortedMap}
      * {@link Stream}
+     * {@link Streams}
      * {@link Supplier}
+     * {@link TableReads}
      * {@link TableReference}
      * {@link Throwables}
      * {@link TimeUnit}
@@ -2198,5 +2273,5 @@ public final class TwoColumnsTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "B/Wf6J4AcMoVfbiflIQwKQ==";
+    static String __CLASS_HASH = "lm+bsY4HyC5EgfUzlWS3gQ==";
 }
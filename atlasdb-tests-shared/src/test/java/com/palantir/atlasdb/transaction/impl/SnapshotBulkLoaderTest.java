@@ -0,0 +1,160 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.transaction.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.palantir.atlasdb.AtlasDbConstants;
+import com.palantir.atlasdb.AtlasDbTestCase;
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.transaction.api.BulkLoader;
+import com.palantir.lock.AtlasRowLockDescriptor;
+import com.palantir.lock.v2.LockRequest;
+import com.palantir.lock.v2.TimelockService;
+import com.palantir.lock.watch.NoOpLockWatchEventCache;
+
+public class SnapshotBulkLoaderTest extends AtlasDbTestCase {
+    private static final TableReference TABLE = TableReference.createFromFullyQualifiedName("test.bulkload");
+    private static final int NUM_CELLS = 25;
+    private static final int BATCH_SIZE = 10;
+    private static final long LOCK_ACQUIRE_TIMEOUT_MILLIS = 1_000;
+
+    private final ExecutorService executor = DefaultTaskExecutors.createDefaultBulkLoadExecutor();
+    private BulkLoader bulkLoader;
+
+    @Before
+    public void createTableAndLoader() {
+        keyValueService.createTable(TABLE, AtlasDbConstants.GENERIC_TABLE_METADATA);
+        bulkLoader = createBulkLoader(serializableTxManager.getTimelockService());
+    }
+
+    @After
+    public void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void loadedCellsAreVisibleToLaterTransactions() {
+        long commitTimestamp = bulkLoader.load(TABLE, cells(NUM_CELLS));
+
+        Map<Cell, byte[]> read = txManager.runTaskReadOnly(txn -> txn.get(TABLE, cells(NUM_CELLS)
+                .map(Map.Entry::getKey)
+                .collect(ImmutableSet.toImmutableSet())));
+        assertThat(read).hasSize(NUM_CELLS);
+        assertThat(read.get(cell(7))).isEqualTo(value(7));
+        assertThat(commitTimestamp).isLessThan(txManager.getTimestampService().getFreshTimestamp());
+    }
+
+    @Test
+    public void writesEachBatchToTheSweepQueueAtTheStartTimestamp() {
+        long commitTimestamp = bulkLoader.load(TABLE, cells(NUM_CELLS));
+        long startTimestamp = getStartTimestampOfLoad();
+
+        assertThat(transactionService.get(startTimestamp)).isEqualTo(commitTimestamp);
+        verify(sweepQueue, times(3)).enqueue(anyMap(), eq(startTimestamp));
+    }
+
+    @Test
+    public void holdsTransactionRowLockFromFirstWriteUntilCommitted() {
+        TimelockService timelockService = spy(serializableTxManager.getTimelockService());
+        createBulkLoader(timelockService).load(TABLE, cells(NUM_CELLS));
+        long startTimestamp = getStartTimestampOfLoad();
+
+        ArgumentCaptor<LockRequest> lockRequest = ArgumentCaptor.forClass(LockRequest.class);
+        InOrder inOrder = inOrder(timelockService, sweepQueue);
+        inOrder.verify(timelockService).lock(lockRequest.capture());
+        inOrder.verify(sweepQueue, times(3)).enqueue(anyMap(), eq(startTimestamp));
+        inOrder.verify(timelockService).getCommitTimestamp(eq(startTimestamp), any());
+        inOrder.verify(timelockService).tryUnlock(argThat(tokens -> tokens.size() == 2));
+        assertThat(lockRequest.getValue().getLockDescriptors()).containsExactly(AtlasRowLockDescriptor.of(
+                TransactionConstants.TRANSACTION_TABLE.getQualifiedName(),
+                TransactionConstants.getValueForTimestamp(startTimestamp)));
+    }
+
+    @Test
+    public void cellsOfFailedLoadAreNotVisible() {
+        Stream<Map.Entry<Cell, byte[]>> failingCells = Stream.concat(
+                cells(NUM_CELLS),
+                Stream.of(1).<Map.Entry<Cell, byte[]>>map(unused -> {
+                    throw new IllegalStateException("source failed");
+                }));
+
+        assertThatThrownBy(() -> bulkLoader.load(TABLE, failingCells)).isInstanceOf(IllegalStateException.class);
+
+        long startTimestamp = getStartTimestampOfLoad();
+        assertThat(transactionService.get(startTimestamp)).isEqualTo(TransactionConstants.FAILED_COMMIT_TS);
+        Map<Cell, byte[]> read = txManager.runTaskReadOnly(txn -> txn.get(TABLE, ImmutableSet.of(cell(0))));
+        assertThat(read).isEmpty();
+    }
+
+    private BulkLoader createBulkLoader(TimelockService timelockService) {
+        return new SnapshotBulkLoader(
+                metricsManager,
+                keyValueService,
+                transactionService,
+                timelockService,
+                NoOpLockWatchEventCache.INSTANCE,
+                sweepQueue,
+                executor,
+                LOCK_ACQUIRE_TIMEOUT_MILLIS,
+                Long.MAX_VALUE,
+                BATCH_SIZE,
+                2);
+    }
+
+    private long getStartTimestampOfLoad() {
+        return keyValueService.getAllTimestamps(TABLE, ImmutableSet.of(cell(0)), Long.MAX_VALUE)
+                .get(cell(0))
+                .iterator()
+                .next();
+    }
+
+    private static Stream<Map.Entry<Cell, byte[]>> cells(int count) {
+        return IntStream.range(0, count).mapToObj(index -> Maps.immutableEntry(cell(index), value(index)));
+    }
+
+    private static Cell cell(int index) {
+        return Cell.create(PtBytes.toBytes("row" + index), PtBytes.toBytes("col"));
+    }
+
+    private static byte[] value(int index) {
+        return PtBytes.toBytes("value" + index);
+    }
+}
@@ -78,6 +78,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
+import com.codahale.metrics.Counting;
 import com.google.common.base.Joiner;
 import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
@@ -94,6 +95,7 @@ import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.palantir.atlasdb.AtlasDbConstants;
+import com.palantir.atlasdb.AtlasDbMetricNames;
 import com.palantir.atlasdb.AtlasDbTestCase;
 import com.palantir.atlasdb.cache.DefaultTimestampCache;
 import com.palantir.atlasdb.cache.TimestampCache;
@@ -424,7 +426,8 @@ public class SnapshotTransactionTest extends AtlasDbTestCase {
                         MoreExecutors.newDirectExecutorService(),
                         true,
                         () -> transactionConfig,
-                        ConflictTracer.NO_OP),
+                        ConflictTracer.NO_OP,
+                        ImmutableTableRowCache.disabled()),
                 pathTypeTracker);
         try {
             snapshot.get(TABLE, ImmutableSet.of(cell));
@@ -496,7 +499,8 @@ public class SnapshotTransactionTest extends AtlasDbTestCase {
                         MoreExecutors.newDirectExecutorService(),
                         true,
                         () -> transactionConfig,
-                        ConflictTracer.NO_OP),
+                        ConflictTracer.NO_OP,
+                        ImmutableTableRowCache.disabled()),
                 pathTypeTracker);
         snapshot.delete(TABLE, ImmutableSet.of(cell));
         snapshot.commit();
@@ -927,6 +931,71 @@ public class SnapshotTransactionTest extends AtlasDbTestCase {
         }
     }
 
+    @Test
+    public void commitAsyncMakesWritesVisible() throws Exception {
+        Transaction t1 = txManager.createNewTransaction();
+        t1.put(TABLE, ImmutableMap.of(TEST_CELL, PtBytes.toBytes("value")));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            unwrapSnapshotTransaction(t1).commitAsync(executor).get();
+        } finally {
+            executor.shutdown();
+        }
+
+        Assertions.assertThat(t1.isUncommitted()).isFalse();
+        Transaction t2 = txManager.createNewTransaction();
+        Assertions.assertThat(t2.get(TABLE, ImmutableSet.of(TEST_CELL)).get(TEST_CELL)).isEqualTo(PtBytes.toBytes("value"));
+    }
+
+    @Test
+    public void readAmplificationFromUncommittedValuesIsRecorded() {
+        long uncommittedStartTs = timestampService.getFreshTimestamp();
+        keyValueService.put(TABLE, ImmutableMap.of(TEST_CELL, PtBytes.toBytes("uncommitted")), uncommittedStartTs);
+
+        Transaction transaction = txManager.createNewTransaction();
+        Assertions.assertThat(transaction.get(TABLE, ImmutableSet.of(TEST_CELL))).isEmpty();
+
+        Assertions.assertThat(getTaggedMetricCount(AtlasDbMetricNames.CellFilterMetrics.UNCOMMITTED_VALUE))
+                .isEqualTo(1);
+        Assertions.assertThat(getTaggedMetricCount(AtlasDbMetricNames.SNAPSHOT_TRANSACTION_CELLS_FETCHED_PER_READ))
+                .isEqualTo(1);
+        Assertions.assertThat(getTaggedMetricCount(AtlasDbMetricNames.SNAPSHOT_TRANSACTION_POST_FILTER_ITERATIONS))
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void commitAsyncFailsOnWriteWriteConflict() {
+        overrideConflictHandlerForTable(TABLE, ConflictHandler.RETRY_ON_WRITE_WRITE);
+        Transaction t1 = txManager.createNewTransaction();
+        Transaction t2 = txManager.createNewTransaction();
+        t1.put(TABLE, ImmutableMap.of(TEST_CELL, new byte[1]));
+        t2.put(TABLE, ImmutableMap.of(TEST_CELL, new byte[2]));
+        t1.commit();
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            assertThatThrownBy(() -> unwrapSnapshotTransaction(t2).commitAsync(executor).get())
+                    .hasCauseInstanceOf(TransactionConflictException.class);
+        } finally {
+            executor.shutdown();
+        }
+        Assertions.assertThat(t2.isUncommitted()).isFalse();
+    }
+
+    @Test
+    public void runTaskAsyncCommitsTransaction() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            long startTs = txManager.runTaskAsync(txn -> {
+                txn.put(TABLE, ImmutableMap.of(TEST_CELL, PtBytes.toBytes("value")));
+                return txn.getTimestamp();
+            }, executor).get();
+            Assertions.assertThat(transactionService.get(startTs)).isNotNull();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void disallowPutOnEmptyObject() {
         Transaction t1 = txManager.createNewTransaction();
@@ -1498,6 +1567,52 @@ public class SnapshotTransactionTest extends AtlasDbTestCase {
 
     }
 
+    @Test
+    public void parallelConflictCheckingThrowsOnConflictInAnyBatch() {
+        setTransactionConfig(ImmutableTransactionConfig.builder()
+                .parallelWriteWriteConflictChecking(true)
+                .conflictCheckingCellBatchSize(1)
+                .build());
+        Cell otherCell = Cell.create(PtBytes.toBytes("row2"), PtBytes.toBytes("column1"));
+        TimelockService timelockService = new LegacyTimelockService(timestampService, lockService, lockClient);
+        long transactionTs = timelockService.getFreshTimestamp();
+        LockImmutableTimestampResponse res = timelockService.lockImmutableTimestamp();
+
+        Transaction transaction = getSnapshotTransactionWith(
+                timelockService,
+                () -> transactionTs,
+                res,
+                PreCommitConditions.NO_OP);
+        transaction.put(TABLE, ImmutableMap.of(TEST_CELL, new byte[1], otherCell, new byte[1]));
+        writeCells(TABLE, ImmutableMap.of(otherCell, new byte[2]));
+
+        assertThatThrownBy(transaction::commit).isInstanceOf(TransactionConflictException.class);
+        timelockService.unlock(ImmutableSet.of(res.getLock()));
+    }
+
+    @Test
+    public void parallelConflictCheckingCommitsWithoutConflicts() {
+        setTransactionConfig(ImmutableTransactionConfig.builder()
+                .parallelWriteWriteConflictChecking(true)
+                .conflictCheckingCellBatchSize(1)
+                .build());
+        Cell otherCell = Cell.create(PtBytes.toBytes("row2"), PtBytes.toBytes("column1"));
+        TimelockService timelockService = new LegacyTimelockService(timestampService, lockService, lockClient);
+        long transactionTs = timelockService.getFreshTimestamp();
+        LockImmutableTimestampResponse res = timelockService.lockImmutableTimestamp();
+
+        Transaction transaction = getSnapshotTransactionWith(
+                timelockService,
+                () -> transactionTs,
+                res,
+                PreCommitConditions.NO_OP);
+        transaction.put(TABLE, ImmutableMap.of(TEST_CELL, new byte[1], otherCell, new byte[1]));
+        transaction.commit();
+
+        assertThat(readRow(PtBytes.toBytes("row2")).getOnlyColumnValue(), is(new byte[1]));
+        timelockService.unlock(ImmutableSet.of(res.getLock()));
+    }
+
     private void setTransactionConfig(TransactionConfig config) {
         transactionConfig = config;
     }
@@ -1548,7 +1663,8 @@ public class SnapshotTransactionTest extends AtlasDbTestCase {
                         MoreExecutors.newDirectExecutorService(),
                         validateLocksOnReads,
                         () -> transactionConfig,
-                        ConflictTracer.NO_OP),
+                        ConflictTracer.NO_OP,
+                        ImmutableTableRowCache.disabled()),
                 pathTypeTracker);
     }
 
@@ -1616,6 +1732,13 @@ public class SnapshotTransactionTest extends AtlasDbTestCase {
         return EncodingUtils.decodeVarLong(t1.get(TABLE, ImmutableSet.of(cell)).values().iterator().next());
     }
 
+    private long getTaggedMetricCount(String metricName) {
+        return metricsManager.getTaggedRegistry().getMetrics().entrySet().stream()
+                .filter(entry -> entry.getKey().safeName().endsWith(metricName))
+                .mapToLong(entry -> ((Counting) entry.getValue()).getCount())
+                .sum();
+    }
+
     /**
      * Hack to get reference to underlying {@link SnapshotTransaction}. See how transaction managers are composed at
      * {@link AtlasDbTestCase#setUp()}.
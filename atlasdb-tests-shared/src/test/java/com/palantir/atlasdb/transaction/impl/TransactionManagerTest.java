@@ -23,6 +23,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.util.UUID;
 
 import org.junit.ClassRule;
@@ -56,6 +57,8 @@ import com.palantir.timestamp.TimestampManagementService;
 import com.palantir.timestamp.TimestampService;
 
 public class TransactionManagerTest extends TransactionTestSetup {
+    private static final Duration MAX_STALENESS = Duration.ofMinutes(1);
+
     @ClassRule
     public static final TestResourceManager TRM = TestResourceManager.inMemory();
 
@@ -158,6 +161,47 @@ public class TransactionManagerTest extends TransactionTestSetup {
                 .isInstanceOf(TransactionFailedRetriableException.class);
     }
 
+    @Test
+    public void shouldNotRunTaskReadOnlyWithMaxStalenessWithClosedTransactionManager() {
+        txMgr.close();
+
+        assertThatThrownBy(() -> txMgr.runTaskReadOnlyWithMaxStaleness(MAX_STALENESS, txn -> null))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Operations cannot be performed on closed TransactionManager.");
+    }
+
+    @Test
+    public void readOnlyTransactionsWithMaxStalenessShareASnapshot() {
+        put(txMgr, "row", "column", "first");
+        long firstTimestamp = txMgr.runTaskReadOnlyWithMaxStaleness(MAX_STALENESS, Transaction::getTimestamp);
+
+        put(txMgr, "row", "column", "second");
+        long secondTimestamp = txMgr.runTaskReadOnlyWithMaxStaleness(MAX_STALENESS, txn -> {
+            assertThat(get(txn, TEST_TABLE, "row", "column")).isEqualTo("first");
+            return txn.getTimestamp();
+        });
+
+        assertThat(secondTimestamp).isEqualTo(firstTimestamp);
+    }
+
+    @Test
+    public void readOnlyTransactionsWithNoStalenessSeeLatestWrites() {
+        put(txMgr, "row", "column", "first");
+        txMgr.runTaskReadOnlyWithMaxStaleness(Duration.ZERO, txn -> get(txn, TEST_TABLE, "row", "column"));
+
+        put(txMgr, "row", "column", "second");
+        assertThat(txMgr.runTaskReadOnlyWithMaxStaleness(Duration.ZERO, txn -> get(txn, TEST_TABLE, "row", "column")))
+                .isEqualTo("second");
+    }
+
+    @Test
+    public void readOnlyTransactionsWithMaxStalenessCannotWrite() {
+        assertThatThrownBy(() -> txMgr.runTaskReadOnlyWithMaxStaleness(MAX_STALENESS, txn -> {
+            put(txn, TEST_TABLE, "row", "column", "value");
+            return null;
+        })).isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     public void shouldNotConflictIfImmutableTimestampLockExpiresEvenIfNoWritesOnNonThoroughSweptTable() {
         TransactionManager txnManagerWithMocks = setupTransactionManager();
@@ -235,6 +279,13 @@ public class TransactionManagerTest extends TransactionTestSetup {
                 .isEqualTo(transactionService.get(writerStartTimestamp));
     }
 
+    private void put(TransactionManager manager, String rowName, String columnName, String value) {
+        manager.runTaskWithRetry(txn -> {
+            put(txn, TEST_TABLE, rowName, columnName, value);
+            return null;
+        });
+    }
+
     private TransactionManager setupTransactionManager() {
         TimelockService timelock = mock(TimelockService.class);
         TimestampManagementService timeManagement = mock(TimestampManagementService.class);
@@ -39,9 +39,13 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.Sets;
+import com.google.common.collect.Streams;
 import com.google.common.hash.Hashing;
 import com.google.common.primitives.Bytes;
 import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.palantir.atlasdb.compress.CompressionUtils;
 import com.palantir.atlasdb.encoding.PtBytes;
@@ -56,6 +60,8 @@ import com.palantir.atlasdb.keyvalue.api.RangeRequest;
 import com.palantir.atlasdb.keyvalue.api.RowResult;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.impl.Cells;
+import com.palantir.atlasdb.ptobject.CompositeKeyReader;
+import com.palantir.atlasdb.ptobject.CompositeKeyWriter;
 import com.palantir.atlasdb.ptobject.EncodingUtils;
 import com.palantir.atlasdb.table.api.AtlasDbDynamicMutablePersistentTable;
 import com.palantir.atlasdb.table.api.AtlasDbMutablePersistentTable;
@@ -68,6 +74,7 @@ import com.palantir.atlasdb.table.description.ValueType;
 import com.palantir.atlasdb.table.generation.ColumnValues;
 import com.palantir.atlasdb.table.generation.Descending;
 import com.palantir.atlasdb.table.generation.NamedColumnValue;
+import com.palantir.atlasdb.table.generation.TableReads;
 import com.palantir.atlasdb.transaction.api.AtlasDbConstraintCheckingMode;
 import com.palantir.atlasdb.transaction.api.ConstraintCheckingTransaction;
 import com.palantir.atlasdb.transaction.api.ImmutableGetRangesQuery;
@@ -176,16 +183,16 @@ public final class UserProfileTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] idBytes = EncodingUtils.encodeUUID(id);
-            return EncodingUtils.add(idBytes);
+            CompositeKeyWriter __writer = new CompositeKeyWriter(16);
+            __writer.writeUuid(id);
+            return __writer.toByteArray();
         }
 
         public static final Hydrator<UserProfileRow> BYTES_HYDRATOR = new Hydrator<UserProfileRow>() {
             @Override
             public UserProfileRow hydrateFromBytes(byte[] __input) {
-                int __index = 0;
-                UUID id = EncodingUtils.decodeUUID(__input, __index);
-                __index += 16;
+                CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                UUID id = __reader.readUuid();
                 return new UserProfileRow(id);
             }
         };
@@ -980,6 +987,26 @@ public final class UserProfileTable implements
         return rowResults;
     }
 
+    public ListenableFuture<List<UserProfileRowResult>> getRowsAsync(Iterable<UserProfileRow> rows) {
+        return getRowsAsync(rows, allColumns);
+    }
+
+    public ListenableFuture<List<UserProfileRowResult>> getRowsAsync(Iterable<UserProfileRow> rows, ColumnSelection columns) {
+        ColumnSelection selectedColumns = columns.allColumnsSelected() ? allColumns : columns;
+        return Futures.transform(
+                TableReads.getRowsAsync(t, tableRef, Persistables.persistAll(rows), selectedColumns),
+                rowResults -> ImmutableList.copyOf(Lists.transform(rowResults, UserProfileRowResult::of)),
+                MoreExecutors.directExecutor());
+    }
+
+    public Stream<UserProfileRowResult> getRowsStream(Iterable<UserProfileRow> rows) {
+        return getRowsStream(rows, allColumns);
+    }
+
+    public Stream<UserProfileRowResult> getRowsStream(Iterable<UserProfileRow> rows, ColumnSelection columns) {
+        return TableReads.getRowsStream(t, tableRef, Persistables.persistAll(rows), columns).map(UserProfileRowResult::of);
+    }
+
     @Override
     public List<UserProfileNamedColumnValue<?>> getRowColumns(UserProfileRow row) {
         return getRowColumns(row, allColumns);
@@ -1064,6 +1091,10 @@ public final class UserProfileTable implements
         return transformed;
     }
 
+    public Stream<Map.Entry<UserProfileRow, UserProfileNamedColumnValue<?>>> getRowsColumnRangeStream(Iterable<UserProfileRow> rows, ColumnRangeSelection columnRangeSelection, int batchHint) {
+        return Streams.stream(getRowsColumnRange(rows, columnRangeSelection, batchHint));
+    }
+
     private Multimap<UserProfileRow, UserProfileNamedColumnValue<?>> getAffectedCells(Multimap<UserProfileRow, ? extends UserProfileNamedColumnValue<?>> rows) {
         Multimap<UserProfileRow, UserProfileNamedColumnValue<?>> oldData = getRowsMultimap(rows.keySet());
         Multimap<UserProfileRow, UserProfileNamedColumnValue<?>> cellsAffected = ArrayListMultimap.create();
@@ -1258,16 +1289,16 @@ public final class UserProfileTable implements
 
             @Override
             public byte[] persistToBytes() {
-                byte[] cookieBytes = PtBytes.toBytes(cookie);
-                return EncodingUtils.add(cookieBytes);
+                CompositeKeyWriter __writer = new CompositeKeyWriter(CompositeKeyWriter.sizeOfString(cookie));
+                __writer.writeString(cookie);
+                return __writer.toByteArray();
             }
 
             public static final Hydrator<CookiesIdxRow> BYTES_HYDRATOR = new Hydrator<CookiesIdxRow>() {
                 @Override
                 public CookiesIdxRow hydrateFromBytes(byte[] __input) {
-                    int __index = 0;
-                    String cookie = PtBytes.toString(__input, __index, __input.length-__index);
-                    __index += 0;
+                    CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                    String cookie = __reader.readStringToEnd();
                     return new CookiesIdxRow(cookie);
                 }
             };
@@ -1373,22 +1404,20 @@ public final class UserProfileTable implements
 
             @Override
             public byte[] persistToBytes() {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                byte[] columnNameBytes = EncodingUtils.encodeSizedBytes(columnName);
-                byte[] idBytes = EncodingUtils.encodeUUID(id);
-                return EncodingUtils.add(rowNameBytes, columnNameBytes, idBytes);
+                CompositeKeyWriter __writer = new CompositeKeyWriter(EncodingUtils.sizeOfSizedBytes(rowName) + EncodingUtils.sizeOfSizedBytes(columnName) + 16);
+                __writer.writeSizedBytes(rowName);
+                __writer.writeSizedBytes(columnName);
+                __writer.writeUuid(id);
+                return __writer.toByteArray();
             }
 
             public static final Hydrator<CookiesIdxColumn> BYTES_HYDRATOR = new Hydrator<CookiesIdxColumn>() {
                 @Override
                 public CookiesIdxColumn hydrateFromBytes(byte[] __input) {
-                    int __index = 0;
-                    byte[] rowName = EncodingUtils.decodeSizedBytes(__input, __index);
-                    __index += EncodingUtils.sizeOfSizedBytes(rowName);
-                    byte[] columnName = EncodingUtils.decodeSizedBytes(__input, __index);
-                    __index += EncodingUtils.sizeOfSizedBytes(columnName);
-                    UUID id = EncodingUtils.decodeUUID(__input, __index);
-                    __index += 16;
+                    CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                    byte[] rowName = __reader.readSizedBytes();
+                    byte[] columnName = __reader.readSizedBytes();
+                    UUID id = __reader.readUuid();
                     return new CookiesIdxColumn(rowName, columnName, id);
                 }
             };
@@ -1654,6 +1683,15 @@ public final class UserProfileTable implements
         public Multimap<CookiesIdxRow, CookiesIdxColumnValue> get(Multimap<CookiesIdxRow, CookiesIdxColumn> cells) {
             Set<Cell> rawCells = ColumnValues.toCells(cells);
             Map<Cell, byte[]> rawResults = t.get(tableRef, rawCells);
+            return getRowMapFromCellValues(rawResults);
+        }
+
+        public ListenableFuture<Multimap<CookiesIdxRow, CookiesIdxColumnValue>> getAsync(Multimap<CookiesIdxRow, CookiesIdxColumn> cells) {
+            Set<Cell> rawCells = ColumnValues.toCells(cells);
+            return Futures.transform(t.getAsync(tableRef, rawCells), CookiesIdxTable::getRowMapFromCellValues, MoreExecutors.directExecutor());
+        }
+
+        private static Multimap<CookiesIdxRow, CookiesIdxColumnValue> getRowMapFromCellValues(Map<Cell, byte[]> rawResults) {
             Multimap<CookiesIdxRow, CookiesIdxColumnValue> rowMap = HashMultimap.create();
             for (Entry<Cell, byte[]> e : rawResults.entrySet()) {
                 if (e.getValue().length > 0) {
@@ -1666,6 +1704,14 @@ public final class UserProfileTable implements
             return rowMap;
         }
 
+        public Stream<CookiesIdxRowResult> getRowsStream(Iterable<CookiesIdxRow> rows) {
+            return getRowsStream(rows, allColumns);
+        }
+
+        public Stream<CookiesIdxRowResult> getRowsStream(Iterable<CookiesIdxRow> rows, ColumnSelection columns) {
+            return TableReads.getRowsStream(t, tableRef, Persistables.persistAll(rows), columns).map(CookiesIdxRowResult::of);
+        }
+
         @Override
         public List<CookiesIdxColumnValue> getRowColumns(CookiesIdxRow row) {
             return getRowColumns(row, allColumns);
@@ -1760,6 +1806,10 @@ public final class UserProfileTable implements
             return transformed;
         }
 
+        public Stream<Map.Entry<CookiesIdxRow, CookiesIdxColumnValue>> getRowsColumnRangeStream(Iterable<CookiesIdxRow> rows, ColumnRangeSelection columnRangeSelection, int batchHint) {
+            return Streams.stream(getRowsColumnRange(rows, columnRangeSelection, batchHint));
+        }
+
         private RangeRequest optimizeRangeRequest(RangeRequest range) {
             if (range.getColumnNames().isEmpty()) {
                 return range.getBuilder().retainColumns(allColumns).build();
@@ -1780,6 +1830,10 @@ public final class UserProfileTable implements
             });
         }
 
+        public Stream<CookiesIdxRowResult> getRangeStream(RangeRequest range) {
+            return TableReads.getRangeStream(t, tableRef, optimizeRangeRequest(range)).map(CookiesIdxRowResult::of);
+        }
+
         @Deprecated
         public IterableView<BatchingVisitable<CookiesIdxRowResult>> getRanges(Iterable<RangeRequest> ranges) {
             Iterable<BatchingVisitable<RowResult<byte[]>>> rangeResults = t.getRanges(tableRef, optimizeRangeRequests(ranges));
@@ -1952,16 +2006,16 @@ public final class UserProfileTable implements
 
             @Override
             public byte[] persistToBytes() {
-                byte[] timeBytes = EncodingUtils.encodeUnsignedVarLong(time);
-                return EncodingUtils.add(timeBytes);
+                CompositeKeyWriter __writer = new CompositeKeyWriter(EncodingUtils.sizeOfUnsignedVarLong(time));
+                __writer.writeUnsignedVarLong(time);
+                return __writer.toByteArray();
             }
 
             public static final Hydrator<CreatedIdxRow> BYTES_HYDRATOR = new Hydrator<CreatedIdxRow>() {
                 @Override
                 public CreatedIdxRow hydrateFromBytes(byte[] __input) {
-                    int __index = 0;
-                    Long time = EncodingUtils.decodeUnsignedVarLong(__input, __index);
-                    __index += EncodingUtils.sizeOfUnsignedVarLong(time);
+                    CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                    Long time = __reader.readUnsignedVarLong();
                     return new CreatedIdxRow(time);
                 }
             };
@@ -2067,22 +2121,20 @@ public final class UserProfileTable implements
 
             @Override
             public byte[] persistToBytes() {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                byte[] columnNameBytes = EncodingUtils.encodeSizedBytes(columnName);
-                byte[] idBytes = EncodingUtils.encodeUUID(id);
-                return EncodingUtils.add(rowNameBytes, columnNameBytes, idBytes);
+                CompositeKeyWriter __writer = new CompositeKeyWriter(EncodingUtils.sizeOfSizedBytes(rowName) + EncodingUtils.sizeOfSizedBytes(columnName) + 16);
+                __writer.writeSizedBytes(rowName);
+                __writer.writeSizedBytes(columnName);
+                __writer.writeUuid(id);
+                return __writer.toByteArray();
             }
 
             public static final Hydrator<CreatedIdxColumn> BYTES_HYDRATOR = new Hydrator<CreatedIdxColumn>() {
                 @Override
                 public CreatedIdxColumn hydrateFromBytes(byte[] __input) {
-                    int __index = 0;
-                    byte[] rowName = EncodingUtils.decodeSizedBytes(__input, __index);
-                    __index += EncodingUtils.sizeOfSizedBytes(rowName);
-                    byte[] columnName = EncodingUtils.decodeSizedBytes(__input, __index);
-                    __index += EncodingUtils.sizeOfSizedBytes(columnName);
-                    UUID id = EncodingUtils.decodeUUID(__input, __index);
-                    __index += 16;
+                    CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                    byte[] rowName = __reader.readSizedBytes();
+                    byte[] columnName = __reader.readSizedBytes();
+                    UUID id = __reader.readUuid();
                     return new CreatedIdxColumn(rowName, columnName, id);
                 }
             };
@@ -2348,6 +2400,15 @@ public final class UserProfileTable implements
         public Multimap<CreatedIdxRow, CreatedIdxColumnValue> get(Multimap<CreatedIdxRow, CreatedIdxColumn> cells) {
             Set<Cell> rawCells = ColumnValues.toCells(cells);
             Map<Cell, byte[]> rawResults = t.get(tableRef, rawCells);
+            return getRowMapFromCellValues(rawResults);
+        }
+
+        public ListenableFuture<Multimap<CreatedIdxRow, CreatedIdxColumnValue>> getAsync(Multimap<CreatedIdxRow, CreatedIdxColumn> cells) {
+            Set<Cell> rawCells = ColumnValues.toCells(cells);
+            return Futures.transform(t.getAsync(tableRef, rawCells), CreatedIdxTable::getRowMapFromCellValues, MoreExecutors.directExecutor());
+        }
+
+        private static Multimap<CreatedIdxRow, CreatedIdxColumnValue> getRowMapFromCellValues(Map<Cell, byte[]> rawResults) {
             Multimap<CreatedIdxRow, CreatedIdxColumnValue> rowMap = HashMultimap.create();
             for (Entry<Cell, byte[]> e : rawResults.entrySet()) {
                 if (e.getValue().length > 0) {
@@ -2360,6 +2421,14 @@ public final class UserProfileTable implements
             return rowMap;
         }
 
+        public Stream<CreatedIdxRowResult> getRowsStream(Iterable<CreatedIdxRow> rows) {
+            return getRowsStream(rows, allColumns);
+        }
+
+        public Stream<CreatedIdxRowResult> getRowsStream(Iterable<CreatedIdxRow> rows, ColumnSelection columns) {
+            return TableReads.getRowsStream(t, tableRef, Persistables.persistAll(rows), columns).map(CreatedIdxRowResult::of);
+        }
+
         @Override
         public List<CreatedIdxColumnValue> getRowColumns(CreatedIdxRow row) {
             return getRowColumns(row, allColumns);
@@ -2454,6 +2523,10 @@ public final class UserProfileTable implements
             return transformed;
         }
 
+        public Stream<Map.Entry<CreatedIdxRow, CreatedIdxColumnValue>> getRowsColumnRangeStream(Iterable<CreatedIdxRow> rows, ColumnRangeSelection columnRangeSelection, int batchHint) {
+            return Streams.stream(getRowsColumnRange(rows, columnRangeSelection, batchHint));
+        }
+
         private RangeRequest optimizeRangeRequest(RangeRequest range) {
             if (range.getColumnNames().isEmpty()) {
                 return range.getBuilder().retainColumns(allColumns).build();
@@ -2474,6 +2547,10 @@ public final class UserProfileTable implements
             });
         }
 
+        public Stream<CreatedIdxRowResult> getRangeStream(RangeRequest range) {
+            return TableReads.getRangeStream(t, tableRef, optimizeRangeRequest(range)).map(CreatedIdxRowResult::of);
+        }
+
         @Deprecated
         public IterableView<BatchingVisitable<CreatedIdxRowResult>> getRanges(Iterable<RangeRequest> ranges) {
             Iterable<BatchingVisitable<RowResult<byte[]>>> rangeResults = t.getRanges(tableRef, optimizeRangeRequests(ranges));
@@ -2646,16 +2723,16 @@ public final class UserProfileTable implements
 
             @Override
             public byte[] persistToBytes() {
-                byte[] birthdayBytes = EncodingUtils.encodeSignedVarLong(birthday);
-                return EncodingUtils.add(birthdayBytes);
+                CompositeKeyWriter __writer = new CompositeKeyWriter(EncodingUtils.sizeOfSignedVarLong(birthday));
+                __writer.writeSignedVarLong(birthday);
+                return __writer.toByteArray();
             }
 
             public static final Hydrator<UserBirthdaysIdxRow> BYTES_HYDRATOR = new Hydrator<UserBirthdaysIdxRow>() {
                 @Override
                 public UserBirthdaysIdxRow hydrateFromBytes(byte[] __input) {
-                    int __index = 0;
-                    Long birthday = EncodingUtils.decodeSignedVarLong(__input, __index);
-                    __index += EncodingUtils.sizeOfSignedVarLong(birthday);
+                    CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                    Long birthday = __reader.readSignedVarLong();
                     return new UserBirthdaysIdxRow(birthday);
                 }
             };
@@ -2761,22 +2838,20 @@ public final class UserProfileTable implements
 
             @Override
             public byte[] persistToBytes() {
-                byte[] rowNameBytes = EncodingUtils.encodeSizedBytes(rowName);
-                byte[] columnNameBytes = EncodingUtils.encodeSizedBytes(columnName);
-                byte[] idBytes = EncodingUtils.encodeUUID(id);
-                return EncodingUtils.add(rowNameBytes, columnNameBytes, idBytes);
+                CompositeKeyWriter __writer = new CompositeKeyWriter(EncodingUtils.sizeOfSizedBytes(rowName) + EncodingUtils.sizeOfSizedBytes(columnName) + 16);
+                __writer.writeSizedBytes(rowName);
+                __writer.writeSizedBytes(columnName);
+                __writer.writeUuid(id);
+                return __writer.toByteArray();
             }
 
             public static final Hydrator<UserBirthdaysIdxColumn> BYTES_HYDRATOR = new Hydrator<UserBirthdaysIdxColumn>() {
                 @Override
                 public UserBirthdaysIdxColumn hydrateFromBytes(byte[] __input) {
-                    int __index = 0;
-                    byte[] rowName = EncodingUtils.decodeSizedBytes(__input, __index);
-                    __index += EncodingUtils.sizeOfSizedBytes(rowName);
-                    byte[] columnName = EncodingUtils.decodeSizedBytes(__input, __index);
-                    __index += EncodingUtils.sizeOfSizedBytes(columnName);
-                    UUID id = EncodingUtils.decodeUUID(__input, __index);
-                    __index += 16;
+                    CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                    byte[] rowName = __reader.readSizedBytes();
+                    byte[] columnName = __reader.readSizedBytes();
+                    UUID id = __reader.readUuid();
                     return new UserBirthdaysIdxColumn(rowName, columnName, id);
                 }
             };
@@ -3042,6 +3117,15 @@ public final class UserProfileTable implements
         public Multimap<UserBirthdaysIdxRow, UserBirthdaysIdxColumnValue> get(Multimap<UserBirthdaysIdxRow, UserBirthdaysIdxColumn> cells) {
             Set<Cell> rawCells = ColumnValues.toCells(cells);
             Map<Cell, byte[]> rawResults = t.get(tableRef, rawCells);
+            return getRowMapFromCellValues(rawResults);
+        }
+
+        public ListenableFuture<Multimap<UserBirthdaysIdxRow, UserBirthdaysIdxColumnValue>> getAsync(Multimap<UserBirthdaysIdxRow, UserBirthdaysIdxColumn> cells) {
+            Set<Cell> rawCells = ColumnValues.toCells(cells);
+            return Futures.transform(t.getAsync(tableRef, rawCells), UserBirthdaysIdxTable::getRowMapFromCellValues, MoreExecutors.directExecutor());
+        }
+
+        private static Multimap<UserBirthdaysIdxRow, UserBirthdaysIdxColumnValue> getRowMapFromCellValues(Map<Cell, byte[]> rawResults) {
             Multimap<UserBirthdaysIdxRow, UserBirthdaysIdxColumnValue> rowMap = HashMultimap.create();
             for (Entry<Cell, byte[]> e : rawResults.entrySet()) {
                 if (e.getValue().length > 0) {
@@ -3054,6 +3138,14 @@ public final class UserProfileTable implements
             return rowMap;
         }
 
+        public Stream<UserBirthdaysIdxRowResult> getRowsStream(Iterable<UserBirthdaysIdxRow> rows) {
+            return getRowsStream(rows, allColumns);
+        }
+
+        public Stream<UserBirthdaysIdxRowResult> getRowsStream(Iterable<UserBirthdaysIdxRow> rows, ColumnSelection columns) {
+            return TableReads.getRowsStream(t, tableRef, Persistables.persistAll(rows), columns).map(UserBirthdaysIdxRowResult::of);
+        }
+
         @Override
         public List<UserBirthdaysIdxColumnValue> getRowColumns(UserBirthdaysIdxRow row) {
             return getRowColumns(row, allColumns);
@@ -3148,6 +3240,10 @@ public final class UserProfileTable implements
             return transformed;
         }
 
+        public Stream<Map.Entry<UserBirthdaysIdxRow, UserBirthdaysIdxColumnValue>> getRowsColumnRangeStream(Iterable<UserBirthdaysIdxRow> rows, ColumnRangeSelection columnRangeSelection, int batchHint) {
+            return Streams.stream(getRowsColumnRange(rows, columnRangeSelection, batchHint));
+        }
+
         private RangeRequest optimizeRangeRequest(RangeRequest range) {
             if (range.getColumnNames().isEmpty()) {
                 return range.getBuilder().retainColumns(allColumns).build();
@@ -3168,6 +3264,10 @@ public final class UserProfileTable implements
             });
         }
 
+        public Stream<UserBirthdaysIdxRowResult> getRangeStream(RangeRequest range) {
+            return TableReads.getRangeStream(t, tableRef, optimizeRangeRequest(range)).map(UserBirthdaysIdxRowResult::of);
+        }
+
         @Deprecated
         public IterableView<BatchingVisitable<UserBirthdaysIdxRowResult>> getRanges(Iterable<RangeRequest> ranges) {
             Iterable<BatchingVisitable<RowResult<byte[]>>> rangeResults = t.getRanges(tableRef, optimizeRangeRequests(ranges));
@@ -3280,6 +3380,8 @@ public final class UserProfileTable implements
      * {@link ColumnValue}
      * {@link ColumnValues}
      * {@link ComparisonChain}
+     * {@link CompositeKeyReader}
+     * {@link CompositeKeyWriter}
      * {@link Compression}
      * {@link CompressionUtils}
      * {@link ConstraintCheckingTransaction}
@@ -3288,6 +3390,7 @@ public final class UserProfileTable implements
      * {@link Entry}
      * {@link EnumSet}
      * {@link Function}
+     * {@link Futures}
      * {@link Generated}
      * {@link HashMultimap}
      * {@link HashSet}
@@ -3305,9 +3408,11 @@ public final class UserProfileTable implements
      * {@link Iterators}
      * {@link Joiner}
      * {@link List}
+     * {@link ListenableFuture}
      * {@link Lists}
      * {@link Map}
      * {@link Maps}
+     * {@link MoreExecutors}
      * {@link MoreObjects}
      * {@link Multimap}
      * {@link Multimaps}
@@ -3326,7 +3431,9 @@ public final class UserProfileTable implements
      * {@link Sha256Hash}
      * {@link SortedMap}
      * {@link Stream}
+     * {@link Streams}
      * {@link Supplier}
+     * {@link TableReads}
      * {@link TableReference}
      * {@link Throwables}
      * {@link TimeUnit}
@@ -3336,5 +3443,5 @@ public final class UserProfileTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "BgObqeWg1QTD69+0+yj1GA==";
+    static String __CLASS_HASH = "uO0C5uSJO09JVHIN+eNTCA==";
 }
@@ -94,12 +94,12 @@ public final class PaxosStateLogMigrator<V extends Persistable & Versionable> {
                 .map(Optional::get)
                 .collect(Collectors.toList());
         Instant afterRead = Instant.now();
-        log.info("Reading {} entries from file backed paxos state log took {}.",
+        log.info("Reading {} entries from source paxos state log took {}.",
                 SafeArg.of("numEntries", roundsToMigrate.size()),
                 SafeArg.of("duration", Duration.between(start, afterRead)));
         Iterables.partition(roundsToMigrate, BATCH_SIZE)
                 .forEach(batch -> writeBatchRetryingUpToFiveTimes(destinationLog, batch));
-        log.info("Writing {} entries to sqlite backed paxos state log took {}.",
+        log.info("Writing {} entries to destination paxos state log took {}.",
                 SafeArg.of("numEntries", roundsToMigrate.size()),
                 SafeArg.of("duration", Duration.between(afterRead, Instant.now())));
     }
@@ -122,7 +122,7 @@ public final class PaxosStateLogMigrator<V extends Persistable & Versionable> {
         PaxosStateLog<V> sourceLog();
         PaxosStateLog<V> destinationLog();
         Persistable.Hydrator<V> hydrator();
-        SqlitePaxosStateLogMigrationState migrationState();
+        PaxosStateLogMigrationState migrationState();
         OptionalLong migrateFrom();
     }
 
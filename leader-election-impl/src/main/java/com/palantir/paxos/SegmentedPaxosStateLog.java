@@ -0,0 +1,693 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.paxos;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.palantir.common.base.Throwables;
+import com.palantir.common.persist.Persistable;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.UnsafeArg;
+
+/**
+ * A {@link PaxosStateLog} that appends rounds to segment files, instead of writing one file per round like
+ * {@link PaxosStateLogImpl} or going through SQLite like {@link SqlitePaxosStateLog}.
+ * <p>
+ * Each segment covers a fixed range of sequence numbers and consists of an append-only data file of checksummed
+ * records, plus a memory-mapped index from each sequence number in the range to the offset of its latest record.
+ * Rewriting a round appends a new record and repoints the index; the index is rebuilt from the data file whenever a
+ * segment is opened, so it never needs to be synced itself. A round only becomes visible to readers once its record
+ * has been synced, and concurrent writers share syncs, so that a burst of writes pays for far fewer fsyncs. Only a
+ * torn record at the very end of a segment is discarded when it is opened; a bad record followed by more data means
+ * that synced rounds were lost, and fails with a {@link CorruptLogFileException}.
+ * <p>
+ * Truncation physically deletes rounds, as the other logs do: segments wholly at or below the truncation point are
+ * deleted, and the first remaining segment is rewritten without its truncated rounds. Rounds may be written at or
+ * below the truncation point afterwards, and are then read back like any other round.
+ */
+public final class SegmentedPaxosStateLog<V extends Persistable & Versionable> implements PaxosStateLog<V>, Closeable {
+    private static final Logger log = LoggerFactory.getLogger(SegmentedPaxosStateLog.class);
+
+    @VisibleForTesting
+    static final int DEFAULT_ROUNDS_PER_SEGMENT = 16_384;
+
+    private static final String DATA_FILE_SUFFIX = ".log";
+    private static final String INDEX_FILE_SUFFIX = ".idx";
+    private static final String TMP_FILE_SUFFIX = ".tmp";
+    private static final String TRUNCATION_WATERMARK_FILE_NAME = "truncated";
+    private static final String MIGRATION_CUTOFF_FILE_NAME = "migration-cutoff";
+
+    private final Path directory;
+    private final int roundsPerSegment;
+    private final ConcurrentNavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final AtomicLong greatestLogEntry = new AtomicLong(PaxosAcceptor.NO_LOG_ENTRY);
+    private final AtomicLong leastLogEntry = new AtomicLong(PaxosAcceptor.NO_LOG_ENTRY);
+    private final ReadWriteLock truncationLock = new ReentrantReadWriteLock();
+    private volatile OptionalLong truncatedUpToInclusive;
+
+    private SegmentedPaxosStateLog(Path directory, int roundsPerSegment) {
+        this.directory = directory;
+        this.roundsPerSegment = roundsPerSegment;
+    }
+
+    public static <V extends Persistable & Versionable> SegmentedPaxosStateLog<V> create(String path) {
+        return create(Paths.get(path), DEFAULT_ROUNDS_PER_SEGMENT);
+    }
+
+    @VisibleForTesting
+    static <V extends Persistable & Versionable> SegmentedPaxosStateLog<V> create(
+            Path directory,
+            int roundsPerSegment) {
+        Preconditions.checkArgument(roundsPerSegment > 0, "Segments must hold at least one round",
+                SafeArg.of("roundsPerSegment", roundsPerSegment));
+        SegmentedPaxosStateLog<V> stateLog = new SegmentedPaxosStateLog<>(directory, roundsPerSegment);
+        try {
+            stateLog.initialize();
+        } catch (IOException e) {
+            stateLog.close();
+            log.error("Problem opening segmented paxos state log in {}", UnsafeArg.of("directory", directory), e);
+            throw Throwables.rewrapAndThrowUncheckedException(e);
+        }
+        return stateLog;
+    }
+
+    private void initialize() throws IOException {
+        Files.createDirectories(directory);
+        truncatedUpToInclusive = readLongFile(TRUNCATION_WATERMARK_FILE_NAME);
+        try (DirectoryStream<Path> dataFiles = Files.newDirectoryStream(directory, "*" + DATA_FILE_SUFFIX)) {
+            for (Path dataFile : dataFiles) {
+                OptionalLong segmentNumber = parseSegmentNumber(dataFile);
+                if (segmentNumber.isPresent()) {
+                    segments.put(segmentNumber.getAsLong(), Segment.open(directory, segmentNumber.getAsLong(),
+                            roundsPerSegment));
+                }
+            }
+        }
+        for (Segment segment : segments.descendingMap().values()) {
+            long greatest = segment.getGreatestSequence();
+            if (greatest != PaxosAcceptor.NO_LOG_ENTRY) {
+                greatestLogEntry.set(greatest);
+                break;
+            }
+        }
+        leastLogEntry.set(computeLeastLogEntry());
+    }
+
+    @Override
+    public void writeRound(long seq, V round) {
+        writeToSegment(seq, ImmutableList.of(PaxosRound.of(seq, round)));
+    }
+
+    /**
+     * Rounds are written one segment at a time, and each segment is synced once for all its rounds in the batch. If
+     * the batch spans several segments and this fails part-way through, the rounds of earlier segments will have
+     * been written.
+     */
+    @Override
+    public void writeBatchOfRounds(Iterable<PaxosRound<V>> rounds) {
+        Map<Long, List<PaxosRound<V>>> roundsBySegment = Maps.newLinkedHashMap();
+        for (PaxosRound<V> round : rounds) {
+            roundsBySegment.computeIfAbsent(getSegmentNumber(round.sequence()), unused -> Lists.newArrayList())
+                    .add(round);
+        }
+        roundsBySegment.values().forEach(segmentRounds -> writeToSegment(segmentRounds.get(0).sequence(),
+                segmentRounds));
+    }
+
+    private void writeToSegment(long anySequenceInSegment, List<PaxosRound<V>> rounds) {
+        // Truncation rewrites segments, so must not run while a write is in progress.
+        truncationLock.readLock().lock();
+        try {
+            getOrCreateSegment(anySequenceInSegment).write(rounds);
+        } catch (IOException e) {
+            log.error("Problem writing paxos state to segmented log in {}", UnsafeArg.of("directory", directory), e);
+            throw Throwables.throwUncheckedException(e);
+        } finally {
+            truncationLock.readLock().unlock();
+        }
+        for (PaxosRound<V> round : rounds) {
+            greatestLogEntry.accumulateAndGet(round.sequence(), Math::max);
+            if (truncatedUpToInclusive.isPresent()) {
+                leastLogEntry.accumulateAndGet(round.sequence(), (least, seq) ->
+                        least == PaxosAcceptor.NO_LOG_ENTRY ? seq : Math.min(least, seq));
+            }
+        }
+    }
+
+    @Override
+    public byte[] readRound(long seq) throws IOException {
+        long segmentNumber = getSegmentNumber(seq);
+        while (true) {
+            Segment segment = segments.get(segmentNumber);
+            if (segment == null) {
+                return null;
+            }
+            try {
+                return segment.read(seq);
+            } catch (ClosedChannelException e) {
+                // Truncation deleted or replaced the segment while we were reading it.
+                if (segments.get(segmentNumber) == segment) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    @Override
+    public long getLeastLogEntry() {
+        return leastLogEntry.get();
+    }
+
+    @Override
+    public long getGreatestLogEntry() {
+        return greatestLogEntry.get();
+    }
+
+    @SuppressWarnings("ParameterAssignment")
+    @Override
+    public synchronized void truncate(long toDeleteInclusive) {
+        long greatest = getGreatestLogEntry();
+        if (greatest >= 0) {
+            // We never want to remove our most recent entry
+            toDeleteInclusive = Math.min(greatest - 1, toDeleteInclusive);
+        }
+        truncationLock.writeLock().lock();
+        try {
+            deleteRoundsUpTo(toDeleteInclusive);
+            // Only records that the log has been truncated at some point, for the least log entry.
+            if (!truncatedUpToInclusive.isPresent() || toDeleteInclusive > truncatedUpToInclusive.getAsLong()) {
+                writeLongFile(TRUNCATION_WATERMARK_FILE_NAME, toDeleteInclusive);
+                truncatedUpToInclusive = OptionalLong.of(toDeleteInclusive);
+            }
+            leastLogEntry.set(computeLeastLogEntry());
+        } catch (IOException e) {
+            log.error("Problem truncating segmented paxos state log in {}", UnsafeArg.of("directory", directory), e);
+            throw Throwables.throwUncheckedException(e);
+        } finally {
+            truncationLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the state of a migration into this log, which is kept in this log's directory.
+     */
+    public PaxosStateLogMigrationState migrationState() {
+        return new FileBackedMigrationState();
+    }
+
+    @Override
+    public void close() {
+        segments.values().forEach(Segment::close);
+        segments.clear();
+    }
+
+    private long computeLeastLogEntry() {
+        if (!truncatedUpToInclusive.isPresent()) {
+            // Mirrors the other logs: a log that was never truncated may still learn of its earliest rounds.
+            return PaxosAcceptor.NO_LOG_ENTRY;
+        }
+        for (Segment segment : segments.values()) {
+            OptionalLong least = segment.getLeastSequence();
+            if (least.isPresent()) {
+                return least.getAsLong();
+            }
+        }
+        return PaxosAcceptor.NO_LOG_ENTRY;
+    }
+
+    /**
+     * Deletes the segments wholly at or below the given sequence number, and rewrites the segment containing the
+     * next sequence number without the rounds at or below it. A new data file replaces the old one atomically, so a
+     * crash leaves the segment either as it was or fully rewritten.
+     */
+    private void deleteRoundsUpTo(long toDeleteInclusive) throws IOException {
+        long firstRetainedSegment = getSegmentNumber(toDeleteInclusive + 1);
+        for (Map.Entry<Long, Segment> entry : segments.headMap(firstRetainedSegment).entrySet()) {
+            segments.remove(entry.getKey());
+            entry.getValue().close();
+            entry.getValue().delete();
+        }
+        Segment partiallyTruncated = segments.get(firstRetainedSegment);
+        if (partiallyTruncated != null && partiallyTruncated.hasSequenceAtOrBelow(toDeleteInclusive)) {
+            Segment rewritten = partiallyTruncated.rewriteWithoutSequencesUpTo(directory, toDeleteInclusive);
+            segments.put(firstRetainedSegment, rewritten);
+            partiallyTruncated.close();
+        }
+    }
+
+    private Segment getOrCreateSegment(long seq) throws IOException {
+        long segmentNumber = getSegmentNumber(seq);
+        Segment segment = segments.get(segmentNumber);
+        if (segment != null) {
+            return segment;
+        }
+        synchronized (segments) {
+            segment = segments.get(segmentNumber);
+            if (segment == null) {
+                segment = Segment.open(directory, segmentNumber, roundsPerSegment);
+                segments.put(segmentNumber, segment);
+            }
+            return segment;
+        }
+    }
+
+    private long getSegmentNumber(long seq) {
+        return Math.floorDiv(seq, roundsPerSegment);
+    }
+
+    private static OptionalLong parseSegmentNumber(Path dataFile) {
+        String fileName = dataFile.getFileName().toString();
+        try {
+            return OptionalLong.of(Long.parseLong(
+                    fileName.substring(0, fileName.length() - DATA_FILE_SUFFIX.length())));
+        } catch (NumberFormatException e) {
+            return OptionalLong.empty();
+        }
+    }
+
+    private OptionalLong readLongFile(String fileName) throws IOException {
+        Path file = directory.resolve(fileName);
+        if (!Files.exists(file)) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(Long.parseLong(new String(Files.readAllBytes(file), StandardCharsets.UTF_8).trim()));
+    }
+
+    private void writeLongFile(String fileName, long value) throws IOException {
+        Path tmpFile = directory.resolve(fileName + TMP_FILE_SUFFIX);
+        try (FileChannel channel = FileChannel.open(tmpFile,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer contents = ByteBuffer.wrap(Long.toString(value).getBytes(StandardCharsets.UTF_8));
+            while (contents.hasRemaining()) {
+                channel.write(contents);
+            }
+            channel.force(true);
+        }
+        Files.move(tmpFile, directory.resolve(fileName),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private final class FileBackedMigrationState implements PaxosStateLogMigrationState {
+        private volatile long pendingCutoff = PaxosAcceptor.NO_LOG_ENTRY;
+
+        @Override
+        public boolean isInMigratedState() {
+            return readCutoff().isPresent();
+        }
+
+        @Override
+        public void migrateToMigratedState() {
+            try {
+                writeLongFile(MIGRATION_CUTOFF_FILE_NAME, pendingCutoff);
+            } catch (IOException e) {
+                throw Throwables.rewrapAndThrowUncheckedException(e);
+            }
+        }
+
+        @Override
+        public void setCutoff(long value) {
+            pendingCutoff = value;
+        }
+
+        @Override
+        public long getCutoff() {
+            return readCutoff().orElse(pendingCutoff);
+        }
+
+        private OptionalLong readCutoff() {
+            try {
+                return readLongFile(MIGRATION_CUTOFF_FILE_NAME);
+            } catch (IOException e) {
+                throw Throwables.rewrapAndThrowUncheckedException(e);
+            }
+        }
+    }
+
+    /**
+     * A data file of records, each consisting of the payload length, the sequence number, a CRC32 checksum of the
+     * sequence number and payload, and the payload itself, together with an index holding, for each sequence number
+     * of the segment, one more than the offset of its latest synced record (or zero if there is no such record).
+     */
+    private static final class Segment {
+        private static final int RECORD_HEADER_SIZE = Integer.BYTES + Long.BYTES + Integer.BYTES;
+
+        private final Path dataFile;
+        private final Path indexFile;
+        private final long firstSequence;
+        private final int roundsPerSegment;
+        private final FileChannel data;
+        private final FileChannel indexChannel;
+        private final MappedByteBuffer index;
+        private final Object syncLock = new Object();
+
+        private volatile long appendOffset;
+        private volatile long syncedOffset;
+
+        private Segment(Path dataFile, Path indexFile, long firstSequence, int roundsPerSegment, FileChannel data,
+                FileChannel indexChannel, MappedByteBuffer index) {
+            this.dataFile = dataFile;
+            this.indexFile = indexFile;
+            this.firstSequence = firstSequence;
+            this.roundsPerSegment = roundsPerSegment;
+            this.data = data;
+            this.indexChannel = indexChannel;
+            this.index = index;
+        }
+
+        static Segment open(Path directory, long segmentNumber, int roundsPerSegment) throws IOException {
+            Path dataFile = directory.resolve(segmentNumber + DATA_FILE_SUFFIX);
+            Path indexFile = directory.resolve(segmentNumber + INDEX_FILE_SUFFIX);
+            boolean isNewSegment = !Files.exists(dataFile);
+            FileChannel data = FileChannel.open(dataFile,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            FileChannel indexChannel = FileChannel.open(indexFile,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer index = indexChannel.map(
+                    FileChannel.MapMode.READ_WRITE, 0, (long) roundsPerSegment * Long.BYTES);
+            Segment segment = new Segment(dataFile, indexFile, segmentNumber * roundsPerSegment, roundsPerSegment,
+                    data, indexChannel, index);
+            try {
+                segment.rebuildIndex();
+            } catch (IOException e) {
+                segment.close();
+                throw e;
+            }
+            if (isNewSegment) {
+                syncDirectory(directory);
+            }
+            return segment;
+        }
+
+        private static void syncDirectory(Path directory) {
+            try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+                channel.force(true);
+            } catch (IOException e) {
+                // Not all platforms support syncing directories.
+                log.debug("Could not sync paxos state log directory {}", UnsafeArg.of("directory", directory), e);
+            }
+        }
+
+        void write(List<? extends PaxosRound<?>> rounds) throws IOException {
+            long[] offsets = new long[rounds.size()];
+            long endOffset;
+            synchronized (this) {
+                for (int i = 0; i < rounds.size(); i++) {
+                    offsets[i] = append(rounds.get(i).sequence(), rounds.get(i).valueBytes());
+                }
+                endOffset = appendOffset;
+            }
+            sync(endOffset);
+            synchronized (this) {
+                for (int i = 0; i < rounds.size(); i++) {
+                    publish(rounds.get(i).sequence(), offsets[i]);
+                }
+            }
+        }
+
+        byte[] read(long seq) throws IOException {
+            long offset = getPublishedOffset(seq);
+            if (offset < 0) {
+                return null;
+            }
+            ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+            readFully(header, offset);
+            header.flip();
+            int length = header.getInt();
+            long recordSeq = header.getLong();
+            int checksum = header.getInt();
+            if (recordSeq != seq || length < 0) {
+                throw new CorruptLogFileException();
+            }
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            readFully(payload, offset + RECORD_HEADER_SIZE);
+            if (checksum(seq, payload.array()) != checksum) {
+                log.error("Checksum mismatch reading round {} from paxos state log segment {}",
+                        SafeArg.of("seq", seq),
+                        UnsafeArg.of("segment", dataFile));
+                throw new CorruptLogFileException();
+            }
+            return payload.array();
+        }
+
+        synchronized long getGreatestSequence() {
+            for (int slot = roundsPerSegment - 1; slot >= 0; slot--) {
+                if (index.getLong(slot * Long.BYTES) != 0) {
+                    return firstSequence + slot;
+                }
+            }
+            return PaxosAcceptor.NO_LOG_ENTRY;
+        }
+
+        synchronized OptionalLong getLeastSequence() {
+            for (long candidate = firstSequence; candidate < firstSequence + roundsPerSegment; candidate++) {
+                if (index.getLong(getIndexPosition(candidate)) != 0) {
+                    return OptionalLong.of(candidate);
+                }
+            }
+            return OptionalLong.empty();
+        }
+
+        boolean hasSequenceAtOrBelow(long seq) {
+            OptionalLong least = getLeastSequence();
+            return least.isPresent() && least.getAsLong() <= seq;
+        }
+
+        /**
+         * Writes the latest record of each round above the given sequence number to a new data file, moves it over
+         * this segment's data file, and opens it as a new segment. This segment remains readable until it is closed,
+         * as it still holds the replaced files open.
+         */
+        Segment rewriteWithoutSequencesUpTo(Path directory, long toDeleteInclusive) throws IOException {
+            Path tmpFile = directory.resolve(dataFile.getFileName() + TMP_FILE_SUFFIX);
+            try (FileChannel rewritten = FileChannel.open(tmpFile,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                long offset = 0;
+                long firstRetained = Math.max(firstSequence, toDeleteInclusive + 1);
+                for (long seq = firstRetained; seq < firstSequence + roundsPerSegment; seq++) {
+                    byte[] payload = read(seq);
+                    if (payload != null) {
+                        ByteBuffer record = encodeRecord(seq, payload);
+                        while (record.hasRemaining()) {
+                            rewritten.write(record, offset + record.position());
+                        }
+                        offset += record.limit();
+                    }
+                }
+                rewritten.force(true);
+            }
+            // The new segment must not share the index mapped by this one, which readers may still be using.
+            Files.deleteIfExists(indexFile);
+            Files.move(tmpFile, dataFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            syncDirectory(directory);
+            return open(directory, firstSequence / roundsPerSegment, roundsPerSegment);
+        }
+
+        void close() {
+            try {
+                data.close();
+                indexChannel.close();
+            } catch (IOException e) {
+                log.warn("Failed to close paxos state log segment {}", UnsafeArg.of("segment", dataFile), e);
+            }
+        }
+
+        void delete() throws IOException {
+            Files.deleteIfExists(indexFile);
+            Files.deleteIfExists(dataFile);
+        }
+
+        private long append(long seq, byte[] payload) throws IOException {
+            long offset = appendOffset;
+            ByteBuffer record = encodeRecord(seq, payload);
+            while (record.hasRemaining()) {
+                data.write(record, offset + record.position());
+            }
+            appendOffset = offset + record.limit();
+            return offset;
+        }
+
+        /**
+         * Syncs the data file up to at least the given offset, unless another writer has already done so. Writers
+         * waiting here while a sync is in progress are usually covered by it, and then return without syncing.
+         */
+        private void sync(long upToOffset) throws IOException {
+            if (syncedOffset >= upToOffset) {
+                return;
+            }
+            synchronized (syncLock) {
+                if (syncedOffset >= upToOffset) {
+                    return;
+                }
+                long target = appendOffset;
+                // Syncing the data also syncs the file size, which is all the metadata needed to read it back.
+                data.force(false);
+                syncedOffset = target;
+            }
+        }
+
+        private void publish(long seq, long offset) {
+            int position = getIndexPosition(seq);
+            // A later record for the same round may already have been published by a writer sharing our sync.
+            if (index.getLong(position) < offset + 1) {
+                index.putLong(position, offset + 1);
+            }
+        }
+
+        private synchronized long getPublishedOffset(long seq) {
+            return index.getLong(getIndexPosition(seq)) - 1;
+        }
+
+        private void rebuildIndex() throws IOException {
+            for (int slot = 0; slot < roundsPerSegment; slot++) {
+                index.putLong(slot * Long.BYTES, 0);
+            }
+            long size = data.size();
+            long offset = 0;
+            ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+            while (offset < size) {
+                if (offset + RECORD_HEADER_SIZE > size) {
+                    break;
+                }
+                header.clear();
+                readFully(header, offset);
+                header.flip();
+                int length = header.getInt();
+                long seq = header.getLong();
+                int checksum = header.getInt();
+                long recordEnd = offset + RECORD_HEADER_SIZE + length;
+                if (length < 0 || recordEnd > size || seq < firstSequence || seq >= firstSequence + roundsPerSegment) {
+                    break;
+                }
+                ByteBuffer payload = ByteBuffer.allocate(length);
+                readFully(payload, offset + RECORD_HEADER_SIZE);
+                if (checksum(seq, payload.array()) != checksum) {
+                    break;
+                }
+                index.putLong(getIndexPosition(seq), offset + 1);
+                offset = recordEnd;
+            }
+            if (offset < size) {
+                discardTornRecord(offset, size);
+            }
+            appendOffset = offset;
+            syncedOffset = offset;
+        }
+
+        /**
+         * Records are only acknowledged once synced, and only the last append before a crash can be torn, so a bad
+         * record is only discarded if nothing but it, or zeroes, follows it. Anything else after a bad record may be
+         * rounds that were already acknowledged, which must not be silently dropped.
+         */
+        private void discardTornRecord(long offset, long size) throws IOException {
+            if (!isTornTail(offset, size)) {
+                log.error("Found a corrupt record at offset {} of paxos state log {}, followed by data up to {}",
+                        SafeArg.of("offset", offset),
+                        UnsafeArg.of("segment", dataFile),
+                        SafeArg.of("size", size));
+                throw new CorruptLogFileException();
+            }
+            log.warn("Discarding {} bytes of an incomplete record at the end of paxos state log {}",
+                    SafeArg.of("discardedBytes", size - offset),
+                    UnsafeArg.of("segment", dataFile));
+            data.truncate(offset);
+            data.force(true);
+        }
+
+        private boolean isTornTail(long offset, long size) throws IOException {
+            if (offset + RECORD_HEADER_SIZE > size) {
+                return true;
+            }
+            ByteBuffer lengthBuffer = ByteBuffer.allocate(Integer.BYTES);
+            readFully(lengthBuffer, offset);
+            int length = lengthBuffer.getInt(0);
+            if (length >= 0 && offset + RECORD_HEADER_SIZE + length >= size) {
+                return true;
+            }
+            return isZeroFilled(offset, size);
+        }
+
+        private boolean isZeroFilled(long offset, long size) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(4096);
+            for (long position = offset; position < size; position += buffer.limit()) {
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(), size - position));
+                readFully(buffer, position);
+                for (int i = 0; i < buffer.limit(); i++) {
+                    if (buffer.get(i) != 0) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        private void readFully(ByteBuffer buffer, long position) throws IOException {
+            while (buffer.hasRemaining()) {
+                if (data.read(buffer, position + buffer.position()) < 0) {
+                    throw new EOFException();
+                }
+            }
+        }
+
+        private int getIndexPosition(long seq) {
+            return (int) (seq - firstSequence) * Long.BYTES;
+        }
+
+        private static ByteBuffer encodeRecord(long seq, byte[] payload) {
+            ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + payload.length);
+            record.putInt(payload.length).putLong(seq).putInt(checksum(seq, payload)).put(payload);
+            record.flip();
+            return record;
+        }
+
+        private static int checksum(long seq, byte[] payload) {
+            CRC32 crc = new CRC32();
+            crc.update(ByteBuffer.allocate(Long.BYTES).putLong(seq).array());
+            crc.update(payload);
+            return (int) crc.getValue();
+        }
+    }
+}
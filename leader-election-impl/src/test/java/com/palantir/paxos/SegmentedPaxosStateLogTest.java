@@ -0,0 +1,271 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.paxos;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import static com.palantir.paxos.PaxosStateLogTestUtils.generateRounds;
+import static com.palantir.paxos.PaxosStateLogTestUtils.getPaxosValue;
+import static com.palantir.paxos.PaxosStateLogTestUtils.valueForRound;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.Futures;
+import com.palantir.common.concurrent.PTExecutors;
+
+public class SegmentedPaxosStateLogTest {
+    private static final int ROUNDS_PER_SEGMENT = 10;
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private Path directory;
+    private SegmentedPaxosStateLog<PaxosValue> stateLog;
+
+    @Before
+    public void setup() {
+        directory = tempFolder.getRoot().toPath();
+        stateLog = SegmentedPaxosStateLog.create(directory, ROUNDS_PER_SEGMENT);
+    }
+
+    @After
+    public void tearDown() {
+        stateLog.close();
+    }
+
+    @Test
+    public void readingNonExistentRoundReturnsNull() throws IOException {
+        assertThat(stateLog.readRound(10L)).isNull();
+    }
+
+    @Test
+    public void returnsDefaultValueForExtremesWhenNoEntries() {
+        assertThat(stateLog.getLeastLogEntry()).isEqualTo(PaxosAcceptor.NO_LOG_ENTRY);
+        assertThat(stateLog.getGreatestLogEntry()).isEqualTo(PaxosAcceptor.NO_LOG_ENTRY);
+    }
+
+    @Test
+    public void canWriteAndRetrieveValuesAcrossSegments() {
+        generateRounds(LongStream.range(0, 35)).forEach(round -> stateLog.writeRound(round.sequence(), round.value()));
+
+        assertThat(getPaxosValue(stateLog, 3L)).isEqualTo(valueForRound(3L));
+        assertThat(getPaxosValue(stateLog, 34L)).isEqualTo(valueForRound(34L));
+        assertThat(stateLog.getGreatestLogEntry()).isEqualTo(34L);
+    }
+
+    @Test
+    public void canWriteAndRetrieveBatch() {
+        List<PaxosRound<PaxosValue>> rounds = generateRounds(LongStream.rangeClosed(5L, 25L));
+        stateLog.writeBatchOfRounds(rounds);
+
+        rounds.forEach(round -> assertThat(getPaxosValue(stateLog, round.sequence())).isEqualTo(round.value()));
+    }
+
+    @Test
+    public void canWriteEmptyBatch() {
+        assertThatCode(() -> stateLog.writeBatchOfRounds(ImmutableList.of())).doesNotThrowAnyException();
+    }
+
+    @Test
+    public void canOverwriteSequences() {
+        stateLog.writeRound(5L, valueForRound(5L));
+        PaxosValue newEntry = new PaxosValue("otherLeader", 5L, null);
+        stateLog.writeRound(5L, newEntry);
+
+        assertThat(getPaxosValue(stateLog, 5L)).isEqualTo(newEntry);
+    }
+
+    @Test
+    public void leastLogEntryIsUnknownUntilTruncated() {
+        stateLog.writeRound(5L, valueForRound(5L));
+        assertThat(stateLog.getLeastLogEntry()).isEqualTo(PaxosAcceptor.NO_LOG_ENTRY);
+    }
+
+    @Test
+    public void truncationHidesRoundsAndDeletesWholeSegments() throws IOException {
+        stateLog.writeBatchOfRounds(generateRounds(LongStream.range(0, 35)));
+        stateLog.truncate(14L);
+
+        assertThat(stateLog.readRound(14L)).isNull();
+        assertThat(getPaxosValue(stateLog, 15L)).isEqualTo(valueForRound(15L));
+        assertThat(stateLog.getLeastLogEntry()).isEqualTo(15L);
+        assertThat(directory.resolve("0.log")).doesNotExist();
+        assertThat(directory.resolve("1.log")).exists();
+    }
+
+    @Test
+    public void truncationNeverRemovesGreatestEntry() throws IOException {
+        stateLog.writeBatchOfRounds(generateRounds(LongStream.range(0, 5)));
+        stateLog.truncate(100L);
+
+        assertThat(getPaxosValue(stateLog, 4L)).isEqualTo(valueForRound(4L));
+        assertThat(stateLog.readRound(3L)).isNull();
+        assertThat(stateLog.getLeastLogEntry()).isEqualTo(4L);
+        assertThat(stateLog.getGreatestLogEntry()).isEqualTo(4L);
+    }
+
+    @Test
+    public void roundsWrittenAtOrBelowTruncationPointCanBeRead() throws IOException {
+        stateLog.writeBatchOfRounds(generateRounds(LongStream.range(0, 35)));
+        stateLog.truncate(24L);
+        stateLog.writeBatchOfRounds(generateRounds(LongStream.rangeClosed(5L, 24L)));
+
+        assertThat(getPaxosValue(stateLog, 5L)).isEqualTo(valueForRound(5L));
+        assertThat(getPaxosValue(stateLog, 24L)).isEqualTo(valueForRound(24L));
+        assertThat(stateLog.getLeastLogEntry()).isEqualTo(5L);
+
+        stateLog.close();
+        stateLog = SegmentedPaxosStateLog.create(directory, ROUNDS_PER_SEGMENT);
+
+        assertThat(stateLog.readRound(4L)).isNull();
+        assertThat(getPaxosValue(stateLog, 5L)).isEqualTo(valueForRound(5L));
+        assertThat(getPaxosValue(stateLog, 24L)).isEqualTo(valueForRound(24L));
+        assertThat(stateLog.getLeastLogEntry()).isEqualTo(5L);
+    }
+
+    @Test
+    public void truncationDeletesRoundsFromPartiallyTruncatedSegment() throws IOException {
+        stateLog.writeBatchOfRounds(generateRounds(LongStream.range(0, 35)));
+        long sizeBeforeTruncation = Files.size(directory.resolve("1.log"));
+
+        stateLog.truncate(14L);
+
+        assertThat(Files.size(directory.resolve("1.log"))).isLessThan(sizeBeforeTruncation);
+        assertThat(stateLog.readRound(14L)).isNull();
+        assertThat(getPaxosValue(stateLog, 15L)).isEqualTo(valueForRound(15L));
+        assertThat(getPaxosValue(stateLog, 19L)).isEqualTo(valueForRound(19L));
+    }
+
+    @Test
+    public void stateSurvivesReopening() throws IOException {
+        stateLog.writeBatchOfRounds(generateRounds(LongStream.range(0, 35)));
+        stateLog.truncate(14L);
+        stateLog.close();
+
+        stateLog = SegmentedPaxosStateLog.create(directory, ROUNDS_PER_SEGMENT);
+
+        assertThat(stateLog.readRound(14L)).isNull();
+        assertThat(getPaxosValue(stateLog, 20L)).isEqualTo(valueForRound(20L));
+        assertThat(stateLog.getLeastLogEntry()).isEqualTo(15L);
+        assertThat(stateLog.getGreatestLogEntry()).isEqualTo(34L);
+    }
+
+    @Test
+    public void tornRecordsAtTheEndOfASegmentAreDiscardedOnReopening() throws IOException {
+        stateLog.writeBatchOfRounds(generateRounds(LongStream.range(0, 5)));
+        stateLog.close();
+        try (FileChannel channel = FileChannel.open(directory.resolve("0.log"), StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0, 0, 1, 0, 0, 0}));
+        }
+
+        stateLog = SegmentedPaxosStateLog.create(directory, ROUNDS_PER_SEGMENT);
+        stateLog.writeRound(5L, valueForRound(5L));
+
+        assertThat(getPaxosValue(stateLog, 4L)).isEqualTo(valueForRound(4L));
+        assertThat(getPaxosValue(stateLog, 5L)).isEqualTo(valueForRound(5L));
+    }
+
+    @Test
+    public void corruptRecordFollowedByFurtherRecordsFailsOnReopening() throws IOException {
+        stateLog.writeBatchOfRounds(generateRounds(LongStream.range(0, 5)));
+        stateLog.close();
+        Path dataFile = directory.resolve("0.log");
+        byte[] bytes = Files.readAllBytes(dataFile);
+        // Flips the first payload byte of the first record.
+        bytes[Integer.BYTES + Long.BYTES + Integer.BYTES] ^= 1;
+        Files.write(dataFile, bytes);
+
+        assertThatThrownBy(() -> SegmentedPaxosStateLog.create(directory, ROUNDS_PER_SEGMENT))
+                .hasCauseInstanceOf(PaxosStateLog.CorruptLogFileException.class);
+        assertThat(Files.size(dataFile)).isEqualTo(bytes.length);
+    }
+
+    @Test
+    public void corruptedRecordsAreReportedOnRead() throws IOException {
+        stateLog.writeRound(0L, valueForRound(0L));
+        Path dataFile = directory.resolve("0.log");
+        byte[] bytes = Files.readAllBytes(dataFile);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(dataFile, bytes);
+
+        assertThatThrownBy(() -> stateLog.readRound(0L)).isInstanceOf(PaxosStateLog.CorruptLogFileException.class);
+    }
+
+    @Test
+    public void concurrentWritesAreAllVisible() throws Exception {
+        ExecutorService executor = PTExecutors.newFixedThreadPool(16);
+        try {
+            List<Future<?>> writes = LongStream.range(0, 500)
+                    .mapToObj(seq -> executor.submit(() -> stateLog.writeRound(seq, valueForRound(seq))))
+                    .collect(Collectors.toList());
+            for (Future<?> write : writes) {
+                Futures.getUnchecked(write);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        LongStream.range(0, 500).forEach(seq -> assertThat(getPaxosValue(stateLog, seq)).isEqualTo(valueForRound(seq)));
+        assertThat(stateLog.getGreatestLogEntry()).isEqualTo(499L);
+    }
+
+    @Test
+    public void canMigrateFromFileBasedLog() throws IOException {
+        PaxosStateLog<PaxosValue> source = new PaxosStateLogImpl<>(tempFolder.newFolder("source").getPath());
+        generateRounds(LongStream.rangeClosed(0, 100))
+                .forEach(round -> source.writeRound(round.sequence(), round.value()));
+        PaxosStateLogMigrator.MigrationContext<PaxosValue> context = ImmutableMigrationContext.<PaxosValue>builder()
+                .sourceLog(source)
+                .destinationLog(stateLog)
+                .hydrator(PaxosValue.BYTES_HYDRATOR)
+                .migrationState(stateLog.migrationState())
+                .migrateFrom(OptionalLong.of(80L))
+                .build();
+
+        long cutoff = PaxosStateLogMigrator.migrateAndReturnCutoff(context);
+
+        assertThat(cutoff).isEqualTo(80L - PaxosStateLogMigrator.SAFETY_BUFFER);
+        assertThat(stateLog.migrationState().isInMigratedState()).isTrue();
+        assertThat(stateLog.migrationState().getCutoff()).isEqualTo(cutoff);
+        assertThat(stateLog.readRound(cutoff - 1)).isNull();
+        assertThat(getPaxosValue(stateLog, cutoff)).isEqualTo(valueForRound(cutoff));
+        assertThat(getPaxosValue(stateLog, 100L)).isEqualTo(valueForRound(100L));
+
+        source.writeRound(101L, valueForRound(101L));
+        assertThat(PaxosStateLogMigrator.migrateAndReturnCutoff(context)).isEqualTo(cutoff);
+        assertThat(stateLog.readRound(101L)).isNull();
+    }
+}
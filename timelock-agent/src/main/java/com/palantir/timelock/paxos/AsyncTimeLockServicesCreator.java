@@ -31,7 +31,9 @@ import com.palantir.atlasdb.timelock.AsyncTimelockService;
 import com.palantir.atlasdb.timelock.AsyncTimelockServiceImpl;
 import com.palantir.atlasdb.timelock.TimeLockServices;
 import com.palantir.atlasdb.timelock.lock.AsyncLockService;
+import com.palantir.atlasdb.timelock.lock.LockContentionProfiler;
 import com.palantir.atlasdb.timelock.lock.LockLog;
+import com.palantir.atlasdb.timelock.lock.LockReaperMetrics;
 import com.palantir.atlasdb.timelock.lock.NonTransactionalLockService;
 import com.palantir.atlasdb.timelock.paxos.LeadershipComponents;
 import com.palantir.atlasdb.util.MetricsManager;
@@ -69,11 +71,13 @@ public class AsyncTimeLockServicesCreator implements TimeLockServicesCreator {
             Supplier<LockService> rawLockServiceSupplier) {
         log.info("Creating async timelock services for client {}", SafeArg.of("client", client));
         LockLog maybeEnhancedLockLog = maybeEnhancedLockLog(client);
+        LockContentionProfiler lockContentionProfiler = LockContentionProfiler.create(metricsManager, client.value());
 
         AsyncTimelockService asyncTimelockService = leadershipComponents.wrapInLeadershipProxy(
                 client,
                 AsyncTimelockService.class,
-                () -> createRawAsyncTimelockService(client, rawTimestampServiceSupplier, maybeEnhancedLockLog));
+                () -> createRawAsyncTimelockService(
+                        client, rawTimestampServiceSupplier, maybeEnhancedLockLog, lockContentionProfiler));
 
         AsyncTimelockResource asyncTimelockResource =
                 new AsyncTimelockResource(maybeEnhancedLockLog, asyncTimelockService);
@@ -88,13 +92,15 @@ public class AsyncTimeLockServicesCreator implements TimeLockServicesCreator {
                 lockService,
                 asyncTimelockService,
                 asyncTimelockResource,
-                asyncTimelockService);
+                asyncTimelockService,
+                lockContentionProfiler);
     }
 
     private AsyncTimelockService createRawAsyncTimelockService(
             Client client,
             Supplier<ManagedTimestampService> timestampServiceSupplier,
-            LockLog maybeEnhancedLockLog) {
+            LockLog maybeEnhancedLockLog,
+            LockContentionProfiler lockContentionProfiler) {
         ScheduledExecutorService reaperExecutor = new InstrumentedScheduledExecutorService(
                 PTExecutors.newSingleThreadScheduledExecutor(
                         new NamedThreadFactory("async-lock-reaper-" + client, true)),
@@ -107,7 +113,9 @@ public class AsyncTimeLockServicesCreator implements TimeLockServicesCreator {
                 AsyncLockService.createDefault(
                         maybeEnhancedLockLog,
                         reaperExecutor,
-                        timeoutExecutor
+                        timeoutExecutor,
+                        lockContentionProfiler,
+                        LockReaperMetrics.create(metricsManager, client.value())
                 ),
                 timestampServiceSupplier.get(),
                 maybeEnhancedLockLog);
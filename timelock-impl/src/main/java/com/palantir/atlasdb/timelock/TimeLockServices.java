@@ -17,6 +17,7 @@ package com.palantir.atlasdb.timelock;
 
 import org.immutables.value.Value;
 
+import com.palantir.atlasdb.timelock.lock.LockContentionProfiler;
 import com.palantir.lock.LockService;
 import com.palantir.timestamp.TimestampManagementService;
 import com.palantir.timestamp.TimestampService;
@@ -28,13 +29,15 @@ public interface TimeLockServices {
             LockService lockService,
             AsyncTimelockService timelockService,
             AsyncTimelockResource timelockResource,
-            TimestampManagementService timestampManagementService) {
+            TimestampManagementService timestampManagementService,
+            LockContentionProfiler lockContentionProfiler) {
         return ImmutableTimeLockServices.builder()
                 .timestampService(timestampService)
                 .lockService(lockService)
                 .timestampManagementService(timestampManagementService)
                 .timelockService(timelockService)
                 .timelockResource(timelockResource)
+                .lockContentionProfiler(lockContentionProfiler)
                 .build();
     }
 
@@ -45,4 +48,5 @@ public interface TimeLockServices {
     // The RPC-independent leadership-enabled implementation of the timelock service
     AsyncTimelockService getTimelockService();
     TimestampManagementService getTimestampManagementService();
+    LockContentionProfiler getLockContentionProfiler();
 }
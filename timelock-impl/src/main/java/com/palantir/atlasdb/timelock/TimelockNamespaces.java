@@ -18,6 +18,7 @@ package com.palantir.atlasdb.timelock;
 
 import static java.util.stream.Collectors.toSet;
 
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -61,6 +62,13 @@ public final class TimelockNamespaces {
         return services.computeIfAbsent(namespace, this::createNewClient);
     }
 
+    /**
+     * Returns the services of the given namespace if it is already active, without creating it otherwise.
+     */
+    public Optional<TimeLockServices> getIfActive(String namespace) {
+        return Optional.ofNullable(services.get(namespace));
+    }
+
     public Set<Client> getActiveClients() {
         return services.keySet().stream().map(Client::of).collect(toSet());
     }
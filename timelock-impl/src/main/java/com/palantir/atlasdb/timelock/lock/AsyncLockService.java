@@ -63,15 +63,43 @@ public class AsyncLockService implements Closeable {
             LockLog lockLog,
             ScheduledExecutorService reaperExecutor,
             ScheduledExecutorService timeoutExecutor) {
+        return createDefault(lockLog, reaperExecutor, timeoutExecutor, LockContentionProfiler.createUnregistered());
+    }
+
+    /**
+     * Creates a new asynchronous lock service, as {@link #createDefault(LockLog, ScheduledExecutorService,
+     * ScheduledExecutorService)}, recording contention on its locks in the given profiler.
+     */
+    public static AsyncLockService createDefault(
+            LockLog lockLog,
+            ScheduledExecutorService reaperExecutor,
+            ScheduledExecutorService timeoutExecutor,
+            LockContentionProfiler lockContentionProfiler) {
+        return createDefault(
+                lockLog, reaperExecutor, timeoutExecutor, lockContentionProfiler,
+                LockReaperMetrics.createUnregistered());
+    }
+
+    /**
+     * Creates a new asynchronous lock service, as {@link #createDefault(LockLog, ScheduledExecutorService,
+     * ScheduledExecutorService, LockContentionProfiler)}, recording the cost of reaping expired locks in the given
+     * metrics.
+     */
+    public static AsyncLockService createDefault(
+            LockLog lockLog,
+            ScheduledExecutorService reaperExecutor,
+            ScheduledExecutorService timeoutExecutor,
+            LockContentionProfiler lockContentionProfiler,
+            LockReaperMetrics lockReaperMetrics) {
 
         LeaderClock clock = LeaderClock.create();
 
-        HeldLocksCollection heldLocks = HeldLocksCollection.create(clock);
+        HeldLocksCollection heldLocks = HeldLocksCollection.create(clock, lockReaperMetrics);
         LockWatchingService lockWatchingService = new LockWatchingServiceImpl(heldLocks);
         LockAcquirer lockAcquirer = new LockAcquirer(lockLog, timeoutExecutor, clock, lockWatchingService);
 
         return new AsyncLockService(
-                new LockCollection(),
+                new LockCollection(lockContentionProfiler),
                 new ImmutableTimestampTracker(),
                 lockAcquirer,
                 heldLocks,
@@ -114,7 +142,7 @@ public class AsyncLockService implements Closeable {
             } catch (Throwable t) {
                 log.warn("Error while removing expired lock requests. Trying again on next iteration.", t);
             }
-        }, 0, LockLeaseContract.SERVER_LEASE_TIMEOUT.toMillis() / 2, TimeUnit.MILLISECONDS);
+        }, 0, HeldLocksCollection.REAPER_TICK.toMillis(), TimeUnit.MILLISECONDS);
     }
 
     public AsyncResult<Leased<LockToken>> lock(UUID requestId, Set<LockDescriptor> lockDescriptors, TimeLimit timeout) {
@@ -30,7 +30,10 @@ import com.palantir.logsafe.SafeArg;
 
 public class ExclusiveLock implements AsyncLock {
 
+    private static final long NOT_QUEUED = Long.MIN_VALUE;
+
     private final LockDescriptor descriptor;
+    private final LockContentionProfiler profiler;
 
     @GuardedBy("this")
     private final LockRequestQueue queue = new LockRequestQueue();
@@ -38,7 +41,12 @@ public class ExclusiveLock implements AsyncLock {
     private UUID currentHolder = null;
 
     public ExclusiveLock(LockDescriptor descriptor) {
+        this(descriptor, LockContentionProfiler.createUnregistered());
+    }
+
+    public ExclusiveLock(LockDescriptor descriptor, LockContentionProfiler profiler) {
         this.descriptor = descriptor;
+        this.profiler = profiler;
     }
 
     @Override
@@ -61,7 +69,10 @@ public class ExclusiveLock implements AsyncLock {
 
     @Override
     public synchronized void timeout(UUID requestId) {
-        queue.timeoutAndRemoveIfStillQueued(requestId);
+        LockRequest request = queue.timeoutAndRemoveIfStillQueued(requestId);
+        if (request != null) {
+            profiler.timedOutWaiting(descriptor, System.nanoTime() - request.queuedAtNanos);
+        }
     }
 
     @Override
@@ -79,6 +90,12 @@ public class ExclusiveLock implements AsyncLock {
         queue.enqueue(request);
         processQueue();
 
+        if (request.result.isComplete()) {
+            profiler.acquiredImmediately(descriptor);
+        } else {
+            request.queuedAtNanos = System.nanoTime();
+            profiler.requestQueued(descriptor, queue.size());
+        }
         return request.result;
     }
 
@@ -92,6 +109,9 @@ public class ExclusiveLock implements AsyncLock {
             }
 
             head.result.complete(null);
+            if (head.queuedAtNanos != NOT_QUEUED) {
+                profiler.acquiredAfterWaiting(descriptor, System.nanoTime() - head.queuedAtNanos);
+            }
         }
     }
 
@@ -99,6 +119,7 @@ public class ExclusiveLock implements AsyncLock {
         private final AsyncResult<Void> result = new AsyncResult<>();
         private final UUID requestId;
         private final boolean releaseImmediately;
+        private long queuedAtNanos = NOT_QUEUED;
 
         LockRequest(UUID requestId, boolean releaseImmediately) {
             this.requestId = requestId;
@@ -126,15 +147,20 @@ public class ExclusiveLock implements AsyncLock {
             return queue.isEmpty();
         }
 
+        public int size() {
+            return queue.size();
+        }
+
         public LockRequest dequeue() {
             return queue.remove(queue.keySet().iterator().next());
         }
 
-        public void timeoutAndRemoveIfStillQueued(UUID requestId) {
+        public LockRequest timeoutAndRemoveIfStillQueued(UUID requestId) {
             LockRequest request = queue.remove(requestId);
             if (request != null) {
                 request.result.timeout();
             }
+            return request;
         }
     }
 }
@@ -0,0 +1,103 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.timelock.lock;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.immutables.value.Value;
+
+import com.google.common.collect.Maps;
+import com.palantir.logsafe.Preconditions;
+
+/**
+ * Tracks approximately the items with the largest total weight, using the Space-Saving algorithm with a fixed number
+ * of counters. An item's reported count never underestimates its true total weight, and overestimates it by at most
+ * the reported {@link HeavyHitter#maxOverestimate()}. Any item whose true total weight exceeds the total weight of all
+ * items divided by the capacity is guaranteed to be tracked.
+ */
+@ThreadSafe
+final class HeavyHittersSketch<T> {
+    private final int capacity;
+
+    @GuardedBy("this")
+    private final Map<T, MutableCounter> counters;
+
+    HeavyHittersSketch(int capacity) {
+        Preconditions.checkArgument(capacity > 0, "Capacity must be positive");
+        this.capacity = capacity;
+        this.counters = Maps.newHashMapWithExpectedSize(capacity);
+    }
+
+    synchronized void add(T item, long weight) {
+        MutableCounter counter = counters.get(item);
+        if (counter != null) {
+            counter.count += weight;
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(item, new MutableCounter(weight, 0));
+            return;
+        }
+
+        Map.Entry<T, MutableCounter> smallest = null;
+        for (Map.Entry<T, MutableCounter> entry : counters.entrySet()) {
+            if (smallest == null || entry.getValue().count < smallest.getValue().count) {
+                smallest = entry;
+            }
+        }
+        counters.remove(smallest.getKey());
+        long evictedCount = smallest.getValue().count;
+        counters.put(item, new MutableCounter(evictedCount + weight, evictedCount));
+    }
+
+    /**
+     * Returns the tracked items, in descending order of count.
+     */
+    synchronized List<HeavyHitter<T>> getHeavyHitters() {
+        return counters.entrySet().stream()
+                .map(entry -> ImmutableHeavyHitter.of(entry.getKey(), entry.getValue().count, entry.getValue().error))
+                .sorted(Comparator.comparingLong(HeavyHitter<T>::count).reversed())
+                .collect(Collectors.toList());
+    }
+
+    private static final class MutableCounter {
+        private long count;
+        private final long error;
+
+        private MutableCounter(long count, long error) {
+            this.count = count;
+            this.error = error;
+        }
+    }
+
+    @Value.Immutable
+    interface HeavyHitter<T> {
+        @Value.Parameter
+        T item();
+
+        @Value.Parameter
+        long count();
+
+        @Value.Parameter
+        long maxOverestimate();
+    }
+}
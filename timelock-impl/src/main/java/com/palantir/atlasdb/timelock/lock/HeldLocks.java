@@ -120,6 +120,13 @@ public class HeldLocks {
         return expirationTimer.lastRefreshTime();
     }
 
+    /**
+     * Returns the time after which these locks will be unlocked by {@link #unlockIfExpired()}, unless refreshed.
+     */
+    public NanoTime expiry() {
+        return expirationTimer.expiry();
+    }
+
     public Collection<AsyncLock> getLocks() {
         return acquiredLocks;
     }
@@ -15,6 +15,8 @@
  */
 package com.palantir.atlasdb.timelock.lock;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentMap;
@@ -31,26 +33,58 @@ import com.palantir.lock.v2.LeaderTime;
 import com.palantir.lock.v2.Lease;
 import com.palantir.lock.v2.LockToken;
 
+/**
+ * Tracks lock requests by request id, from when they are made until they are unlocked or expire.
+ * <p>
+ * Completed requests are indexed by deadline in a {@link TimingWheel}, so that {@link #removeExpired()} only examines
+ * requests that may have expired since it last ran, rather than every request. Failed and timed out requests are due
+ * immediately, and acquired locks are due when their lease expires. Refreshes do not touch the index: a request whose
+ * lease was refreshed since it was indexed is simply indexed again under its new expiry when it comes due.
+ */
 public class HeldLocksCollection {
+    /**
+     * How often {@link #removeExpired()} should be called. Expired locks are removed within one tick of expiring.
+     */
+    static final Duration REAPER_TICK = Duration.ofSeconds(1);
+    /**
+     * Spans a little over three lease timeouts, so that requests indexed under their lease expiry are almost always
+     * in their first rotation of the wheel.
+     */
+    private static final int WHEEL_SIZE = 64;
+
     @VisibleForTesting
     final ConcurrentMap<UUID, AsyncResult<HeldLocks>> heldLocksById = Maps.newConcurrentMap();
 
     private final LeaderClock leaderClock;
+    private final LockReaperMetrics reaperMetrics;
+    private final NanoTime epoch;
+    private final TimingWheel<TrackedRequest> expiryIndex;
 
     @VisibleForTesting
     HeldLocksCollection(LeaderClock leaderClock) {
+        this(leaderClock, LockReaperMetrics.createUnregistered());
+    }
+
+    private HeldLocksCollection(LeaderClock leaderClock, LockReaperMetrics reaperMetrics) {
         this.leaderClock = leaderClock;
+        this.reaperMetrics = reaperMetrics;
+        this.epoch = leaderClock.time().currentTime();
+        this.expiryIndex = new TimingWheel<>(REAPER_TICK.toNanos(), WHEEL_SIZE, 0L);
     }
 
     public static HeldLocksCollection create(LeaderClock leaderClock) {
         return new HeldLocksCollection(leaderClock);
     }
 
+    public static HeldLocksCollection create(LeaderClock leaderClock, LockReaperMetrics reaperMetrics) {
+        return new HeldLocksCollection(leaderClock, reaperMetrics);
+    }
+
     public AsyncResult<Leased<LockToken>> getExistingOrAcquire(
             UUID requestId,
             Supplier<AsyncResult<HeldLocks>> lockAcquirer) {
         return heldLocksById.computeIfAbsent(
-                requestId, ignored -> lockAcquirer.get())
+                requestId, ignored -> track(requestId, lockAcquirer.get()))
                 .map(this::createLeasableLockToken);
     }
 
@@ -68,7 +102,19 @@ public class HeldLocksCollection {
     }
 
     public void removeExpired() {
-        heldLocksById.values().removeIf(this::shouldRemove);
+        long start = System.nanoTime();
+        List<TrackedRequest> due = expiryIndex.advanceTo(nanosSinceEpoch(leaderClock.time().currentTime()));
+
+        int removed = 0;
+        for (TrackedRequest request : due) {
+            if (!shouldRemove(request.result)) {
+                scheduleExpiryCheck(request);
+            } else if (heldLocksById.remove(request.requestId, request.result)) {
+                removed++;
+            }
+        }
+
+        reaperMetrics.reaped(due.size(), removed, System.nanoTime() - start);
     }
 
     public void failAllOutstandingRequestsWithNotCurrentLeaderException() {
@@ -83,6 +129,23 @@ public class HeldLocksCollection {
                 .collect(Collectors.toSet());
     }
 
+    private AsyncResult<HeldLocks> track(UUID requestId, AsyncResult<HeldLocks> result) {
+        TrackedRequest request = new TrackedRequest(requestId, result);
+        result.onComplete(() -> scheduleExpiryCheck(request));
+        return result;
+    }
+
+    private void scheduleExpiryCheck(TrackedRequest request) {
+        NanoTime deadline = request.result.isCompletedSuccessfully()
+                ? request.result.get().expiry()
+                : leaderClock.time().currentTime();
+        expiryIndex.schedule(request, nanosSinceEpoch(deadline));
+    }
+
+    private long nanosSinceEpoch(NanoTime time) {
+        return time.nanosSince(epoch);
+    }
+
     private Leased<LockToken> createLeasableLockToken(HeldLocks heldLocks) {
         return Leased.of(heldLocks.getToken(), leaseWithStart(heldLocks.lastRefreshTime()));
     }
@@ -113,4 +176,14 @@ public class HeldLocksCollection {
 
         return filtered;
     }
+
+    private static final class TrackedRequest {
+        private final UUID requestId;
+        private final AsyncResult<HeldLocks> result;
+
+        private TrackedRequest(UUID requestId, AsyncResult<HeldLocks> result) {
+            this.requestId = requestId;
+            this.result = result;
+        }
+    }
 }
@@ -41,7 +41,7 @@ public class LeaseExpirationTimer {
         return lastRefreshTime;
     }
 
-    private NanoTime expiry() {
+    public NanoTime expiry() {
         return lastRefreshTime.plus(LockLeaseContract.SERVER_LEASE_TIMEOUT);
     }
 }
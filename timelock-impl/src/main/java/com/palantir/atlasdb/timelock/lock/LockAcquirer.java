@@ -19,31 +19,73 @@ import java.util.UUID;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.function.LongSupplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Throwables;
 import com.palantir.atlasdb.timelock.lock.watch.LockWatchingService;
 import com.palantir.logsafe.SafeArg;
 
+/**
+ * Acquires locks on behalf of lock requests, timing out requests that are still waiting once their time limit has
+ * passed.
+ * <p>
+ * Rather than scheduling a task per request, pending timeouts are tracked in a {@link TimingWheel} that a single
+ * task on the timeout executor advances every {@link #TIMEOUT_TICK_MILLIS} milliseconds. Deadlines are measured
+ * against a monotonic clock that the task reads each time it runs, so a late or slow run does not delay later
+ * timeouts, and requests time out within one tick of their time limit.
+ */
 public class LockAcquirer implements AutoCloseable {
 
     private static final Logger log = LoggerFactory.getLogger(LockAcquirer.class);
 
+    @VisibleForTesting
+    static final long TIMEOUT_TICK_MILLIS = 10;
+    private static final int TIMEOUT_WHEEL_SIZE = 1024;
+
     private final LockLog lockLog;
     private final ScheduledExecutorService timeoutExecutor;
     private final LeaderClock leaderClock;
     private final LockWatchingService lockWatcher;
+    private final LongSupplier clockMillis;
+    private final TimingWheel<Acquisition> timeouts;
 
     public LockAcquirer(LockLog lockLog,
             ScheduledExecutorService timeoutExecutor,
             LeaderClock leaderClock,
             LockWatchingService lockWatcher) {
+        this(lockLog, timeoutExecutor, leaderClock, lockWatcher,
+                () -> TimeUnit.NANOSECONDS.toMillis(System.nanoTime()));
+    }
+
+    @VisibleForTesting
+    LockAcquirer(LockLog lockLog,
+            ScheduledExecutorService timeoutExecutor,
+            LeaderClock leaderClock,
+            LockWatchingService lockWatcher,
+            LongSupplier clockMillis) {
         this.lockLog = lockLog;
         this.timeoutExecutor = timeoutExecutor;
         this.leaderClock = leaderClock;
         this.lockWatcher = lockWatcher;
+        this.clockMillis = clockMillis;
+        this.timeouts = new TimingWheel<>(TIMEOUT_TICK_MILLIS, TIMEOUT_WHEEL_SIZE, clockMillis.getAsLong());
+
+        scheduleTimeoutTicks();
+    }
+
+    private void scheduleTimeoutTicks() {
+        timeoutExecutor.scheduleAtFixedRate(() -> {
+            try {
+                timeouts.advanceTo(clockMillis.getAsLong())
+                        .forEach(Acquisition::timeoutAll);
+            } catch (Throwable t) {
+                log.warn("Error while timing out lock requests. Trying again on next iteration.", t);
+            }
+        }, TIMEOUT_TICK_MILLIS, TIMEOUT_TICK_MILLIS, TimeUnit.MILLISECONDS);
     }
 
     public AsyncResult<HeldLocks> acquireLocks(UUID requestId, OrderedLocks locks, TimeLimit timeout) {
@@ -57,6 +99,11 @@ public class LockAcquirer implements AutoCloseable {
                 .execute();
     }
 
+    @VisibleForTesting
+    int pendingTimeouts() {
+        return timeouts.size();
+    }
+
     @Override
     public void close() {
         log.info("Shutting down, logging lock diagnostic info");
@@ -132,12 +179,18 @@ public class LockAcquirer implements AutoCloseable {
                 return;
             }
 
-            timeoutExecutor.schedule(this::timeoutAll, timeout.getTimeMillis(), TimeUnit.MILLISECONDS);
+            TimingWheel.Timeout<Acquisition> scheduled =
+                    timeouts.schedule(this, clockMillis.getAsLong() + timeout.getTimeMillis());
+            result.onComplete(() -> timeouts.cancel(scheduled));
         }
 
         private void timeoutAll() {
-            for (AsyncLock lock : locks.get()) {
-                lock.timeout(requestId);
+            try {
+                for (AsyncLock lock : locks.get()) {
+                    lock.timeout(requestId);
+                }
+            } catch (Throwable t) {
+                log.error("Error while timing out lock request", SafeArg.of("requestId", requestId), t);
             }
         }
     }
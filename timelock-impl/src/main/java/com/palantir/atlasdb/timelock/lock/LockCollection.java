@@ -30,9 +30,13 @@ public class LockCollection {
     private final LoadingCache<LockDescriptor, AsyncLock> locksById;
 
     public LockCollection() {
+        this(LockContentionProfiler.createUnregistered());
+    }
+
+    public LockCollection(LockContentionProfiler profiler) {
         locksById = Caffeine.newBuilder()
                 .weakValues()
-                .build(ExclusiveLock::new);
+                .build(descriptor -> new ExclusiveLock(descriptor, profiler));
     }
 
     public OrderedLocks getAll(Set<LockDescriptor> descriptors) {
@@ -0,0 +1,194 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.timelock.lock;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Snapshot;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.palantir.atlasdb.AtlasDbMetricNames;
+import com.palantir.atlasdb.timelock.api.management.DistributionSummary;
+import com.palantir.atlasdb.timelock.api.management.LockContentionEntry;
+import com.palantir.atlasdb.timelock.api.management.LockContentionReport;
+import com.palantir.atlasdb.timelock.lock.HeavyHittersSketch.HeavyHitter;
+import com.palantir.atlasdb.util.MetricsManager;
+import com.palantir.conjure.java.lib.SafeLong;
+import com.palantir.lock.LockDescriptor;
+
+/**
+ * Always-on profile of contention on the {@link ExclusiveLock}s of a single namespace.
+ * <p>
+ * Requests that have to queue behind another holder are always recorded: their queue depth, their time to acquire,
+ * and their wait time and acquisition against the lock descriptor. Requests that acquire a lock immediately are
+ * the common case, so only one in {@link #IMMEDIATE_ACQUISITION_SAMPLE_RATE} of them is recorded, with a
+ * correspondingly larger weight. The hottest lock descriptors are kept in bounded {@link HeavyHittersSketch}es that
+ * are rotated every {@link #WINDOW_NANOS} nanoseconds, so that reports reflect recent contention.
+ * <p>
+ * Only queued requests and reports read the clock and rotate the window; sampled immediate acquisitions are added to
+ * whichever window is current, so the uncontended path never reads the clock.
+ * <p>
+ * All methods are called while holding the monitor of an {@link ExclusiveLock}, and must therefore be cheap.
+ */
+public class LockContentionProfiler {
+    @VisibleForTesting
+    static final int TOP_K = 32;
+    @VisibleForTesting
+    static final int IMMEDIATE_ACQUISITION_SAMPLE_RATE = 64;
+    @VisibleForTesting
+    static final long WINDOW_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final Histogram queueDepth;
+    private final Histogram timeToAcquireMicros;
+    private final LongSupplier nanoClock;
+    private final AtomicReference<Window> window;
+
+    @VisibleForTesting
+    LockContentionProfiler(Histogram queueDepth, Histogram timeToAcquireMicros, LongSupplier nanoClock) {
+        this.queueDepth = queueDepth;
+        this.timeToAcquireMicros = timeToAcquireMicros;
+        this.nanoClock = nanoClock;
+        this.window = new AtomicReference<>(Window.first(nanoClock.getAsLong()));
+    }
+
+    public static LockContentionProfiler create(MetricsManager metricsManager, String namespace) {
+        Map<String, String> tags = ImmutableMap.of(AtlasDbMetricNames.TAG_CLIENT, namespace);
+        return new LockContentionProfiler(
+                metricsManager.registerOrGetTaggedHistogram(LockContentionProfiler.class, "queueDepth", tags),
+                metricsManager.registerOrGetTaggedHistogram(LockContentionProfiler.class, "timeToAcquireMicros", tags),
+                System::nanoTime);
+    }
+
+    public static LockContentionProfiler createUnregistered() {
+        return new LockContentionProfiler(
+                new Histogram(new ExponentiallyDecayingReservoir()),
+                new Histogram(new ExponentiallyDecayingReservoir()),
+                System::nanoTime);
+    }
+
+    void acquiredImmediately(LockDescriptor descriptor) {
+        if (ThreadLocalRandom.current().nextInt(IMMEDIATE_ACQUISITION_SAMPLE_RATE) == 0) {
+            window.get().acquisitions.add(descriptor, IMMEDIATE_ACQUISITION_SAMPLE_RATE);
+        }
+    }
+
+    void requestQueued(LockDescriptor descriptor, int depth) {
+        queueDepth.update(depth);
+    }
+
+    void acquiredAfterWaiting(LockDescriptor descriptor, long waitNanos) {
+        long waitMicros = TimeUnit.NANOSECONDS.toMicros(waitNanos);
+        timeToAcquireMicros.update(waitMicros);
+        Window current = currentWindow();
+        current.acquisitions.add(descriptor, 1);
+        current.waitTimeMicros.add(descriptor, waitMicros);
+    }
+
+    void timedOutWaiting(LockDescriptor descriptor, long waitNanos) {
+        currentWindow().waitTimeMicros.add(descriptor, TimeUnit.NANOSECONDS.toMicros(waitNanos));
+    }
+
+    public LockContentionReport getReport() {
+        Window current = currentWindow();
+        return LockContentionReport.builder()
+                .hottestLocksByWaitTimeMicros(merge(current.previousWaitTimeMicros, current.waitTimeMicros))
+                .hottestLocksByAcquisitions(merge(current.previousAcquisitions, current.acquisitions))
+                .queueDepth(summarize(queueDepth))
+                .timeToAcquireMicros(summarize(timeToAcquireMicros))
+                .build();
+    }
+
+    private Window currentWindow() {
+        Window current = window.get();
+        long now = nanoClock.getAsLong();
+        if (now - current.startNanos < WINDOW_NANOS) {
+            return current;
+        }
+        Window next = current.next(now);
+        return window.compareAndSet(current, next) ? next : window.get();
+    }
+
+    private static List<LockContentionEntry> merge(
+            HeavyHittersSketch<LockDescriptor> previous,
+            HeavyHittersSketch<LockDescriptor> current) {
+        Map<LockDescriptor, HeavyHitter<LockDescriptor>> merged = Maps.newHashMap();
+        for (HeavyHittersSketch<LockDescriptor> sketch : ImmutableList.of(previous, current)) {
+            for (HeavyHitter<LockDescriptor> heavyHitter : sketch.getHeavyHitters()) {
+                merged.merge(heavyHitter.item(), heavyHitter, (first, second) -> ImmutableHeavyHitter.of(
+                        first.item(),
+                        first.count() + second.count(),
+                        first.maxOverestimate() + second.maxOverestimate()));
+            }
+        }
+        return merged.values().stream()
+                .sorted(Comparator.comparingLong(HeavyHitter<LockDescriptor>::count).reversed())
+                .limit(TOP_K)
+                .map(heavyHitter -> LockContentionEntry.builder()
+                        .lockDescriptor(heavyHitter.item().toString())
+                        .count(SafeLong.of(heavyHitter.count()))
+                        .maxOverestimate(SafeLong.of(heavyHitter.maxOverestimate()))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private static DistributionSummary summarize(Histogram histogram) {
+        Snapshot snapshot = histogram.getSnapshot();
+        return DistributionSummary.builder()
+                .count(SafeLong.of(histogram.getCount()))
+                .mean(snapshot.getMean())
+                .p50(snapshot.getMedian())
+                .p95(snapshot.get95thPercentile())
+                .p99(snapshot.get99thPercentile())
+                .max(SafeLong.of(snapshot.getMax()))
+                .build();
+    }
+
+    private static final class Window {
+        private final long startNanos;
+        private final HeavyHittersSketch<LockDescriptor> waitTimeMicros = new HeavyHittersSketch<>(TOP_K);
+        private final HeavyHittersSketch<LockDescriptor> acquisitions = new HeavyHittersSketch<>(TOP_K);
+        private final HeavyHittersSketch<LockDescriptor> previousWaitTimeMicros;
+        private final HeavyHittersSketch<LockDescriptor> previousAcquisitions;
+
+        private Window(
+                long startNanos,
+                HeavyHittersSketch<LockDescriptor> previousWaitTimeMicros,
+                HeavyHittersSketch<LockDescriptor> previousAcquisitions) {
+            this.startNanos = startNanos;
+            this.previousWaitTimeMicros = previousWaitTimeMicros;
+            this.previousAcquisitions = previousAcquisitions;
+        }
+
+        private static Window first(long startNanos) {
+            return new Window(startNanos, new HeavyHittersSketch<>(TOP_K), new HeavyHittersSketch<>(TOP_K));
+        }
+
+        private Window next(long startNanos) {
+            return new Window(startNanos, waitTimeMicros, acquisitions);
+        }
+    }
+}
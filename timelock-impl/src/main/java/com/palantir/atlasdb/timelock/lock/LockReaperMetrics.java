@@ -0,0 +1,63 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.timelock.lock;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.google.common.collect.ImmutableMap;
+import com.palantir.atlasdb.AtlasDbMetricNames;
+import com.palantir.atlasdb.util.MetricsManager;
+
+/**
+ * Measures the cost of each iteration of the {@link HeldLocksCollection} reaper, for a single namespace: how long it
+ * took, how many tracked requests it had to examine, and how many of them it removed.
+ */
+public class LockReaperMetrics {
+    private final Histogram reapTimeMicros;
+    private final Histogram entriesExamined;
+    private final Meter entriesRemoved;
+
+    private LockReaperMetrics(Histogram reapTimeMicros, Histogram entriesExamined, Meter entriesRemoved) {
+        this.reapTimeMicros = reapTimeMicros;
+        this.entriesExamined = entriesExamined;
+        this.entriesRemoved = entriesRemoved;
+    }
+
+    public static LockReaperMetrics create(MetricsManager metricsManager, String namespace) {
+        Map<String, String> tags = ImmutableMap.of(AtlasDbMetricNames.TAG_CLIENT, namespace);
+        return new LockReaperMetrics(
+                metricsManager.registerOrGetTaggedHistogram(LockReaperMetrics.class, "reapTimeMicros", tags),
+                metricsManager.registerOrGetTaggedHistogram(LockReaperMetrics.class, "entriesExamined", tags),
+                metricsManager.registerOrGetTaggedMeter(LockReaperMetrics.class, "entriesRemoved", tags));
+    }
+
+    public static LockReaperMetrics createUnregistered() {
+        return new LockReaperMetrics(
+                new Histogram(new ExponentiallyDecayingReservoir()),
+                new Histogram(new ExponentiallyDecayingReservoir()),
+                new Meter());
+    }
+
+    void reaped(int examined, int removed, long durationNanos) {
+        reapTimeMicros.update(TimeUnit.NANOSECONDS.toMicros(durationNanos));
+        entriesExamined.update(examined);
+        entriesRemoved.mark(removed);
+    }
+}
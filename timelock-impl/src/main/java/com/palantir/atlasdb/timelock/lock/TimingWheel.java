@@ -0,0 +1,137 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.timelock.lock;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.concurrent.GuardedBy;
+
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+
+/**
+ * A hashed timing wheel, which tracks elements against deadlines on a caller-supplied clock. Times and the tick
+ * length may be in any unit, as long as it is used consistently.
+ * <p>
+ * Each element is placed in the slot for the tick in which its deadline falls. A slot holds the elements of every
+ * round of the wheel, so the wheel should span the deadlines that are typically scheduled. Advancing the wheel only
+ * visits the slots for the ticks that have passed since it was last advanced, so the cost of expiring elements is
+ * proportional to the number of elements in those slots, rather than to the number of elements being tracked.
+ * Elements are returned from {@link #advanceTo(long)} at the first call whose time is at or after their deadline,
+ * and never before it.
+ */
+final class TimingWheel<T> {
+    private final long tickLength;
+    private final List<Set<Timeout<T>>> slots;
+
+    /**
+     * All slots for ticks up to and including this tick have been drained of elements that are due in that tick.
+     * The slot for the following tick may hold elements that were due in the past, if they were scheduled late.
+     */
+    @GuardedBy("this")
+    private long drainedTick;
+    @GuardedBy("this")
+    private int size = 0;
+
+    TimingWheel(long tickLength, int wheelSize, long startTime) {
+        Preconditions.checkArgument(tickLength > 0, "Tick length must be positive",
+                SafeArg.of("tickLength", tickLength));
+        Preconditions.checkArgument(wheelSize > 0, "Wheel size must be positive", SafeArg.of("wheelSize", wheelSize));
+        this.tickLength = tickLength;
+        this.slots = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            slots.add(new HashSet<>());
+        }
+        this.drainedTick = Math.floorDiv(startTime, tickLength) - 1;
+    }
+
+    /**
+     * Tracks the given element, to be returned once the wheel is advanced to or beyond the given deadline. If the
+     * deadline has already passed, the element is returned on the next call to {@link #advanceTo(long)} that
+     * reaches it.
+     */
+    synchronized Timeout<T> schedule(T element, long deadline) {
+        long tick = Math.max(Math.floorDiv(deadline, tickLength), drainedTick + 1);
+        Timeout<T> timeout = new Timeout<>(element, deadline, tick);
+        slotFor(tick).add(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Stops tracking the element of the given timeout, returning whether it was still being tracked.
+     */
+    synchronized boolean cancel(Timeout<T> timeout) {
+        if (slotFor(timeout.tick).remove(timeout)) {
+            size--;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Stops tracking and returns the elements whose deadlines are at or before the given time. Each slot is visited
+     * at most once, even if more than a full rotation of the wheel has passed since it was last advanced.
+     */
+    synchronized List<T> advanceTo(long time) {
+        long currentTick = Math.floorDiv(time, tickLength);
+        if (currentTick <= drainedTick) {
+            return Collections.emptyList();
+        }
+
+        List<T> expired = new ArrayList<>();
+        for (long tick = Math.max(drainedTick + 1, currentTick - slots.size() + 1); tick <= currentTick; tick++) {
+            Iterator<Timeout<T>> timeouts = slotFor(tick).iterator();
+            while (timeouts.hasNext()) {
+                Timeout<T> timeout = timeouts.next();
+                if (timeout.deadline <= time) {
+                    timeouts.remove();
+                    expired.add(timeout.element);
+                }
+            }
+        }
+
+        // The current tick has not finished, so elements may still become due in it.
+        drainedTick = currentTick - 1;
+        size -= expired.size();
+        return expired;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    private Set<Timeout<T>> slotFor(long tick) {
+        return slots.get((int) Math.floorMod(tick, (long) slots.size()));
+    }
+
+    static final class Timeout<T> {
+        private final T element;
+        private final long deadline;
+        private final long tick;
+
+        private Timeout(T element, long deadline, long tick) {
+            this.element = element;
+            this.deadline = deadline;
+            this.tick = tick;
+        }
+    }
+}
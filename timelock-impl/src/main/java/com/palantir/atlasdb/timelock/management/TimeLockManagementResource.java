@@ -26,16 +26,24 @@ import com.google.common.util.concurrent.ListenableFuture;
 import com.palantir.atlasdb.futures.AtlasFutures;
 import com.palantir.atlasdb.http.RedirectRetryTargeter;
 import com.palantir.atlasdb.timelock.ConjureResourceExceptionHandler;
+import com.palantir.atlasdb.timelock.TimeLockServices;
 import com.palantir.atlasdb.timelock.TimelockNamespaces;
+import com.palantir.atlasdb.timelock.api.management.LockContentionReport;
 import com.palantir.atlasdb.timelock.api.management.TimeLockManagementService;
 import com.palantir.atlasdb.timelock.api.management.TimeLockManagementServiceEndpoints;
 import com.palantir.atlasdb.timelock.api.management.UndertowTimeLockManagementService;
 import com.palantir.atlasdb.timelock.paxos.PaxosTimeLockConstants;
+import com.palantir.conjure.java.api.errors.ErrorType;
+import com.palantir.conjure.java.api.errors.ServiceException;
 import com.palantir.conjure.java.undertow.lib.UndertowService;
+import com.palantir.logsafe.SafeArg;
 import com.palantir.paxos.Client;
 import com.palantir.tokens.auth.AuthHeader;
 
 public class TimeLockManagementResource implements UndertowTimeLockManagementService {
+    private static final ErrorType NAMESPACE_NOT_FOUND =
+            ErrorType.create(ErrorType.Code.NOT_FOUND, "TimeLockManagement:NamespaceNotFound");
+
     private final Set<PersistentNamespaceLoader> namespaceLoaders;
     private final TimelockNamespaces timelockNamespaces;
     private final ConjureResourceExceptionHandler exceptionHandler;
@@ -95,6 +103,15 @@ public class TimeLockManagementResource implements UndertowTimeLockManagementSer
         });
     }
 
+    @Override
+    public ListenableFuture<LockContentionReport> getLockContention(AuthHeader authHeader, String namespace) {
+        // Looking up the namespace must not create it, so only namespaces that are already active are considered.
+        return handleExceptions(() -> Futures.immediateFuture(timelockNamespaces.getIfActive(namespace)
+                .map(TimeLockServices::getLockContentionProfiler)
+                .orElseThrow(() -> new ServiceException(NAMESPACE_NOT_FOUND, SafeArg.of("namespace", namespace)))
+                .getReport()));
+    }
+
     private <T> ListenableFuture<T> handleExceptions(Supplier<ListenableFuture<T>> supplier) {
         return exceptionHandler.handleExceptions(supplier);
     }
@@ -124,6 +141,11 @@ public class TimeLockManagementResource implements UndertowTimeLockManagementSer
             unwrap(resource.achieveConsensus(authHeader, namespaces));
         }
 
+        @Override
+        public LockContentionReport getLockContention(AuthHeader authHeader, String namespace) {
+            return unwrap(resource.getLockContention(authHeader, namespace));
+        }
+
         private static <T> T unwrap(ListenableFuture<T> future) {
             return AtlasFutures.getUnchecked(future);
         }
@@ -83,6 +83,18 @@ public class TimelockNamespacesTest {
         verify(serviceFactory, times(1)).apply(any());
     }
 
+    @Test
+    public void getIfActiveDoesNotCreateClients() {
+        assertThat(namespaces.getIfActive(CLIENT_A)).isEmpty();
+        assertThat(namespaces.getNumberOfActiveClients()).isEqualTo(0);
+
+        namespaces.get(CLIENT_A);
+
+        assertThat(namespaces.getIfActive(CLIENT_A)).contains(servicesA);
+        assertThat(namespaces.getIfActive(CLIENT_B)).isEmpty();
+        verify(serviceFactory, times(1)).apply(any());
+    }
+
     @Test
     public void doesNotCreateNewClientsAfterMaximumNumberHasBeenReached() {
         createMaximumNumberOfClients();
@@ -0,0 +1,61 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.timelock.lock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.palantir.atlasdb.timelock.lock.HeavyHittersSketch.HeavyHitter;
+
+public class HeavyHittersSketchTest {
+    private final HeavyHittersSketch<String> sketch = new HeavyHittersSketch<>(2);
+
+    @Test
+    public void countsExactlyWhileBelowCapacity() {
+        sketch.add("a", 3);
+        sketch.add("b", 5);
+        sketch.add("a", 4);
+
+        assertThat(sketch.getHeavyHitters()).containsExactly(
+                ImmutableHeavyHitter.of("a", 7L, 0L),
+                ImmutableHeavyHitter.of("b", 5L, 0L));
+    }
+
+    @Test
+    public void evictsSmallestCounterAndBoundsOverestimate() {
+        sketch.add("a", 10);
+        sketch.add("b", 2);
+        sketch.add("c", 1);
+
+        List<HeavyHitter<String>> heavyHitters = sketch.getHeavyHitters();
+        assertThat(heavyHitters).containsExactly(
+                ImmutableHeavyHitter.of("a", 10L, 0L),
+                ImmutableHeavyHitter.of("c", 3L, 2L));
+    }
+
+    @Test
+    public void heavyItemSurvivesManyLightItems() {
+        for (int i = 0; i < 1000; i++) {
+            sketch.add("heavy", 2);
+            sketch.add("light" + i, 1);
+        }
+
+        assertThat(sketch.getHeavyHitters().get(0).item()).isEqualTo("heavy");
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.timelock.lock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
+import com.codahale.metrics.Histogram;
+import com.palantir.atlasdb.timelock.api.management.LockContentionEntry;
+import com.palantir.atlasdb.timelock.api.management.LockContentionReport;
+import com.palantir.lock.LockDescriptor;
+import com.palantir.lock.StringLockDescriptor;
+
+public class LockContentionProfilerTest {
+    private static final UUID REQUEST_1 = UUID.randomUUID();
+    private static final UUID REQUEST_2 = UUID.randomUUID();
+    private static final UUID REQUEST_3 = UUID.randomUUID();
+
+    private static final LockDescriptor LOCK_A = StringLockDescriptor.of("a");
+    private static final LockDescriptor LOCK_B = StringLockDescriptor.of("b");
+
+    private final AtomicLong clock = new AtomicLong();
+    private final LockContentionProfiler profiler = new LockContentionProfiler(
+            new Histogram(new ExponentiallyDecayingReservoir()),
+            new Histogram(new ExponentiallyDecayingReservoir()),
+            clock::get);
+    private final ExclusiveLock lock = new ExclusiveLock(LOCK_A, profiler);
+
+    @Test
+    public void recordsQueueDepthAndTimeToAcquireOfQueuedRequests() {
+        lock.lock(REQUEST_1);
+        lock.lock(REQUEST_2);
+        lock.lock(REQUEST_3);
+        lock.unlock(REQUEST_1);
+
+        LockContentionReport report = profiler.getReport();
+        assertThat(report.getQueueDepth().getCount().longValue()).isEqualTo(2);
+        assertThat(report.getQueueDepth().getMax().longValue()).isEqualTo(2);
+        assertThat(report.getTimeToAcquireMicros().getCount().longValue()).isEqualTo(1);
+        assertThat(lockDescriptors(report.getHottestLocksByWaitTimeMicros())).containsExactly(LOCK_A.toString());
+        assertThat(lockDescriptors(report.getHottestLocksByAcquisitions())).containsExactly(LOCK_A.toString());
+    }
+
+    @Test
+    public void timedOutRequestsCountTowardsWaitTimeButNotAcquisitions() {
+        lock.lock(REQUEST_1);
+        lock.lock(REQUEST_2);
+        lock.timeout(REQUEST_2);
+
+        LockContentionReport report = profiler.getReport();
+        assertThat(report.getTimeToAcquireMicros().getCount().longValue()).isZero();
+        assertThat(lockDescriptors(report.getHottestLocksByWaitTimeMicros())).containsExactly(LOCK_A.toString());
+    }
+
+    @Test
+    public void reportsCoverCurrentAndPreviousWindows() {
+        profiler.acquiredAfterWaiting(LOCK_A, 1_000_000);
+        clock.addAndGet(LockContentionProfiler.WINDOW_NANOS);
+        profiler.acquiredAfterWaiting(LOCK_B, 2_000_000);
+
+        assertThat(lockDescriptors(profiler.getReport().getHottestLocksByWaitTimeMicros()))
+                .containsExactly(LOCK_B.toString(), LOCK_A.toString());
+
+        clock.addAndGet(LockContentionProfiler.WINDOW_NANOS);
+        assertThat(lockDescriptors(profiler.getReport().getHottestLocksByWaitTimeMicros()))
+                .containsExactly(LOCK_B.toString());
+    }
+
+    @Test
+    public void immediateAcquisitionsDoNotReadTheClock() {
+        AtomicInteger clockReads = new AtomicInteger();
+        LockContentionProfiler countingProfiler = new LockContentionProfiler(
+                new Histogram(new ExponentiallyDecayingReservoir()),
+                new Histogram(new ExponentiallyDecayingReservoir()),
+                () -> {
+                    clockReads.incrementAndGet();
+                    return clock.get();
+                });
+        clockReads.set(0);
+
+        for (int i = 0; i < 100 * LockContentionProfiler.IMMEDIATE_ACQUISITION_SAMPLE_RATE; i++) {
+            countingProfiler.acquiredImmediately(LOCK_A);
+        }
+
+        assertThat(clockReads.get()).isZero();
+        assertThat(lockDescriptors(countingProfiler.getReport().getHottestLocksByAcquisitions()))
+                .containsExactly(LOCK_A.toString());
+    }
+
+    private static List<String> lockDescriptors(List<LockContentionEntry> entries) {
+        return entries.stream().map(LockContentionEntry::getLockDescriptor).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.timelock.lock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class TimingWheelTest {
+    private final TimingWheel<String> wheel = new TimingWheel<>(10, 4, 0);
+
+    @Test
+    public void returnsElementsOnlyOnceTheirDeadlineHasPassed() {
+        wheel.schedule("a", 15);
+        wheel.schedule("b", 25);
+
+        assertThat(wheel.advanceTo(14)).isEmpty();
+        assertThat(wheel.advanceTo(15)).containsExactly("a");
+        assertThat(wheel.advanceTo(24)).isEmpty();
+        assertThat(wheel.advanceTo(30)).containsExactly("b");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    public void keepsElementsOfLaterRotationsInTheirSlot() {
+        wheel.schedule("now", 5);
+        wheel.schedule("later", 45);
+
+        assertThat(wheel.advanceTo(9)).containsExactly("now");
+        assertThat(wheel.advanceTo(44)).isEmpty();
+        assertThat(wheel.advanceTo(45)).containsExactly("later");
+    }
+
+    @Test
+    public void visitsEverySlotWhenAdvancedByMoreThanARotation() {
+        wheel.schedule("a", 5);
+        wheel.schedule("b", 35);
+        wheel.schedule("c", 95);
+
+        assertThat(wheel.advanceTo(100)).containsExactlyInAnyOrder("a", "b", "c");
+    }
+
+    @Test
+    public void elementsScheduledInThePastAreReturnedOnNextAdvance() {
+        wheel.advanceTo(50);
+        wheel.schedule("late", 10);
+
+        assertThat(wheel.advanceTo(50)).containsExactly("late");
+    }
+
+    @Test
+    public void cancelledElementsAreNotReturned() {
+        TimingWheel.Timeout<String> timeout = wheel.schedule("a", 15);
+
+        assertThat(wheel.cancel(timeout)).isTrue();
+        assertThat(wheel.cancel(timeout)).isFalse();
+        assertThat(wheel.advanceTo(20)).isEmpty();
+        assertThat(wheel.size()).isZero();
+    }
+}
@@ -16,6 +16,7 @@
 package com.palantir.atlasdb.timelock.benchmarks.benchmarks;
 
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
@@ -150,6 +151,9 @@ public abstract class AbstractBenchmark {
         result.put("p50", getPercentile(0.5));
         result.put("p95", getPercentile(0.95));
         result.put("p99", getPercentile(0.99));
+        result.put("p999", getPercentile(0.999));
+        result.put("max", sortedTimes[sortedTimes.length - 1] / 1_000_000.0);
+        result.put("histogram", getHistogram());
         result.put("totalTime", totalTime / 1_000_000.0);
         result.put("throughput", getThroughput());
         result.put("name", getClass().getSimpleName());
@@ -178,6 +182,24 @@ public abstract class AbstractBenchmark {
         return sortedTimes[index] / 1_000_000.0;
     }
 
+    /**
+     * Counts the calls whose latency falls into each of a sequence of buckets, whose upper bounds double from one
+     * millisecond up to the first bound that covers the slowest call.
+     */
+    private Map<String, Integer> getHistogram() {
+        Map<String, Integer> histogram = new LinkedHashMap<>();
+        int counted = 0;
+        for (long upperBoundMillis = 1; counted < sortedTimes.length; upperBoundMillis *= 2) {
+            int bucketCount = 0;
+            while (counted < sortedTimes.length && sortedTimes[counted] <= upperBoundMillis * 1_000_000) {
+                bucketCount++;
+                counted++;
+            }
+            histogram.put("<=" + upperBoundMillis + "ms", bucketCount);
+        }
+        return histogram;
+    }
+
     public double getThroughput() {
         return (double) (numClients * requestsPerClient) / (totalTime / 1_000_000_000.0);
     }
@@ -39,9 +39,13 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.Sets;
+import com.google.common.collect.Streams;
 import com.google.common.hash.Hashing;
 import com.google.common.primitives.Bytes;
 import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.palantir.atlasdb.compress.CompressionUtils;
 import com.palantir.atlasdb.encoding.PtBytes;
@@ -56,6 +60,8 @@ import com.palantir.atlasdb.keyvalue.api.RangeRequest;
 import com.palantir.atlasdb.keyvalue.api.RowResult;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.impl.Cells;
+import com.palantir.atlasdb.ptobject.CompositeKeyReader;
+import com.palantir.atlasdb.ptobject.CompositeKeyWriter;
 import com.palantir.atlasdb.ptobject.EncodingUtils;
 import com.palantir.atlasdb.table.api.AtlasDbDynamicMutablePersistentTable;
 import com.palantir.atlasdb.table.api.AtlasDbMutablePersistentTable;
@@ -68,6 +74,7 @@ import com.palantir.atlasdb.table.description.ValueType;
 import com.palantir.atlasdb.table.generation.ColumnValues;
 import com.palantir.atlasdb.table.generation.Descending;
 import com.palantir.atlasdb.table.generation.NamedColumnValue;
+import com.palantir.atlasdb.table.generation.TableReads;
 import com.palantir.atlasdb.transaction.api.AtlasDbConstraintCheckingMode;
 import com.palantir.atlasdb.transaction.api.ConstraintCheckingTransaction;
 import com.palantir.atlasdb.transaction.api.ImmutableGetRangesQuery;
@@ -178,19 +185,18 @@ public final class KvDynamicColumnsTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] hashOfRowComponentsBytes = PtBytes.toBytes(Long.MIN_VALUE ^ hashOfRowComponents);
-            byte[] bucketBytes = EncodingUtils.encodeVarString(bucket);
-            return EncodingUtils.add(hashOfRowComponentsBytes, bucketBytes);
+            CompositeKeyWriter __writer = new CompositeKeyWriter(8 + CompositeKeyWriter.sizeOfVarString(bucket));
+            __writer.writeFixedLong(hashOfRowComponents);
+            __writer.writeVarString(bucket);
+            return __writer.toByteArray();
         }
 
         public static final Hydrator<KvDynamicColumnsRow> BYTES_HYDRATOR = new Hydrator<KvDynamicColumnsRow>() {
             @Override
             public KvDynamicColumnsRow hydrateFromBytes(byte[] __input) {
-                int __index = 0;
-                Long hashOfRowComponents = Long.MIN_VALUE ^ PtBytes.toLong(__input, __index);
-                __index += 8;
-                String bucket = EncodingUtils.decodeVarString(__input, __index);
-                __index += EncodingUtils.sizeOfVarString(bucket);
+                CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                Long hashOfRowComponents = __reader.readFixedLong();
+                String bucket = __reader.readVarString();
                 return new KvDynamicColumnsRow(hashOfRowComponents, bucket);
             }
         };
@@ -294,16 +300,16 @@ public final class KvDynamicColumnsTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] keyBytes = PtBytes.toBytes(Long.MIN_VALUE ^ key);
-            return EncodingUtils.add(keyBytes);
+            CompositeKeyWriter __writer = new CompositeKeyWriter(8);
+            __writer.writeFixedLong(key);
+            return __writer.toByteArray();
         }
 
         public static final Hydrator<KvDynamicColumnsColumn> BYTES_HYDRATOR = new Hydrator<KvDynamicColumnsColumn>() {
             @Override
             public KvDynamicColumnsColumn hydrateFromBytes(byte[] __input) {
-                int __index = 0;
-                Long key = Long.MIN_VALUE ^ PtBytes.toLong(__input, __index);
-                __index += 8;
+                CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                Long key = __reader.readFixedLong();
                 return new KvDynamicColumnsColumn(key);
             }
         };
@@ -541,6 +547,15 @@ public final class KvDynamicColumnsTable implements
     public Multimap<KvDynamicColumnsRow, KvDynamicColumnsColumnValue> get(Multimap<KvDynamicColumnsRow, KvDynamicColumnsColumn> cells) {
         Set<Cell> rawCells = ColumnValues.toCells(cells);
         Map<Cell, byte[]> rawResults = t.get(tableRef, rawCells);
+        return getRowMapFromCellValues(rawResults);
+    }
+
+    public ListenableFuture<Multimap<KvDynamicColumnsRow, KvDynamicColumnsColumnValue>> getAsync(Multimap<KvDynamicColumnsRow, KvDynamicColumnsColumn> cells) {
+        Set<Cell> rawCells = ColumnValues.toCells(cells);
+        return Futures.transform(t.getAsync(tableRef, rawCells), KvDynamicColumnsTable::getRowMapFromCellValues, MoreExecutors.directExecutor());
+    }
+
+    private static Multimap<KvDynamicColumnsRow, KvDynamicColumnsColumnValue> getRowMapFromCellValues(Map<Cell, byte[]> rawResults) {
         Multimap<KvDynamicColumnsRow, KvDynamicColumnsColumnValue> rowMap = HashMultimap.create();
         for (Entry<Cell, byte[]> e : rawResults.entrySet()) {
             if (e.getValue().length > 0) {
@@ -553,6 +568,14 @@ public final class KvDynamicColumnsTable implements
         return rowMap;
     }
 
+    public Stream<KvDynamicColumnsRowResult> getRowsStream(Iterable<KvDynamicColumnsRow> rows) {
+        return getRowsStream(rows, allColumns);
+    }
+
+    public Stream<KvDynamicColumnsRowResult> getRowsStream(Iterable<KvDynamicColumnsRow> rows, ColumnSelection columns) {
+        return TableReads.getRowsStream(t, tableRef, Persistables.persistAll(rows), columns).map(KvDynamicColumnsRowResult::of);
+    }
+
     @Override
     public List<KvDynamicColumnsColumnValue> getRowColumns(KvDynamicColumnsRow row) {
         return getRowColumns(row, allColumns);
@@ -647,6 +670,10 @@ public final class KvDynamicColumnsTable implements
         return transformed;
     }
 
+    public Stream<Map.Entry<KvDynamicColumnsRow, KvDynamicColumnsColumnValue>> getRowsColumnRangeStream(Iterable<KvDynamicColumnsRow> rows, ColumnRangeSelection columnRangeSelection, int batchHint) {
+        return Streams.stream(getRowsColumnRange(rows, columnRangeSelection, batchHint));
+    }
+
     private RangeRequest optimizeRangeRequest(RangeRequest range) {
         if (range.getColumnNames().isEmpty()) {
             return range.getBuilder().retainColumns(allColumns).build();
@@ -667,6 +694,10 @@ public final class KvDynamicColumnsTable implements
         });
     }
 
+    public Stream<KvDynamicColumnsRowResult> getRangeStream(RangeRequest range) {
+        return TableReads.getRangeStream(t, tableRef, optimizeRangeRequest(range)).map(KvDynamicColumnsRowResult::of);
+    }
+
     @Deprecated
     public IterableView<BatchingVisitable<KvDynamicColumnsRowResult>> getRanges(Iterable<RangeRequest> ranges) {
         Iterable<BatchingVisitable<RowResult<byte[]>>> rangeResults = t.getRanges(tableRef, optimizeRangeRequests(ranges));
@@ -777,6 +808,8 @@ public final class KvDynamicColumnsTable implements
      * {@link ColumnValue}
      * {@link ColumnValues}
      * {@link ComparisonChain}
+     * {@link CompositeKeyReader}
+     * {@link CompositeKeyWriter}
      * {@link Compression}
      * {@link CompressionUtils}
      * {@link ConstraintCheckingTransaction}
@@ -785,6 +818,7 @@ public final class KvDynamicColumnsTable implements
      * {@link Entry}
      * {@link EnumSet}
      * {@link Function}
+     * {@link Futures}
      * {@link Generated}
      * {@link HashMultimap}
      * {@link HashSet}
@@ -802,9 +836,11 @@ public final class KvDynamicColumnsTable implements
      * {@link Iterators}
      * {@link Joiner}
      * {@link List}
+     * {@link ListenableFuture}
      * {@link Lists}
      * {@link Map}
      * {@link Maps}
+     * {@link MoreExecutors}
      * {@link MoreObjects}
      * {@link Multimap}
      * {@link Multimaps}
@@ -823,7 +859,9 @@ public final class KvDynamicColumnsTable implements
      * {@link Sha256Hash}
      * {@link SortedMap}
      * {@link Stream}
+     * {@link Streams}
      * {@link Supplier}
+     * {@link TableReads}
      * {@link TableReference}
      * {@link Throwables}
      * {@link TimeUnit}
@@ -833,5 +871,5 @@ public final class KvDynamicColumnsTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "AUHX2d91IINW6dxAajKwcA==";
+    static String __CLASS_HASH = "q98iXTVQYjP+6/SyVOgHrg==";
 }
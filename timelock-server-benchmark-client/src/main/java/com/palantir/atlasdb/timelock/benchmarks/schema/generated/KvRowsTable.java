@@ -39,9 +39,13 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.Sets;
+import com.google.common.collect.Streams;
 import com.google.common.hash.Hashing;
 import com.google.common.primitives.Bytes;
 import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.palantir.atlasdb.compress.CompressionUtils;
 import com.palantir.atlasdb.encoding.PtBytes;
@@ -56,6 +60,8 @@ import com.palantir.atlasdb.keyvalue.api.RangeRequest;
 import com.palantir.atlasdb.keyvalue.api.RowResult;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.impl.Cells;
+import com.palantir.atlasdb.ptobject.CompositeKeyReader;
+import com.palantir.atlasdb.ptobject.CompositeKeyWriter;
 import com.palantir.atlasdb.ptobject.EncodingUtils;
 import com.palantir.atlasdb.table.api.AtlasDbDynamicMutablePersistentTable;
 import com.palantir.atlasdb.table.api.AtlasDbMutablePersistentTable;
@@ -68,6 +74,7 @@ import com.palantir.atlasdb.table.description.ValueType;
 import com.palantir.atlasdb.table.generation.ColumnValues;
 import com.palantir.atlasdb.table.generation.Descending;
 import com.palantir.atlasdb.table.generation.NamedColumnValue;
+import com.palantir.atlasdb.table.generation.TableReads;
 import com.palantir.atlasdb.transaction.api.AtlasDbConstraintCheckingMode;
 import com.palantir.atlasdb.transaction.api.ConstraintCheckingTransaction;
 import com.palantir.atlasdb.transaction.api.ImmutableGetRangesQuery;
@@ -187,22 +194,20 @@ public final class KvRowsTable implements
 
         @Override
         public byte[] persistToBytes() {
-            byte[] hashOfRowComponentsBytes = PtBytes.toBytes(Long.MIN_VALUE ^ hashOfRowComponents);
-            byte[] bucketBytes = EncodingUtils.encodeVarString(bucket);
-            byte[] keyBytes = PtBytes.toBytes(Long.MIN_VALUE ^ key);
-            return EncodingUtils.add(hashOfRowComponentsBytes, bucketBytes, keyBytes);
+            CompositeKeyWriter __writer = new CompositeKeyWriter(8 + CompositeKeyWriter.sizeOfVarString(bucket) + 8);
+            __writer.writeFixedLong(hashOfRowComponents);
+            __writer.writeVarString(bucket);
+            __writer.writeFixedLong(key);
+            return __writer.toByteArray();
         }
 
         public static final Hydrator<KvRowsRow> BYTES_HYDRATOR = new Hydrator<KvRowsRow>() {
             @Override
             public KvRowsRow hydrateFromBytes(byte[] __input) {
-                int __index = 0;
-                Long hashOfRowComponents = Long.MIN_VALUE ^ PtBytes.toLong(__input, __index);
-                __index += 8;
-                String bucket = EncodingUtils.decodeVarString(__input, __index);
-                __index += EncodingUtils.sizeOfVarString(bucket);
-                Long key = Long.MIN_VALUE ^ PtBytes.toLong(__input, __index);
-                __index += 8;
+                CompositeKeyReader __reader = new CompositeKeyReader(__input);
+                Long hashOfRowComponents = __reader.readFixedLong();
+                String bucket = __reader.readVarString();
+                Long key = __reader.readFixedLong();
                 return new KvRowsRow(hashOfRowComponents, bucket, key);
             }
         };
@@ -533,6 +538,26 @@ public final class KvRowsTable implements
         return rowResults;
     }
 
+    public ListenableFuture<List<KvRowsRowResult>> getRowsAsync(Iterable<KvRowsRow> rows) {
+        return getRowsAsync(rows, allColumns);
+    }
+
+    public ListenableFuture<List<KvRowsRowResult>> getRowsAsync(Iterable<KvRowsRow> rows, ColumnSelection columns) {
+        ColumnSelection selectedColumns = columns.allColumnsSelected() ? allColumns : columns;
+        return Futures.transform(
+                TableReads.getRowsAsync(t, tableRef, Persistables.persistAll(rows), selectedColumns),
+                rowResults -> ImmutableList.copyOf(Lists.transform(rowResults, KvRowsRowResult::of)),
+                MoreExecutors.directExecutor());
+    }
+
+    public Stream<KvRowsRowResult> getRowsStream(Iterable<KvRowsRow> rows) {
+        return getRowsStream(rows, allColumns);
+    }
+
+    public Stream<KvRowsRowResult> getRowsStream(Iterable<KvRowsRow> rows, ColumnSelection columns) {
+        return TableReads.getRowsStream(t, tableRef, Persistables.persistAll(rows), columns).map(KvRowsRowResult::of);
+    }
+
     @Override
     public List<KvRowsNamedColumnValue<?>> getRowColumns(KvRowsRow row) {
         return getRowColumns(row, allColumns);
@@ -617,6 +642,10 @@ public final class KvRowsTable implements
         return transformed;
     }
 
+    public Stream<Map.Entry<KvRowsRow, KvRowsNamedColumnValue<?>>> getRowsColumnRangeStream(Iterable<KvRowsRow> rows, ColumnRangeSelection columnRangeSelection, int batchHint) {
+        return Streams.stream(getRowsColumnRange(rows, columnRangeSelection, batchHint));
+    }
+
     private RangeRequest optimizeRangeRequest(RangeRequest range) {
         if (range.getColumnNames().isEmpty()) {
             return range.getBuilder().retainColumns(allColumns).build();
@@ -637,6 +666,10 @@ public final class KvRowsTable implements
         });
     }
 
+    public Stream<KvRowsRowResult> getRangeStream(RangeRequest range) {
+        return TableReads.getRangeStream(t, tableRef, optimizeRangeRequest(range)).map(KvRowsRowResult::of);
+    }
+
     @Deprecated
     public IterableView<BatchingVisitable<KvRowsRowResult>> getRanges(Iterable<RangeRequest> ranges) {
         Iterable<BatchingVisitable<RowResult<byte[]>>> rangeResults = t.getRanges(tableRef, optimizeRangeRequests(ranges));
@@ -743,6 +776,8 @@ public final class KvRowsTable implements
      * {@link ColumnValue}
      * {@link ColumnValues}
      * {@link ComparisonChain}
+     * {@link CompositeKeyReader}
+     * {@link CompositeKeyWriter}
      * {@link Compression}
      * {@link CompressionUtils}
      * {@link ConstraintCheckingTransaction}
@@ -751,6 +786,7 @@ public final class KvRowsTable implements
      * {@link Entry}
      * {@link EnumSet}
      * {@link Function}
+     * {@link Futures}
      * {@link Generated}
      * {@link HashMultimap}
      * {@link HashSet}
@@ -768,9 +804,11 @@ public final class KvRowsTable implements
      * {@link Iterators}
      * {@link Joiner}
      * {@link List}
+     * {@link ListenableFuture}
      * {@link Lists}
      * {@link Map}
      * {@link Maps}
+     * {@link MoreExecutors}
      * {@link MoreObjects}
      * {@link Multimap}
      * {@link Multimaps}
@@ -789,7 +827,9 @@ public final class KvRowsTable implements
      * {@link Sha256Hash}
      * {@link SortedMap}
      * {@link Stream}
+     * {@link Streams}
      * {@link Supplier}
+     * {@link TableReads}
      * {@link TableReference}
      * {@link Throwables}
      * {@link TimeUnit}
@@ -799,5 +839,5 @@ public final class KvRowsTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "Dp0AEqmMCvHJ8i3O4PdV1g==";
+    static String __CLASS_HASH = "ZRoAdUX6CF9BC48iKwHMMg==";
 }
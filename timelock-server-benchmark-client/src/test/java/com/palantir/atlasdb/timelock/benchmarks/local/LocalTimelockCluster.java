@@ -0,0 +1,332 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.timelock.benchmarks.local;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.palantir.atlasdb.config.AtlasDbConfig;
+import com.palantir.atlasdb.config.ImmutableAtlasDbConfig;
+import com.palantir.atlasdb.config.ImmutableServerListConfig;
+import com.palantir.atlasdb.config.ImmutableTimeLockClientConfig;
+import com.palantir.atlasdb.factory.TransactionManagers;
+import com.palantir.atlasdb.memory.InMemoryAtlasDbConfig;
+import com.palantir.atlasdb.timelock.TimeLockServerLauncher;
+import com.palantir.atlasdb.timelock.benchmarks.schema.BenchmarksSchema;
+import com.palantir.atlasdb.timelock.config.CombinedTimeLockServerConfiguration;
+import com.palantir.atlasdb.transaction.api.TransactionManager;
+import com.palantir.conjure.java.api.config.service.UserAgent;
+import com.palantir.conjure.java.api.config.ssl.SslConfiguration;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.exceptions.SafeIllegalStateException;
+import com.palantir.timelock.config.PaxosInstallConfiguration.PaxosLeaderMode;
+import com.palantir.tritium.metrics.registry.DefaultTaggedMetricRegistry;
+
+import io.dropwizard.testing.DropwizardTestSupport;
+
+/**
+ * A TimeLock cluster of several nodes running in this JVM, for benchmarking Paxos and lock service changes on a
+ * single machine.
+ * <p>
+ * Each node is a full TimeLock server, launched as in the TimeLock integration tests. Nodes reach each other only
+ * through {@link SimulatedNetworkLink}s, one for each ordered pair of nodes, so that latency, jitter, packet loss
+ * and partitions can be injected between them. Clients talk to the nodes directly.
+ * <p>
+ * Nodes use the TLS key and trust stores at {@code var/security}, so this should be run from the
+ * timelock-server-benchmark-client directory.
+ */
+public final class LocalTimelockCluster implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(LocalTimelockCluster.class);
+
+    private static final String KEY_STORE_PATH = "var/security/keyStore.jks";
+    private static final String TRUST_STORE_PATH = "var/security/trustStore.jks";
+    private static final long STARTUP_TIMEOUT_SECONDS = 60;
+
+    private final Path directory;
+    private final List<Integer> serverPorts;
+    private final SimulatedNetworkLink[][] links;
+    private final List<Path> configFiles;
+    private final Map<Integer, DropwizardTestSupport<CombinedTimeLockServerConfiguration>> runningNodes =
+            Maps.newHashMap();
+
+    private LocalTimelockCluster(
+            Path directory,
+            List<Integer> serverPorts,
+            SimulatedNetworkLink[][] links,
+            List<Path> configFiles) {
+        this.directory = directory;
+        this.serverPorts = serverPorts;
+        this.links = links;
+        this.configFiles = configFiles;
+    }
+
+    /**
+     * Creates the configuration for a cluster of the given number of nodes, with the given network conditions on
+     * every link between them. No nodes are started.
+     */
+    public static LocalTimelockCluster create(
+            int numNodes,
+            NetworkConditions conditions,
+            PaxosLeaderMode leaderMode,
+            boolean useBatchPaxos) throws IOException {
+        Preconditions.checkArgument(numNodes > 0, "A cluster needs at least one node",
+                SafeArg.of("numNodes", numNodes));
+        Path directory = Files.createTempDirectory("local-timelock-cluster");
+        List<Integer> serverPorts = IntStream.range(0, numNodes)
+                .mapToObj(unused -> findFreePort())
+                .collect(Collectors.toList());
+
+        SimulatedNetworkLink[][] links = new SimulatedNetworkLink[numNodes][numNodes];
+        for (int from = 0; from < numNodes; from++) {
+            for (int to = 0; to < numNodes; to++) {
+                if (from != to) {
+                    links[from][to] = SimulatedNetworkLink.create(serverPorts.get(to), conditions);
+                }
+            }
+        }
+
+        List<Path> configFiles = IntStream.range(0, numNodes)
+                .mapToObj(node -> writeConfig(directory, node, serverPorts, links, leaderMode, useBatchPaxos))
+                .collect(Collectors.toList());
+        return new LocalTimelockCluster(directory, serverPorts, links, configFiles);
+    }
+
+    public int size() {
+        return serverPorts.size();
+    }
+
+    public void startAll() {
+        IntStream.range(0, size()).forEach(this::start);
+    }
+
+    public synchronized void start(int node) {
+        if (runningNodes.containsKey(node)) {
+            return;
+        }
+        DropwizardTestSupport<CombinedTimeLockServerConfiguration> server =
+                new DropwizardTestSupport<>(TimeLockServerLauncher.class, configFiles.get(node).toString());
+        try {
+            server.before();
+        } catch (Exception e) {
+            throw new SafeIllegalStateException("Failed to start TimeLock node", e, SafeArg.of("node", node));
+        }
+        runningNodes.put(node, server);
+    }
+
+    public synchronized void stop(int node) {
+        DropwizardTestSupport<CombinedTimeLockServerConfiguration> server = runningNodes.remove(node);
+        if (server != null) {
+            server.after();
+        }
+    }
+
+    /**
+     * Sets the network conditions on every link between nodes.
+     */
+    public void setConditions(NetworkConditions conditions) {
+        allLinks().forEach(link -> link.setConditions(conditions));
+    }
+
+    /**
+     * Sets the network conditions on the link over which the first node sends data to the second.
+     */
+    public void setConditions(int from, int to, NetworkConditions conditions) {
+        links[from][to].setConditions(conditions);
+    }
+
+    /**
+     * Partitions the given node from all other nodes, in both directions. Clients can still reach it.
+     */
+    public void isolate(int node) {
+        for (int other = 0; other < size(); other++) {
+            if (other != node) {
+                links[node][other].partition();
+                links[other][node].partition();
+            }
+        }
+    }
+
+    public void healAll() {
+        allLinks().forEach(SimulatedNetworkLink::heal);
+    }
+
+    /**
+     * Creates a transaction manager for the given namespace, backed by an in-memory key value service and using this
+     * cluster for timestamps and locks, and waits until the cluster serves timestamps for it.
+     */
+    public TransactionManager createTransactionManager(String namespace) {
+        AtlasDbConfig config = ImmutableAtlasDbConfig.builder()
+                .namespace(namespace)
+                .keyValueService(new InMemoryAtlasDbConfig())
+                .timelock(ImmutableTimeLockClientConfig.builder()
+                        .serversList(ImmutableServerListConfig.builder()
+                                .servers(serverPorts.stream()
+                                        .map(port -> "https://localhost:" + port)
+                                        .collect(Collectors.toList()))
+                                .sslConfiguration(SslConfiguration.of(Paths.get(TRUST_STORE_PATH)))
+                                .build())
+                        .build())
+                .build();
+
+        TransactionManager txManager = TransactionManagers.builder()
+                .config(config)
+                .userAgent(UserAgent.of(UserAgent.Agent.of("local-cluster-benchmarks", "0.0.0")))
+                .globalMetricsRegistry(new MetricRegistry())
+                .globalTaggedMetricRegistry(new DefaultTaggedMetricRegistry())
+                .addSchemas(BenchmarksSchema.SCHEMA)
+                .allowHiddenTableAccess(true)
+                .runtimeConfigSupplier(Optional::empty)
+                .build()
+                .serializable();
+        awaitLeader(txManager);
+        return txManager;
+    }
+
+    @Override
+    public void close() {
+        IntStream.range(0, size()).forEach(this::stop);
+        allLinks().forEach(SimulatedNetworkLink::close);
+        log.info("Stopped local TimeLock cluster. Its data remains in {}", SafeArg.of("directory", directory));
+    }
+
+    private static void awaitLeader(TransactionManager txManager) {
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        while (true) {
+            try {
+                txManager.getTimestampService().getFreshTimestamp();
+                return;
+            } catch (RuntimeException e) {
+                if (stopwatch.elapsed(TimeUnit.SECONDS) > STARTUP_TIMEOUT_SECONDS) {
+                    throw new SafeIllegalStateException("Local TimeLock cluster did not elect a leader", e);
+                }
+                Uninterruptibles.sleepUninterruptibly(500, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private List<SimulatedNetworkLink> allLinks() {
+        List<SimulatedNetworkLink> allLinks = Lists.newArrayList();
+        for (SimulatedNetworkLink[] linksFromNode : links) {
+            for (SimulatedNetworkLink link : linksFromNode) {
+                if (link != null) {
+                    allLinks.add(link);
+                }
+            }
+        }
+        return allLinks;
+    }
+
+    private static int findFreePort() {
+        try (ServerSocket socket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Path writeConfig(
+            Path directory,
+            int node,
+            List<Integer> serverPorts,
+            SimulatedNetworkLink[][] links,
+            PaxosLeaderMode leaderMode,
+            boolean useBatchPaxos) {
+        Path nodeDirectory = directory.resolve("node-" + node);
+        int localPort = serverPorts.get(node);
+
+        StringBuilder uris = new StringBuilder();
+        for (int other = 0; other < serverPorts.size(); other++) {
+            int port = other == node ? localPort : links[node][other].getPort();
+            uris.append("      - \"localhost:").append(port).append("\"\n");
+        }
+
+        String config = "install:\n"
+                + "  paxos:\n"
+                + "    data-directory: \"" + nodeDirectory.resolve("paxos") + "\"\n"
+                + "    sqlite-persistence:\n"
+                + "      data-directory: \"" + nodeDirectory.resolve("sqlite") + "\"\n"
+                + "    is-new-service: true\n"
+                + "    leader-mode: " + leaderMode + "\n"
+                + "  cluster:\n"
+                + "    cluster:\n"
+                + "      security:\n"
+                + "        trustStorePath: \"" + TRUST_STORE_PATH + "\"\n"
+                + "        trustStoreType: \"JKS\"\n"
+                + "        keyStorePath: \"" + KEY_STORE_PATH + "\"\n"
+                + "        keyStorePassword: \"keystore\"\n"
+                + "        keyStoreType: \"JKS\"\n"
+                + "      uris:\n"
+                + uris
+                + "    local-server: \"localhost:" + localPort + "\"\n"
+                + "  timestampBoundPersistence:\n"
+                + "\n"
+                + "runtime:\n"
+                + "  paxos:\n"
+                + "    leader-ping-response-wait-in-ms: 1000\n"
+                + "    timestamp-paxos:\n"
+                + "      use-batch-paxos: " + useBatchPaxos + "\n"
+                + "    enable-batching-for-single-leader: " + useBatchPaxos + "\n"
+                + "\n"
+                + "logging:\n"
+                + "  level: WARN\n"
+                + "  appenders:\n"
+                + "    - type: console\n"
+                + "      logFormat: \"node-" + node + " %-5p [%d{ISO8601,UTC}] %c: %m%n%rEx\"\n"
+                + "\n"
+                + "server:\n"
+                + "  requestLog:\n"
+                + "    appenders: []\n"
+                + "  applicationConnectors:\n"
+                + "  - type: h2\n"
+                + "    port: " + localPort + "\n"
+                + "    keyStorePath: " + KEY_STORE_PATH + "\n"
+                + "    keyStorePassword: keystore\n"
+                + "    trustStorePath: " + TRUST_STORE_PATH + "\n"
+                + "    validateCerts: false\n"
+                + "  adminConnectors: []\n";
+
+        try {
+            Files.createDirectories(nodeDirectory);
+            Path configFile = nodeDirectory.resolve("timelock.yml");
+            Files.write(configFile, config.getBytes(StandardCharsets.UTF_8));
+            return configFile;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.timelock.benchmarks.local;
+
+import java.time.Duration;
+import java.util.Random;
+
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+
+/**
+ * The conditions of a simulated one-way network link: a fixed latency, uniformly distributed jitter on top of it,
+ * and a probability that any given segment of data is lost.
+ * <p>
+ * Links carry TCP connections, so lost data is not actually dropped: as with TCP, it arrives after a retransmission
+ * timeout, which also holds up all data behind it on the same connection.
+ */
+public final class NetworkConditions {
+    private static final Duration DEFAULT_RETRANSMISSION_TIMEOUT = Duration.ofMillis(200);
+
+    private final Duration latency;
+    private final Duration jitter;
+    private final double lossProbability;
+    private final Duration retransmissionTimeout;
+
+    private NetworkConditions(Duration latency, Duration jitter, double lossProbability,
+            Duration retransmissionTimeout) {
+        Preconditions.checkArgument(!latency.isNegative(), "Latency must not be negative",
+                SafeArg.of("latency", latency));
+        Preconditions.checkArgument(!jitter.isNegative(), "Jitter must not be negative", SafeArg.of("jitter", jitter));
+        Preconditions.checkArgument(lossProbability >= 0 && lossProbability <= 1,
+                "Loss probability must be between 0 and 1",
+                SafeArg.of("lossProbability", lossProbability));
+        this.latency = latency;
+        this.jitter = jitter;
+        this.lossProbability = lossProbability;
+        this.retransmissionTimeout = retransmissionTimeout;
+    }
+
+    public static NetworkConditions perfect() {
+        return of(Duration.ZERO, Duration.ZERO, 0.0);
+    }
+
+    public static NetworkConditions of(Duration latency, Duration jitter, double lossProbability) {
+        return new NetworkConditions(latency, jitter, lossProbability, DEFAULT_RETRANSMISSION_TIMEOUT);
+    }
+
+    public NetworkConditions withRetransmissionTimeout(Duration newRetransmissionTimeout) {
+        return new NetworkConditions(latency, jitter, lossProbability, newRetransmissionTimeout);
+    }
+
+    public Duration latency() {
+        return latency;
+    }
+
+    public Duration jitter() {
+        return jitter;
+    }
+
+    public double lossProbability() {
+        return lossProbability;
+    }
+
+    /**
+     * Samples the time for which a segment sent now should be delayed before it is delivered.
+     */
+    long sampleDelayNanos(Random random) {
+        long delay = latency.toNanos();
+        if (!jitter.isZero()) {
+            delay += (long) (random.nextDouble() * jitter.toNanos());
+        }
+        if (lossProbability > 0 && random.nextDouble() < lossProbability) {
+            delay += retransmissionTimeout.toNanos();
+        }
+        return delay;
+    }
+
+    @Override
+    public String toString() {
+        return "NetworkConditions{latency=" + latency + ", jitter=" + jitter + ", lossProbability=" + lossProbability
+                + ", retransmissionTimeout=" + retransmissionTimeout + '}';
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.timelock.benchmarks.local;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.palantir.common.concurrent.NamedThreadFactory;
+import com.palantir.logsafe.SafeArg;
+
+/**
+ * A TCP proxy on a local port that forwards connections to a target port, delaying the data sent in each direction
+ * according to the current {@link NetworkConditions}. Data is forwarded as is, so TLS connections pass straight
+ * through the link.
+ * <p>
+ * A link can also be partitioned. While partitioned, all data sent over the link is silently discarded, so that
+ * requests over it hang until they time out, as they would on a real network partition. Partitioning or healing a
+ * link closes all connections over it, so that connections never resume with data missing.
+ */
+public final class SimulatedNetworkLink implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(SimulatedNetworkLink.class);
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private static final Segment END_OF_STREAM = new Segment(new byte[0], 0L);
+
+    private final ServerSocket serverSocket;
+    private final int targetPort;
+    private final ExecutorService executor;
+    private final Set<Socket> openSockets = ConcurrentHashMap.newKeySet();
+
+    private volatile NetworkConditions conditions;
+    private volatile boolean partitioned = false;
+    private volatile boolean closed = false;
+
+    private SimulatedNetworkLink(ServerSocket serverSocket, int targetPort, NetworkConditions conditions) {
+        this.serverSocket = serverSocket;
+        this.targetPort = targetPort;
+        this.conditions = conditions;
+        this.executor = Executors.newCachedThreadPool(
+                new NamedThreadFactory("simulated-link-" + serverSocket.getLocalPort() + "-" + targetPort, true));
+    }
+
+    public static SimulatedNetworkLink create(int targetPort, NetworkConditions conditions) throws IOException {
+        ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        SimulatedNetworkLink link = new SimulatedNetworkLink(serverSocket, targetPort, conditions);
+        link.executor.execute(link::acceptConnections);
+        return link;
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public void setConditions(NetworkConditions newConditions) {
+        conditions = newConditions;
+    }
+
+    public void partition() {
+        partitioned = true;
+        closeOpenConnections();
+    }
+
+    public void heal() {
+        if (partitioned) {
+            partitioned = false;
+            closeOpenConnections();
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        closeQuietly(serverSocket);
+        closeOpenConnections();
+        executor.shutdownNow();
+    }
+
+    private void acceptConnections() {
+        while (!closed) {
+            try {
+                Socket client = serverSocket.accept();
+                openSockets.add(client);
+                if (partitioned) {
+                    executor.execute(() -> discard(client));
+                } else {
+                    connect(client);
+                }
+            } catch (IOException e) {
+                if (!closed) {
+                    log.info("Error accepting connection on simulated link", SafeArg.of("port", getPort()), e);
+                }
+            }
+        }
+    }
+
+    private void connect(Socket client) {
+        try {
+            Socket server = new Socket(InetAddress.getLoopbackAddress(), targetPort);
+            openSockets.add(server);
+            client.setTcpNoDelay(true);
+            server.setTcpNoDelay(true);
+            startForwarding(client, server);
+            startForwarding(server, client);
+        } catch (IOException e) {
+            // The target is down, so the connection is refused, as it would have been without the link.
+            close(client);
+        }
+    }
+
+    private void startForwarding(Socket from, Socket to) {
+        BlockingQueue<Segment> inFlight = new LinkedBlockingQueue<>();
+        executor.execute(() -> send(from, to, inFlight));
+        executor.execute(() -> deliver(from, to, inFlight));
+    }
+
+    private void send(Socket from, Socket to, BlockingQueue<Segment> inFlight) {
+        Random random = new Random();
+        long lastDeliveryNanos = System.nanoTime();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try {
+            // Not closed when done, as closing a socket's stream closes the socket, and the other direction of the
+            // connection may still be in use.
+            InputStream in = from.getInputStream();
+            for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+                if (partitioned) {
+                    continue;
+                }
+                // Data on a connection is delivered in order, so a delayed segment holds up the segments behind it.
+                long deliveryNanos = System.nanoTime() + conditions.sampleDelayNanos(random);
+                lastDeliveryNanos = Math.max(lastDeliveryNanos, deliveryNanos);
+                inFlight.add(new Segment(Arrays.copyOf(buffer, read), lastDeliveryNanos));
+            }
+        } catch (IOException e) {
+            closeBoth(from, to);
+        } finally {
+            inFlight.add(END_OF_STREAM);
+        }
+    }
+
+    private void deliver(Socket from, Socket to, BlockingQueue<Segment> inFlight) {
+        try {
+            OutputStream out = to.getOutputStream();
+            while (true) {
+                Segment segment = inFlight.take();
+                if (segment == END_OF_STREAM) {
+                    to.shutdownOutput();
+                    return;
+                }
+                long remainingNanos = segment.deliveryNanos - System.nanoTime();
+                if (remainingNanos > 0) {
+                    TimeUnit.NANOSECONDS.sleep(remainingNanos);
+                }
+                out.write(segment.data);
+                out.flush();
+            }
+        } catch (IOException | InterruptedException e) {
+            closeBoth(from, to);
+        }
+    }
+
+    private void discard(Socket socket) {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream in = socket.getInputStream()) {
+            while (in.read(buffer) != -1) {
+                // Discarded, as the link is partitioned.
+            }
+        } catch (IOException e) {
+            // Closed when the link is healed.
+        } finally {
+            close(socket);
+        }
+    }
+
+    private void closeOpenConnections() {
+        openSockets.forEach(this::close);
+    }
+
+    private void closeBoth(Socket first, Socket second) {
+        close(first);
+        close(second);
+    }
+
+    private void close(Socket socket) {
+        openSockets.remove(socket);
+        closeQuietly(socket);
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // Nothing more to do.
+        }
+    }
+
+    private static final class Segment {
+        private final byte[] data;
+        private final long deliveryNanos;
+
+        private Segment(byte[] data, long deliveryNanos) {
+            this.data = data;
+            this.deliveryNanos = deliveryNanos;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.timelock.benchmarks.runner;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.palantir.atlasdb.timelock.benchmarks.benchmarks.LockAndUnlockContendedBenchmark;
+import com.palantir.atlasdb.timelock.benchmarks.benchmarks.LockAndUnlockUncontendedBenchmark;
+import com.palantir.atlasdb.timelock.benchmarks.benchmarks.TimestampBenchmark;
+import com.palantir.atlasdb.timelock.benchmarks.local.LocalTimelockCluster;
+import com.palantir.atlasdb.timelock.benchmarks.local.NetworkConditions;
+import com.palantir.atlasdb.transaction.api.TransactionManager;
+import com.palantir.timelock.config.PaxosInstallConfiguration.PaxosLeaderMode;
+
+/**
+ * Runs benchmarks against a {@link LocalTimelockCluster}, rather than a deployed cluster as {@link BenchmarksRunner}
+ * does. These are excluded from the test task; run them with the localClusterBenchmarks task, or from the
+ * timelock-server-benchmark-client directory. On Java 8, the jetty-alpn-agent must be passed as a java agent, as for
+ * the benchmark distributions.
+ * <p>
+ * As with {@link BenchmarksRunner}, there is no warmup time included in any of these tests.
+ */
+public class LocalClusterBenchmarksRunner {
+    private static final int NUM_NODES = 3;
+    private static final NetworkConditions DATACENTER_NETWORK =
+            NetworkConditions.of(Duration.ofMillis(1), Duration.ofMillis(1), 0.0);
+    private static final NetworkConditions LOSSY_NETWORK =
+            NetworkConditions.of(Duration.ofMillis(5), Duration.ofMillis(5), 0.01);
+    private static final Duration ISOLATION_PERIOD = Duration.ofSeconds(10);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private static LocalTimelockCluster cluster;
+    private static TransactionManager txManager;
+
+    @BeforeClass
+    public static void startCluster() throws IOException {
+        cluster = LocalTimelockCluster.create(NUM_NODES, DATACENTER_NETWORK, PaxosLeaderMode.SINGLE_LEADER, true);
+        cluster.startAll();
+        txManager = cluster.createTransactionManager(UUID.randomUUID().toString());
+    }
+
+    @AfterClass
+    public static void stopCluster() {
+        txManager.close();
+        cluster.close();
+    }
+
+    @After
+    public void resetNetwork() {
+        cluster.healAll();
+        cluster.setConditions(DATACENTER_NETWORK);
+    }
+
+    @Test
+    public void timestamp() {
+        runAndPrintResults(() -> TimestampBenchmark.execute(txManager, 4, 1000));
+    }
+
+    @Test
+    public void lockAndUnlockUncontended() {
+        runAndPrintResults(() -> LockAndUnlockUncontendedBenchmark.execute(txManager, 4, 500));
+    }
+
+    @Test
+    public void lockAndUnlockContended() {
+        runAndPrintResults(() -> LockAndUnlockContendedBenchmark.execute(txManager, 8, 1000, 2));
+    }
+
+    @Test
+    public void timestampOverLossyNetwork() {
+        cluster.setConditions(LOSSY_NETWORK);
+        runAndPrintResults(() -> TimestampBenchmark.execute(txManager, 4, 1000));
+    }
+
+    /**
+     * Isolates each node in turn while timestamps are being requested, so that the leader is isolated at some point,
+     * and a new leader has to be elected.
+     */
+    @Test
+    public void timestampDuringRollingIsolation() {
+        ExecutorService isolator = Executors.newSingleThreadExecutor();
+        isolator.execute(() -> {
+            for (int node = 0; node < cluster.size() && !Thread.currentThread().isInterrupted(); node++) {
+                cluster.isolate(node);
+                Uninterruptibles.sleepUninterruptibly(ISOLATION_PERIOD.toMillis(), TimeUnit.MILLISECONDS);
+                cluster.healAll();
+            }
+        });
+        try {
+            runAndPrintResults(() -> TimestampBenchmark.execute(txManager, 4, 20_000));
+        } finally {
+            isolator.shutdownNow();
+        }
+    }
+
+    private static void runAndPrintResults(Supplier<Map<String, Object>> benchmark) {
+        try {
+            System.out.println(MAPPER.writeValueAsString(benchmark.get()));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
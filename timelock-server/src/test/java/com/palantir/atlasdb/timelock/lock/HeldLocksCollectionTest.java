@@ -187,6 +187,23 @@ public class HeldLocksCollectionTest {
         assertUnlocked(REQUEST_ID);
     }
 
+    @Test
+    public void refreshedLocksAreReapedOnlyAfterTheirNewExpiry() {
+        setTime(123);
+        LockToken token = lockSync(REQUEST_ID);
+
+        advance(LockLeaseContract.CLIENT_LEASE_TIMEOUT);
+        heldLocksCollection.refresh(ImmutableSet.of(token));
+
+        advance(LockLeaseContract.SERVER_LEASE_TIMEOUT
+                .minus(LockLeaseContract.CLIENT_LEASE_TIMEOUT)
+                .plus(Duration.ofNanos(1)));
+        assertLocked(REQUEST_ID);
+
+        advance(LockLeaseContract.CLIENT_LEASE_TIMEOUT);
+        assertUnlocked(REQUEST_ID);
+    }
+
     @Test
     public void lockWatchingServiceIsUpdatedAfterLockIsCreatedAndReaped() {
         setTime(123);
@@ -293,7 +310,10 @@ public class HeldLocksCollectionTest {
 
     private LockToken mockExpiredRequest() {
         return mockHeldLocksForNewRequest(
-                heldLocks -> when(heldLocks.unlockIfExpired()).thenReturn(true));
+                heldLocks -> {
+                    when(heldLocks.expiry()).thenReturn(time.get());
+                    when(heldLocks.unlockIfExpired()).thenReturn(true);
+                });
     }
 
     private LockToken mockNonExpiredRequest() {
@@ -340,6 +360,7 @@ public class HeldLocksCollectionTest {
     private LockToken mockHeldLocksForNewRequest(Consumer<HeldLocks> mockApplier) {
         LockToken request = LockToken.of(UUID.randomUUID());
         HeldLocks heldLocks = mock(HeldLocks.class);
+        when(heldLocks.expiry()).thenReturn(time.get().plus(LockLeaseContract.SERVER_LEASE_TIMEOUT));
         mockApplier.accept(heldLocks);
         when(heldLocks.lastRefreshTime()).thenReturn(time.get());
 
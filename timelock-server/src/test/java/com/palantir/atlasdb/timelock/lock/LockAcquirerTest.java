@@ -30,6 +30,7 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -53,6 +54,7 @@ public class LockAcquirerTest {
     private static final TimeLimit TIMEOUT = TimeLimit.of(123L);
 
     private final DeterministicScheduler executor = new DeterministicScheduler();
+    private final AtomicLong clockMillis = new AtomicLong();
     private final LeaderClock leaderClock = LeaderClock.create();
 
     private final ExclusiveLock lockA = spy(new ExclusiveLock(LOCK_DESCRIPTOR));
@@ -63,7 +65,8 @@ public class LockAcquirerTest {
             new LockLog(new MetricRegistry(), () -> 2L),
             executor,
             leaderClock,
-            mock(LockWatchingService.class));
+            mock(LockWatchingService.class),
+            clockMillis::get);
 
     @Test
     public void acquiresLocksInOrder() {
@@ -194,7 +197,7 @@ public class LockAcquirerTest {
         acquire(lockB);
         AsyncResult<?> result = acquire(lockA, lockB, lockC);
 
-        executor.tick(TIMEOUT.getTimeMillis() + 1L, TimeUnit.MILLISECONDS);
+        advanceTime(TIMEOUT.getTimeMillis() + 1L);
 
         verify(lockB).timeout(REQUEST_ID);
         assertThat(result.isTimedOut()).isTrue();
@@ -205,7 +208,7 @@ public class LockAcquirerTest {
         acquire(lockB);
         AsyncResult<?> result = acquire(lockA, lockB, lockC);
 
-        executor.tick(TIMEOUT.getTimeMillis() + 1L, TimeUnit.MILLISECONDS);
+        advanceTime(TIMEOUT.getTimeMillis() + 1L);
 
         verify(lockC, never()).lock(any());
         assertNotLocked(lockA);
@@ -218,12 +221,47 @@ public class LockAcquirerTest {
         acquire(lockB);
         AsyncResult<?> result = acquire(lockA, lockB, lockC);
 
-        executor.tick(TIMEOUT.getTimeMillis() - 1L, TimeUnit.MILLISECONDS);
+        advanceTime(TIMEOUT.getTimeMillis() - 1L);
 
         verify(lockB, never()).timeout(REQUEST_ID);
         assertThat(result.isTimedOut()).isFalse();
     }
 
+    @Test
+    public void timesOutAgainstTheClockIfTimeoutTicksRunLate() {
+        acquire(lockB);
+        AsyncResult<?> result = acquire(lockA, lockB, lockC);
+
+        clockMillis.addAndGet(TIMEOUT.getTimeMillis() + 1L);
+        executor.tick(LockAcquirer.TIMEOUT_TICK_MILLIS, TimeUnit.MILLISECONDS);
+
+        assertThat(result.isTimedOut()).isTrue();
+    }
+
+    @Test
+    public void doesNotTrackTimeoutIfLocksAreAcquiredImmediately() {
+        acquire(lockA, lockB);
+
+        assertThat(lockAcquirer.pendingTimeouts()).isZero();
+    }
+
+    @Test
+    public void stopsTrackingTimeoutOnceLocksAreAcquired() {
+        lockA.lock(OTHER_REQUEST_ID);
+        AsyncResult<HeldLocks> result = acquire(lockA);
+        assertThat(lockAcquirer.pendingTimeouts()).isEqualTo(1);
+
+        lockA.unlock(OTHER_REQUEST_ID);
+
+        assertThat(result.isCompletedSuccessfully()).isTrue();
+        assertThat(lockAcquirer.pendingTimeouts()).isZero();
+    }
+
+    private void advanceTime(long millis) {
+        clockMillis.addAndGet(millis);
+        executor.tick(millis, TimeUnit.MILLISECONDS);
+    }
+
     private AsyncResult<Void> waitFor(AsyncLock... locks) {
         return lockAcquirer.waitForLocks(REQUEST_ID, OrderedLocks.fromOrderedList(ImmutableList.copyOf(locks)),
                 TIMEOUT);